@@ -0,0 +1,79 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * Reads key range rows and hashes them on the client side.
+ * Each row is hashed separately and row hashes are summed, so the result does not depend on the row order
+ * (and thus on collation differences between servers).
+ */
+public class CompareDataClientHasher implements CompareDataHasher {
+
+    private static final char VALUE_SEPARATOR = '\u0001';
+    private static final String NULL_MARKER = "\u0000";
+
+    @NotNull
+    @Override
+    public CompareDataDigest computeDigest(
+        @NotNull DBCSession session,
+        @NotNull CompareDataTable table,
+        @NotNull CompareDataKeyRange range
+    ) throws DBException {
+        MessageDigest md5 = createDigest();
+        List<?> attributes = table.getAllAttributes();
+        String query = table.makeQuery(table.getColumnList(table.getAllAttributes()), range, false);
+        long[] state = new long[2];
+        StringBuilder rowText = new StringBuilder();
+        table.readRows(session, query, resultSet -> {
+            rowText.setLength(0);
+            for (int i = 0; i < attributes.size(); i++) {
+                String value = CompareDataUtils.formatValue(CompareDataUtils.normalizeValue(resultSet.getAttributeValue(i)));
+                rowText.append(value == null ? NULL_MARKER : value).append(VALUE_SEPARATOR);
+            }
+            state[0]++;
+            state[1] += hashRow(md5, rowText);
+            return true;
+        });
+        return new CompareDataDigest(state[0], Long.toHexString(state[1]));
+    }
+
+    private static long hashRow(MessageDigest md5, CharSequence rowText) {
+        byte[] digest = md5.digest(rowText.toString().getBytes(StandardCharsets.UTF_8));
+        long result = 0;
+        for (int i = 0; i < 8; i++) {
+            result = (result << 8) | (digest[i] & 0xFF);
+        }
+        return result;
+    }
+
+    private static MessageDigest createDigest() throws DBException {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new DBException("MD5 digest is not available", e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Single row difference between source and target tables.
+ * Values arrays contain key values followed by compared values, in the order of {@link CompareDataTable#getAllAttributes()}.
+ */
+public class CompareDataDifference {
+
+    public enum Type {
+        /**
+         * Row exists only in the source table
+         */
+        INSERT,
+        /**
+         * Row exists in both tables but values differ
+         */
+        UPDATE,
+        /**
+         * Row exists only in the target table
+         */
+        DELETE
+    }
+
+    @NotNull
+    private final Type type;
+    @NotNull
+    private final Object[] keyValues;
+    @Nullable
+    private final Object[] sourceValues;
+    @Nullable
+    private final Object[] targetValues;
+
+    public CompareDataDifference(@NotNull Type type, @NotNull Object[] keyValues, @Nullable Object[] sourceValues, @Nullable Object[] targetValues) {
+        this.type = type;
+        this.keyValues = keyValues;
+        this.sourceValues = sourceValues;
+        this.targetValues = targetValues;
+    }
+
+    @NotNull
+    public Type getType() {
+        return type;
+    }
+
+    @NotNull
+    public Object[] getKeyValues() {
+        return keyValues;
+    }
+
+    @Nullable
+    public Object[] getSourceValues() {
+        return sourceValues;
+    }
+
+    @Nullable
+    public Object[] getTargetValues() {
+        return targetValues;
+    }
+
+    /**
+     * Checks whether value at the specified index differs (for UPDATE differences)
+     */
+    public boolean isValueChanged(int index) {
+        if (sourceValues == null || targetValues == null) {
+            return true;
+        }
+        return !CompareDataUtils.equalValues(sourceValues[index], targetValues[index]);
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + Arrays.toString(keyValues);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple.data;
+
+import org.jkiss.code.Nullable;
+import org.jkiss.utils.CommonUtils;
+
+/**
+ * Digest of a key range: number of rows and an order-independent hash of row contents.
+ */
+public class CompareDataDigest {
+
+    private final long rowCount;
+    @Nullable
+    private final String hash;
+
+    public CompareDataDigest(long rowCount, @Nullable String hash) {
+        this.rowCount = rowCount;
+        this.hash = hash;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Nullable
+    public String getHash() {
+        return hash;
+    }
+
+    public boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof CompareDataDigest digest)) {
+            return false;
+        }
+        return rowCount == digest.rowCount && (rowCount == 0 || CommonUtils.equalObjects(hash, digest.hash));
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(rowCount) + (hash == null ? 0 : hash.hashCode());
+    }
+
+    @Override
+    public String toString() {
+        return rowCount + ":" + hash;
+    }
+}
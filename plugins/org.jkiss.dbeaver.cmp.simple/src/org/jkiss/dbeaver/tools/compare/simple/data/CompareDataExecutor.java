@@ -0,0 +1,440 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.utils.CommonUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * Compares data of two tables (possibly in different databases).
+ * <p>
+ * Key space is recursively split into ranges. For each range a digest (row count and hash) is computed on both sides,
+ * on the server when possible. Only ranges with different digests are split further, and small mismatched ranges are
+ * compared row by row. Thus equal tables cost one digest query per side.
+ */
+public class CompareDataExecutor {
+
+    private static final Log log = Log.getLog(CompareDataExecutor.class);
+
+    private static final int MAX_SPLIT_DEPTH = 64;
+
+    @NotNull
+    private final CompareDataSettings settings;
+
+    private CompareDataTable source;
+    private CompareDataTable target;
+    private CompareDataHasher hasher;
+    private CompareDataResult result;
+    private DBCSession sourceSession;
+    private DBCSession targetSession;
+    private final Set<CompareDataTable> clientSplitTables = new HashSet<>();
+
+    public CompareDataExecutor(@NotNull CompareDataSettings settings) {
+        this.settings = settings;
+    }
+
+    @NotNull
+    public CompareDataResult compareData(@NotNull DBRProgressMonitor monitor) throws DBException {
+        long startTime = System.currentTimeMillis();
+        monitor.beginTask("Compare data of " + DBUtils.getObjectFullName(settings.getSourceEntity(), DBPEvaluationContext.UI), 1);
+        try {
+            prepareTables(monitor);
+            clientSplitTables.clear();
+            boolean serverHashing = settings.getHashMode() == CompareDataSettings.HashMode.AUTO &&
+                CompareDataServerHasher.isComparable(source.getDataSource(), target.getDataSource());
+            hasher = serverHashing ? new CompareDataServerHasher() : new CompareDataClientHasher();
+            result = new CompareDataResult(source, target, serverHashing, settings.getMaxDifferences());
+
+            try (DBCSession ss = source.getExecutionContext().openSession(monitor, DBCExecutionPurpose.UTIL, "Compare data (source)");
+                 DBCSession ts = target.getExecutionContext().openSession(monitor, DBCExecutionPurpose.UTIL, "Compare data (target)")) {
+                this.sourceSession = ss;
+                this.targetSession = ts;
+                compareRange(monitor, CompareDataKeyRange.FULL, 0);
+            } finally {
+                this.sourceSession = null;
+                this.targetSession = null;
+            }
+            result.setCompareTime(System.currentTimeMillis() - startTime);
+            return result;
+        } finally {
+            monitor.done();
+        }
+    }
+
+    private void prepareTables(@NotNull DBRProgressMonitor monitor) throws DBException {
+        DBSEntity sourceEntity = settings.getSourceEntity();
+        DBSEntity targetEntity = settings.getTargetEntity();
+
+        List<DBSEntityAttribute> sourceKeys = new ArrayList<>();
+        if (!CommonUtils.isEmpty(settings.getKeyAttributes())) {
+            for (String keyName : settings.getKeyAttributes()) {
+                sourceKeys.add(getAttribute(monitor, sourceEntity, keyName));
+            }
+        } else {
+            sourceKeys.addAll(DBUtils.getBestTableIdentifier(monitor, sourceEntity));
+        }
+        if (sourceKeys.isEmpty()) {
+            throw new DBException("Table " + DBUtils.getObjectFullName(sourceEntity, DBPEvaluationContext.UI) +
+                " has no unique key. Specify key columns explicitly.");
+        }
+        List<DBSEntityAttribute> targetKeys = new ArrayList<>();
+        for (DBSEntityAttribute key : sourceKeys) {
+            targetKeys.add(getAttribute(monitor, targetEntity, key.getName()));
+        }
+
+        List<DBSEntityAttribute> sourceValues = new ArrayList<>();
+        List<DBSEntityAttribute> targetValues = new ArrayList<>();
+        List<String> compareNames = settings.getCompareAttributes();
+        for (DBSEntityAttribute attr : CommonUtils.safeCollection(sourceEntity.getAttributes(monitor))) {
+            if (sourceKeys.contains(attr) || DBUtils.isPseudoAttribute(attr) || DBUtils.isHiddenObject(attr)) {
+                continue;
+            }
+            if (!CommonUtils.isEmpty(compareNames)) {
+                if (!compareNames.contains(attr.getName())) {
+                    continue;
+                }
+            } else if (!isComparableAttribute(attr)) {
+                continue;
+            }
+            DBSEntityAttribute targetAttr = targetEntity.getAttribute(monitor, attr.getName());
+            if (targetAttr == null) {
+                log.debug("Attribute '" + attr.getName() + "' is missing in target table and will not be compared");
+                continue;
+            }
+            sourceValues.add(attr);
+            targetValues.add(targetAttr);
+        }
+
+        source = new CompareDataTable(sourceEntity, getExecutionContext(sourceEntity), sourceKeys, sourceValues);
+        target = new CompareDataTable(targetEntity, getExecutionContext(targetEntity), targetKeys, targetValues);
+    }
+
+    private void compareRange(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull CompareDataKeyRange range,
+        int depth
+    ) throws DBException {
+        if (monitor.isCanceled()) {
+            return;
+        }
+        monitor.subTask("Compare range " + range);
+        CompareDataDigest sourceDigest = hasher.computeDigest(sourceSession, source, range);
+        CompareDataDigest targetDigest = hasher.computeDigest(targetSession, target, range);
+        result.addHashQueries(2);
+        if (sourceDigest.equals(targetDigest)) {
+            result.addMatchedRows(sourceDigest.getRowCount());
+            return;
+        }
+        long rowCount = Math.max(sourceDigest.getRowCount(), targetDigest.getRowCount());
+        if (rowCount <= settings.getLeafRowCount() || depth >= MAX_SPLIT_DEPTH) {
+            compareRows(range);
+            return;
+        }
+        List<CompareDataKeyRange> subRanges = splitRange(range, sourceDigest, targetDigest);
+        if (subRanges.size() < 2) {
+            compareRows(range);
+            return;
+        }
+        for (CompareDataKeyRange subRange : subRanges) {
+            if (result.isTruncated()) {
+                break;
+            }
+            compareRange(monitor, subRange, depth + 1);
+        }
+    }
+
+    /**
+     * Compares range rows one by one. Range size is bounded by the leaf row count so rows are kept in memory.
+     */
+    private void compareRows(@NotNull CompareDataKeyRange range) throws DBException {
+        Map<List<Object>, Object[]> sourceRows = readRows(sourceSession, source, range);
+        Map<List<Object>, Object[]> targetRows = readRows(targetSession, target, range);
+        result.addFetchedRows(sourceRows.size() + targetRows.size());
+        int keyCount = source.getKeyAttributes().size();
+        int valueCount = keyCount + source.getValueAttributes().size();
+
+        for (Map.Entry<List<Object>, Object[]> sourceRow : sourceRows.entrySet()) {
+            Object[] sourceValues = sourceRow.getValue();
+            Object[] targetValues = targetRows.remove(sourceRow.getKey());
+            Object[] keyValues = Arrays.copyOf(sourceValues, keyCount);
+            if (targetValues == null) {
+                if (!result.addDifference(new CompareDataDifference(CompareDataDifference.Type.INSERT, keyValues, sourceValues, null))) {
+                    return;
+                }
+                continue;
+            }
+            for (int i = keyCount; i < valueCount; i++) {
+                if (!CompareDataUtils.equalValues(sourceValues[i], targetValues[i])) {
+                    if (!result.addDifference(new CompareDataDifference(CompareDataDifference.Type.UPDATE, keyValues, sourceValues, targetValues))) {
+                        return;
+                    }
+                    break;
+                }
+            }
+        }
+        for (Object[] targetValues : targetRows.values()) {
+            Object[] keyValues = Arrays.copyOf(targetValues, keyCount);
+            if (!result.addDifference(new CompareDataDifference(CompareDataDifference.Type.DELETE, keyValues, null, targetValues))) {
+                return;
+            }
+        }
+    }
+
+    @NotNull
+    private Map<List<Object>, Object[]> readRows(
+        @NotNull DBCSession session,
+        @NotNull CompareDataTable table,
+        @NotNull CompareDataKeyRange range
+    ) throws DBException {
+        Map<List<Object>, Object[]> rows = new LinkedHashMap<>();
+        int columnCount = table.getKeyAttributes().size() + table.getValueAttributes().size();
+        String query = table.makeQuery(table.getColumnList(table.getAllAttributes()), range, false);
+        table.readRows(session, query, resultSet -> {
+            Object[] values = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                values[i] = resultSet.getAttributeValue(i);
+            }
+            rows.put(CompareDataUtils.makeKey(Arrays.copyOf(values, table.getKeyAttributes().size())), values);
+            return true;
+        });
+        return rows;
+    }
+
+    @NotNull
+    private List<CompareDataKeyRange> splitRange(
+        @NotNull CompareDataKeyRange range,
+        @NotNull CompareDataDigest sourceDigest,
+        @NotNull CompareDataDigest targetDigest
+    ) throws DBException {
+        if (source.getKeyAttributes().size() == 1 &&
+            source.getKeyAttributes().get(0).getDataKind() == DBPDataKind.NUMERIC &&
+            target.getKeyAttributes().get(0).getDataKind() == DBPDataKind.NUMERIC)
+        {
+            List<CompareDataKeyRange> numericRanges = splitNumericRange(range);
+            if (numericRanges != null) {
+                return numericRanges;
+            }
+        }
+        // Sample boundaries from the larger side
+        boolean fromSource = sourceDigest.getRowCount() >= targetDigest.getRowCount();
+        return splitSampledRange(
+            range,
+            fromSource ? sourceSession : targetSession,
+            fromSource ? source : target,
+            Math.max(sourceDigest.getRowCount(), targetDigest.getRowCount()));
+    }
+
+    /**
+     * Splits range of integer keys arithmetically. Requires only MIN/MAX queries.
+     */
+    @Nullable
+    private List<CompareDataKeyRange> splitNumericRange(@NotNull CompareDataKeyRange range) throws DBException {
+        BigInteger[] sourceBounds = readKeyBounds(sourceSession, source, range);
+        BigInteger[] targetBounds = readKeyBounds(targetSession, target, range);
+        result.addHashQueries(2);
+        if (sourceBounds == null && targetBounds == null) {
+            return null;
+        }
+        BigInteger minValue = minOf(sourceBounds == null ? null : sourceBounds[0], targetBounds == null ? null : targetBounds[0]);
+        BigInteger maxValue = maxOf(sourceBounds == null ? null : sourceBounds[1], targetBounds == null ? null : targetBounds[1]);
+        if (minValue == null || maxValue == null) {
+            return null;
+        }
+        BigInteger span = maxValue.subtract(minValue).add(BigInteger.ONE);
+        if (span.compareTo(BigInteger.TWO) < 0) {
+            return null;
+        }
+        BigInteger parts = BigInteger.valueOf(settings.getSplitFactor()).min(span);
+        BigInteger step = new BigDecimal(span).divide(new BigDecimal(parts), 0, RoundingMode.CEILING).toBigInteger();
+
+        List<CompareDataKeyRange> ranges = new ArrayList<>();
+        Object[] lower = range.getLowerBound();
+        for (BigInteger bound = minValue.add(step); bound.compareTo(maxValue) <= 0; bound = bound.add(step)) {
+            Object[] upper = new Object[] { bound };
+            ranges.add(new CompareDataKeyRange(lower, upper));
+            lower = upper;
+        }
+        ranges.add(new CompareDataKeyRange(lower, range.getUpperBound()));
+        return ranges;
+    }
+
+    @Nullable
+    private BigInteger[] readKeyBounds(
+        @NotNull DBCSession session,
+        @NotNull CompareDataTable table,
+        @NotNull CompareDataKeyRange range
+    ) throws DBException {
+        String keyName = table.getKeyOrderBy();
+        String query = table.makeQuery("MIN(" + keyName + "), MAX(" + keyName + ")", range, false);
+        Object[] bounds = new Object[2];
+        table.readRows(session, query, resultSet -> {
+            bounds[0] = resultSet.getAttributeValue(0);
+            bounds[1] = resultSet.getAttributeValue(1);
+            return false;
+        });
+        BigInteger minValue = toBigInteger(bounds[0]);
+        BigInteger maxValue = toBigInteger(bounds[1]);
+        return minValue == null || maxValue == null ? null : new BigInteger[]{ minValue, maxValue };
+    }
+
+    /**
+     * Splits range by keys read from the database. Boundary keys are selected on the server with ROW_NUMBER()
+     * if the dialect supports it, otherwise all range keys are read and sampled on the client.
+     */
+    @NotNull
+    private List<CompareDataKeyRange> splitSampledRange(
+        @NotNull CompareDataKeyRange range,
+        @NotNull DBCSession session,
+        @NotNull CompareDataTable table,
+        long rowCount
+    ) throws DBException {
+        long step = Math.max(1, (rowCount + settings.getSplitFactor() - 1) / settings.getSplitFactor());
+        List<Object[]> boundaries = null;
+        String boundaryQuery = clientSplitTables.contains(table) ? null : table.makeBoundaryQuery(range, step);
+        if (boundaryQuery != null) {
+            try {
+                boundaries = readServerBoundaries(session, table, boundaryQuery);
+            } catch (DBException e) {
+                // E.g. old server version without window functions
+                log.debug("Server-side key split failed for " + table + ", keys will be sampled on client: " + e.getMessage());
+                clientSplitTables.add(table);
+            }
+        }
+        if (boundaries == null) {
+            boundaries = readClientBoundaries(session, table, range, step);
+        }
+
+        List<CompareDataKeyRange> ranges = new ArrayList<>();
+        Object[] lower = range.getLowerBound();
+        for (Object[] boundary : boundaries) {
+            ranges.add(new CompareDataKeyRange(lower, boundary));
+            lower = boundary;
+        }
+        ranges.add(new CompareDataKeyRange(lower, range.getUpperBound()));
+        return ranges;
+    }
+
+    @NotNull
+    private List<Object[]> readServerBoundaries(
+        @NotNull DBCSession session,
+        @NotNull CompareDataTable table,
+        @NotNull String query
+    ) throws DBException {
+        List<Object[]> boundaries = new ArrayList<>();
+        table.readRows(session, query, resultSet -> {
+            boundaries.add(table.readKeyValues(resultSet, 0));
+            return true;
+        });
+        result.addHashQueries(1);
+        result.addFetchedRows(boundaries.size());
+        return boundaries;
+    }
+
+    /**
+     * Reads all keys of the range and takes every {@code step}-th of them. Used for dialects without ROW_NUMBER().
+     */
+    @NotNull
+    private List<Object[]> readClientBoundaries(
+        @NotNull DBCSession session,
+        @NotNull CompareDataTable table,
+        @NotNull CompareDataKeyRange range,
+        long step
+    ) throws DBException {
+        List<Object[]> boundaries = new ArrayList<>();
+        long[] rowNumber = new long[1];
+        String query = table.makeQuery(table.getColumnList(table.getKeyAttributes()), range, true);
+        table.readRows(session, query, resultSet -> {
+            rowNumber[0]++;
+            if (rowNumber[0] > 1 && (rowNumber[0] - 1) % step == 0) {
+                boundaries.add(table.readKeyValues(resultSet, 0));
+            }
+            return true;
+        });
+        result.addFetchedRows(rowNumber[0]);
+        return boundaries;
+    }
+
+    private static boolean isComparableAttribute(@NotNull DBSEntityAttribute attr) {
+        DBPDataKind dataKind = attr.getDataKind();
+        return !dataKind.isComplex() && dataKind != DBPDataKind.CONTENT && dataKind != DBPDataKind.ROWID;
+    }
+
+    @NotNull
+    private static DBSEntityAttribute getAttribute(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSEntity entity,
+        @NotNull String name
+    ) throws DBException {
+        DBSEntityAttribute attribute = entity.getAttribute(monitor, name);
+        if (attribute == null) {
+            throw new DBException("Attribute '" + name + "' not found in " +
+                DBUtils.getObjectFullName(entity, DBPEvaluationContext.UI));
+        }
+        return attribute;
+    }
+
+    @NotNull
+    private static DBCExecutionContext getExecutionContext(@NotNull DBSEntity entity) throws DBException {
+        DBCExecutionContext context = DBUtils.getDefaultContext(entity, false);
+        if (context == null) {
+            throw new DBException("Data source '" + entity.getDataSource().getName() + "' is not connected");
+        }
+        return context;
+    }
+
+    @Nullable
+    private static BigInteger toBigInteger(@Nullable Object value) {
+        Object normalized = CompareDataUtils.normalizeValue(value);
+        if (normalized instanceof BigDecimal bd) {
+            try {
+                return bd.toBigIntegerExact();
+            } catch (ArithmeticException e) {
+                // Fractional keys can't be split arithmetically
+                return null;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static BigInteger minOf(@Nullable BigInteger v1, @Nullable BigInteger v2) {
+        return v1 == null ? v2 : v2 == null ? v1 : v1.min(v2);
+    }
+
+    @Nullable
+    private static BigInteger maxOf(@Nullable BigInteger v1, @Nullable BigInteger v2) {
+        return v1 == null ? v2 : v2 == null ? v1 : v1.max(v2);
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple.data;
+
+import org.jkiss.code.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Range of key tuples. Lower bound is inclusive, upper bound is exclusive, null bound means unbounded.
+ */
+public class CompareDataKeyRange {
+
+    public static final CompareDataKeyRange FULL = new CompareDataKeyRange(null, null);
+
+    @Nullable
+    private final Object[] lowerBound;
+    @Nullable
+    private final Object[] upperBound;
+
+    public CompareDataKeyRange(@Nullable Object[] lowerBound, @Nullable Object[] upperBound) {
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    @Nullable
+    public Object[] getLowerBound() {
+        return lowerBound;
+    }
+
+    @Nullable
+    public Object[] getUpperBound() {
+        return upperBound;
+    }
+
+    public boolean isUnbounded() {
+        return lowerBound == null && upperBound == null;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + (lowerBound == null ? "-inf" : Arrays.toString(lowerBound)) +
+            " .. " + (upperBound == null ? "+inf" : Arrays.toString(upperBound)) + ")";
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple.data;
+
+import org.jkiss.code.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data compare result
+ */
+public class CompareDataResult {
+
+    @NotNull
+    private final CompareDataTable source;
+    @NotNull
+    private final CompareDataTable target;
+    private final boolean serverHashing;
+    private final List<CompareDataDifference> differences = new ArrayList<>();
+    private final int maxDifferences;
+    private boolean truncated;
+    private long hashQueries;
+    private long matchedRows;
+    private long fetchedRows;
+    private long compareTime;
+
+    CompareDataResult(@NotNull CompareDataTable source, @NotNull CompareDataTable target, boolean serverHashing, int maxDifferences) {
+        this.source = source;
+        this.target = target;
+        this.serverHashing = serverHashing;
+        this.maxDifferences = maxDifferences;
+    }
+
+    @NotNull
+    public CompareDataTable getSource() {
+        return source;
+    }
+
+    @NotNull
+    public CompareDataTable getTarget() {
+        return target;
+    }
+
+    public boolean isServerHashing() {
+        return serverHashing;
+    }
+
+    @NotNull
+    public List<CompareDataDifference> getDifferences() {
+        return differences;
+    }
+
+    public boolean hasDifferences() {
+        return !differences.isEmpty();
+    }
+
+    /**
+     * True if the difference limit was reached and some differences were not collected
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Number of aggregate (digest and key bounds) queries executed on both sides
+     */
+    public long getHashQueries() {
+        return hashQueries;
+    }
+
+    /**
+     * Number of rows proven equal by range digests, without fetching them
+     */
+    public long getMatchedRows() {
+        return matchedRows;
+    }
+
+    /**
+     * Number of rows fetched from both sides for row-by-row comparison
+     */
+    public long getFetchedRows() {
+        return fetchedRows;
+    }
+
+    public long getCompareTime() {
+        return compareTime;
+    }
+
+    boolean addDifference(@NotNull CompareDataDifference difference) {
+        if (maxDifferences > 0 && differences.size() >= maxDifferences) {
+            truncated = true;
+            return false;
+        }
+        differences.add(difference);
+        return true;
+    }
+
+    void addHashQueries(int count) {
+        hashQueries += count;
+    }
+
+    void addMatchedRows(long count) {
+        matchedRows += count;
+    }
+
+    void addFetchedRows(long count) {
+        fetchedRows += count;
+    }
+
+    void setCompareTime(long compareTime) {
+        this.compareTime = compareTime;
+    }
+}
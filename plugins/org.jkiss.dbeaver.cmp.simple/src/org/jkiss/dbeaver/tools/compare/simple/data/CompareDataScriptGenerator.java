@@ -0,0 +1,100 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+
+import java.util.List;
+
+/**
+ * Generates script which synchronizes target table data with the source table
+ */
+public class CompareDataScriptGenerator {
+
+    @NotNull
+    private final CompareDataResult result;
+
+    public CompareDataScriptGenerator(@NotNull CompareDataResult result) {
+        this.result = result;
+    }
+
+    /**
+     * Generates DELETE, UPDATE and INSERT statements (in this order) for the target table
+     */
+    @NotNull
+    public String generateScript() {
+        StringBuilder script = new StringBuilder();
+        for (CompareDataDifference.Type type : new CompareDataDifference.Type[] {
+            CompareDataDifference.Type.DELETE,
+            CompareDataDifference.Type.UPDATE,
+            CompareDataDifference.Type.INSERT}
+        ) {
+            for (CompareDataDifference difference : result.getDifferences()) {
+                if (difference.getType() == type) {
+                    appendStatement(script, difference);
+                }
+            }
+        }
+        return script.toString();
+    }
+
+    public void appendStatement(@NotNull StringBuilder script, @NotNull CompareDataDifference difference) {
+        CompareDataTable target = result.getTarget();
+        String delimiter = SQLUtils.getDefaultScriptDelimiter(target.getDataSource().getSQLDialect());
+        switch (difference.getType()) {
+            case INSERT -> appendInsert(script, target, difference);
+            case UPDATE -> appendUpdate(script, target, difference);
+            case DELETE -> script.append("DELETE FROM ").append(target.getTableName())
+                .append(" WHERE ").append(target.makeKeyCondition(difference.getKeyValues()));
+        }
+        script.append(delimiter).append("\n");
+    }
+
+    private void appendInsert(@NotNull StringBuilder script, @NotNull CompareDataTable target, @NotNull CompareDataDifference difference) {
+        List<DBSEntityAttribute> attributes = target.getAllAttributes();
+        Object[] values = difference.getSourceValues();
+        script.append("INSERT INTO ").append(target.getTableName())
+            .append(" (").append(target.getColumnList(attributes)).append(") VALUES (");
+        for (int i = 0; i < attributes.size(); i++) {
+            if (i > 0) script.append(", ");
+            script.append(target.getValueLiteral(attributes.get(i), values == null ? null : values[i]));
+        }
+        script.append(")");
+    }
+
+    private void appendUpdate(@NotNull StringBuilder script, @NotNull CompareDataTable target, @NotNull CompareDataDifference difference) {
+        List<DBSEntityAttribute> attributes = target.getAllAttributes();
+        Object[] values = difference.getSourceValues();
+        int keyCount = target.getKeyAttributes().size();
+        script.append("UPDATE ").append(target.getTableName()).append(" SET ");
+        boolean hasValues = false;
+        for (int i = keyCount; i < attributes.size(); i++) {
+            if (!difference.isValueChanged(i)) {
+                continue;
+            }
+            if (hasValues) script.append(", ");
+            DBSEntityAttribute attr = attributes.get(i);
+            script.append(target.getColumnList(List.of(attr))).append("=")
+                .append(target.getValueLiteral(attr, values == null ? null : values[i]));
+            hasValues = true;
+        }
+        script.append(" WHERE ").append(target.makeKeyCondition(difference.getKeyValues()));
+    }
+
+}
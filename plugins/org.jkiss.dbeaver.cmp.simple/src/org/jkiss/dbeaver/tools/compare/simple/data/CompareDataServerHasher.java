@@ -0,0 +1,173 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Computes key range digests with a single aggregate query on the server side.
+ * Hash expressions are dialect specific, so digests are comparable only between tables of the same dialect.
+ */
+public class CompareDataServerHasher implements CompareDataHasher {
+
+    private static final String DIALECT_POSTGRESQL = "postgresql";
+    private static final String DIALECT_MYSQL = "mysql";
+    private static final String DIALECT_ORACLE = "oracle";
+    private static final String DIALECT_SQLSERVER = "sqlserver";
+
+    /**
+     * Checks whether server-side hashing is supported for this data source
+     */
+    public static boolean isSupported(@NotNull DBPDataSource dataSource) {
+        return makeHashExpression(dataSource, List.of()) != null;
+    }
+
+    /**
+     * Checks whether both data sources produce comparable server-side hashes
+     */
+    public static boolean isComparable(@NotNull DBPDataSource source, @NotNull DBPDataSource target) {
+        return isSupported(source) && isSupported(target) &&
+            CommonUtils.equalObjects(source.getSQLDialect().getDialectId(), target.getSQLDialect().getDialectId());
+    }
+
+    @NotNull
+    @Override
+    public CompareDataDigest computeDigest(
+        @NotNull DBCSession session,
+        @NotNull CompareDataTable table,
+        @NotNull CompareDataKeyRange range
+    ) throws DBException {
+        String hashExpression = makeHashExpression(table.getDataSource(), table.getAllAttributes());
+        if (hashExpression == null) {
+            throw new DBException("Server-side hashing is not supported for " + table.getDataSource().getSQLDialect().getDialectName());
+        }
+        String query = table.makeQuery("COUNT(*), " + hashExpression, range, false);
+        Object[] digest = new Object[2];
+        table.readRows(session, query, resultSet -> {
+            digest[0] = resultSet.getAttributeValue(0);
+            digest[1] = resultSet.getAttributeValue(1);
+            return false;
+        });
+        Object hash = CompareDataUtils.normalizeValue(digest[1]);
+        return new CompareDataDigest(CommonUtils.toLong(digest[0]), hash == null ? null : hash.toString());
+    }
+
+    @Nullable
+    private static String makeHashExpression(@NotNull DBPDataSource dataSource, @NotNull List<DBSEntityAttribute> attributes) {
+        SQLDialect dialect = dataSource.getSQLDialect();
+        String dialectId = dialect.getDialectId();
+        if (dialectId == null) {
+            return null;
+        }
+        switch (dialectId) {
+            case DIALECT_POSTGRESQL: {
+                // First 60 bits of the row text MD5, summed as numeric
+                return "SUM(('x' || SUBSTR(MD5(ROW(" + joinColumns(attributes, ", ", "%s") + ")::TEXT), 1, 15))::BIT(60)::BIGINT)";
+            }
+            case DIALECT_MYSQL: {
+                // CONCAT_WS skips NULLs so they are replaced with an explicit marker
+                return "SUM(CAST(CONV(SUBSTRING(MD5(CONCAT_WS('|', " +
+                    joinColumns(attributes, ", ", "COALESCE(CAST(%s AS CHAR), '#NULL#')") +
+                    ")), 1, 15), 16, 10) AS UNSIGNED))";
+            }
+            case DIALECT_ORACLE: {
+                // Values are formatted explicitly, implicit conversions depend on session NLS settings
+                return "SUM(TO_NUMBER(SUBSTR(RAWTOHEX(STANDARD_HASH(" +
+                    joinColumns(attributes, " || CHR(1) || ", CompareDataServerHasher::formatOracleValue) +
+                    ", 'MD5')), 1, 14), 'XXXXXXXXXXXXXX'))";
+            }
+            case DIALECT_SQLSERVER: {
+                // CHECKSUM_AGG is XOR based (duplicate rows cancel out), so row hashes are summed instead
+                return "SUM(CAST(CONVERT(BIGINT, SUBSTRING(HASHBYTES('MD5', " +
+                    joinColumns(attributes, " + NCHAR(1) + ", CompareDataServerHasher::formatSQLServerValue) +
+                    "), 1, 7)) AS DECIMAL(38, 0)))";
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static String joinColumns(@NotNull List<DBSEntityAttribute> attributes, @NotNull String separator, @NotNull String pattern) {
+        return joinColumns(attributes, separator, attr -> String.format(pattern, DBUtils.getQuotedIdentifier(attr)));
+    }
+
+    private static String joinColumns(
+        @NotNull List<DBSEntityAttribute> attributes,
+        @NotNull String separator,
+        @NotNull Function<DBSEntityAttribute, String> formatter
+    ) {
+        if (attributes.isEmpty()) {
+            return "'1'";
+        }
+        StringBuilder sql = new StringBuilder();
+        for (DBSEntityAttribute attr : attributes) {
+            if (!sql.isEmpty()) sql.append(separator);
+            sql.append(formatter.apply(attr));
+        }
+        return sql.toString();
+    }
+
+    @NotNull
+    private static String formatOracleValue(@NotNull DBSEntityAttribute attr) {
+        String column = DBUtils.getQuotedIdentifier(attr);
+        String typeName = CommonUtils.notEmpty(attr.getTypeName()).toUpperCase(Locale.ENGLISH);
+        String value = switch (attr.getDataKind()) {
+            case NUMERIC, BOOLEAN -> "TO_CHAR(" + column + ", 'TM9', 'NLS_NUMERIC_CHARACTERS=''.,''')";
+            case DATETIME -> typeName.equals("DATE") ?
+                "TO_CHAR(" + column + ", 'YYYY-MM-DD HH24:MI:SS')" :
+                typeName.contains("TIME ZONE") ?
+                    "TO_CHAR(SYS_EXTRACT_UTC(" + column + "), 'YYYY-MM-DD HH24:MI:SS.FF9')" :
+                    "TO_CHAR(" + column + ", 'YYYY-MM-DD HH24:MI:SS.FF9')";
+            case BINARY -> "RAWTOHEX(" + column + ")";
+            default -> "TO_CHAR(" + column + ")";
+        };
+        // Marker keeps NULL distinct from an empty string (Oracle treats '' as NULL)
+        return "NVL(" + value + ", CHR(0))";
+    }
+
+    @NotNull
+    private static String formatSQLServerValue(@NotNull DBSEntityAttribute attr) {
+        String column = DBUtils.getQuotedIdentifier(attr);
+        String value = switch (attr.getDataKind()) {
+            // Style 126 is ISO 8601, style 3 keeps all float digits, style 2 is hex without 0x prefix
+            case DATETIME -> "CONVERT(NVARCHAR(64), " + column + ", 126)";
+            case NUMERIC -> isFloatType(attr) ?
+                "CONVERT(NVARCHAR(64), " + column + ", 3)" :
+                "CONVERT(NVARCHAR(64), " + column + ")";
+            case BINARY -> "CONVERT(NVARCHAR(MAX), CONVERT(VARBINARY(MAX), " + column + "), 2)";
+            default -> "CONVERT(NVARCHAR(MAX), " + column + ")";
+        };
+        return "COALESCE(" + value + ", NCHAR(0))";
+    }
+
+    private static boolean isFloatType(@NotNull DBSEntityAttribute attr) {
+        String typeName = CommonUtils.notEmpty(attr.getTypeName()).toLowerCase(Locale.ENGLISH);
+        return typeName.equals("float") || typeName.equals("real");
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.preferences.DBPSettingsSection;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.List;
+
+/**
+ * Table data compare settings
+ */
+public class CompareDataSettings {
+
+    public static final int DEFAULT_LEAF_ROW_COUNT = 1000;
+    public static final int DEFAULT_SPLIT_FACTOR = 16;
+    public static final int DEFAULT_MAX_DIFFERENCES = 100000;
+
+    public enum HashMode {
+        /**
+         * Use server-side aggregated hashes when both tables are in the same dialect and the dialect supports it.
+         */
+        AUTO,
+        /**
+         * Always read rows and hash them on the client side.
+         */
+        CLIENT
+    }
+
+    @NotNull
+    private final DBSEntity sourceEntity;
+    @NotNull
+    private final DBSEntity targetEntity;
+    @Nullable
+    private List<String> keyAttributes;
+    @Nullable
+    private List<String> compareAttributes;
+    private HashMode hashMode = HashMode.AUTO;
+    private int leafRowCount = DEFAULT_LEAF_ROW_COUNT;
+    private int splitFactor = DEFAULT_SPLIT_FACTOR;
+    private int maxDifferences = DEFAULT_MAX_DIFFERENCES;
+
+    public CompareDataSettings(@NotNull DBSEntity sourceEntity, @NotNull DBSEntity targetEntity) {
+        this.sourceEntity = sourceEntity;
+        this.targetEntity = targetEntity;
+    }
+
+    @NotNull
+    public DBSEntity getSourceEntity() {
+        return sourceEntity;
+    }
+
+    @NotNull
+    public DBSEntity getTargetEntity() {
+        return targetEntity;
+    }
+
+    /**
+     * Names of key attributes. If empty then the best unique identifier of the source entity is used.
+     */
+    @Nullable
+    public List<String> getKeyAttributes() {
+        return keyAttributes;
+    }
+
+    public void setKeyAttributes(@Nullable List<String> keyAttributes) {
+        this.keyAttributes = keyAttributes;
+    }
+
+    /**
+     * Names of compared attributes. If empty then all attributes present in both entities are compared.
+     */
+    @Nullable
+    public List<String> getCompareAttributes() {
+        return compareAttributes;
+    }
+
+    public void setCompareAttributes(@Nullable List<String> compareAttributes) {
+        this.compareAttributes = compareAttributes;
+    }
+
+    public HashMode getHashMode() {
+        return hashMode;
+    }
+
+    public void setHashMode(HashMode hashMode) {
+        this.hashMode = hashMode;
+    }
+
+    /**
+     * Maximum number of rows in a key range which is compared row by row instead of being split further.
+     */
+    public int getLeafRowCount() {
+        return leafRowCount;
+    }
+
+    public void setLeafRowCount(int leafRowCount) {
+        this.leafRowCount = Math.max(1, leafRowCount);
+    }
+
+    /**
+     * Number of sub-ranges a mismatched key range is split into.
+     */
+    public int getSplitFactor() {
+        return splitFactor;
+    }
+
+    public void setSplitFactor(int splitFactor) {
+        this.splitFactor = Math.max(2, splitFactor);
+    }
+
+    public int getMaxDifferences() {
+        return maxDifferences;
+    }
+
+    public void setMaxDifferences(int maxDifferences) {
+        this.maxDifferences = maxDifferences;
+    }
+
+    public void loadFrom(DBPSettingsSection dialogSettings) {
+        if (dialogSettings.get("dataHashMode") != null) {
+            hashMode = CommonUtils.valueOf(HashMode.class, dialogSettings.get("dataHashMode"), HashMode.AUTO);
+        }
+        if (dialogSettings.get("dataLeafRowCount") != null) {
+            setLeafRowCount(dialogSettings.getInt("dataLeafRowCount"));
+        }
+        if (dialogSettings.get("dataSplitFactor") != null) {
+            setSplitFactor(dialogSettings.getInt("dataSplitFactor"));
+        }
+        if (dialogSettings.get("dataMaxDifferences") != null) {
+            maxDifferences = dialogSettings.getInt("dataMaxDifferences");
+        }
+    }
+
+    public void saveTo(DBPSettingsSection dialogSettings) {
+        dialogSettings.put("dataHashMode", hashMode.name());
+        dialogSettings.put("dataLeafRowCount", leafRowCount);
+        dialogSettings.put("dataSplitFactor", splitFactor);
+        dialogSettings.put("dataMaxDifferences", maxDifferences);
+    }
+
+}
@@ -0,0 +1,252 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One side of the data compare: entity, execution context and resolved key/value attributes.
+ */
+public class CompareDataTable {
+
+    private static final String ROW_NUMBER_COLUMN = "cmp_row_num";
+
+    /**
+     * Dialects known to support ROW_NUMBER() window function in derived tables
+     */
+    private static final Set<String> ROW_NUMBER_DIALECTS = Set.of("postgresql", "mysql", "oracle", "sqlserver");
+
+    public interface RowHandler {
+        /**
+         * Handles row. Returns false to stop reading.
+         */
+        boolean handleRow(@NotNull DBCResultSet resultSet) throws DBException;
+    }
+
+    @NotNull
+    private final DBSEntity entity;
+    @NotNull
+    private final DBCExecutionContext executionContext;
+    @NotNull
+    private final List<DBSEntityAttribute> keyAttributes;
+    @NotNull
+    private final List<DBSEntityAttribute> valueAttributes;
+
+    public CompareDataTable(
+        @NotNull DBSEntity entity,
+        @NotNull DBCExecutionContext executionContext,
+        @NotNull List<DBSEntityAttribute> keyAttributes,
+        @NotNull List<DBSEntityAttribute> valueAttributes
+    ) {
+        this.entity = entity;
+        this.executionContext = executionContext;
+        this.keyAttributes = keyAttributes;
+        this.valueAttributes = valueAttributes;
+    }
+
+    @NotNull
+    public DBSEntity getEntity() {
+        return entity;
+    }
+
+    @NotNull
+    public DBPDataSource getDataSource() {
+        return entity.getDataSource();
+    }
+
+    @NotNull
+    public DBCExecutionContext getExecutionContext() {
+        return executionContext;
+    }
+
+    @NotNull
+    public List<DBSEntityAttribute> getKeyAttributes() {
+        return keyAttributes;
+    }
+
+    @NotNull
+    public List<DBSEntityAttribute> getValueAttributes() {
+        return valueAttributes;
+    }
+
+    /**
+     * Key attributes followed by value attributes
+     */
+    @NotNull
+    public List<DBSEntityAttribute> getAllAttributes() {
+        List<DBSEntityAttribute> result = new ArrayList<>(keyAttributes.size() + valueAttributes.size());
+        result.addAll(keyAttributes);
+        result.addAll(valueAttributes);
+        return result;
+    }
+
+    @NotNull
+    public String getTableName() {
+        return DBUtils.getObjectFullName(entity, DBPEvaluationContext.DML);
+    }
+
+    @NotNull
+    public String getColumnList(@NotNull List<DBSEntityAttribute> attributes) {
+        StringBuilder sql = new StringBuilder();
+        for (DBSEntityAttribute attr : attributes) {
+            if (!sql.isEmpty()) sql.append(", ");
+            sql.append(DBUtils.getQuotedIdentifier(attr));
+        }
+        return sql.toString();
+    }
+
+    @NotNull
+    public String getKeyOrderBy() {
+        return getColumnList(keyAttributes);
+    }
+
+    @NotNull
+    public String getValueLiteral(@NotNull DBSEntityAttribute attribute, @Nullable Object value) {
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        return SQLUtils.convertValueToSQL(getDataSource(), attribute, value);
+    }
+
+    /**
+     * Builds "SELECT {selectList} FROM {table} [WHERE {range}] [ORDER BY {key}]" query
+     */
+    @NotNull
+    public String makeQuery(@NotNull String selectList, @NotNull CompareDataKeyRange range, boolean orderByKey) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT ").append(selectList).append(" FROM ").append(getTableName());
+        String condition = getRangeCondition(range);
+        if (condition != null) {
+            sql.append(" WHERE ").append(condition);
+        }
+        if (orderByKey) {
+            sql.append(" ORDER BY ").append(getKeyOrderBy());
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Builds query which returns every {@code step}-th key of the range (the first key is skipped).
+     * Rows are numbered on the server so only boundary keys are transferred.
+     * Returns null if the dialect is not known to support ROW_NUMBER().
+     */
+    @Nullable
+    public String makeBoundaryQuery(@NotNull CompareDataKeyRange range, long step) {
+        String dialectId = getDataSource().getSQLDialect().getDialectId();
+        if (dialectId == null || !ROW_NUMBER_DIALECTS.contains(dialectId)) {
+            return null;
+        }
+        String keyList = getKeyOrderBy();
+        String rowIndex = "(" + ROW_NUMBER_COLUMN + " - 1)";
+        String modulo = dialectId.equals("sqlserver") ? rowIndex + " % " + step : "MOD(" + rowIndex + ", " + step + ")";
+        String rowNumbers = makeQuery(keyList + ", ROW_NUMBER() OVER (ORDER BY " + keyList + ") AS " + ROW_NUMBER_COLUMN, range, false);
+        return "SELECT " + keyList + " FROM (" + rowNumbers + ") cmp_keys" +
+            " WHERE " + ROW_NUMBER_COLUMN + " > 1 AND " + modulo + " = 0" +
+            " ORDER BY " + ROW_NUMBER_COLUMN;
+    }
+
+    /**
+     * Makes condition for key tuple range. Tuple comparison is expanded into AND/OR chains
+     * because row value constructors are not supported by all databases.
+     */
+    @Nullable
+    public String getRangeCondition(@NotNull CompareDataKeyRange range) {
+        String lower = range.getLowerBound() == null ? null : makeTupleCondition(range.getLowerBound(), ">", ">=");
+        String upper = range.getUpperBound() == null ? null : makeTupleCondition(range.getUpperBound(), "<", "<");
+        if (lower == null) {
+            return upper;
+        } else if (upper == null) {
+            return lower;
+        }
+        return lower + " AND " + upper;
+    }
+
+    @NotNull
+    public String makeKeyCondition(@NotNull Object[] keyValues) {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < keyAttributes.size(); i++) {
+            if (i > 0) sql.append(" AND ");
+            DBSEntityAttribute attr = keyAttributes.get(i);
+            sql.append(DBUtils.getQuotedIdentifier(attr)).append("=").append(getValueLiteral(attr, keyValues[i]));
+        }
+        return sql.toString();
+    }
+
+    private String makeTupleCondition(@NotNull Object[] bound, @NotNull String strictOp, @NotNull String lastOp) {
+        StringBuilder sql = new StringBuilder("(");
+        for (int i = 0; i < keyAttributes.size(); i++) {
+            if (i > 0) sql.append(" OR ");
+            sql.append("(");
+            for (int k = 0; k <= i; k++) {
+                if (k > 0) sql.append(" AND ");
+                DBSEntityAttribute attr = keyAttributes.get(k);
+                String op = k < i ? "=" : (i == keyAttributes.size() - 1 ? lastOp : strictOp);
+                sql.append(DBUtils.getQuotedIdentifier(attr)).append(op).append(getValueLiteral(attr, bound[k]));
+            }
+            sql.append(")");
+        }
+        sql.append(")");
+        return sql.toString();
+    }
+
+    public void readRows(
+        @NotNull DBCSession session,
+        @NotNull String query,
+        @NotNull RowHandler handler
+    ) throws DBException {
+        try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query, false, false, false)) {
+            if (dbStat.executeStatement()) {
+                try (DBCResultSet dbResult = dbStat.openResultSet()) {
+                    if (dbResult == null) {
+                        return;
+                    }
+                    while (dbResult.nextRow()) {
+                        if (session.getProgressMonitor().isCanceled() || !handler.handleRow(dbResult)) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public Object[] readKeyValues(@NotNull DBCResultSet resultSet, int offset) throws DBCException {
+        Object[] values = new Object[keyAttributes.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = resultSet.getAttributeValue(offset + i);
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return getTableName();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple.data;
+
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDValue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.*;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Data compare utils
+ */
+public class CompareDataUtils {
+
+    /**
+     * Converts value into a driver-neutral form so values read from different databases can be compared.
+     * Numbers and booleans become stripped BigDecimals, binary values become hex strings, temporal values
+     * become ISO-8601 strings (timestamps with zero time part are treated as dates, zoned values are
+     * converted to UTC), everything else becomes a string.
+     */
+    @Nullable
+    public static Object normalizeValue(@Nullable Object value) {
+        if (value instanceof DBDValue dbdValue) {
+            if (dbdValue.isNull()) {
+                return null;
+            }
+            value = dbdValue.getRawValue();
+        }
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal bd) {
+            return bd.signum() == 0 ? BigDecimal.ZERO : bd.stripTrailingZeros();
+        } else if (value instanceof BigInteger bi) {
+            return new BigDecimal(bi);
+        } else if (value instanceof Double || value instanceof Float) {
+            double dv = ((Number) value).doubleValue();
+            if (Double.isNaN(dv) || Double.isInfinite(dv)) {
+                return value.toString();
+            }
+            // Float goes through its own decimal representation, so REAL 0.1 equals DOUBLE 0.1
+            return normalizeValue(value instanceof Float ? new BigDecimal(value.toString()) : BigDecimal.valueOf(dv));
+        } else if (value instanceof Number number) {
+            return BigDecimal.valueOf(number.longValue());
+        } else if (value instanceof Boolean bool) {
+            // Boolean columns are numbers in some databases (Oracle NUMBER(1), MySQL TINYINT(1))
+            return bool ? BigDecimal.ONE : BigDecimal.ZERO;
+        } else if (value instanceof byte[] bytes) {
+            return toHex(bytes);
+        } else if (value instanceof Date || value instanceof TemporalAccessor) {
+            return normalizeTemporal(value);
+        }
+        return value.toString();
+    }
+
+    /**
+     * Formats normalized value for hashing
+     */
+    @Nullable
+    public static String formatValue(@Nullable Object normalizedValue) {
+        if (normalizedValue instanceof BigDecimal bd) {
+            return bd.toPlainString();
+        }
+        return normalizedValue == null ? null : normalizedValue.toString();
+    }
+
+    private static String normalizeTemporal(Object value) {
+        if (value instanceof java.sql.Timestamp ts) {
+            return formatDateTime(ts.toLocalDateTime());
+        } else if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().toString();
+        } else if (value instanceof java.sql.Time time) {
+            return time.toLocalTime().toString();
+        } else if (value instanceof Date date) {
+            return formatInstant(date.toInstant());
+        } else if (value instanceof LocalDateTime ldt) {
+            return formatDateTime(ldt);
+        } else if (value instanceof OffsetDateTime odt) {
+            return formatInstant(odt.toInstant());
+        } else if (value instanceof ZonedDateTime zdt) {
+            return formatInstant(zdt.toInstant());
+        } else if (value instanceof Instant instant) {
+            return formatInstant(instant);
+        } else if (value instanceof OffsetTime ot) {
+            return ot.withOffsetSameInstant(ZoneOffset.UTC).toLocalTime().toString();
+        }
+        return value.toString();
+    }
+
+    private static String formatInstant(Instant instant) {
+        return formatDateTime(LocalDateTime.ofInstant(instant, ZoneOffset.UTC));
+    }
+
+    private static String formatDateTime(LocalDateTime dateTime) {
+        if (dateTime.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+            // DATE columns are read as timestamps by some drivers (Oracle)
+            return dateTime.toLocalDate().toString();
+        }
+        return dateTime.toString();
+    }
+
+    public static boolean equalValues(@Nullable Object value1, @Nullable Object value2) {
+        Object nv1 = normalizeValue(value1), nv2 = normalizeValue(value2);
+        if (nv1 instanceof BigDecimal bd1 && nv2 instanceof BigDecimal bd2) {
+            return bd1.compareTo(bd2) == 0;
+        }
+        return nv1 == null ? nv2 == null : nv1.equals(nv2);
+    }
+
+    /**
+     * Key suitable for hash maps
+     */
+    public static List<Object> makeKey(Object[] keyValues) {
+        Object[] normalized = new Object[keyValues.length];
+        for (int i = 0; i < keyValues.length; i++) {
+            normalized[i] = normalizeValue(keyValues[i]);
+        }
+        return Arrays.asList(normalized);
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder str = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            str.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return str.toString();
+    }
+
+}
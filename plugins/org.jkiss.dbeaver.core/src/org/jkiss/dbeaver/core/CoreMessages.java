@@ -426,6 +426,10 @@ public class CoreMessages extends NLS {
     public static String dialog_connection_test_title;
     public static String dialog_connection_test_label_server;
     public static String dialog_connection_test_label_driver;
+    public static String dialog_connection_test_label_phases;
+    public static String dialog_connection_test_column_phase;
+    public static String dialog_connection_test_column_phase_start;
+    public static String dialog_connection_test_column_phase_duration;
     public static String dialog_connection_test_properties_title;
 
 
@@ -442,6 +446,12 @@ public class CoreMessages extends NLS {
     public static String pref_page_database_general_checkbox_show_row_count_tip;
     public static String pref_page_database_general_server_side_object_filters;
     public static String pref_page_database_general_server_side_object_filters_tip;
+    public static String pref_page_database_general_checkbox_metadata_snapshot;
+    public static String pref_page_database_general_checkbox_metadata_snapshot_tip;
+    public static String pref_page_database_general_checkbox_capability_cache;
+    public static String pref_page_database_general_checkbox_capability_cache_tip;
+    public static String pref_page_database_general_label_statement_cache_size;
+    public static String pref_page_database_general_label_statement_cache_size_tip;
     public static String pref_page_database_general_group_query_metadata;
     public static String pref_page_database_general_checkbox_add_special_DDL_info;
     public static String pref_page_database_general_checkbox_add_special_DDL_info_tip;
@@ -26,6 +26,7 @@ import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.*;
 import org.jkiss.dbeaver.core.CoreMessages;
 import org.jkiss.dbeaver.model.DBIcon;
+import org.jkiss.dbeaver.model.connection.DBPConnectionPhaseProfile;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.registry.DataSourceDescriptor;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
@@ -87,6 +88,31 @@ public class ConnectionTestDialog extends BaseDialog {
             driverText.setLayoutData(gd);
         }
 
+        DBPConnectionPhaseProfile phaseProfile = descriptor.getConnectPhaseProfile();
+        if (phaseProfile != null && phaseProfile.isFinished() && !phaseProfile.getPhases().isEmpty()) {
+            UIUtils.createEmptyLabel(composite, 1, 1);
+            UIUtils.createControlLabel(composite, CoreMessages.dialog_connection_test_label_phases).setLayoutData(new GridData(GridData.VERTICAL_ALIGN_BEGINNING));
+            Table phasesTable = new Table(composite, SWT.BORDER | SWT.FULL_SELECTION | SWT.V_SCROLL);
+            phasesTable.setHeaderVisible(true);
+            GridData gd = new GridData(GridData.FILL_BOTH);
+            gd.widthHint = 300;
+            gd.heightHint = phasesTable.getItemHeight() * 8;
+            phasesTable.setLayoutData(gd);
+            UIUtils.createTableColumn(phasesTable, SWT.LEFT, CoreMessages.dialog_connection_test_column_phase);
+            UIUtils.createTableColumn(phasesTable, SWT.RIGHT, CoreMessages.dialog_connection_test_column_phase_start);
+            UIUtils.createTableColumn(phasesTable, SWT.RIGHT, CoreMessages.dialog_connection_test_column_phase_duration);
+            for (DBPConnectionPhaseProfile.Phase phase : phaseProfile.getPhases()) {
+                TableItem item = new TableItem(phasesTable, SWT.NONE);
+                item.setText(0, phase.name());
+                item.setText(1, String.valueOf(phase.startOffset()));
+                item.setText(2, String.valueOf(phase.duration()));
+                if (phase.failed()) {
+                    item.setImage(0, DBeaverIcons.getImage(DBIcon.SMALL_ERROR));
+                }
+            }
+            UIUtils.packColumns(phasesTable);
+        }
+
         UIUtils.asyncExec(() -> {
             Button button = getButton(IDialogConstants.OK_ID);
             if (button != null) {
@@ -45,6 +45,9 @@ public class PrefPageMetaData extends TargetPrefPage
     private Button caseSensitiveNamesCheck;
     private Button serverSideFiltersCheck;
     private Button addExtraDDLInfo;
+    private Button metadataSnapshotCheck;
+    private Button capabilityCacheCheck;
+    private Spinner statementCacheSizeSpinner;
 
     public PrefPageMetaData()
     {
@@ -59,7 +62,10 @@ public class PrefPageMetaData extends TargetPrefPage
             store.contains(ModelPreferences.READ_EXPENSIVE_PROPERTIES) ||
             store.contains(ModelPreferences.META_SEPARATE_CONNECTION) ||
             store.contains(ModelPreferences.META_CASE_SENSITIVE) ||
-            store.contains(ModelPreferences.META_USE_SERVER_SIDE_FILTERS)
+            store.contains(ModelPreferences.META_USE_SERVER_SIDE_FILTERS) ||
+            store.contains(ModelPreferences.META_SNAPSHOT_ENABLED) ||
+            store.contains(ModelPreferences.META_CAPABILITY_CACHE_ENABLED) ||
+            store.contains(ModelPreferences.CONNECTION_STATEMENT_CACHE_SIZE)
             ;
     }
 
@@ -103,6 +109,15 @@ public class PrefPageMetaData extends TargetPrefPage
                 1);
             readExpensiveCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_checkbox_show_row_count, CoreMessages.pref_page_database_general_checkbox_show_row_count_tip, false, 1);
             serverSideFiltersCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_server_side_object_filters, CoreMessages.pref_page_database_general_server_side_object_filters_tip, false, 1);
+            metadataSnapshotCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_checkbox_metadata_snapshot, CoreMessages.pref_page_database_general_checkbox_metadata_snapshot_tip, false, 1);
+            capabilityCacheCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_checkbox_capability_cache, CoreMessages.pref_page_database_general_checkbox_capability_cache_tip, false, 1);
+            statementCacheSizeSpinner = UIUtils.createLabelSpinner(
+                UIUtils.createComposite(metadataGroup, 2),
+                CoreMessages.pref_page_database_general_label_statement_cache_size,
+                CoreMessages.pref_page_database_general_label_statement_cache_size_tip,
+                0,
+                0,
+                Short.MAX_VALUE);
         }
 
         return composite;
@@ -119,6 +134,9 @@ public class PrefPageMetaData extends TargetPrefPage
             caseSensitiveNamesCheck.setSelection(store.getBoolean(ModelPreferences.META_CASE_SENSITIVE));
             addExtraDDLInfo.setSelection(store.getBoolean(ModelPreferences.META_EXTRA_DDL_INFO));
             serverSideFiltersCheck.setSelection(store.getBoolean(ModelPreferences.META_USE_SERVER_SIDE_FILTERS));
+            metadataSnapshotCheck.setSelection(store.getBoolean(ModelPreferences.META_SNAPSHOT_ENABLED));
+            capabilityCacheCheck.setSelection(store.getBoolean(ModelPreferences.META_CAPABILITY_CACHE_ENABLED));
+            statementCacheSizeSpinner.setSelection(store.getInt(ModelPreferences.CONNECTION_STATEMENT_CACHE_SIZE));
 
         } catch (Exception e) {
             log.warn(e);
@@ -137,6 +155,9 @@ public class PrefPageMetaData extends TargetPrefPage
             store.setValue(ModelPreferences.META_CASE_SENSITIVE, caseSensitiveNamesCheck.getSelection());
             store.setValue(ModelPreferences.META_EXTRA_DDL_INFO, addExtraDDLInfo.getSelection());
             store.setValue(ModelPreferences.META_USE_SERVER_SIDE_FILTERS, serverSideFiltersCheck.getSelection());
+            store.setValue(ModelPreferences.META_SNAPSHOT_ENABLED, metadataSnapshotCheck.getSelection());
+            store.setValue(ModelPreferences.META_CAPABILITY_CACHE_ENABLED, capabilityCacheCheck.getSelection());
+            store.setValue(ModelPreferences.CONNECTION_STATEMENT_CACHE_SIZE, statementCacheSizeSpinner.getSelection());
 
         } catch (Exception e) {
             log.warn(e);
@@ -152,6 +173,9 @@ public class PrefPageMetaData extends TargetPrefPage
         store.setToDefault(ModelPreferences.META_CASE_SENSITIVE);
         store.setToDefault(ModelPreferences.META_USE_SERVER_SIDE_FILTERS);
         store.setToDefault(ModelPreferences.META_EXTRA_DDL_INFO);
+        store.setToDefault(ModelPreferences.META_SNAPSHOT_ENABLED);
+        store.setToDefault(ModelPreferences.META_CAPABILITY_CACHE_ENABLED);
+        store.setToDefault(ModelPreferences.CONNECTION_STATEMENT_CACHE_SIZE);
     }
 
     @Override
@@ -164,6 +188,9 @@ public class PrefPageMetaData extends TargetPrefPage
         caseSensitiveNamesCheck.setSelection(store.getDefaultBoolean(ModelPreferences.META_CASE_SENSITIVE));
         addExtraDDLInfo.setSelection(store.getDefaultBoolean(ModelPreferences.META_EXTRA_DDL_INFO));
         serverSideFiltersCheck.setSelection(store.getDefaultBoolean(ModelPreferences.META_USE_SERVER_SIDE_FILTERS));
+        metadataSnapshotCheck.setSelection(store.getDefaultBoolean(ModelPreferences.META_SNAPSHOT_ENABLED));
+        capabilityCacheCheck.setSelection(store.getDefaultBoolean(ModelPreferences.META_CAPABILITY_CACHE_ENABLED));
+        statementCacheSizeSpinner.setSelection(store.getDefaultInt(ModelPreferences.CONNECTION_STATEMENT_CACHE_SIZE));
         super.performDefaults();
     }
 
@@ -18,6 +18,8 @@ package org.jkiss.dbeaver.ui.gis.panel;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.Separator;
 import org.eclipse.jface.action.ToolBarManager;
@@ -75,13 +77,16 @@ import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.IOUtils;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
 
 public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceListener {
     private static final Log log = Log.getLog(GISLeafletViewer.class);
@@ -93,6 +98,9 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
     private static final String PROP_FLIP_COORDINATES = "gis.flipCoords";
     private static final String PROP_SRID = "gis.srid";
     private static final int UNDEFINED_SRID = -1;
+    // Estimated viewport size (in pixels) used to simplify initially embedded features
+    private static final int INITIAL_VIEWPORT_SIZE = 1000;
+    private static final double VIEWPORT_PREFETCH_RATIO = 0.25;
 
     private volatile boolean browserCreating = false;
 
@@ -104,6 +112,8 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
 
     private Browser browser;
     private DBGeometry[] lastValue;
+    private GisFeatureIndex featureIndex;
+    private final BitSet sentFeatures = new BitSet();
     private int sourceSRID = UNDEFINED_SRID; // Explicitly set SRID
     private int actualSourceSRID; // SRID taken from geometry value
     private Path scriptFile;
@@ -168,6 +178,19 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
                 };
             }
 
+            new BrowserFunction(browser, "requestViewportFeatures") {
+                @Override
+                public Object function(Object[] arguments) {
+                    return queryViewportFeatures(
+                        CommonUtils.toDouble(arguments[0]),
+                        CommonUtils.toDouble(arguments[1]),
+                        CommonUtils.toDouble(arguments[2]),
+                        CommonUtils.toDouble(arguments[3]),
+                        CommonUtils.toDouble(arguments[4]),
+                        CommonUtils.getBoolean(arguments[5]));
+                }
+            };
+
             browser.addDisposeListener(e -> {
                 cleanupFiles();
                 GISViewerActivator.getDefault().getPreferences().removePropertyChangeListener(this);
@@ -289,19 +312,11 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         if (!force && CommonUtils.equalObjects(lastValue, values)) {
             return;
         }
-        int maxObjects = GISViewerActivator.getDefault().getPreferences().getInt(GeometryViewerConstants.PREF_MAX_OBJECTS_RENDER);
-        if (maxObjects <= 0) {
-            maxObjects = GeometryViewerConstants.DEFAULT_MAX_OBJECTS_RENDER;
-        }
-        if (values != null && values.length > maxObjects) {
-            // Truncate value list
-            DBGeometry[] truncValues = new DBGeometry[maxObjects];
-            System.arraycopy(values, 0, truncValues, 0, maxObjects);
-            values = truncValues;
-        }
+        // All values are indexed, max objects limit is applied to each viewport request
         if (browser != null) {
             try {
                 if (ArrayUtils.isEmpty(values)) {
+                    featureIndex = null;
                     browser.setUrl("about:blank");
                 } else {
                     final Bounds bounds = recenter ? null : Bounds.tryExtractFromBrowser(browser);
@@ -334,8 +349,7 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
             }
         }
 
-        List<String> geomValues = new ArrayList<>();
-        List<String> geomTipValues = new ArrayList<>();
+        List<GisFeatureIndex.Feature> features = new ArrayList<>(values.length);
         boolean showMap = false;
         for (int i = 0; i < values.length; i++) {
             DBGeometry value = values[i];
@@ -397,20 +411,26 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
             if (targetValue == null) {
                 continue;
             }
-            geomValues.add("'" + targetValue + "'");
-            try {
-                if (CommonUtils.isEmpty(value.getProperties())) {
-                    geomTipValues.add("null");
-                } else {
-                    geomTipValues.add(gson.toJson(value.getProperties()));
-                }
-            } catch (Exception e) {
-                log.debug(e);
+            Geometry targetGeometry = GisTransformUtils.getJtsGeometry(targetValue);
+            if (targetGeometry == null) {
+                continue;
             }
+            features.add(new GisFeatureIndex.Feature(i, targetGeometry, value.getProperties()));
         }
         this.defaultSRID = actualSourceSRID;
-        String geomValuesString = String.join(",", geomValues);
-        String geomTipValuesString = String.join(",", geomTipValues);
+        this.featureIndex = new GisFeatureIndex(features);
+        this.sentFeatures.clear();
+
+        // Initial features are embedded into the page, so it can be viewed in an external browser.
+        // The viewer then requests features of the actual viewport.
+        Envelope dataBounds = featureIndex.getBounds();
+        String geomFeaturesString = serializeFeatures(featureIndex.query(
+            dataBounds,
+            Math.max(dataBounds.getWidth(), dataBounds.getHeight()) / INITIAL_VIEWPORT_SIZE,
+            getMaxObjectsRender(),
+            sentFeatures));
+        String dataBoundsString = dataBounds.isNull() ? "null" :
+            "[" + dataBounds.getMinX() + "," + dataBounds.getMinY() + "," + dataBounds.getMaxX() + "," + dataBounds.getMaxY() + "]";
         String geomCRS = actualSourceSRID == GisConstants.SRID_SIMPLE ? GisConstants.LL_CRS_SIMPLE : GisConstants.LL_CRS_3857;
         boolean isShowMap = showMap;
 
@@ -422,10 +442,10 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
             String viewTemplate = IOUtils.readToString(isr);
             viewTemplate = GeneralUtils.replaceVariables(viewTemplate, name -> {
                 switch (name) {
-                    case "geomValues":
-                        return geomValuesString;
-                    case "geomTipValues":
-                        return geomTipValuesString;
+                    case "geomFeatures":
+                        return geomFeaturesString;
+                    case "dataBounds":
+                        return dataBoundsString;
                     case "geomSRID":
                         return String.valueOf(defaultSRID);
                     case "showMap":
@@ -459,6 +479,75 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         return scriptFile;
     }
 
+    private static int getMaxObjectsRender() {
+        int maxObjects = GISViewerActivator.getDefault().getPreferences().getInt(GeometryViewerConstants.PREF_MAX_OBJECTS_RENDER);
+        if (maxObjects <= 0) {
+            maxObjects = GeometryViewerConstants.DEFAULT_MAX_OBJECTS_RENDER;
+        }
+        return maxObjects;
+    }
+
+    @Nullable
+    private String queryViewportFeatures(double west, double south, double east, double north, double unitsPerPixel, boolean reset) {
+        if (featureIndex == null) {
+            return null;
+        }
+        if (reset) {
+            // Resolution changed, all features must be sent again with new simplification
+            sentFeatures.clear();
+        }
+        Envelope viewport = new Envelope(west, east, south, north);
+        // Prefetch features around the viewport to make panning smooth
+        viewport.expandBy(viewport.getWidth() * VIEWPORT_PREFETCH_RATIO, viewport.getHeight() * VIEWPORT_PREFETCH_RATIO);
+        List<Envelope> viewportParts;
+        if (actualSourceSRID == GisConstants.SRID_SIMPLE) {
+            viewportParts = List.of(viewport);
+        } else {
+            // Geographic viewport may cross the antimeridian
+            viewportParts = GisFeatureIndex.splitGeographicViewport(
+                viewport.getMinX(), viewport.getMinY(), viewport.getMaxX(), viewport.getMaxY());
+        }
+        return serializeFeatures(featureIndex.query(viewportParts, unitsPerPixel, getMaxObjectsRender(), sentFeatures));
+    }
+
+    @NotNull
+    private static String serializeFeatures(@NotNull GisFeatureIndex.QueryResult result) {
+        JsonObject json = new JsonObject();
+        JsonArray features = new JsonArray();
+        for (int i = 0; i < result.getFeatures().size(); i++) {
+            GisFeatureIndex.Feature feature = result.getFeatures().get(i);
+            JsonObject featureJson = new JsonObject();
+            featureJson.addProperty("id", feature.getId());
+            featureJson.addProperty("wkt", result.getGeometries().get(i).toText());
+            try {
+                if (feature.getData() instanceof Map<?, ?> properties && !properties.isEmpty()) {
+                    featureJson.add("tip", gson.toJsonTree(properties));
+                }
+            } catch (Exception e) {
+                log.debug(e);
+            }
+            features.add(featureJson);
+        }
+        json.add("features", features);
+        JsonArray clusters = new JsonArray();
+        for (GisFeatureIndex.Cluster cluster : result.getClusters()) {
+            JsonObject clusterJson = new JsonObject();
+            clusterJson.addProperty("x", cluster.getX());
+            clusterJson.addProperty("y", cluster.getY());
+            clusterJson.addProperty("count", cluster.getCount());
+            JsonArray clusterBounds = new JsonArray();
+            clusterBounds.add(cluster.getBounds().getMinX());
+            clusterBounds.add(cluster.getBounds().getMinY());
+            clusterBounds.add(cluster.getBounds().getMaxX());
+            clusterBounds.add(cluster.getBounds().getMaxY());
+            clusterJson.add("bounds", clusterBounds);
+            clusters.add(clusterJson);
+        }
+        json.add("clusters", clusters);
+        json.addProperty("truncated", result.isTruncated());
+        return gson.toJson(json);
+    }
+
     private void checkIncludesExistence(Path scriptDir) throws IOException {
         Path incFolder = scriptDir.resolve("inc");
         if (!Files.exists(incFolder)) {
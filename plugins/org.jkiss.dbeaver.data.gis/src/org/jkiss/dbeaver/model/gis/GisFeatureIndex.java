@@ -0,0 +1,304 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.gis;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.locationtech.jts.geom.*;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.simplify.DouglasPeuckerSimplifier;
+import org.locationtech.jts.simplify.VWSimplifier;
+
+import java.util.*;
+
+/**
+ * Spatial index over geometries prepared for rendering.
+ * <p>
+ * Geometries are stored in an STR-tree, so viewport queries touch only visible features.
+ * Query results are simplified for the requested map resolution (Douglas-Peucker for lines,
+ * Visvalingam-Whyatt for polygons) and, when there are too many of them, points and sub-pixel
+ * geometries are aggregated into grid clusters.
+ */
+public class GisFeatureIndex {
+
+    /**
+     * Simplification tolerance in pixels
+     */
+    private static final double SIMPLIFY_TOLERANCE_PIXELS = 0.5;
+    /**
+     * Geometries smaller than this (in pixels) are rendered as points
+     */
+    private static final double POINT_SIZE_PIXELS = 2;
+    /**
+     * Cluster grid cell size in pixels
+     */
+    private static final double CLUSTER_CELL_PIXELS = 60;
+
+    public static class Feature {
+        private final int id;
+        @NotNull
+        private final Geometry geometry;
+        @Nullable
+        private final Object data;
+
+        private double simplifiedTolerance = -1;
+        private Geometry simplifiedGeometry;
+
+        public Feature(int id, @NotNull Geometry geometry, @Nullable Object data) {
+            this.id = id;
+            this.geometry = geometry;
+            this.data = data;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        @NotNull
+        public Geometry getGeometry() {
+            return geometry;
+        }
+
+        @Nullable
+        public Object getData() {
+            return data;
+        }
+
+        @NotNull
+        synchronized Geometry getSimplifiedGeometry(double tolerance) {
+            if (tolerance <= 0 || geometry.getDimension() == 0) {
+                return geometry;
+            }
+            if (simplifiedTolerance != tolerance) {
+                Geometry simplified;
+                if (geometry.getDimension() == 2) {
+                    simplified = VWSimplifier.simplify(geometry, tolerance);
+                } else {
+                    simplified = DouglasPeuckerSimplifier.simplify(geometry, tolerance);
+                }
+                simplifiedGeometry = simplified.isEmpty() ? geometry : simplified;
+                simplifiedTolerance = tolerance;
+            }
+            return simplifiedGeometry;
+        }
+    }
+
+    public static class Cluster {
+        private final Envelope bounds = new Envelope();
+        private Feature firstFeature;
+        private double sumX;
+        private double sumY;
+        private int count;
+
+        void add(@NotNull Feature feature, @NotNull Coordinate coordinate) {
+            if (firstFeature == null) {
+                firstFeature = feature;
+            }
+            bounds.expandToInclude(coordinate);
+            sumX += coordinate.x;
+            sumY += coordinate.y;
+            count++;
+        }
+
+        public double getX() {
+            return sumX / count;
+        }
+
+        public double getY() {
+            return sumY / count;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        @NotNull
+        public Envelope getBounds() {
+            return bounds;
+        }
+    }
+
+    public static class QueryResult {
+        private final List<Feature> features = new ArrayList<>();
+        private final List<Geometry> geometries = new ArrayList<>();
+        private final List<Cluster> clusters = new ArrayList<>();
+        private boolean truncated;
+
+        /**
+         * Visible features which were not sent before
+         */
+        @NotNull
+        public List<Feature> getFeatures() {
+            return features;
+        }
+
+        /**
+         * Simplified geometry of feature with the same index in {@link #getFeatures()}
+         */
+        @NotNull
+        public List<Geometry> getGeometries() {
+            return geometries;
+        }
+
+        /**
+         * All visible clusters
+         */
+        @NotNull
+        public List<Cluster> getClusters() {
+            return clusters;
+        }
+
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
+
+    private final STRtree tree = new STRtree();
+    private final Envelope bounds = new Envelope();
+    private final int size;
+
+    public GisFeatureIndex(@NotNull Collection<Feature> features) {
+        for (Feature feature : features) {
+            Envelope envelope = feature.getGeometry().getEnvelopeInternal();
+            if (envelope.isNull()) {
+                continue;
+            }
+            tree.insert(envelope, feature);
+            bounds.expandToInclude(envelope);
+        }
+        this.size = tree.size();
+        tree.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @NotNull
+    public Envelope getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Converts geographic (longitude/latitude) viewport into envelopes within [-180, 180] longitude range.
+     * Map viewports may cross the antimeridian or lie in a world copy (e.g. west=170, east=190),
+     * such viewports are split into two envelopes.
+     */
+    @NotNull
+    public static List<Envelope> splitGeographicViewport(double west, double south, double east, double north) {
+        if (east - west >= 360) {
+            return List.of(new Envelope(-180, 180, south, north));
+        }
+        double shift = Math.floor((west + 180) / 360) * 360;
+        west -= shift;
+        east -= shift;
+        if (east <= 180) {
+            return List.of(new Envelope(west, east, south, north));
+        }
+        return List.of(
+            new Envelope(west, 180, south, north),
+            new Envelope(-180, east - 360, south, north));
+    }
+
+    /**
+     * Finds features visible in the viewport.
+     *
+     * @see #query(Collection, double, int, BitSet)
+     */
+    @NotNull
+    public QueryResult query(
+        @NotNull Envelope viewport,
+        double unitsPerPixel,
+        int maxFeatures,
+        @NotNull BitSet sentFeatures
+    ) {
+        return query(List.of(viewport), unitsPerPixel, maxFeatures, sentFeatures);
+    }
+
+    /**
+     * Finds features visible in the viewport.
+     *
+     * @param viewport         visible area. Consists of several envelopes if it crosses the antimeridian.
+     * @param unitsPerPixel    map resolution. Defines simplification tolerance and cluster size.
+     * @param maxFeatures      max number of features to return. Features are clustered if there are more visible features.
+     * @param sentFeatures     identifiers of features which were already returned on this resolution. Updated by the query.
+     */
+    @NotNull
+    public QueryResult query(
+        @NotNull Collection<Envelope> viewport,
+        double unitsPerPixel,
+        int maxFeatures,
+        @NotNull BitSet sentFeatures
+    ) {
+        // Features which intersect several viewport parts must be reported once
+        Map<Integer, Feature> visibleMap = new HashMap<>();
+        for (Envelope envelope : viewport) {
+            tree.query(envelope, item -> visibleMap.putIfAbsent(((Feature) item).getId(), (Feature) item));
+        }
+        List<Feature> visible = new ArrayList<>(visibleMap.values());
+        visible.sort(Comparator.comparingInt(Feature::getId));
+
+        QueryResult result = new QueryResult();
+        boolean clustering = visible.size() > maxFeatures && unitsPerPixel > 0;
+        double pointSize = unitsPerPixel * POINT_SIZE_PIXELS;
+        double cellSize = unitsPerPixel * CLUSTER_CELL_PIXELS;
+        double tolerance = unitsPerPixel * SIMPLIFY_TOLERANCE_PIXELS;
+        Map<Long, Cluster> clusters = new LinkedHashMap<>();
+
+        for (Feature feature : visible) {
+            if (clustering) {
+                Envelope envelope = feature.getGeometry().getEnvelopeInternal();
+                if (envelope.getWidth() <= pointSize && envelope.getHeight() <= pointSize) {
+                    Coordinate center = envelope.centre();
+                    long cellKey = ((long) Math.floor(center.x / cellSize) << 32) ^ (long) Math.floor(center.y / cellSize);
+                    clusters.computeIfAbsent(cellKey, k -> new Cluster()).add(feature, center);
+                    continue;
+                }
+            }
+            addFeature(result, feature, tolerance, maxFeatures, sentFeatures);
+        }
+        for (Cluster cluster : clusters.values()) {
+            if (cluster.getCount() == 1) {
+                // Lonely point, there is no need to aggregate it
+                addFeature(result, cluster.firstFeature, tolerance, maxFeatures, sentFeatures);
+            } else {
+                result.clusters.add(cluster);
+            }
+        }
+        return result;
+    }
+
+    private static void addFeature(
+        @NotNull QueryResult result,
+        @NotNull Feature feature,
+        double tolerance,
+        int maxFeatures,
+        @NotNull BitSet sentFeatures
+    ) {
+        if (sentFeatures.get(feature.getId())) {
+            return;
+        }
+        if (result.features.size() >= maxFeatures) {
+            result.truncated = true;
+            return;
+        }
+        sentFeatures.set(feature.getId());
+        result.features.add(feature);
+        result.geometries.add(feature.getSimplifiedGeometry(tolerance));
+    }
+
+}
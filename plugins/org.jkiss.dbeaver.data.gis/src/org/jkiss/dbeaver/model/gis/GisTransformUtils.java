@@ -47,9 +47,8 @@ import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.io.ParseException;
 import org.locationtech.jts.io.WKTReader;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * GisTransformUtils.
@@ -78,6 +77,11 @@ public class GisTransformUtils {
 
     private static List<Integer> crsCodes;
 
+    private record CRSPair(CoordinateReferenceSystem source, CoordinateReferenceSystem target) {
+    }
+
+    private static final Map<CRSPair, Optional<CoordinateOperation>> coordinateOperations = new ConcurrentHashMap<>();
+
     public static CRSFactory getCRSFactory() {
         return crsFactory;
     }
@@ -138,9 +142,8 @@ public class GisTransformUtils {
 
     public static Geometry transformGisData(Geometry jtsValue, CoordinateReferenceSystem crs1, CoordinateReferenceSystem crs2) throws Exception {
         if (crs1 instanceof GeodeticCRS && crs2 instanceof GeodeticCRS) {
-            Set<CoordinateOperation> coordOps = CoordinateOperationFactory.createCoordinateOperations((GeodeticCRS) crs1, (GeodeticCRS) crs2);
-            if (!coordOps.isEmpty()) {
-            	CoordinateOperation op = CoordinateOperationFactory.getMostPrecise(coordOps);
+            CoordinateOperation op = getCoordinateOperation((GeodeticCRS) crs1, (GeodeticCRS) crs2);
+            if (op != null) {
                 // Transform coord using the op CoordinateOperation from crs1 to crs2
                 jtsValue = transformGeometry(jtsValue, op);
                 return jtsValue;
@@ -149,6 +152,23 @@ public class GisTransformUtils {
         return jtsValue;
     }
 
+    /**
+     * Returns the most precise operation between two CRS.
+     * Operations are cached because their lookup is much more expensive than the transformation
+     * and viewers transform thousands of geometries with the same CRS pair.
+     */
+    @Nullable
+    private static CoordinateOperation getCoordinateOperation(GeodeticCRS crs1, GeodeticCRS crs2) throws Exception {
+        CRSPair key = new CRSPair(crs1, crs2);
+        Optional<CoordinateOperation> op = coordinateOperations.get(key);
+        if (op == null) {
+            Set<CoordinateOperation> coordOps = CoordinateOperationFactory.createCoordinateOperations(crs1, crs2);
+            op = coordOps.isEmpty() ? Optional.empty() : Optional.of(CoordinateOperationFactory.getMostPrecise(coordOps));
+            coordinateOperations.put(key, op);
+        }
+        return op.orElse(null);
+    }
+
     private static Geometry transformGeometry(Geometry geom, CoordinateOperation op) throws Exception {
         geom = (Geometry) geom.clone();
         for (Coordinate coord : geom.getCoordinates()) {
@@ -0,0 +1,301 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.office.importer;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBFetchProgress;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.stream.*;
+import org.jkiss.dbeaver.tools.transfer.stream.importer.StreamImporterAbstract;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * XLSX importer.
+ * Worksheets are parsed with SAX, so memory usage doesn't depend on the number of rows
+ * (shared strings table is the only part of the workbook kept in memory).
+ * The first sheet is imported by the original entity mapping, other sheets get their own mappings.
+ */
+public class DataImporterXLSX extends StreamImporterAbstract implements IMultiStreamDataImporter {
+    private static final Log log = Log.getLog(DataImporterXLSX.class);
+
+    private static final String PROP_HEADER = "header";
+    private static final String PROP_EMPTY_STRING_NULL = "emptyStringNull";
+
+    public enum HeaderPosition {
+        none,
+        top,
+    }
+
+    private interface WorkbookReader<T> {
+        T read(@NotNull XSSFReader reader, @NotNull OPCPackage pkg) throws Exception;
+    }
+
+    public DataImporterXLSX() {
+    }
+
+    @NotNull
+    @Override
+    public List<StreamEntityMapping> readEntitiesInfo(@NotNull StreamEntityMapping entityMapping, @NotNull InputStream inputStream) throws DBException {
+        return readWorkbook(entityMapping, inputStream, (reader, pkg) -> {
+            List<StreamEntityMapping> mappings = new ArrayList<>();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            for (boolean first = true; sheets.hasNext(); first = false) {
+                try (InputStream ignored = sheets.next()) {
+                    if (!first) {
+                        mappings.add(new StreamEntityMapping(entityMapping.getInputFile(), sheets.getSheetName(), true));
+                    }
+                }
+            }
+            return mappings;
+        });
+    }
+
+    @NotNull
+    @Override
+    public List<StreamDataImporterColumnInfo> readColumnsInfo(StreamEntityMapping entityMapping, @NotNull InputStream inputStream) throws DBException {
+        Map<String, Object> processorProperties = getSite().getProcessorProperties();
+        HeaderPosition headerPosition = getHeaderPosition(processorProperties);
+        final int columnSamplesCount = Math.max(CommonUtils.toInt(processorProperties.get(PROP_COLUMN_TYPE_SAMPLES), 100), 0);
+        final int columnMinimalLength = Math.max(CommonUtils.toInt(processorProperties.get(PROP_COLUMN_TYPE_LENGTH), 1), 1);
+
+        List<Object[]> rows = new ArrayList<>();
+        int rowsToRead = columnSamplesCount + (headerPosition == HeaderPosition.top ? 1 : 0);
+        if (rowsToRead > 0) {
+            boolean found = readSheet(entityMapping, inputStream, values -> {
+                rows.add(values);
+                return rows.size() < rowsToRead;
+            });
+            if (!found) {
+                log.warn("Sheet '" + entityMapping.getEntityName() + "' not found in " + entityMapping.getInputFile());
+            }
+        }
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        int columnCount = 0;
+        for (Object[] row : rows) {
+            columnCount = Math.max(columnCount, row.length);
+        }
+        Object[] header = headerPosition == HeaderPosition.top ? rows.remove(0) : null;
+
+        List<StreamDataImporterColumnInfo> columnsInfo = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            String column = null;
+            if (header != null && i < header.length && header[i] != null) {
+                column = DBUtils.getUnQuotedIdentifier(entityMapping.getDataSource(), CommonUtils.toString(header[i]));
+            }
+            if (CommonUtils.isEmptyTrimmed(column)) {
+                column = "Column" + (i + 1);
+            }
+            StreamDataImporterColumnInfo columnInfo = new StreamDataImporterColumnInfo(entityMapping, i, column, null, columnMinimalLength, DBPDataKind.UNKNOWN);
+            columnInfo.setMappingMetadataPresent(header != null);
+            columnsInfo.add(columnInfo);
+        }
+
+        for (Object[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                StreamDataImporterColumnInfo columnInfo = columnsInfo.get(i);
+                Object value = row[i];
+                if (value instanceof String str) {
+                    columnInfo.updateMaxLength(entityMapping.getDataSource(), str.length());
+                    columnInfo.updateType(DBPDataKind.STRING, "VARCHAR");
+                } else if (value instanceof Long) {
+                    columnInfo.updateType(DBPDataKind.NUMERIC, "INTEGER");
+                } else if (value instanceof Double) {
+                    columnInfo.updateType(DBPDataKind.NUMERIC, "REAL");
+                } else if (value instanceof Boolean) {
+                    columnInfo.updateType(DBPDataKind.BOOLEAN, "BOOLEAN");
+                } else if (value instanceof Date) {
+                    columnInfo.updateType(DBPDataKind.DATETIME, "TIMESTAMP");
+                }
+            }
+        }
+
+        for (StreamDataImporterColumnInfo columnInfo : columnsInfo) {
+            if (columnInfo.getDataKind() == DBPDataKind.UNKNOWN) {
+                log.warn("Cannot guess data type for column '" + columnInfo.getName() + "', defaulting to VARCHAR");
+                columnInfo.updateType(DBPDataKind.STRING, "VARCHAR");
+            }
+        }
+        return columnsInfo;
+    }
+
+    @Override
+    public void runImport(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSource streamDataSource, @NotNull InputStream inputStream, @NotNull IDataTransferConsumer consumer) throws DBException {
+        IStreamDataImporterSite site = getSite();
+        StreamEntityMapping entityMapping = site.getSourceObject();
+        Map<String, Object> properties = site.getProcessorProperties();
+        HeaderPosition headerPosition = getHeaderPosition(properties);
+        boolean emptyStringNull = CommonUtils.getBoolean(properties.get(PROP_EMPTY_STRING_NULL), false);
+
+        DBCExecutionContext context = streamDataSource.getDefaultInstance().getDefaultContext(monitor, false);
+        try (DBCSession producerSession = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Transfer stream data")) {
+            LocalStatement localStatement = new LocalStatement(producerSession, "SELECT * FROM Stream");
+            StreamTransferResultSet resultSet = new StreamTransferResultSet(producerSession, localStatement, entityMapping);
+
+            consumer.fetchStart(producerSession, resultSet, -1, -1);
+
+            applyTransformHints(resultSet, consumer, properties, PROP_TIMESTAMP_FORMAT, PROP_TIMESTAMP_ZONE);
+
+            try {
+                int maxRows = site.getSettings().getMaxRows();
+                int targetAttrSize = entityMapping.getStreamColumns().size();
+                long[] rowCount = new long[1];
+                boolean[] headerRead = new boolean[1];
+                boolean found = readSheet(entityMapping, inputStream, values -> {
+                    if (monitor.isCanceled()) {
+                        return false;
+                    }
+                    if (headerPosition != HeaderPosition.none && !headerRead[0]) {
+                        // First row is a header
+                        headerRead[0] = true;
+                        return true;
+                    }
+                    if (maxRows > 0 && rowCount[0] >= maxRows) {
+                        return false;
+                    }
+                    Object[] row = new Object[targetAttrSize];
+                    System.arraycopy(values, 0, row, 0, Math.min(values.length, targetAttrSize));
+                    if (emptyStringNull) {
+                        for (int i = 0; i < row.length; i++) {
+                            if ("".equals(row[i])) {
+                                row[i] = null;
+                            }
+                        }
+                    }
+
+                    resultSet.setStreamRow(row);
+                    consumer.fetchRow(producerSession, resultSet);
+                    rowCount[0]++;
+
+                    if (DBFetchProgress.monitorFetchProgress(rowCount[0])) {
+                        monitor.subTask(Long.toUnsignedString(rowCount[0]) + " rows processed");
+                    }
+                    return true;
+                });
+                if (!found) {
+                    throw new DBException("Sheet '" + entityMapping.getEntityName() + "' not found in " + entityMapping.getInputFile());
+                }
+            } finally {
+                try {
+                    consumer.fetchEnd(producerSession, resultSet);
+                } finally {
+                    consumer.close();
+                }
+            }
+        }
+    }
+
+    private HeaderPosition getHeaderPosition(Map<String, Object> processorProperties) {
+        return CommonUtils.valueOf(HeaderPosition.class, CommonUtils.toString(processorProperties.get(PROP_HEADER)), HeaderPosition.top);
+    }
+
+    /**
+     * Reads sheet which corresponds to the entity mapping: the first one for the original mapping
+     * or the sheet with the same name for child mappings.
+     *
+     * @return false if sheet was not found
+     */
+    private boolean readSheet(
+        @NotNull StreamEntityMapping entityMapping,
+        @NotNull InputStream inputStream,
+        @NotNull XLSXSheetReader.RowHandler rowHandler
+    ) throws DBException {
+        return readWorkbook(entityMapping, inputStream, (reader, pkg) -> {
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            boolean date1904;
+            try (InputStream workbookStream = reader.getWorkbookData()) {
+                date1904 = XLSXSheetReader.isDate1904(workbookStream);
+            }
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheetStream = sheets.next()) {
+                    if (!entityMapping.isChild() || entityMapping.getEntityName().equals(sheets.getSheetName())) {
+                        new XLSXSheetReader(sharedStrings, reader.getStylesTable(), date1904, rowHandler).read(sheetStream);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Opens workbook package. Files of the default file system are opened directly (random access to zip entries),
+     * other streams are copied into a temporary file first, because reading package from stream loads it in memory.
+     */
+    private <T> T readWorkbook(
+        @NotNull StreamEntityMapping entityMapping,
+        @NotNull InputStream inputStream,
+        @NotNull WorkbookReader<T> workbookReader
+    ) throws DBException {
+        Path inputFile = entityMapping.getInputFile();
+        Path tempFile = null;
+        try {
+            if (inputFile.getFileSystem() != FileSystems.getDefault()) {
+                tempFile = Files.createTempFile("dbeaver-import-", ".xlsx");
+                Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+                inputFile = tempFile;
+            }
+            OPCPackage pkg = OPCPackage.open(inputFile.toFile(), PackageAccess.READ);
+            try {
+                return workbookReader.read(new XSSFReader(pkg), pkg);
+            } finally {
+                pkg.revert();
+            }
+        } catch (DBException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DBException("Error reading XLSX file " + entityMapping.getInputFile(), e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    log.debug("Error deleting temporary file " + tempFile, e);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,243 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.office.importer;
+
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SAX reader of a single XLSX worksheet part.
+ * Converts cells into typed values (String, Long, Double, Boolean or Date) and passes them row by row,
+ * only the current row is kept in memory. Empty rows are skipped.
+ */
+public class XLSXSheetReader extends DefaultHandler {
+
+    public interface RowHandler {
+        /**
+         * Handles row values. Returns false to stop reading.
+         */
+        boolean handleRow(@NotNull Object[] values) throws DBException;
+    }
+
+    private static class StopReadingException extends SAXException {
+    }
+
+    @NotNull
+    private final SharedStrings sharedStrings;
+    @NotNull
+    private final StylesTable styles;
+    @NotNull
+    private final RowHandler rowHandler;
+    private final boolean date1904;
+    private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+
+    private final List<Object> rowValues = new ArrayList<>();
+    private final StringBuilder cellText = new StringBuilder();
+    private String cellType;
+    private int cellStyle;
+    private int cellColumn;
+    private int nextColumn;
+    private boolean cellHasValue;
+    private boolean inCellText;
+
+    /**
+     * @param date1904 workbook uses 1904 date system (dates are counted from 1904-01-01 instead of 1900-01-01)
+     */
+    public XLSXSheetReader(
+        @NotNull SharedStrings sharedStrings,
+        @NotNull StylesTable styles,
+        boolean date1904,
+        @NotNull RowHandler rowHandler
+    ) {
+        this.sharedStrings = sharedStrings;
+        this.styles = styles;
+        this.date1904 = date1904;
+        this.rowHandler = rowHandler;
+    }
+
+    public void read(@NotNull InputStream sheetStream) throws DBException, IOException {
+        parse(sheetStream, this, "worksheet");
+    }
+
+    /**
+     * Reads date1904 flag of workbookPr element from the workbook part
+     */
+    public static boolean isDate1904(@NotNull InputStream workbookStream) throws DBException, IOException {
+        boolean[] date1904 = new boolean[1];
+        parse(workbookStream, new DefaultHandler() {
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+                if ("workbookPr".equals(localName)) {
+                    String value = attributes.getValue("date1904");
+                    date1904[0] = "1".equals(value) || "true".equalsIgnoreCase(value);
+                    throw new StopReadingException();
+                } else if ("sheets".equals(localName)) {
+                    // workbookPr precedes sheets list
+                    throw new StopReadingException();
+                }
+            }
+        }, "workbook");
+        return date1904[0];
+    }
+
+    private static void parse(@NotNull InputStream stream, @NotNull DefaultHandler handler, @NotNull String partName) throws DBException, IOException {
+        try {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(handler);
+            xmlReader.parse(new InputSource(stream));
+        } catch (StopReadingException e) {
+            // Handler requested to stop
+        } catch (SAXException e) {
+            if (e.getException() instanceof DBException dbe) {
+                throw dbe;
+            }
+            throw new DBException("Error parsing " + partName, e);
+        } catch (Exception e) {
+            if (e instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new DBException("Error creating " + partName + " parser", e);
+        }
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        switch (localName) {
+            case "row" -> {
+                rowValues.clear();
+                nextColumn = 0;
+            }
+            case "c" -> {
+                String reference = attributes.getValue("r");
+                cellColumn = reference == null ? nextColumn : new CellReference(reference).getCol();
+                cellType = attributes.getValue("t");
+                String style = attributes.getValue("s");
+                cellStyle = style == null ? -1 : Integer.parseInt(style);
+                cellText.setLength(0);
+                cellHasValue = false;
+            }
+            case "v", "t" -> inCellText = true;
+            default -> {
+                // skip
+            }
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (inCellText) {
+            cellText.append(ch, start, length);
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        switch (localName) {
+            case "v", "t" -> {
+                inCellText = false;
+                cellHasValue = true;
+            }
+            case "c" -> {
+                Object value = cellHasValue ? convertCellValue() : null;
+                while (rowValues.size() <= cellColumn) {
+                    rowValues.add(null);
+                }
+                rowValues.set(cellColumn, value);
+                nextColumn = cellColumn + 1;
+            }
+            case "row" -> {
+                if (rowValues.stream().allMatch(v -> v == null)) {
+                    return;
+                }
+                try {
+                    if (!rowHandler.handleRow(rowValues.toArray())) {
+                        throw new StopReadingException();
+                    }
+                } catch (DBException e) {
+                    throw new SAXException(e);
+                }
+            }
+            default -> {
+                // skip
+            }
+        }
+    }
+
+    @Nullable
+    private Object convertCellValue() {
+        String text = cellText.toString();
+        if (cellType == null || cellType.equals("n")) {
+            if (text.isEmpty()) {
+                return null;
+            }
+            if (isDateStyle(cellStyle)) {
+                return DateUtil.getJavaDate(Double.parseDouble(text), date1904);
+            }
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                return Double.parseDouble(text);
+            }
+        }
+        return switch (cellType) {
+            case "s" -> sharedStrings.getItemAt(Integer.parseInt(text)).getString();
+            case "b" -> "1".equals(text);
+            // Error values like #DIV/0!
+            case "e" -> null;
+            // Inline strings, formula results and ISO 8601 dates
+            default -> text;
+        };
+    }
+
+    private boolean isDateStyle(int styleIndex) {
+        if (styleIndex < 0) {
+            return false;
+        }
+        return dateStyles.computeIfAbsent(styleIndex, index -> {
+            XSSFCellStyle style = styles.getStyleAt(index);
+            if (style == null) {
+                return false;
+            }
+            short formatIndex = style.getDataFormat();
+            String formatString = style.getDataFormatString();
+            if (formatString == null) {
+                formatString = BuiltinFormats.getBuiltinFormat(formatIndex);
+            }
+            return formatString != null && DateUtil.isADateFormat(formatIndex, formatString);
+        });
+    }
+}
@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.tools.sql;
 
 import org.eclipse.core.resources.IResource;
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBPTransactionIsolation;
@@ -48,6 +49,14 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<IResource> {
 
     private boolean ignoreErrors;
     private boolean dumpQueryResultsToLog;
+    // Character offsets in the first script file to start execution from, by data source id
+    private final Map<String, Long> resumeOffsets = new LinkedHashMap<>();
+    // Max number of consecutive INSERT statements merged in one. 0 disables merging
+    private int insertBatchSize;
+    // Number of data sources processed simultaneously
+    private int maxParallelJobs = 1;
+    private SQLScriptFailurePolicy failurePolicy = SQLScriptFailurePolicy.STOP_ALL;
+    private int maxFailures = 1;
 
     public List<String> getScriptFiles() {
         return scriptFiles;
@@ -81,6 +90,70 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<IResource> {
         this.dumpQueryResultsToLog = dumpQueryResultsToLog;
     }
 
+    /**
+     * Character offset in the first script file to start execution from in the specified data source.
+     * Used to resume execution of a large script after an error. Each data source fails at its own statement.
+     */
+    public long getResumeOffset(@NotNull DBPDataSourceContainer dataSource) {
+        Long offset = resumeOffsets.get(dataSource.getId());
+        return offset == null ? 0 : offset;
+    }
+
+    public void setResumeOffset(@NotNull DBPDataSourceContainer dataSource, long resumeOffset) {
+        if (resumeOffset > 0) {
+            resumeOffsets.put(dataSource.getId(), resumeOffset);
+        } else {
+            resumeOffsets.remove(dataSource.getId());
+        }
+    }
+
+    /**
+     * Max number of consecutive single-row INSERT statements merged into one multi-row INSERT.
+     * Zero means that statements are executed as is.
+     */
+    public int getInsertBatchSize() {
+        return insertBatchSize;
+    }
+
+    public void setInsertBatchSize(int insertBatchSize) {
+        this.insertBatchSize = insertBatchSize;
+    }
+
+    /**
+     * Max number of data sources which execute scripts simultaneously.
+     * Values greater than 1 enable fan-out mode: each data source runs all scripts in its own job.
+     */
+    public int getMaxParallelJobs() {
+        return maxParallelJobs;
+    }
+
+    public void setMaxParallelJobs(int maxParallelJobs) {
+        if (maxParallelJobs > 0) {
+            this.maxParallelJobs = maxParallelJobs;
+        }
+    }
+
+    @NotNull
+    public SQLScriptFailurePolicy getFailurePolicy() {
+        return failurePolicy;
+    }
+
+    public void setFailurePolicy(@NotNull SQLScriptFailurePolicy failurePolicy) {
+        this.failurePolicy = failurePolicy;
+    }
+
+    /**
+     * Number of failed data sources after which execution stops.
+     * Used with {@link SQLScriptFailurePolicy#STOP_AFTER_FAILURES} policy.
+     */
+    public int getMaxFailures() {
+        return maxFailures;
+    }
+
+    public void setMaxFailures(int maxFailures) {
+        this.maxFailures = Math.max(maxFailures, 1);
+    }
+
     public boolean isAutoCommit() {
         return autoCommit;
     }
@@ -125,6 +198,7 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<IResource> {
                         DBPDataSourceContainer dataSource = project.getDataSourceRegistry().getDataSource(dataSourceContainerId);
                         if (dataSource != null) {
                             dataSources.add(dataSource);
+                            setResumeOffset(dataSource, JSONUtils.getLong(dsInfo, "resumeOffset", 0));
                         }
                     }
                 }
@@ -136,6 +210,18 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<IResource> {
         dumpQueryResultsToLog = JSONUtils.getBoolean(config, "dumpQueryResultsToLog");
 
         autoCommit = JSONUtils.getBoolean(config, "autoCommit");
+        long legacyResumeOffset = JSONUtils.getLong(config, "resumeOffset", 0);
+        if (legacyResumeOffset > 0 && dataSources.size() == 1) {
+            // Task-wide offset is meaningful for a single data source only
+            setResumeOffset(dataSources.get(0), legacyResumeOffset);
+        }
+        insertBatchSize = JSONUtils.getInteger(config, "insertBatchSize", 0);
+        setMaxParallelJobs(JSONUtils.getInteger(config, "maxParallelJobs", 1));
+        failurePolicy = CommonUtils.valueOf(
+            SQLScriptFailurePolicy.class,
+            JSONUtils.getString(config, "failurePolicy"),
+            SQLScriptFailurePolicy.STOP_ALL);
+        setMaxFailures(JSONUtils.getInteger(config, "maxFailures", 1));
     }
 
     public void saveConfiguration(Map<String, Object> config) {
@@ -146,6 +232,10 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<IResource> {
             Map<String, Object> dsInfo = new LinkedHashMap<>();
             dsInfo.put("project", ds.getProject().getName());
             dsInfo.put("dataSource", ds.getId());
+            long resumeOffset = getResumeOffset(ds);
+            if (resumeOffset > 0) {
+                dsInfo.put("resumeOffset", resumeOffset);
+            }
             dsConfig.add(dsInfo);
         }
 
@@ -153,5 +243,10 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<IResource> {
         config.put("dumpQueryResultsToLog", dumpQueryResultsToLog);
 
         config.put("autoCommit", autoCommit);
+        config.remove("resumeOffset");
+        config.put("insertBatchSize", insertBatchSize);
+        config.put("maxParallelJobs", maxParallelJobs);
+        config.put("failurePolicy", failurePolicy.name());
+        config.put("maxFailures", maxFailures);
     }
 }
@@ -0,0 +1,29 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.sql;
+
+/**
+ * Defines what happens with other data sources when script execution fails in one of them
+ */
+public enum SQLScriptFailurePolicy {
+    // Do not start execution in remaining data sources
+    STOP_ALL,
+    // Execute scripts in all data sources regardless of failures
+    CONTINUE,
+    // Stop when number of failed data sources reaches the limit
+    STOP_AFTER_FAILURES
+}
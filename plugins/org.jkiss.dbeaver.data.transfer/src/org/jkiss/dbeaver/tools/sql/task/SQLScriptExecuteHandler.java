@@ -16,6 +16,8 @@
  */
 package org.jkiss.dbeaver.tools.sql.task;
 
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.jobs.JobGroup;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
@@ -27,16 +29,17 @@ import org.jkiss.dbeaver.model.exec.DBCStatistics;
 import org.jkiss.dbeaver.model.rm.RMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
+import org.jkiss.dbeaver.model.runtime.ProxyProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLScriptCommitType;
 import org.jkiss.dbeaver.model.sql.SQLScriptContext;
-import org.jkiss.dbeaver.model.sql.SQLScriptElement;
 import org.jkiss.dbeaver.model.sql.SQLScriptErrorHandling;
 import org.jkiss.dbeaver.model.sql.exec.SQLScriptProcessor;
-import org.jkiss.dbeaver.model.sql.parser.SQLScriptParser;
+import org.jkiss.dbeaver.model.sql.parser.SQLScriptStreamParser;
 import org.jkiss.dbeaver.model.struct.rdb.DBSCatalog;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
 import org.jkiss.dbeaver.model.task.*;
 import org.jkiss.dbeaver.tools.sql.SQLScriptExecuteSettings;
+import org.jkiss.utils.CommonUtils;
 
 import java.io.PrintStream;
 import java.io.PrintWriter;
@@ -47,9 +50,11 @@ import java.util.Locale;
 /**
  * SQLScriptExecuteHandler
  */
-public class SQLScriptExecuteHandler implements DBTTaskHandler {
+public class SQLScriptExecuteHandler implements DBTTaskHandler, DBTTaskInfoCollector {
 
     private final DBCStatistics totalStatistics = new DBCStatistics();
+    // Aggregated result of fan-out execution
+    private String fanOutSummary;
 
     @Override
     @NotNull
@@ -64,7 +69,24 @@ public class SQLScriptExecuteHandler implements DBTTaskHandler {
         SQLScriptExecuteSettings settings = new SQLScriptExecuteSettings();
         settings.loadConfiguration(runnableContext, task);
         executeWithSettings(runnableContext, task, locale, log, logStream, listener, settings);
-        return DBTTaskRunStatus.makeStatisticsStatus(totalStatistics);
+        DBTTaskRunStatus runStatus = DBTTaskRunStatus.makeStatisticsStatus(totalStatistics);
+        if (fanOutSummary != null) {
+            runStatus.setResultMessage(CommonUtils.isEmpty(runStatus.getResultMessage()) ?
+                fanOutSummary : runStatus.getResultMessage() + "; " + fanOutSummary);
+        }
+        return runStatus;
+    }
+
+    @Override
+    public void collectTaskInfo(@NotNull DBTTask task, @NotNull TaskInformation information) {
+        SQLScriptExecuteSettings settings = new SQLScriptExecuteSettings();
+        settings.loadConfiguration(null, task);
+        for (DBPDataSourceContainer dataSource : settings.getDataSources()) {
+            information.addDataSource(dataSource);
+        }
+        for (String scriptFile : settings.getScriptFiles()) {
+            information.addLocation(scriptFile);
+        }
     }
 
     private void executeWithSettings(
@@ -104,59 +126,171 @@ public class SQLScriptExecuteHandler implements DBTTaskHandler {
 
     private void runScripts(DBRProgressMonitor monitor, DBTTask task, SQLScriptExecuteSettings settings, Log log, PrintStream logStream) throws DBException {
         List<DBPDataSourceContainer> dataSources = settings.getDataSources();
+        if (settings.getMaxParallelJobs() > 1 && dataSources.size() > 1) {
+            runScriptsInParallel(monitor, task, settings, log, logStream);
+            return;
+        }
 
-        for (String filePath : settings.getScriptFiles()) {
+        List<String> scriptFiles = settings.getScriptFiles();
+        for (int i = 0; i < scriptFiles.size(); i++) {
+            String filePath = scriptFiles.get(i);
+            for (DBPDataSourceContainer dataSourceContainer : dataSources) {
+                // Resume offset is relevant for the first script only
+                long startOffset = i == 0 ? settings.getResumeOffset(dataSourceContainer) : 0;
+                executeScript(monitor, task, settings, dataSourceContainer, filePath, startOffset, totalStatistics, log, logStream);
+            }
+        }
+    }
+
+    /**
+     * Fan-out mode. Each data source executes all scripts in one of the parallel jobs.
+     * Logs and statistics are collected per data source and aggregated at the end.
+     */
+    private void runScriptsInParallel(
+        DBRProgressMonitor monitor,
+        DBTTask task,
+        SQLScriptExecuteSettings settings,
+        Log log,
+        PrintStream logStream
+    ) throws DBException {
+        List<DBPDataSourceContainer> dataSources = settings.getDataSources();
+        int jobCount = Math.min(dataSources.size(), settings.getMaxParallelJobs());
+        SQLScriptTargetQueue targets = new SQLScriptTargetQueue(dataSources, settings.getFailurePolicy(), settings.getMaxFailures());
+        log.debug("> Execute scripts in " + dataSources.size() + " data sources using " + jobCount + " parallel jobs" +
+            " (failure policy: " + settings.getFailurePolicy() + ")");
+
+        JobGroup group = new JobGroup("SQL script execute", jobCount, jobCount);
+        for (int i = 0; i < jobCount; i++) {
+            SQLScriptExecuteJob job = new SQLScriptExecuteJob(this, targets, task, settings, log, logStream, i);
+            job.setJobGroup(group);
+            job.schedule();
+        }
+        try {
+            group.join(0, new ProxyProgressMonitor(monitor));
+        } catch (InterruptedException | OperationCanceledException e) {
+            targets.stop();
+            group.cancel();
             try {
-                for (DBPDataSourceContainer dataSourceContainer : dataSources) {
-                    var sqlScriptContent = RMUtils.readScriptContents(monitor, task.getProject(), filePath);
-                    if (!dataSourceContainer.isConnected()) {
-                        dataSourceContainer.connect(monitor, true, true);
-                    }
-                    DBPDataSource dataSource = dataSourceContainer.getDataSource();
-                    if (dataSource == null) {
-                        throw new DBException("Can't obtain data source connection");
-                    }
-                    DBCExecutionContext executionContext = dataSource.getDefaultInstance().getDefaultContext(monitor, false);
-
-                    log.debug("> Execute script [" + filePath + "] in [" + dataSourceContainer.getName() + "]");
-                    DBCExecutionContextDefaults contextDefaults = executionContext.getContextDefaults();
-                    if (contextDefaults != null) {
-                        DBSCatalog defaultCatalog = contextDefaults.getDefaultCatalog();
-                        if (defaultCatalog != null) {
-                            log.debug("> Default catalog: " + defaultCatalog.getName());
-                        }
-                        DBSSchema defaultSchema = contextDefaults.getDefaultSchema();
-                        if (defaultSchema != null) {
-                            log.debug("> Default schema: " + defaultSchema.getName());
-                        }
-                    }
-
-                    processScript(monitor, task, settings, executionContext, filePath, sqlScriptContent, log, logStream);
+                // Wait for running statements to be canceled
+                group.join(0, null);
+            } catch (InterruptedException ignored) {
+            }
+        }
+
+        int failedCount = 0;
+        DBException error = null;
+        for (SQLScriptTargetQueue.TargetResult result : targets.getResults()) {
+            totalStatistics.accumulate(result.statistics());
+            if (result.error() != null) {
+                failedCount++;
+                log.debug("> Failed in [" + result.dataSource().getName() + "]: " + result.error().getMessage());
+                if (error == null) {
+                    error = new DBException("Script execution failed in [" + result.dataSource().getName() + "]", result.error());
+                } else {
+                    error.addSuppressed(result.error());
+                }
+            }
+        }
+        int succeededCount = targets.getResults().size() - failedCount;
+        int skippedCount = targets.getSkippedTargets().size();
+        fanOutSummary = "data sources: " + succeededCount + " succeeded, " + failedCount + " failed, " + skippedCount + " skipped";
+        log.debug("> Script execute finished, " + fanOutSummary);
+        for (DBPDataSourceContainer skipped : targets.getSkippedTargets()) {
+            log.debug("> Skipped [" + skipped.getName() + "]");
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    void executeScript(
+        DBRProgressMonitor monitor,
+        DBTTask task,
+        SQLScriptExecuteSettings settings,
+        DBPDataSourceContainer dataSourceContainer,
+        String filePath,
+        long startOffset,
+        DBCStatistics statistics,
+        Log log,
+        PrintStream logStream
+    ) throws DBException {
+        try {
+            if (!dataSourceContainer.isConnected()) {
+                dataSourceContainer.connect(monitor, true, true);
+            }
+            DBPDataSource dataSource = dataSourceContainer.getDataSource();
+            if (dataSource == null) {
+                throw new DBException("Can't obtain data source connection");
+            }
+            DBCExecutionContext executionContext = dataSource.getDefaultInstance().getDefaultContext(monitor, false);
+
+            log.debug("> Execute script [" + filePath + "] in [" + dataSourceContainer.getName() + "]");
+            DBCExecutionContextDefaults contextDefaults = executionContext.getContextDefaults();
+            if (contextDefaults != null) {
+                DBSCatalog defaultCatalog = contextDefaults.getDefaultCatalog();
+                if (defaultCatalog != null) {
+                    log.debug("> Default catalog: " + defaultCatalog.getName());
+                }
+                DBSSchema defaultSchema = contextDefaults.getDefaultSchema();
+                if (defaultSchema != null) {
+                    log.debug("> Default schema: " + defaultSchema.getName());
                 }
-            } catch (Throwable e) {
-                Throwable error = e instanceof InvocationTargetException ? ((InvocationTargetException) e).getTargetException() : e;
-                throw new DBException("Error executing script '" + filePath + "'", error);
             }
+
+            if (startOffset > 0) {
+                log.debug("> Resume from offset " + startOffset);
+            }
+            // Script is read and parsed incrementally, so it is never loaded in memory entirely
+            RMUtils.ScriptContentStream scriptContent = RMUtils.openScriptContents(monitor, task.getProject(), filePath);
+            try (SQLScriptStreamParser scriptStream = new SQLScriptStreamParser(
+                dataSource,
+                scriptContent.stream(),
+                scriptContent.charset(),
+                scriptContent.size(),
+                startOffset,
+                SQLScriptStreamParser.DEFAULT_WINDOW_SIZE))
+            {
+                processScript(monitor, task, settings, dataSourceContainer, executionContext, scriptStream, statistics, log, logStream);
+            }
+        } catch (Throwable e) {
+            Throwable error = e instanceof InvocationTargetException ? ((InvocationTargetException) e).getTargetException() : e;
+            throw new DBException("Error executing script '" + filePath + "'", error);
         }
     }
 
-    private void processScript(DBRProgressMonitor monitor, DBTTask task, SQLScriptExecuteSettings settings, DBCExecutionContext executionContext, String filePath, String sqlScriptContent, Log log, PrintStream logStream) throws DBException {
+    private void processScript(
+        DBRProgressMonitor monitor,
+        DBTTask task,
+        SQLScriptExecuteSettings settings,
+        DBPDataSourceContainer dataSourceContainer,
+        DBCExecutionContext executionContext,
+        SQLScriptStreamParser scriptStream,
+        DBCStatistics statistics,
+        Log log,
+        PrintStream logStream
+    ) throws DBException {
         PrintWriter logWriter = new PrintWriter(logStream, true);
-        List<SQLScriptElement> scriptElements = SQLScriptParser.parseScript(executionContext.getDataSource(), sqlScriptContent);
         SQLScriptContext scriptContext = new SQLScriptContext(null, () -> executionContext, null, logWriter, null);
         scriptContext.setVariables(DBTaskUtils.getVariables(task));
         SQLScriptDataReceiver dataReceiver = new SQLScriptDataReceiver();
-        SQLScriptProcessor scriptProcessor = new SQLScriptProcessor(executionContext, scriptElements, scriptContext, dataReceiver, log);
+        SQLScriptProcessor scriptProcessor = new SQLScriptProcessor(executionContext, scriptStream, scriptContext, dataReceiver, log);
 
         scriptProcessor.setCommitType(settings.isAutoCommit() ? SQLScriptCommitType.AUTOCOMMIT : SQLScriptCommitType.AT_END);
         scriptProcessor.setErrorHandling(settings.isIgnoreErrors() ? SQLScriptErrorHandling.IGNORE : SQLScriptErrorHandling.STOP_ROLLBACK);
+        scriptProcessor.setInsertBatchSize(settings.getInsertBatchSize());
         if (settings.isDumpQueryResultsToLog()) {
             dataReceiver.setDumpWriter(logWriter);
         }
 
-        scriptProcessor.runScript(monitor);
-
-        totalStatistics.accumulate(scriptProcessor.getTotalStatistics());
+        try {
+            scriptProcessor.runScript(monitor);
+        } finally {
+            statistics.accumulate(scriptProcessor.getTotalStatistics());
+            if (scriptProcessor.getLastErrorOffset() >= 0) {
+                log.debug("> Last failed statement offset in [" + dataSourceContainer.getName() + "]: " + scriptProcessor.getLastErrorOffset() +
+                    ". Set it as resume offset of this data source to restart script execution from this statement.");
+            }
+        }
     }
 
 }
@@ -0,0 +1,136 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.sql.task;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.DBCStatistics;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.task.DBTTask;
+import org.jkiss.dbeaver.tools.sql.SQLScriptExecuteSettings;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Executes scripts in data sources taken from the shared queue.
+ * Each data source gets its own connection, log buffer and statistics.
+ */
+class SQLScriptExecuteJob extends AbstractJob {
+
+    private final SQLScriptExecuteHandler handler;
+    private final SQLScriptTargetQueue targets;
+    private final DBTTask task;
+    private final SQLScriptExecuteSettings settings;
+    private final Log log;
+    private final PrintStream logStream;
+
+    SQLScriptExecuteJob(
+        @NotNull SQLScriptExecuteHandler handler,
+        @NotNull SQLScriptTargetQueue targets,
+        @NotNull DBTTask task,
+        @NotNull SQLScriptExecuteSettings settings,
+        @NotNull Log log,
+        @NotNull PrintStream logStream,
+        int index
+    ) {
+        super("SQL script execute job [" + index + "]");
+        this.handler = handler;
+        this.targets = targets;
+        this.task = task;
+        this.settings = settings;
+        this.log = log;
+        this.logStream = logStream;
+    }
+
+    @Override
+    protected IStatus run(DBRProgressMonitor monitor) {
+        while (!monitor.isCanceled()) {
+            DBPDataSourceContainer dataSourceContainer = targets.acquireTarget();
+            if (dataSourceContainer == null) {
+                break;
+            }
+            targets.addResult(executeInDataSource(monitor, dataSourceContainer));
+        }
+        return Status.OK_STATUS;
+    }
+
+    @NotNull
+    private SQLScriptTargetQueue.TargetResult executeInDataSource(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBPDataSourceContainer dataSourceContainer
+    ) {
+        // Data source log is written in the task log as a single block when execution ends
+        ByteArrayOutputStream logBuffer = new ByteArrayOutputStream();
+        PrintStream targetLogStream = new PrintStream(logBuffer, true, StandardCharsets.UTF_8);
+        DBCStatistics statistics = new DBCStatistics();
+        Throwable error = null;
+        long startTime = System.currentTimeMillis();
+        boolean wasConnected = dataSourceContainer.isConnected();
+
+        List<String> scriptFiles = settings.getScriptFiles();
+        Log.setLogWriter(targetLogStream);
+        Log.setContext(Log.buildContext(dataSourceContainer.getName()));
+        monitor.beginTask("Execute scripts in " + dataSourceContainer.getName(), scriptFiles.size());
+        try {
+            for (int i = 0; i < scriptFiles.size() && !monitor.isCanceled(); i++) {
+                monitor.subTask(scriptFiles.get(i));
+                handler.executeScript(
+                    monitor,
+                    task,
+                    settings,
+                    dataSourceContainer,
+                    scriptFiles.get(i),
+                    i == 0 ? settings.getResumeOffset(dataSourceContainer) : 0,
+                    statistics,
+                    log,
+                    targetLogStream);
+                monitor.worked(1);
+            }
+        } catch (Throwable e) {
+            error = e;
+            log.error(e);
+        } finally {
+            if (!wasConnected && dataSourceContainer.isConnected()) {
+                // Do not keep connections to all data sources open
+                try {
+                    dataSourceContainer.disconnect(monitor);
+                } catch (DBException e) {
+                    log.debug("Error disconnecting from [" + dataSourceContainer.getName() + "]", e);
+                }
+            }
+            long elapsedTime = System.currentTimeMillis() - startTime;
+            log.debug("> Execution in [" + dataSourceContainer.getName() + "] " + (error == null ? "completed" : "failed") +
+                " in " + elapsedTime + "ms");
+            monitor.done();
+            Log.setContext(null);
+            Log.setLogWriter(null);
+            targetLogStream.flush();
+            logStream.write(logBuffer.toByteArray(), 0, logBuffer.size());
+            logStream.flush();
+        }
+        return new SQLScriptTargetQueue.TargetResult(dataSourceContainer, statistics, error);
+    }
+
+}
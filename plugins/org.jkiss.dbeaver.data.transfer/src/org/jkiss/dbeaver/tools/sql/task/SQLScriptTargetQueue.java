@@ -0,0 +1,97 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.sql.task;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.DBCStatistics;
+import org.jkiss.dbeaver.tools.sql.SQLScriptFailurePolicy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Data sources pending script execution in fan-out mode.
+ * Shared between parallel jobs, applies failure policy.
+ */
+public class SQLScriptTargetQueue {
+
+    public record TargetResult(
+        @NotNull DBPDataSourceContainer dataSource,
+        @NotNull DBCStatistics statistics,
+        @Nullable Throwable error
+    ) {
+    }
+
+    private final Deque<DBPDataSourceContainer> pendingTargets;
+    private final List<TargetResult> results = new ArrayList<>();
+    private final SQLScriptFailurePolicy failurePolicy;
+    private final int maxFailures;
+    private int failureCount;
+    private boolean stopped;
+
+    public SQLScriptTargetQueue(
+        @NotNull List<DBPDataSourceContainer> dataSources,
+        @NotNull SQLScriptFailurePolicy failurePolicy,
+        int maxFailures
+    ) {
+        this.pendingTargets = new ArrayDeque<>(dataSources);
+        this.failurePolicy = failurePolicy;
+        this.maxFailures = maxFailures;
+    }
+
+    /**
+     * Returns next data source or null if all data sources were processed or execution was stopped
+     */
+    @Nullable
+    public synchronized DBPDataSourceContainer acquireTarget() {
+        return stopped ? null : pendingTargets.pollFirst();
+    }
+
+    public synchronized void addResult(@NotNull TargetResult result) {
+        results.add(result);
+        if (result.error() != null) {
+            failureCount++;
+            switch (failurePolicy) {
+                case STOP_ALL -> stopped = true;
+                case STOP_AFTER_FAILURES -> stopped = failureCount >= maxFailures;
+                default -> {
+                }
+            }
+        }
+    }
+
+    public synchronized void stop() {
+        stopped = true;
+    }
+
+    @NotNull
+    public synchronized List<TargetResult> getResults() {
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * Data sources which were not processed because execution was stopped
+     */
+    @NotNull
+    public synchronized List<DBPDataSourceContainer> getSkippedTargets() {
+        return new ArrayList<>(pendingTargets);
+    }
+}
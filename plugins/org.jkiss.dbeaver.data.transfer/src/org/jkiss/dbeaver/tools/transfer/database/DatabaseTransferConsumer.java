@@ -37,6 +37,7 @@ import org.jkiss.dbeaver.model.navigator.DBNModel;
 import org.jkiss.dbeaver.model.navigator.DBNUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.jfr.JFROperation;
 import org.jkiss.dbeaver.model.sql.SQLDialectInsertReplaceMethod;
 import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.*;
@@ -452,10 +453,17 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                     retryInsert = false;
                     try {
                         DBExecUtils.tryExecuteRecover(targetSession, targetSession.getDataSource(), param -> {
-                            try {
-                                statistics.accumulate(executeBatch.execute(targetSession, options));
-                            } catch (Throwable e) {
-                                throw new InvocationTargetException(e);
+                            try (JFROperation insertOperation = JFROperation.begin(
+                                JFROperation.Kind.DATA_TRANSFER, targetSession.getDataSource(), "Insert batch", containerMapping.getTargetName()))
+                            {
+                                try {
+                                    DBCStatistics batchStatistics = executeBatch.execute(targetSession, options);
+                                    insertOperation.setCount(batchStatistics.getRowsUpdated());
+                                    statistics.accumulate(batchStatistics);
+                                } catch (Throwable e) {
+                                    insertOperation.markFailed();
+                                    throw new InvocationTargetException(e);
+                                }
                             }
                         });
                     } catch (Throwable e) {
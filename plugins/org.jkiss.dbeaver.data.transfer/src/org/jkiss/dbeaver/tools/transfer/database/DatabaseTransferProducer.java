@@ -31,6 +31,7 @@ import org.jkiss.dbeaver.model.impl.DataSourceContextProvider;
 import org.jkiss.dbeaver.model.meta.DBSerializable;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
+import org.jkiss.dbeaver.model.runtime.jfr.JFROperation;
 import org.jkiss.dbeaver.model.sql.SQLQuery;
 import org.jkiss.dbeaver.model.sql.SQLQueryContainer;
 import org.jkiss.dbeaver.model.sql.SQLScriptContext;
@@ -261,6 +262,8 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
 
                         monitor.beginTask(DTMessages.data_transfer_wizard_job_task_export_table_data, (int) totalRows);
 
+                        JFROperation readOperation = JFROperation.begin(
+                            JFROperation.Kind.DATA_TRANSFER, dataSource, "Read data", dataContainer.getName());
                         try {
                             monitor.subTask("Read data");
 
@@ -285,6 +288,8 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
                             }
                         } finally {
                             monitor.done();
+                            readOperation.setCount(producerStatistics.getRowsFetched());
+                            readOperation.close();
                         }
 
                     } finally {
@@ -32,6 +32,7 @@ import org.jkiss.dbeaver.model.meta.DBSerializable;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
+import org.jkiss.dbeaver.model.runtime.jfr.JFROperation;
 import org.jkiss.dbeaver.model.sql.SQLQueryContainer;
 import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
@@ -149,6 +150,8 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     private final List<Path> outputFiles = new ArrayList<>();
     private StatOutputStream statStream;
+    @Nullable
+    private JFROperation exportOperation;
     
     public StreamTransferConsumer() {
     }
@@ -191,6 +194,8 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
 
         initialized = true;
+        exportOperation = JFROperation.begin(
+            JFROperation.Kind.DATA_TRANSFER, session.getDataSource(), "Export rows", dataContainer.getName());
     }
 
     @Override
@@ -240,6 +245,9 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             // Export row
             processor.exportRow(session, resultSet, targetRow);
             firstRow = false;
+            if (exportOperation != null) {
+                exportOperation.addCount(1);
+            }
         } catch (IOException e) {
             throw new DBCException("IO error", e);
         } catch (Throwable e) {
@@ -269,11 +277,20 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     @Override
     public void fetchEnd(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        closeExportOperation();
     }
 
     @Override
     public void close() {
         columnBindings = null;
+        closeExportOperation();
+    }
+
+    private void closeExportOperation() {
+        if (exportOperation != null) {
+            exportOperation.close();
+            exportOperation = null;
+        }
     }
     
     private boolean resolveOverwriteBlobFileConflict(@NotNull String fileName) {
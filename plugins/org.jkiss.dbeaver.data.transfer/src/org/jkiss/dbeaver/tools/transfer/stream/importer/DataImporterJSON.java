@@ -0,0 +1,295 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.importer;
+
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBFetchProgress;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.database.DatabaseTransferUtils;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataImporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamDataImporterColumnInfo;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamEntityMapping;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferResultSet;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.utils.CommonUtils;
+import org.jkiss.utils.Pair;
+import org.jkiss.utils.io.BOMInputStream;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.*;
+
+/**
+ * JSON importer.
+ * Reads either a top-level array of objects or a sequence of top-level objects (newline-delimited JSON).
+ * Records are read one by one with a pull parser, so memory usage doesn't depend on the file size.
+ * Nested objects are flattened into columns named by the path of their fields (e.g. {@code address.city}),
+ * arrays are imported as JSON strings.
+ */
+public class DataImporterJSON extends StreamImporterAbstract {
+    private static final Log log = Log.getLog(DataImporterJSON.class);
+
+    private static final String PROP_ENCODING = "encoding";
+    private static final String PROP_PATH_SEPARATOR = "pathSeparator";
+    private static final String PROP_MAX_NESTING_DEPTH = "maxNestingDepth";
+    private static final String PROP_EMPTY_STRING_NULL = "emptyStringNull";
+
+    public static final String VALUE_COLUMN_NAME = "value";
+    public static final int READ_BUFFER_SIZE = 255 * 1024;
+
+    public DataImporterJSON() {
+    }
+
+    @NotNull
+    @Override
+    public List<StreamDataImporterColumnInfo> readColumnsInfo(StreamEntityMapping entityMapping, @NotNull InputStream inputStream) throws DBException {
+        Map<String, Object> processorProperties = getSite().getProcessorProperties();
+
+        final String encoding = CommonUtils.toString(processorProperties.get(PROP_ENCODING), GeneralUtils.UTF8_ENCODING);
+        final int columnSamplesCount = Math.max(CommonUtils.toInt(processorProperties.get(PROP_COLUMN_TYPE_SAMPLES), 100), 1);
+        final int columnMinimalLength = Math.max(CommonUtils.toInt(processorProperties.get(PROP_COLUMN_TYPE_LENGTH), 1), 1);
+        final boolean columnIsByteLength = CommonUtils.getBoolean(processorProperties.get(PROP_COLUMN_IS_BYTE_LENGTH), false);
+
+        Map<String, StreamDataImporterColumnInfo> columnsInfo = new LinkedHashMap<>();
+        try (RecordReader recordReader = new RecordReader(openStreamReader(inputStream, processorProperties), processorProperties)) {
+            for (int sample = 0; sample < columnSamplesCount; sample++) {
+                Map<String, Object> record = recordReader.nextRecord();
+                if (record == null) {
+                    break;
+                }
+                for (Map.Entry<String, Object> field : record.entrySet()) {
+                    StreamDataImporterColumnInfo columnInfo = columnsInfo.get(field.getKey());
+                    if (columnInfo == null) {
+                        columnInfo = new StreamDataImporterColumnInfo(
+                            entityMapping, columnsInfo.size(), field.getKey(), null, columnMinimalLength, DBPDataKind.UNKNOWN);
+                        columnInfo.setMappingMetadataPresent(true);
+                        columnsInfo.put(field.getKey(), columnInfo);
+                    }
+                    Object value = field.getValue();
+                    if (value instanceof Boolean) {
+                        columnInfo.updateType(DBPDataKind.BOOLEAN, "BOOLEAN");
+                    } else if (value instanceof JsonNumber number) {
+                        Pair<DBPDataKind, String> dataType = DatabaseTransferUtils.getDataType(number.value);
+                        columnInfo.updateType(dataType.getFirst(), dataType.getSecond());
+                    } else if (value instanceof String str) {
+                        columnInfo.updateMaxLength(
+                            entityMapping.getDataSource(),
+                            columnIsByteLength ? str.getBytes(encoding).length : str.length());
+                        columnInfo.updateType(DBPDataKind.STRING, "VARCHAR");
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new DBException("Error reading JSON", e);
+        }
+
+        for (StreamDataImporterColumnInfo columnInfo : columnsInfo.values()) {
+            if (columnInfo.getDataKind() == DBPDataKind.UNKNOWN) {
+                log.warn("Cannot guess data type for column '" + columnInfo.getName() + "', defaulting to VARCHAR");
+                columnInfo.updateType(DBPDataKind.STRING, "VARCHAR");
+            }
+        }
+        return new ArrayList<>(columnsInfo.values());
+    }
+
+    @Override
+    public void runImport(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSource streamDataSource, @NotNull InputStream inputStream, @NotNull IDataTransferConsumer consumer) throws DBException {
+        IStreamDataImporterSite site = getSite();
+        StreamEntityMapping entityMapping = site.getSourceObject();
+        Map<String, Object> properties = site.getProcessorProperties();
+        boolean emptyStringNull = CommonUtils.getBoolean(properties.get(PROP_EMPTY_STRING_NULL), false);
+
+        List<StreamDataImporterColumnInfo> streamColumns = entityMapping.getStreamColumns();
+        Map<String, Integer> columnIndexes = new HashMap<>();
+        for (int i = 0; i < streamColumns.size(); i++) {
+            columnIndexes.put(streamColumns.get(i).getName(), i);
+        }
+
+        DBCExecutionContext context = streamDataSource.getDefaultInstance().getDefaultContext(monitor, false);
+        try (DBCSession producerSession = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Transfer stream data")) {
+            LocalStatement localStatement = new LocalStatement(producerSession, "SELECT * FROM Stream");
+            StreamTransferResultSet resultSet = new StreamTransferResultSet(producerSession, localStatement, entityMapping);
+
+            consumer.fetchStart(producerSession, resultSet, -1, -1);
+
+            applyTransformHints(resultSet, consumer, properties, PROP_TIMESTAMP_FORMAT, PROP_TIMESTAMP_ZONE);
+
+            try (RecordReader recordReader = new RecordReader(openStreamReader(inputStream, properties), properties)) {
+                int maxRows = site.getSettings().getMaxRows();
+                for (long recordNum = 0; ; ) {
+                    if (monitor.isCanceled() || (maxRows > 0 && recordNum >= maxRows)) {
+                        break;
+                    }
+                    Map<String, Object> record = recordReader.nextRecord();
+                    if (record == null) {
+                        break;
+                    }
+                    Object[] row = new Object[streamColumns.size()];
+                    for (Map.Entry<String, Object> field : record.entrySet()) {
+                        Integer index = columnIndexes.get(field.getKey());
+                        if (index == null) {
+                            // Field didn't appear in sampled records
+                            continue;
+                        }
+                        Object value = field.getValue();
+                        if (value instanceof JsonNumber number) {
+                            value = number.value;
+                        } else if (emptyStringNull && "".equals(value)) {
+                            value = null;
+                        }
+                        row[index] = value;
+                    }
+
+                    resultSet.setStreamRow(row);
+                    consumer.fetchRow(producerSession, resultSet);
+                    recordNum++;
+
+                    if (DBFetchProgress.monitorFetchProgress(recordNum)) {
+                        monitor.subTask(Long.toUnsignedString(recordNum) + " rows processed");
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                throw new DBException("Error reading JSON", e);
+            } finally {
+                try {
+                    consumer.fetchEnd(producerSession, resultSet);
+                } finally {
+                    consumer.close();
+                }
+            }
+        }
+    }
+
+    private Reader openStreamReader(InputStream inputStream, Map<String, Object> processorProperties) {
+        final String encoding = CommonUtils.toString(processorProperties.get(PROP_ENCODING), GeneralUtils.UTF8_ENCODING);
+        final Charset charset = Charset.forName(encoding);
+        inputStream = new BufferedInputStream(inputStream, READ_BUFFER_SIZE);
+        try {
+            inputStream = new BOMInputStream(inputStream, charset);
+        } catch (IllegalArgumentException ignored) {
+            // This charset does not have BOM, suppress and continue
+        }
+        return new InputStreamReader(inputStream, charset);
+    }
+
+    /**
+     * Numbers are kept in their original text form to avoid precision loss
+     */
+    private record JsonNumber(@NotNull String value) {
+    }
+
+    /**
+     * Reads flattened records one by one
+     */
+    private static class RecordReader implements Closeable {
+        private final JsonReader reader;
+        private final String pathSeparator;
+        private final int maxNestingDepth;
+        private boolean insideArray;
+        private boolean finished;
+
+        RecordReader(@NotNull Reader reader, @NotNull Map<String, Object> properties) throws IOException {
+            this.reader = new JsonReader(reader);
+            // Lenient mode allows multiple top-level values (NDJSON)
+            this.reader.setLenient(true);
+            this.pathSeparator = CommonUtils.toString(properties.get(PROP_PATH_SEPARATOR), ".");
+            this.maxNestingDepth = Math.max(CommonUtils.toInt(properties.get(PROP_MAX_NESTING_DEPTH), 10), 0);
+
+            try {
+                if (this.reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    this.reader.beginArray();
+                    this.insideArray = true;
+                }
+            } catch (EOFException e) {
+                // Empty document
+                this.finished = true;
+            }
+        }
+
+        /**
+         * Returns next record or null if there are no more records
+         */
+        @Nullable
+        Map<String, Object> nextRecord() throws IOException {
+            if (finished) {
+                return null;
+            }
+            if (insideArray ? !reader.hasNext() : reader.peek() == JsonToken.END_DOCUMENT) {
+                finished = true;
+                return null;
+            }
+            Map<String, Object> record = new LinkedHashMap<>();
+            if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                readObject(record, null, 0);
+            } else {
+                record.put(VALUE_COLUMN_NAME, readValue());
+            }
+            return record;
+        }
+
+        private void readObject(@NotNull Map<String, Object> record, @Nullable String prefix, int depth) throws IOException {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                String path = prefix == null ? name : prefix + pathSeparator + name;
+                if (reader.peek() == JsonToken.BEGIN_OBJECT && depth < maxNestingDepth) {
+                    readObject(record, path, depth + 1);
+                } else {
+                    record.put(path, readValue());
+                }
+            }
+            reader.endObject();
+        }
+
+        @Nullable
+        private Object readValue() throws IOException {
+            switch (reader.peek()) {
+                case STRING:
+                    return reader.nextString();
+                case NUMBER:
+                    return new JsonNumber(reader.nextString());
+                case BOOLEAN:
+                    return reader.nextBoolean();
+                case NULL:
+                    reader.nextNull();
+                    return null;
+                default:
+                    // Arrays and objects deeper than max nesting level are imported as JSON text
+                    return JsonParser.parseReader(reader).toString();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+}
@@ -28,6 +28,7 @@ import org.jkiss.dbeaver.dpi.model.DPIContext;
 import org.jkiss.dbeaver.dpi.model.adapters.DPISerializer;
 import org.jkiss.dbeaver.dpi.model.client.DPISmartObjectResponse;
 import org.jkiss.dbeaver.dpi.model.client.DPISmartObjectWrapper;
+import org.jkiss.dbeaver.dpi.model.stream.DPIResultSetStream;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPDataSourceConfigurationStorage;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
@@ -119,6 +120,10 @@ public class DPIControllerImpl implements DPIController {
         getSession(sessionId);
         sessions.remove(sessionId);
 
+        if (sessions.isEmpty()) {
+            // Streams are not bound to sessions, so they are closed with the last one
+            context.closeResultSetStreams();
+        }
         if (sessions.isEmpty() && server != null) {
             new AbstractJob("Stop detached server") {
                 @Override
@@ -171,6 +176,36 @@ public class DPIControllerImpl implements DPIController {
         return invokeObjectMethod(object, method, null);
     }
 
+    // Not synchronized: rows are read while other calls are processed
+    @NotNull
+    @Override
+    public String readResultSetChunk(@NotNull String streamId) throws DBException {
+        DPIResultSetStream stream = context.getResultSetStream(streamId);
+        if (stream == null) {
+            throw new DBException("Result set stream '" + streamId + "' not found");
+        }
+        DPIResultSetStream.EncodedChunk chunk;
+        try {
+            chunk = stream.nextChunk();
+        } catch (DBException e) {
+            context.removeResultSetStream(streamId);
+            stream.close();
+            throw e;
+        }
+        if (chunk.last()) {
+            context.removeResultSetStream(streamId);
+        }
+        return Base64.getEncoder().encodeToString(chunk.data());
+    }
+
+    @Override
+    public void closeResultSetStream(@NotNull String streamId) {
+        DPIResultSetStream stream = context.removeResultSetStream(streamId);
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
     private Object invokeObjectMethod(Object object, Method method, Object[] args) throws DBException {
         boolean originalAccessible = method.canAccess(object);
         method.setAccessible(true);
@@ -248,7 +283,7 @@ public class DPIControllerImpl implements DPIController {
 
     @Override
     public void close() {
-
+        context.closeResultSetStreams();
     }
 
     public void setServer(RestServer<?> server) {
@@ -36,6 +36,7 @@ public class DPIRestServer {
         DPIContext dpiContext = new DPIContext(new LoggingProgressMonitor(log), application, true);
 
         DPIControllerImpl dpiController = new DPIControllerImpl(dpiContext);
+        dpiContext.setController(dpiController);
         restServer = RestServer
             .builder(DPIController.class, dpiController)
             .setFilter(address -> address.getAddress().isLoopbackAddress())
@@ -20,12 +20,14 @@ import com.google.gson.Gson;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.dpi.model.adapters.DPISerializer;
+import org.jkiss.dbeaver.dpi.model.stream.DPIResultSetStream;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.dpi.DPIController;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -37,6 +39,7 @@ public class DPIContext {
     private final Map<String, Object> objectIdCache = new HashMap<>();
     private final Map<Object, String> objectValueCache = new HashMap<>();
     private final AtomicLong objectCount = new AtomicLong();
+    private final Map<String, DPIResultSetStream> resultSetStreams = new ConcurrentHashMap<>();
 
     private final DBRProgressMonitor monitor;
     private final Object rootObject;
@@ -93,6 +96,28 @@ public class DPIContext {
         return id;
     }
 
+    public void addResultSetStream(@NotNull DPIResultSetStream stream) {
+        resultSetStreams.put(stream.getStreamId(), stream);
+    }
+
+    public DPIResultSetStream getResultSetStream(@NotNull String streamId) {
+        return resultSetStreams.get(streamId);
+    }
+
+    public DPIResultSetStream removeResultSetStream(@NotNull String streamId) {
+        return resultSetStreams.remove(streamId);
+    }
+
+    /**
+     * Stops all result set streams. Called when client session ends.
+     */
+    public void closeResultSetStreams() {
+        for (DPIResultSetStream stream : resultSetStreams.values()) {
+            stream.close();
+        }
+        resultSetStreams.clear();
+    }
+
     public String getObjectId(Object object) {
         return objectValueCache.get(object);
     }
@@ -21,7 +21,12 @@ import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
+import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.dpi.model.DPIContext;
+import org.jkiss.dbeaver.dpi.model.stream.DPIResultSetStream;
+import org.jkiss.dbeaver.dpi.model.stream.DPIRowChunkCodec;
+import org.jkiss.dbeaver.dpi.model.stream.DPIStreamResultSet;
+import org.jkiss.dbeaver.model.dpi.DPIController;
 import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.DBCStatement;
@@ -30,6 +35,9 @@ import org.jkiss.dbeaver.model.impl.dpi.DPIResultSetColumn;
 import org.jkiss.dbeaver.model.impl.dpi.DPIServerSmartProxyDataReceiver;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
 
 public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
@@ -37,6 +45,7 @@ public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
     private static final String SESSION = "session";
     private static final String STATEMENT = "statement";
     private static final String ROWS = "rows";
+    private static final String STREAM = "stream";
     private final Gson gson;
 
     public DPIResultSetAdapter(DPIContext context, Gson gson) {
@@ -47,20 +56,49 @@ public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
     @Override
     public void write(JsonWriter jsonWriter, DBCResultSet resultSet) throws IOException {
         DPIResultSet dpiResultSet;
+        DPIResultSetStream stream;
         if (resultSet instanceof DPIResultSet) {
             dpiResultSet = (DPIResultSet) resultSet;
+            Iterator<Object[]> rowIterator = dpiResultSet.getAllRows().iterator();
+            stream = new DPIResultSetStream(
+                dpiResultSet.getMetaColumns().size(),
+                rowIterator,
+                () -> rowIterator.hasNext() ? rowIterator.next() : null);
         } else {
-            try (var dataReceiver = new DPIServerSmartProxyDataReceiver()) {
-                DBCSession session = resultSet.getSession();
-                dataReceiver.fetchStart(session, resultSet, 0, 0);
-                while (resultSet.nextRow()) {
-                    dataReceiver.fetchRow(session, resultSet);
-                }
-                dataReceiver.fetchEnd(session, resultSet);
-                dpiResultSet = dataReceiver.getDpiResultSet();
+            // Rows are read from the source result set while the client reads previous chunks
+            DPIServerSmartProxyDataReceiver dataReceiver = new DPIServerSmartProxyDataReceiver();
+            try {
+                dataReceiver.fetchStart(resultSet.getSession(), resultSet, 0, 0);
             } catch (Exception e) {
                 throw new IOException("Failed to fetch data from result set: " + e.getMessage(), e);
             }
+            dpiResultSet = dataReceiver.getDpiResultSet();
+            // Cursor may be used by controller calls (e.g. cancel or close), so it is read under the controller lock
+            DPIController controller = context.getDpiController();
+            stream = new DPIResultSetStream(
+                dpiResultSet.getMetaColumns().size(),
+                controller == null ? context : controller,
+                new DPIResultSetStream.RowReader() {
+                    @Override
+                    public Object[] readRow() throws DBException {
+                        return resultSet.nextRow() ? dataReceiver.readRowValues(resultSet) : null;
+                    }
+
+                    @Override
+                    public void close() throws DBException {
+                        dataReceiver.fetchEnd(resultSet.getSession(), resultSet);
+                        dataReceiver.close();
+                    }
+                });
+        }
+        DPIResultSetStream.EncodedChunk firstChunk;
+        try {
+            firstChunk = stream.start();
+        } catch (Exception e) {
+            throw new IOException("Failed to fetch data from result set: " + e.getMessage(), e);
+        }
+        if (!firstChunk.last()) {
+            context.addResultSetStream(stream);
         }
         jsonWriter.beginObject();
 
@@ -71,7 +109,11 @@ public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
         jsonWriter.name(STATEMENT);
         jsonWriter.value(gson.toJson(dpiResultSet.getSourceStatement()));
         jsonWriter.name(ROWS);
-        jsonWriter.value(gson.toJson(dpiResultSet.getAllRows()));
+        jsonWriter.value(Base64.getEncoder().encodeToString(firstChunk.data()));
+        if (!firstChunk.last()) {
+            jsonWriter.name(STREAM);
+            jsonWriter.value(stream.getStreamId());
+        }
 
         jsonWriter.endObject();
     }
@@ -82,6 +124,7 @@ public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
         DBCStatement statement = null;
         List<DPIResultSetColumn> meta = null;
         List<Object[]> rows = null;
+        String streamId = null;
         jsonReader.beginObject();
         while (jsonReader.peek() == JsonToken.NAME) {
             String attrName = jsonReader.nextName();
@@ -100,16 +143,25 @@ public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
                     statement = gson.fromJson(jsonReader.nextString(), DBCStatement.class);
                     break;
                 case ROWS:
-                    rows = gson.fromJson(
-                        jsonReader.nextString(),
-                        new TypeToken<List<Object[]>>() {
-                        }.getType()
-                    );
+                    rows = DPIRowChunkCodec.decode(Base64.getDecoder().decode(jsonReader.nextString())).rows();
+                    break;
+                case STREAM:
+                    streamId = jsonReader.nextString();
                     break;
             }
         }
         jsonReader.endObject();
 
+        if (rows == null) {
+            rows = new ArrayList<>();
+        }
+        if (streamId != null) {
+            DPIController controller = context.getDpiController();
+            if (controller == null) {
+                throw new IOException("No DPI controller in client context");
+            }
+            return new DPIStreamResultSet(session, statement, controller, meta, rows, streamId);
+        }
         return new DPIResultSet(session, statement, meta, rows);
     }
 }
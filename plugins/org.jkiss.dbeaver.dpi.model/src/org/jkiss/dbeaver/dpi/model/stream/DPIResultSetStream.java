@@ -0,0 +1,224 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.dpi.model.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server side of result set rows streaming.
+ * <p>
+ * The first chunk is read in the caller thread, the rest are read by a background thread
+ * while the client consumes previous chunks. Reader waits when the client lags behind
+ * by more than {@link #MAX_PENDING_CHUNKS} chunks and stops when the stream is closed
+ * or the client doesn't read chunks for {@link #IDLE_TIMEOUT_MS}.
+ * Source cursor is accessed under the cursor lock, so it is never used concurrently with other calls.
+ */
+public class DPIResultSetStream {
+
+    private static final Log log = Log.getLog(DPIResultSetStream.class);
+
+    // Small first chunk lets the client show the first rows as soon as possible
+    private static final int FIRST_CHUNK_ROWS = 200;
+    private static final int CHUNK_ROWS = 2000;
+    private static final int MAX_PENDING_CHUNKS = 4;
+    private static final long POLL_TIMEOUT_MS = 500;
+    // Client is considered gone if it doesn't read pending chunks for this time
+    private static final long IDLE_TIMEOUT_MS = 10 * 60 * 1000;
+
+    /**
+     * Reads rows from the source result set
+     */
+    @FunctionalInterface
+    public interface RowReader {
+        /**
+         * @return next row values or null if there are no more rows
+         */
+        @Nullable
+        Object[] readRow() throws DBException;
+
+        /**
+         * Called once when all rows are read or the stream is closed
+         */
+        default void close() throws DBException {
+        }
+    }
+
+    public record EncodedChunk(@NotNull byte[] data, boolean last) {
+    }
+
+    private final String streamId = UUID.randomUUID().toString();
+    private final int columnCount;
+    @NotNull
+    private final Object cursorLock;
+    private final RowReader rowReader;
+    // Contains encoded chunks or reader error
+    private final BlockingQueue<Object> chunks = new ArrayBlockingQueue<>(MAX_PENDING_CHUNKS);
+    private volatile boolean closed;
+    private volatile boolean finished;
+    private volatile long lastReadTime = System.currentTimeMillis();
+    private final AtomicBoolean readerClosed = new AtomicBoolean();
+
+    public DPIResultSetStream(int columnCount, @NotNull Object cursorLock, @NotNull RowReader rowReader) {
+        this.columnCount = columnCount;
+        this.cursorLock = cursorLock;
+        this.rowReader = rowReader;
+    }
+
+    @NotNull
+    public String getStreamId() {
+        return streamId;
+    }
+
+    /**
+     * Reads the first chunk. If there are more rows then starts reading them in background.
+     */
+    @NotNull
+    public EncodedChunk start() throws DBException {
+        EncodedChunk firstChunk;
+        try {
+            firstChunk = readChunk(FIRST_CHUNK_ROWS);
+        } catch (DBException e) {
+            closeReader();
+            throw e;
+        }
+        if (firstChunk.last()) {
+            finished = true;
+            closeReader();
+        } else {
+            Thread readerThread = new Thread(this::readRows, "DPI result set reader " + streamId);
+            readerThread.setDaemon(true);
+            readerThread.start();
+        }
+        return firstChunk;
+    }
+
+    /**
+     * Returns the next chunk. Blocks until it is read from the source result set.
+     */
+    @NotNull
+    public EncodedChunk nextChunk() throws DBException {
+        try {
+            while (!closed) {
+                lastReadTime = System.currentTimeMillis();
+                Object chunk = chunks.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (chunk instanceof EncodedChunk encodedChunk) {
+                    return encodedChunk;
+                } else if (chunk instanceof Throwable error) {
+                    throw new DBException("Error reading result set rows", error);
+                } else if (chunk == null && finished && chunks.isEmpty()) {
+                    throw new DBException("Result set stream " + streamId + " has no more rows");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new DBException("Result set stream " + streamId + " is closed");
+    }
+
+    /**
+     * Stops reading. Source result set is not interrupted, reader stops before the next row.
+     */
+    public void close() {
+        closed = true;
+        chunks.clear();
+    }
+
+    private void readRows() {
+        try {
+            boolean last = false;
+            while (!last && !closed) {
+                EncodedChunk chunk = readChunk(CHUNK_ROWS);
+                last = chunk.last();
+                enqueue(chunk);
+            }
+        } catch (Throwable e) {
+            if (!closed) {
+                log.debug("Error reading result set rows", e);
+                enqueue(e);
+            }
+        } finally {
+            finished = true;
+            closeReader();
+        }
+    }
+
+    private void closeReader() {
+        if (readerClosed.compareAndSet(false, true)) {
+            try {
+                synchronized (cursorLock) {
+                    rowReader.close();
+                }
+            } catch (Throwable e) {
+                log.debug("Error closing result set reader", e);
+            }
+        }
+    }
+
+    private void enqueue(@NotNull Object chunk) {
+        try {
+            // Back-pressure: wait while the client reads pending chunks
+            while (!closed && !chunks.offer(chunk, POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                if (System.currentTimeMillis() - lastReadTime > IDLE_TIMEOUT_MS) {
+                    log.debug("Result set stream " + streamId + " is abandoned by the client");
+                    close();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closed = true;
+        }
+    }
+
+    @NotNull
+    private EncodedChunk readChunk(int maxRows) throws DBException {
+        List<Object[]> rows = new ArrayList<>(maxRows);
+        boolean last = false;
+        while (rows.size() < maxRows) {
+            Object[] row;
+            if (closed) {
+                row = null;
+            } else {
+                synchronized (cursorLock) {
+                    row = rowReader.readRow();
+                }
+            }
+            if (row == null) {
+                last = true;
+                break;
+            }
+            rows.add(row);
+        }
+        try {
+            return new EncodedChunk(DPIRowChunkCodec.encode(rows, columnCount, last), last);
+        } catch (IOException e) {
+            throw new DBException("Error encoding result set rows", e);
+        }
+    }
+
+}
@@ -0,0 +1,253 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.dpi.model.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.impl.data.DBDValueError;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binary encoding of result set rows chunk.
+ * <p>
+ * Chunk layout: version, flags, row count, column count, then values row by row.
+ * Each value is a type tag followed by the value data, so values keep their Java types
+ * (JSON encoding turns all numbers into doubles and dates into strings).
+ * Values of unsupported types are not transferred, they are replaced with value errors.
+ */
+public final class DPIRowChunkCodec {
+
+    private static final byte VERSION = 1;
+    private static final byte FLAG_LAST = 1;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_BOOLEAN = 1;
+    private static final byte TYPE_BYTE = 2;
+    private static final byte TYPE_SHORT = 3;
+    private static final byte TYPE_INT = 4;
+    private static final byte TYPE_LONG = 5;
+    private static final byte TYPE_FLOAT = 6;
+    private static final byte TYPE_DOUBLE = 7;
+    private static final byte TYPE_BIG_DECIMAL = 8;
+    private static final byte TYPE_BIG_INTEGER = 9;
+    private static final byte TYPE_STRING = 10;
+    private static final byte TYPE_BYTES = 11;
+    private static final byte TYPE_TIMESTAMP = 12;
+    private static final byte TYPE_DATE = 13;
+    private static final byte TYPE_TIME = 14;
+    private static final byte TYPE_DATETIME = 15;
+    private static final byte TYPE_LOCAL_DATE = 16;
+    private static final byte TYPE_LOCAL_TIME = 17;
+    private static final byte TYPE_LOCAL_DATETIME = 18;
+    private static final byte TYPE_OFFSET_DATETIME = 19;
+    private static final byte TYPE_ERROR = 20;
+    private static final byte TYPE_CHAR = 21;
+    private static final byte TYPE_UUID = 22;
+
+    public record Chunk(@NotNull List<Object[]> rows, boolean last) {
+    }
+
+    private DPIRowChunkCodec() {
+    }
+
+    @NotNull
+    public static byte[] encode(@NotNull List<Object[]> rows, int columnCount, boolean last) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, rows.size() * columnCount * 8));
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(VERSION);
+            out.writeByte(last ? FLAG_LAST : 0);
+            out.writeInt(rows.size());
+            out.writeInt(columnCount);
+            for (Object[] row : rows) {
+                for (int i = 0; i < columnCount; i++) {
+                    writeValue(out, i < row.length ? row[i] : null);
+                }
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    @NotNull
+    public static Chunk decode(@NotNull byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported rows chunk version " + version);
+            }
+            boolean last = (in.readByte() & FLAG_LAST) != 0;
+            int rowCount = in.readInt();
+            int columnCount = in.readInt();
+            List<Object[]> rows = new ArrayList<>(rowCount);
+            for (int r = 0; r < rowCount; r++) {
+                Object[] row = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    row[i] = readValue(in);
+                }
+                rows.add(row);
+            }
+            return new Chunk(rows, last);
+        }
+    }
+
+    private static void writeValue(@NotNull DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof Byte number) {
+            out.writeByte(TYPE_BYTE);
+            out.writeByte(number);
+        } else if (value instanceof Short number) {
+            out.writeByte(TYPE_SHORT);
+            out.writeShort(number);
+        } else if (value instanceof Integer number) {
+            out.writeByte(TYPE_INT);
+            out.writeInt(number);
+        } else if (value instanceof Long number) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong(number);
+        } else if (value instanceof Float number) {
+            out.writeByte(TYPE_FLOAT);
+            out.writeFloat(number);
+        } else if (value instanceof Double number) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof BigDecimal number) {
+            out.writeByte(TYPE_BIG_DECIMAL);
+            writeString(out, number.toString());
+        } else if (value instanceof BigInteger number) {
+            out.writeByte(TYPE_BIG_INTEGER);
+            writeBytes(out, number.toByteArray());
+        } else if (value instanceof String string) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, string);
+        } else if (value instanceof Character character) {
+            out.writeByte(TYPE_CHAR);
+            out.writeChar(character);
+        } else if (value instanceof UUID uuid) {
+            out.writeByte(TYPE_UUID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else if (value instanceof byte[] bytes) {
+            out.writeByte(TYPE_BYTES);
+            writeBytes(out, bytes);
+        } else if (value instanceof Timestamp timestamp) {
+            out.writeByte(TYPE_TIMESTAMP);
+            out.writeLong(timestamp.getTime());
+            out.writeInt(timestamp.getNanos());
+        } else if (value instanceof Date date) {
+            out.writeByte(TYPE_DATE);
+            out.writeLong(date.getTime());
+        } else if (value instanceof Time time) {
+            out.writeByte(TYPE_TIME);
+            out.writeLong(time.getTime());
+        } else if (value instanceof java.util.Date date) {
+            out.writeByte(TYPE_DATETIME);
+            out.writeLong(date.getTime());
+        } else if (value instanceof LocalDate date) {
+            out.writeByte(TYPE_LOCAL_DATE);
+            writeString(out, date.toString());
+        } else if (value instanceof LocalTime time) {
+            out.writeByte(TYPE_LOCAL_TIME);
+            writeString(out, time.toString());
+        } else if (value instanceof LocalDateTime dateTime) {
+            out.writeByte(TYPE_LOCAL_DATETIME);
+            writeString(out, dateTime.toString());
+        } else if (value instanceof OffsetDateTime dateTime) {
+            out.writeByte(TYPE_OFFSET_DATETIME);
+            writeString(out, dateTime.toString());
+        } else if (value instanceof DBDValueError error) {
+            out.writeByte(TYPE_ERROR);
+            writeString(out, error.getErrorTitle());
+        } else {
+            // String representation may be ambiguous or lose data, so value is rejected
+            out.writeByte(TYPE_ERROR);
+            writeString(out, "Value of type " + value.getClass().getName() + " can't be transferred from detached process");
+        }
+    }
+
+    private static Object readValue(@NotNull DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case TYPE_NULL -> null;
+            case TYPE_BOOLEAN -> in.readBoolean();
+            case TYPE_BYTE -> in.readByte();
+            case TYPE_SHORT -> in.readShort();
+            case TYPE_INT -> in.readInt();
+            case TYPE_LONG -> in.readLong();
+            case TYPE_FLOAT -> in.readFloat();
+            case TYPE_DOUBLE -> in.readDouble();
+            case TYPE_BIG_DECIMAL -> new BigDecimal(readString(in));
+            case TYPE_BIG_INTEGER -> new BigInteger(readBytes(in));
+            case TYPE_STRING -> readString(in);
+            case TYPE_BYTES -> readBytes(in);
+            case TYPE_TIMESTAMP -> {
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                yield timestamp;
+            }
+            case TYPE_DATE -> new Date(in.readLong());
+            case TYPE_TIME -> new Time(in.readLong());
+            case TYPE_DATETIME -> new java.util.Date(in.readLong());
+            case TYPE_LOCAL_DATE -> LocalDate.parse(readString(in));
+            case TYPE_LOCAL_TIME -> LocalTime.parse(readString(in));
+            case TYPE_LOCAL_DATETIME -> LocalDateTime.parse(readString(in));
+            case TYPE_OFFSET_DATETIME -> OffsetDateTime.parse(readString(in));
+            case TYPE_ERROR -> new DBDValueError(new DBException(readString(in)));
+            case TYPE_CHAR -> in.readChar();
+            case TYPE_UUID -> new UUID(in.readLong(), in.readLong());
+            default -> throw new IOException("Unsupported value type " + type);
+        };
+    }
+
+    private static void writeString(@NotNull DataOutputStream out, @NotNull String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @NotNull
+    private static String readString(@NotNull DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(@NotNull DataOutputStream out, @NotNull byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    @NotNull
+    private static byte[] readBytes(@NotNull DataInputStream in) throws IOException {
+        byte[] value = new byte[in.readInt()];
+        in.readFully(value);
+        return value;
+    }
+
+}
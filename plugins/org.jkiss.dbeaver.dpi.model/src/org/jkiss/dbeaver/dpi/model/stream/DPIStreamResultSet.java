@@ -0,0 +1,161 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.dpi.model.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.dpi.DPIController;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSetMetaData;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCStatement;
+import org.jkiss.dbeaver.model.impl.AbstractResultSet;
+import org.jkiss.dbeaver.model.impl.dpi.DPIResultSetColumn;
+import org.jkiss.dbeaver.model.impl.local.LocalResultSetMeta;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Client side of result set rows streaming.
+ * Keeps only the current chunk in memory and requests the next one when it is exhausted.
+ * Positioning is supported within the current chunk only.
+ */
+public class DPIStreamResultSet extends AbstractResultSet<DBCSession, DBCStatement> {
+
+    private static final Log log = Log.getLog(DPIStreamResultSet.class);
+
+    private final DPIController controller;
+    private final List<DPIResultSetColumn> meta;
+    private List<Object[]> rows;
+    // Position of the first row of the current chunk
+    private int chunkOffset;
+    private int curPosition = -1;
+    @Nullable
+    private String streamId;
+
+    public DPIStreamResultSet(
+        @Nullable DBCSession session,
+        @Nullable DBCStatement statement,
+        @NotNull DPIController controller,
+        @NotNull List<DPIResultSetColumn> meta,
+        @NotNull List<Object[]> firstRows,
+        @NotNull String streamId
+    ) {
+        super(session, statement);
+        this.controller = controller;
+        this.meta = new ArrayList<>(meta);
+        this.rows = firstRows;
+        this.streamId = streamId;
+    }
+
+    @Override
+    public Object getAttributeValue(int index) throws DBCException {
+        if (curPosition < 0 || curPosition >= rows.size()) {
+            throw new DBCException("No current row");
+        }
+        Object[] row = rows.get(curPosition);
+        if (index >= row.length) {
+            throw new DBCException("Attribute index out of range (" + index + "/" + row.length + ")");
+        }
+        return row[index];
+    }
+
+    @Nullable
+    @Override
+    public Object getAttributeValue(String name) throws DBCException {
+        for (int i = 0; i < meta.size(); i++) {
+            if (meta.get(i).getName().equals(name)) {
+                return getAttributeValue(i);
+            }
+        }
+        throw new DBCException("Bad attribute name: " + name);
+    }
+
+    @Override
+    public boolean nextRow() throws DBCException {
+        while (curPosition + 1 >= rows.size()) {
+            if (streamId == null) {
+                return false;
+            }
+            readNextChunk(streamId);
+        }
+        curPosition++;
+        return true;
+    }
+
+    @Override
+    public boolean moveTo(int position) throws DBCException {
+        int chunkPosition = position - chunkOffset;
+        if (chunkPosition < 0 || chunkPosition >= rows.size()) {
+            return false;
+        }
+        curPosition = chunkPosition;
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public DBCResultSetMetaData getMeta() throws DBCException {
+        return new LocalResultSetMeta(meta);
+    }
+
+    @Override
+    public Object getFeature(String name) {
+        if (name.equals(FEATURE_NAME_LOCAL)) {
+            return true;
+        }
+        return super.getFeature(name);
+    }
+
+    @Override
+    public void close() {
+        if (streamId != null) {
+            // Result set wasn't read till the end - stop reading on server side
+            try {
+                controller.closeResultSetStream(streamId);
+            } catch (Exception e) {
+                log.debug("Error closing result set stream", e);
+            }
+            streamId = null;
+        }
+        rows = new ArrayList<>();
+        curPosition = -1;
+    }
+
+    private void readNextChunk(@NotNull String id) throws DBCException {
+        DPIRowChunkCodec.Chunk chunk;
+        try {
+            String encodedChunk = controller.readResultSetChunk(id);
+            chunk = DPIRowChunkCodec.decode(Base64.getDecoder().decode(encodedChunk));
+        } catch (DBException | IOException e) {
+            streamId = null;
+            throw new DBCException("Error reading result set rows from detached process", e);
+        }
+        chunkOffset += rows.size();
+        rows = chunk.rows();
+        curPosition = -1;
+        if (chunk.last()) {
+            streamId = null;
+        }
+    }
+
+}
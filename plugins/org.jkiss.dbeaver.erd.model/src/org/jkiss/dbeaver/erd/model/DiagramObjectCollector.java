@@ -23,14 +23,17 @@ import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBPNamedObject;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.app.DBPProject;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.DetachedProgressMonitor;
 import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.dbeaver.model.struct.rdb.DBSTablePartition;
 import org.jkiss.utils.CommonUtils;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Table collector
@@ -39,6 +42,10 @@ public class DiagramObjectCollector {
 
     private static final Log log = Log.getLog(DiagramObjectCollector.class);
 
+    private static final int MAX_PRELOAD_THREADS = 4;
+    // Structure of the whole container is read if diagram contains at least this share of its entities
+    private static final double MIN_PRELOAD_SHARE = 0.25;
+
     private final ERDDiagram diagram;
     private final List<ERDEntity> erdEntities = new ArrayList<>();
     private boolean showViews;
@@ -110,7 +117,8 @@ public class DiagramObjectCollector {
         if (monitor.isCanceled()) {
             return;
         }
-        container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ALL);
+        // Attributes and associations are loaded by preloadStructure
+        container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ENTITIES);
         final Collection<? extends DBSObject> children = container.getChildren(monitor);
         if (!CommonUtils.isEmpty(children)) {
             Class<? extends DBSObject> childType = container.getPrimaryChildType(monitor);
@@ -147,6 +155,7 @@ public class DiagramObjectCollector {
         throws DBException
     {
         Collection<DBSEntity> tables = collectTables(monitor, roots, settings, showViews);
+        preloadStructure(monitor, tables);
         for (DBSEntity table : tables) {
             if (DBUtils.isHiddenObject(table)) {
                 // Skip hidden tables
@@ -161,6 +170,165 @@ public class DiagramObjectCollector {
         }
     }
 
+    /**
+     * Loads structure of entities' containers with one bulk read per container instead of
+     * reading attributes, keys and associations of each entity separately.
+     * Only containers which are largely included in the diagram are read this way,
+     * a few tables of a big schema are still read one by one.
+     * Containers are read in parallel using separate metadata connections.
+     */
+    public static void preloadStructure(DBRProgressMonitor monitor, Collection<? extends DBSEntity> entities) {
+        Map<DBSObjectContainer, Integer> containerEntities = new LinkedHashMap<>();
+        for (DBSEntity entity : entities) {
+            if (entity.getParentObject() instanceof DBSObjectContainer container) {
+                containerEntities.merge(container, 1, Integer::sum);
+            }
+        }
+        Set<DBSObjectContainer> containers = new LinkedHashSet<>();
+        for (Map.Entry<DBSObjectContainer, Integer> entry : containerEntities.entrySet()) {
+            if (isPreloadWorthy(monitor, entry.getKey(), entry.getValue())) {
+                containers.add(entry.getKey());
+            }
+        }
+        if (containers.isEmpty()) {
+            return;
+        }
+        monitor.beginTask("Load entities structure", containers.size());
+        try {
+            int threadCount = Math.min(MAX_PRELOAD_THREADS, containers.size());
+            if (threadCount > 1 && canUseSeparateConnections(containers)) {
+                preloadInParallel(monitor, containers, threadCount);
+            } else {
+                for (DBSObjectContainer container : containers) {
+                    if (monitor.isCanceled()) {
+                        break;
+                    }
+                    monitor.subTask("Load " + DBUtils.getObjectFullName(container, DBPEvaluationContext.UI));
+                    preloadContainer(monitor, container);
+                    monitor.worked(1);
+                }
+            }
+        } finally {
+            monitor.done();
+        }
+    }
+
+    private static boolean isPreloadWorthy(DBRProgressMonitor monitor, DBSObjectContainer container, int entityCount) {
+        try {
+            Collection<? extends DBSObject> children = container.getChildren(monitor);
+            if (children == null) {
+                return false;
+            }
+            int containerEntityCount = 0;
+            for (DBSObject child : children) {
+                if (child instanceof DBSEntity) {
+                    containerEntityCount++;
+                }
+            }
+            return entityCount >= containerEntityCount * MIN_PRELOAD_SHARE;
+        } catch (DBException e) {
+            log.debug("Error reading entities of '" + container.getName() + "'", e);
+            return false;
+        }
+    }
+
+    private static boolean canUseSeparateConnections(Collection<DBSObjectContainer> containers) {
+        for (DBSObjectContainer container : containers) {
+            if (container.getDataSource() == null) {
+                return false;
+            }
+            DBPDataSourceContainer dataSourceContainer = container.getDataSource().getContainer();
+            if (dataSourceContainer.isForceUseSingleConnection() || dataSourceContainer.getDriver().isEmbedded()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void preloadInParallel(DBRProgressMonitor monitor, Collection<DBSObjectContainer> containers, int threadCount) {
+        final Queue<DBSObjectContainer> queue = new ConcurrentLinkedQueue<>(containers);
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount, r -> {
+            Thread thread = new Thread(r, "Diagram structure loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                results.add(executor.submit(() -> preloadContainers(monitor, queue)));
+            }
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    log.debug("Error loading entities structure", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Worker: reads containers from the queue using own metadata context for each database instance
+     */
+    private static void preloadContainers(DBRProgressMonitor monitor, Queue<DBSObjectContainer> queue) {
+        final DBRProgressMonitor workerMonitor = new DetachedProgressMonitor(monitor);
+        final Map<DBSInstance, DBCExecutionContext> contexts = new HashMap<>();
+        try {
+            for (DBSObjectContainer container = queue.poll(); container != null && !monitor.isCanceled(); container = queue.poll()) {
+                DBSInstance instance = DBUtils.getObjectOwnerInstance(container);
+                if (instance != null && !contexts.containsKey(instance)) {
+                    contexts.put(instance, openPreloadContext(workerMonitor, instance, container));
+                }
+                DBCExecutionContext context = instance == null ? null : contexts.get(instance);
+                if (context != null) {
+                    final DBSObjectContainer metaContainer = container;
+                    try {
+                        DBExecUtils.runInMetaContext(workerMonitor, context, m -> preloadContainer(m, metaContainer));
+                    } catch (InvocationTargetException e) {
+                        log.debug(e.getTargetException());
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                } else {
+                    // Object caches synchronize concurrent reads themselves
+                    preloadContainer(workerMonitor, container);
+                }
+                synchronized (monitor) {
+                    monitor.subTask("Loaded " + DBUtils.getObjectFullName(container, DBPEvaluationContext.UI));
+                    monitor.worked(1);
+                }
+            }
+        } finally {
+            for (DBCExecutionContext context : contexts.values()) {
+                if (context != null) {
+                    context.close();
+                }
+            }
+        }
+    }
+
+    private static DBCExecutionContext openPreloadContext(DBRProgressMonitor monitor, DBSInstance instance, DBSObjectContainer container) {
+        try {
+            return instance.openIsolatedContext(monitor, "Diagram structure loader", DBUtils.getDefaultContext(container, true));
+        } catch (DBException e) {
+            log.debug("Can't open separate metadata context. Use default context.", e);
+            return null;
+        }
+    }
+
+    private static void preloadContainer(DBRProgressMonitor monitor, DBSObjectContainer container) {
+        try {
+            container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ALL);
+        } catch (DBException e) {
+            // Not fatal, entities will be read one by one
+            log.debug("Error loading structure of '" + container.getName() + "'", e);
+        }
+    }
+
     private void addDiagramEntity(DBRProgressMonitor monitor, DBSEntity table)
     {
         if (diagram.containsTable(table) && !diagram.getContentProvider().allowEntityDuplicates()) {
@@ -302,6 +302,8 @@ public class ERDDiagram extends ERDObject<DBSObject> implements ERDContainer {
     }
 
     public void fillEntities(DBRProgressMonitor monitor, Collection<DBSEntity> entities, DBSObject dbObject) throws DBException {
+        DiagramObjectCollector.preloadStructure(monitor, entities);
+
         // Load entities
         monitor.beginTask("Load entities metadata", entities.size());
         List<ERDEntity> entityCache = new ArrayList<>();
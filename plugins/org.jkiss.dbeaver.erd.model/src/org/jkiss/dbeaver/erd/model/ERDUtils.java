@@ -168,7 +168,8 @@ public class ERDUtils
             try {
                 DBExecUtils.tryExecuteRecover(monitor, objectContainer.getDataSource(), param -> {
                     try {
-                        objectContainer.cacheStructure(monitor, DBSObjectContainer.STRUCT_ENTITIES | DBSObjectContainer.STRUCT_ASSOCIATIONS | DBSObjectContainer.STRUCT_ATTRIBUTES);
+                        // Attributes and associations are loaded by DiagramObjectCollector.preloadStructure
+                        objectContainer.cacheStructure(monitor, DBSObjectContainer.STRUCT_ENTITIES);
                     } catch (DBException e) {
                         throw new InvocationTargetException(e);
                     }
@@ -73,6 +73,7 @@ import org.jkiss.dbeaver.erd.ui.model.ERDContainerDecorated.NodeVisualInfo;
 import org.jkiss.dbeaver.erd.ui.notations.ERDNotationDescriptor;
 import org.jkiss.dbeaver.erd.ui.notations.ERDNotationRegistry;
 import org.jkiss.dbeaver.erd.ui.part.*;
+import org.jkiss.dbeaver.erd.ui.router.ERDConnectionRouter;
 import org.jkiss.dbeaver.erd.ui.router.ERDConnectionRouterDescriptor;
 import org.jkiss.dbeaver.erd.ui.router.ERDConnectionRouterRegistry;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
@@ -814,6 +815,7 @@ public abstract class ERDEditorPart extends GraphicalEditorWithFlyoutPalette
             ERDExportFormatHandler formatHandler = targetFormat.getInstance();
 
             IFigure figure = rootPart.getLayer(ScalableFreeformRootEditPart.PRINTABLE_LAYERS);
+            completeRouting();
 
             formatHandler.exportDiagram(getDiagram(), figure, getDiagramPart(), outFile);
 
@@ -935,6 +937,14 @@ public abstract class ERDEditorPart extends GraphicalEditorWithFlyoutPalette
 */
     }
 
+    private void completeRouting() {
+        DiagramPart diagramPart = getDiagramPart();
+        ERDConnectionRouter router = diagramPart == null ? null : diagramPart.getActiveRouter();
+        if (router != null) {
+            router.completeRouting();
+        }
+    }
+
     public void printDiagram()
     {
         GraphicalViewer viewer = getGraphicalViewer();
@@ -946,6 +956,7 @@ public abstract class ERDEditorPart extends GraphicalEditorWithFlyoutPalette
             IFigure rootFigure = rootPart.getLayer(ScalableFreeformRootEditPart.PRINTABLE_LAYERS);
             //EntityDiagramFigure diagramFigure = findFigure(rootFigure, EntityDiagramFigure.class);
             if (rootFigure != null) {
+                completeRouting();
                 PrintFigureOperation printOp = new PrintFigureOperation(new Printer(data), rootFigure);
 
                 // Set print preferences
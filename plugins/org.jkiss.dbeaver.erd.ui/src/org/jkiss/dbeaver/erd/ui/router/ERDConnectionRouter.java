@@ -69,6 +69,14 @@ public abstract class ERDConnectionRouter extends AutomaticRouter {
     public PolylineConnection getConnectionInstance() {
         return new ERDConnection();
     }
+
+    /**
+     * Finishes routing of all pending changes.
+     * Called before the diagram is painted outside of the editor (export, print).
+     */
+    public void completeRouting() {
+        // Routing is synchronous by default
+    }
     
     @Override
     protected void handleCollision(PointList list, int index) {
@@ -0,0 +1,105 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.erd.ui.router.shortpath;
+
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.jkiss.code.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Uniform grid index of figure bounds.
+ * Diagram figures have comparable sizes so a grid gives the same lookup cost as an R-tree
+ * while moving a figure touches only a few cells.
+ */
+public class FigureBoundsIndex {
+
+    private static final int CELL_SIZE = 256;
+
+    private final Map<Long, List<IFigure>> cells = new HashMap<>();
+    private final Map<IFigure, Rectangle> figureBounds = new HashMap<>();
+
+    public void put(@NotNull IFigure figure, @NotNull Rectangle bounds) {
+        remove(figure);
+        figureBounds.put(figure, bounds);
+        forEachCell(bounds, key -> cells.computeIfAbsent(key, k -> new ArrayList<>(2)).add(figure));
+    }
+
+    public void remove(@NotNull IFigure figure) {
+        Rectangle bounds = figureBounds.remove(figure);
+        if (bounds == null) {
+            return;
+        }
+        forEachCell(bounds, key -> {
+            List<IFigure> cellFigures = cells.get(key);
+            if (cellFigures != null) {
+                cellFigures.remove(figure);
+                if (cellFigures.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        });
+    }
+
+    public void clear() {
+        cells.clear();
+        figureBounds.clear();
+    }
+
+    /**
+     * Checks whether the point lies inside of any indexed figure
+     */
+    public boolean containsPoint(@NotNull Point point) {
+        List<IFigure> cellFigures = cells.get(cellKey(cellOf(point.x), cellOf(point.y)));
+        if (cellFigures == null) {
+            return false;
+        }
+        for (IFigure figure : cellFigures) {
+            if (figureBounds.get(figure).contains(point)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void forEachCell(@NotNull Rectangle bounds, @NotNull LongConsumer consumer) {
+        int fromX = cellOf(bounds.x);
+        int toX = cellOf(bounds.right());
+        int fromY = cellOf(bounds.y);
+        int toY = cellOf(bounds.bottom());
+        for (int x = fromX; x <= toX; x++) {
+            for (int y = fromY; y <= toY; y++) {
+                consumer.accept(cellKey(x, y));
+            }
+        }
+    }
+
+    private static int cellOf(int coordinate) {
+        return Math.floorDiv(coordinate, CELL_SIZE);
+    }
+
+    private static long cellKey(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xffffffffL);
+    }
+
+}
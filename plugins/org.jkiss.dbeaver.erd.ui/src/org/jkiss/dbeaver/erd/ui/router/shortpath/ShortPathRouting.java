@@ -16,6 +16,8 @@
  */
 package org.jkiss.dbeaver.erd.ui.router.shortpath;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.draw2d.*;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PointList;
@@ -23,15 +25,34 @@ import org.eclipse.draw2d.geometry.PrecisionPoint;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.draw2d.graph.Path;
 import org.eclipse.draw2d.graph.ShortestPathRouter;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.erd.ui.figures.EntityFigure;
 import org.jkiss.dbeaver.erd.ui.router.ERDConnectionRouter;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.ui.UIUtils;
 
 import java.util.*;
-import java.util.Map.Entry;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shortest path router.
+ * <p>
+ * Figure and connection changes are queued and applied to the routing algorithm in one batch,
+ * so the algorithm re-solves only paths which cross changed obstacles.
+ * Large diagrams are routed by a background job, each new change cancels the pending one.
+ * Only connections whose route actually changed are updated in the diagram.
+ */
 public class ShortPathRouting extends ERDConnectionRouter {
 
     private static final int POINT_DISTANCE = 7;
+    // Diagrams with more figures are routed in background
+    private static final int ASYNC_ROUTING_FIGURES_THRESHOLD = 100;
+    // Delay which lets subsequent changes (e.g. figure dragging) coalesce into a single routing
+    private static final long ASYNC_ROUTING_DELAY = 20;
     private double indentation = 30.0;
     private static final int RIGHT = 180;
     private static final int LEFT = 0;
@@ -41,19 +62,36 @@ public class ShortPathRouting extends ERDConnectionRouter {
     private Map<IFigure, Rectangle> figuresToBounds;
     private Map<Connection, Path> connectionToPaths;
     private boolean isDirty;
-    private ShortestPathRouter algorithm = new ShortestPathRouter();
+    // Algorithm and figure index are accessed only under the algorithm lock
+    private final ShortestPathRouter algorithm = new ShortestPathRouter();
+    private final FigureBoundsIndex figureIndex = new FigureBoundsIndex();
+    // Obstacle and path changes made since the last solve
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+    // Routes which were applied to connections
+    private final Map<Connection, PointList> appliedRoutes = new ConcurrentHashMap<>();
+    private final AtomicLong routingGeneration = new AtomicLong();
+    private RoutingJob routingJob;
     private final Set<Connection> staleConnections = new HashSet<>();
     private final LayoutListener listener = new LayoutTracker();
     private boolean ignoreInvalidate;
 
     private final FigureListener figureListener = source -> {
+        Rectangle oldBounds = figuresToBounds.get(source);
         Rectangle newBounds = source.getBounds().getCopy();
-        if (algorithm.updateObstacle(figuresToBounds.get(source), newBounds)) {
-            queueSomeRouting();
-            isDirty = true;
+        if (newBounds.equals(oldBounds)) {
+            return;
         }
-
         figuresToBounds.put(source, newBounds);
+        addPendingChange(() -> {
+            if (oldBounds == null) {
+                algorithm.addObstacle(newBounds);
+            } else {
+                algorithm.updateObstacle(oldBounds, newBounds);
+            }
+            figureIndex.put(source, newBounds);
+        });
+        queueSomeRouting();
+        isDirty = true;
     };
 
     void addChild(IFigure child) {
@@ -64,8 +102,11 @@ public class ShortPathRouting extends ERDConnectionRouter {
             return;
         }
         Rectangle bounds = child.getBounds().getCopy();
-        algorithm.addObstacle(bounds);
         figuresToBounds.put(child, bounds);
+        addPendingChange(() -> {
+            algorithm.addObstacle(bounds);
+            figureIndex.put(child, bounds);
+        });
         child.addFigureListener(figureListener);
         isDirty = true;
     }
@@ -79,11 +120,8 @@ public class ShortPathRouting extends ERDConnectionRouter {
     private void unhookAll() {
         getContainer().removeLayoutListener(listener);
         if (figuresToBounds != null) {
-            Iterator<IFigure> figureItr = figuresToBounds.keySet().iterator();
-            while (figureItr.hasNext()) {
-                // Must use iterator's remove to avoid concurrent modification
-                IFigure child = figureItr.next();
-                figureItr.remove();
+            // Copy keys to avoid concurrent modification
+            for (IFigure child : new ArrayList<>(figuresToBounds.keySet())) {
                 removeChild(child);
             }
             figuresToBounds = null;
@@ -104,7 +142,9 @@ public class ShortPathRouting extends ERDConnectionRouter {
      * default value is 4.
      */
     public int getSpacing() {
-        return algorithm.getSpacing();
+        synchronized (algorithm) {
+            return algorithm.getSpacing();
+        }
     }
 
     /**
@@ -132,9 +172,10 @@ public class ShortPathRouting extends ERDConnectionRouter {
 
             Path path = connectionToPaths.get(conn);
             if (path == null) {
-                path = new Path(conn);
-                connectionToPaths.put(conn, path);
-                algorithm.addPath(path);
+                Path newPath = new Path(conn);
+                connectionToPaths.put(conn, newPath);
+                addPendingChange(() -> algorithm.addPath(newPath));
+                path = newPath;
             }
             @SuppressWarnings("unchecked")
             List<Object> constraint = (List<Object>) getConstraint(conn);
@@ -148,25 +189,48 @@ public class ShortPathRouting extends ERDConnectionRouter {
             getContainer().translateToRelative(start);
             getContainer().translateToRelative(end);
 
-            path.setStartPoint(start);
-            path.setEndPoint(end);
-
+            PointList bends = null;
             if (!constraint.isEmpty()) {
-                PointList bends = new PointList(constraint.size());
+                bends = new PointList(constraint.size());
                 for (Object element : constraint) {
                     Bendpoint bp = (Bendpoint) element;
                     bends.addPoint(bp.getLocation());
                 }
-                path.setBendPoints(bends);
-            } else {
-                path.setBendPoints(null);
             }
-
-            isDirty |= path.isDirty;
+            Path stalePath = path;
+            PointList staleBends = bends;
+            addPendingChange(() -> {
+                stalePath.setStartPoint(start);
+                stalePath.setEndPoint(end);
+                stalePath.setBendPoints(staleBends);
+            });
+            // Stale connection must be updated even if its route remains the same
+            appliedRoutes.remove(conn);
+            isDirty = true;
         }
         staleConnections.clear();
     }
 
+    private void addPendingChange(@NotNull Runnable change) {
+        synchronized (pendingChanges) {
+            pendingChanges.add(change);
+        }
+    }
+
+    /**
+     * Applies queued changes to the algorithm. Must be called under the algorithm lock.
+     */
+    private void applyPendingChanges() {
+        List<Runnable> changes;
+        synchronized (pendingChanges) {
+            changes = new ArrayList<>(pendingChanges);
+            pendingChanges.clear();
+        }
+        for (Runnable change : changes) {
+            change.run();
+        }
+    }
+
     void queueSomeRouting() {
         if (connectionToPaths == null || connectionToPaths.isEmpty()) {
             return;
@@ -186,11 +250,15 @@ public class ShortPathRouting extends ERDConnectionRouter {
     public void remove(Connection connection) {
         staleConnections.remove(connection);
         constraintMap.remove(connection);
+        appliedRoutes.remove(connection);
+        getConnectionPoints().remove(connection);
         if (connectionToPaths == null) {
             return;
         }
         Path path = connectionToPaths.remove(connection);
-        algorithm.removePath(path);
+        if (path != null) {
+            addPendingChange(() -> algorithm.removePath(path));
+        }
         isDirty = true;
         if (connectionToPaths.isEmpty()) {
             unhookAll();
@@ -206,14 +274,17 @@ public class ShortPathRouting extends ERDConnectionRouter {
         if (connectionToPaths == null) {
             return;
         }
-        Rectangle bounds = child.getBounds().getCopy();
-        boolean change = algorithm.removeObstacle(bounds);
-        figuresToBounds.remove(child);
+        Rectangle bounds = figuresToBounds.remove(child);
         child.removeFigureListener(figureListener);
-        if (change) {
-            isDirty = true;
-            queueSomeRouting();
+        if (bounds == null) {
+            return;
         }
+        addPendingChange(() -> {
+            algorithm.removeObstacle(bounds);
+            figureIndex.remove(child);
+        });
+        isDirty = true;
+        queueSomeRouting();
     }
 
     /**
@@ -223,140 +294,234 @@ public class ShortPathRouting extends ERDConnectionRouter {
     public void route(Connection conn) {
         if (isDirty) {
             ignoreInvalidate = true;
+            try {
+                processStaleConnections();
+                isDirty = false;
+                routingGeneration.incrementAndGet();
+                if (figuresToBounds != null && figuresToBounds.size() > ASYNC_ROUTING_FIGURES_THRESHOLD) {
+                    scheduleRouting();
+                } else {
+                    applyRoutedPaths(computePaths(new VoidProgressMonitor()));
+                }
+            } finally {
+                ignoreInvalidate = false;
+            }
+        }
+    }
+
+    /**
+     * Routes all pending changes synchronously. Used before the diagram is painted outside of the UI (export, print).
+     */
+    @Override
+    public void completeRouting() {
+        if (routingJob != null) {
+            routingJob.cancel();
+        }
+        ignoreInvalidate = true;
+        try {
             processStaleConnections();
             isDirty = false;
-            List<Path> paths = computePaths();
-            Connection current;
-            for (Path path : paths) {
-                current = (Connection) path.data;
-                current.revalidate();
-                PointList points = path.getPoints().getCopy();
-                Point ref1 = new PrecisionPoint(points.getPoint(1));
-                Point ref2 = new PrecisionPoint(points.getPoint(points.size() - 2));
-                current.translateToAbsolute(ref1);
-                current.translateToAbsolute(ref2);
-                Point start = current.getSourceAnchor().getLocation(ref1).getCopy();
-                Point end = current.getTargetAnchor().getLocation(ref2).getCopy();
-                current.translateToRelative(start);
-                current.translateToRelative(end);
-                points.setPoint(start, 0);
-                points.setPoint(end, points.size() - 1);
-               
-                int srcTrgAngel = 0;
-                int trgSrcAngel = 0;
-                if (current.getSourceAnchor().getOwner() instanceof EntityFigure) {
-                    Rectangle bounds = ((EntityFigure) current.getSourceAnchor().getOwner()).getBounds().getCopy();
-                    srcTrgAngel = 90 - getDirection(bounds, points.getPoint(0));
-                }
+            // Discard results of the running job
+            routingGeneration.incrementAndGet();
+            applyRoutedPaths(computePaths(new VoidProgressMonitor()));
+        } finally {
+            ignoreInvalidate = false;
+        }
+    }
 
-                if (current.getTargetAnchor().getOwner() instanceof EntityFigure) {
-                    Rectangle bounds = ((EntityFigure) current.getTargetAnchor().getOwner()).getBounds().getCopy();
-                    trgSrcAngel = -90 + getDirection(bounds, points.getPoint(points.size() - 1));
-                }
-                int dxSrcTrg = (int) (Math.cos(Math.toRadians(srcTrgAngel)) * indentation);
-                int dySrcTrg = (int) (Math.sin(Math.toRadians(srcTrgAngel)) * indentation);
-                int dxTrgSrc = (int) (Math.cos(Math.toRadians(trgSrcAngel)) * indentation);
-                int dyTrgSrc = (int) (Math.sin(Math.toRadians(trgSrcAngel)) * indentation);
-
-                for (Entry<Connection, PointList> entry : getConnectionPoints().entrySet()) {
-                    if (entry.getKey().equals(current)) {
-                        continue;
-                    }
-                    for (int i = 0; i < entry.getKey().getPoints().size(); i++) {
-                        Point p = entry.getKey().getPoints().getPoint(i);
-                        int dxStart = Math.abs(start.x - p.x);
-                        int dyStart = Math.abs(start.y - p.y);
-                        int dxEnd = Math.abs(end.x - p.x);
-                        int dyEnd = Math.abs(end.y - p.y);
-                        if (dxStart == 0 && dyStart < POINT_DISTANCE) {
-                            start = new Point(start.x + dxSrcTrg, start.y - dySrcTrg);
-                            Point firstPoint = points.getPoint(0);
-                            firstPoint = new Point(firstPoint.x + dxSrcTrg, firstPoint.y - dySrcTrg);
-                            points.setPoint(firstPoint, 0);
-                        }
-                        if (dxEnd == 0 && dyEnd < POINT_DISTANCE) {
-                            end = new Point(end.x - dxTrgSrc, end.y - dyTrgSrc);
-                            Point endPoint = points.getPoint(points.size() - 1);
-                            endPoint = new Point(endPoint.x - dxTrgSrc, endPoint.y - dyTrgSrc);
-                            points.setPoint(endPoint, points.size() - 1);
-                        }
-                    }
+    private void scheduleRouting() {
+        if (routingJob == null) {
+            routingJob = new RoutingJob();
+        }
+        routingJob.cancel();
+        routingJob.schedule(ASYNC_ROUTING_DELAY);
+    }
+
+    /**
+     * Applies routed paths to connections. Must be called in UI thread.
+     */
+    private void applyRoutedPaths(@Nullable List<RoutedPath> routedPaths) {
+        if (routedPaths == null || routedPaths.isEmpty() || connectionToPaths == null) {
+            return;
+        }
+        Map<Integer, List<ConnectionPoint>> connectionPoints = indexConnectionPoints();
+        Connection current;
+        for (RoutedPath routedPath : routedPaths) {
+            current = routedPath.connection();
+            if (!connectionToPaths.containsKey(current)) {
+                // Removed while routing
+                continue;
+            }
+            current.revalidate();
+            PointList points = routedPath.points().getCopy();
+            Point ref1 = new PrecisionPoint(points.getPoint(1));
+            Point ref2 = new PrecisionPoint(points.getPoint(points.size() - 2));
+            current.translateToAbsolute(ref1);
+            current.translateToAbsolute(ref2);
+            Point start = current.getSourceAnchor().getLocation(ref1).getCopy();
+            Point end = current.getTargetAnchor().getLocation(ref2).getCopy();
+            current.translateToRelative(start);
+            current.translateToRelative(end);
+            points.setPoint(start, 0);
+            points.setPoint(end, points.size() - 1);
+
+            int srcTrgAngel = 0;
+            int trgSrcAngel = 0;
+            if (current.getSourceAnchor().getOwner() instanceof EntityFigure) {
+                Rectangle bounds = ((EntityFigure) current.getSourceAnchor().getOwner()).getBounds().getCopy();
+                srcTrgAngel = 90 - getDirection(bounds, points.getPoint(0));
+            }
+
+            if (current.getTargetAnchor().getOwner() instanceof EntityFigure) {
+                Rectangle bounds = ((EntityFigure) current.getTargetAnchor().getOwner()).getBounds().getCopy();
+                trgSrcAngel = -90 + getDirection(bounds, points.getPoint(points.size() - 1));
+            }
+            int dxSrcTrg = (int) (Math.cos(Math.toRadians(srcTrgAngel)) * indentation);
+            int dySrcTrg = (int) (Math.sin(Math.toRadians(srcTrgAngel)) * indentation);
+            int dxTrgSrc = (int) (Math.cos(Math.toRadians(trgSrcAngel)) * indentation);
+            int dyTrgSrc = (int) (Math.sin(Math.toRadians(trgSrcAngel)) * indentation);
+
+            for (ConnectionPoint p : connectionPoints.getOrDefault(start.x, Collections.emptyList())) {
+                if (p.connection() != current && start.x == p.x() && Math.abs(start.y - p.y()) < POINT_DISTANCE) {
+                    start = new Point(start.x + dxSrcTrg, start.y - dySrcTrg);
+                    Point firstPoint = points.getPoint(0);
+                    firstPoint = new Point(firstPoint.x + dxSrcTrg, firstPoint.y - dySrcTrg);
+                    points.setPoint(firstPoint, 0);
                 }
-                // first
-                PointList modifiedPoints = new PointList();
-                modifiedPoints.addPoint(points.getFirstPoint());
-                int direction1 = 0;
-                int direction2 = 0;
-                IFigure srcOwner = current.getSourceAnchor().getOwner();
-                if (srcOwner instanceof EntityFigure) {
-                    Rectangle bounds = ((EntityFigure) srcOwner).getBounds().getCopy();
-                    direction1 = 180 - getDirection(bounds, points.getPoint(0).getCopy());
+            }
+            for (ConnectionPoint p : connectionPoints.getOrDefault(end.x, Collections.emptyList())) {
+                if (p.connection() != current && end.x == p.x() && Math.abs(end.y - p.y()) < POINT_DISTANCE) {
+                    end = new Point(end.x - dxTrgSrc, end.y - dyTrgSrc);
+                    Point endPoint = points.getPoint(points.size() - 1);
+                    endPoint = new Point(endPoint.x - dxTrgSrc, endPoint.y - dyTrgSrc);
+                    points.setPoint(endPoint, points.size() - 1);
                 }
-                IFigure targetOwner = current.getTargetAnchor().getOwner();
-                if (targetOwner instanceof EntityFigure) {
-                    Rectangle bounds = ((EntityFigure) targetOwner).getBounds().getCopy();
-                    direction2 = getDirection(bounds, points.getPoint(points.size() - 1).getCopy());
+            }
+            // first
+            PointList modifiedPoints = new PointList();
+            modifiedPoints.addPoint(points.getFirstPoint());
+            int direction1 = 0;
+            int direction2 = 0;
+            IFigure srcOwner = current.getSourceAnchor().getOwner();
+            if (srcOwner instanceof EntityFigure) {
+                Rectangle bounds = ((EntityFigure) srcOwner).getBounds().getCopy();
+                direction1 = 180 - getDirection(bounds, points.getPoint(0).getCopy());
+            }
+            IFigure targetOwner = current.getTargetAnchor().getOwner();
+            if (targetOwner instanceof EntityFigure) {
+                Rectangle bounds = ((EntityFigure) targetOwner).getBounds().getCopy();
+                direction2 = getDirection(bounds, points.getPoint(points.size() - 1).getCopy());
+            }
+            // from 1-->>2
+            int dx1 = (int) (Math.cos(Math.toRadians(direction1)) * indentation);
+            int dy1 = (int) (Math.sin(Math.toRadians(direction1)) * indentation);
+            // from 1<<--2
+            int dx2 = (int) (Math.cos(Math.toRadians(direction2)) * indentation);
+            int dy2 = (int) (Math.sin(Math.toRadians(direction2)) * indentation);
+            Point p1 = new Point(start.x + dx1, start.y - dy1);
+            modifiedPoints.addPoint(p1);
+            // add other middle points
+            for (int i = 1; i < points.size() - 1; i++) {
+                modifiedPoints.addPoint(points.getPoint(i));
+            }
+            // before end
+            Point p2 = new Point(end.x - dx2, end.y - dy2);
+            modifiedPoints.addPoint(p2);
+            // end
+            modifiedPoints.addPoint(points.getLastPoint());
+            current.setPoints(modifiedPoints);
+            appliedRoutes.put(current, routedPath.points());
+        }
+    }
+
+    /**
+     * Indexes points of routed connections by X coordinate
+     */
+    @NotNull
+    private Map<Integer, List<ConnectionPoint>> indexConnectionPoints() {
+        Map<Integer, List<ConnectionPoint>> result = new HashMap<>();
+        for (Connection connection : getConnectionPoints().keySet()) {
+            PointList points = connection.getPoints();
+            for (int i = 0; i < points.size(); i++) {
+                Point p = points.getPoint(i);
+                result.computeIfAbsent(p.x, x -> new ArrayList<>()).add(new ConnectionPoint(connection, p.x, p.y));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Solves queued changes. May be called in any thread.
+     *
+     * @return paths which route differs from the applied one or null if routing was canceled
+     */
+    @Nullable
+    private List<RoutedPath> computePaths(@NotNull DBRProgressMonitor monitor) {
+        synchronized (algorithm) {
+            applyPendingChanges();
+            if (monitor.isCanceled()) {
+                return null;
+            }
+            // this is a way to get List<Path> from algorithm
+            List<Path> paths = algorithm.solve();
+            boolean bendPointsChanged = false;
+            for (Path path : paths) {
+                bendPointsChanged |= removeOverlappingBendPoints(path);
+            }
+            if (bendPointsChanged) {
+                if (monitor.isCanceled()) {
+                    return null;
                 }
-                // from 1-->>2
-                int dx1 = (int) (Math.cos(Math.toRadians(direction1)) * indentation);
-                int dy1 = (int) (Math.sin(Math.toRadians(direction1)) * indentation);
-                // from 1<<--2
-                int dx2 = (int) (Math.cos(Math.toRadians(direction2)) * indentation);
-                int dy2 = (int) (Math.sin(Math.toRadians(direction2)) * indentation);
-                Point p1 = new Point(start.x + dx1, start.y - dy1);
-                modifiedPoints.addPoint(p1);
-                // add other middle points
-                for (int i = 1; i < points.size() - 1; i++) {
-                    modifiedPoints.addPoint(points.getPoint(i));
+                // require to solve for new route calculation
+                paths = algorithm.solve();
+            }
+            List<RoutedPath> result = new ArrayList<>();
+            for (Path path : paths) {
+                Connection connection = (Connection) path.data;
+                PointList points = path.getPoints();
+                if (!isSamePoints(appliedRoutes.get(connection), points)) {
+                    result.add(new RoutedPath(connection, points.getCopy()));
                 }
-                // before end
-                Point p2 = new Point(end.x - dx2, end.y - dy2);
-                modifiedPoints.addPoint(p2);
-                // end
-                modifiedPoints.addPoint(points.getLastPoint());
-                current.setPoints(modifiedPoints);
             }
-            ignoreInvalidate = false;
+            return result;
         }
     }
 
-    private List<Path> computePaths() {
-        // this is a way to get List<Path> from algorithm
-        List<Path> paths = algorithm.solve();
-        for (Path path : paths) {
-            removeOverlappingBendPoints(path);
+    private static boolean isSamePoints(@Nullable PointList list1, @NotNull PointList list2) {
+        if (list1 == null || list1.size() != list2.size()) {
+            return false;
+        }
+        for (int i = 0; i < list1.size(); i++) {
+            if (!list1.getPoint(i).equals(list2.getPoint(i))) {
+                return false;
+            }
         }
-        // require to solve for new route calculation
-        paths = algorithm.solve();
-        return paths;
+        return true;
     }
 
     /**
      * This method checks and remove bend point if it overlap entity
      *
      * @param path - path
+     * @return true if some bend points were removed
      */
-    private void removeOverlappingBendPoints(Path path) {
+    private boolean removeOverlappingBendPoints(Path path) {
         PointList bendPoints = path.getBendPoints();
         if (bendPoints != null) {
             PointList actualBendPoints = new PointList(bendPoints.size());
             for (int index = 0; index < bendPoints.size(); index++) {
                 Point bp = bendPoints.getPoint(index);
-                boolean requireToSkipp = false;
-                for (Entry<IFigure, Rectangle> entry : figuresToBounds.entrySet()) {
-                    Rectangle rectangle = entry.getValue();
-                    if (rectangle.contains(bp)) {
-                        requireToSkipp = true;
-                        break;
-                    }
-                }
-                if (requireToSkipp) {
+                if (figureIndex.containsPoint(bp)) {
                     continue;
                 }
                 actualBendPoints.addPoint(bp);
             }
-            path.setBendPoints(actualBendPoints);
+            if (actualBendPoints.size() != bendPoints.size()) {
+                path.setBendPoints(actualBendPoints);
+                return true;
+            }
         }
+        return false;
     }
 
     protected int getDirection(Rectangle r, Point p) {
@@ -389,8 +554,10 @@ public class ShortPathRouting extends ERDConnectionRouter {
         if (isDirty) {
             processStaleConnections();
             isDirty = false;
-            return algorithm.solve();
-
+            synchronized (algorithm) {
+                applyPendingChanges();
+                return algorithm.solve();
+            }
         }
         return Collections.emptyList();
     }
@@ -408,7 +575,9 @@ public class ShortPathRouting extends ERDConnectionRouter {
      * from the obstacles. The default value is 4.
      */
     public void setSpacing(int spacing) {
-        algorithm.setSpacing(spacing);
+        synchronized (algorithm) {
+            algorithm.setSpacing(spacing);
+        }
     }
 
     /**
@@ -448,6 +617,42 @@ public class ShortPathRouting extends ERDConnectionRouter {
         return connectionToPaths != null && connectionToPaths.containsKey(conn);
     }
 
+    private record RoutedPath(@NotNull Connection connection, @NotNull PointList points) {
+    }
+
+    private record ConnectionPoint(@NotNull Connection connection, int x, int y) {
+    }
+
+    private class RoutingJob extends AbstractJob {
+        RoutingJob() {
+            super("Route diagram connections");
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            long generation = routingGeneration.get();
+            List<RoutedPath> routedPaths = computePaths(monitor);
+            if (routedPaths == null || monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+            UIUtils.asyncExec(() -> {
+                if (generation != routingGeneration.get()) {
+                    // Diagram was changed during routing, next job run will route it again
+                    return;
+                }
+                ignoreInvalidate = true;
+                try {
+                    applyRoutedPaths(routedPaths);
+                } finally {
+                    ignoreInvalidate = false;
+                }
+            });
+            return Status.OK_STATUS;
+        }
+    }
+
     private class LayoutTracker extends LayoutListener.Stub {
         @Override
         public void postLayout(IFigure container) {
@@ -100,6 +100,12 @@ public class GreenplumSchema extends PostgreSchema {
             super();
         }
 
+        @Override
+        public boolean supportsObjectsPaging() {
+            // Relations are read with Greenplum-specific columns, see prepareLookupStatement
+            return false;
+        }
+
         @NotNull
         @Override
         public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session,
@@ -16,8 +16,10 @@
  */
 package org.jkiss.dbeaver.ext.mssql.model.session;
 
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.DBConstants;
 import org.jkiss.dbeaver.model.admin.sessions.AbstractServerSession;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionActivity;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.Property;
 
@@ -28,7 +30,7 @@ import java.util.Objects;
 /**
  * SQL Server session
  */
-public class SQLServerSession extends AbstractServerSession {
+public class SQLServerSession extends AbstractServerSession implements DBAServerSessionActivity {
     private static final String CAT_CLIENT = "Client";
     private static final String CAT_TIMING = "Timings";
 
@@ -63,6 +65,10 @@ public class SQLServerSession extends AbstractServerSession {
 
     private String sqlText;
 
+    private final boolean userProcess;
+    private final String waitType;
+    private final long requestElapsedTime;
+
     public SQLServerSession(ResultSet dbResult) {
         this.id = JDBCUtils.safeGetInt(dbResult, "session_id");
 
@@ -94,6 +100,11 @@ public class SQLServerSession extends AbstractServerSession {
         databaseName = JDBCUtils.safeGetString(dbResult, "database_name");
 
         sqlText = JDBCUtils.safeGetString(dbResult, "sql_text");
+
+        userProcess = JDBCUtils.safeGetBoolean(dbResult, "is_user_process", true);
+        waitType = JDBCUtils.safeGetString(dbResult, "wait_type");
+        requestElapsedTime = JDBCUtils.safeGetObject(dbResult, "request_elapsed_time") == null ?
+            -1 : JDBCUtils.safeGetLong(dbResult, "request_elapsed_time");
     }
 
     @Property(viewable = true, order = 1)
@@ -218,6 +229,38 @@ public class SQLServerSession extends AbstractServerSession {
         return sqlText;
     }
 
+    @Property(viewable = false, order = 10)
+    public String getWaitType() {
+        return waitType;
+    }
+
+    @NotNull
+    @Override
+    public String getSessionId() {
+        return String.valueOf(id);
+    }
+
+    @Override
+    public String getSessionUser() {
+        return loginName;
+    }
+
+    @Override
+    public boolean isSessionActive() {
+        // Session is active while it has a request (command is read from sys.dm_exec_requests)
+        return userProcess && command != null;
+    }
+
+    @Override
+    public String getSessionWaitEvent() {
+        return waitType;
+    }
+
+    @Override
+    public long getActiveQueryDuration() {
+        return requestElapsedTime;
+    }
+
     @Override
     public String toString()
     {
@@ -102,6 +102,8 @@ public class SQLServerSessionManager implements DBAServerSessionManager<SQLServe
 
         StringBuilder sql = new StringBuilder();
         sql.append("SELECT s.*,");
+        // Current request info (it is missing for idle sessions)
+        sql.append("r.command,r.wait_type,r.total_elapsed_time as request_elapsed_time,");
         if (supportsDatabaseInfo) {
             sql.append("db.name as database_name,");
         } else {
@@ -116,6 +118,7 @@ public class SQLServerSessionManager implements DBAServerSessionManager<SQLServe
         if (supportsDatabaseInfo) {
             sql.append("LEFT OUTER JOIN sys.sysdatabases db on db.dbid=s.database_id\n");
         }
+        sql.append("OUTER APPLY (SELECT TOP 1 rq.command,rq.wait_type,rq.total_elapsed_time FROM sys.dm_exec_requests rq WHERE rq.session_id=s.session_id) r\n");
         sql.append("ORDER BY s.session_id DESC");
         return sql.toString();
     }
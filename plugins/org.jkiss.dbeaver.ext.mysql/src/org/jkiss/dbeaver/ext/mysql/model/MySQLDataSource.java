@@ -40,6 +40,7 @@ import org.jkiss.dbeaver.model.gis.GisConstants;
 import org.jkiss.dbeaver.model.gis.SpatialDataProvider;
 import org.jkiss.dbeaver.model.impl.jdbc.*;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCBasicDataTypeCache;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCMetadataChangeTracker;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.struct.JDBCDataType;
 import org.jkiss.dbeaver.model.impl.net.SSLHandlerTrustStoreImpl;
@@ -72,7 +73,7 @@ import java.util.regex.Pattern;
 /**
  * GenericDataSource
  */
-public class MySQLDataSource extends JDBCDataSource implements DBPObjectStatisticsCollector {
+public class MySQLDataSource extends JDBCDataSource implements DBPObjectStatisticsCollector, JDBCMetadataChangeTracker {
     private static final Log log = Log.getLog(MySQLDataSource.class);
     private static final Pattern VERSION_PATTERN = Pattern.compile("([0-9]+\\.[0-9]+\\.[0-9]+).+");
 
@@ -806,6 +807,38 @@ public class MySQLDataSource extends JDBCDataSource implements DBPObjectStatisti
         }
     }
 
+    @NotNull
+    @Override
+    public Map<String, String> readMetadataChangeMarkers(@NotNull JDBCSession session) throws SQLException {
+        // Instant ALTERs (column rename, index/FK changes) don't update CREATE_TIME,
+        // so checksum the metadata we actually read. Volatile table statistics are excluded.
+        Map<String, String> markers = new HashMap<>();
+        try (JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT s.SCHEMA_NAME,\n" +
+                "CONCAT(\n" +
+                "COALESCE((SELECT SUM(CRC32(CONCAT_WS('|', t.TABLE_NAME, t.TABLE_TYPE, IFNULL(t.ENGINE, ''), IFNULL(t.TABLE_COMMENT, ''), IFNULL(t.CREATE_TIME, ''))))" +
+                " FROM information_schema.TABLES t WHERE t.TABLE_SCHEMA=s.SCHEMA_NAME), 0), ':',\n" +
+                "COALESCE((SELECT SUM(CRC32(CONCAT_WS('|', c.TABLE_NAME, c.COLUMN_NAME, c.ORDINAL_POSITION, c.COLUMN_TYPE, c.IS_NULLABLE, IFNULL(c.COLUMN_DEFAULT, '<null>'), c.EXTRA, c.COLUMN_COMMENT)))" +
+                " FROM information_schema.COLUMNS c WHERE c.TABLE_SCHEMA=s.SCHEMA_NAME), 0), ':',\n" +
+                "COALESCE((SELECT SUM(CRC32(CONCAT_WS('|', st.TABLE_NAME, st.INDEX_NAME, st.SEQ_IN_INDEX, st.COLUMN_NAME, st.NON_UNIQUE)))" +
+                " FROM information_schema.STATISTICS st WHERE st.TABLE_SCHEMA=s.SCHEMA_NAME), 0), ':',\n" +
+                "COALESCE((SELECT SUM(CRC32(CONCAT_WS('|', k.TABLE_NAME, k.CONSTRAINT_NAME, k.COLUMN_NAME, k.ORDINAL_POSITION, IFNULL(k.REFERENCED_TABLE_SCHEMA, ''), IFNULL(k.REFERENCED_TABLE_NAME, ''), IFNULL(k.REFERENCED_COLUMN_NAME, ''))))" +
+                " FROM information_schema.KEY_COLUMN_USAGE k WHERE k.TABLE_SCHEMA=s.SCHEMA_NAME), 0), ':',\n" +
+                "COALESCE((SELECT SUM(CRC32(CONCAT_WS('|', tr.TRIGGER_NAME, tr.EVENT_OBJECT_TABLE, tr.ACTION_TIMING, tr.EVENT_MANIPULATION)))" +
+                " FROM information_schema.TRIGGERS tr WHERE tr.TRIGGER_SCHEMA=s.SCHEMA_NAME), 0), ':',\n" +
+                "(SELECT COUNT(*) FROM information_schema.ROUTINES r WHERE r.ROUTINE_SCHEMA=s.SCHEMA_NAME), ':',\n" +
+                "COALESCE((SELECT MAX(r.LAST_ALTERED) FROM information_schema.ROUTINES r WHERE r.ROUTINE_SCHEMA=s.SCHEMA_NAME), ''))\n" +
+                "FROM information_schema.SCHEMATA s"))
+        {
+            try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                while (dbResult.next()) {
+                    markers.put(dbResult.getString(1), dbResult.getString(2));
+                }
+            }
+        }
+        return markers;
+    }
+
     public class CatalogCache extends JDBCObjectCache<MySQLDataSource, MySQLCatalog> {
         @NotNull
         @Override
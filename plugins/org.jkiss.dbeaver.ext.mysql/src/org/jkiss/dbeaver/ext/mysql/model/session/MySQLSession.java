@@ -16,7 +16,9 @@
  */
 package org.jkiss.dbeaver.ext.mysql.model.session;
 
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.admin.sessions.AbstractServerSession;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionActivity;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.IPropertyValueValidator;
 import org.jkiss.dbeaver.model.meta.Property;
@@ -29,7 +31,7 @@ import java.util.Objects;
 /**
  * MySQL session
  */
-public class MySQLSession extends AbstractServerSession {
+public class MySQLSession extends AbstractServerSession implements DBAServerSessionActivity {
 
     static final String CAT_PERFORMANCE = "Performance";
 
@@ -231,6 +233,33 @@ public class MySQLSession extends AbstractServerSession {
         return readPerformanceStats;
     }
 
+    @NotNull
+    @Override
+    public String getSessionId() {
+        return String.valueOf(pid);
+    }
+
+    @Override
+    public String getSessionUser() {
+        return user;
+    }
+
+    @Override
+    public boolean isSessionActive() {
+        return !"Sleep".equalsIgnoreCase(command) && !"Daemon".equalsIgnoreCase(command);
+    }
+
+    @Override
+    public String getSessionWaitEvent() {
+        // Thread states like "Waiting for table metadata lock". Other states mean that thread does some work.
+        return state != null && state.startsWith("Waiting") ? state : null;
+    }
+
+    @Override
+    public long getActiveQueryDuration() {
+        return time * 1000;
+    }
+
     @Override
     public String toString()
     {
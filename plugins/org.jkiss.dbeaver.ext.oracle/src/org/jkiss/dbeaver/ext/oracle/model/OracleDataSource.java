@@ -42,6 +42,7 @@ import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCRemoteInstance;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCMetadataChangeTracker;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructCache;
 import org.jkiss.dbeaver.model.meta.Association;
@@ -67,7 +68,7 @@ import java.util.regex.Pattern;
 /**
  * GenericDataSource
  */
-public class OracleDataSource extends JDBCDataSource implements DBPObjectStatisticsCollector, DBPAdaptable {
+public class OracleDataSource extends JDBCDataSource implements DBPObjectStatisticsCollector, DBPAdaptable, JDBCMetadataChangeTracker {
     private static final Log log = Log.getLog(OracleDataSource.class);
 
     final public SchemaCache schemaCache = new SchemaCache();
@@ -878,6 +879,23 @@ public class OracleDataSource extends JDBCDataSource implements DBPObjectStatist
         }
     }
 
+    @NotNull
+    @Override
+    public Map<String, String> readMetadataChangeMarkers(@NotNull JDBCSession session) throws SQLException {
+        Map<String, String> markers = new HashMap<>();
+        try (JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT " + OracleUtils.getSysCatalogHint(this) + " OWNER, COUNT(*) || ':' || TO_CHAR(MAX(LAST_DDL_TIME),'YYYYMMDDHH24MISS') FROM " +
+                OracleUtils.getAdminAllViewPrefix(session.getProgressMonitor(), this, "OBJECTS") + " GROUP BY OWNER"))
+        {
+            try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                while (dbResult.next()) {
+                    markers.put(dbResult.getString(1), dbResult.getString(2));
+                }
+            }
+        }
+        return markers;
+    }
+
     private class OracleOutputReader implements DBCServerOutputReader {
         @Override
         public boolean isServerOutputEnabled() {
@@ -16,8 +16,10 @@
  */
 package org.jkiss.dbeaver.ext.oracle.model.session;
 
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.ext.oracle.model.OracleConstants;
 import org.jkiss.dbeaver.model.admin.sessions.AbstractServerSession;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionActivity;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.Property;
 
@@ -28,7 +30,7 @@ import java.util.Objects;
 /**
  * Session
  */
-public class OracleServerSession extends AbstractServerSession {
+public class OracleServerSession extends AbstractServerSession implements DBAServerSessionActivity {
 
     public static final String CAT_SESSION = "Session";
     public static final String CAT_SQL = "SQL";
@@ -269,6 +271,34 @@ public class OracleServerSession extends AbstractServerSession {
         return sqlId;
     }
 
+    @NotNull
+    @Override
+    public String getSessionId() {
+        return instId > 0 ? sid + "," + serial + "@" + instId : sid + "," + serial;
+    }
+
+    @Override
+    public String getSessionUser() {
+        return user;
+    }
+
+    @Override
+    public boolean isSessionActive() {
+        // Background processes are always active
+        return "ACTIVE".equals(status) && !"BACKGROUND".equals(type);
+    }
+
+    @Override
+    public String getSessionWaitEvent() {
+        // Other states (WAITED SHORT TIME, WAITED KNOWN TIME) mean that session is on CPU
+        return "WAITING".equals(state) ? event : null;
+    }
+
+    @Override
+    public long getActiveQueryDuration() {
+        return elapsedTime * 1000;
+    }
+
     @Override
     public String toString() {
         return sid + " - " + event;
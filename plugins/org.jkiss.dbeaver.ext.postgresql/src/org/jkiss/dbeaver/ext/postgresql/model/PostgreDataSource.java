@@ -40,6 +40,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.*;
 import org.jkiss.dbeaver.model.exec.output.DBCServerOutputReader;
 import org.jkiss.dbeaver.model.exec.plan.DBCQueryPlanner;
 import org.jkiss.dbeaver.model.impl.jdbc.*;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCMetadataChangeTracker;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectLookupCache;
 import org.jkiss.dbeaver.model.impl.net.SSLHandlerTrustStoreImpl;
 import org.jkiss.dbeaver.model.impl.sql.QueryTransformerLimit;
@@ -71,7 +72,7 @@ import java.util.regex.Pattern;
  * PostgreDataSource
  */
 public class PostgreDataSource extends JDBCDataSource implements DBSInstanceContainer, DBPAdaptable,
-    DBPObjectStatisticsCollector {
+    DBPObjectStatisticsCollector, JDBCMetadataChangeTracker {
 
     private static final Log log = Log.getLog(PostgreDataSource.class);
     private static final PostgrePrivilegeType[] SUPPORTED_PRIVILEGE_TYPES = new PostgrePrivilegeType[]{
@@ -443,20 +444,20 @@ public class PostgreDataSource extends JDBCDataSource implements DBSInstanceCont
         try (JDBCSession session = DBUtils.openMetaSession(monitor, this, "Read server information")) {
             session.enableLogging(false);
             try {
-                serverVersion = JDBCUtils.queryString(session, "SELECT version()");
+                serverVersion = readCapability(session, "postgresql.version", s -> JDBCUtils.queryString(s, "SELECT version()"));
             } catch (Exception e) {
                 log.debug("Error reading PostgreSQL version: " + e.getMessage());
                 serverVersion = "";
             }
 
             try {
-                supportsEnumTable = PostgreUtils.isMetaObjectExists(session, "pg_enum", "*");
+                supportsEnumTable = readCapability(session, "postgresql.pg_enum", s -> PostgreUtils.isMetaObjectExists(s, "pg_enum", "*"));
             } catch (Exception e) {
                 log.debug("Error reading pg_enum " + e.getMessage());
                 supportsEnumTable = false;
             }
             try {
-                supportsReltypeColumn = PostgreUtils.isMetaObjectExists(session, "pg_class", "reltype");
+                supportsReltypeColumn = readCapability(session, "postgresql.pg_class.reltype", s -> PostgreUtils.isMetaObjectExists(s, "pg_class", "reltype"));
             } catch (Exception e) {
                 log.debug("Error reading pg_class.reltype " + e.getMessage());
                 supportsReltypeColumn = false;
@@ -774,6 +775,36 @@ public class PostgreDataSource extends JDBCDataSource implements DBSInstanceCont
         }
     }
 
+    @NotNull
+    @Override
+    public Map<String, String> readMetadataChangeMarkers(@NotNull JDBCSession session) throws SQLException {
+        // Any DDL creates new versions of the catalog rows it touches, so count and max xmin of each
+        // catalog read by the metadata caches change. Column renames/defaults only touch pg_attribute/pg_attrdef,
+        // constraints/indexes/triggers/comments have their own catalogs.
+        Map<String, String> markers = new HashMap<>();
+        try (JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT n.nspname," +
+                "(SELECT count(*) || ':' || coalesce(max(c.xmin::text::bigint),0) FROM pg_catalog.pg_class c WHERE c.relnamespace=n.oid) || '/' ||" +
+                "(SELECT count(*) || ':' || coalesce(max(a.xmin::text::bigint),0) FROM pg_catalog.pg_attribute a JOIN pg_catalog.pg_class c ON c.oid=a.attrelid WHERE c.relnamespace=n.oid AND a.attnum>0) || '/' ||" +
+                "(SELECT count(*) || ':' || coalesce(max(d.xmin::text::bigint),0) FROM pg_catalog.pg_attrdef d JOIN pg_catalog.pg_class c ON c.oid=d.adrelid WHERE c.relnamespace=n.oid) || '/' ||" +
+                "(SELECT count(*) || ':' || coalesce(max(co.xmin::text::bigint),0) FROM pg_catalog.pg_constraint co WHERE co.connamespace=n.oid) || '/' ||" +
+                "(SELECT count(*) || ':' || coalesce(max(i.xmin::text::bigint),0) FROM pg_catalog.pg_index i JOIN pg_catalog.pg_class c ON c.oid=i.indexrelid WHERE c.relnamespace=n.oid) || '/' ||" +
+                "(SELECT count(*) || ':' || coalesce(max(tg.xmin::text::bigint),0) FROM pg_catalog.pg_trigger tg JOIN pg_catalog.pg_class c ON c.oid=tg.tgrelid WHERE c.relnamespace=n.oid) || '/' ||" +
+                "(SELECT count(*) || ':' || coalesce(max(ds.xmin::text::bigint),0) FROM pg_catalog.pg_description ds JOIN pg_catalog.pg_class c ON c.oid=ds.objoid AND ds.classoid='pg_catalog.pg_class'::regclass WHERE c.relnamespace=n.oid) || '/' ||" +
+                "(SELECT count(*) || ':' || coalesce(max(p.xmin::text::bigint),0) FROM pg_catalog.pg_proc p WHERE p.pronamespace=n.oid) || '/' ||" +
+                "(SELECT count(*) || ':' || coalesce(max(t.xmin::text::bigint),0) FROM pg_catalog.pg_type t WHERE t.typnamespace=n.oid) || '/' ||" +
+                "n.xmin::text\n" +
+                "FROM pg_catalog.pg_namespace n"))
+        {
+            try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                while (dbResult.next()) {
+                    markers.put(dbResult.getString(1), dbResult.getString(2));
+                }
+            }
+        }
+        return markers;
+    }
+
     private static class DatabaseCache extends SimpleObjectCache<PostgreDataSource, PostgreDatabase> {
     }
 
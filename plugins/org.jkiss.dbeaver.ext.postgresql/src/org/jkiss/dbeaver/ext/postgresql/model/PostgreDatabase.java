@@ -230,8 +230,7 @@ public class PostgreDatabase extends JDBCRemoteInstance
     // Because datasource is not fully initialized yet
     void checkInstanceConnection(@NotNull DBRProgressMonitor monitor, boolean cacheMetadata) throws DBException {
         if (!isSharedDatabase() && executionContext == null) {
-            initializeMainContext(monitor);
-            initializeMetaContext(monitor);
+            initializeContexts(monitor);
             if (cacheMetadata)
                 cacheDataTypes(monitor, true);
         }
@@ -308,6 +307,14 @@ public class PostgreDatabase extends JDBCRemoteInstance
         return ec;
     }
 
+    @NotNull
+    @Override
+    public PostgreExecutionContext openEditorContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose, @Nullable DBCExecutionContext initFrom) throws DBException {
+        PostgreExecutionContext ec = (PostgreExecutionContext) super.openEditorContext(monitor, purpose, initFrom);
+        ec.setIsolatedContext(true);
+        return ec;
+    }
+
     @Override
     @Property(viewable = true, editable = true, updatable = true, length = PropertyLength.MULTILINE, order = 100)
     public String getDescription(DBRProgressMonitor monitor) {
@@ -707,8 +714,10 @@ public class PostgreDatabase extends JDBCRemoteInstance
                 }
 
                 List<PostgreDataType> loadedDataTypes = new ArrayList<>();
-                try (JDBCPreparedStatement dbStat = session.prepareStatement(sql.toString())) {
-                    try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                // Data types are read on each connect, so they are kept in the capability cache if it is enabled
+                JDBCResultSet cachedResult = postgreDataSource.readCapabilityRows(session, "postgresql.pg_type." + getName(), sql.toString());
+                try (JDBCPreparedStatement dbStat = cachedResult == null ? session.prepareStatement(sql.toString()) : null) {
+                    try (JDBCResultSet dbResult = dbStat == null ? cachedResult : dbStat.executeQuery()) {
                         Set<PostgreSchema> schemaList = new HashSet<>();
                         while (dbResult.next()) {
                             PostgreDataType dataType = PostgreDataType.readDataType(session, this, dbResult, !readAllTypes);
@@ -73,7 +73,8 @@ public class PostgreSchema implements
     PostgreScriptObject,
     PostgrePrivilegeOwner,
     DBPScriptObjectExt2,
-    DBSNamespaceContainer
+    DBSNamespaceContainer,
+    DBSObjectContainerPaged
 {
 
     private static final Log log = Log.getLog(PostgreSchema.class);
@@ -358,6 +359,51 @@ public class PostgreSchema implements
         return getTableCache().getObject(monitor, this, name, PostgreSequence.class);
     }
 
+    @Override
+    public boolean supportsChildrenPaging(@NotNull String propertyName) {
+        return tableCache.supportsObjectsPaging() && getPagedRelationType(propertyName) != null;
+    }
+
+    @NotNull
+    @Override
+    public List<? extends DBSObject> getChildrenPage(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull String propertyName,
+        @NotNull DBSObjectPage page
+    ) throws DBException {
+        Class<? extends PostgreTableBase> relationType = getPagedRelationType(propertyName);
+        if (relationType == null) {
+            throw new DBException("Paging of '" + propertyName + "' is not supported");
+        }
+        if (tableCache.isFullyCached()) {
+            // All relations are already read - use regular getters because they apply extra filters
+            List<? extends PostgreTableBase> allRelations = switch (propertyName) {
+                case "tables" -> getTables(monitor);
+                case "foreignTables" -> getForeignTables(monitor);
+                case "views" -> getViews(monitor);
+                case "materializedViews" -> getMaterializedViews(monitor);
+                default -> getSequences(monitor);
+            };
+            return page.getPage(allRelations);
+        }
+        return tableCache.getObjectsPage(
+            monitor,
+            this,
+            new DBSObjectPage(relationType, page.getAfterName(), page.getNameMask(), page.getNameMaskEscape(), page.getMaxResults()));
+    }
+
+    @Nullable
+    private static Class<? extends PostgreTableBase> getPagedRelationType(@NotNull String propertyName) {
+        return switch (propertyName) {
+            case "tables" -> PostgreTable.class;
+            case "foreignTables" -> PostgreTableForeign.class;
+            case "views" -> PostgreView.class;
+            case "materializedViews" -> PostgreMaterializedView.class;
+            case "sequences" -> PostgreSequence.class;
+            default -> null;
+        };
+    }
+
     @Association
     public List<PostgreProcedure> getProcedures(DBRProgressMonitor monitor)
         throws DBException {
@@ -842,6 +888,73 @@ public class PostgreSchema implements
             return dbStat;
         }
 
+        @Override
+        public boolean supportsObjectsPaging() {
+            return true;
+        }
+
+        @Override
+        protected JDBCStatement prepareObjectsPageStatement(
+            @NotNull JDBCSession session,
+            @NotNull PostgreTableContainer container,
+            @NotNull DBSObjectPage page
+        ) throws SQLException {
+            PostgreDataSource dataSource = getDataSource();
+            Class<?> objectType = page.getObjectType();
+            String relKinds;
+            if (objectType == PostgreTableForeign.class) {
+                relKinds = "'f'";
+            } else if (objectType == PostgreTable.class) {
+                relKinds = "'r','p'";
+            } else if (objectType == PostgreView.class) {
+                relKinds = "'v'";
+            } else if (objectType == PostgreMaterializedView.class) {
+                relKinds = "'m'";
+            } else if (objectType == PostgreSequence.class) {
+                relKinds = "'S'";
+            } else {
+                relKinds = null;
+            }
+            StringBuilder sql = new StringBuilder();
+            sql.append("SELECT c.oid,c.*,d.description");
+            if (dataSource.isServerVersionAtLeast(10, 0)) {
+                sql.append(",pg_catalog.pg_get_expr(c.relpartbound, c.oid) as partition_expr,  pg_catalog.pg_get_partkeydef(c.oid) as partition_key ");
+            }
+            sql.append("\nFROM pg_catalog.pg_class c\n")
+                .append("LEFT OUTER JOIN pg_catalog.pg_description d ON d.objoid=c.oid AND d.objsubid=0 AND d.classoid='pg_class'::regclass\n");
+            sql.append("WHERE c.relnamespace=?");
+            sql.append(relKinds == null ? " AND c.relkind not in ('i','I','c')" : " AND c.relkind in (" + relKinds + ")");
+            if (relKinds != null && objectType != PostgreSequence.class && dataSource.getServerType().supportsPartitions()) {
+                // Partitions are shown under their parent tables
+                sql.append(" AND NOT c.relispartition");
+            }
+            if (page.getAfterName() != null) {
+                sql.append(" AND c.relname > ?");
+            }
+            if (page.getNameMask() != null) {
+                sql.append(" AND c.relname ILIKE ?");
+                if (page.getNameMaskEscape() != null) {
+                    sql.append(" ESCAPE ?");
+                }
+            }
+            // Name type is always compared bytewise so page bounds don't depend on collation
+            sql.append("\nORDER BY c.relname LIMIT ").append(page.getMaxResults());
+
+            JDBCPreparedStatement dbStat = session.prepareStatement(sql.toString());
+            int paramIndex = 1;
+            dbStat.setLong(paramIndex++, getObjectId());
+            if (page.getAfterName() != null) {
+                dbStat.setString(paramIndex++, page.getAfterName());
+            }
+            if (page.getNameMask() != null) {
+                dbStat.setString(paramIndex++, page.getNameMask());
+                if (page.getNameMaskEscape() != null) {
+                    dbStat.setString(paramIndex, page.getNameMaskEscape());
+                }
+            }
+            return dbStat;
+        }
+
         @Override
         protected PostgreTableBase fetchObject(@NotNull JDBCSession session, @NotNull PostgreTableContainer container, @NotNull JDBCResultSet dbResult)
             throws SQLException, DBException
@@ -16,7 +16,9 @@
  */
 package org.jkiss.dbeaver.ext.postgresql.model.session;
 
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.admin.sessions.AbstractServerSession;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionActivity;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.utils.CommonUtils;
@@ -28,7 +30,7 @@ import java.util.Objects;
 /**
  * PostgreSQL session
  */
-public class PostgreSession extends AbstractServerSession {
+public class PostgreSession extends AbstractServerSession implements DBAServerSessionActivity {
     private static final String CAT_CLIENT = "Client";
     private static final String CAT_TIMING = "Timings";
 
@@ -44,6 +46,8 @@ public class PostgreSession extends AbstractServerSession {
     private Date stateChange;
     private String state;
     private String appName;
+    private String waitEventType;
+    private String waitEvent;
 
     public PostgreSession(ResultSet dbResult) {
         this.pid = JDBCUtils.safeGetInt(dbResult, "pid");
@@ -63,6 +67,9 @@ public class PostgreSession extends AbstractServerSession {
 
         this.state = JDBCUtils.safeGetString(dbResult, "state");
         this.appName = JDBCUtils.safeGetString(dbResult, "application_name");
+        // Available since 9.6
+        this.waitEventType = JDBCUtils.safeGetString(dbResult, "wait_event_type");
+        this.waitEvent = JDBCUtils.safeGetString(dbResult, "wait_event");
     }
 
     @Property(viewable = true, order = 1)
@@ -125,6 +132,16 @@ public class PostgreSession extends AbstractServerSession {
         return state;
     }
 
+    @Property(viewable = false, order = 8)
+    public String getWaitEventType() {
+        return waitEventType;
+    }
+
+    @Property(viewable = false, order = 9)
+    public String getWaitEvent() {
+        return waitEvent;
+    }
+
     @Property(viewable = true, order = 100)
     public String getBriefQuery() {
         if (query != null && query.length() > 50) {
@@ -140,6 +157,35 @@ public class PostgreSession extends AbstractServerSession {
         return query;
     }
 
+    @NotNull
+    @Override
+    public String getSessionId() {
+        return String.valueOf(pid);
+    }
+
+    @Override
+    public String getSessionUser() {
+        return user;
+    }
+
+    @Override
+    public boolean isSessionActive() {
+        return "active".equals(state);
+    }
+
+    @Override
+    public String getSessionWaitEvent() {
+        if (CommonUtils.isEmpty(waitEvent)) {
+            return null;
+        }
+        return CommonUtils.isEmpty(waitEventType) ? waitEvent : waitEventType + ":" + waitEvent;
+    }
+
+    @Override
+    public long getActiveQueryDuration() {
+        return queryStart == null ? -1 : Math.max(0, System.currentTimeMillis() - queryStart.getTime());
+    }
+
     @Override
     public String toString()
     {
@@ -0,0 +1,193 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.CommonUtils;
+
+import java.sql.Connection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Bounded pool of physical connections shared by pooled execution contexts of a remote instance.
+ * Context owns a connection while it executes something. Connection with an open transaction or changed
+ * session state stays with its context, but it still takes a pool slot, so the number of physical
+ * connections never exceeds the pool size.
+ * Idle connections are parked in the pool and are handed to the next context which needs one.
+ */
+class JDBCConnectionPool {
+
+    private static final Log log = Log.getLog(JDBCConnectionPool.class);
+
+    private static final long ACQUIRE_WAIT_INTERVAL = 100;
+    // Max time to wait for a free connection
+    static final long ACQUIRE_TIMEOUT = 30000;
+    // Idle connections are validated before reuse if they were not used for this time
+    private static final long IDLE_VALIDATE_INTERVAL = 60000;
+    private static final String POOL_PURPOSE = "Pooled connection";
+
+    /**
+     * Idle connection with the state key (isolation level and defaults) of the context which released it
+     */
+    record PooledConnection(@NotNull Connection connection, @Nullable String stateKey, long releaseTime) {
+    }
+
+    @NotNull
+    private final JDBCDataSource dataSource;
+    private final int maxSize;
+    private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+    // Number of open physical connections (idle and owned by contexts)
+    private int openCount;
+    private boolean closed;
+
+    JDBCConnectionPool(@NotNull JDBCDataSource dataSource, int maxSize) {
+        this.dataSource = dataSource;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Takes an idle connection. Connection with the same state key is preferred.
+     * Returns null if there are no idle connections but the pool has a free slot. In this case caller
+     * must open a new connection and report it with {@link #connectionClosed()} once it is closed.
+     * Waits until some connection is released if all slots are taken.
+     * Throws an error if no connection was released during {@code timeout} milliseconds.
+     */
+    @Nullable
+    PooledConnection acquire(@NotNull DBRProgressMonitor monitor, @Nullable String stateKey, long timeout) throws DBCException {
+        final long deadline = System.currentTimeMillis() + timeout;
+        while (true) {
+            PooledConnection candidate;
+            synchronized (this) {
+                if (closed) {
+                    throw new DBCException("Connection pool of '" + dataSource.getName() + "' is closed");
+                }
+                candidate = takeIdleConnection(stateKey);
+                if (candidate == null) {
+                    if (openCount < maxSize) {
+                        openCount++;
+                        return null;
+                    }
+                    if (monitor.isCanceled()) {
+                        throw new DBCException("Wait for free connection canceled");
+                    }
+                    long waitTime = deadline - System.currentTimeMillis();
+                    if (waitTime <= 0) {
+                        throw new DBCException("Timeout waiting for free connection of '" + dataSource.getName() +
+                            "' (" + openCount + " connections in use). Commit or rollback open transactions in other editors " +
+                            "or increase the editor connection pool size");
+                    }
+                    monitor.subTask("Wait for free connection (" + openCount + " connections in use)");
+                    try {
+                        wait(Math.min(waitTime, ACQUIRE_WAIT_INTERVAL));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new DBCException("Wait for free connection interrupted", e);
+                    }
+                    continue;
+                }
+            }
+            if (System.currentTimeMillis() - candidate.releaseTime() > IDLE_VALIDATE_INTERVAL &&
+                !JDBCUtils.isConnectionAlive(dataSource, candidate.connection()))
+            {
+                log.debug("Pooled connection of '" + dataSource.getName() + "' is dead, discard it");
+                closeConnection(candidate.connection());
+                continue;
+            }
+            return candidate;
+        }
+    }
+
+    /**
+     * Parks connection in the pool. Connection must be in auto-commit mode.
+     */
+    void release(@NotNull Connection connection, @Nullable String stateKey) {
+        synchronized (this) {
+            if (!closed) {
+                idleConnections.addFirst(new PooledConnection(connection, stateKey, System.currentTimeMillis()));
+                notifyAll();
+                return;
+            }
+        }
+        closeConnection(connection);
+    }
+
+    /**
+     * Frees the slot of a connection which was closed by its owner
+     */
+    synchronized void connectionClosed() {
+        if (openCount > 0) {
+            openCount--;
+        }
+        notifyAll();
+    }
+
+    /**
+     * Closes all idle connections. Connections owned by contexts are left untouched.
+     */
+    void clearIdle() {
+        List<PooledConnection> toClose;
+        synchronized (this) {
+            toClose = new ArrayList<>(idleConnections);
+            idleConnections.clear();
+        }
+        for (PooledConnection pooled : toClose) {
+            closeConnection(pooled.connection());
+        }
+    }
+
+    void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        clearIdle();
+    }
+
+    @Nullable
+    private PooledConnection takeIdleConnection(@Nullable String stateKey) {
+        for (Iterator<PooledConnection> iter = idleConnections.iterator(); iter.hasNext(); ) {
+            PooledConnection pooled = iter.next();
+            if (CommonUtils.equalObjects(pooled.stateKey(), stateKey)) {
+                iter.remove();
+                return pooled;
+            }
+        }
+        return idleConnections.pollFirst();
+    }
+
+    private void closeConnection(@NotNull Connection connection) {
+        try {
+            if (!dataSource.closeConnection(connection, POOL_PURPOSE, false)) {
+                log.debug("Pooled connection close timeout");
+            }
+        } finally {
+            connectionClosed();
+        }
+    }
+
+}
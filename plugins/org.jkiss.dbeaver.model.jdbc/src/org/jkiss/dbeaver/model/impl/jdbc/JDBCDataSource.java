@@ -29,9 +29,12 @@ import org.jkiss.dbeaver.model.connection.*;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCDatabaseMetaData;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCFactory;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.AbstractDataSource;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCapabilityCache;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCMetadataSnapshot;
 import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCConnectionImpl;
 import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCFactoryDefault;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
@@ -86,6 +89,10 @@ public abstract class JDBCDataSource extends AbstractDataSource
 
     private final transient List<Connection> closingConnections = new ArrayList<>();
     protected List<Path> tempFiles;
+    @Nullable
+    private volatile JDBCMetadataSnapshot metadataSnapshot;
+    @Nullable
+    private volatile JDBCCapabilityCache capabilityCache;
 
 
     protected JDBCDataSource(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSourceContainer container, @NotNull SQLDialect dialect)
@@ -445,6 +452,11 @@ public abstract class JDBCDataSource extends AbstractDataSource
     @Override
     public void shutdown(@NotNull DBRProgressMonitor monitor)
     {
+        JDBCMetadataSnapshot snapshot = metadataSnapshot;
+        if (snapshot != null) {
+            metadataSnapshot = null;
+            snapshot.close();
+        }
         for (JDBCRemoteInstance instance : getAvailableInstances()) {
             Object exclusiveLock = instance.getExclusiveLock().acquireExclusiveLock();
             try {
@@ -478,8 +490,17 @@ public abstract class JDBCDataSource extends AbstractDataSource
         throws DBException
     {
         getDefaultInstance().initializeMetaContext(monitor);
-        try (JDBCSession session = DBUtils.openMetaSession(monitor, this, ModelMessages.model_jdbc_read_database_meta_data)) {
+        capabilityCache = JDBCCapabilityCache.openCache(this);
+        try (var phase = DBPConnectionPhaseProfile.startPhase(container, DBPConnectionPhaseProfile.PHASE_READ_METADATA);
+             JDBCSession session = DBUtils.openMetaSession(monitor, this, ModelMessages.model_jdbc_read_database_meta_data)
+        ) {
             JDBCDatabaseMetaData metaData = session.getMetaData();
+            if (capabilityCache != null && !capabilityCache.checkServerVersion(metaData)) {
+                capabilityCache = null;
+            }
+            if (capabilityCache != null) {
+                metaData = capabilityCache.wrapMetaData(metaData);
+            }
 
             readDatabaseServerVersion(metaData);
 
@@ -504,6 +525,54 @@ public abstract class JDBCDataSource extends AbstractDataSource
                 dataSourceInfo = new JDBCDataSourceInfo(container);
             }
         }
+        metadataSnapshot = JDBCMetadataSnapshot.openSnapshot(this);
+        if (capabilityCache != null) {
+            capabilityCache.scheduleValidation();
+        }
+    }
+
+    /**
+     * Persistent metadata snapshot. Null if snapshots are disabled or not supported by this data source.
+     */
+    @Nullable
+    public JDBCMetadataSnapshot getMetadataSnapshot() {
+        return metadataSnapshot;
+    }
+
+    /**
+     * Persistent server capability cache. Null if it is disabled.
+     */
+    @Nullable
+    public JDBCCapabilityCache getCapabilityCache() {
+        return capabilityCache;
+    }
+
+    /**
+     * Reads server capability with the specified probe. Value is taken from the capability cache if possible.
+     * Probe result must be a string, boolean, integer, long or null.
+     */
+    protected <T> T readCapability(
+        @NotNull JDBCSession session,
+        @NotNull String key,
+        @NotNull JDBCCapabilityCache.Probe<T> probe
+    ) throws Exception {
+        JDBCCapabilityCache cache = capabilityCache;
+        return cache == null ? probe.read(session) : cache.readCapability(session, key, probe);
+    }
+
+    /**
+     * Executes catalog query which is made on each connect (e.g. reading of data type tables).
+     * Rows are taken from the capability cache if possible. Returns null if capability cache is disabled,
+     * in this case query must be executed as usual.
+     */
+    @Nullable
+    public JDBCResultSet readCapabilityRows(
+        @NotNull JDBCSession session,
+        @NotNull String key,
+        @NotNull String query
+    ) throws SQLException {
+        JDBCCapabilityCache cache = capabilityCache;
+        return cache == null ? null : cache.readCapabilityRows(session, key, query);
     }
 
     protected void readDatabaseServerVersion(DatabaseMetaData metaData) {
@@ -22,16 +22,20 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPAdaptable;
 import org.jkiss.dbeaver.model.DBPTransactionIsolation;
+import org.jkiss.dbeaver.model.connection.DBPConnectionPhaseProfile;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionContext;
 import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCSavepointImpl;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCStatementCache;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
 
@@ -63,6 +67,20 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     private volatile Boolean autoCommit;
     private volatile Integer transactionIsolationLevel;
     private transient volatile boolean txnIsolationLevelReadInProgress;
+    @Nullable
+    private volatile JDBCStatementCache statementCache;
+
+    // Pooled context lends its connection to other contexts while it doesn't execute anything
+    @Nullable
+    private volatile JDBCConnectionPool connectionPool;
+    private final Object poolLock = new Object();
+    // Connection is parked in the pool, it will be taken back on the next use
+    private volatile boolean connectionReleased;
+    // Connection is being opened or attached, its setup queries do not pin it
+    private volatile boolean connectionSetup;
+    // Open transaction or changed session state keep connection with the context
+    private final JDBCPooledSessionState pooledSessionState = new JDBCPooledSessionState();
+    private int activeSessions;
 
     public JDBCExecutionContext(@NotNull JDBCRemoteInstance instance, String purpose) {
         super(instance.getDataSource(), purpose);
@@ -79,7 +97,10 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     }
 
     @NotNull
-    private Connection getConnection() throws DBCException {
+    private Connection getActiveConnection(@NotNull DBRProgressMonitor monitor) throws DBCException {
+        if (connectionReleased) {
+            return attachPooledConnection(monitor);
+        }
         Connection dbCon = this.connection;
         if (dbCon == null) {
             throw new DBCException("Disconnected");
@@ -87,6 +108,13 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         return dbCon;
     }
 
+    /**
+     * Makes this context pooled. Must be called before context connect.
+     */
+    void setConnectionPool(@Nullable JDBCConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
     public void connect(DBRProgressMonitor monitor) throws DBCException {
         connect(monitor, null, null, null, true);
     }
@@ -100,13 +128,24 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         final JDBCRemoteInstance currentInstance = this.instance;
 
         DBExecUtils.startContextInitiation(dataSource.getContainer());
+        final boolean pooled = connectionPool != null;
+        if (pooled) {
+            // Do not release connection until context state is initialized
+            sessionOpened();
+            connectionSetup = true;
+        }
 
-        Object exclusiveLock = currentInstance.getExclusiveLock().acquireExclusiveLock();
+        // Context opened in parallel with other bootstrap context runs under lock of the bootstrap thread
+        Object exclusiveLock = currentInstance.isParallelBootstrapThread() ?
+            null : currentInstance.getExclusiveLock().acquireExclusiveLock();
+        DBPConnectionPhaseProfile.PhaseTimer openPhase = DBPConnectionPhaseProfile.startPhase(
+            dataSource.getContainer(), DBPConnectionPhaseProfile.PHASE_OPEN_CONTEXT + " (" + purpose + ")");
         try {
-            this.connection = dataSource.openConnection(monitor, this, purpose);
-            if (this.connection == null) {
-                throw new DBCException("Null connection returned");
-            }
+            this.connection = openPhysicalConnection(monitor);
+            this.connectionReleased = false;
+            this.pooledSessionState.reset();
+            this.statementCache = createStatementCache();
+
             monitor.subTask("Set connection defaults");
             // Get defaults from preferences
             if (autoCommit == null) {
@@ -119,7 +158,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
 
             if (txnLevel != null) {
                 try {
-                    this.getConnection().setTransactionIsolation(txnLevel);
+                    this.connection.setTransactionIsolation(txnLevel);
                     this.transactionIsolationLevel = txnLevel;
                 } catch (Throwable e) {
                     log.debug("Can't set transaction isolation level", e); //$NON-NLS-1$
@@ -152,15 +191,26 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
                 // Add self to context list
                 currentInstance.addContext(this);
             }
+        } catch (Throwable e) {
+            if (pooled) {
+                connectionSetup = false;
+                sessionClosed();
+            }
+            throw e;
         } finally {
+            openPhase.close();
             DBExecUtils.finishContextInitiation(dataSource.getContainer());
-            currentInstance.getExclusiveLock().releaseExclusiveLock(exclusiveLock);
+            if (exclusiveLock != null) {
+                currentInstance.getExclusiveLock().releaseExclusiveLock(exclusiveLock);
+            }
         }
 
         // Now initialize context state
         // Do it outside of exclusive lock to avoid dead locks
         {
-            try {
+            try (var phase = DBPConnectionPhaseProfile.startPhase(
+                dataSource.getContainer(), DBPConnectionPhaseProfile.PHASE_INIT_CONTEXT_STATE + " (" + purpose + ")"))
+            {
                 // Init (or copy) context state
                 this.dataSource.initializeContextState(monitor, this, initFrom);
             } catch (DBException e) {
@@ -178,20 +228,217 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
                 }
             } catch (Throwable e) {
                 log.error("Error ending transaction after context initialize", e);
+            } finally {
+                if (pooled) {
+                    connectionSetup = false;
+                    sessionClosed();
+                }
+            }
+        }
+
+    }
+
+    @NotNull
+    private Connection openPhysicalConnection(@NotNull DBRProgressMonitor monitor) throws DBCException {
+        JDBCConnectionPool pool = this.connectionPool;
+        if (pool != null) {
+            JDBCConnectionPool.PooledConnection pooledConnection = pool.acquire(monitor, null, JDBCConnectionPool.ACQUIRE_TIMEOUT);
+            if (pooledConnection != null) {
+                return pooledConnection.connection();
+            }
+        }
+        return openNewConnection(monitor, pool);
+    }
+
+    @NotNull
+    private Connection openNewConnection(@NotNull DBRProgressMonitor monitor, @Nullable JDBCConnectionPool pool) throws DBCException {
+        Connection dbCon = null;
+        try {
+            dbCon = dataSource.openConnection(monitor, this, purpose);
+            if (dbCon == null) {
+                throw new DBCException("Null connection returned");
+            }
+            return dbCon;
+        } finally {
+            if (dbCon == null && pool != null) {
+                pool.connectionClosed();
             }
         }
+    }
 
+    @Nullable
+    private JDBCStatementCache createStatementCache() {
+        int statementCacheSize = dataSource.getContainer().getPreferenceStore().getInt(ModelPreferences.CONNECTION_STATEMENT_CACHE_SIZE);
+        return statementCacheSize > 0 ? new JDBCStatementCache(statementCacheSize) : null;
+    }
+
+    /**
+     * Takes physical connection from the pool back to this context.
+     * If connection was used by a context with different defaults then they are restored.
+     */
+    @NotNull
+    private Connection attachPooledConnection(@NotNull DBRProgressMonitor monitor) throws DBCException {
+        synchronized (poolLock) {
+            Connection dbCon = this.connection;
+            if (!connectionReleased && dbCon != null) {
+                return dbCon;
+            }
+            JDBCConnectionPool pool = this.connectionPool;
+            if (pool == null || !connectionReleased) {
+                throw new DBCException("Disconnected");
+            }
+            String stateKey = getConnectionStateKey();
+            JDBCConnectionPool.PooledConnection pooledConnection = pool.acquire(monitor, stateKey, JDBCConnectionPool.ACQUIRE_TIMEOUT);
+            boolean newConnection = pooledConnection == null;
+            dbCon = newConnection ? openNewConnection(monitor, pool) : pooledConnection.connection();
+
+            // Setup queries must not release connection back to the pool
+            activeSessions++;
+            connectionSetup = true;
+            try {
+                this.connection = dbCon;
+                this.connectionReleased = false;
+                this.statementCache = createStatementCache();
+                if (Boolean.FALSE.equals(autoCommit)) {
+                    // Connections are parked in auto-commit mode, restore manual commit mode of this context
+                    try {
+                        dbCon.setAutoCommit(false);
+                    } catch (Throwable e) {
+                        log.debug("Can't set auto-commit state: " + e.getMessage()); //$NON-NLS-1$
+                    }
+                }
+                if (newConnection || !CommonUtils.equalObjects(pooledConnection.stateKey(), stateKey)) {
+                    if (transactionIsolationLevel != null) {
+                        try {
+                            dbCon.setTransactionIsolation(transactionIsolationLevel);
+                        } catch (Throwable e) {
+                            log.debug("Can't set transaction isolation level", e); //$NON-NLS-1$
+                        }
+                    }
+                    if (newConnection) {
+                        executeBootstrapQueries(monitor);
+                    }
+                    try {
+                        // Restore own defaults
+                        dataSource.initializeContextState(monitor, this, this);
+                    } catch (DBException e) {
+                        log.warn("Error while restoring context state", e);
+                    }
+                }
+            } finally {
+                connectionSetup = false;
+                activeSessions--;
+            }
+            return dbCon;
+        }
+    }
+
+    /**
+     * Called when a new session of this context is opened
+     */
+    public void sessionOpened() {
+        if (connectionPool != null) {
+            synchronized (poolLock) {
+                activeSessions++;
+            }
+        }
+    }
+
+    /**
+     * Called when a session of this context is closed.
+     * Returns idle connection of a pooled context to the pool unless it is pinned by an open transaction
+     * or by changed session state. Pinned connection still takes its slot in the pool.
+     */
+    public void sessionClosed() {
+        JDBCConnectionPool pool = this.connectionPool;
+        if (pool == null) {
+            return;
+        }
+        synchronized (poolLock) {
+            if (activeSessions > 0) {
+                activeSessions--;
+            }
+            Connection dbCon = this.connection;
+            if (activeSessions > 0 || dbCon == null || connectionReleased || pooledSessionState.isPinned()) {
+                return;
+            }
+            if (!Boolean.TRUE.equals(autoCommit)) {
+                // There is no open transaction, so auto-commit switch doesn't commit anything
+                try {
+                    dbCon.setAutoCommit(true);
+                } catch (Throwable e) {
+                    log.debug("Can't return connection to the pool: " + e.getMessage()); //$NON-NLS-1$
+                    return;
+                }
+            }
+            JDBCStatementCache cache = this.statementCache;
+            if (cache != null) {
+                cache.close();
+                this.statementCache = null;
+            }
+            this.connection = null;
+            this.connectionReleased = true;
+            pool.release(dbCon, getConnectionStateKey());
+        }
+    }
+
+    /**
+     * Pins connection of a pooled context if the query opens a transaction or may change session state
+     * (session variables, temporary objects, locks, etc.). Unpins it once the transaction ends.
+     * Must be called when the connection is attached to the context.
+     *
+     * @param query query text or null if it is unknown (plain statements, procedure calls)
+     */
+    public void checkSessionStateChange(@Nullable String query) {
+        if (connectionPool == null || connectionSetup) {
+            return;
+        }
+        boolean wasPinned = pooledSessionState.isPinned();
+        pooledSessionState.statementExecuted(
+            JDBCPooledSessionState.getStatementEffect(dataSource.getSQLDialect(), query),
+            Boolean.TRUE.equals(autoCommit));
+        if (!wasPinned && pooledSessionState.isPinned()) {
+            log.debug("Connection of context '" + getContextName() + "' is pinned by " +
+                (query == null ? "statement without query text" : "statement '" + CommonUtils.truncateString(query, 40) + "'"));
+        }
+    }
+
+    @NotNull
+    private String getConnectionStateKey() {
+        StringBuilder key = new StringBuilder().append(transactionIsolationLevel);
+        DBCExecutionContextDefaults<?, ?> defaults = getContextDefaults();
+        if (defaults != null) {
+            DBSObject catalog = defaults.getDefaultCatalog();
+            DBSObject schema = defaults.getDefaultSchema();
+            key.append('/').append(catalog == null ? "" : catalog.getName());
+            key.append('/').append(schema == null ? "" : schema.getName());
+        }
+        return key.toString();
     }
 
     protected void disconnect() {
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
         synchronized (this) {
+            JDBCStatementCache cache = this.statementCache;
+            if (cache != null) {
+                // Statements must be closed before connection
+                log.debug(this + ": " + cache);
+                cache.close();
+                this.statementCache = null;
+            }
             // If we cannot determine if connection is in autocommit mode, assume that it is not
-            if (connection != null && !dataSource.closeConnection(connection, purpose, !isAutoCommit(false))) {
-                log.debug("Connection close timeout");
+            if (connection != null) {
+                if (!dataSource.closeConnection(connection, purpose, !isAutoCommit(false))) {
+                    log.debug("Connection close timeout");
+                }
+                JDBCConnectionPool pool = this.connectionPool;
+                if (pool != null) {
+                    pool.connectionClosed();
+                }
             }
             this.connection = null;
+            this.connectionReleased = false;
         }
         // Notify QM
         super.closeContext();
@@ -201,6 +448,9 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     public Connection getConnection(DBRProgressMonitor monitor) throws SQLException {
         if (connection == null) {
             try {
+                if (connectionReleased) {
+                    return attachPooledConnection(monitor);
+                }
                 connect(monitor);
             } catch (DBCException e) {
                 if (e.getCause() instanceof SQLException) {
@@ -213,6 +463,21 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         return connection;
     }
 
+    /**
+     * Prepared statement cache of this context.
+     * Returns null if statement caching is disabled (see {@link ModelPreferences#CONNECTION_STATEMENT_CACHE_SIZE}).
+     */
+    @Nullable
+    public JDBCStatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    @Nullable
+    @Override
+    public DBCStatementCacheInfo getStatementCacheInfo() {
+        return statementCache;
+    }
+
     @NotNull
     @Override
     public JDBCSession openSession(@NotNull DBRProgressMonitor monitor, @NotNull DBCExecutionPurpose purpose, @NotNull String taskTitle) {
@@ -221,20 +486,29 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
 
     @Override
     public void checkContextAlive(DBRProgressMonitor monitor) throws DBException {
-        if (!JDBCUtils.isConnectionAlive(getDataSource(), getConnection())) {
+        if (connectionReleased) {
+            // Idle pooled connections are validated before reuse
+            return;
+        }
+        if (!JDBCUtils.isConnectionAlive(getDataSource(), getActiveConnection(monitor))) {
             throw new DBCException("Connection is dead");
         }
     }
 
     @Override
     public boolean isConnected() {
-        return connection != null;
+        return connection != null || connectionReleased;
     }
 
     @Override
     public void invalidateContext(@NotNull DBRProgressMonitor monitor, @NotNull DBCInvalidatePhase phase) throws DBException {
         if (phase == DBCInvalidatePhase.BEFORE_INVALIDATE) {
             closeContext(false);
+            JDBCConnectionPool pool = this.connectionPool;
+            if (pool != null) {
+                // Idle connections are most likely broken as well
+                pool.clearIdle();
+            }
         }
 
         if (phase == DBCInvalidatePhase.INVALIDATE) {
@@ -276,7 +550,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
                         try {
                             DBExecUtils.tryExecuteRecover(monitor, getDataSource(), monitor1 -> {
                                 try {
-                                    transactionIsolationLevel = getConnection().getTransactionIsolation();
+                                    transactionIsolationLevel = getActiveConnection(monitor1).getTransactionIsolation();
                                 } catch (Throwable e) {
                                     transactionIsolationLevel = Connection.TRANSACTION_NONE;
                                     log.error("Error getting transaction isolation level", e);
@@ -307,7 +581,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         }
         JDBCTransactionIsolation jdbcTIL = (JDBCTransactionIsolation) transactionIsolation;
         try {
-            getConnection().setTransactionIsolation(jdbcTIL.getCode());
+            getActiveConnection(monitor).setTransactionIsolation(jdbcTIL.getCode());
             transactionIsolationLevel = jdbcTIL.getCode();
         } catch (SQLException e) {
             throw new JDBCException(e, this);
@@ -327,7 +601,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
                 try {
                     DBExecUtils.tryExecuteRecover(monitor, getDataSource(), monitor1 -> {
                         try {
-                            autoCommit = getConnection().getAutoCommit();
+                            autoCommit = getActiveConnection(monitor1).getAutoCommit();
                         } catch (Exception e) {
                             log.error("Error getting auto commit state", e);
                         }
@@ -360,9 +634,10 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         throws DBCException {
         monitor.subTask("Set JDBC connection auto-commit " + autoCommit);
         try {
-            Connection dbCon = getConnection();
+            Connection dbCon = getActiveConnection(monitor);
             dbCon.setAutoCommit(autoCommit);
             this.autoCommit = dbCon.getAutoCommit();
+            pooledSessionState.autoCommitChanged(this.autoCommit);
         } catch (SQLException e) {
             throw new JDBCException(e, this);
         } finally {
@@ -375,7 +650,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         throws DBCException {
         Savepoint savepoint;
         try {
-            Connection dbCon = getConnection();
+            Connection dbCon = getActiveConnection(monitor);
             if (name == null) {
                 savepoint = dbCon.setSavepoint();
             } else {
@@ -396,7 +671,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     public void releaseSavepoint(@NotNull DBRProgressMonitor monitor, @NotNull DBCSavepoint savepoint)
         throws DBCException {
         try {
-            Connection dbCon = getConnection();
+            Connection dbCon = getActiveConnection(monitor);
             if (savepoint instanceof JDBCSavepointImpl) {
                 dbCon.releaseSavepoint(((JDBCSavepointImpl) savepoint).getOriginal());
             } else if (savepoint instanceof Savepoint) {
@@ -413,7 +688,8 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     public void commit(@NotNull DBCSession session)
         throws DBCException {
         try {
-            getConnection().commit();
+            getActiveConnection(session.getProgressMonitor()).commit();
+            pooledSessionState.transactionEnded();
         } catch (SQLException e) {
             throw new JDBCException(e, this);
         } finally {
@@ -427,7 +703,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     public void rollback(@NotNull DBCSession session, DBCSavepoint savepoint)
         throws DBCException {
         try {
-            Connection dbCon = getConnection();
+            Connection dbCon = getActiveConnection(session.getProgressMonitor());
             if (savepoint != null) {
                 if (savepoint instanceof JDBCSavepointImpl) {
                     dbCon.rollback(((JDBCSavepointImpl) savepoint).getOriginal());
@@ -438,6 +714,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
                 }
             } else {
                 dbCon.rollback();
+                pooledSessionState.transactionEnded();
             }
         } catch (SQLException e) {
             throw new JDBCException(e, this);
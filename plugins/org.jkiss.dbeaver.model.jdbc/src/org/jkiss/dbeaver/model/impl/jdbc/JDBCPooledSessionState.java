@@ -0,0 +1,164 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Tracks whether connection of a pooled execution context may be returned to the pool.
+ * Connection is pinned while it has an open transaction or once its session state was changed
+ * (session variables, temporary objects, locks, etc.). Transaction pin is removed when the transaction ends,
+ * session state pin stays until the connection is closed.
+ */
+public class JDBCPooledSessionState {
+
+    /**
+     * Effect of a statement on the connection session
+     */
+    public enum StatementEffect {
+        // Plain read or data modification
+        NONE,
+        // Explicit transaction start
+        TRANSACTION_BEGIN,
+        // Commit or rollback of the whole transaction
+        TRANSACTION_END,
+        // Anything else, session state may be changed
+        SESSION_STATE
+    }
+
+    // Statements which don't leave session state behind them in auto-commit mode
+    private static final Set<String> STATELESS_KEYWORDS = Set.of(
+        "SELECT", "WITH", "VALUES", "TABLE", "EXPLAIN", "SHOW", "DESC", "DESCRIBE",
+        "INSERT", "UPDATE", "DELETE", "MERGE"
+    );
+    private static final Pattern TRANSACTION_BEGIN_PATTERN = Pattern.compile(
+        "(BEGIN(\\s+(TRANSACTION|TRAN|WORK))?|START\\s+TRANSACTION\\b[^;]*)\\s*;?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TRANSACTION_END_PATTERN = Pattern.compile(
+        "(COMMIT|ROLLBACK|END)(\\s+(TRANSACTION|TRAN|WORK))?\\s*;?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SAVEPOINT_PATTERN = Pattern.compile(
+        "(SAVEPOINT|RELEASE(\\s+SAVEPOINT)?|ROLLBACK(\\s+(TRANSACTION|TRAN|WORK))?\\s+TO(\\s+SAVEPOINT)?)\\s+\\w+\\s*;?",
+        Pattern.CASE_INSENSITIVE);
+    private static final Pattern INSERT_INTO_PATTERN = Pattern.compile(
+        "\\b(INSERT|MERGE)\\s+INTO\\b", Pattern.CASE_INSENSITIVE);
+    // Constructs which change session state: SELECT INTO, variable assignments,
+    // advisory locks, sequences and config functions
+    private static final Pattern STATE_CHANGE_PATTERN = Pattern.compile(
+        "\\bINTO\\b|:=|@\\w+\\s*=|" +
+            "\\b(set_config|pg_\\w*advisory\\w*|get_lock|sp_getapplock|nextval|setval|dbms_\\w+)\\s*\\(",
+        Pattern.CASE_INSENSITIVE);
+
+    private boolean sessionStateChanged;
+    private boolean transactionOpen;
+
+    /**
+     * Detects effect of the statement on the session.
+     *
+     * @param query query text or null if it is unknown (plain statements, procedure calls)
+     */
+    @NotNull
+    public static StatementEffect getStatementEffect(@NotNull SQLDialect dialect, @Nullable String query) {
+        if (query == null) {
+            return StatementEffect.SESSION_STATE;
+        }
+        String text = SQLUtils.stripComments(dialect, query).trim();
+        String keyword = SQLUtils.getFirstKeyword(dialect, text);
+        if (CommonUtils.isEmpty(keyword)) {
+            return StatementEffect.SESSION_STATE;
+        }
+        if (TRANSACTION_BEGIN_PATTERN.matcher(text).matches()) {
+            return StatementEffect.TRANSACTION_BEGIN;
+        }
+        if (TRANSACTION_END_PATTERN.matcher(text).matches()) {
+            return StatementEffect.TRANSACTION_END;
+        }
+        if (SAVEPOINT_PATTERN.matcher(text).matches()) {
+            // Savepoints live inside of the current transaction
+            return StatementEffect.NONE;
+        }
+        if (STATELESS_KEYWORDS.contains(keyword.toUpperCase(Locale.ENGLISH)) &&
+            !STATE_CHANGE_PATTERN.matcher(INSERT_INTO_PATTERN.matcher(text).replaceAll(" ")).find()
+        ) {
+            return StatementEffect.NONE;
+        }
+        return StatementEffect.SESSION_STATE;
+    }
+
+    /**
+     * Registers statement executed on the connection.
+     *
+     * @param effect     statement effect
+     * @param autoCommit whether connection is in auto-commit mode
+     */
+    public synchronized void statementExecuted(@NotNull StatementEffect effect, boolean autoCommit) {
+        switch (effect) {
+            case SESSION_STATE -> {
+                sessionStateChanged = true;
+                transactionOpen |= !autoCommit;
+            }
+            case TRANSACTION_BEGIN -> transactionOpen = true;
+            case TRANSACTION_END -> transactionOpen = false;
+            case NONE -> transactionOpen |= !autoCommit;
+        }
+    }
+
+    /**
+     * Transaction was committed or rolled back
+     */
+    public synchronized void transactionEnded() {
+        transactionOpen = false;
+    }
+
+    /**
+     * Auto-commit mode was changed. Switching to auto-commit mode commits the current transaction.
+     */
+    public synchronized void autoCommitChanged(boolean autoCommit) {
+        if (autoCommit) {
+            transactionOpen = false;
+        }
+    }
+
+    /**
+     * New physical connection is used, it has no state
+     */
+    public synchronized void reset() {
+        sessionStateChanged = false;
+        transactionOpen = false;
+    }
+
+    public synchronized boolean isSessionStateChanged() {
+        return sessionStateChanged;
+    }
+
+    public synchronized boolean isTransactionOpen() {
+        return transactionOpen;
+    }
+
+    /**
+     * Connection must stay with its context
+     */
+    public synchronized boolean isPinned() {
+        return sessionStateChanged || transactionOpen;
+    }
+}
@@ -29,6 +29,7 @@ import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
 import org.jkiss.dbeaver.model.impl.SimpleExclusiveLock;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.ParallelTaskJob;
 import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 
@@ -53,12 +54,18 @@ public class JDBCRemoteInstance implements DBSInstance {
     @NotNull
     private final List<JDBCExecutionContext> allContexts = new ArrayList<>();
     private final DBPExclusiveResource exclusiveLock = new SimpleExclusiveLock();
+    // Job which opens metadata context in parallel with main context. It doesn't need exclusive lock.
+    @Nullable
+    private volatile ParallelTaskJob parallelBootstrapJob;
+    // Physical connections shared by pooled editor contexts. Created on demand
+    @Nullable
+    private JDBCConnectionPool editorConnectionPool;
 
     protected JDBCRemoteInstance(@NotNull DBRProgressMonitor monitor, @NotNull JDBCDataSource dataSource, boolean initContext)
         throws DBException {
         this.dataSource = dataSource;
         if (initContext) {
-            initializeMainContext(monitor);
+            initializeContexts(monitor);
         }
     }
 
@@ -111,26 +118,8 @@ public class JDBCRemoteInstance implements DBSInstance {
         if (this.metaContext != null) {
             return this.metaContext;
         }
-        
-        DBPDataSourceContainer container = dataSource.getContainer();
-        SeparateConnectionBehavior behavior = SeparateConnectionBehavior.parse(
-            container.getPreferenceStore().getString(ModelPreferences.META_SEPARATE_CONNECTION)
-        );
-        boolean isMetaConnectionSeparate;
-        switch (behavior) {
-            case ALWAYS:
-                isMetaConnectionSeparate = true;
-                break;
-            case NEVER:
-                isMetaConnectionSeparate = false;
-                break;
-            case DEFAULT:
-            default: 
-                isMetaConnectionSeparate = !container.getDriver().isEmbedded() && !container.isForceUseSingleConnection();
-                break;
-        }
 
-        if (isMetaConnectionSeparate) {
+        if (isMetaConnectionSeparate()) {
             // FIXME: do not sync expensive operations
             //synchronized (allContexts) {
                 this.metaContext = dataSource.createExecutionContext(this, getMetadataContextName());
@@ -142,6 +131,93 @@ public class JDBCRemoteInstance implements DBSInstance {
         }
     }
 
+    /**
+     * Opens main and metadata contexts.
+     * If metadata context uses a separate connection and parallel bootstrap is enabled then it is opened in a separate job
+     * simultaneously with the main context. Connection open is mostly network latency, so it saves
+     * one round of handshake and authentication for remote servers.
+     */
+    protected void initializeContexts(@NotNull DBRProgressMonitor monitor) throws DBException {
+        if (sharedInstance != null) {
+            return;
+        }
+        if (executionContext != null || metaContext != null || !isMetaConnectionSeparate() ||
+            !dataSource.getContainer().getPreferenceStore().getBoolean(ModelPreferences.CONNECTION_PARALLEL_BOOTSTRAP)
+        ) {
+            initializeMainContext(monitor);
+            initializeMetaContext(monitor);
+            return;
+        }
+
+        JDBCExecutionContext newMetaContext = dataSource.createExecutionContext(this, getMetadataContextName());
+        ParallelTaskJob metaConnectJob = new ParallelTaskJob(
+            "Open " + getMetadataContextName() + " context of " + dataSource.getName(),
+            monitor,
+            metaMonitor -> {
+                try {
+                    newMetaContext.connect(metaMonitor, true, null, null, true);
+                } catch (DBCException e) {
+                    throw new InvocationTargetException(e);
+                }
+            });
+        // Exclusive lock is held by the current thread for both contexts
+        Object lock = exclusiveLock.acquireExclusiveLock();
+        try {
+            parallelBootstrapJob = metaConnectJob;
+            metaConnectJob.schedule();
+            try {
+                initializeMainContext(monitor);
+            } catch (Throwable e) {
+                // Instance is not usable, metadata connection must be closed once it is open
+                try {
+                    metaConnectJob.waitForResult();
+                } catch (InvocationTargetException e1) {
+                    log.debug("Error opening metadata context: " + e1.getTargetException().getMessage());
+                }
+                newMetaContext.close();
+                throw e;
+            }
+            try {
+                metaConnectJob.waitForResult();
+            } catch (InvocationTargetException e) {
+                // Partially opened connection must be released as well
+                newMetaContext.close();
+                if (e.getTargetException() instanceof DBCException dbce) {
+                    throw dbce;
+                }
+                throw new DBCException("Error opening metadata context", e.getTargetException());
+            }
+            this.metaContext = newMetaContext;
+        } finally {
+            parallelBootstrapJob = null;
+            exclusiveLock.releaseExclusiveLock(lock);
+        }
+    }
+
+    protected boolean isMetaConnectionSeparate() {
+        DBPDataSourceContainer container = dataSource.getContainer();
+        SeparateConnectionBehavior behavior = SeparateConnectionBehavior.parse(
+            container.getPreferenceStore().getString(ModelPreferences.META_SEPARATE_CONNECTION)
+        );
+        switch (behavior) {
+            case ALWAYS:
+                return true;
+            case NEVER:
+                return false;
+            case DEFAULT:
+            default:
+                return !container.getDriver().isEmbedded() && !container.isForceUseSingleConnection();
+        }
+    }
+
+    /**
+     * Returns true if current thread opens a context in parallel with the thread which holds instance exclusive lock
+     */
+    boolean isParallelBootstrapThread() {
+        ParallelTaskJob job = parallelBootstrapJob;
+        return job != null && job.isTaskThread();
+    }
+
     @NotNull
     protected String getMainContextName() {
         return JDBCExecutionContext.TYPE_MAIN;
@@ -158,7 +234,18 @@ public class JDBCRemoteInstance implements DBSInstance {
         if (sharedInstance != null) {
             return sharedInstance.openIsolatedContext(monitor, purpose, initFrom);
         }
+        return openContext(monitor, purpose, initFrom, null);
+    }
+
+    @NotNull
+    private JDBCExecutionContext openContext(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull String purpose,
+        @Nullable DBCExecutionContext initFrom,
+        @Nullable JDBCConnectionPool connectionPool
+    ) throws DBException {
         JDBCExecutionContext context = dataSource.createExecutionContext(this, purpose);
+        context.setConnectionPool(connectionPool);
         DBExecUtils.tryExecuteRecover(monitor, getDataSource(), monitor1 -> {
             try {
                 context.connect(monitor1, null, null, (JDBCExecutionContext) initFrom, true);
@@ -169,6 +256,36 @@ public class JDBCRemoteInstance implements DBSInstance {
         return context;
     }
 
+    /**
+     * Opens a pooled context if editor connection pool is enabled and editors start in auto-commit mode.
+     * Pooled context returns its physical connection to the pool when it doesn't execute anything.
+     * Connection is pinned to the context while it has an open transaction or once it changes session state.
+     */
+    @NotNull
+    @Override
+    public DBCExecutionContext openEditorContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose, @Nullable DBCExecutionContext initFrom) throws DBException {
+        if (sharedInstance != null) {
+            return sharedInstance.openEditorContext(monitor, purpose, initFrom);
+        }
+        DBPDataSourceContainer container = dataSource.getContainer();
+        if (!container.getPreferenceStore().getBoolean(ModelPreferences.CONNECTION_EDITOR_POOL_ENABLED) ||
+            !container.isDefaultAutoCommit() || container.isForceUseSingleConnection() || container.getDriver().isEmbedded()
+        ) {
+            return openIsolatedContext(monitor, purpose, initFrom);
+        }
+        return openContext(monitor, purpose, initFrom, getEditorConnectionPool());
+    }
+
+    @NotNull
+    private synchronized JDBCConnectionPool getEditorConnectionPool() {
+        if (editorConnectionPool == null) {
+            editorConnectionPool = new JDBCConnectionPool(
+                dataSource,
+                dataSource.getContainer().getPreferenceStore().getInt(ModelPreferences.CONNECTION_EDITOR_POOL_SIZE));
+        }
+        return editorConnectionPool;
+    }
+
     @NotNull
     @Override
     public JDBCExecutionContext[] getAllContexts() {
@@ -239,6 +356,16 @@ public class JDBCRemoteInstance implements DBSInstance {
             context.close();
             monitor.worked(1);
         }
+        if (!keepMeta) {
+            JDBCConnectionPool pool;
+            synchronized (this) {
+                pool = editorConnectionPool;
+                editorConnectionPool = null;
+            }
+            if (pool != null) {
+                pool.close();
+            }
+        }
     }
 
     void addContext(JDBCExecutionContext context) {
@@ -0,0 +1,573 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCDatabaseMetaData;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCResultSetImpl;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Persistent cache of server capabilities.
+ * <p>
+ * Keeps results of connect-time probes: scalar {@link java.sql.DatabaseMetaData} calls made by dialect and
+ * data source info initialization, data source specific probe queries (see {@link JDBCDataSource#readCapability})
+ * and rows of connect-time catalog queries, e.g. data type tables (see {@link JDBCDataSource#readCapabilityRows}).
+ * Cache is bound to the connection identity (driver, URL, user) and to the server version reported by the driver,
+ * so it is dropped after server upgrade. On reconnect cached values are used instead of server round trips and then
+ * re-validated in background. Changed values are saved and applied on the next connect.
+ */
+public class JDBCCapabilityCache {
+
+    private static final Log log = Log.getLog(JDBCCapabilityCache.class);
+
+    private static final int FILE_MAGIC = 0x44424350; // DBCP
+    private static final int FILE_VERSION = 2;
+    private static final String CACHE_FOLDER = "capability-cache";
+    private static final long VALIDATE_DELAY = 1000;
+
+    // These depend on the connection state or are reported by the driver without server round trips
+    private static final Set<String> NOT_CACHED_METHODS = Set.of(
+        "getConnection", "isReadOnly", "getUserName", "unwrap", "isWrapperFor", "hashCode", "equals", "toString",
+        "getDatabaseProductVersion", "getDatabaseMajorVersion", "getDatabaseMinorVersion",
+        "getDriverVersion", "getDriverMajorVersion", "getDriverMinorVersion"
+    );
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_BOOLEAN = 2;
+    private static final byte TYPE_INT = 3;
+    private static final byte TYPE_LONG = 4;
+
+    /**
+     * Capability probe. Returned value must be a string, boolean, integer, long or null.
+     */
+    public interface Probe<T> {
+        T read(@NotNull JDBCSession session) throws Exception;
+    }
+
+    private record MetaDataCall(@NotNull String key, @NotNull Method method, @Nullable Object[] args) {
+    }
+
+    private record ProbeCall(@NotNull String key, @NotNull Probe<?> probe) {
+    }
+
+    private record RowsCall(@NotNull String key, @NotNull String query) {
+    }
+
+    @NotNull
+    private final JDBCDataSource dataSource;
+    @NotNull
+    private final Path cacheFile;
+    @NotNull
+    private final String identity;
+    @NotNull
+    private String serverVersion = "";
+    private final Map<String, Object> values = new HashMap<>();
+    private final Map<String, JDBCMetadataSnapshot.Entry> rows = new HashMap<>();
+    // Cached rows are used once per connection, following reads go to the server
+    private final Set<String> replayedRows = new HashSet<>();
+    // Keys of persisted values which were not validated yet
+    private final Set<String> notValidatedKeys = new HashSet<>();
+    // Persisted values used since the last validation
+    private final List<Object> usedValues = new ArrayList<>();
+    private final ValidateCapabilitiesJob validateJob;
+    private int hitCount, missCount;
+    private boolean dirty;
+
+    private JDBCCapabilityCache(@NotNull JDBCDataSource dataSource, @NotNull Path cacheFile) {
+        this.dataSource = dataSource;
+        this.cacheFile = cacheFile;
+        this.identity = makeIdentity(dataSource.getContainer());
+        this.validateJob = new ValidateCapabilitiesJob(this);
+    }
+
+    /**
+     * Creates capability cache for the data source if it is enabled. Loads persisted values.
+     * Cached values must not be used until {@link #checkServerVersion(DatabaseMetaData)} is called.
+     */
+    @Nullable
+    public static JDBCCapabilityCache openCache(@NotNull JDBCDataSource dataSource) {
+        DBPDataSourceContainer container = dataSource.getContainer();
+        if (!container.getPreferenceStore().getBoolean(ModelPreferences.META_CAPABILITY_CACHE_ENABLED) ||
+            container.isTemporary() || container.getProject() == null)
+        {
+            return null;
+        }
+        Path folder = container.getProject().getMetadataFolder(true).resolve(CACHE_FOLDER);
+        JDBCCapabilityCache cache = new JDBCCapabilityCache(dataSource, folder.resolve(container.getId() + ".bin"));
+        if (Files.exists(cache.cacheFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cache.cacheFile)))) {
+                cache.read(in);
+            } catch (Exception e) {
+                log.debug("Error reading capability cache of '" + container.getName() + "'", e);
+                cache.clear();
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Compares server version reported by the driver with the version cached values were read from.
+     * Cached values are dropped if the version was changed.
+     * Returns false if server version can't be read, in this case cache must not be used.
+     */
+    public boolean checkServerVersion(@NotNull DatabaseMetaData metaData) {
+        String version;
+        try {
+            version = CommonUtils.notEmpty(metaData.getDatabaseProductVersion());
+        } catch (Throwable e) {
+            log.debug("Error reading server version, capability cache is disabled", e);
+            return false;
+        }
+        synchronized (this) {
+            if (!version.equals(serverVersion)) {
+                if (!values.isEmpty() || !rows.isEmpty()) {
+                    log.debug("Server version of '" + dataSource.getContainer().getName() + "' changed (" +
+                        serverVersion + " -> " + version + "). Capability cache is reset.");
+                }
+                clear();
+                serverVersion = version;
+                dirty = true;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Wraps metadata. Scalar capability methods of the returned metadata are served from the cache.
+     */
+    @NotNull
+    public JDBCDatabaseMetaData wrapMetaData(@NotNull JDBCDatabaseMetaData metaData) {
+        return (JDBCDatabaseMetaData) Proxy.newProxyInstance(
+            JDBCCapabilityCache.class.getClassLoader(),
+            new Class[]{JDBCDatabaseMetaData.class},
+            (proxy, method, args) -> {
+                if (!isCacheableMethod(method)) {
+                    return invokeMethod(metaData, method, args);
+                }
+                String key = makeMethodKey(method, args);
+                synchronized (this) {
+                    if (values.containsKey(key)) {
+                        hitCount++;
+                        if (notValidatedKeys.remove(key)) {
+                            usedValues.add(new MetaDataCall(key, method, args));
+                        }
+                        Object value = values.get(key);
+                        return value == null && method.getReturnType().isPrimitive() ? invokeMethod(metaData, method, args) : value;
+                    }
+                }
+                Object value = invokeMethod(metaData, method, args);
+                synchronized (this) {
+                    missCount++;
+                    putValue(key, value);
+                }
+                return value;
+            });
+    }
+
+    /**
+     * Returns cached probe value or runs the probe
+     */
+    public <T> T readCapability(@NotNull JDBCSession session, @NotNull String key, @NotNull Probe<T> probe) throws Exception {
+        String probeKey = "probe:" + key;
+        synchronized (this) {
+            if (values.containsKey(probeKey)) {
+                hitCount++;
+                if (notValidatedKeys.remove(probeKey)) {
+                    usedValues.add(new ProbeCall(probeKey, probe));
+                }
+                @SuppressWarnings("unchecked")
+                T value = (T) values.get(probeKey);
+                return value;
+            }
+        }
+        T value = probe.read(session);
+        synchronized (this) {
+            missCount++;
+            putValue(probeKey, value);
+        }
+        scheduleValidation();
+        return value;
+    }
+
+    /**
+     * Returns result set over cached rows of the query or executes the query and caches its rows.
+     * Cached rows are used once per connection, following calls (e.g. explicit refresh) read from the server.
+     * Query results must be storable in the metadata snapshot (see {@link JDBCMetadataSnapshot}).
+     */
+    @NotNull
+    public JDBCResultSet readCapabilityRows(@NotNull JDBCSession session, @NotNull String key, @NotNull String query) throws SQLException {
+        String rowsKey = "rows:" + key + ":" + query;
+        synchronized (this) {
+            JDBCMetadataSnapshot.Entry entry = rows.get(rowsKey);
+            if (entry != null && replayedRows.add(rowsKey)) {
+                hitCount++;
+                if (notValidatedKeys.remove(rowsKey)) {
+                    usedValues.add(new RowsCall(rowsKey, query));
+                }
+                return JDBCResultSetImpl.makeResultSet(session, null, JDBCMetadataSnapshotResultSet.create(entry), "Capability cache", true);
+            }
+        }
+        JDBCMetadataSnapshot.Entry entry = readRows(session, query);
+        synchronized (this) {
+            missCount++;
+            replayedRows.add(rowsKey);
+            if (!session.getProgressMonitor().isCanceled()) {
+                rows.put(rowsKey, entry);
+                notValidatedKeys.remove(rowsKey);
+                dirty = true;
+            }
+        }
+        scheduleValidation();
+        return JDBCResultSetImpl.makeResultSet(session, null, JDBCMetadataSnapshotResultSet.create(entry), "Capability cache", true);
+    }
+
+    /**
+     * Saves new values and validates persisted values which were used.
+     * Called when data source initialization is finished and after each probe which missed the cache.
+     */
+    public void scheduleValidation() {
+        synchronized (this) {
+            if (!dirty && usedValues.isEmpty()) {
+                return;
+            }
+        }
+        validateJob.schedule(VALIDATE_DELAY);
+    }
+
+    public synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized int getMissCount() {
+        return missCount;
+    }
+
+    private void validate(@NotNull DBRProgressMonitor monitor) throws Throwable {
+        List<Object> toValidate;
+        synchronized (this) {
+            toValidate = new ArrayList<>(usedValues);
+            usedValues.clear();
+        }
+        if (!toValidate.isEmpty()) {
+            int changed = 0;
+            try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Validate server capabilities")) {
+                session.enableLogging(false);
+                JDBCDatabaseMetaData metaData = null;
+                for (Object call : toValidate) {
+                    if (call instanceof RowsCall rowsCall) {
+                        JDBCMetadataSnapshot.Entry entry = readRows(session, rowsCall.query());
+                        synchronized (this) {
+                            JDBCMetadataSnapshot.Entry cachedEntry = rows.get(rowsCall.key());
+                            if (cachedEntry == null || !Arrays.equals(toBytes(cachedEntry), toBytes(entry))) {
+                                rows.put(rowsCall.key(), entry);
+                                dirty = true;
+                                changed++;
+                            }
+                        }
+                        continue;
+                    }
+                    String key;
+                    Object value;
+                    if (call instanceof MetaDataCall metaDataCall) {
+                        key = metaDataCall.key();
+                        if (metaData == null) {
+                            metaData = session.getMetaData();
+                        }
+                        value = invokeMethod(metaData, metaDataCall.method(), metaDataCall.args());
+                    } else {
+                        ProbeCall probeCall = (ProbeCall) call;
+                        key = probeCall.key();
+                        value = probeCall.probe().read(session);
+                    }
+                    synchronized (this) {
+                        if (!Objects.equals(values.get(key), value)) {
+                            putValue(key, value);
+                            changed++;
+                        }
+                    }
+                }
+            }
+            if (changed > 0) {
+                log.debug("Server capabilities of '" + dataSource.getContainer().getName() + "' changed (" + changed +
+                    " values). They will be applied on the next connect.");
+            }
+        }
+        save();
+    }
+
+    private void putValue(@NotNull String key, @Nullable Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean || value instanceof Integer || value instanceof Long) {
+            values.put(key, value);
+            dirty = true;
+        }
+    }
+
+    private void clear() {
+        values.clear();
+        rows.clear();
+        notValidatedKeys.clear();
+        usedValues.clear();
+    }
+
+    @NotNull
+    private static JDBCMetadataSnapshot.Entry readRows(@NotNull JDBCSession session, @NotNull String query) throws SQLException {
+        try (JDBCPreparedStatement dbStat = session.prepareStatement(query)) {
+            JDBCMetadataSnapshot.Entry entry = JDBCMetadataSnapshot.readEntry(session.getProgressMonitor(), null, dbStat.executeQuery());
+            if (entry == null) {
+                throw new SQLException("Query result can't be stored in capability cache");
+            }
+            return entry;
+        }
+    }
+
+    ////////////////////////////////////////////////
+    // Persistence
+
+    /**
+     * Saves cache if it was changed
+     */
+    public void save() {
+        Map<String, Object> valuesCopy;
+        Map<String, JDBCMetadataSnapshot.Entry> rowsCopy;
+        String version;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            valuesCopy = new LinkedHashMap<>(values);
+            rowsCopy = new LinkedHashMap<>(rows);
+            version = serverVersion;
+            dirty = false;
+        }
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path tmpFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_VERSION);
+                out.writeUTF(identity);
+                writeLongString(out, version);
+                writeValues(out, valuesCopy);
+                JDBCMetadataSnapshot.writeEntries(out, rowsCopy);
+            }
+            Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.debug("Error saving capability cache of '" + dataSource.getContainer().getName() + "'", e);
+        }
+    }
+
+    private void read(@NotNull DataInputStream in) throws IOException {
+        if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+            throw new IOException("Bad capability cache file format");
+        }
+        if (!identity.equals(in.readUTF())) {
+            // Connection settings were changed
+            return;
+        }
+        serverVersion = readLongString(in);
+        values.putAll(readValues(in));
+        rows.putAll(JDBCMetadataSnapshot.readEntries(in));
+        notValidatedKeys.addAll(values.keySet());
+        notValidatedKeys.addAll(rows.keySet());
+    }
+
+    /**
+     * Reads values written by {@link #writeValues(DataOutputStream, Map)}
+     */
+    @NotNull
+    public static Map<String, Object> readValues(@NotNull DataInputStream in) throws IOException {
+        Map<String, Object> values = new LinkedHashMap<>();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String key = readLongString(in);
+            values.put(key, readValue(in));
+        }
+        return values;
+    }
+
+    /**
+     * Writes capability values. Values must be strings, booleans, integers, longs or nulls.
+     */
+    public static void writeValues(@NotNull DataOutputStream out, @NotNull Map<String, Object> values) throws IOException {
+        out.writeInt(values.size());
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            writeLongString(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private static void writeValue(@NotNull DataOutputStream out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof String str) {
+            out.writeByte(TYPE_STRING);
+            writeLongString(out, str);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof Integer number) {
+            out.writeByte(TYPE_INT);
+            out.writeInt(number);
+        } else if (value instanceof Long number) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong(number);
+        } else {
+            throw new IOException("Unsupported capability value type: " + value.getClass().getName());
+        }
+    }
+
+    @Nullable
+    private static Object readValue(@NotNull DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case TYPE_NULL -> null;
+            case TYPE_STRING -> readLongString(in);
+            case TYPE_BOOLEAN -> in.readBoolean();
+            case TYPE_INT -> in.readInt();
+            case TYPE_LONG -> in.readLong();
+            default -> throw new IOException("Bad value type: " + type);
+        };
+    }
+
+    // Keyword lists and queries may be longer than writeUTF limit
+    private static void writeLongString(@NotNull DataOutputStream out, @NotNull String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @NotNull
+    private static String readLongString(@NotNull DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @NotNull
+    private static byte[] toBytes(@NotNull JDBCMetadataSnapshot.Entry entry) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            JDBCMetadataSnapshot.writeEntries(out, Map.of("", entry));
+        }
+        return buffer.toByteArray();
+    }
+
+    ////////////////////////////////////////////////
+    // Utils
+
+    private static boolean isCacheableMethod(@NotNull Method method) {
+        if (NOT_CACHED_METHODS.contains(method.getName())) {
+            return false;
+        }
+        Class<?> returnType = method.getReturnType();
+        if (returnType != String.class && returnType != boolean.class && returnType != int.class && returnType != long.class) {
+            return false;
+        }
+        for (Class<?> paramType : method.getParameterTypes()) {
+            if (paramType != int.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @NotNull
+    private static String makeMethodKey(@NotNull Method method, @Nullable Object[] args) {
+        StringBuilder key = new StringBuilder(method.getName());
+        if (args != null && args.length > 0) {
+            key.append('(');
+            for (int i = 0; i < args.length; i++) {
+                if (i > 0) key.append(',');
+                key.append(args[i]);
+            }
+            key.append(')');
+        }
+        return key.toString();
+    }
+
+    private static Object invokeMethod(@NotNull Object target, @NotNull Method method, @Nullable Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @NotNull
+    private static String makeIdentity(@NotNull DBPDataSourceContainer container) {
+        DBPConnectionConfiguration cfg = container.getActualConnectionConfiguration();
+        return container.getDriver().getFullId() + "|" +
+            CommonUtils.notEmpty(cfg.getUrl()) + "|" +
+            CommonUtils.notEmpty(cfg.getHostName()) + ":" + CommonUtils.notEmpty(cfg.getHostPort()) + "|" +
+            CommonUtils.notEmpty(cfg.getDatabaseName()) + "|" +
+            CommonUtils.notEmpty(cfg.getUserName());
+    }
+
+    private static class ValidateCapabilitiesJob extends AbstractJob {
+        private final JDBCCapabilityCache cache;
+
+        ValidateCapabilitiesJob(@NotNull JDBCCapabilityCache cache) {
+            super("Validate server capabilities of '" + cache.dataSource.getContainer().getName() + "'");
+            this.cache = cache;
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            try {
+                cache.validate(monitor);
+            } catch (Throwable e) {
+                // Do not trust cache anymore
+                log.debug("Error validating capability cache of '" + cache.dataSource.getContainer().getName() + "'", e);
+                synchronized (cache) {
+                    cache.clear();
+                    cache.dirty = true;
+                }
+                cache.save();
+            }
+            return Status.OK_STATUS;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.jfr.JFROperation;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.struct.cache.AbstractObjectCache;
 import org.jkiss.dbeaver.model.struct.cache.DBSCompositeCache;
@@ -292,14 +293,30 @@ public abstract class JDBCCompositeCache<
         // Load index columns
         DBPDataSource dataSource = owner.getDataSource();
         assert (dataSource != null);
+        JFROperation operation = JFROperation.begin(
+            JFROperation.Kind.METADATA_LOAD,
+            dataSource,
+            getClass().getSimpleName(),
+            forParent != null ? forParent.getName() : owner.getName());
         monitor.beginTask("Load composite cache", 1);
         try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load composite objects")) {
+            session.enableStatementCache(true);
 
-            JDBCStatement dbStat = prepareObjectsStatement(session, owner, forParent);
-            dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+            JDBCMetadataSnapshot snapshot = JDBCMetadataSnapshot.getSnapshot(owner);
+            JDBCResultSet replayResult = snapshot == null ? null : snapshot.openReplay(session, this, owner, forParent);
+            JDBCStatement dbStat = replayResult != null ? null : prepareObjectsStatement(session, owner, forParent);
             try {
-                dbStat.executeStatement();
-                JDBCResultSet dbResult = dbStat.getResultSet();
+                JDBCResultSet dbResult;
+                if (dbStat == null) {
+                    dbResult = replayResult;
+                } else {
+                    dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                    dbStat.executeStatement();
+                    dbResult = dbStat.getResultSet();
+                    if (dbResult != null && snapshot != null) {
+                        dbResult = snapshot.recordResultSet(session, this, owner, forParent, dbResult);
+                    }
+                }
                 if (dbResult != null) try {
                     while (dbResult.next()) {
                         if (monitor.isCanceled()) {
@@ -379,18 +396,29 @@ public abstract class JDBCCompositeCache<
                 }
             }
             finally {
-                dbStat.close();
+                if (dbStat != null) {
+                    dbStat.close();
+                }
             }
         }
         catch (SQLException ex) {
             if (ex instanceof SQLFeatureNotSupportedException) {
                 log.debug("Error reading cache " + getClass().getSimpleName() + ", feature not supported: " + ex.getMessage());
             } else {
+                operation.markFailed();
                 throw new DBException(ex, dataSource);
             }
         }
         finally {
             monitor.done();
+            if (operation.isActive()) {
+                int objectCount = 0;
+                for (Map<String, ObjectInfo> objectMap : parentObjectMap.values()) {
+                    objectCount += objectMap.size();
+                }
+                operation.setCount(objectCount);
+                operation.close();
+            }
         }
 
         if (monitor.isCanceled()) {
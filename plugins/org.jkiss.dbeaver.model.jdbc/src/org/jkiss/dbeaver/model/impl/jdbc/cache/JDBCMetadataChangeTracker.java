@@ -0,0 +1,41 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Data source which can cheaply detect metadata changes.
+ * Only data sources implementing this interface may use persistent metadata snapshots.
+ */
+public interface JDBCMetadataChangeTracker {
+
+    /**
+     * Reads change markers of all schemas (or catalogs if database has no schemas) of the default database.
+     * Marker is an opaque string (e.g. last DDL timestamp and object count) which changes whenever
+     * objects in the schema are created, dropped or altered.
+     *
+     * @return map of schema name to change marker
+     */
+    @NotNull
+    Map<String, String> readMetadataChangeMarkers(@NotNull JDBCSession session) throws SQLException;
+
+}
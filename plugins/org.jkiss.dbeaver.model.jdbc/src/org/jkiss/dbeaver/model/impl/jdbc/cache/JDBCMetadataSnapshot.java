@@ -0,0 +1,726 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCResultSetImpl;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.cache.AbstractObjectCache;
+import org.jkiss.dbeaver.model.struct.rdb.DBSCatalog;
+import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.*;
+import java.sql.Date;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Persistent metadata snapshot of a data source.
+ * <p>
+ * Snapshot keeps raw rows of metadata cache queries (see {@link JDBCObjectCache} and {@link JDBCCompositeCache}).
+ * After reconnect these rows are replayed into cache loaders instead of querying the server, so objects are
+ * constructed by the regular fetch code. Each entry is replayed once per session: following cache refreshes go
+ * to the server and re-record the entry.
+ * <p>
+ * Entries are grouped by schema (or catalog). Right after connect the snapshot is validated in background
+ * by comparing schema change markers (see {@link JDBCMetadataChangeTracker}). Entries of changed schemas are
+ * dropped and caches which were already filled from them are cleared.
+ */
+public class JDBCMetadataSnapshot {
+
+    private static final Log log = Log.getLog(JDBCMetadataSnapshot.class);
+
+    private static final int FILE_MAGIC = 0x44424D53; // DBMS
+    private static final int FILE_VERSION = 2;
+    private static final String SNAPSHOT_FOLDER = "metadata-snapshots";
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_DECIMAL = 5;
+    private static final byte TYPE_BOOLEAN = 6;
+    private static final byte TYPE_TIMESTAMP = 7;
+    private static final byte TYPE_DATE = 8;
+    private static final byte TYPE_TIME = 9;
+    private static final byte TYPE_BYTES = 10;
+    private static final byte TYPE_SHORT = 11;
+    private static final byte TYPE_FLOAT = 12;
+    private static final byte TYPE_SQL_ARRAY = 13;
+    private static final byte TYPE_JAVA_ARRAY = 14;
+
+    /**
+     * Array element types which are kept as is. Arrays of other types are stored as String[] or Object[].
+     */
+    private static final Map<String, Class<?>> ARRAY_COMPONENT_TYPES = new HashMap<>();
+
+    static {
+        for (Class<?> type : new Class[]{
+            Object.class, String.class, Integer.class, Long.class, Short.class, Double.class, Float.class,
+            BigDecimal.class, Boolean.class, Number.class, Timestamp.class, Date.class, Time.class})
+        {
+            ARRAY_COMPONENT_TYPES.put(type.getName(), type);
+        }
+    }
+
+    /**
+     * Rows of a single metadata query
+     */
+    public static class Entry {
+        @Nullable
+        final String scope;
+        @NotNull
+        final String[] columnNames;
+        final int[] columnTypes;
+        @NotNull
+        final List<Object[]> rows;
+        volatile boolean replayed;
+
+        public Entry(@Nullable String scope, @NotNull String[] columnNames, int[] columnTypes, @NotNull List<Object[]> rows) {
+            this.scope = scope;
+            this.columnNames = columnNames;
+            this.columnTypes = columnTypes;
+            this.rows = rows;
+        }
+    }
+
+    private record ReplayedCache(@Nullable String scope, @NotNull AbstractObjectCache<?, ?> cache) {
+    }
+
+    @NotNull
+    private final JDBCDataSource dataSource;
+    @NotNull
+    private final Path snapshotFile;
+    @NotNull
+    private final String serverVersion;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final List<ReplayedCache> replayedCaches = new ArrayList<>();
+    private Map<String, String> changeMarkers = new HashMap<>();
+    private volatile boolean validated;
+    private boolean dirty;
+
+    private JDBCMetadataSnapshot(@NotNull JDBCDataSource dataSource, @NotNull Path snapshotFile) {
+        this.dataSource = dataSource;
+        this.snapshotFile = snapshotFile;
+        this.serverVersion = CommonUtils.notEmpty(dataSource.getInfo().getDatabaseProductVersion());
+    }
+
+    /**
+     * Creates snapshot for the data source if snapshots are enabled and supported.
+     * Loads persisted snapshot and starts background validation.
+     */
+    @Nullable
+    public static JDBCMetadataSnapshot openSnapshot(@NotNull JDBCDataSource dataSource) {
+        DBPDataSourceContainer container = dataSource.getContainer();
+        if (!(dataSource instanceof JDBCMetadataChangeTracker) ||
+            !container.getPreferenceStore().getBoolean(ModelPreferences.META_SNAPSHOT_ENABLED) ||
+            container.isTemporary())
+        {
+            return null;
+        }
+        Path folder = container.getProject().getMetadataFolder(true).resolve(SNAPSHOT_FOLDER);
+        JDBCMetadataSnapshot snapshot = new JDBCMetadataSnapshot(dataSource, folder.resolve(container.getId() + ".bin"));
+        if (Files.exists(snapshot.snapshotFile)) {
+            long startTime = System.currentTimeMillis();
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(snapshot.snapshotFile))))) {
+                snapshot.read(in);
+                log.debug("Metadata snapshot of '" + container.getName() + "' loaded (" + snapshot.entries.size() + " entries, " +
+                    (System.currentTimeMillis() - startTime) + "ms)");
+            } catch (Exception e) {
+                log.debug("Error reading metadata snapshot of '" + container.getName() + "'", e);
+                snapshot.entries.clear();
+                snapshot.changeMarkers.clear();
+            }
+        }
+        new ValidateSnapshotJob(snapshot).schedule();
+        return snapshot;
+    }
+
+    /**
+     * Returns snapshot which serves the specified cache owner.
+     * Objects of non-default instances are never snapshotted because change markers are read from the default one.
+     */
+    @Nullable
+    static JDBCMetadataSnapshot getSnapshot(@NotNull DBSObject owner) {
+        if (owner.getDataSource() instanceof JDBCDataSource jdbcDataSource && owner.isPersisted()) {
+            JDBCMetadataSnapshot snapshot = jdbcDataSource.getMetadataSnapshot();
+            if (snapshot != null && DBUtils.getObjectOwnerInstance(owner) == jdbcDataSource.getDefaultInstance()) {
+                return snapshot;
+            }
+        }
+        return null;
+    }
+
+    @NotNull
+    static String makeKey(@NotNull Object cache, @NotNull DBSObject owner, @Nullable DBSObject parent) {
+        String key = cache.getClass().getName() + "|" + DBUtils.getObjectFullId(owner);
+        return parent == null ? key : key + "|" + DBUtils.getObjectFullId(parent);
+    }
+
+    /**
+     * Opens result set over snapshot rows. Returns null if there is no snapshot data for this cache.
+     */
+    @Nullable
+    JDBCResultSet openReplay(
+        @NotNull JDBCSession session,
+        @NotNull AbstractObjectCache<?, ?> cache,
+        @NotNull DBSObject owner,
+        @Nullable DBSObject parent
+    ) throws SQLException {
+        String key = makeKey(cache, owner, parent);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry == null || entry.replayed) {
+                return null;
+            }
+            entry.replayed = true;
+            replayedCaches.add(new ReplayedCache(entry.scope, cache));
+        }
+        return JDBCResultSetImpl.makeResultSet(session, null, JDBCMetadataSnapshotResultSet.create(entry), "Metadata snapshot", true);
+    }
+
+    /**
+     * Reads the whole result set into the snapshot and returns result set over read rows.
+     * If result set contains values which can't be stored then original result set is returned.
+     */
+    @NotNull
+    JDBCResultSet recordResultSet(
+        @NotNull JDBCSession session,
+        @NotNull AbstractObjectCache<?, ?> cache,
+        @NotNull DBSObject owner,
+        @Nullable DBSObject parent,
+        @NotNull JDBCResultSet resultSet
+    ) throws SQLException {
+        Entry entry = readEntry(session.getProgressMonitor(), getScope(owner), resultSet);
+        if (entry == null) {
+            return resultSet;
+        }
+        // Entry is considered replayed in this session, thus next cache refresh will read from the server
+        entry.replayed = true;
+        if (!session.getProgressMonitor().isCanceled()) {
+            synchronized (this) {
+                entries.put(makeKey(cache, owner, parent), entry);
+                dirty = true;
+            }
+        }
+        return JDBCResultSetImpl.makeResultSet(session, null, JDBCMetadataSnapshotResultSet.create(entry), "Metadata snapshot", true);
+    }
+
+    /**
+     * Reads all rows of the result set and closes it.
+     * Returns null (and leaves result set open) if result set contains values which can't be stored.
+     */
+    @Nullable
+    static Entry readEntry(
+        @NotNull DBRProgressMonitor monitor,
+        @Nullable String scope,
+        @NotNull ResultSet resultSet
+    ) throws SQLException {
+        ResultSetMetaData rsMeta = resultSet.getMetaData();
+        int columnCount = rsMeta.getColumnCount();
+        String[] columnNames = new String[columnCount];
+        int[] columnTypes = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columnTypes[i] = rsMeta.getColumnType(i + 1);
+            if (!isStorableType(columnTypes[i])) {
+                return null;
+            }
+            columnNames[i] = CommonUtils.notEmpty(rsMeta.getColumnLabel(i + 1));
+        }
+        List<Object[]> rows = new ArrayList<>();
+        try {
+            while (resultSet.next()) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                Object[] row = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    row[i] = toStorableValue(resultSet.getObject(i + 1));
+                }
+                rows.add(row);
+            }
+        } finally {
+            resultSet.close();
+        }
+        return new Entry(scope, columnNames, columnTypes, rows);
+    }
+
+    /**
+     * Saves snapshot if it was changed. Called on disconnect.
+     */
+    public void close() {
+        synchronized (this) {
+            if (!dirty || !validated) {
+                return;
+            }
+            dirty = false;
+        }
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            Path tmpFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmpFile))))) {
+                write(out);
+            }
+            Files.move(tmpFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.debug("Error saving metadata snapshot of '" + dataSource.getContainer().getName() + "'", e);
+        }
+    }
+
+    /**
+     * Removes persisted snapshot
+     */
+    public void delete() {
+        synchronized (this) {
+            entries.clear();
+            dirty = false;
+        }
+        try {
+            Files.deleteIfExists(snapshotFile);
+        } catch (IOException e) {
+            log.debug("Error deleting metadata snapshot", e);
+        }
+    }
+
+    private void validate(@NotNull DBRProgressMonitor monitor) throws Exception {
+        Map<String, String> currentMarkers;
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Read metadata change markers")) {
+            currentMarkers = ((JDBCMetadataChangeTracker) dataSource).readMetadataChangeMarkers(session);
+        }
+        List<AbstractObjectCache<?, ?>> staleCaches = new ArrayList<>();
+        synchronized (this) {
+            boolean schemaListChanged = !currentMarkers.keySet().equals(changeMarkers.keySet());
+            Set<String> changedScopes = new HashSet<>();
+            for (Map.Entry<String, String> marker : currentMarkers.entrySet()) {
+                if (!CommonUtils.equalObjects(marker.getValue(), changeMarkers.get(marker.getKey()))) {
+                    changedScopes.add(marker.getKey());
+                }
+            }
+            int removed = 0;
+            for (Iterator<Entry> iter = entries.values().iterator(); iter.hasNext(); ) {
+                Entry entry = iter.next();
+                if (isStale(entry.scope, currentMarkers, changedScopes, schemaListChanged)) {
+                    iter.remove();
+                    removed++;
+                }
+            }
+            for (ReplayedCache replayed : replayedCaches) {
+                if (isStale(replayed.scope, currentMarkers, changedScopes, schemaListChanged)) {
+                    staleCaches.add(replayed.cache);
+                }
+            }
+            replayedCaches.clear();
+            if (removed > 0 || !currentMarkers.equals(changeMarkers)) {
+                dirty = true;
+            }
+            changeMarkers = currentMarkers;
+            validated = true;
+            if (removed > 0) {
+                log.debug("Metadata snapshot of '" + dataSource.getContainer().getName() + "': " + changedScopes.size() +
+                    " schema(s) changed, " + removed + " entries invalidated");
+            }
+        }
+        for (AbstractObjectCache<?, ?> cache : staleCaches) {
+            cache.clearCache();
+        }
+        if (!staleCaches.isEmpty()) {
+            DBUtils.fireObjectRefresh(dataSource.getContainer());
+        }
+    }
+
+    /**
+     * Entries of tracked schemas are stale if the schema was changed.
+     * Global entries (and entries of untracked containers, e.g. databases) are stale if anything was changed.
+     */
+    private static boolean isStale(
+        @Nullable String scope,
+        @NotNull Map<String, String> currentMarkers,
+        @NotNull Set<String> changedScopes,
+        boolean schemaListChanged
+    ) {
+        if (scope != null && currentMarkers.containsKey(scope)) {
+            return changedScopes.contains(scope);
+        }
+        return schemaListChanged || !changedScopes.isEmpty();
+    }
+
+    @Nullable
+    private static String getScope(@NotNull DBSObject owner) {
+        DBSObject scopeObject = owner instanceof DBSSchema ? owner : DBUtils.getParentOfType(DBSSchema.class, owner);
+        if (scopeObject == null) {
+            scopeObject = owner instanceof DBSCatalog ? owner : DBUtils.getParentOfType(DBSCatalog.class, owner);
+        }
+        return scopeObject == null ? null : scopeObject.getName();
+    }
+
+    private static boolean isStorableType(int sqlType) {
+        switch (sqlType) {
+            case Types.STRUCT:
+            case Types.REF:
+            case Types.DATALINK:
+            case Types.JAVA_OBJECT:
+            case Types.BLOB:
+            case Types.SQLXML:
+            case Types.ROWID:
+            case Types.REF_CURSOR:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    @Nullable
+    private static Object toStorableValue(@Nullable Object value) throws SQLException {
+        if (value == null || value instanceof String || value instanceof Integer || value instanceof Long ||
+            value instanceof Short || value instanceof Double || value instanceof Float || value instanceof BigDecimal ||
+            value instanceof Boolean || value instanceof Timestamp || value instanceof Date || value instanceof Time ||
+            value instanceof byte[])
+        {
+            return value;
+        }
+        if (value instanceof Byte b) {
+            return b.shortValue();
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        if (value instanceof Clob clob) {
+            return clob.getSubString(1, (int) clob.length());
+        }
+        if (value instanceof JDBCMetadataSnapshotArray) {
+            return value;
+        }
+        if (value instanceof Array array) {
+            // Arrays are read lazily by some readers (e.g. PostgreSQL ACLs), so they are copied into memory
+            Object elements = array.getArray();
+            return new JDBCMetadataSnapshotArray(
+                array.getBaseType(),
+                CommonUtils.notEmpty(array.getBaseTypeName()),
+                elements == null ? new Object[0] : toStorableArray(elements));
+        }
+        if (value instanceof java.util.Date date) {
+            return new Timestamp(date.getTime());
+        }
+        // Driver-specific objects (e.g. PGobject). Metadata readers access them as strings.
+        return value.toString();
+    }
+
+    /**
+     * Copies Java array of driver values into array of storable values.
+     * Element type is kept if it is a known type, otherwise String[] or Object[] is created.
+     */
+    @NotNull
+    private static Object[] toStorableArray(@NotNull Object array) throws SQLException {
+        int length = java.lang.reflect.Array.getLength(array);
+        Object[] elements = new Object[length];
+        boolean allStrings = true;
+        for (int i = 0; i < length; i++) {
+            Object element = java.lang.reflect.Array.get(array, i);
+            if (element != null && element.getClass().isArray() && !(element instanceof byte[])) {
+                element = toStorableArray(element);
+            } else {
+                element = toStorableValue(element);
+            }
+            elements[i] = element;
+            allStrings &= element == null || element instanceof String;
+        }
+        Class<?> componentType = array.getClass().getComponentType();
+        if (componentType.isPrimitive() || !ARRAY_COMPONENT_TYPES.containsValue(componentType)) {
+            componentType = allStrings ? String.class : Object.class;
+        }
+        Object[] result = (Object[]) java.lang.reflect.Array.newInstance(componentType, length);
+        System.arraycopy(elements, 0, result, 0, length);
+        return result;
+    }
+
+    ///////////////////////////////////////////////////////
+    // Serialization
+
+    private void read(@NotNull DataInputStream in) throws IOException {
+        if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+            throw new IOException("Unsupported snapshot format");
+        }
+        String version = readString(in);
+        if (!serverVersion.equals(version)) {
+            throw new IOException("Server version changed");
+        }
+        int markerCount = in.readInt();
+        for (int i = 0; i < markerCount; i++) {
+            changeMarkers.put(readString(in), readString(in));
+        }
+        entries.putAll(readEntries(in));
+    }
+
+    private void write(@NotNull DataOutputStream out) throws IOException {
+        Map<String, Entry> entriesCopy;
+        Map<String, String> markersCopy;
+        synchronized (this) {
+            entriesCopy = new LinkedHashMap<>(entries);
+            markersCopy = new LinkedHashMap<>(changeMarkers);
+        }
+        out.writeInt(FILE_MAGIC);
+        out.writeInt(FILE_VERSION);
+        writeString(out, serverVersion);
+        out.writeInt(markersCopy.size());
+        for (Map.Entry<String, String> marker : markersCopy.entrySet()) {
+            writeString(out, marker.getKey());
+            writeString(out, marker.getValue());
+        }
+        writeEntries(out, entriesCopy);
+    }
+
+    /**
+     * Reads entries written by {@link #writeEntries(DataOutputStream, Map)}
+     */
+    @NotNull
+    public static Map<String, Entry> readEntries(@NotNull DataInputStream in) throws IOException {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        int entryCount = in.readInt();
+        for (int i = 0; i < entryCount; i++) {
+            String key = readString(in);
+            String scope = in.readBoolean() ? readString(in) : null;
+            int columnCount = in.readInt();
+            String[] columnNames = new String[columnCount];
+            int[] columnTypes = new int[columnCount];
+            for (int k = 0; k < columnCount; k++) {
+                columnNames[k] = readString(in);
+                columnTypes[k] = in.readInt();
+            }
+            int rowCount = in.readInt();
+            List<Object[]> rows = new ArrayList<>(rowCount);
+            for (int r = 0; r < rowCount; r++) {
+                Object[] row = new Object[columnCount];
+                for (int k = 0; k < columnCount; k++) {
+                    row[k] = readValue(in);
+                }
+                rows.add(row);
+            }
+            entries.put(key, new Entry(scope, columnNames, columnTypes, rows));
+        }
+        return entries;
+    }
+
+    /**
+     * Writes entries in a compact binary form
+     */
+    public static void writeEntries(@NotNull DataOutputStream out, @NotNull Map<String, Entry> entries) throws IOException {
+        out.writeInt(entries.size());
+        for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+            Entry entry = mapEntry.getValue();
+            writeString(out, mapEntry.getKey());
+            out.writeBoolean(entry.scope != null);
+            if (entry.scope != null) {
+                writeString(out, entry.scope);
+            }
+            out.writeInt(entry.columnNames.length);
+            for (int k = 0; k < entry.columnNames.length; k++) {
+                writeString(out, entry.columnNames[k]);
+                out.writeInt(entry.columnTypes[k]);
+            }
+            out.writeInt(entry.rows.size());
+            for (Object[] row : entry.rows) {
+                for (Object value : row) {
+                    writeValue(out, value);
+                }
+            }
+        }
+    }
+
+    private static String readString(@NotNull DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(@NotNull DataOutputStream out, @NotNull String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Nullable
+    private static Object readValue(@NotNull DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return readString(in);
+            case TYPE_INT:
+                return in.readInt();
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_SHORT:
+                return in.readShort();
+            case TYPE_DOUBLE:
+                return in.readDouble();
+            case TYPE_FLOAT:
+                return in.readFloat();
+            case TYPE_DECIMAL:
+                return new BigDecimal(readString(in));
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+            case TYPE_TIMESTAMP: {
+                Timestamp ts = new Timestamp(in.readLong());
+                ts.setNanos(in.readInt());
+                return ts;
+            }
+            case TYPE_DATE:
+                return new Date(in.readLong());
+            case TYPE_TIME:
+                return new Time(in.readLong());
+            case TYPE_BYTES: {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return bytes;
+            }
+            case TYPE_SQL_ARRAY: {
+                int baseType = in.readInt();
+                String baseTypeName = readString(in);
+                Object elements = readValue(in);
+                if (!(elements instanceof Object[] array)) {
+                    throw new IOException("Bad array value");
+                }
+                return new JDBCMetadataSnapshotArray(baseType, baseTypeName, array);
+            }
+            case TYPE_JAVA_ARRAY: {
+                Class<?> componentType = ARRAY_COMPONENT_TYPES.getOrDefault(readString(in), Object.class);
+                int length = in.readInt();
+                Object[] array = (Object[]) java.lang.reflect.Array.newInstance(componentType, length);
+                for (int i = 0; i < length; i++) {
+                    Object element = readValue(in);
+                    if (element != null && !componentType.isInstance(element)) {
+                        throw new IOException("Bad array element type: " + element.getClass().getName());
+                    }
+                    array[i] = element;
+                }
+                return array;
+            }
+            default:
+                throw new IOException("Unsupported value type: " + type);
+        }
+    }
+
+    private static void writeValue(@NotNull DataOutputStream out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof String str) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, str);
+        } else if (value instanceof Integer intValue) {
+            out.writeByte(TYPE_INT);
+            out.writeInt(intValue);
+        } else if (value instanceof Long longValue) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong(longValue);
+        } else if (value instanceof Short shortValue) {
+            out.writeByte(TYPE_SHORT);
+            out.writeShort(shortValue);
+        } else if (value instanceof Double doubleValue) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble(doubleValue);
+        } else if (value instanceof Float floatValue) {
+            out.writeByte(TYPE_FLOAT);
+            out.writeFloat(floatValue);
+        } else if (value instanceof BigDecimal decimal) {
+            out.writeByte(TYPE_DECIMAL);
+            writeString(out, decimal.toString());
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof Timestamp ts) {
+            out.writeByte(TYPE_TIMESTAMP);
+            out.writeLong(ts.getTime());
+            out.writeInt(ts.getNanos());
+        } else if (value instanceof Date date) {
+            out.writeByte(TYPE_DATE);
+            out.writeLong(date.getTime());
+        } else if (value instanceof Time time) {
+            out.writeByte(TYPE_TIME);
+            out.writeLong(time.getTime());
+        } else if (value instanceof byte[] bytes) {
+            out.writeByte(TYPE_BYTES);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value instanceof JDBCMetadataSnapshotArray array) {
+            out.writeByte(TYPE_SQL_ARRAY);
+            out.writeInt(array.getBaseType());
+            writeString(out, array.getBaseTypeName());
+            writeValue(out, array.getArray());
+        } else if (value instanceof Object[] array) {
+            out.writeByte(TYPE_JAVA_ARRAY);
+            writeString(out, array.getClass().getComponentType().getName());
+            out.writeInt(array.length);
+            for (Object element : array) {
+                writeValue(out, element);
+            }
+        } else {
+            out.writeByte(TYPE_STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    private static class ValidateSnapshotJob extends AbstractJob {
+        private final JDBCMetadataSnapshot snapshot;
+
+        ValidateSnapshotJob(@NotNull JDBCMetadataSnapshot snapshot) {
+            super("Validate metadata snapshot of '" + snapshot.dataSource.getContainer().getName() + "'");
+            this.snapshot = snapshot;
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            try {
+                snapshot.validate(monitor);
+            } catch (Exception e) {
+                // Can't validate - do not use snapshot at all
+                log.debug("Error validating metadata snapshot of '" + snapshot.dataSource.getContainer().getName() + "'", e);
+                synchronized (snapshot) {
+                    snapshot.entries.clear();
+                    for (ReplayedCache replayed : snapshot.replayedCaches) {
+                        replayed.cache.clearCache();
+                    }
+                    snapshot.replayedCaches.clear();
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+}
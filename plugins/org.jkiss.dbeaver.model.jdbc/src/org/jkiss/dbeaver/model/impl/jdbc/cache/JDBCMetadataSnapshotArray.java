@@ -0,0 +1,165 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * In-memory copy of an SQL array stored in a metadata snapshot.
+ * String representation follows PostgreSQL array literal format (readers may get arrays as strings).
+ */
+public class JDBCMetadataSnapshotArray implements Array {
+
+    private final int baseType;
+    @NotNull
+    private final String baseTypeName;
+    @NotNull
+    private final Object[] elements;
+
+    public JDBCMetadataSnapshotArray(int baseType, @NotNull String baseTypeName, @NotNull Object[] elements) {
+        this.baseType = baseType;
+        this.baseTypeName = baseTypeName;
+        this.elements = elements;
+    }
+
+    @NotNull
+    @Override
+    public String getBaseTypeName() {
+        return baseTypeName;
+    }
+
+    @Override
+    public int getBaseType() {
+        return baseType;
+    }
+
+    @NotNull
+    @Override
+    public Object[] getArray() {
+        return elements.clone();
+    }
+
+    @NotNull
+    @Override
+    public Object[] getArray(Map<String, Class<?>> map) {
+        return getArray();
+    }
+
+    @NotNull
+    @Override
+    public Object[] getArray(long index, int count) throws SQLException {
+        if (index < 1 || count < 0 || index - 1 + count > elements.length) {
+            throw new SQLException("Array slice [" + index + ", " + count + "] is out of bounds");
+        }
+        return Arrays.copyOfRange(elements, (int) index - 1, (int) index - 1 + count);
+    }
+
+    @NotNull
+    @Override
+    public Object[] getArray(long index, int count, Map<String, Class<?>> map) throws SQLException {
+        return getArray(index, count);
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        throw new SQLFeatureNotSupportedException("Metadata snapshot array doesn't support result sets");
+    }
+
+    @Override
+    public ResultSet getResultSet(Map<String, Class<?>> map) throws SQLException {
+        return getResultSet();
+    }
+
+    @Override
+    public ResultSet getResultSet(long index, int count) throws SQLException {
+        return getResultSet();
+    }
+
+    @Override
+    public ResultSet getResultSet(long index, int count, Map<String, Class<?>> map) throws SQLException {
+        return getResultSet();
+    }
+
+    @Override
+    public void free() {
+        // Nothing to free
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof JDBCMetadataSnapshotArray array &&
+            baseType == array.baseType && baseTypeName.equals(array.baseTypeName) && Arrays.deepEquals(elements, array.elements);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(elements);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder();
+        appendArray(str, elements);
+        return str.toString();
+    }
+
+    private static void appendArray(@NotNull StringBuilder str, @NotNull Object[] array) {
+        str.append('{');
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                str.append(',');
+            }
+            Object element = array[i];
+            if (element == null) {
+                str.append("NULL");
+            } else if (element instanceof Object[] nested) {
+                appendArray(str, nested);
+            } else {
+                appendElement(str, element.toString());
+            }
+        }
+        str.append('}');
+    }
+
+    private static void appendElement(@NotNull StringBuilder str, @NotNull String value) {
+        boolean quote = value.isEmpty() || value.equalsIgnoreCase("NULL");
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '{' || c == '}' || c == '"' || c == '\\' || Character.isWhitespace(c);
+        }
+        if (!quote) {
+            str.append(value);
+            return;
+        }
+        str.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                str.append('\\');
+            }
+            str.append(c);
+        }
+        str.append('"');
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.utils.CommonUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+
+/**
+ * Read-only forward-only result set over rows stored in a metadata snapshot.
+ * Implements only methods used by metadata readers (getters by index/label, metadata, navigation).
+ */
+public class JDBCMetadataSnapshotResultSet implements InvocationHandler {
+
+    private final JDBCMetadataSnapshot.Entry entry;
+    private int rowIndex = -1;
+    private boolean wasNull;
+    private boolean closed;
+
+    private JDBCMetadataSnapshotResultSet(@NotNull JDBCMetadataSnapshot.Entry entry) {
+        this.entry = entry;
+    }
+
+    @NotNull
+    public static ResultSet create(@NotNull JDBCMetadataSnapshot.Entry entry) {
+        return (ResultSet) Proxy.newProxyInstance(
+            JDBCMetadataSnapshotResultSet.class.getClassLoader(),
+            new Class[]{ResultSet.class},
+            new JDBCMetadataSnapshotResultSet(entry));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        switch (name) {
+            case "next":
+                if (rowIndex < entry.rows.size()) {
+                    rowIndex++;
+                }
+                return rowIndex < entry.rows.size();
+            case "close":
+                closed = true;
+                return null;
+            case "isClosed":
+                return closed;
+            case "wasNull":
+                return wasNull;
+            case "getRow":
+                return rowIndex + 1;
+            case "getMetaData":
+                return createMetaData();
+            case "findColumn":
+                return findColumn((String) args[0]);
+            case "getStatement":
+            case "getWarnings":
+                return null;
+            case "clearWarnings":
+            case "setFetchSize":
+            case "setFetchDirection":
+                return null;
+            case "getFetchSize":
+                return 0;
+            case "getFetchDirection":
+                return ResultSet.FETCH_FORWARD;
+            case "getType":
+                return ResultSet.TYPE_FORWARD_ONLY;
+            case "getConcurrency":
+                return ResultSet.CONCUR_READ_ONLY;
+            case "isWrapperFor":
+                return false;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "Metadata snapshot result set [" + entry.columnNames.length + " columns]";
+        }
+        if (name.startsWith("get") && args != null && args.length >= 1 && (args[0] instanceof Integer || args[0] instanceof String)) {
+            int index = args[0] instanceof Integer columnIndex ? columnIndex : findColumn((String) args[0]);
+            Object value = getValue(index);
+            return convertValue(value, method.getReturnType(), args.length > 1 ? args[1] : null);
+        }
+        throw new SQLFeatureNotSupportedException("Metadata snapshot result set doesn't support " + name);
+    }
+
+    private Object getValue(int index) throws SQLException {
+        if (closed) {
+            throw new SQLException("Result set is closed");
+        }
+        if (rowIndex < 0 || rowIndex >= entry.rows.size()) {
+            throw new SQLException("No current row");
+        }
+        if (index < 1 || index > entry.columnNames.length) {
+            throw new SQLException("Column index " + index + " is out of range");
+        }
+        Object value = entry.rows.get(rowIndex)[index - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    private int findColumn(String label) throws SQLException {
+        for (int i = 0; i < entry.columnNames.length; i++) {
+            if (entry.columnNames[i].equalsIgnoreCase(label)) {
+                return i + 1;
+            }
+        }
+        throw new SQLException("Column '" + label + "' not found");
+    }
+
+    private static Object convertValue(Object value, Class<?> type, Object extraArg) throws SQLException {
+        if (type == Object.class) {
+            if (extraArg instanceof Class<?> targetType) {
+                return convertValue(value, targetType, null);
+            }
+            return value;
+        }
+        if (type == String.class) {
+            return value == null ? null : value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : value.toString();
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            if (value == null) return type == boolean.class ? false : null;
+            if (value instanceof Boolean) return value;
+            if (value instanceof Number number) return number.intValue() != 0;
+            return CommonUtils.toBoolean(value.toString().trim());
+        }
+        if (type == int.class || type == Integer.class) {
+            return value == null ? (type == int.class ? 0 : null) : toNumber(value).intValue();
+        }
+        if (type == long.class || type == Long.class) {
+            return value == null ? (type == long.class ? 0L : null) : toNumber(value).longValue();
+        }
+        if (type == short.class || type == Short.class) {
+            return value == null ? (type == short.class ? (short) 0 : null) : toNumber(value).shortValue();
+        }
+        if (type == byte.class || type == Byte.class) {
+            return value == null ? (type == byte.class ? (byte) 0 : null) : toNumber(value).byteValue();
+        }
+        if (type == double.class || type == Double.class) {
+            return value == null ? (type == double.class ? 0.0 : null) : toNumber(value).doubleValue();
+        }
+        if (type == float.class || type == Float.class) {
+            return value == null ? (type == float.class ? 0.0f : null) : toNumber(value).floatValue();
+        }
+        if (type == BigDecimal.class) {
+            if (value == null || value instanceof BigDecimal) return value;
+            return new BigDecimal(value.toString().trim());
+        }
+        if (type == byte[].class) {
+            if (value == null || value instanceof byte[]) return value;
+            return value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        if (type == Timestamp.class) {
+            if (value == null || value instanceof Timestamp) return value;
+            if (value instanceof java.util.Date date) return new Timestamp(date.getTime());
+            return Timestamp.valueOf(value.toString());
+        }
+        if (type == Date.class) {
+            if (value == null || value instanceof Date) return value;
+            if (value instanceof java.util.Date date) return Date.valueOf(new Timestamp(date.getTime()).toLocalDateTime().toLocalDate());
+            return Date.valueOf(value.toString());
+        }
+        if (type == Time.class) {
+            if (value == null || value instanceof Time) return value;
+            if (value instanceof java.util.Date date) return Time.valueOf(new Timestamp(date.getTime()).toLocalDateTime().toLocalTime());
+            return Time.valueOf(value.toString());
+        }
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        throw new SQLFeatureNotSupportedException("Can't convert snapshot value to " + type.getName());
+    }
+
+    private static Number toNumber(Object value) throws SQLException {
+        if (value instanceof Number number) {
+            return number;
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? 1 : 0;
+        }
+        try {
+            return new BigDecimal(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new SQLException("Value '" + value + "' is not a number");
+        }
+    }
+
+    private ResultSetMetaData createMetaData() {
+        return (ResultSetMetaData) Proxy.newProxyInstance(
+            JDBCMetadataSnapshotResultSet.class.getClassLoader(),
+            new Class[]{ResultSetMetaData.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getColumnCount":
+                        return entry.columnNames.length;
+                    case "getColumnName":
+                    case "getColumnLabel":
+                        return entry.columnNames[(Integer) args[0] - 1];
+                    case "getColumnType":
+                        return entry.columnTypes[(Integer) args[0] - 1];
+                    case "isNullable":
+                        return ResultSetMetaData.columnNullableUnknown;
+                    case "isWrapperFor":
+                    case "isAutoIncrement":
+                    case "isCaseSensitive":
+                    case "isSearchable":
+                    case "isCurrency":
+                    case "isSigned":
+                    case "isWritable":
+                    case "isDefinitelyWritable":
+                        return false;
+                    case "isReadOnly":
+                        return true;
+                    case "getPrecision":
+                    case "getScale":
+                    case "getColumnDisplaySize":
+                        return 0;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "Metadata snapshot result set metadata";
+                    default:
+                        // Type/table/schema names are not stored in snapshot
+                        return method.getReturnType() == String.class ? "" : null;
+                }
+            });
+    }
+
+}
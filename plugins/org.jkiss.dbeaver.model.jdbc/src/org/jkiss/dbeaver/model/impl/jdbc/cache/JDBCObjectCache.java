@@ -28,11 +28,14 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.jfr.JFROperation;
 import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectPage;
 import org.jkiss.dbeaver.model.struct.cache.AbstractObjectCache;
 import org.jkiss.utils.CommonUtils;
 
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -101,36 +104,34 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
         }
         if (owner.isPersisted()) {
             // Load cache from database only for persisted objects
+            JFROperation operation = JFROperation.begin(
+                JFROperation.Kind.METADATA_LOAD, dataSource, getCacheName(), owner.getName());
             try {
                 try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load objects from " + owner.getName())) {
+                    session.enableStatementCache(true);
                     beforeCacheLoading(session, owner);
-                    try (JDBCStatement dbStat = prepareObjectsStatement(session, owner)) {
-                        monitor.subTask("Load " + getCacheName());
-                        dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
-                        dbStat.executeStatement();
-                        JDBCResultSet dbResult = dbStat.getResultSet();
-                        if (dbResult != null) {
-                            try {
-                                while (dbResult.next()) {
-                                    if (monitor.isCanceled()) {
-                                        return;
-                                    }
-
-                                    OBJECT object = fetchObject(session, owner, dbResult);
-                                    if (object == null || !isValidObject(monitor, owner, object)) {
-                                        continue;
+                    try {
+                        JDBCMetadataSnapshot snapshot = JDBCMetadataSnapshot.getSnapshot(owner);
+                        JDBCResultSet replayResult = snapshot == null ? null : snapshot.openReplay(session, this, owner, null);
+                        if (replayResult != null) {
+                            monitor.subTask("Load " + getCacheName() + " from snapshot");
+                            if (!fetchObjects(monitor, session, owner, replayResult, tmpObjectList)) {
+                                return;
+                            }
+                        } else {
+                            try (JDBCStatement dbStat = prepareObjectsStatement(session, owner)) {
+                                monitor.subTask("Load " + getCacheName());
+                                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                                dbStat.executeStatement();
+                                JDBCResultSet dbResult = dbStat.getResultSet();
+                                if (dbResult != null) {
+                                    if (snapshot != null) {
+                                        dbResult = snapshot.recordResultSet(session, this, owner, null, dbResult);
                                     }
-                                    tmpObjectList.add(object);
-
-                                    // Do not log every object load. This overheats UI in case of long lists
-                                    //monitor.subTask(object.getName());
-                                    if (tmpObjectList.size() == maximumCacheSize) {
-                                        log.warn("Maximum cache size exceeded (" + maximumCacheSize + ") in " + this);
-                                        break;
+                                    if (!fetchObjects(monitor, session, owner, dbResult, tmpObjectList)) {
+                                        return;
                                     }
                                 }
-                            } finally {
-                                dbResult.close();
                             }
                         }
                     } finally {
@@ -144,9 +145,13 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
                     throw new DBException("Internal driver error", ex);
                 }
             } catch (Exception e) {
+                operation.markFailed();
                 if (!handleCacheReadError(e)) {
                     throw e;
                 }
+            } finally {
+                operation.setCount(tmpObjectList.size());
+                operation.close();
             }
         }
 
@@ -162,6 +167,110 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
         this.invalidateObjects(monitor, owner, new CacheIterator());
     }
 
+    /**
+     * Checks whether this cache supports server-side paging (see {@link #prepareObjectsPageStatement})
+     */
+    public boolean supportsObjectsPaging() {
+        return false;
+    }
+
+    /**
+     * Prepares statement which reads one page of objects ordered by name.
+     * Statement must return objects with names greater than {@link DBSObjectPage#getAfterName()},
+     * matching {@link DBSObjectPage#getNameMask()} and at most {@link DBSObjectPage#getMaxResults()} rows.
+     */
+    protected JDBCStatement prepareObjectsPageStatement(@NotNull JDBCSession session, @NotNull OWNER owner, @NotNull DBSObjectPage page)
+        throws SQLException
+    {
+        throw new SQLFeatureNotSupportedException("Paging is not supported by " + getCacheName());
+    }
+
+    /**
+     * Reads page of objects ordered by name.
+     * If cache is already fully loaded or doesn't support paging then page is taken from the full object list.
+     * Otherwise page is read from the server and its objects are added to the cache, but cache doesn't become fully cached.
+     */
+    @NotNull
+    public List<OBJECT> getObjectsPage(@NotNull DBRProgressMonitor monitor, @NotNull OWNER owner, @NotNull DBSObjectPage page)
+        throws DBException
+    {
+        if (isFullyCached() || !owner.isPersisted() || !supportsObjectsPaging()) {
+            return page.getPage(getAllObjects(monitor, owner));
+        }
+        List<OBJECT> result = new ArrayList<>();
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load page of " + getCacheName())) {
+            session.enableStatementCache(true);
+            try (JDBCStatement dbStat = prepareObjectsPageStatement(session, owner, page)) {
+                dbStat.setFetchSize(Math.min(page.getMaxResults(), DBConstants.METADATA_FETCH_SIZE));
+                dbStat.executeStatement();
+                JDBCResultSet dbResult = dbStat.getResultSet();
+                if (dbResult != null) {
+                    try {
+                        while (result.size() < page.getMaxResults() && dbResult.next()) {
+                            if (monitor.isCanceled()) {
+                                break;
+                            }
+                            OBJECT object = fetchObject(session, owner, dbResult);
+                            if (object == null || !page.matches(object) || !isValidObject(monitor, owner, object)) {
+                                continue;
+                            }
+                            synchronized (getCacheSync()) {
+                                // Keep instances which are already cached
+                                OBJECT cachedObject = getCachedObject(object.getName());
+                                if (cachedObject == null) {
+                                    cacheObject(object);
+                                } else {
+                                    object = cachedObject;
+                                }
+                            }
+                            result.add(object);
+                        }
+                    } finally {
+                        dbResult.close();
+                    }
+                }
+            }
+        } catch (SQLException ex) {
+            throw new DBException(ex, owner.getDataSource());
+        }
+        return result;
+    }
+
+    /**
+     * Reads objects from the result set and closes it. Returns false if operation was canceled.
+     */
+    private boolean fetchObjects(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull JDBCSession session,
+        @NotNull OWNER owner,
+        @NotNull JDBCResultSet dbResult,
+        @NotNull List<OBJECT> tmpObjectList
+    ) throws SQLException, DBException {
+        try {
+            while (dbResult.next()) {
+                if (monitor.isCanceled()) {
+                    return false;
+                }
+
+                OBJECT object = fetchObject(session, owner, dbResult);
+                if (object == null || !isValidObject(monitor, owner, object)) {
+                    continue;
+                }
+                tmpObjectList.add(object);
+
+                // Do not log every object load. This overheats UI in case of long lists
+                //monitor.subTask(object.getName());
+                if (tmpObjectList.size() == maximumCacheSize) {
+                    log.warn("Maximum cache size exceeded (" + maximumCacheSize + ") in " + this);
+                    break;
+                }
+            }
+        } finally {
+            dbResult.close();
+        }
+        return true;
+    }
+
     public void beforeCacheLoading(JDBCSession session, OWNER owner) throws DBException {
         // Do nothing
     }
@@ -90,6 +90,7 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
             throw new DBException(ModelMessages.error_not_connected_to_database);
         }
         try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load child objects")) {
+            session.enableStatementCache(true);
             Map<OBJECT, List<CHILD>> objectMap = new HashMap<>();
 
             // Load columns
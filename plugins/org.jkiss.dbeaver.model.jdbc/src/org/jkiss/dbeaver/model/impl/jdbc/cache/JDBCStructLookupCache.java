@@ -109,6 +109,7 @@ public abstract class JDBCStructLookupCache<OWNER extends DBSObject, OBJECT exte
                 "Load object '" + objectName + "' from " + owner.getName() :
                 "Reload object '" + object + "' from " + owner.getName()))
         {
+            session.enableStatementCache(true);
             beforeCacheLoading(session, owner);
             try (JDBCStatement dbStat = prepareLookupStatement(session, owner, object, objectName)) {
                 dbStat.setFetchSize(1);
@@ -32,6 +32,7 @@ import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRBlockingObject;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.jfr.JFROperation;
 
 import java.sql.*;
 import java.util.Map;
@@ -47,11 +48,13 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
 
     @NotNull
     final JDBCExecutionContext context;
+    private boolean sessionClosed;
 
     public JDBCConnectionImpl(@NotNull JDBCExecutionContext context, @NotNull DBRProgressMonitor monitor, @NotNull DBCExecutionPurpose purpose, @NotNull String taskTitle)
     {
         super(monitor, purpose, taskTitle);
         this.context = context;
+        context.sessionOpened();
     }
 
     @Override
@@ -60,6 +63,19 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         return context.getConnection(getProgressMonitor());
     }
 
+    /**
+     * Returns connection for a new statement. Pins connection of a pooled context if the statement
+     * may change session state.
+     *
+     * @param sql statement text or null for plain statements and procedure calls
+     */
+    @NotNull
+    private Connection getStatementConnection(@Nullable String sql) throws SQLException {
+        Connection original = getOriginal();
+        context.checkSessionStateChange(sql);
+        return original;
+    }
+
     @NotNull
     @Override
     public JDBCExecutionContext getExecutionContext() {
@@ -94,10 +110,30 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         boolean updatable,
         boolean returnGeneratedKeys)
         throws DBCException
+    {
+        try (JFROperation operation = JFROperation.begin(JFROperation.Kind.STATEMENT, getDataSource(), "Prepare", sqlQuery)) {
+            try {
+                return prepareStatementImpl(type, sqlQuery, scrollable, updatable, returnGeneratedKeys);
+            } catch (DBCException e) {
+                operation.markFailed();
+                throw e;
+            }
+        }
+    }
+
+    @NotNull
+    private JDBCStatement prepareStatementImpl(
+        @NotNull DBCStatementType type,
+        @NotNull String sqlQuery,
+        boolean scrollable,
+        boolean updatable,
+        boolean returnGeneratedKeys)
+        throws DBCException
     {
         try {
             // Check that connection is alive
             getOriginal();
+            context.checkSessionStateChange(sqlQuery);
 
             if (type == DBCStatementType.EXEC && JDBCUtils.queryHasOutputParameters(getDataSource().getSQLDialect(), sqlQuery)) {
                 // Execute as call - only if we query has out parameters bounds
@@ -109,7 +145,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
                 }
                 catch (SQLSyntaxErrorException e) {
                     // Call syntax not supported. Let's try t execute it as a regular query
-                    return prepareStatement(DBCStatementType.QUERY, sqlQuery, scrollable, updatable, returnGeneratedKeys);
+                    return prepareStatementImpl(DBCStatementType.QUERY, sqlQuery, scrollable, updatable, returnGeneratedKeys);
                 }
                 catch (SQLFeatureNotSupportedException | UnsupportedOperationException | IncompatibleClassChangeError e) {
                     return prepareCall(sqlQuery);
@@ -127,12 +163,13 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
                 // (e.g. in Oracle it parses IN/OUT parameters)
                 JDBCStatement statement;
                 try {
+                    // Query text is already checked, so create statements directly
                     if (!scrollable && !updatable) {
-                        statement = createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        statement = createStatementImpl(getOriginal().createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY));
                     } else {
-                        statement = createStatement(
+                        statement = createStatementImpl(getOriginal().createStatement(
                                 scrollable ? ResultSet.TYPE_SCROLL_INSENSITIVE : ResultSet.TYPE_FORWARD_ONLY,
-                                updatable ? ResultSet.CONCUR_UPDATABLE : ResultSet.CONCUR_READ_ONLY);
+                                updatable ? ResultSet.CONCUR_UPDATABLE : ResultSet.CONCUR_READ_ONLY));
                     }
                 }
                 catch (Throwable e) {
@@ -140,7 +177,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
                         throw e;
                     }
                     try {
-                        statement = createStatement();
+                        statement = makeStatement(getOriginal().createStatement());
                     } catch (Throwable e1) {
                         if (!isInternalDriverError(e)) {
                             throw e;
@@ -249,7 +286,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCStatement createStatement()
         throws SQLException
     {
-        return makeStatement(getOriginal().createStatement());
+        return makeStatement(getStatementConnection(null).createStatement());
     }
 
     @NotNull
@@ -257,7 +294,11 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCPreparedStatement prepareStatement(String sql)
         throws SQLException
     {
-        return createPreparedStatementImpl(getOriginal().prepareStatement(sql), sql);
+        JDBCPreparedStatement cachedStatement = prepareCachedStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        if (cachedStatement != null) {
+            return cachedStatement;
+        }
+        return createPreparedStatementImpl(getStatementConnection(sql).prepareStatement(sql), sql);
     }
 
     @NotNull
@@ -265,7 +306,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCCallableStatement prepareCall(String sql)
         throws SQLException
     {
-        return createCallableStatementImpl(getOriginal().prepareCall(sql), sql);
+        return createCallableStatementImpl(getStatementConnection(null).prepareCall(sql), sql);
     }
 
     @Override
@@ -333,6 +374,11 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         }
 
         super.close();
+        if (!sessionClosed) {
+            sessionClosed = true;
+            // Pooled context may return its connection now
+            context.sessionClosed();
+        }
     }
 
     @Override
@@ -410,7 +456,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCStatement createStatement(int resultSetType, int resultSetConcurrency)
         throws SQLException
     {
-        return createStatementImpl(getOriginal().createStatement(resultSetType, resultSetConcurrency));
+        return createStatementImpl(getStatementConnection(null).createStatement(resultSetType, resultSetConcurrency));
     }
 
     @NotNull
@@ -418,8 +464,12 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCPreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
         throws SQLException
     {
+        JDBCPreparedStatement cachedStatement = prepareCachedStatement(sql, resultSetType, resultSetConcurrency);
+        if (cachedStatement != null) {
+            return cachedStatement;
+        }
         return createPreparedStatementImpl(
-            getOriginal().prepareStatement(sql, resultSetType, resultSetConcurrency),
+            getStatementConnection(sql).prepareStatement(sql, resultSetType, resultSetConcurrency),
             sql);
     }
 
@@ -428,7 +478,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCCallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency)
         throws SQLException
     {
-        return createCallableStatementImpl(getOriginal().prepareCall(sql, resultSetType, resultSetConcurrency), sql);
+        return createCallableStatementImpl(getStatementConnection(null).prepareCall(sql, resultSetType, resultSetConcurrency), sql);
     }
 
     @Override
@@ -518,7 +568,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCStatement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
         throws SQLException
     {
-        return makeStatement(getOriginal().createStatement(resultSetType, resultSetConcurrency, resultSetHoldability));
+        return makeStatement(getStatementConnection(null).createStatement(resultSetType, resultSetConcurrency, resultSetHoldability));
     }
 
     @NotNull
@@ -527,7 +577,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         throws SQLException
     {
         return createPreparedStatementImpl(
-            getOriginal().prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
+            getStatementConnection(sql).prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
             sql);
     }
 
@@ -537,7 +587,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         throws SQLException
     {
         return createCallableStatementImpl(
-            getOriginal().prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
+            getStatementConnection(null).prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
             sql);
     }
 
@@ -546,7 +596,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCPreparedStatement prepareStatement(String sql, int autoGeneratedKeys)
         throws SQLException
     {
-        return createPreparedStatementImpl(getOriginal().prepareStatement(sql, autoGeneratedKeys), sql);
+        return createPreparedStatementImpl(getStatementConnection(sql).prepareStatement(sql, autoGeneratedKeys), sql);
     }
 
     @NotNull
@@ -554,7 +604,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCPreparedStatement prepareStatement(String sql, int[] columnIndexes)
         throws SQLException
     {
-        return createPreparedStatementImpl(getOriginal().prepareStatement(sql, columnIndexes), sql);
+        return createPreparedStatementImpl(getStatementConnection(sql).prepareStatement(sql, columnIndexes), sql);
     }
 
     @NotNull
@@ -562,7 +612,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCPreparedStatement prepareStatement(String sql, String[] columnNames)
         throws SQLException
     {
-        return createPreparedStatementImpl(getOriginal().prepareStatement(sql, columnNames), sql);
+        return createPreparedStatementImpl(getStatementConnection(sql).prepareStatement(sql, columnNames), sql);
     }
 
     @Nullable
@@ -737,6 +787,31 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         return context.getDataSource().getJdbcFactory().createPreparedStatement(this, original, sql, !isLoggingEnabled());
     }
 
+    /**
+     * Takes statement from the context statement cache or prepares a new one which will be cached on close.
+     * Returns null if statement caching is disabled for this session or context.
+     */
+    @Nullable
+    private JDBCPreparedStatement prepareCachedStatement(@Nullable String sql, int resultSetType, int resultSetConcurrency)
+        throws SQLException
+    {
+        if (sql == null || !isStatementCacheEnabled()) {
+            return null;
+        }
+        // Pooled context gets its statement cache with the connection
+        Connection connection = getStatementConnection(sql);
+        JDBCStatementCache cache = context.getStatementCache();
+        if (cache == null) {
+            return null;
+        }
+        JDBCStatementCache.StatementKey key = new JDBCStatementCache.StatementKey(sql, resultSetType, resultSetConcurrency);
+        PreparedStatement original = cache.acquire(key);
+        if (original == null) {
+            original = connection.prepareStatement(sql, resultSetType, resultSetConcurrency);
+        }
+        return new JDBCPreparedStatementCachedImpl(this, original, cache, key, !isLoggingEnabled());
+    }
+
     protected JDBCCallableStatement createCallableStatementImpl(CallableStatement original, @Nullable String sql)
         throws SQLException,IllegalArgumentException
     {
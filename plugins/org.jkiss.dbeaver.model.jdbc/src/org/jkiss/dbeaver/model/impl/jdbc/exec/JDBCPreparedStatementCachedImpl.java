@@ -16,20 +16,87 @@
  */
 package org.jkiss.dbeaver.model.impl.jdbc.exec;
 
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Prepared statement which is returned to the connection statement cache on close.
+ * Statements which failed on execution are closed instead, because their server-side state is unknown.
+ * Fetch size, query timeout and max rows are restored to the values the statement had when it was taken.
+ */
 public class JDBCPreparedStatementCachedImpl extends JDBCPreparedStatementImpl {
 
-	public JDBCPreparedStatementCachedImpl(JDBCPreparedStatementImpl statment){
-		super(statment.getSession(), statment.original, statment.query, statment.disableLogging);
-	}
-
-	@Override
-	public void close() {
-		// For cached statement close() do nothing
-	}
-	
-	public void drop(){
-		super.close();
-	}
-	
+    @NotNull
+    private final JDBCStatementCache cache;
+    private static final Log log = Log.getLog(JDBCPreparedStatementCachedImpl.class);
+
+    @NotNull
+    private final JDBCStatementCache.StatementKey key;
+    private final int defaultFetchSize;
+    private final int defaultQueryTimeout;
+    private final int defaultMaxRows;
+    private boolean dropped;
+
+    public JDBCPreparedStatementCachedImpl(
+        @NotNull JDBCSession session,
+        @NotNull PreparedStatement original,
+        @NotNull JDBCStatementCache cache,
+        @NotNull JDBCStatementCache.StatementKey key,
+        boolean disableLogging)
+    {
+        super(session, original, key.sql(), disableLogging);
+        this.cache = cache;
+        this.key = key;
+        int fetchSize = -1, queryTimeout = -1, maxRows = -1;
+        try {
+            fetchSize = original.getFetchSize();
+            queryTimeout = original.getQueryTimeout();
+            maxRows = original.getMaxRows();
+        } catch (Throwable e) {
+            // Can't restore state - statement won't be cached
+            log.debug("Can't read statement defaults", e);
+            dropped = true;
+        }
+        this.defaultFetchSize = fetchSize;
+        this.defaultQueryTimeout = queryTimeout;
+        this.defaultMaxRows = maxRows;
+    }
+
+    @Override
+    protected void closeOriginal() {
+        if (dropped || getExecuteError() != null || !resetState() || !cache.release(key, original)) {
+            super.closeOriginal();
+        }
+    }
+
+    private boolean resetState() {
+        try {
+            if (original.getFetchSize() != defaultFetchSize) {
+                original.setFetchSize(defaultFetchSize);
+            }
+            if (original.getQueryTimeout() != defaultQueryTimeout) {
+                original.setQueryTimeout(defaultQueryTimeout);
+            }
+            if (original.getMaxRows() != defaultMaxRows) {
+                original.setMaxRows(defaultMaxRows);
+            }
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Can't reset cached statement state", e);
+            return false;
+        }
+    }
+
+    /**
+     * Closes statement without returning it to the cache
+     */
+    public void drop() {
+        dropped = true;
+        close();
+    }
+
 }
@@ -27,6 +27,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.AbstractResultSet;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCTrace;
 import org.jkiss.dbeaver.model.qm.QMUtils;
+import org.jkiss.dbeaver.model.runtime.jfr.JFROperation;
 
 import java.io.InputStream;
 import java.io.Reader;
@@ -50,6 +51,9 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
     private long maxRows = -1;
     private boolean fake;
     private boolean disableLogging;
+    // Single event for the whole fetch, per-row events are too expensive
+    @Nullable
+    private JFROperation fetchOperation;
 
     public static JDBCResultSet makeResultSet(@NotNull JDBCSession session, @Nullable JDBCStatement statement, @NotNull ResultSet original, String description, boolean disableLogging)
         throws SQLException
@@ -265,6 +269,13 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
         if (maxRows >= 0 && rowsFetched >= maxRows) {
             return false;
         }
+        if (fetchOperation == null) {
+            fetchOperation = JFROperation.begin(
+                JFROperation.Kind.RESULT_SET_FETCH,
+                session.getDataSource(),
+                "Fetch",
+                statement != null ? statement.getQueryString() : description);
+        }
 
         this.beforeFetch();
         try {
@@ -273,6 +284,8 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
             if (fetched) {
                 rowsFetched++;
             }
+            // Fetch ends with the last row, not with result set close
+            fetchOperation.end();
             if (fetched && JDBCTrace.isApiTraceEnabled()) {
                 JDBCTrace.dumpResultSetRow(this.original);
             }
@@ -310,6 +323,11 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
                 log.error("Can't close result set", e);
             }
         }
+        if (fetchOperation != null) {
+            fetchOperation.setCount(rowsFetched);
+            fetchOperation.close();
+            fetchOperation = null;
+        }
         if (fake && statement != null) {
             statement.close();
         }
@@ -0,0 +1,177 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.DBCStatementCacheInfo;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Bounded LRU cache of prepared statements of a single JDBC connection.
+ * Statement is removed from the cache while it is in use, so the same statement is never shared between sessions.
+ * Statements evicted from the cache (or returned after the cache was cleared) are closed.
+ */
+public class JDBCStatementCache implements DBCStatementCacheInfo {
+
+    private static final Log log = Log.getLog(JDBCStatementCache.class);
+
+    public record StatementKey(@NotNull String sql, int resultSetType, int resultSetConcurrency) {
+    }
+
+    private final int maxSize;
+    private final LinkedHashMap<StatementKey, PreparedStatement> statements;
+    private boolean closed;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public JDBCStatementCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Takes statement from the cache. Returns null if there is no cached statement for this key.
+     */
+    @Nullable
+    public synchronized PreparedStatement acquire(@NotNull StatementKey key) {
+        PreparedStatement statement = closed ? null : statements.remove(key);
+        if (statement != null && isStatementClosed(statement)) {
+            statement = null;
+        }
+        if (statement == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return statement;
+    }
+
+    /**
+     * Returns statement to the cache.
+     *
+     * @return false if statement wasn't cached. Caller is responsible for closing it.
+     */
+    public boolean release(@NotNull StatementKey key, @NotNull PreparedStatement statement) {
+        if (isStatementClosed(statement)) {
+            return false;
+        }
+        try {
+            // Batch may remain after failed execution
+            statement.clearBatch();
+        } catch (Throwable e) {
+            // Batches are not supported
+        }
+        try {
+            statement.clearParameters();
+            statement.clearWarnings();
+        } catch (Throwable e) {
+            log.debug("Can't reset cached statement state", e);
+            return false;
+        }
+        List<PreparedStatement> evicted = new ArrayList<>();
+        synchronized (this) {
+            if (closed || statements.containsKey(key)) {
+                return false;
+            }
+            statements.put(key, statement);
+            for (Iterator<PreparedStatement> iter = statements.values().iterator(); statements.size() > maxSize && iter.hasNext(); ) {
+                evicted.add(iter.next());
+                iter.remove();
+                evictions++;
+            }
+        }
+        // Close evicted statements outside of the cache lock - it may require server roundtrip
+        for (PreparedStatement stat : evicted) {
+            closeStatement(stat);
+        }
+        return true;
+    }
+
+    /**
+     * Closes all cached statements. Statements which are in use are closed when they are released.
+     * Must be called before the connection is closed.
+     */
+    public void close() {
+        List<PreparedStatement> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(statements.values());
+            statements.clear();
+        }
+        for (PreparedStatement statement : toClose) {
+            closeStatement(statement);
+        }
+    }
+
+    @Override
+    public synchronized int getSize() {
+        return statements.size();
+    }
+
+    @Override
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    @Override
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    @Override
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    private static boolean isStatementClosed(@NotNull PreparedStatement statement) {
+        try {
+            return statement.isClosed();
+        } catch (Throwable e) {
+            // Some old drivers do not implement isClosed
+            return false;
+        }
+    }
+
+    private static void closeStatement(@NotNull PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (Throwable e) {
+            log.debug("Error closing cached statement", e);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Statement cache [size=" + statements.size() + "/" + maxSize +
+            ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "]";
+    }
+}
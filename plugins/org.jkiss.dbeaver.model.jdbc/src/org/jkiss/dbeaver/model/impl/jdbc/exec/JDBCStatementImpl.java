@@ -31,6 +31,7 @@ import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.jfr.JFROperation;
 import org.jkiss.dbeaver.model.sql.DBSQLException;
 import org.jkiss.utils.CommonUtils;
 
@@ -59,6 +60,8 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
 
     private long updateCount;
     private Throwable executeError;
+    @Nullable
+    private JFROperation executeOperation;
 
     public JDBCStatementImpl(@NotNull JDBCSession connection, @NotNull STATEMENT original, boolean disableLogging)
     {
@@ -277,6 +280,15 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         return result;
     }
 
+    /**
+     * Error of the last execution (if any)
+     */
+    @Nullable
+    protected Throwable getExecuteError()
+    {
+        return executeError;
+    }
+
     protected SQLException handleExecuteError(Throwable ex)
     {
         executeError = ex;
@@ -306,12 +318,23 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         if (JDBCTrace.isApiTraceEnabled()) {
             JDBCTrace.traceQueryBegin(getQueryString());
         }
+        this.executeOperation = JFROperation.begin(
+            JFROperation.Kind.STATEMENT, connection.getDataSource(), "Execute", getQueryString());
         this.startBlock();
     }
 
     protected void afterExecute()
     {
         this.endBlock();
+        JFROperation operation = this.executeOperation;
+        if (operation != null) {
+            this.executeOperation = null;
+            operation.setCount(this.updateCount);
+            if (this.executeError != null) {
+                operation.markFailed();
+            }
+            operation.close();
+        }
         if (isQMLoggingEnabled()) {
             QMUtils.getDefaultHandler().handleStatementExecuteEnd(this, this.updateCount, this.executeError);
         }
@@ -494,6 +517,11 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         }
 
         // Close statement
+        closeOriginal();
+    }
+
+    protected void closeOriginal()
+    {
         try {
             getOriginal().close();
         }
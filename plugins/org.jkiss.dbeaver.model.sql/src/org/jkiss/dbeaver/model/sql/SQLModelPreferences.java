@@ -31,6 +31,7 @@ public final class SQLModelPreferences {
     public static final String EXPERIMENTAL_AUTOCOMPLETION_ENABLE = "SQLEditor.ContentAssistant.experimental.enable";
     public static final String ADVANCED_HIGHLIGHTING_ENABLE = "SQLEditor.Highlighting.advanced.enable";
     public static final String READ_METADATA_FOR_SEMANTIC_ANALYSIS = "SQLEditor.Semantics.metadata.read.enable";
+    public static final String PERFORMANCE_HINTS_ENABLE = "SQLEditor.Semantics.performance.hints.enable";
     
     public static final String EXPERIMENTAL_AUTOCOMPLETION_MODE = "SQLEditor.ContentAssistant.experimental.mode";
 
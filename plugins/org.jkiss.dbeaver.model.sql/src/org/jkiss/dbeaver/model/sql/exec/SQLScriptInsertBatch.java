@@ -0,0 +1,253 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Run of consecutive single-row INSERT statements with literal values and the same target.
+ * Such statements are merged into one multi-row INSERT (according to the dialect multi-value insert mode).
+ */
+public class SQLScriptInsertBatch {
+
+    /**
+     * Parsed single-row INSERT statement
+     */
+    public record InsertStatement(
+        @NotNull SQLQuery query,
+        long offset,
+        @NotNull String target,
+        @NotNull String shapeKey,
+        @NotNull String values
+    ) {
+    }
+
+    private static final Pattern INSERT_PATTERN = Pattern.compile(
+        "^\\s*INSERT\\s+INTO\\s+(.+?)\\s*VALUES\\s*\\(", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private final SQLDialect.MultiValueInsertMode insertMode;
+    private final int maxSize;
+    private final List<InsertStatement> statements = new ArrayList<>();
+
+    public SQLScriptInsertBatch(@NotNull SQLDialect.MultiValueInsertMode insertMode, int maxSize) {
+        this.insertMode = insertMode;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Checks whether the statement may be added to this batch.
+     * Returns false if the batch is full or the statement has a different shape.
+     */
+    public boolean accepts(@NotNull InsertStatement statement) {
+        return statements.isEmpty() ||
+            (statements.size() < maxSize && statements.get(0).shapeKey().equals(statement.shapeKey()));
+    }
+
+    public void add(@NotNull InsertStatement statement) {
+        statements.add(statement);
+    }
+
+    public boolean isEmpty() {
+        return statements.isEmpty();
+    }
+
+    public int size() {
+        return statements.size();
+    }
+
+    @NotNull
+    public List<InsertStatement> getStatements() {
+        return statements;
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+
+    /**
+     * Makes a single multi-row INSERT of all statements of this batch
+     */
+    @NotNull
+    public SQLQuery makeBatchQuery(@NotNull DBPDataSource dataSource) {
+        String target = statements.get(0).target();
+        StringBuilder sql = new StringBuilder();
+        if (insertMode == SQLDialect.MultiValueInsertMode.INSERT_ALL) {
+            sql.append("INSERT ALL");
+            for (InsertStatement statement : statements) {
+                sql.append("\n\tINTO ").append(target).append(" VALUES ").append(statement.values());
+            }
+            sql.append("\nSELECT 1 FROM DUAL");
+        } else {
+            sql.append("INSERT INTO ").append(target).append(" VALUES");
+            for (int i = 0; i < statements.size(); i++) {
+                sql.append(i == 0 ? "\n\t" : ",\n\t").append(statements.get(i).values());
+            }
+        }
+        return new SQLQuery(dataSource, sql.toString());
+    }
+
+    /**
+     * Checks whether the dialect can merge INSERT statements
+     */
+    public static boolean isSupported(@NotNull SQLDialect.MultiValueInsertMode insertMode) {
+        return insertMode == SQLDialect.MultiValueInsertMode.GROUP_ROWS ||
+            insertMode == SQLDialect.MultiValueInsertMode.INSERT_ALL;
+    }
+
+    /**
+     * Parses single-row INSERT statement with literal values only (numbers, simple strings, NULL, TRUE, FALSE).
+     * Returns null for any other statement.
+     */
+    @Nullable
+    public static InsertStatement parseInsert(@NotNull SQLQuery query, long offset) {
+        if (!CommonUtils.isEmpty(query.getParameters())) {
+            return null;
+        }
+        String text = query.getText();
+        Matcher matcher = INSERT_PATTERN.matcher(text);
+        if (!matcher.find()) {
+            return null;
+        }
+        String target = matcher.group(1).trim();
+        if (!isSimpleTarget(target)) {
+            return null;
+        }
+        int valuesStart = matcher.end() - 1;
+        int valueCount = 0;
+        boolean expectValue = true;
+        int pos = valuesStart + 1;
+        int length = text.length();
+        while (true) {
+            if (pos >= length) {
+                return null;
+            }
+            char c = text.charAt(pos);
+            if (Character.isWhitespace(c)) {
+                pos++;
+            } else if (c == ')') {
+                if (expectValue) {
+                    // Empty values list or trailing comma
+                    return null;
+                }
+                pos++;
+                break;
+            } else if (c == ',') {
+                if (expectValue) {
+                    return null;
+                }
+                expectValue = true;
+                pos++;
+            } else {
+                if (!expectValue) {
+                    return null;
+                }
+                int end = skipLiteral(text, pos);
+                if (end < 0) {
+                    return null;
+                }
+                valueCount++;
+                expectValue = false;
+                pos = end;
+            }
+        }
+        String values = text.substring(valuesStart, pos);
+        // Only delimiter may follow values
+        for (; pos < length; pos++) {
+            char c = text.charAt(pos);
+            if (!Character.isWhitespace(c) && c != ';') {
+                return null;
+            }
+        }
+        String shapeKey = target.replaceAll("\\s+", " ").toLowerCase() + "#" + valueCount;
+        return new InsertStatement(query, offset, target, shapeKey, values);
+    }
+
+    private static boolean isSimpleTarget(@NotNull String target) {
+        // Table name with optional column list. No subqueries, comments, strings or variables.
+        for (int i = 0; i < target.length(); i++) {
+            char c = target.charAt(i);
+            if (c == '\'' || c == ';' || c == '$' || c == '?' || c == ':' || c == '-' || c == '/') {
+                return false;
+            }
+        }
+        String lowerTarget = target.toLowerCase();
+        return !lowerTarget.contains("select") && !lowerTarget.contains("values");
+    }
+
+    /**
+     * Returns position after the literal or -1 if there is no simple literal at the given position
+     */
+    private static int skipLiteral(@NotNull String text, int pos) {
+        int length = text.length();
+        char c = text.charAt(pos);
+        if (c == '\'') {
+            for (int i = pos + 1; i < length; i++) {
+                char sc = text.charAt(i);
+                if (sc == '\\') {
+                    // Backslash escapes depend on database settings
+                    return -1;
+                }
+                if (sc == '\'') {
+                    if (i + 1 < length && text.charAt(i + 1) == '\'') {
+                        i++;
+                    } else {
+                        return i + 1;
+                    }
+                }
+            }
+            return -1;
+        }
+        if (c == '-' || c == '+' || c == '.' || Character.isDigit(c)) {
+            boolean hasDigits = Character.isDigit(c);
+            int i = pos + 1;
+            while (i < length) {
+                char nc = text.charAt(i);
+                if (Character.isDigit(nc)) {
+                    hasDigits = true;
+                    i++;
+                } else if (nc == '.' || nc == 'e' || nc == 'E' ||
+                    ((nc == '-' || nc == '+') && (text.charAt(i - 1) == 'e' || text.charAt(i - 1) == 'E'))) {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            return hasDigits ? i : -1;
+        }
+        if (Character.isLetter(c)) {
+            int i = pos;
+            while (i < length && Character.isLetter(text.charAt(i))) {
+                i++;
+            }
+            String word = text.substring(pos, i);
+            if (word.equalsIgnoreCase("NULL") || word.equalsIgnoreCase("TRUE") || word.equalsIgnoreCase("FALSE")) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -16,7 +16,9 @@
  */
 package org.jkiss.dbeaver.model.sql.exec;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBFetchProgress;
@@ -28,9 +30,11 @@ import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.*;
 import org.jkiss.dbeaver.model.sql.data.SQLQueryDataContainer;
+import org.jkiss.dbeaver.model.sql.parser.SQLScriptStreamParser;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -38,18 +42,29 @@ import java.util.List;
  */
 public class SQLScriptProcessor {
     private static final String STAT_LOG_PREFIX = "-----------------> ";
+    // Stream progress is reported in kilobytes to fit int ranges for huge scripts
+    private static final int STREAM_PROGRESS_UNIT = 1024;
+    // Some databases limit number of rows in VALUES clause (e.g. SQL Server allows 1000 rows)
+    private static final int MAX_INSERT_BATCH_SIZE = 1000;
 
     private final DBCExecutionContext executionContext;
+    @Nullable
     private final List<SQLScriptElement> queries;
+    @Nullable
+    private final SQLScriptStreamParser scriptStream;
     private final SQLScriptContext scriptContext;
     private final DBDDataReceiver dataReceiver;
     private final Log log;
 
     private Throwable lastError = null;
+    private long lastErrorOffset = -1;
 
     private DBCStatistics statistics;
     private final DBCStatistics totalStatistics = new DBCStatistics();
 
+    @Nullable
+    private SQLScriptInsertBatch insertBatch;
+    private int insertBatchSize;
     private int fetchSize;
     private long fetchFlags;
     private SQLScriptCommitType commitType = SQLScriptCommitType.AUTOCOMMIT;
@@ -63,11 +78,40 @@ public class SQLScriptProcessor {
         @NotNull Log log) {
         this.executionContext = executionContext;
         this.queries = queries;
+        this.scriptStream = null;
         this.scriptContext = scriptContext;
         this.dataReceiver = dataReceiver;
         this.log = log;
     }
 
+    /**
+     * Creates processor which executes script elements as they are parsed from the stream.
+     * Script is never loaded in memory entirely.
+     */
+    public SQLScriptProcessor(
+        @NotNull DBCExecutionContext executionContext,
+        @NotNull SQLScriptStreamParser scriptStream,
+        @NotNull SQLScriptContext scriptContext,
+        @NotNull DBDDataReceiver dataReceiver,
+        @NotNull Log log) {
+        this.executionContext = executionContext;
+        this.queries = null;
+        this.scriptStream = scriptStream;
+        this.scriptContext = scriptContext;
+        this.dataReceiver = dataReceiver;
+        this.log = log;
+    }
+
+    /**
+     * Enables merging of consecutive single-row INSERT statements with literal values into multi-row INSERTs.
+     * Works only for dialects which support multi-row INSERT.
+     *
+     * @param insertBatchSize max number of statements merged in one. 0 or 1 disables merging.
+     */
+    public void setInsertBatchSize(int insertBatchSize) {
+        this.insertBatchSize = insertBatchSize;
+    }
+
     public void setFetchSize(int fetchSize) {
         this.fetchSize = fetchSize;
     }
@@ -109,28 +153,77 @@ public class SQLScriptProcessor {
                     txnManager.setAutoCommit(monitor, newAutoCommit);
                 }
 
-                monitor.beginTask("Execute queries (" + queries.size() + ")", queries.size());
+                insertBatch = null;
+                if (insertBatchSize > 1) {
+                    SQLDialect.MultiValueInsertMode insertMode = executionContext.getDataSource().getSQLDialect().getDefaultMultiValueInsertMode();
+                    if (SQLScriptInsertBatch.isSupported(insertMode)) {
+                        insertBatch = new SQLScriptInsertBatch(insertMode, Math.min(insertBatchSize, MAX_INSERT_BATCH_SIZE));
+                    } else {
+                        log.debug("Multi-row INSERT is not supported by " + executionContext.getDataSource().getSQLDialect().getDialectName() +
+                            ". Statements will be executed one by one.");
+                    }
+                }
+
+                Iterator<SQLScriptElement> queryIterator = null;
+                if (queries != null) {
+                    monitor.beginTask("Execute queries (" + queries.size() + ")", queries.size());
+                    queryIterator = queries.iterator();
+                } else if (scriptStream.getTotalBytes() > 0) {
+                    monitor.beginTask("Execute script", (int) (scriptStream.getTotalBytes() / STREAM_PROGRESS_UNIT));
+                } else {
+                    monitor.beginTask("Execute script", IProgressMonitor.UNKNOWN);
+                }
+                int streamProgress = 0;
 
-                for (SQLScriptElement query : queries) {
+                while (true) {
                     if (monitor.isCanceled()) {
                         break;
                     }
-                    // Execute query
-                    boolean runNext = executeSingleQuery(session, query);
-                    if (!runNext) {
-                        if (lastError == null) {
-                            // Execution cancel
-                            break;
-                        }
-                        if (errorHandling != SQLScriptErrorHandling.IGNORE) {
-                            log.error(lastError);
-                            break;
-                        } else {
-                            log.warn("Query failed: " + lastError.getMessage());
+                    SQLScriptElement query;
+                    if (queryIterator != null) {
+                        query = queryIterator.hasNext() ? queryIterator.next() : null;
+                    } else {
+                        query = scriptStream.nextElement();
+                    }
+                    if (query == null) {
+                        break;
+                    }
+                    long queryOffset = scriptStream != null ? scriptStream.getElementOffset() : query.getOffset();
+                    SQLScriptInsertBatch.InsertStatement insert = insertBatch != null && query instanceof SQLQuery sqlQuery ?
+                        SQLScriptInsertBatch.parseInsert(sqlQuery, queryOffset) : null;
+                    boolean runNext;
+                    if (insert != null && insertBatch.accepts(insert)) {
+                        // Postpone execution till the end of INSERTs run
+                        insertBatch.add(insert);
+                        runNext = true;
+                    } else {
+                        runNext = flushInsertBatch(session);
+                        if (runNext) {
+                            if (insert != null) {
+                                insertBatch.add(insert);
+                            } else {
+                                // Execute query
+                                runNext = executeElement(session, query, queryOffset);
+                            }
                         }
                     }
+                    if (!checkContinue(runNext)) {
+                        break;
+                    }
 
-                    monitor.worked(1);
+                    if (queryIterator != null) {
+                        monitor.worked(1);
+                    } else {
+                        int newProgress = (int) (scriptStream.getBytesRead() / STREAM_PROGRESS_UNIT);
+                        if (newProgress > streamProgress) {
+                            monitor.worked(newProgress - streamProgress);
+                            monitor.subTask("Processed " + (scriptStream.getBytesRead() / 1024) + "Kb");
+                            streamProgress = newProgress;
+                        }
+                    }
+                }
+                if (!monitor.isCanceled()) {
+                    checkContinue(flushInsertBatch(session));
                 }
                 monitor.done();
 
@@ -169,6 +262,118 @@ public class SQLScriptProcessor {
         }
     }
 
+    private boolean checkContinue(boolean runNext) {
+        if (!runNext) {
+            if (lastError == null) {
+                // Execution cancel
+                return false;
+            }
+            if (errorHandling != SQLScriptErrorHandling.IGNORE) {
+                log.error(lastError);
+                return false;
+            } else {
+                log.warn("Query failed: " + lastError.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private boolean executeElement(@NotNull DBCSession session, @NotNull SQLScriptElement element, long offset) {
+        Throwable prevError = lastError;
+        boolean runNext = executeSingleQuery(session, element);
+        if (lastError != null && lastError != prevError) {
+            lastErrorOffset = offset;
+        }
+        return runNext;
+    }
+
+    /**
+     * Executes postponed INSERT statements as a single multi-row INSERT.
+     * If it fails then statements are executed one by one, so errors are reported for the original statements.
+     * In a transaction the merged INSERT is wrapped in a savepoint. If savepoints are not supported then
+     * statements can't be replayed and the error is reported with the offsets range of the batch.
+     */
+    private boolean flushInsertBatch(@NotNull DBCSession session) {
+        if (insertBatch == null || insertBatch.isEmpty()) {
+            return true;
+        }
+        try {
+            List<SQLScriptInsertBatch.InsertStatement> statements = insertBatch.getStatements();
+            SQLScriptInsertBatch.InsertStatement firstStatement = statements.get(0);
+            if (statements.size() == 1) {
+                return executeElement(session, firstStatement.query(), firstStatement.offset());
+            }
+            log.debug(STAT_LOG_PREFIX + "Merge " + statements.size() + " INSERT statements");
+            boolean inTransaction = commitType != SQLScriptCommitType.AUTOCOMMIT;
+            DBCTransactionManager txnManager = inTransaction ? DBUtils.getTransactionManager(executionContext) : null;
+            DBCSavepoint savepoint = null;
+            if (txnManager != null && txnManager.supportsSavepoints()) {
+                try {
+                    savepoint = txnManager.setSavepoint(session.getProgressMonitor(), null);
+                } catch (DBCException e) {
+                    log.debug("Can't set savepoint before merged INSERT", e);
+                }
+            }
+            Throwable prevError = lastError;
+            boolean runNext = executeElement(session, insertBatch.makeBatchQuery(session.getDataSource()), firstStatement.offset());
+            if (lastError == prevError) {
+                releaseSavepoint(session, txnManager, savepoint);
+                return runNext;
+            }
+            if (inTransaction) {
+                boolean restored = false;
+                if (txnManager != null && savepoint != null) {
+                    try {
+                        txnManager.rollback(session, savepoint);
+                        restored = true;
+                    } catch (DBCException e) {
+                        log.debug("Can't rollback to savepoint after merged INSERT error", e);
+                    }
+                    releaseSavepoint(session, txnManager, savepoint);
+                }
+                if (!restored) {
+                    // Transaction state after the error is unknown, statements can't be replayed
+                    log.debug(STAT_LOG_PREFIX + "Merged INSERT of " + statements.size() + " statements failed. " +
+                        "Failed statement offset is between " + firstStatement.offset() + " and " +
+                        statements.get(statements.size() - 1).offset());
+                    return runNext;
+                }
+            }
+            // Nothing was inserted. Find failed statement(s).
+            log.debug(STAT_LOG_PREFIX + "Merged INSERT failed, execute statements one by one");
+            lastError = prevError;
+            for (SQLScriptInsertBatch.InsertStatement statement : statements) {
+                if (session.getProgressMonitor().isCanceled()) {
+                    return false;
+                }
+                Throwable statementPrevError = lastError;
+                if (!executeElement(session, statement.query(), statement.offset())) {
+                    if (lastError == statementPrevError || errorHandling != SQLScriptErrorHandling.IGNORE) {
+                        // Canceled or execution must stop on the first error
+                        return false;
+                    }
+                    // Report each failed statement, not only the last one
+                    log.warn("Query at offset " + statement.offset() + " failed: " + lastError.getMessage());
+                }
+            }
+            return true;
+        } finally {
+            insertBatch.clear();
+        }
+    }
+
+    private void releaseSavepoint(@NotNull DBCSession session, @Nullable DBCTransactionManager txnManager, @Nullable DBCSavepoint savepoint) {
+        if (txnManager == null || savepoint == null) {
+            return;
+        }
+        try {
+            txnManager.releaseSavepoint(session.getProgressMonitor(), savepoint);
+        } catch (Throwable e) {
+            // Some drivers do not support explicit savepoint release
+            log.debug("Can't release savepoint", e);
+        }
+    }
+
     private boolean executeSingleQuery(@NotNull DBCSession session, @NotNull SQLScriptElement element) {
         if (element instanceof SQLControlCommand) {
             log.debug(STAT_LOG_PREFIX + "Execute command\n" + element.getText());
@@ -353,4 +558,12 @@ public class SQLScriptProcessor {
         return totalStatistics;
     }
 
+    /**
+     * Offset of the last failed script element or -1 if there were no errors.
+     * For streamed scripts it is an absolute character offset which may be used to resume script execution.
+     */
+    public long getLastErrorOffset() {
+        return lastErrorOffset;
+    }
+
 }
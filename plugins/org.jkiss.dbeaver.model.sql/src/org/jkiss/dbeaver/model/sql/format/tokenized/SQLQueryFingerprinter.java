@@ -0,0 +1,162 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.format.tokenized;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.jkiss.dbeaver.model.sql.format.SQLFormatterConfiguration;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Makes query fingerprint - normalized query text which is the same for all queries of the same shape.
+ * Literals are replaced with parameter marks, IN lists are collapsed, comments and formatting are removed,
+ * keywords are converted to upper case.
+ */
+public class SQLQueryFingerprinter {
+
+    public static final String VALUE_MARK = "?";
+    public static final String LIST_MARK = "(?+)";
+
+    private final SQLTokensParser tokensParser;
+
+    public SQLQueryFingerprinter(@NotNull SQLFormatterConfiguration configuration) {
+        this.tokensParser = new SQLTokensParser(configuration);
+    }
+
+    @NotNull
+    public static SQLQueryFingerprinter forDialect(@NotNull SQLDialect dialect) {
+        SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+        syntaxManager.init(dialect, DBWorkbench.getPlatform().getPreferenceStore());
+        return new SQLQueryFingerprinter(new SQLFormatterConfiguration(null, syntaxManager, SQLFormatterTokenized.FORMATTER_ID));
+    }
+
+    @NotNull
+    public synchronized String makeFingerprint(@NotNull String query) {
+        List<FormatterToken> tokens;
+        try {
+            tokens = tokensParser.parse(query);
+        } catch (RuntimeException e) {
+            // Tokenizer fails on some broken queries (e.g. unclosed comments)
+            return query.trim().replaceAll("\\s+", " ");
+        }
+        List<String> parts = new ArrayList<>(tokens.size());
+        FormatterToken prevToken = null, lastToken = null;
+        for (FormatterToken token : tokens) {
+            String value = token.getString();
+            switch (token.getType()) {
+                case SPACE:
+                case COMMENT:
+                    continue;
+                case KEYWORD:
+                    parts.add(value.toUpperCase(Locale.ENGLISH));
+                    break;
+                case VALUE:
+                    if (!isLiteral(value)) {
+                        // Quoted identifier
+                        parts.add(value);
+                        break;
+                    }
+                    if (lastToken != null && isSign(lastToken) && isUnaryPosition(prevToken)) {
+                        parts.remove(parts.size() - 1);
+                    }
+                    parts.add(VALUE_MARK);
+                    break;
+                default:
+                    parts.add(value);
+                    break;
+            }
+            prevToken = lastToken;
+            lastToken = token;
+        }
+        while (!parts.isEmpty() && parts.get(parts.size() - 1).equals(";")) {
+            parts.remove(parts.size() - 1);
+        }
+        return joinParts(collapseLists(parts));
+    }
+
+    private static boolean isLiteral(@NotNull String value) {
+        return !value.isEmpty() && (value.charAt(0) == '\'' || Character.isDigit(value.charAt(0)));
+    }
+
+    private static boolean isSign(@NotNull FormatterToken token) {
+        return token.getType() == TokenType.SYMBOL && (token.getString().equals("-") || token.getString().equals("+"));
+    }
+
+    /**
+     * Sign is unary if it is the first token or follows an operator, opening bracket or keyword
+     */
+    private static boolean isUnaryPosition(@Nullable FormatterToken prevToken) {
+        return prevToken == null ||
+            prevToken.getType() == TokenType.KEYWORD ||
+            (prevToken.getType() == TokenType.SYMBOL && !prevToken.getString().equals(")"));
+    }
+
+    /**
+     * Replaces IN lists of values with single mark: IN (?, ?, ?) -> IN (?+)
+     */
+    @NotNull
+    private static List<String> collapseLists(@NotNull List<String> parts) {
+        List<String> result = new ArrayList<>(parts.size());
+        for (int i = 0; i < parts.size(); i++) {
+            String part = parts.get(i);
+            result.add(part);
+            if (!part.equals("IN") || i + 1 >= parts.size() || !parts.get(i + 1).equals("(")) {
+                continue;
+            }
+            int listEnd = -1;
+            for (int k = i + 2; k < parts.size(); k++) {
+                String item = parts.get(k);
+                if (item.equals(")")) {
+                    listEnd = k;
+                    break;
+                }
+                boolean expectValue = (k - i) % 2 == 0;
+                if (expectValue ? !item.equals(VALUE_MARK) : !item.equals(",")) {
+                    break;
+                }
+            }
+            if (listEnd > i + 2) {
+                result.add(LIST_MARK);
+                i = listEnd;
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private static String joinParts(@NotNull List<String> parts) {
+        StringBuilder result = new StringBuilder();
+        String prev = null;
+        for (String part : parts) {
+            if (prev != null && !prev.equals("(") && !prev.equals(".") &&
+                !part.equals(")") && !part.equals(",") && !part.equals("."))
+            {
+                result.append(' ');
+            }
+            result.append(part);
+            prev = part;
+        }
+        return result.toString();
+    }
+
+}
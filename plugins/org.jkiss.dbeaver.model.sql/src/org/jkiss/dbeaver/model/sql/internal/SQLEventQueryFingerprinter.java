@@ -0,0 +1,51 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.internal;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.runtime.jfr.JFROperation;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.format.tokenized.SQLQueryFingerprinter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Makes fingerprints of queries recorded in flight recorder events
+ */
+class SQLEventQueryFingerprinter implements JFROperation.QueryFingerprinter {
+
+    private final Map<String, SQLQueryFingerprinter> fingerprinters = new HashMap<>();
+
+    @NotNull
+    @Override
+    public String makeFingerprint(@Nullable DBPDataSource dataSource, @NotNull String query) {
+        SQLDialect dialect = dataSource == null ? null : dataSource.getSQLDialect();
+        if (dialect == null) {
+            dialect = BasicSQLDialect.INSTANCE;
+        }
+        SQLQueryFingerprinter fingerprinter;
+        synchronized (fingerprinters) {
+            SQLDialect fingerprintDialect = dialect;
+            fingerprinter = fingerprinters.computeIfAbsent(dialect.getDialectId(), id -> SQLQueryFingerprinter.forDialect(fingerprintDialect));
+        }
+        return fingerprinter.makeFingerprint(query);
+    }
+}
@@ -18,6 +18,7 @@ package org.jkiss.dbeaver.model.sql.internal;
 
 import org.eclipse.core.runtime.Plugin;
 import org.jkiss.dbeaver.model.impl.preferences.BundlePreferenceStore;
+import org.jkiss.dbeaver.model.runtime.jfr.JFROperation;
 import org.osgi.framework.BundleContext;
 
 /**
@@ -50,6 +51,7 @@ public class SQLModelActivator extends Plugin
         super.start(context);
         instance = this;
         preferences = new BundlePreferenceStore(getBundle());
+        JFROperation.setQueryFingerprinter(new SQLEventQueryFingerprinter());
 
         //context.registerService(SQLDialectMetadataRegistry.class, SQLDialectRegistry.getInstance(), null);
     }
@@ -58,6 +60,7 @@ public class SQLModelActivator extends Plugin
     public void stop(BundleContext context)
         throws Exception
     {
+        JFROperation.setQueryFingerprinter(null);
         instance = null;
 
         super.stop(context);
@@ -0,0 +1,224 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.parser;
+
+import org.eclipse.jface.text.Document;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Incremental SQL script parser.
+ * Reads script text by windows and returns parsed script elements one by one, so memory usage doesn't depend
+ * on the script size (only on the size of the largest statement).
+ * <p>
+ * Element offsets (see {@link #getElementOffset()}) are absolute character offsets in the script.
+ * They may be used to resume script execution after an error (see {@code startOffset} constructor parameter).
+ */
+public class SQLScriptStreamParser implements AutoCloseable {
+
+    public static final int DEFAULT_WINDOW_SIZE = 1024 * 1024;
+
+    private static final int READ_CHUNK_SIZE = 64 * 1024;
+
+    private record ParsedElement(@NotNull SQLScriptElement element, long offset) {
+    }
+
+    @NotNull
+    private final DBPDataSource dataSource;
+    @NotNull
+    private final SQLSyntaxManager syntaxManager;
+    @NotNull
+    private final SQLRuleManager ruleManager;
+    @NotNull
+    private final CountingInputStream input;
+    @NotNull
+    private final Reader reader;
+    private final long totalBytes;
+    private final int windowSize;
+
+    private final StringBuilder buffer = new StringBuilder();
+    private final Deque<ParsedElement> pendingElements = new ArrayDeque<>();
+    private final char[] readChunk = new char[READ_CHUNK_SIZE];
+    // Absolute offset of the buffer start
+    private long bufferOffset;
+    private long elementOffset = -1;
+    private boolean eof;
+
+    /**
+     * @param totalBytes  script size in bytes or -1 if unknown. Used for progress reporting only.
+     * @param startOffset character offset to start parsing from. Text before this offset is skipped.
+     */
+    public SQLScriptStreamParser(
+        @NotNull DBPDataSource dataSource,
+        @NotNull InputStream stream,
+        @NotNull Charset charset,
+        long totalBytes,
+        long startOffset,
+        int windowSize
+    ) throws IOException {
+        this.dataSource = dataSource;
+        this.syntaxManager = new SQLSyntaxManager();
+        this.syntaxManager.init(dataSource.getSQLDialect(), dataSource.getContainer().getPreferenceStore());
+        this.ruleManager = new SQLRuleManager(syntaxManager);
+        this.ruleManager.loadRules(dataSource, false);
+
+        this.input = new CountingInputStream(stream);
+        this.reader = new InputStreamReader(input, charset);
+        this.totalBytes = totalBytes;
+        this.windowSize = Math.max(windowSize, READ_CHUNK_SIZE);
+
+        if (startOffset > 0) {
+            long skipped = 0;
+            while (skipped < startOffset) {
+                long count = reader.skip(startOffset - skipped);
+                if (count <= 0) {
+                    eof = true;
+                    break;
+                }
+                skipped += count;
+            }
+            this.bufferOffset = skipped;
+        }
+    }
+
+    /**
+     * Returns next script element or null if the end of script was reached.
+     */
+    @Nullable
+    public SQLScriptElement nextElement() throws IOException {
+        while (pendingElements.isEmpty()) {
+            if (!parseNextWindow()) {
+                return null;
+            }
+        }
+        ParsedElement next = pendingElements.poll();
+        elementOffset = next.offset();
+        return next.element();
+    }
+
+    /**
+     * Absolute character offset of the element returned by the last {@link #nextElement()} call.
+     */
+    public long getElementOffset() {
+        return elementOffset;
+    }
+
+    /**
+     * Number of bytes read from the script stream so far.
+     * It is slightly ahead of the parsed text because of the read buffering.
+     */
+    public long getBytesRead() {
+        return input.count;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean parseNextWindow() throws IOException {
+        int targetSize = windowSize;
+        while (true) {
+            fillBuffer(targetSize);
+            if (buffer.isEmpty()) {
+                return false;
+            }
+            String text = buffer.toString();
+            SQLParserContext parserContext = new SQLParserContext(dataSource, syntaxManager, ruleManager, new Document(text));
+            List<SQLScriptElement> elements = SQLScriptParser.extractScriptQueries(
+                parserContext, 0, text.length(), true, false, true);
+            // The last element may be truncated by the window end. Keep it for the next window.
+            int completeCount = eof ? elements.size() : elements.size() - 1;
+            if (completeCount <= 0) {
+                if (eof) {
+                    // Only comments or blanks remain
+                    buffer.setLength(0);
+                    return false;
+                }
+                // Statement is larger than the window
+                targetSize = buffer.length() * 2;
+                continue;
+            }
+            int consumed = 0;
+            for (int i = 0; i < completeCount; i++) {
+                SQLScriptElement element = elements.get(i);
+                pendingElements.add(new ParsedElement(element, bufferOffset + element.getOffset()));
+                consumed = element.getOffset() + element.getLength();
+            }
+            buffer.delete(0, consumed);
+            bufferOffset += consumed;
+            return true;
+        }
+    }
+
+    private void fillBuffer(int targetSize) throws IOException {
+        while (!eof && buffer.length() < targetSize) {
+            int count = reader.read(readChunk);
+            if (count < 0) {
+                eof = true;
+            } else {
+                buffer.append(readChunk, 0, count);
+            }
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int result = super.read();
+            if (result >= 0) {
+                count++;
+            }
+            return result;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int result = super.read(b, off, len);
+            if (result > 0) {
+                count += result;
+            }
+            return result;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long result = super.skip(n);
+            count += result;
+            return result;
+        }
+    }
+}
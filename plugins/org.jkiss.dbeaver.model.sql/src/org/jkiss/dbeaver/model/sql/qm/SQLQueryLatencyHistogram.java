@@ -0,0 +1,118 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.qm;
+
+import java.util.Arrays;
+
+/**
+ * Latency histogram with logarithmic buckets (HDR histogram style).
+ * Each power of two range is split into 8 linear sub-buckets, so relative error of recorded value is below 12.5%.
+ * Memory usage is fixed and doesn't depend on number of recorded values.
+ */
+public class SQLQueryLatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // Values up to 2^40 ms are more than enough
+    private static final int MAX_MAGNITUDE = 40;
+    private static final int BUCKET_COUNT = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long maxValue;
+
+    public synchronized void recordValue(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[getBucketIndex(value)]++;
+        totalCount++;
+        if (value > maxValue) {
+            maxValue = value;
+        }
+    }
+
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    public synchronized long getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Returns value at the given percentile (0..100).
+     * Result is the upper bound of the bucket which contains the percentile.
+     */
+    public synchronized long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long countAtPercentile = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * totalCount));
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            count += counts[i];
+            if (count >= countAtPercentile) {
+                return Math.min(getBucketUpperValue(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * Replaces histogram content with content of another histogram
+     */
+    public void copyFrom(SQLQueryLatencyHistogram source) {
+        synchronized (source) {
+            synchronized (this) {
+                System.arraycopy(source.counts, 0, counts, 0, counts.length);
+                totalCount = source.totalCount;
+                maxValue = source.maxValue;
+            }
+        }
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        maxValue = 0;
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude > MAX_MAGNITUDE) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long getBucketUpperValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int magnitude = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKET_COUNT;
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+
+}
@@ -0,0 +1,289 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.qm.QMEventAction;
+import org.jkiss.dbeaver.model.qm.QMMetaEvent;
+import org.jkiss.dbeaver.model.qm.QMMetaListener;
+import org.jkiss.dbeaver.model.qm.QMUtils;
+import org.jkiss.dbeaver.model.qm.meta.QMMConnectionInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.format.tokenized.SQLQueryFingerprinter;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+
+/**
+ * Aggregates query manager statement executions by query fingerprint.
+ * Keeps execution count, latency histogram, row and error counts for each fingerprint.
+ * Number of tracked fingerprints is limited, least expensive fingerprints are evicted first.
+ */
+public class SQLQueryStatistics implements QMMetaListener {
+
+    private static final Log log = Log.getLog(SQLQueryStatistics.class);
+
+    public static final int MAX_FINGERPRINTS = 500;
+    private static final int MAX_QUERY_LENGTH = 64 * 1024;
+    private static final int MAX_TRACKED_FETCHES = 1000;
+
+    private static SQLQueryStatistics instance;
+
+    public static class Entry {
+        private final String fingerprint;
+        private final String dataSourceName;
+        private final SQLQueryLatencyHistogram histogram = new SQLQueryLatencyHistogram();
+        private String sampleQuery;
+        private long executeCount;
+        private long totalTime;
+        private long rowCount;
+        private long errorCount;
+
+        Entry(@NotNull String fingerprint, @Nullable String dataSourceName) {
+            this.fingerprint = fingerprint;
+            this.dataSourceName = dataSourceName;
+        }
+
+        @NotNull
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        @Nullable
+        public String getDataSourceName() {
+            return dataSourceName;
+        }
+
+        @Nullable
+        public String getSampleQuery() {
+            return sampleQuery;
+        }
+
+        public long getExecuteCount() {
+            return executeCount;
+        }
+
+        public long getTotalTime() {
+            return totalTime;
+        }
+
+        public long getAverageTime() {
+            return executeCount == 0 ? 0 : totalTime / executeCount;
+        }
+
+        public long getMaxTime() {
+            return histogram.getMaxValue();
+        }
+
+        public long getTimeAtPercentile(double percentile) {
+            return histogram.getValueAtPercentile(percentile);
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        public long getErrorCount() {
+            return errorCount;
+        }
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    // Keyed by dialect id: dialect instances are per connection and must not be retained here
+    private final Map<String, SQLQueryFingerprinter> fingerprinters = new HashMap<>();
+    // Executions which fetch was already counted
+    private final Set<Long> fetchedExecutions = new LinkedHashSet<>();
+
+    /**
+     * Returns statistics collector. Registers it in query manager on first call.
+     */
+    @NotNull
+    public static synchronized SQLQueryStatistics getInstance() {
+        if (instance == null) {
+            SQLQueryStatistics statistics = new SQLQueryStatistics();
+            try {
+                QMUtils.registerMetaListener(statistics);
+            } catch (Exception e) {
+                // Query manager is not initialized yet. Try again next time.
+                log.debug("Can't register query statistics listener: " + e.getMessage());
+                return statistics;
+            }
+            instance = statistics;
+        }
+        return instance;
+    }
+
+    @Override
+    public void metaInfoChanged(@NotNull DBRProgressMonitor monitor, @NotNull List<QMMetaEvent> events) {
+        for (QMMetaEvent event : events) {
+            if (event.getObject() instanceof QMMStatementExecuteInfo execInfo) {
+                if (event.getAction() == QMEventAction.END) {
+                    handleExecuteEnd(execInfo);
+                } else if (event.getAction() == QMEventAction.UPDATE && execInfo.getFetchEndTime() > 0) {
+                    handleFetchEnd(execInfo);
+                }
+            }
+        }
+    }
+
+    private void handleExecuteEnd(@NotNull QMMStatementExecuteInfo execInfo) {
+        String query = execInfo.getQueryString();
+        if (!isTracked(execInfo, query)) {
+            return;
+        }
+        QMMConnectionInfo connection = execInfo.getStatement().getConnection();
+        String fingerprint = makeFingerprint(connection, query);
+        long duration = execInfo.getDuration();
+        synchronized (this) {
+            Entry entry = getEntry(fingerprint, connection.getContainerName());
+            entry.sampleQuery = query;
+            entry.executeCount++;
+            entry.totalTime += duration;
+            if (execInfo.getUpdateRowCount() > 0) {
+                entry.rowCount += execInfo.getUpdateRowCount();
+            }
+            if (execInfo.hasError()) {
+                entry.errorCount++;
+            }
+            entry.histogram.recordValue(duration);
+        }
+    }
+
+    private void handleFetchEnd(@NotNull QMMStatementExecuteInfo execInfo) {
+        String query = execInfo.getQueryString();
+        if (!isTracked(execInfo, query) || execInfo.getFetchRowCount() <= 0) {
+            return;
+        }
+        synchronized (this) {
+            if (!fetchedExecutions.add(execInfo.getObjectId())) {
+                return;
+            }
+            if (fetchedExecutions.size() > MAX_TRACKED_FETCHES) {
+                Iterator<Long> iterator = fetchedExecutions.iterator();
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        QMMConnectionInfo connection = execInfo.getStatement().getConnection();
+        String fingerprint = makeFingerprint(connection, query);
+        synchronized (this) {
+            getEntry(fingerprint, connection.getContainerName()).rowCount += execInfo.getFetchRowCount();
+        }
+    }
+
+    private static boolean isTracked(@NotNull QMMStatementExecuteInfo execInfo, @Nullable String query) {
+        if (CommonUtils.isEmptyTrimmed(query) || query.length() > MAX_QUERY_LENGTH) {
+            return false;
+        }
+        DBCExecutionPurpose purpose = execInfo.getStatement().getPurpose();
+        return purpose == null || purpose.isUser();
+    }
+
+    @NotNull
+    private Entry getEntry(@NotNull String fingerprint, @Nullable String dataSourceName) {
+        String key = CommonUtils.notEmpty(dataSourceName) + '\n' + fingerprint;
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() >= MAX_FINGERPRINTS) {
+                evictCheapestEntry();
+            }
+            entry = new Entry(fingerprint, dataSourceName);
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    private void evictCheapestEntry() {
+        String cheapestKey = null;
+        long cheapestTime = Long.MAX_VALUE;
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (e.getValue().totalTime < cheapestTime) {
+                cheapestTime = e.getValue().totalTime;
+                cheapestKey = e.getKey();
+            }
+        }
+        if (cheapestKey != null) {
+            entries.remove(cheapestKey);
+        }
+    }
+
+    @NotNull
+    private String makeFingerprint(@NotNull QMMConnectionInfo connection, @NotNull String query) {
+        SQLDialect dialect = getDialect(connection);
+        SQLQueryFingerprinter fingerprinter;
+        synchronized (fingerprinters) {
+            fingerprinter = fingerprinters.computeIfAbsent(dialect.getDialectId(), id -> SQLQueryFingerprinter.forDialect(dialect));
+        }
+        return fingerprinter.makeFingerprint(query);
+    }
+
+    @NotNull
+    private static SQLDialect getDialect(@NotNull QMMConnectionInfo connection) {
+        String projectName = connection.getProjectInfo() == null ? null : connection.getProjectInfo().getName();
+        if (CommonUtils.isEmpty(projectName)) {
+            projectName = connection.getProjectInfo() == null ? null : connection.getProjectInfo().getId();
+        }
+        DBPDataSourceContainer container = DBUtils.findDataSource(projectName, connection.getContainerId());
+        if (container != null) {
+            DBPDataSource dataSource = container.getDataSource();
+            if (dataSource != null) {
+                return dataSource.getSQLDialect();
+            }
+            try {
+                return container.getDriver().getScriptDialect().createInstance();
+            } catch (Exception e) {
+                log.debug("Can't create SQL dialect for " + container.getName(), e);
+            }
+        }
+        return BasicSQLDialect.INSTANCE;
+    }
+
+    /**
+     * Returns copy of collected statistics sorted by total execution time (descending)
+     */
+    @NotNull
+    public synchronized List<Entry> getEntries() {
+        List<Entry> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            Entry copy = new Entry(entry.fingerprint, entry.dataSourceName);
+            copy.sampleQuery = entry.sampleQuery;
+            copy.executeCount = entry.executeCount;
+            copy.totalTime = entry.totalTime;
+            copy.rowCount = entry.rowCount;
+            copy.errorCount = entry.errorCount;
+            copy.histogram.copyFrom(entry.histogram);
+            result.add(copy);
+        }
+        result.sort(Comparator.comparingLong(Entry::getTotalTime).reversed());
+        return result;
+    }
+
+    public synchronized void reset() {
+        entries.clear();
+        fetchedExecutions.clear();
+    }
+
+}
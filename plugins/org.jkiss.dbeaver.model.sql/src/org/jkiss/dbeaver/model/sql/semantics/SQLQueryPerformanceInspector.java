@@ -0,0 +1,636 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.semantics;
+
+import org.antlr.v4.runtime.misc.Interval;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.lsm.sql.impl.syntax.SQLStandardParser;
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseFolder;
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
+import org.jkiss.dbeaver.model.navigator.DBNUtils;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.semantics.context.SQLQueryDataContext;
+import org.jkiss.dbeaver.model.sql.semantics.context.SQLQueryDummyDataSourceContext.DummyTableRowsSource;
+import org.jkiss.dbeaver.model.sql.semantics.context.SQLQueryExprType;
+import org.jkiss.dbeaver.model.sql.semantics.context.SQLQueryResultColumn;
+import org.jkiss.dbeaver.model.sql.semantics.model.*;
+import org.jkiss.dbeaver.model.stm.STMTreeNode;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.struct.rdb.DBSTable;
+import org.jkiss.dbeaver.model.struct.rdb.DBSTableIndex;
+import org.jkiss.dbeaver.model.struct.rdb.DBSTableIndexColumn;
+
+import java.util.*;
+
+/**
+ * Inspects recognized query model and finds constructs which usually lead to poor performance:
+ * expressions and implicit conversions on indexed columns, leading wildcard LIKE patterns,
+ * cartesian joins, SELECT * from wide tables and UPDATE/DELETE without WHERE clause.
+ */
+public class SQLQueryPerformanceInspector {
+
+    private static final Log log = Log.getLog(SQLQueryPerformanceInspector.class);
+
+    public static final int WIDE_TABLE_COLUMN_COUNT = 20;
+
+    // Expressions which hide column from index lookup
+    private static final Set<Integer> COLUMN_WRAPPING_EXPRESSIONS = Set.of(
+        SQLStandardParser.RULE_aggregateExpression,
+        SQLStandardParser.RULE_anyWordsWithProperty,
+        SQLStandardParser.RULE_anyWordsWithProperty2,
+        SQLStandardParser.RULE_anyWordsWithPropertyBased,
+        SQLStandardParser.RULE_anyWordsWithPropertySignedBased,
+        SQLStandardParser.RULE_valueExpressionPrimaryBased,
+        SQLStandardParser.RULE_valueExpressionPrimarySignedBased,
+        SQLStandardParser.RULE_castSpecification
+    );
+
+    private record Scope(boolean inCondition, boolean inValueSubquery) {
+        static final Scope DEFAULT = new Scope(false, false);
+    }
+
+    @NotNull
+    private final DBRProgressMonitor monitor;
+    @NotNull
+    private final List<SQLQueryPerformanceProblem> problems = new ArrayList<>();
+    @NotNull
+    private final Map<DBSEntity, Set<DBSEntityAttribute>> indexedAttributes = new HashMap<>();
+
+    public SQLQueryPerformanceInspector(@NotNull DBRProgressMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    /**
+     * Inspects query model. Model must be already recognized with metadata resolution.
+     */
+    @NotNull
+    public List<SQLQueryPerformanceProblem> inspect(@NotNull SQLQueryModel model) {
+        SQLQueryModelContent content = model.getQueryModel();
+        if (content != null) {
+            content.apply(new InspectionVisitor(), Scope.DEFAULT);
+        }
+        return problems;
+    }
+
+    private void addProblem(@NotNull SQLQueryPerformanceProblem.Kind kind, @NotNull Interval interval, @NotNull String message) {
+        problems.add(new SQLQueryPerformanceProblem(kind, interval, message));
+    }
+
+    private class InspectionVisitor implements SQLQueryNodeModelVisitor<Scope, Object> {
+
+        private void visit(@Nullable SQLQueryNodeModel node, @NotNull Scope scope) {
+            if (node != null && !monitor.isCanceled()) {
+                node.apply(this, scope);
+            }
+        }
+
+        private void visitCondition(@Nullable SQLQueryValueExpression condition) {
+            visit(condition, new Scope(true, false));
+        }
+
+        @Override
+        public Object visitValueSubqueryExpr(@NotNull SQLQueryValueSubqueryExpression subqueryExpr, Scope scope) {
+            visit(subqueryExpr.getSource(), new Scope(false, true));
+            return null;
+        }
+
+        @Override
+        public Object visitValueFlatExpr(@NotNull SQLQueryValueFlattenedExpression flattenedExpr, Scope scope) {
+            if (scope.inCondition()) {
+                inspectPredicate(flattenedExpr);
+            }
+            for (SQLQueryValueExpression operand : flattenedExpr.getOperands()) {
+                visit(operand, scope);
+            }
+            return null;
+        }
+
+        @Override
+        public Object visitValueVariableExpr(@NotNull SQLQueryValueVariableExpression varExpr, Scope scope) {
+            return null;
+        }
+
+        @Override
+        public Object visitValueColumnRefExpr(SQLQueryValueColumnReferenceExpression columnRefExpr, Scope scope) {
+            return null;
+        }
+
+        @Override
+        public Object visitValueTupleRefExpr(@NotNull SQLQueryValueTupleReferenceExpression tupleRefExpr, Scope scope) {
+            return null;
+        }
+
+        @Override
+        public Object visitValueMemberReferenceExpr(@NotNull SQLQueryValueMemberExpression memberRefExpr, Scope scope) {
+            visit(memberRefExpr.getMemberOwner(), scope);
+            return null;
+        }
+
+        @Override
+        public Object visitValueIndexingExpr(@NotNull SQLQueryValueIndexingExpression indexingExpr, Scope scope) {
+            visit(indexingExpr.getOwner(), scope);
+            return null;
+        }
+
+        @Override
+        public Object visitValueTypeCastExpr(@NotNull SQLQueryValueTypeCastExpression typeCastExpr, Scope scope) {
+            if (scope.inCondition()) {
+                SQLQueryResultColumn column = getIndexedColumn(typeCastExpr.getValueExpr());
+                if (column != null) {
+                    addProblem(
+                        SQLQueryPerformanceProblem.Kind.INDEX_DEFEATING_EXPRESSION,
+                        typeCastExpr.getInterval(),
+                        "Type cast of indexed column '" + column.realAttr.getName() + "' prevents index usage"
+                    );
+                }
+            }
+            visit(typeCastExpr.getValueExpr(), scope);
+            return null;
+        }
+
+        @Override
+        public Object visitValueConstantExpr(@NotNull SQLQueryValueConstantExpression constExpr, Scope scope) {
+            return null;
+        }
+
+        @Override
+        public Object visitSelectionResult(@NotNull SQLQuerySelectionResultModel selectionResult, Scope scope) {
+            for (SQLQuerySelectionResultSublistSpec sublist : selectionResult.getSublists()) {
+                visit(sublist, scope);
+            }
+            return null;
+        }
+
+        @Override
+        public Object visitSelectionModel(@NotNull SQLQueryModel selection, Scope scope) {
+            visit(selection.getQueryModel(), scope);
+            return null;
+        }
+
+        @Override
+        public Object visitRowsTableData(@NotNull SQLQueryRowsTableDataModel tableData, Scope scope) {
+            return null;
+        }
+
+        @Override
+        public Object visitRowsTableValue(@NotNull SQLQueryRowsTableValueModel tableValue, Scope scope) {
+            for (SQLQueryValueExpression value : tableValue.getValues()) {
+                visit(value, Scope.DEFAULT);
+            }
+            return null;
+        }
+
+        @Override
+        public Object visitRowsCrossJoin(@NotNull SQLQueryRowsCrossJoinModel crossJoin, Scope scope) {
+            visit(crossJoin.getLeft(), scope);
+            visit(crossJoin.getRight(), scope);
+            return null;
+        }
+
+        @Override
+        public Object visitRowsCorrelatedSource(@NotNull SQLQueryRowsCorrelatedSourceModel correlated, Scope scope) {
+            visit(correlated.getSource(), scope);
+            return null;
+        }
+
+        @Override
+        public Object visitRowsNaturalJoin(@NotNull SQLQueryRowsNaturalJoinModel naturalJoin, Scope scope) {
+            visit(naturalJoin.getLeft(), scope);
+            visit(naturalJoin.getRight(), scope);
+            visitCondition(naturalJoin.getCondition());
+            return null;
+        }
+
+        @Override
+        public Object visitRowsProjection(@NotNull SQLQueryRowsProjectionModel projection, Scope scope) {
+            if (!scope.inValueSubquery()) {
+                inspectSelectAll(projection);
+            }
+            inspectCartesianJoins(projection);
+
+            visit(projection.getFromSource(), Scope.DEFAULT);
+            visit(projection.getResult(), Scope.DEFAULT);
+            visitCondition(projection.getWhereClause());
+            visit(projection.getHavingClause(), Scope.DEFAULT);
+            visit(projection.getGroupByClause(), Scope.DEFAULT);
+            visit(projection.getOrderByClause(), Scope.DEFAULT);
+            return null;
+        }
+
+        @Override
+        public Object visitRowsSetCorrespondingOp(@NotNull SQLQueryRowsSetCorrespondingOperationModel correspondingOp, Scope scope) {
+            visit(correspondingOp.getLeft(), scope);
+            visit(correspondingOp.getRight(), scope);
+            return null;
+        }
+
+        @Override
+        public Object visitDummyTableRowsSource(@NotNull DummyTableRowsSource dummyTable, Scope scope) {
+            return null;
+        }
+
+        @Override
+        public Object visitSelectCompleteTupleSpec(@NotNull SQLQuerySelectionResultCompleteTupleSpec completeTupleSpec, Scope scope) {
+            return null;
+        }
+
+        @Override
+        public Object visitSelectTupleSpec(@NotNull SQLQuerySelectionResultTupleSpec tupleSpec, Scope scope) {
+            return null;
+        }
+
+        @Override
+        public Object visitSelectColumnSpec(@NotNull SQLQuerySelectionResultColumnSpec columnSpec, Scope scope) {
+            visit(columnSpec.getValueExpression(), Scope.DEFAULT);
+            return null;
+        }
+
+        @Override
+        public Object visitRowsCte(@NotNull SQLQueryRowsCteModel cte, Scope scope) {
+            for (SQLQueryRowsSourceModel query : cte.getAllQueries()) {
+                visit(query, scope);
+            }
+            return null;
+        }
+
+        @Override
+        public Object visitRowsCteSubquery(@NotNull SQLQueryRowsCteSubqueryModel cteSubquery, Scope scope) {
+            visit(cteSubquery.source, scope);
+            return null;
+        }
+
+        @Override
+        public Object visitTableStatementDelete(@NotNull SQLQueryTableDeleteModel deleteStatement, Scope scope) {
+            SQLQueryRowsTableDataModel tableModel = deleteStatement.getTableModel();
+            if (deleteStatement.getCondition() == null && tableModel != null && tableModel.getTable() != null) {
+                addProblem(
+                    SQLQueryPerformanceProblem.Kind.UNBOUNDED_MODIFICATION,
+                    tableModel.getInterval(),
+                    "DELETE without WHERE clause removes all rows of '" + tableModel.getTable().getName() + "'"
+                );
+            }
+            visitCondition(deleteStatement.getCondition());
+            return null;
+        }
+
+        @Override
+        public Object visitTableStatementInsert(@NotNull SQLQueryTableInsertModel insertStatement, Scope scope) {
+            visit(insertStatement.getValuesRows(), Scope.DEFAULT);
+            return null;
+        }
+
+        @Override
+        public Object visitTableStatementUpdate(@NotNull SQLQueryTableUpdateModel updateStatement, Scope scope) {
+            SQLQueryRowsSourceModel targetRows = updateStatement.getTargetRows();
+            if (updateStatement.getWhereClause() == null && targetRows != null && updateStatement.getSetClauseList() != null) {
+                addProblem(
+                    SQLQueryPerformanceProblem.Kind.UNBOUNDED_MODIFICATION,
+                    targetRows.getInterval(),
+                    "UPDATE without WHERE clause modifies all rows of the table"
+                );
+            }
+            visit(targetRows, Scope.DEFAULT);
+            if (updateStatement.getSetClauseList() != null) {
+                for (SQLQueryTableUpdateSetClauseModel setClause : updateStatement.getSetClauseList()) {
+                    visit(setClause, Scope.DEFAULT);
+                }
+            }
+            visit(updateStatement.getSourceRows(), Scope.DEFAULT);
+            visitCondition(updateStatement.getWhereClause());
+            return null;
+        }
+
+        @Override
+        public Object visitTableStatementUpdateSetClause(@NotNull SQLQueryTableUpdateSetClauseModel setClause, Scope scope) {
+            for (SQLQueryValueExpression source : setClause.sources) {
+                visit(source, scope);
+            }
+            return null;
+        }
+    }
+
+    private void inspectPredicate(@NotNull SQLQueryValueFlattenedExpression expr) {
+        STMTreeNode node = unwrapSyntaxNode(expr.getSyntaxNode());
+        List<SQLQueryValueExpression> operands = expr.getOperands();
+        switch (node.getNodeKindId()) {
+            case SQLStandardParser.RULE_likePredicate -> {
+                if (operands.size() >= 2 &&
+                    getRealColumn(operands.get(0)) != null &&
+                    unwrapExpression(operands.get(1)) instanceof SQLQueryValueConstantExpression pattern &&
+                    isLeadingWildcardPattern(pattern.getValueString()))
+                {
+                    addProblem(
+                        SQLQueryPerformanceProblem.Kind.LEADING_WILDCARD_LIKE,
+                        pattern.getInterval(),
+                        "LIKE pattern starting with wildcard can't use index"
+                    );
+                }
+            }
+            case SQLStandardParser.RULE_rowValuePredicate -> {
+                if (operands.size() == 2 && node.getChildCount() == 2 &&
+                    unwrapSyntaxNode(node.getStmChild(1)).getNodeKindId() == SQLStandardParser.RULE_comparisonPredicate)
+                {
+                    inspectComparison(operands.get(0), operands.get(1), expr);
+                    inspectComparison(operands.get(1), operands.get(0), expr);
+                }
+            }
+            default -> {
+                if (COLUMN_WRAPPING_EXPRESSIONS.contains(node.getNodeKindId())) {
+                    for (SQLQueryValueExpression operand : operands) {
+                        SQLQueryResultColumn column = getIndexedColumn(operand);
+                        if (column != null) {
+                            addProblem(
+                                SQLQueryPerformanceProblem.Kind.INDEX_DEFEATING_EXPRESSION,
+                                expr.getInterval(),
+                                "Expression on indexed column '" + column.realAttr.getName() + "' prevents index usage"
+                            );
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Comparison of string column with numeric value makes database convert column value for each row
+     */
+    private void inspectComparison(
+        @NotNull SQLQueryValueExpression columnSide,
+        @NotNull SQLQueryValueExpression valueSide,
+        @NotNull SQLQueryValueExpression predicate
+    ) {
+        SQLQueryResultColumn column = getIndexedColumn(columnSide);
+        if (column == null || column.type.getDataKind() != DBPDataKind.STRING) {
+            return;
+        }
+        if (unwrapExpression(valueSide) instanceof SQLQueryValueConstantExpression constant &&
+            constant.getValueType() == SQLQueryExprType.NUMERIC)
+        {
+            addProblem(
+                SQLQueryPerformanceProblem.Kind.IMPLICIT_CONVERSION,
+                predicate.getInterval(),
+                "Comparison of indexed string column '" + column.realAttr.getName() + "' with number " +
+                    "causes implicit conversion and prevents index usage"
+            );
+        }
+    }
+
+    private void inspectSelectAll(@NotNull SQLQueryRowsProjectionModel projection) {
+        for (SQLQuerySelectionResultSublistSpec sublist : projection.getResult().getSublists()) {
+            SQLQueryRowsSourceModel source;
+            if (sublist instanceof SQLQuerySelectionResultCompleteTupleSpec) {
+                source = projection.getFromSource();
+            } else if (sublist instanceof SQLQuerySelectionResultTupleSpec tupleSpec) {
+                source = tupleSpec.getTupleSource();
+            } else {
+                continue;
+            }
+            SQLQueryDataContext sourceContext = source == null ? null : source.getResultDataContext();
+            if (sourceContext == null || !hasRealTables(source)) {
+                continue;
+            }
+            int columnCount = sourceContext.getColumnsList().size();
+            if (columnCount > WIDE_TABLE_COLUMN_COUNT) {
+                addProblem(
+                    SQLQueryPerformanceProblem.Kind.SELECT_ALL_FROM_WIDE_TABLE,
+                    sublist.getInterval(),
+                    "SELECT * reads all " + columnCount + " columns. Consider listing only required columns"
+                );
+            }
+        }
+    }
+
+    private void inspectCartesianJoins(@NotNull SQLQueryRowsProjectionModel projection) {
+        List<SQLQueryRowsCrossJoinModel> crossJoins = new ArrayList<>();
+        collectCrossJoins(projection.getFromSource(), crossJoins);
+        if (crossJoins.isEmpty()) {
+            return;
+        }
+        List<List<SQLQueryResultColumn>> predicates = new ArrayList<>();
+        if (projection.getWhereClause() != null) {
+            collectComparisonColumns(projection.getWhereClause(), predicates);
+        }
+        for (SQLQueryRowsCrossJoinModel crossJoin : crossJoins) {
+            if (unwrapSyntaxNode(crossJoin.getSyntaxNode()).getNodeKindId() == SQLStandardParser.RULE_crossJoinTerm) {
+                // Explicit CROSS JOIN is intentional
+                continue;
+            }
+            Set<SQLQueryRowsSourceModel> leftSources = new HashSet<>();
+            Set<SQLQueryRowsSourceModel> rightSources = new HashSet<>();
+            collectSources(crossJoin.getLeft(), leftSources);
+            collectSources(crossJoin.getRight(), rightSources);
+            boolean linked = false;
+            for (List<SQLQueryResultColumn> columns : predicates) {
+                boolean hasLeft = false, hasRight = false;
+                for (SQLQueryResultColumn column : columns) {
+                    hasLeft |= leftSources.contains(column.source);
+                    hasRight |= rightSources.contains(column.source);
+                }
+                if (hasLeft && hasRight) {
+                    linked = true;
+                    break;
+                }
+            }
+            if (!linked) {
+                addProblem(
+                    SQLQueryPerformanceProblem.Kind.CARTESIAN_JOIN,
+                    crossJoin.getRight().getInterval(),
+                    "No join condition links this table with preceding ones: result is a cartesian product"
+                );
+            }
+        }
+    }
+
+    private static void collectCrossJoins(@Nullable SQLQueryRowsSourceModel source, @NotNull List<SQLQueryRowsCrossJoinModel> result) {
+        if (source instanceof SQLQueryRowsCrossJoinModel crossJoin) {
+            result.add(crossJoin);
+        }
+        if (source instanceof SQLQueryRowsSetOperationModel join &&
+            (source instanceof SQLQueryRowsCrossJoinModel || source instanceof SQLQueryRowsNaturalJoinModel))
+        {
+            collectCrossJoins(join.getLeft(), result);
+            collectCrossJoins(join.getRight(), result);
+        } else if (source instanceof SQLQueryRowsCorrelatedSourceModel correlated) {
+            collectCrossJoins(correlated.getSource(), result);
+        }
+    }
+
+    private static void collectSources(@Nullable SQLQueryRowsSourceModel source, @NotNull Set<SQLQueryRowsSourceModel> result) {
+        if (source == null || !result.add(source)) {
+            return;
+        }
+        if (source instanceof SQLQueryRowsSetOperationModel setOperation) {
+            collectSources(setOperation.getLeft(), result);
+            collectSources(setOperation.getRight(), result);
+        } else if (source instanceof SQLQueryRowsCorrelatedSourceModel correlated) {
+            collectSources(correlated.getSource(), result);
+        } else if (source instanceof SQLQueryRowsProjectionModel projection) {
+            collectSources(projection.getFromSource(), result);
+        }
+    }
+
+    private static boolean hasRealTables(@Nullable SQLQueryRowsSourceModel source) {
+        Set<SQLQueryRowsSourceModel> sources = new HashSet<>();
+        collectSources(source, sources);
+        for (SQLQueryRowsSourceModel s : sources) {
+            if (s instanceof SQLQueryRowsTableDataModel tableData && tableData.getTable() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects columns referenced by each comparison predicate of the condition
+     */
+    private static void collectComparisonColumns(
+        @NotNull SQLQueryValueExpression condition,
+        @NotNull List<List<SQLQueryResultColumn>> result
+    ) {
+        if (!(condition instanceof SQLQueryValueFlattenedExpression flat)) {
+            return;
+        }
+        int kind = unwrapSyntaxNode(flat.getSyntaxNode()).getNodeKindId();
+        if (kind == SQLStandardParser.RULE_rowValuePredicate) {
+            List<SQLQueryResultColumn> columns = new ArrayList<>();
+            collectColumns(flat, columns);
+            result.add(columns);
+        } else {
+            for (SQLQueryValueExpression operand : flat.getOperands()) {
+                collectComparisonColumns(operand, result);
+            }
+        }
+    }
+
+    private static void collectColumns(@NotNull SQLQueryValueExpression expr, @NotNull List<SQLQueryResultColumn> result) {
+        if (expr instanceof SQLQueryValueColumnReferenceExpression columnRef) {
+            if (columnRef.getColumnIfTrivialExpression() != null) {
+                result.add(columnRef.getColumnIfTrivialExpression());
+            }
+        } else if (expr instanceof SQLQueryValueFlattenedExpression flat) {
+            for (SQLQueryValueExpression operand : flat.getOperands()) {
+                collectColumns(operand, result);
+            }
+        } else if (expr instanceof SQLQueryValueTypeCastExpression typeCast) {
+            collectColumns(typeCast.getValueExpr(), result);
+        }
+    }
+
+    @Nullable
+    private static SQLQueryResultColumn getRealColumn(@NotNull SQLQueryValueExpression expr) {
+        if (unwrapExpression(expr) instanceof SQLQueryValueColumnReferenceExpression columnRef) {
+            SQLQueryResultColumn column = columnRef.getColumnIfTrivialExpression();
+            if (column != null && column.realSource != null && column.realAttr != null) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns column if expression is a plain reference to a column which is the leading column of some index
+     */
+    @Nullable
+    private SQLQueryResultColumn getIndexedColumn(@NotNull SQLQueryValueExpression expr) {
+        SQLQueryResultColumn column = getRealColumn(expr);
+        if (column == null) {
+            return null;
+        }
+        Set<DBSEntityAttribute> indexed = indexedAttributes.computeIfAbsent(column.realSource, this::readIndexedAttributes);
+        return indexed.contains(column.realAttr) ? column : null;
+    }
+
+    /**
+     * Returns leading columns of entity indexes. Only already loaded metadata is used:
+     * inspection runs in background while user types and must not query database catalog.
+     */
+    @NotNull
+    public Set<DBSEntityAttribute> readIndexedAttributes(@NotNull DBSEntity entity) {
+        if (!(entity instanceof DBSTable table) || !isIndexesCached(table)) {
+            return Collections.emptySet();
+        }
+        Set<DBSEntityAttribute> result = new HashSet<>();
+        try {
+            Collection<? extends DBSTableIndex> indexes = table.getIndexes(monitor);
+            if (indexes != null) {
+                for (DBSTableIndex index : indexes) {
+                    List<? extends DBSTableIndexColumn> columns = index.getAttributeReferences(monitor);
+                    if (columns != null && !columns.isEmpty() && columns.get(0).getAttribute() != null) {
+                        result.add(columns.get(0).getAttribute());
+                    }
+                }
+            }
+        } catch (DBException e) {
+            log.debug("Error reading indexes of " + table.getName(), e);
+        }
+        return result;
+    }
+
+    /**
+     * Indexes are considered cached if the table's indexes folder was already expanded in navigator
+     */
+    private boolean isIndexesCached(@NotNull DBSTable table) {
+        DBNDatabaseNode tableNode = DBNUtils.getNodeByObject(table);
+        if (tableNode == null || tableNode.needsInitialization()) {
+            return false;
+        }
+        try {
+            for (DBNDatabaseNode child : tableNode.getChildren(monitor)) {
+                if (child instanceof DBNDatabaseFolder folder &&
+                    folder.getChildrenClass() != null &&
+                    DBSTableIndex.class.isAssignableFrom(folder.getChildrenClass()))
+                {
+                    return !folder.needsInitialization();
+                }
+            }
+        } catch (DBException e) {
+            log.debug("Error reading navigator nodes of " + table.getName(), e);
+        }
+        return false;
+    }
+
+    private static boolean isLeadingWildcardPattern(@NotNull String pattern) {
+        return pattern.length() > 1 && (pattern.charAt(1) == '%' || pattern.charAt(1) == '_') && pattern.charAt(0) == '\'';
+    }
+
+    /**
+     * Skips flattened expressions which just wrap single operand (brackets, predicate parts)
+     */
+    @NotNull
+    private static SQLQueryValueExpression unwrapExpression(@NotNull SQLQueryValueExpression expr) {
+        while (expr instanceof SQLQueryValueFlattenedExpression flat && flat.getOperands().size() == 1 &&
+            !COLUMN_WRAPPING_EXPRESSIONS.contains(unwrapSyntaxNode(flat.getSyntaxNode()).getNodeKindId()))
+        {
+            expr = flat.getOperands().get(0);
+        }
+        return expr;
+    }
+
+    @NotNull
+    private static STMTreeNode unwrapSyntaxNode(@NotNull STMTreeNode node) {
+        while (node.getChildCount() == 1 && node.getStmChild(0) != null) {
+            node = node.getStmChild(0);
+        }
+        return node;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.semantics;
+
+import org.antlr.v4.runtime.misc.Interval;
+import org.jkiss.code.NotNull;
+
+/**
+ * Query construct which is likely to cause poor performance
+ */
+public class SQLQueryPerformanceProblem {
+
+    public enum Kind {
+        INDEX_DEFEATING_EXPRESSION,
+        LEADING_WILDCARD_LIKE,
+        IMPLICIT_CONVERSION,
+        CARTESIAN_JOIN,
+        SELECT_ALL_FROM_WIDE_TABLE,
+        UNBOUNDED_MODIFICATION
+    }
+
+    @NotNull
+    private final Kind kind;
+    @NotNull
+    private final Interval interval;
+    @NotNull
+    private final String message;
+
+    public SQLQueryPerformanceProblem(@NotNull Kind kind, @NotNull Interval interval, @NotNull String message) {
+        this.kind = kind;
+        this.interval = interval;
+        this.message = message;
+    }
+
+    @NotNull
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Text range of the problem (relative to the query text)
+     */
+    @NotNull
+    public Interval getInterval() {
+        return interval;
+    }
+
+    @NotNull
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return kind + "@" + interval + ": " + message;
+    }
+}
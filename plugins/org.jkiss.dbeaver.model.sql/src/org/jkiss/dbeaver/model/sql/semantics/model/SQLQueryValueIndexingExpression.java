@@ -47,6 +47,11 @@ public class SQLQueryValueIndexingExpression extends SQLQueryValueExpression {
         this.owner = owner;
         this.slicingDepthSpec = slicingDepthSpec;
     }
+
+    @NotNull
+    public SQLQueryValueExpression getOwner() {
+        return this.owner;
+    }
     
     @Override
     protected void propagateContextImpl(@NotNull SQLQueryDataContext context, @NotNull SQLQueryRecognitionContext statistics) {
@@ -144,6 +144,14 @@ public final class ModelPreferences
     public static final String CONNECTION_VALIDATION_TIMEOUT = "connection.validation.timeout"; //$NON-NLS-1$
     public static final String CONNECTION_AUTO_CLOSE_ENABLED = "connection.auto.close.enabled"; //$NON-NLS-1$
     public static final String CONNECTION_CLOSE_TIMEOUT = "connection.close.timeout"; //$NON-NLS-1$
+    // Max number of prepared statements cached per connection. 0 disables statement cache.
+    public static final String CONNECTION_STATEMENT_CACHE_SIZE = "connection.statement.cache.size"; //$NON-NLS-1$
+    // Opens metadata connection and loads driver in parallel with the main connection. Some drivers are not safe
+    // for concurrent connects (shared static state, single-session servers), so it is disabled by default.
+    public static final String CONNECTION_PARALLEL_BOOTSTRAP = "connection.bootstrap.parallel"; //$NON-NLS-1$
+    // Editor contexts in auto-commit mode share a bounded pool of physical connections
+    public static final String CONNECTION_EDITOR_POOL_ENABLED = "connection.editor.pool.enabled"; //$NON-NLS-1$
+    public static final String CONNECTION_EDITOR_POOL_SIZE = "connection.editor.pool.size"; //$NON-NLS-1$
 
     public static final String SCRIPT_STATEMENT_DELIMITER = "script.sql.delimiter"; //$NON-NLS-1$
     public static final String SCRIPT_IGNORE_NATIVE_DELIMITER = "script.sql.ignoreNativeDelimiter"; //$NON-NLS-1$
@@ -159,6 +167,8 @@ public final class ModelPreferences
     public static final String META_CASE_SENSITIVE = "database.meta.casesensitive"; //$NON-NLS-1$
     public static final String META_USE_SERVER_SIDE_FILTERS = "database.meta.server.side.filters"; //$NON-NLS-1$
     public static final String META_EXTRA_DDL_INFO = "database.meta.extra.ddl.info"; //$NON-NLS-1$
+    public static final String META_SNAPSHOT_ENABLED = "database.meta.snapshot.enabled"; //$NON-NLS-1$
+    public static final String META_CAPABILITY_CACHE_ENABLED = "database.meta.capability.cache.enabled"; //$NON-NLS-1$
 
     public static final String META_CLIENT_NAME_DISABLE = "database.meta.client.name.disable"; //$NON-NLS-1$
     public static final String META_CLIENT_NAME_OVERRIDE = "database.meta.client.name.override"; //$NON-NLS-1$
@@ -226,6 +236,7 @@ public final class ModelPreferences
     public static final String NAVIGATOR_SHOW_FOLDER_PLACEHOLDERS = "navigator.show.folder.placeholders"; //$NON-NLS-1$
     public static final String NAVIGATOR_SORT_ALPHABETICALLY = "navigator.sort.case.insensitive"; //$NON-NLS-1$
     public static final String NAVIGATOR_SORT_FOLDERS_FIRST = "navigator.sort.forlers.first"; //$NON-NLS-1$
+    public static final String NAVIGATOR_CHILDREN_PAGE_SIZE = "navigator.children.page.size"; //$NON-NLS-1$
 
     public static final String PLATFORM_LANGUAGE = "platform.language"; //$NON-NLS-1$
 
@@ -273,6 +284,10 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, CONNECTION_OPEN_TIMEOUT, 0);
         PrefUtils.setDefaultPreferenceValue(store, CONNECTION_VALIDATION_TIMEOUT, 10000);
         PrefUtils.setDefaultPreferenceValue(store, CONNECTION_CLOSE_TIMEOUT, 5000);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECTION_STATEMENT_CACHE_SIZE, 0);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECTION_PARALLEL_BOOTSTRAP, false);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECTION_EDITOR_POOL_ENABLED, false);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECTION_EDITOR_POOL_SIZE, 4);
 
         // SQL execution
         PrefUtils.setDefaultPreferenceValue(store, SCRIPT_STATEMENT_DELIMITER, SQLConstants.DEFAULT_STATEMENT_DELIMITER);
@@ -285,6 +300,8 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, META_CASE_SENSITIVE, false);
         PrefUtils.setDefaultPreferenceValue(store, META_EXTRA_DDL_INFO, true);
         PrefUtils.setDefaultPreferenceValue(store, META_USE_SERVER_SIDE_FILTERS, true);
+        PrefUtils.setDefaultPreferenceValue(store, META_SNAPSHOT_ENABLED, false);
+        PrefUtils.setDefaultPreferenceValue(store, META_CAPABILITY_CACHE_ENABLED, false);
 
         PrefUtils.setDefaultPreferenceValue(store, META_CLIENT_NAME_DISABLE, false);
         PrefUtils.setDefaultPreferenceValue(store, META_CLIENT_NAME_OVERRIDE, false);
@@ -363,6 +380,7 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.NAVIGATOR_SHOW_FOLDER_PLACEHOLDERS, true);
         PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.NAVIGATOR_SORT_ALPHABETICALLY, false);
         PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.NAVIGATOR_SORT_FOLDERS_FIRST, true);
+        PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.NAVIGATOR_CHILDREN_PAGE_SIZE, 0);
 
         PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.TRANSACTIONS_SMART_COMMIT, false);
         PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.TRANSACTIONS_SMART_COMMIT_RECOVER, false);
@@ -22,6 +22,7 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.connection.DBPConnectionPhaseProfile;
 import org.jkiss.dbeaver.model.connection.DBPDriver;
 import org.jkiss.dbeaver.model.connection.DBPDriverSubstitutionDescriptor;
 import org.jkiss.dbeaver.model.connection.DBPNativeClientLocation;
@@ -245,6 +246,14 @@ public interface DBPDataSourceContainer extends
 
     Date getConnectTime();
 
+    /**
+     * Phase timings of the current (or the last) connect. Null if container was never connected.
+     */
+    @Nullable
+    default DBPConnectionPhaseProfile getConnectPhaseProfile() {
+        return null;
+    }
+
     @NotNull
     SQLDialectMetadata getScriptDialect();
 
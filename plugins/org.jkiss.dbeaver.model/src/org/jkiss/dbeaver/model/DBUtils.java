@@ -2114,6 +2114,12 @@ public final class DBUtils {
             return null;
         }
         DBSInstance instance = getObjectOwnerInstance(object);
+        if (meta && instance != null) {
+            DBCExecutionContext boundContext = DBExecUtils.getBoundMetaContext();
+            if (boundContext != null && boundContext.getOwnerInstance() == instance) {
+                return boundContext;
+            }
+        }
         return instance == null ||
             (instance instanceof DBSInstanceLazy instanceLazy && !instanceLazy.isInstanceConnected())/* ||
             !instance.getDataSource().getContainer().isConnected()*/ ?
@@ -0,0 +1,53 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+/**
+ * Server session which describes its current activity.
+ * Used by session history sampler to record what each session was doing.
+ */
+public interface DBAServerSessionActivity {
+
+    /**
+     * Stable session identifier (e.g. process ID)
+     */
+    @NotNull
+    String getSessionId();
+
+    @Nullable
+    String getSessionUser();
+
+    /**
+     * Returns true if session is executing something right now (i.e. it is not idle)
+     */
+    boolean isSessionActive();
+
+    /**
+     * Current wait event or null if session is not waiting (e.g. it is on CPU)
+     */
+    @Nullable
+    String getSessionWaitEvent();
+
+    /**
+     * Duration of the current query in milliseconds or -1 if unknown
+     */
+    long getActiveQueryDuration();
+
+}
@@ -0,0 +1,383 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Session activity history.
+ * Keeps last samples in memory and (optionally) appends them to a ring of segment files on disk.
+ * Each segment starts with its own string dictionary so repeated user names, wait events and
+ * query texts are stored once per segment.
+ */
+public class DBAServerSessionHistory {
+
+    private static final Log log = Log.getLog(DBAServerSessionHistory.class);
+
+    public static final int DEFAULT_MAX_SAMPLES = 100_000;
+
+    private static final int SEGMENT_MAGIC = 0x44534148; // DSAH
+    private static final int SEGMENT_VERSION = 1;
+    private static final String SEGMENT_EXT = ".ash";
+    private static final long MAX_SEGMENT_SIZE = 4 * 1024 * 1024;
+    private static final int MAX_SEGMENTS = 8;
+
+    public record TimelineBucket(long startTime, long duration, @NotNull Map<String, Double> activeSessions) {
+        /**
+         * Average number of active sessions in this bucket (all wait classes)
+         */
+        public double getTotalActiveSessions() {
+            double total = 0;
+            for (Double value : activeSessions.values()) {
+                total += value;
+            }
+            return total;
+        }
+    }
+
+    public record WaitSummary(@NotNull String waitClass, long activeTime, int sessionCount, @Nullable String topSqlText) {
+    }
+
+    @Nullable
+    private final Path storageFolder;
+    @NotNull
+    private final String name;
+    private final int maxSamples;
+    private final ArrayDeque<DBAServerSessionSample> samples = new ArrayDeque<>();
+    // Intervals which are still open (sessions are still active). They are not persisted.
+    private List<DBAServerSessionSample> currentSamples = Collections.emptyList();
+
+    private int segmentNumber;
+    private Path segmentFile;
+    private DataOutputStream segmentOut;
+    private final Map<String, Integer> segmentDictionary = new HashMap<>();
+    private boolean loaded;
+
+    /**
+     * Persisted samples are not read until {@link #load()} is called
+     */
+    public DBAServerSessionHistory(@Nullable Path storageFolder, @NotNull String name, int maxSamples) {
+        this.storageFolder = storageFolder;
+        this.name = name;
+        this.maxSamples = maxSamples;
+        this.loaded = storageFolder == null;
+    }
+
+    /**
+     * Reads persisted samples. Does nothing if they were already read.
+     * Reads files, so it shouldn't be called from UI thread.
+     */
+    public synchronized void load() {
+        if (!loaded) {
+            loaded = true;
+            loadSegments();
+        }
+    }
+
+    public synchronized void addSamples(@NotNull Collection<DBAServerSessionSample> newSamples) {
+        if (newSamples.isEmpty()) {
+            return;
+        }
+        // Persisted samples go first, and new segment number depends on existing ones
+        load();
+        for (DBAServerSessionSample sample : newSamples) {
+            samples.addLast(sample);
+        }
+        while (samples.size() > maxSamples) {
+            samples.removeFirst();
+        }
+        if (storageFolder != null) {
+            try {
+                writeSamples(newSamples);
+            } catch (IOException e) {
+                log.debug("Error writing session history", e);
+                closeSegment();
+            }
+        }
+    }
+
+    public synchronized void setCurrentSamples(@NotNull List<DBAServerSessionSample> currentSamples) {
+        this.currentSamples = currentSamples;
+    }
+
+    public synchronized void close() {
+        closeSegment();
+    }
+
+    public synchronized void clear() {
+        loaded = true;
+        samples.clear();
+        currentSamples = Collections.emptyList();
+        closeSegment();
+        if (storageFolder != null) {
+            for (Path file : listSegments()) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.debug("Error deleting session history segment " + file, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns samples which were active within the specified range
+     */
+    @NotNull
+    public synchronized List<DBAServerSessionSample> getSamples(long from, long to) {
+        List<DBAServerSessionSample> result = new ArrayList<>();
+        for (DBAServerSessionSample sample : samples) {
+            if (sample.getEndTime() > from && sample.getStartTime() < to) {
+                result.add(sample);
+            }
+        }
+        for (DBAServerSessionSample sample : currentSamples) {
+            if (sample.getEndTime() > from && sample.getStartTime() < to) {
+                result.add(sample);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns samples of sessions which were active at the specified moment
+     */
+    @NotNull
+    public List<DBAServerSessionSample> getActiveAt(long time) {
+        return getSamples(time, time + 1);
+    }
+
+    /**
+     * Average active sessions per wait class for each time bucket
+     */
+    @NotNull
+    public List<TimelineBucket> getTimeline(long from, long to, long bucketDuration) {
+        if (bucketDuration <= 0 || to <= from) {
+            return Collections.emptyList();
+        }
+        int bucketCount = (int) Math.min(Integer.MAX_VALUE, (to - from + bucketDuration - 1) / bucketDuration);
+        List<Map<String, Long>> activeTimes = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            activeTimes.add(new TreeMap<>());
+        }
+        for (DBAServerSessionSample sample : getSamples(from, to)) {
+            int firstBucket = (int) ((Math.max(from, sample.getStartTime()) - from) / bucketDuration);
+            int lastBucket = (int) Math.min(bucketCount - 1, (Math.min(to, sample.getEndTime()) - 1 - from) / bucketDuration);
+            for (int i = firstBucket; i <= lastBucket; i++) {
+                long bucketStart = from + i * bucketDuration;
+                long activeTime = sample.getActiveTime(bucketStart, bucketStart + bucketDuration);
+                if (activeTime > 0) {
+                    activeTimes.get(i).merge(sample.getWaitClass(), activeTime, Long::sum);
+                }
+            }
+        }
+        List<TimelineBucket> result = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            Map<String, Double> active = new LinkedHashMap<>();
+            for (Map.Entry<String, Long> entry : activeTimes.get(i).entrySet()) {
+                active.put(entry.getKey(), (double) entry.getValue() / bucketDuration);
+            }
+            result.add(new TimelineBucket(from + i * bucketDuration, bucketDuration, active));
+        }
+        return result;
+    }
+
+    /**
+     * Wait classes ordered by total active time (descending)
+     */
+    @NotNull
+    public List<WaitSummary> getTopWaits(long from, long to, int limit) {
+        Map<String, Long> waitTimes = new HashMap<>();
+        Map<String, Set<String>> waitSessions = new HashMap<>();
+        Map<String, Map<String, Long>> waitQueries = new HashMap<>();
+        for (DBAServerSessionSample sample : getSamples(from, to)) {
+            String waitClass = sample.getWaitClass();
+            long activeTime = sample.getActiveTime(from, to);
+            waitTimes.merge(waitClass, activeTime, Long::sum);
+            waitSessions.computeIfAbsent(waitClass, k -> new HashSet<>()).add(sample.getSessionId());
+            if (!CommonUtils.isEmpty(sample.getSqlText())) {
+                waitQueries.computeIfAbsent(waitClass, k -> new HashMap<>()).merge(sample.getSqlText(), activeTime, Long::sum);
+            }
+        }
+        List<WaitSummary> result = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : waitTimes.entrySet()) {
+            String waitClass = entry.getKey();
+            String topSql = null;
+            Map<String, Long> queries = waitQueries.get(waitClass);
+            if (queries != null) {
+                topSql = Collections.max(queries.entrySet(), Map.Entry.comparingByValue()).getKey();
+            }
+            result.add(new WaitSummary(waitClass, entry.getValue(), waitSessions.get(waitClass).size(), topSql));
+        }
+        result.sort(Comparator.comparingLong(WaitSummary::activeTime).reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    ////////////////////////////////////////////////
+    // Storage
+
+    private void loadSegments() {
+        for (Path file : listSegments()) {
+            segmentNumber = Math.max(segmentNumber, getSegmentNumber(file));
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                readSegment(in);
+            } catch (EOFException e) {
+                // Last record was not completely written
+            } catch (IOException e) {
+                log.debug("Error reading session history segment " + file, e);
+            }
+        }
+        while (samples.size() > maxSamples) {
+            samples.removeFirst();
+        }
+    }
+
+    private void readSegment(@NotNull DataInputStream in) throws IOException {
+        if (in.readInt() != SEGMENT_MAGIC || in.readInt() != SEGMENT_VERSION) {
+            throw new IOException("Bad session history segment header");
+        }
+        List<String> dictionary = new ArrayList<>();
+        while (true) {
+            long firstSeen = in.readLong();
+            long lastSeen = firstSeen + in.readInt();
+            int sampleInterval = in.readInt();
+            long queryDuration = in.readLong();
+            String sessionId = readString(in, dictionary);
+            String user = readString(in, dictionary);
+            String waitEvent = readString(in, dictionary);
+            String sqlText = readString(in, dictionary);
+            samples.addLast(new DBAServerSessionSample(
+                CommonUtils.notEmpty(sessionId), user, waitEvent, sqlText, firstSeen, lastSeen, sampleInterval, queryDuration));
+        }
+    }
+
+    private void writeSamples(@NotNull Collection<DBAServerSessionSample> newSamples) throws IOException {
+        if (segmentOut != null && Files.size(segmentFile) > MAX_SEGMENT_SIZE) {
+            closeSegment();
+        }
+        if (segmentOut == null) {
+            openSegment();
+        }
+        for (DBAServerSessionSample sample : newSamples) {
+            segmentOut.writeLong(sample.getFirstSeen());
+            segmentOut.writeInt((int) Math.min(Integer.MAX_VALUE, sample.getLastSeen() - sample.getFirstSeen()));
+            segmentOut.writeInt(sample.getSampleInterval());
+            segmentOut.writeLong(sample.getQueryDuration());
+            writeString(sample.getSessionId());
+            writeString(sample.getUser());
+            writeString(sample.getWaitEvent());
+            writeString(sample.getSqlText());
+        }
+        segmentOut.flush();
+    }
+
+    private void openSegment() throws IOException {
+        Files.createDirectories(storageFolder);
+        segmentNumber++;
+        segmentFile = storageFolder.resolve(name + "." + segmentNumber + SEGMENT_EXT);
+        segmentOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(segmentFile)));
+        segmentOut.writeInt(SEGMENT_MAGIC);
+        segmentOut.writeInt(SEGMENT_VERSION);
+        segmentDictionary.clear();
+
+        List<Path> segments = listSegments();
+        for (int i = 0; i < segments.size() - MAX_SEGMENTS; i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    private void closeSegment() {
+        if (segmentOut != null) {
+            try {
+                segmentOut.close();
+            } catch (IOException e) {
+                log.debug("Error closing session history segment", e);
+            }
+            segmentOut = null;
+            segmentFile = null;
+        }
+    }
+
+    /**
+     * Strings are written as dictionary index. New string is written as the next index followed by its value.
+     */
+    private void writeString(@Nullable String value) throws IOException {
+        if (value == null) {
+            segmentOut.writeInt(-1);
+            return;
+        }
+        Integer index = segmentDictionary.get(value);
+        if (index != null) {
+            segmentOut.writeInt(index);
+        } else {
+            segmentOut.writeInt(segmentDictionary.size());
+            segmentOut.writeUTF(value);
+            segmentDictionary.put(value, segmentDictionary.size());
+        }
+    }
+
+    @Nullable
+    private static String readString(@NotNull DataInputStream in, @NotNull List<String> dictionary) throws IOException {
+        int index = in.readInt();
+        if (index < 0) {
+            return null;
+        } else if (index == dictionary.size()) {
+            String value = in.readUTF();
+            dictionary.add(value);
+            return value;
+        } else if (index < dictionary.size()) {
+            return dictionary.get(index);
+        }
+        throw new IOException("Bad string index in session history segment: " + index);
+    }
+
+    @NotNull
+    private List<Path> listSegments() {
+        if (storageFolder == null || !Files.isDirectory(storageFolder)) {
+            return Collections.emptyList();
+        }
+        String prefix = name + ".";
+        try (Stream<Path> files = Files.list(storageFolder)) {
+            return files
+                .filter(file -> {
+                    String fileName = file.getFileName().toString();
+                    return fileName.startsWith(prefix) && fileName.endsWith(SEGMENT_EXT) && getSegmentNumber(file) > 0;
+                })
+                .sorted(Comparator.comparingInt(DBAServerSessionHistory::getSegmentNumber))
+                .toList();
+        } catch (IOException e) {
+            log.debug("Error listing session history segments", e);
+            return Collections.emptyList();
+        }
+    }
+
+    private static int getSegmentNumber(@NotNull Path file) {
+        String fileName = file.getFileName().toString();
+        String number = fileName.substring(fileName.lastIndexOf('.', fileName.length() - SEGMENT_EXT.length() - 1) + 1, fileName.length() - SEGMENT_EXT.length());
+        return CommonUtils.toInt(number, 0);
+    }
+
+}
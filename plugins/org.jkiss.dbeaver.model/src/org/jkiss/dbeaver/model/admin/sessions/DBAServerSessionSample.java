@@ -0,0 +1,136 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+/**
+ * Recorded interval of a session activity.
+ * Sampler doesn't store each observation separately: consecutive samples of a session which
+ * runs the same query in the same wait state are folded into one interval.
+ * Session was active from {@link #getFirstSeen()} till {@link #getLastSeen()} plus one sample interval.
+ */
+public final class DBAServerSessionSample {
+
+    public static final int MAX_SQL_TEXT_LENGTH = 4000;
+
+    /**
+     * Wait class name used for sessions which are active but do not wait for anything
+     */
+    public static final String WAIT_CPU = "CPU";
+
+    @NotNull
+    private final String sessionId;
+    @Nullable
+    private final String user;
+    @Nullable
+    private final String waitEvent;
+    @Nullable
+    private final String sqlText;
+    private final long firstSeen;
+    private final long lastSeen;
+    private final int sampleInterval;
+    private final long queryDuration;
+
+    public DBAServerSessionSample(
+        @NotNull String sessionId,
+        @Nullable String user,
+        @Nullable String waitEvent,
+        @Nullable String sqlText,
+        long firstSeen,
+        long lastSeen,
+        int sampleInterval,
+        long queryDuration
+    ) {
+        this.sessionId = sessionId;
+        this.user = user;
+        this.waitEvent = waitEvent;
+        this.sqlText = sqlText != null && sqlText.length() > MAX_SQL_TEXT_LENGTH ? sqlText.substring(0, MAX_SQL_TEXT_LENGTH) : sqlText;
+        this.firstSeen = firstSeen;
+        this.lastSeen = lastSeen;
+        this.sampleInterval = sampleInterval;
+        this.queryDuration = queryDuration;
+    }
+
+    @NotNull
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    @Nullable
+    public String getUser() {
+        return user;
+    }
+
+    /**
+     * Wait event or null if session was on CPU
+     */
+    @Nullable
+    public String getWaitEvent() {
+        return waitEvent;
+    }
+
+    @NotNull
+    public String getWaitClass() {
+        return waitEvent == null ? WAIT_CPU : waitEvent;
+    }
+
+    @Nullable
+    public String getSqlText() {
+        return sqlText;
+    }
+
+    public long getFirstSeen() {
+        return firstSeen;
+    }
+
+    public long getLastSeen() {
+        return lastSeen;
+    }
+
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Query duration reported by server at the last observation (ms) or -1 if unknown
+     */
+    public long getQueryDuration() {
+        return queryDuration;
+    }
+
+    public long getStartTime() {
+        return firstSeen;
+    }
+
+    public long getEndTime() {
+        return lastSeen + sampleInterval;
+    }
+
+    /**
+     * Time (ms) session was active within the specified range
+     */
+    public long getActiveTime(long from, long to) {
+        return Math.max(0, Math.min(to, getEndTime()) - Math.max(from, getStartTime()));
+    }
+
+    @Override
+    public String toString() {
+        return sessionId + " [" + getWaitClass() + "] " + (lastSeen - firstSeen + sampleInterval) + "ms";
+    }
+}
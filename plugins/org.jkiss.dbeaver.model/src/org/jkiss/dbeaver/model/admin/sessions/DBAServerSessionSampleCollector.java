@@ -0,0 +1,146 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+
+/**
+ * Folds consecutive observations of server sessions into activity intervals.
+ * Interval of a session is finished when session becomes idle or starts a different activity
+ * (another query or another wait event).
+ * Not thread safe.
+ */
+public class DBAServerSessionSampleCollector {
+
+    private static class OpenSample {
+        final String sessionId;
+        final String user;
+        final String waitEvent;
+        final String sqlText;
+        final long firstSeen;
+        long lastSeen;
+        long queryDuration;
+
+        OpenSample(String sessionId, String user, String waitEvent, String sqlText, long firstSeen, long queryDuration) {
+            this.sessionId = sessionId;
+            this.user = user;
+            this.waitEvent = waitEvent;
+            this.sqlText = sqlText;
+            this.firstSeen = firstSeen;
+            this.lastSeen = firstSeen;
+            this.queryDuration = queryDuration;
+        }
+
+        boolean isSameActivity(String waitEvent, String sqlText) {
+            return Objects.equals(this.waitEvent, waitEvent) && Objects.equals(this.sqlText, sqlText);
+        }
+
+        DBAServerSessionSample toSample(int sampleInterval) {
+            return new DBAServerSessionSample(sessionId, user, waitEvent, sqlText, firstSeen, lastSeen, sampleInterval, queryDuration);
+        }
+    }
+
+    private final int sampleInterval;
+    private final Map<String, OpenSample> openSamples = new LinkedHashMap<>();
+
+    public DBAServerSessionSampleCollector(int sampleInterval) {
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * Records sessions observed at the specified time.
+     *
+     * @return intervals which were finished by this observation
+     */
+    @NotNull
+    public List<DBAServerSessionSample> addObservation(long time, @NotNull Collection<? extends DBAServerSession> sessions) {
+        List<DBAServerSessionSample> closedSamples = new ArrayList<>();
+        Set<String> activeSessions = new HashSet<>();
+        for (DBAServerSession session : sessions) {
+            String sessionId, user, waitEvent;
+            long queryDuration;
+            if (session instanceof DBAServerSessionActivity activity) {
+                if (!activity.isSessionActive()) {
+                    continue;
+                }
+                sessionId = activity.getSessionId();
+                user = activity.getSessionUser();
+                waitEvent = activity.getSessionWaitEvent();
+                queryDuration = activity.getActiveQueryDuration();
+            } else {
+                if (CommonUtils.isEmpty(session.getActiveQuery())) {
+                    continue;
+                }
+                sessionId = String.valueOf(session);
+                user = null;
+                waitEvent = null;
+                queryDuration = -1;
+            }
+            String sqlText = session.getActiveQuery();
+            if (sqlText != null && sqlText.length() > DBAServerSessionSample.MAX_SQL_TEXT_LENGTH) {
+                sqlText = sqlText.substring(0, DBAServerSessionSample.MAX_SQL_TEXT_LENGTH);
+            }
+            activeSessions.add(sessionId);
+
+            OpenSample openSample = openSamples.get(sessionId);
+            if (openSample != null && openSample.isSameActivity(waitEvent, sqlText)) {
+                // Nothing changed - just extend the interval
+                openSample.lastSeen = time;
+                openSample.queryDuration = queryDuration;
+                continue;
+            }
+            if (openSample != null) {
+                closedSamples.add(openSample.toSample(sampleInterval));
+            }
+            openSamples.put(sessionId, new OpenSample(sessionId, user, waitEvent, sqlText, time, queryDuration));
+        }
+        for (Iterator<OpenSample> iter = openSamples.values().iterator(); iter.hasNext(); ) {
+            OpenSample openSample = iter.next();
+            if (!activeSessions.contains(openSample.sessionId)) {
+                closedSamples.add(openSample.toSample(sampleInterval));
+                iter.remove();
+            }
+        }
+        return closedSamples;
+    }
+
+    /**
+     * Intervals which are still open (sessions are still active)
+     */
+    @NotNull
+    public List<DBAServerSessionSample> getCurrentSamples() {
+        List<DBAServerSessionSample> result = new ArrayList<>(openSamples.size());
+        for (OpenSample openSample : openSamples.values()) {
+            result.add(openSample.toSample(sampleInterval));
+        }
+        return result;
+    }
+
+    /**
+     * Finishes all open intervals
+     */
+    @NotNull
+    public List<DBAServerSessionSample> closeAll() {
+        List<DBAServerSessionSample> result = getCurrentSamples();
+        openSamples.clear();
+        return result;
+    }
+
+}
@@ -0,0 +1,249 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Background session sampler (active session history).
+ * Polls server sessions with a fixed interval and records intervals of session activity.
+ * There is at most one sampler per data source container. Sampler stops itself when data source disconnects.
+ */
+public class DBAServerSessionSampler extends AbstractJob {
+
+    private static final Log log = Log.getLog(DBAServerSessionSampler.class);
+
+    public static final int DEFAULT_SAMPLE_INTERVAL = 1000;
+
+    // Retry delay is doubled after each consecutive error
+    private static final long MAX_RETRY_DELAY = 5 * 60 * 1000L;
+    // Sampling stops after this number of consecutive errors
+    private static final int MAX_CONSECUTIVE_ERRORS = 10;
+
+    private static final String HISTORY_FOLDER = "session-history";
+
+    private static final Map<DBPDataSourceContainer, DBAServerSessionSampler> samplers = new HashMap<>();
+
+    @NotNull
+    private final DBAServerSessionManager<?> sessionManager;
+    @NotNull
+    private final Map<String, Object> options;
+    private final int sampleInterval;
+    @NotNull
+    private final DBAServerSessionHistory history;
+    @NotNull
+    private final DBAServerSessionSampleCollector collector;
+    private DBCExecutionContext isolatedContext;
+    private int consecutiveErrors;
+    private volatile boolean stopped;
+
+    private DBAServerSessionSampler(
+        @NotNull DBAServerSessionManager<?> sessionManager,
+        @NotNull Map<String, Object> options,
+        int sampleInterval
+    ) {
+        super("Sample sessions of " + sessionManager.getDataSource().getContainer().getName());
+        this.sessionManager = sessionManager;
+        this.options = options;
+        this.sampleInterval = sampleInterval;
+        this.history = createHistory(sessionManager.getDataSource().getContainer());
+        this.collector = new DBAServerSessionSampleCollector(sampleInterval);
+        setSystem(true);
+        setUser(false);
+    }
+
+    @NotNull
+    public DBAServerSessionHistory getHistory() {
+        return history;
+    }
+
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    @Override
+    protected IStatus run(DBRProgressMonitor monitor) {
+        if (stopped) {
+            return Status.OK_STATUS;
+        }
+        DBPDataSource dataSource = sessionManager.getDataSource();
+        DBPDataSourceContainer container = dataSource.getContainer();
+        if (!container.isConnected() || container.getDataSource() != dataSource) {
+            stopSampling(container);
+            return Status.OK_STATUS;
+        }
+        history.load();
+        long delay = sampleInterval;
+        try {
+            collectSamples(monitor);
+            consecutiveErrors = 0;
+        } catch (Throwable e) {
+            consecutiveErrors++;
+            if (consecutiveErrors >= MAX_CONSECUTIVE_ERRORS) {
+                log.warn("Session sampling of '" + container.getName() + "' stopped after " + consecutiveErrors + " consecutive errors", e);
+                stopSampling(container);
+            } else {
+                log.debug("Error sampling sessions of '" + container.getName() + "'", e);
+                delay = getRetryDelay();
+            }
+            // Context may be broken, it will be reopened by the next attempt
+            closeContext();
+        }
+        if (stopped) {
+            closeContext();
+        } else {
+            schedule(delay);
+        }
+        return Status.OK_STATUS;
+    }
+
+    private long getRetryDelay() {
+        return Math.min(MAX_RETRY_DELAY, (long) sampleInterval << Math.min(consecutiveErrors, 20));
+    }
+
+    private void collectSamples(@NotNull DBRProgressMonitor monitor) throws DBException {
+        Collection<? extends DBAServerSession> sessions;
+        try (DBCSession session = getContext(monitor).openSession(monitor, DBCExecutionPurpose.UTIL, "Sample sessions")) {
+            sessions = sessionManager.getSessions(session, options);
+        }
+        long now = System.currentTimeMillis();
+        synchronized (collector) {
+            if (stopped) {
+                return;
+            }
+            history.addSamples(collector.addObservation(now, sessions));
+            history.setCurrentSamples(collector.getCurrentSamples());
+        }
+    }
+
+    @NotNull
+    private DBCExecutionContext getContext(@NotNull DBRProgressMonitor monitor) throws DBException {
+        DBPDataSource dataSource = sessionManager.getDataSource();
+        if (dataSource.getContainer().isForceUseSingleConnection()) {
+            return DBUtils.getDefaultContext(dataSource, true);
+        }
+        if (isolatedContext == null) {
+            isolatedContext = dataSource.getDefaultInstance().openIsolatedContext(monitor, "Session sampler", null);
+        }
+        return isolatedContext;
+    }
+
+    private void closeContext() {
+        if (isolatedContext != null) {
+            try {
+                isolatedContext.close();
+            } catch (Throwable e) {
+                log.debug("Error closing session sampler context", e);
+            }
+            isolatedContext = null;
+        }
+    }
+
+    private void shutdown() {
+        stopped = true;
+        cancel();
+        synchronized (collector) {
+            history.addSamples(collector.closeAll());
+            history.setCurrentSamples(Collections.emptyList());
+        }
+        history.close();
+        if (getState() == NONE) {
+            // Otherwise context will be closed by the running job
+            closeContext();
+        }
+    }
+
+    ////////////////////////////////////////////////
+    // Registry
+
+    /**
+     * Starts sampling of the session manager's data source.
+     * If sampler is already running then it is returned as is.
+     */
+    @NotNull
+    public static DBAServerSessionSampler startSampling(
+        @NotNull DBAServerSessionManager<?> sessionManager,
+        @Nullable Map<String, Object> options,
+        int sampleInterval
+    ) {
+        DBPDataSourceContainer container = sessionManager.getDataSource().getContainer();
+        synchronized (samplers) {
+            DBAServerSessionSampler sampler = samplers.get(container);
+            if (sampler == null) {
+                sampler = new DBAServerSessionSampler(
+                    sessionManager,
+                    options == null ? Collections.emptyMap() : options,
+                    sampleInterval);
+                samplers.put(container, sampler);
+                sampler.schedule();
+            }
+            return sampler;
+        }
+    }
+
+    public static void stopSampling(@NotNull DBPDataSourceContainer container) {
+        DBAServerSessionSampler sampler;
+        synchronized (samplers) {
+            sampler = samplers.remove(container);
+        }
+        if (sampler != null) {
+            sampler.shutdown();
+        }
+    }
+
+    @Nullable
+    public static DBAServerSessionSampler getSampler(@NotNull DBPDataSourceContainer container) {
+        synchronized (samplers) {
+            return samplers.get(container);
+        }
+    }
+
+    /**
+     * Returns history of the running sampler or history saved by previous samplers
+     */
+    @NotNull
+    public static DBAServerSessionHistory getHistory(@NotNull DBPDataSourceContainer container) {
+        DBAServerSessionSampler sampler = getSampler(container);
+        return sampler != null ? sampler.getHistory() : createHistory(container);
+    }
+
+    @NotNull
+    private static DBAServerSessionHistory createHistory(@NotNull DBPDataSourceContainer container) {
+        Path storageFolder = null;
+        if (container.getProject() != null) {
+            storageFolder = container.getProject().getMetadataFolder(false).resolve(HISTORY_FOLDER);
+        }
+        return new DBAServerSessionHistory(storageFolder, container.getId(), DBAServerSessionHistory.DEFAULT_MAX_SAMPLES);
+    }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.connection;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.runtime.jfr.ConnectPhaseEvent;
+import org.jkiss.dbeaver.model.runtime.jfr.JFREvents;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timings of connection bootstrap phases.
+ * Phases may overlap and may be recorded from different threads if they run concurrently.
+ * Each phase is also reported as a flight recorder event.
+ */
+public class DBPConnectionPhaseProfile {
+
+    private static final Log log = Log.getLog(DBPConnectionPhaseProfile.class);
+
+    public static final String PHASE_DRIVER_DEPENDENCIES = "Resolve driver dependencies";
+    public static final String PHASE_AUTHENTICATE = "Resolve credentials";
+    public static final String PHASE_NETWORK_HANDLERS = "Initialize network handlers";
+    public static final String PHASE_LOAD_DRIVER = "Load driver";
+    public static final String PHASE_OPEN_DATA_SOURCE = "Open data source";
+    public static final String PHASE_OPEN_CONTEXT = "Open context";
+    public static final String PHASE_INIT_CONTEXT_STATE = "Initialize context state";
+    public static final String PHASE_INITIALIZE = "Initialize data source";
+    public static final String PHASE_READ_METADATA = "Read driver metadata";
+    public static final String PHASE_AFTER_CONNECT = "After connect events";
+
+    /**
+     * Finished phase
+     *
+     * @param startOffset phase start time relative to the profile start (ms)
+     * @param duration    phase duration (ms)
+     */
+    public record Phase(
+        @NotNull String name,
+        long startOffset,
+        long duration,
+        @NotNull String threadName,
+        boolean failed
+    ) {
+    }
+
+    private static final PhaseTimer NO_PHASE = new PhaseTimer(null, null);
+
+    @NotNull
+    private final DBPDataSourceContainer container;
+    private final long startTime;
+    private final List<Phase> phases = new ArrayList<>();
+    private volatile long totalTime = -1;
+
+    public DBPConnectionPhaseProfile(@NotNull DBPDataSourceContainer container) {
+        this.container = container;
+        this.startTime = System.currentTimeMillis();
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Total connect time (ms) or -1 if connect is still in progress
+     */
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    public boolean isFinished() {
+        return totalTime >= 0;
+    }
+
+    /**
+     * Finished phases ordered by start time
+     */
+    @NotNull
+    public List<Phase> getPhases() {
+        List<Phase> result;
+        synchronized (phases) {
+            result = new ArrayList<>(phases);
+        }
+        result.sort((p1, p2) -> Long.compare(p1.startOffset(), p2.startOffset()));
+        return result;
+    }
+
+    /**
+     * Starts new phase. Phase ends when the result timer is closed.
+     * Phases started after the profile is finished are ignored.
+     */
+    @NotNull
+    public PhaseTimer startPhase(@NotNull String name) {
+        if (isFinished()) {
+            return NO_PHASE;
+        }
+        return new PhaseTimer(this, name);
+    }
+
+    /**
+     * Marks end of connect. Further phases are not recorded.
+     */
+    public void finish() {
+        if (!isFinished()) {
+            totalTime = System.currentTimeMillis() - startTime;
+            if (log.isDebugEnabled()) {
+                StringBuilder msg = new StringBuilder();
+                msg.append("Connect to '").append(container.getName()).append("' took ").append(totalTime).append("ms");
+                for (Phase phase : getPhases()) {
+                    msg.append("\n\t").append(phase.name()).append(": +").append(phase.startOffset())
+                        .append("ms, ").append(phase.duration()).append("ms");
+                }
+                log.debug(msg);
+            }
+        }
+    }
+
+    /**
+     * Starts phase in the current connect profile of the specified container.
+     * Returns no-op timer if container is not connecting at the moment.
+     */
+    @NotNull
+    public static PhaseTimer startPhase(@Nullable DBPDataSourceContainer container, @NotNull String name) {
+        DBPConnectionPhaseProfile profile = container == null ? null : container.getConnectPhaseProfile();
+        return profile == null ? NO_PHASE : profile.startPhase(name);
+    }
+
+    private void addPhase(@NotNull Phase phase) {
+        synchronized (phases) {
+            phases.add(phase);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Connect profile of '" + container.getName() + "'";
+    }
+
+    /**
+     * Running phase
+     */
+    public static class PhaseTimer implements AutoCloseable {
+        @Nullable
+        private final DBPConnectionPhaseProfile profile;
+        private final String name;
+        private final long startTime;
+        @Nullable
+        private final Object event;
+        private boolean failed;
+        private boolean closed;
+
+        private PhaseTimer(@Nullable DBPConnectionPhaseProfile profile, @Nullable String name) {
+            this.profile = profile;
+            this.name = name;
+            this.startTime = System.currentTimeMillis();
+            this.event = profile != null && JFREvents.isAvailable() ? beginEvent() : null;
+        }
+
+        /**
+         * Marks phase as failed. Should be called before close.
+         */
+        public void markFailed() {
+            failed = true;
+        }
+
+        @Override
+        public void close() {
+            if (profile == null || closed) {
+                return;
+            }
+            closed = true;
+            long endTime = System.currentTimeMillis();
+            profile.addPhase(new Phase(
+                name,
+                startTime - profile.startTime,
+                endTime - startTime,
+                Thread.currentThread().getName(),
+                failed));
+            if (event != null) {
+                commitEvent();
+            }
+        }
+
+        private Object beginEvent() {
+            ConnectPhaseEvent connectEvent = new ConnectPhaseEvent();
+            connectEvent.begin();
+            return connectEvent;
+        }
+
+        private void commitEvent() {
+            ConnectPhaseEvent connectEvent = (ConnectPhaseEvent) event;
+            connectEvent.end();
+            if (connectEvent.shouldCommit()) {
+                connectEvent.dataSourceId = profile.container.getId();
+                connectEvent.driverId = profile.container.getDriver().getFullId();
+                connectEvent.phase = name;
+                connectEvent.failed = failed;
+                connectEvent.commit();
+            }
+        }
+    }
+
+}
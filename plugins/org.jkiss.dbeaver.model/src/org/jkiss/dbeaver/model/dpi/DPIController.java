@@ -59,4 +59,20 @@ public interface DPIController extends DBPPingController, AutoCloseable {
         @RequestParameter("object") @NotNull String objectId,
         @RequestParameter("property") @NotNull String propertyName) throws DBException;
 
+    /**
+     * Reads the next chunk of a streamed result set.
+     * Blocks until the chunk is read from the database.
+     *
+     * @return Base64 encoded binary rows chunk
+     */
+    @RequestMapping
+    @NotNull
+    String readResultSetChunk(@RequestParameter("stream") @NotNull String streamId) throws DBException;
+
+    /**
+     * Stops reading of a streamed result set
+     */
+    @RequestMapping
+    void closeResultSetStream(@RequestParameter("stream") @NotNull String streamId) throws DBException;
+
 }
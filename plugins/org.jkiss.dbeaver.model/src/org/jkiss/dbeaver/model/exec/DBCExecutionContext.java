@@ -127,4 +127,13 @@ public interface DBCExecutionContext extends DBPObject, DBPCloseableObject, DBPC
     @DPIElement
     @Nullable
     DBCExecutionContextDefaults getContextDefaults();
+
+    /**
+     * Prepared statement cache statistics.
+     * @return null if statement caching is not supported or disabled
+     */
+    @Nullable
+    default DBCStatementCacheInfo getStatementCacheInfo() {
+        return null;
+    }
 }
@@ -91,4 +91,17 @@ public interface DBCSession extends DBPCloseableObject, DBDFormatSettings {
      * @param enable enable
      */
     void enableLogging(boolean enable);
+
+    /**
+     * Checks whether prepared statements of this session are taken from and returned to the connection statement cache
+     */
+    boolean isStatementCacheEnabled();
+
+    /**
+     * Enables/disables reuse of prepared statements within this session.
+     * Statements prepared while cache is enabled are returned to the connection statement cache on close.
+     * Has no effect if the underlying connection doesn't support statement caching.
+     * @param enable enable
+     */
+    void enableStatementCache(boolean enable);
 }
@@ -0,0 +1,40 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec;
+
+/**
+ * Statistics of the prepared statement cache of an execution context.
+ */
+public interface DBCStatementCacheInfo {
+
+    /**
+     * Number of statements currently kept in the cache
+     */
+    int getSize();
+
+    /**
+     * Maximum number of cached statements
+     */
+    int getMaxSize();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    long getEvictionCount();
+
+}
@@ -48,6 +48,7 @@ import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableParametrized;
+import org.jkiss.dbeaver.model.runtime.DBRRunnableWithProgress;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLDialect;
 import org.jkiss.dbeaver.model.sql.SQLQuery;
@@ -87,6 +88,10 @@ public class DBExecUtils {
     private static final List<DBPDataSourceContainer> ACTIVE_CONTEXTS = new ArrayList<>();
     public static final boolean BROWSE_LAZY_ASSOCIATIONS = false;
     private static final ThreadLocal<RecoveryState> recoveryStack = new ThreadLocal<>();
+    /**
+     * Metadata context bound to the current thread. Overrides default metadata context of its owner instance.
+     */
+    private static final ThreadLocal<DBCExecutionContext> BOUND_META_CONTEXT = new ThreadLocal<>();
 
     private static class RecoveryState {
         int recoveryDepth;
@@ -130,6 +135,33 @@ public class DBExecUtils {
         }
     }
 
+    @Nullable
+    public static DBCExecutionContext getBoundMetaContext() {
+        return BOUND_META_CONTEXT.get();
+    }
+
+    /**
+     * Runs the task with metadata sessions of the context owner instance opened in the specified context.
+     * Allows several threads to read metadata of the same instance using separate connections.
+     */
+    public static void runInMetaContext(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCExecutionContext context,
+        @NotNull DBRRunnableWithProgress task
+    ) throws InvocationTargetException, InterruptedException {
+        DBCExecutionContext prevContext = BOUND_META_CONTEXT.get();
+        BOUND_META_CONTEXT.set(context);
+        try {
+            task.run(monitor);
+        } finally {
+            if (prevContext == null) {
+                BOUND_META_CONTEXT.remove();
+            } else {
+                BOUND_META_CONTEXT.set(prevContext);
+            }
+        }
+    }
+
     public static DBPDataSourceContainer findConnectionContext(String host, int port, String path) {
         DBPDataSourceContainer curContext = getCurrentThreadContext();
         if (curContext != null) {
@@ -104,7 +104,15 @@ public abstract class AbstractExecutionContext<DATASOURCE extends DBPDataSource>
         // Notify QM
         QMUtils.getDefaultHandler().handleContextOpen(this, !autoCommit);
 
-        // Execute bootstrap queries
+        return executeBootstrapQueries(monitor);
+    }
+
+    /**
+     * Executes bootstrap queries of the connection.
+     * Returns false if there are no bootstrap queries.
+     */
+    protected boolean executeBootstrapQueries(@NotNull DBRProgressMonitor monitor) throws DBCException
+    {
         DBPConnectionBootstrap bootstrap = getBootstrapSettings();
         List<String> initQueries = bootstrap.getInitQueries();
         if (!CommonUtils.isEmpty(initQueries)) {
@@ -38,6 +38,7 @@ public abstract class AbstractSession implements DBCSession, DBDFormatSettingsEx
     private DBDDataFormatterProfile dataFormatterProfile;
     private boolean holdsBlock = false;
     private boolean loggingEnabled = true;
+    private boolean statementCacheEnabled;
     private byte useNativeDateTimeFormat = -1;
 
     public AbstractSession(DBRProgressMonitor monitor, DBCExecutionPurpose purpose, String taskTitle) {
@@ -87,6 +88,16 @@ public abstract class AbstractSession implements DBCSession, DBDFormatSettingsEx
         loggingEnabled = enable;
     }
 
+    @Override
+    public boolean isStatementCacheEnabled() {
+        return statementCacheEnabled;
+    }
+
+    @Override
+    public void enableStatementCache(boolean enable) {
+        statementCacheEnabled = enable;
+    }
+
     @Override
     public DBDDataFormatterProfile getDataFormatterProfile() {
         if (dataFormatterProfile == null) {
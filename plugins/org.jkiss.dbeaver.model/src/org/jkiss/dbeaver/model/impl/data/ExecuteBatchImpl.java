@@ -120,6 +120,11 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         DBCStatistics statistics = new DBCStatistics();
         DBCStatement statement = null;
 
+        // Statements with the same null pattern have the same SQL. Reuse them between batches and rows.
+        boolean prevStatementCacheEnabled = session.isStatementCacheEnabled();
+        if (actions == null && !skipBindValues) {
+            session.enableStatementCache(true);
+        }
         try {
             // Here we'll try to reuse prepared statement.
             // It makes a great sense in case of data transfer where we need millions of inserts.
@@ -221,6 +226,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
             if (!useBatch && !values.isEmpty()) {
                 values.clear();
             }
+            session.enableStatementCache(prevStatementCacheEnabled);
         }
 
         return statistics;
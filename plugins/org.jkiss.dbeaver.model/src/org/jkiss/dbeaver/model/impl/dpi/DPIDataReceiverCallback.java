@@ -20,15 +20,17 @@ import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.dpi.DPISmartCallback;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 
 public class DPIDataReceiverCallback implements DPISmartCallback {
     private final DBCSession session;
-    private final DPIResultSet dpiResultSet;
+    // Streamed result set on the client side
+    private final DBCResultSet dpiResultSet;
     private final long offset;
     private final long maxRows;
 
-    public DPIDataReceiverCallback(DBCSession session, DPIResultSet dpiResultSet, long offset, long maxRows) {
+    public DPIDataReceiverCallback(DBCSession session, DBCResultSet dpiResultSet, long offset, long maxRows) {
         this.session = session;
         this.dpiResultSet = dpiResultSet;
         this.offset = offset;
@@ -42,10 +44,17 @@ public class DPIDataReceiverCallback implements DPISmartCallback {
             dataReceiver.fetchStart(
                 session, dpiResultSet, offset, maxRows
             );
-            while (dpiResultSet.nextRow()) {
-                dataReceiver.fetchRow(session, dpiResultSet);
+            try {
+                while (dpiResultSet.nextRow()) {
+                    dataReceiver.fetchRow(session, dpiResultSet);
+                }
+            } finally {
+                try {
+                    dataReceiver.fetchEnd(session, dpiResultSet);
+                } finally {
+                    dpiResultSet.close();
+                }
             }
-            dataReceiver.fetchEnd(session, dpiResultSet);
         }
     }
 }
@@ -65,6 +65,14 @@ public class DPIServerSmartProxyDataReceiver implements DBDDataReceiver, DPIServ
 
     @Override
     public void fetchRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        dpiResultSet.addRow(readRowValues(resultSet));
+    }
+
+    /**
+     * Reads values of the current row. Value read errors are returned as {@link DBDValueError}.
+     */
+    @NotNull
+    public Object[] readRowValues(@NotNull DBCResultSet resultSet) {
         Object[] row = new Object[bindings.length];
         for (int i = 0; i < bindings.length; i++) {
             DBDAttributeBinding binding = bindings[i];
@@ -79,7 +87,7 @@ public class DPIServerSmartProxyDataReceiver implements DBDDataReceiver, DPIServ
                 row[i] = new DBDValueError(e);
             }
         }
-        dpiResultSet.addRow(row);
+        return row;
     }
 
     @Override
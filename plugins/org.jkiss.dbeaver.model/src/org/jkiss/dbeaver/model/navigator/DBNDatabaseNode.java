@@ -20,6 +20,7 @@ import org.eclipse.core.runtime.Status;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.access.DBAObject;
 import org.jkiss.dbeaver.model.dpi.DPIClientObject;
@@ -35,6 +36,7 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressListener;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableParametrized;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.dbeaver.model.struct.rdb.DBSCatalog;
 import org.jkiss.dbeaver.model.struct.rdb.DBSPackage;
@@ -60,6 +62,10 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
     private volatile boolean locked;
     protected volatile DBNDatabaseNode[] childNodes;
     private boolean filtered;
+    // Guards children loading of this node only. Node monitor is never held during loading.
+    private final Object childrenLoadLock = new Object();
+    @Nullable
+    private volatile ChildrenPager childrenPager;
 
     protected DBNDatabaseNode(DBNNode parentNode) {
         super(parentNode);
@@ -224,21 +230,28 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
             needsLoad = childNodes == null && hasChildren(false);
         }
         if (needsLoad) {
-            if (this.initializeNode(monitor, null)) {
-                final List<DBNDatabaseNode> tmpList = new ArrayList<>();
-                loadChildren(monitor, getMeta(), null, tmpList, this, true);
-                if (!monitor.isCanceled()) {
-                    synchronized (this) {
-                        if (tmpList.isEmpty()) {
-                            this.childNodes = EMPTY_NODES;
-                        } else {
-                            this.childNodes = tmpList.toArray(new DBNDatabaseNode[0]);
+            synchronized (childrenLoadLock) {
+                if (childNodes != null) {
+                    // Loaded concurrently
+                    return childNodes;
+                }
+                if (this.initializeNode(monitor, null)) {
+                    final List<DBNDatabaseNode> tmpList = new ArrayList<>();
+                    childrenPager = null;
+                    loadChildren(monitor, getMeta(), null, tmpList, this, true);
+                    if (!monitor.isCanceled()) {
+                        synchronized (this) {
+                            if (tmpList.isEmpty()) {
+                                this.childNodes = EMPTY_NODES;
+                            } else {
+                                this.childNodes = tmpList.toArray(new DBNDatabaseNode[0]);
+                            }
                         }
+                        this.afterChildRead();
                     }
-                    this.afterChildRead();
+                } else {
+                    throw new DBInterruptedException("Connection was canceled");
                 }
-            } else {
-                throw new DBInterruptedException("Connection was canceled");
             }
         }
         return childNodes;
@@ -248,6 +261,59 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         // Do nothing
     }
 
+    /**
+     * Checks whether children are read by pages and the next page may be read.
+     * Paging is enabled by {@link ModelPreferences#NAVIGATOR_CHILDREN_PAGE_SIZE} for containers which support it
+     * (see {@link DBSObjectContainerPaged}).
+     */
+    public boolean hasMoreChildren() {
+        ChildrenPager pager = childrenPager;
+        return pager != null && pager.hasMore;
+    }
+
+    /**
+     * Reads next page of children, or children matching the name mask, and appends them to this node.
+     * Doesn't fire navigator events - caller is responsible for the view refresh.
+     *
+     * @param nameMask name mask in SQL LIKE syntax. If specified then matching children are searched on the server
+     *                 regardless of the current page. Wildcards are escaped with the dialect search string escape
+     *                 (see {@link org.jkiss.dbeaver.model.sql.SQLUtils#escapeLikeWildcards}).
+     * @return new child nodes
+     */
+    @NotNull
+    public DBNDatabaseNode[] loadMoreChildren(@NotNull DBRProgressMonitor monitor, @Nullable String nameMask) throws DBException {
+        synchronized (childrenLoadLock) {
+            ChildrenPager pager = childrenPager;
+            if (pager == null || childNodes == null) {
+                return EMPTY_NODES;
+            }
+            List<? extends DBSObject> objects = nameMask == null ? pager.readNextPage(monitor) : pager.readMatching(monitor, nameMask);
+            DBNBrowseSettings navSettings = getDataSourceContainer().getNavigatorSettings();
+            DBSObjectFilter filter = getNodeFilter(pager.meta, false);
+            Set<DBSObject> existingObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (DBNDatabaseNode child : childNodes) {
+                existingObjects.add(child.getObject());
+            }
+            List<DBNDatabaseNode> newNodes = new ArrayList<>();
+            for (DBSObject object : objects) {
+                if (DBUtils.isHiddenObject(object) ||
+                    (!navSettings.isShowSystemObjects() && DBUtils.isSystemObject(object)) ||
+                    (filter != null && !filter.matches(object.getName())) ||
+                    !existingObjects.add(object))
+                {
+                    continue;
+                }
+                newNodes.add(new DBNDatabaseItem(this, pager.meta, object, false));
+            }
+            if (!newNodes.isEmpty()) {
+                synchronized (this) {
+                    childNodes = ArrayUtils.concatArrays(childNodes, newNodes.toArray(new DBNDatabaseNode[0]));
+                }
+            }
+            return newNodes.toArray(new DBNDatabaseNode[0]);
+        }
+    }
+
     DBNDatabaseNode[] getChildNodes() {
         return childNodes;
     }
@@ -408,6 +474,7 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         synchronized (this) {
             childrenCopy = childNodes == null ? null : Arrays.copyOf(childNodes, childNodes.length);
             childNodes = null;
+            childrenPager = null;
         }
         if (childrenCopy != null) {
             for (DBNNode child : childrenCopy) {
@@ -593,20 +660,28 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         if (valueObject == null) {
             return false;
         }
-        final PropertyValueReader valueReader = new PropertyValueReader(monitor, meta, valueObject);
         DBPDataSource dataSource = getDataSource();
-        if (dataSource != null) {
-            DBExecUtils.tryExecuteRecover(monitor, dataSource, valueReader);
+        final Object propertyValue;
+        final ChildrenPager pager = createChildrenPager(meta, valueObject);
+        if (pager != null) {
+            // Read only the first page. Other pages are read on demand.
+            propertyValue = pager.readNextPage(monitor);
+            this.childrenPager = pager;
         } else {
-            try {
-                valueReader.run(monitor);
-            } catch (InvocationTargetException e) {
-                throw new DBCException("Error reading child elements", e.getTargetException());
-            } catch (InterruptedException e) {
-                return false;
+            final PropertyValueReader valueReader = new PropertyValueReader(monitor, meta, valueObject);
+            if (dataSource != null) {
+                DBExecUtils.tryExecuteRecover(monitor, dataSource, valueReader);
+            } else {
+                try {
+                    valueReader.run(monitor);
+                } catch (InvocationTargetException e) {
+                    throw new DBCException("Error reading child elements", e.getTargetException());
+                } catch (InterruptedException e) {
+                    return false;
+                }
             }
+            propertyValue = valueReader.propertyValue;
         }
-        final Object propertyValue = valueReader.propertyValue;
         if (propertyValue == null) {
             return false;
         }
@@ -849,6 +924,7 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
             oldChildren = Arrays.copyOf(childNodes, childNodes.length);
         }
         List<DBNDatabaseNode> newChildren = new ArrayList<>();
+        childrenPager = null;
         loadChildren(monitor, getMeta(), oldChildren, newChildren, source, reflect);
         synchronized (this) {
             childNodes = newChildren.toArray(new DBNDatabaseNode[0]);
@@ -1038,6 +1114,50 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         return false;
     }
 
+    @Nullable
+    private ChildrenPager createChildrenPager(@NotNull DBXTreeItem meta, @NotNull Object valueObject) {
+        String propertyName = meta.getPropertyName();
+        if (childrenPager != null || !(valueObject instanceof DBSObjectContainerPaged pagedContainer) || propertyName.contains(".")) {
+            // Only one children collection of a node may be paged
+            return null;
+        }
+        int pageSize = getDataSourceContainer().getPreferenceStore().getInt(ModelPreferences.NAVIGATOR_CHILDREN_PAGE_SIZE);
+        if (pageSize <= 0 || !pagedContainer.supportsChildrenPaging(propertyName)) {
+            return null;
+        }
+        return new ChildrenPager(meta, pagedContainer, pageSize);
+    }
+
+    private static class ChildrenPager {
+        private final DBXTreeItem meta;
+        private final DBSObjectContainerPaged container;
+        private final int pageSize;
+        private volatile String lastName;
+        private volatile boolean hasMore = true;
+
+        ChildrenPager(DBXTreeItem meta, DBSObjectContainerPaged container, int pageSize) {
+            this.meta = meta;
+            this.container = container;
+            this.pageSize = pageSize;
+        }
+
+        List<? extends DBSObject> readNextPage(DBRProgressMonitor monitor) throws DBException {
+            List<? extends DBSObject> page = container.getChildrenPage(
+                monitor, meta.getPropertyName(), new DBSObjectPage(null, lastName, null, pageSize));
+            if (!page.isEmpty()) {
+                lastName = page.get(page.size() - 1).getName();
+            }
+            hasMore = page.size() >= pageSize;
+            return page;
+        }
+
+        List<? extends DBSObject> readMatching(DBRProgressMonitor monitor, String nameMask) throws DBException {
+            String escape = SQLUtils.getDialectFromObject(container).getSearchStringEscape();
+            return container.getChildrenPage(
+                monitor, meta.getPropertyName(), new DBSObjectPage(null, null, nameMask, escape, pageSize));
+        }
+    }
+
     private static class PropertyValueReader implements DBRRunnableParametrized<DBRProgressMonitor> {
         private final DBRProgressMonitor monitor;
         private final DBXTreeItem meta;
@@ -432,8 +432,8 @@ public class DBNModel implements IResourceChangeListener {
                 }
             }
         }
-        if (!cached && addFiltered && node.isFiltered()) {
-            // It seems this object was filtered out
+        if (!cached && ((addFiltered && node.isFiltered()) || node.hasMoreChildren())) {
+            // It seems this object was filtered out or wasn't read yet (paged children)
             // As it was requested explicitly - let's add new node
             node.addChildItem(objectToCache);
             return true;
@@ -30,10 +30,12 @@ import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.IOUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -155,6 +157,51 @@ public class RMUtils {
         }
     }
 
+    /**
+     * Script contents stream
+     *
+     * @param size script size in bytes or -1 if unknown
+     */
+    public record ScriptContentStream(@NotNull InputStream stream, @NotNull Charset charset, long size) {
+    }
+
+    /**
+     * Opens script contents for reading. Unlike {@link #readScriptContents} doesn't load the whole script in memory
+     * (unless the script is stored in a remote resource manager).
+     * Caller is responsible for closing the stream.
+     */
+    @NotNull
+    public static ScriptContentStream openScriptContents(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBPProject project,
+        @NotNull String filePath
+    ) throws DBException, IOException {
+        Path nioPath = DBFUtils.resolvePathFromString(monitor, project, filePath);
+        if (!IOUtils.isLocalPath(nioPath)) {
+            // Remote file
+            return new ScriptContentStream(Files.newInputStream(nioPath), StandardCharsets.UTF_8, Files.size(nioPath));
+        }
+
+        RMControllerProvider rmControllerProvider = DBUtils.getAdapter(RMControllerProvider.class, project);
+        if (rmControllerProvider != null) {
+            byte[] contents = rmControllerProvider.getResourceController().getResourceContents(project.getId(), filePath);
+            return new ScriptContentStream(new ByteArrayInputStream(contents), StandardCharsets.UTF_8, contents.length);
+        }
+        if (project.getRootResource() == null) {
+            throw new DBException("Root resource is not found in project " + project.getId());
+        }
+        var sqlFile = findEclipseProjectFile(project, filePath);
+        if (sqlFile == null) {
+            throw new DBException("File " + filePath + " is not found in project " + project.getId());
+        }
+        try {
+            long size = sqlFile.getLocation() == null ? -1 : sqlFile.getLocation().toFile().length();
+            return new ScriptContentStream(sqlFile.getContents(true), Charset.forName(sqlFile.getCharset()), size);
+        } catch (CoreException e) {
+            throw new IOException(e);
+        }
+    }
+
     public static IFile findEclipseProjectFile(@NotNull DBPProject project, @NotNull String filePath) {
         var rootResource = project.getRootResource();
         if (rootResource == null) {
@@ -0,0 +1,39 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.runtime;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * Progress monitor for tasks running in parallel with the owner task.
+ * Doesn't report progress (owner monitor may be not thread-safe) but follows owner cancel state.
+ */
+public class DetachedProgressMonitor extends BaseProgressMonitor {
+
+    @NotNull
+    private final DBRProgressMonitor owner;
+
+    public DetachedProgressMonitor(@NotNull DBRProgressMonitor owner) {
+        this.owner = owner;
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return owner.isCanceled() || super.isCanceled();
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.runtime;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * System job which runs a task in parallel with the owner task.
+ * Task gets a {@link DetachedProgressMonitor} of the owner monitor. Task error is not logged by the job,
+ * it is rethrown to the owner by {@link #waitForResult()}.
+ */
+public class ParallelTaskJob extends AbstractJob {
+
+    @NotNull
+    private final DBRProgressMonitor ownerMonitor;
+    @NotNull
+    private final DBRRunnableWithProgress task;
+    private volatile Thread taskThread;
+    private volatile Throwable error;
+
+    public ParallelTaskJob(@NotNull String name, @NotNull DBRProgressMonitor ownerMonitor, @NotNull DBRRunnableWithProgress task) {
+        super(name);
+        setSystem(true);
+        setUser(false);
+        this.ownerMonitor = ownerMonitor;
+        this.task = task;
+    }
+
+    /**
+     * Returns true if called from the thread which runs the task
+     */
+    public boolean isTaskThread() {
+        return taskThread == Thread.currentThread();
+    }
+
+    @Override
+    protected IStatus run(DBRProgressMonitor monitor) {
+        taskThread = Thread.currentThread();
+        try {
+            task.run(new DetachedProgressMonitor(ownerMonitor));
+        } catch (InvocationTargetException e) {
+            error = e.getTargetException();
+        } catch (Throwable e) {
+            error = e;
+        } finally {
+            taskThread = null;
+        }
+        return Status.OK_STATUS;
+    }
+
+    /**
+     * Waits until the task is finished. Owner can't abandon the task (it may use owner resources),
+     * so interruption is deferred until the task ends.
+     *
+     * @throws InvocationTargetException if task failed
+     */
+    public void waitForResult() throws InvocationTargetException {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (error != null) {
+            throw new InvocationTargetException(error);
+        }
+    }
+
+}
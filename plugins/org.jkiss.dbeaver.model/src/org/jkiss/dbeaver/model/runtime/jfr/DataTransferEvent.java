@@ -0,0 +1,30 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.runtime.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Data transfer stage (export, import, batch insert).
+ */
+@Name(JFREvents.EVENT_PREFIX + "DataTransfer")
+@Label("Data Transfer")
+@Description("Stage of data transfer task. Count is the number of processed rows")
+@Category({JFREvents.CATEGORY_ROOT, "Data Transfer"})
+@Enabled(false)
+public class DataTransferEvent extends OperationEvent {
+}
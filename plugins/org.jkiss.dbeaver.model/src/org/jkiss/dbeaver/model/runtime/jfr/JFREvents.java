@@ -0,0 +1,56 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.runtime.jfr;
+
+import org.jkiss.dbeaver.Log;
+
+/**
+ * Java Flight Recorder events support.
+ * Events are emitted only if JFR module is present in the runtime.
+ */
+public class JFREvents {
+
+    private static final Log log = Log.getLog(JFREvents.class);
+
+    public static final String EVENT_PREFIX = "org.jkiss.dbeaver.";
+    public static final String CATEGORY_ROOT = "DBeaver";
+
+    private static final boolean available;
+
+    static {
+        boolean jfrPresent;
+        try {
+            Class.forName("jdk.jfr.Event", false, JFREvents.class.getClassLoader());
+            jfrPresent = true;
+        } catch (Throwable e) {
+            log.debug("Flight recorder is not available: " + e.getMessage());
+            jfrPresent = false;
+        }
+        available = jfrPresent;
+    }
+
+    private JFREvents() {
+    }
+
+    /**
+     * Checks whether JFR API is available. Event classes must not be loaded if it returns false.
+     */
+    public static boolean isAvailable() {
+        return available;
+    }
+
+}
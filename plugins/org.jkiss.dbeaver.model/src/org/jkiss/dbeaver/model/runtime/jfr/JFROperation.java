@@ -0,0 +1,209 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.runtime.jfr;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.utils.CommonUtils;
+
+/**
+ * Timed operation traced with a flight recorder event.
+ * Does nothing if JFR is not available or the event type is disabled, so it is cheap enough for hot paths.
+ * Callers do not depend on JFR API.
+ * Query text may contain sensitive literals, so events record query fingerprints instead of it.
+ */
+public final class JFROperation implements AutoCloseable {
+
+    public enum Kind {
+        STATEMENT(true),
+        RESULT_SET_FETCH(true),
+        METADATA_LOAD(false),
+        DATA_TRANSFER(false),
+        UI_MODEL_UPDATE(false);
+
+        private final boolean queryDetails;
+
+        Kind(boolean queryDetails) {
+            this.queryDetails = queryDetails;
+        }
+
+        /**
+         * Details of operations of this kind contain query text
+         */
+        public boolean hasQueryDetails() {
+            return queryDetails;
+        }
+    }
+
+    /**
+     * Makes query fingerprint - query text without literal values
+     */
+    public interface QueryFingerprinter {
+        @NotNull
+        String makeFingerprint(@Nullable DBPDataSource dataSource, @NotNull String query);
+    }
+
+    // Record raw query text instead of fingerprints. Disabled by default
+    private static final boolean RECORD_QUERY_TEXT = CommonUtils.toBoolean(System.getProperty("dbeaver.jfr.record-query-text"));
+
+    private static final JFROperation DISABLED = new JFROperation(null, null, null, null, null);
+
+    @Nullable
+    private static volatile QueryFingerprinter queryFingerprinter;
+
+    @Nullable
+    private final Object event;
+    @Nullable
+    private final Kind kind;
+    @Nullable
+    private final DBPDataSource dataSource;
+    private final String operation;
+    private final String details;
+    private long count;
+    private boolean failed;
+    private boolean ended;
+    private boolean closed;
+
+    private JFROperation(@Nullable Object event, @Nullable Kind kind, @Nullable DBPDataSource dataSource, String operation, String details) {
+        this.event = event;
+        this.kind = kind;
+        this.dataSource = dataSource;
+        this.operation = operation;
+        this.details = details;
+    }
+
+    /**
+     * Starts new operation. Returned operation must be closed.
+     *
+     * @param kind       event kind
+     * @param dataSource data source (if any)
+     * @param operation  operation name
+     * @param details    operation details (query text, object name, etc).
+     *                   Query text is recorded as its fingerprint.
+     */
+    @NotNull
+    public static JFROperation begin(@NotNull Kind kind, @Nullable DBPDataSource dataSource, @NotNull String operation, @Nullable String details) {
+        if (!JFREvents.isAvailable()) {
+            return DISABLED;
+        }
+        Object event = beginEvent(kind);
+        return event == null ? DISABLED : new JFROperation(event, kind, dataSource, operation, details);
+    }
+
+    /**
+     * Sets fingerprinter of query details. Query details are not recorded if there is no fingerprinter
+     * unless raw query text recording is enabled.
+     */
+    public static void setQueryFingerprinter(@Nullable QueryFingerprinter fingerprinter) {
+        queryFingerprinter = fingerprinter;
+    }
+
+    /**
+     * Returns true if event is recorded. May be used to skip expensive details evaluation.
+     */
+    public boolean isActive() {
+        return event != null;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public void addCount(long count) {
+        this.count += count;
+    }
+
+    public void markFailed() {
+        this.failed = true;
+    }
+
+    /**
+     * Ends operation timing. It may be called several times, the last call defines the operation end.
+     * Operation still must be closed to record the event.
+     */
+    public void end() {
+        if (event == null || closed) {
+            return;
+        }
+        ended = true;
+        ((OperationEvent) event).end();
+    }
+
+    @Override
+    public void close() {
+        if (event == null || closed) {
+            return;
+        }
+        closed = true;
+        commitEvent();
+    }
+
+    @Nullable
+    private static Object beginEvent(@NotNull Kind kind) {
+        OperationEvent event = (OperationEvent) createEvent(kind);
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @NotNull
+    private static Object createEvent(@NotNull Kind kind) {
+        return switch (kind) {
+            case STATEMENT -> new StatementEvent();
+            case RESULT_SET_FETCH -> new ResultSetFetchEvent();
+            case METADATA_LOAD -> new MetadataLoadEvent();
+            case DATA_TRANSFER -> new DataTransferEvent();
+            case UI_MODEL_UPDATE -> new UIModelUpdateEvent();
+        };
+    }
+
+    private void commitEvent() {
+        OperationEvent operationEvent = (OperationEvent) event;
+        if (!ended) {
+            operationEvent.end();
+        }
+        if (operationEvent.shouldCommit()) {
+            operationEvent.dataSourceId = dataSource == null ? null : dataSource.getContainer().getId();
+            operationEvent.operation = operation;
+            operationEvent.details = kind != null && kind.hasQueryDetails() ? makeQueryDetails() : details;
+            operationEvent.count = count;
+            operationEvent.failed = failed;
+            operationEvent.commit();
+        }
+    }
+
+    @Nullable
+    private String makeQueryDetails() {
+        if (details == null || RECORD_QUERY_TEXT) {
+            return details;
+        }
+        QueryFingerprinter fingerprinter = queryFingerprinter;
+        if (fingerprinter == null) {
+            return null;
+        }
+        try {
+            return fingerprinter.makeFingerprint(dataSource, details);
+        } catch (Throwable e) {
+            // Never record raw text
+            return null;
+        }
+    }
+
+}
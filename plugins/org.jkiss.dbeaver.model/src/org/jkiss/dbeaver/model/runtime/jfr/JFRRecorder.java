@@ -0,0 +1,105 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.runtime.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Performance session recorder.
+ * Records JVM profile together with all DBeaver events into a flight recording file.
+ */
+public class JFRRecorder {
+
+    private static final Log log = Log.getLog(JFRRecorder.class);
+
+    private static final String RECORDING_NAME = "DBeaver performance session";
+    private static final String PROFILE_CONFIGURATION = "profile";
+
+    private static Object recording;
+
+    private JFRRecorder() {
+    }
+
+    public static synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Starts new recording with JVM profiling settings
+     */
+    public static synchronized void startRecording() throws DBException {
+        if (!JFREvents.isAvailable()) {
+            throw new DBException("Flight recorder is not available in the current Java runtime");
+        }
+        if (recording != null) {
+            return;
+        }
+        recording = createRecording();
+        log.debug("Performance session recording started");
+    }
+
+    /**
+     * Stops current recording and writes it in the specified file
+     */
+    public static synchronized void stopRecording(@NotNull Path outputFile) throws DBException {
+        if (recording == null) {
+            throw new DBException("Performance session is not recorded");
+        }
+        Object currentRecording = recording;
+        recording = null;
+        try {
+            Files.createDirectories(outputFile.getParent());
+            dumpRecording(currentRecording, outputFile);
+            log.debug("Performance session saved to " + outputFile);
+        } catch (Exception e) {
+            throw new DBException("Error saving performance session", e);
+        }
+    }
+
+    @NotNull
+    private static Object createRecording() throws DBException {
+        try {
+            Recording jfrRecording = new Recording(Configuration.getConfiguration(PROFILE_CONFIGURATION));
+            jfrRecording.setName(RECORDING_NAME);
+            jfrRecording.enable(StatementEvent.class);
+            jfrRecording.enable(ResultSetFetchEvent.class);
+            jfrRecording.enable(MetadataLoadEvent.class);
+            jfrRecording.enable(DataTransferEvent.class);
+            jfrRecording.enable(UIModelUpdateEvent.class);
+            jfrRecording.enable(ConnectPhaseEvent.class);
+            jfrRecording.start();
+            return jfrRecording;
+        } catch (Exception e) {
+            throw new DBException("Error starting flight recording", e);
+        }
+    }
+
+    private static void dumpRecording(@NotNull Object currentRecording, @NotNull Path outputFile) throws Exception {
+        try (Recording jfrRecording = (Recording) currentRecording) {
+            jfrRecording.stop();
+            jfrRecording.dump(outputFile);
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.runtime.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base class of timed operation events.
+ */
+@Category(JFREvents.CATEGORY_ROOT)
+@StackTrace(false)
+public abstract class OperationEvent extends Event {
+
+    @Label("Data Source")
+    public String dataSourceId;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Details")
+    public String details;
+
+    @Label("Count")
+    public long count;
+
+    @Label("Failed")
+    public boolean failed;
+
+}
@@ -221,6 +221,18 @@ public final class SQLUtils {
         return like.replace("*", "%").replace("?", "_");
     }
 
+    /**
+     * Escapes LIKE wildcards and the escape string itself so the text matches literally.
+     * Returns null if text contains wildcards but the escape string is empty (wildcards can't be escaped).
+     */
+    @Nullable
+    public static String escapeLikeWildcards(@NotNull String text, @Nullable String escape) {
+        if (CommonUtils.isEmpty(escape) || escape.isBlank()) {
+            return text.indexOf('%') == -1 && text.indexOf('_') == -1 ? text : null;
+        }
+        return text.replace(escape, escape + escape).replace("%", escape + "%").replace("_", escape + "_");
+    }
+
     public static boolean matchesLike(String string, String like)
     {
         Pattern pattern = Pattern.compile(makeLikePattern(like), Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
@@ -63,6 +63,21 @@ public interface DBSInstance extends DBSObject
     @NotNull
     DBCExecutionContext openIsolatedContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose, @Nullable DBCExecutionContext initFrom) throws DBException;
 
+    /**
+     * Opens new execution context for an editor.
+     * Implementation may share physical connections between editor contexts which do not keep
+     * transactions or session state. By default opens an isolated context.
+     *
+     * @param monitor progress monitor
+     * @param purpose context purpose (just a descriptive string)
+     * @param initFrom initialize new context parameters from specified context
+     * @return execution context
+     */
+    @NotNull
+    default DBCExecutionContext openEditorContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose, @Nullable DBCExecutionContext initFrom) throws DBException {
+        return openIsolatedContext(monitor, purpose, initFrom);
+    }
+
     void shutdown(DBRProgressMonitor monitor);
 
     @NotNull
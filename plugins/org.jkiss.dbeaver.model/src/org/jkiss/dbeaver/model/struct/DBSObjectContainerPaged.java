@@ -0,0 +1,51 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.struct;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.util.List;
+
+/**
+ * Object container which can read its children page by page on the server side.
+ * Used by navigator to show huge lists (e.g. schemas with tens of thousands of tables) without reading them all.
+ */
+public interface DBSObjectContainerPaged extends DBSObject {
+
+    /**
+     * Checks whether children can be read by pages.
+     *
+     * @param propertyName name of children property (as declared in the navigator tree model, e.g. "tables")
+     */
+    boolean supportsChildrenPaging(@NotNull String propertyName);
+
+    /**
+     * Reads page of children ordered by name.
+     * Returned objects are the same instances as returned by regular children getters.
+     *
+     * @param propertyName name of children property (as declared in the navigator tree model, e.g. "tables")
+     */
+    @NotNull
+    List<? extends DBSObject> getChildrenPage(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull String propertyName,
+        @NotNull DBSObjectPage page
+    ) throws DBException;
+
+}
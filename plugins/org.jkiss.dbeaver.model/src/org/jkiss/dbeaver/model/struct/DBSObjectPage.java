@@ -0,0 +1,163 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.struct;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Request of a page of child objects.
+ * Pages are ordered by object name. The next page starts after the last object name of the previous page.
+ */
+public class DBSObjectPage {
+
+    @Nullable
+    private final Class<?> objectType;
+    @Nullable
+    private final String afterName;
+    @Nullable
+    private final String nameMask;
+    @Nullable
+    private final String nameMaskEscape;
+    private final int maxResults;
+    @Nullable
+    private final Pattern namePattern;
+
+    /**
+     * @param objectType type of requested objects or null if all objects are requested
+     * @param afterName  name of the last object of the previous page or null for the first page
+     * @param nameMask   optional name mask in SQL LIKE syntax (% and _ wildcards)
+     * @param maxResults maximum number of objects in the page
+     */
+    public DBSObjectPage(@Nullable Class<?> objectType, @Nullable String afterName, @Nullable String nameMask, int maxResults) {
+        this(objectType, afterName, nameMask, null, maxResults);
+    }
+
+    /**
+     * @param nameMaskEscape escape string used in the name mask (usually the dialect search string escape)
+     */
+    public DBSObjectPage(
+        @Nullable Class<?> objectType,
+        @Nullable String afterName,
+        @Nullable String nameMask,
+        @Nullable String nameMaskEscape,
+        int maxResults
+    ) {
+        this.objectType = objectType;
+        this.afterName = afterName;
+        this.nameMask = nameMask;
+        this.nameMaskEscape = nameMaskEscape == null || nameMaskEscape.isBlank() ? null : nameMaskEscape;
+        this.maxResults = maxResults;
+        this.namePattern = nameMask == null ? null : Pattern.compile(makeNameRegex(nameMask, this.nameMaskEscape), Pattern.CASE_INSENSITIVE);
+    }
+
+    @Nullable
+    public Class<?> getObjectType() {
+        return objectType;
+    }
+
+    @Nullable
+    public String getAfterName() {
+        return afterName;
+    }
+
+    @Nullable
+    public String getNameMask() {
+        return nameMask;
+    }
+
+    /**
+     * Escape string of wildcards in the name mask or null if the mask has no escaped characters
+     */
+    @Nullable
+    public String getNameMaskEscape() {
+        return nameMaskEscape;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Checks object type, name bounds and name mask. Used to page already cached objects.
+     */
+    public boolean matches(@NotNull DBSObject object) {
+        if (objectType != null && !objectType.isInstance(object)) {
+            return false;
+        }
+        String name = object.getName();
+        if (afterName != null && name.compareTo(afterName) <= 0) {
+            return false;
+        }
+        return namePattern == null || namePattern.matcher(name).matches();
+    }
+
+    /**
+     * Takes page from the full list of objects
+     */
+    @NotNull
+    public <T extends DBSObject> List<T> getPage(@NotNull Collection<T> objects) {
+        List<T> sorted = new ArrayList<>(objects);
+        sorted.sort(Comparator.comparing(DBSObject::getName));
+        List<T> result = new ArrayList<>();
+        for (T object : sorted) {
+            if (matches(object)) {
+                result.add(object);
+                if (result.size() >= maxResults) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private static String makeNameRegex(@NotNull String mask, @Nullable String escape) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < mask.length(); i++) {
+            if (escape != null && mask.startsWith(escape, i) && i + escape.length() < mask.length()) {
+                i += escape.length();
+                regex.append(Pattern.quote(String.valueOf(mask.charAt(i))));
+                continue;
+            }
+            char c = mask.charAt(i);
+            switch (c) {
+                case '%' -> regex.append(".*");
+                case '_' -> regex.append('.');
+                default -> {
+                    if (Character.isLetterOrDigit(c)) {
+                        regex.append(c);
+                    } else {
+                        regex.append('\\').append(c);
+                    }
+                }
+            }
+        }
+        return regex.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "type=" + (objectType == null ? null : objectType.getSimpleName()) + ", after=" + afterName + ", mask=" + nameMask + ", max=" + maxResults;
+    }
+}
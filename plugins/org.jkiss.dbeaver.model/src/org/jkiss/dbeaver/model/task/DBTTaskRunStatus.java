@@ -21,11 +21,14 @@ import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.exec.DBCStatistics;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 
+import java.util.List;
 import java.util.StringJoiner;
 
 public class DBTTaskRunStatus {
 
     private String resultMessage;
+    private List<String> criticalPath;
+    private long criticalPathDuration;
 
     public DBTTaskRunStatus(){
     }
@@ -39,6 +42,23 @@ public class DBTTaskRunStatus {
         resultMessage = message;
     }
 
+    /**
+     * Names of tasks on the critical path. Reported by composite tasks.
+     */
+    @Nullable
+    public List<String> getCriticalPath() {
+        return criticalPath;
+    }
+
+    public long getCriticalPathDuration() {
+        return criticalPathDuration;
+    }
+
+    public void setCriticalPath(@Nullable List<String> criticalPath, long criticalPathDuration) {
+        this.criticalPath = criticalPath;
+        this.criticalPathDuration = criticalPathDuration;
+    }
+
     public static DBTTaskRunStatus makeStatisticsStatus(DBCStatistics statistics) {
         DBTTaskRunStatus taskResultStatus = new DBTTaskRunStatus();
 
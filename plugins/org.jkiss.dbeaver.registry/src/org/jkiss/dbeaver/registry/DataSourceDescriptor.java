@@ -67,6 +67,7 @@ import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
@@ -169,6 +170,8 @@ public class DataSourceDescriptor
 
     private volatile boolean connectFailed = false;
     private volatile Date connectTime = null;
+    @Nullable
+    private volatile DBPConnectionPhaseProfile connectPhaseProfile;
     private volatile boolean disposed = false;
     private volatile boolean connecting = false;
 
@@ -792,6 +795,12 @@ public class DataSourceDescriptor
         return connectTime;
     }
 
+    @Nullable
+    @Override
+    public DBPConnectionPhaseProfile getConnectPhaseProfile() {
+        return connectPhaseProfile;
+    }
+
     @NotNull
     @Override
     public SQLDialectMetadata getScriptDialect() {
@@ -1024,8 +1033,12 @@ public class DataSourceDescriptor
         boolean detachedProcess = DBWorkbench.getPlatform().getApplication().isDetachedProcess();
         boolean succeeded = false;
         connecting = true;
+        DBPConnectionPhaseProfile profile = new DBPConnectionPhaseProfile(this);
+        connectPhaseProfile = profile;
         try {
-            getDriver().downloadRequiredDependencies(monitor);
+            try (var phase = profile.startPhase(DBPConnectionPhaseProfile.PHASE_DRIVER_DEPENDENCIES)) {
+                getDriver().downloadRequiredDependencies(monitor);
+            }
             if (isDetachedProcessEnabled() && !detachedProcess) {
                 // Open detached connection
                 succeeded = openDetachedConnection(monitor);
@@ -1039,6 +1052,7 @@ public class DataSourceDescriptor
         }
         finally {
             connecting = false;
+            profile.finish();
 
             if (!detachedProcess) {
                 updateDataSourceObject(this, succeeded);
@@ -1137,43 +1151,46 @@ public class DataSourceDescriptor
         try {
             processEvents(monitor, DBPConnectionEventType.BEFORE_CONNECT);
 
-            // 1. Get credentials from origin
-            boolean authProvidedFromOrigin = false;
-            DBPDataSourceOrigin dsOrigin = getOrigin();
-            if (dsOrigin instanceof DBACredentialsProvider cp) {
-                String originID = dsOrigin.getType() +
-                    (dsOrigin.getSubType() == null ? "" : ("/" + dsOrigin.getSubType()));
-                monitor.beginTask("Read auth parameters from " + originID, 1);
-                try {
-                    authProvidedFromOrigin = cp.provideAuthParameters(monitor, this, resolvedConnectionInfo);
-                    if (authProvidedFromOrigin) {
-                        log.debug("Auth parameters were provided by origin " + originID);
+            try (var authPhase = DBPConnectionPhaseProfile.startPhase(this, DBPConnectionPhaseProfile.PHASE_AUTHENTICATE)) {
+                // 1. Get credentials from origin
+                boolean authProvidedFromOrigin = false;
+                DBPDataSourceOrigin dsOrigin = getOrigin();
+                if (dsOrigin instanceof DBACredentialsProvider cp) {
+                    String originID = dsOrigin.getType() +
+                        (dsOrigin.getSubType() == null ? "" : ("/" + dsOrigin.getSubType()));
+                    monitor.beginTask("Read auth parameters from " + originID, 1);
+                    try {
+                        authProvidedFromOrigin = cp.provideAuthParameters(monitor, this, resolvedConnectionInfo);
+                        if (authProvidedFromOrigin) {
+                            log.debug("Auth parameters were provided by origin " + originID);
+                        }
+                    } finally {
+                        monitor.done();
                     }
-                } finally {
-                    monitor.done();
                 }
-            }
 
-            // 2. Get credentials from global provider
-            if (!authProvidedFromOrigin) {
-                boolean authProvidedFromCredProvider = true;
-                DBACredentialsProvider authProvider = registry.getAuthCredentialsProvider();
-                if (authProvider != null) {
-                    authProvidedFromCredProvider = authProvider.provideAuthParameters(monitor, this, resolvedConnectionInfo);
-                } else {
-                    // 3. Use legacy password provider
-                    if (!isSavePassword() && !getDriver().isAnonymousAccess()) {
-                        // Ask for password
-                        authProvidedFromCredProvider = askForPassword(this, null, DBWTunnel.AuthCredentials.CREDENTIALS);
+                // 2. Get credentials from global provider
+                if (!authProvidedFromOrigin) {
+                    boolean authProvidedFromCredProvider = true;
+                    DBACredentialsProvider authProvider = registry.getAuthCredentialsProvider();
+                    if (authProvider != null) {
+                        authProvidedFromCredProvider = authProvider.provideAuthParameters(monitor, this, resolvedConnectionInfo);
+                    } else {
+                        // 3. Use legacy password provider
+                        if (!isSavePassword() && !getDriver().isAnonymousAccess()) {
+                            // Ask for password
+                            authProvidedFromCredProvider = askForPassword(this, null, DBWTunnel.AuthCredentials.CREDENTIALS);
+                        }
+                    }
+                    if (!authProvidedFromCredProvider) {
+                        // Auth parameters were canceled
+                        authPhase.markFailed();
+                        return false;
                     }
                 }
-                if (!authProvidedFromCredProvider) {
-                    // Auth parameters were canceled
-                    return false;
-                }
-            }
 
-            resolveConnectVariables(secretController);
+                resolveConnectVariables(secretController);
+            }
 
             // Handle tunnelHandler
             // Open tunnelHandler and replace connection info with new one
@@ -1202,42 +1219,52 @@ public class DataSourceDescriptor
 
             // Use ds exclusive lock to initialize network handlers
             Object dsLock = exclusiveLock.acquireExclusiveLock();
+            boolean hasNetworkHandlers = tunnelConfiguration != null || proxyConfiguration != null;
+            // Driver loading doesn't depend on network handlers, so it runs while proxy/tunnel is being initialized
+            ParallelTaskJob driverPreload = hasNetworkHandlers ? startDriverPreload(monitor) : null;
             try {
-                // Setup proxy handler
-                if (proxyConfiguration != null) {
-                    monitor.subTask("Initialize proxy");
-                    proxyHandler = proxyConfiguration.createHandler(DBWNetworkHandler.class);
-                    proxyHandler.initializeHandler(monitor, proxyConfiguration, resolvedConnectionInfo);
-                }
+                try (var networkPhase = DBPConnectionPhaseProfile.startPhase(
+                    hasNetworkHandlers ? this : null, DBPConnectionPhaseProfile.PHASE_NETWORK_HANDLERS))
+                {
+                    // Setup proxy handler
+                    if (proxyConfiguration != null) {
+                        monitor.subTask("Initialize proxy");
+                        proxyHandler = proxyConfiguration.createHandler(DBWNetworkHandler.class);
+                        proxyHandler.initializeHandler(monitor, proxyConfiguration, resolvedConnectionInfo);
+                    }
 
-                if (tunnelConfiguration != null) {
-                    monitor.subTask("Initialize tunnel");
-                    tunnelHandler = tunnelConfiguration.createHandler(DBWTunnel.class);
-                    try {
-                        if (!tunnelConfiguration.isSavePassword()) {
-                            DBWTunnel.AuthCredentials rc = tunnelHandler.getRequiredCredentials(tunnelConfiguration);
-                            if (rc != DBWTunnel.AuthCredentials.NONE) {
-                                if (!askForPassword(this, tunnelConfiguration, rc)) {
-                                    tunnelHandler = null;
-                                    return false;
+                    if (tunnelConfiguration != null) {
+                        monitor.subTask("Initialize tunnel");
+                        tunnelHandler = tunnelConfiguration.createHandler(DBWTunnel.class);
+                        try {
+                            if (!tunnelConfiguration.isSavePassword()) {
+                                DBWTunnel.AuthCredentials rc = tunnelHandler.getRequiredCredentials(tunnelConfiguration);
+                                if (rc != DBWTunnel.AuthCredentials.NONE) {
+                                    if (!askForPassword(this, tunnelConfiguration, rc)) {
+                                        tunnelHandler = null;
+                                        return false;
+                                    }
                                 }
                             }
-                        }
-                        // We need to resolve jump server differently due to it being a part of ssh configuration
-                        DBExecUtils.startContextInitiation(this);
-                        try {
-                            DBPDataSourceProvider dataSourceProvider = driver.getDataSourceProvider();
-                            if (dataSourceProvider instanceof DBWHandlerConfigurator) {
-                                ((DBWHandlerConfigurator) dataSourceProvider).activateHandler(tunnelHandler, resolvedConnectionInfo, tunnelConfiguration);
+                            // We need to resolve jump server differently due to it being a part of ssh configuration
+                            DBExecUtils.startContextInitiation(this);
+                            try {
+                                DBPDataSourceProvider dataSourceProvider = driver.getDataSourceProvider();
+                                if (dataSourceProvider instanceof DBWHandlerConfigurator) {
+                                    ((DBWHandlerConfigurator) dataSourceProvider).activateHandler(tunnelHandler, resolvedConnectionInfo, tunnelConfiguration);
+                                }
+                                resolvedConnectionInfo = tunnelHandler.initializeHandler(monitor, tunnelConfiguration, resolvedConnectionInfo);
+                            } finally {
+                                DBExecUtils.finishContextInitiation(this);
                             }
-                            resolvedConnectionInfo = tunnelHandler.initializeHandler(monitor, tunnelConfiguration, resolvedConnectionInfo);
-                        } finally {
-                            DBExecUtils.finishContextInitiation(this);
+                        } catch (Exception e) {
+                            throw new DBCException("Can't initialize tunnel", e);
                         }
-                    } catch (Exception e) {
-                        throw new DBCException("Can't initialize tunnel", e);
+                        monitor.worked(1);
                     }
-                    monitor.worked(1);
+                }
+                if (driverPreload != null) {
+                    finishDriverPreload(driverPreload);
                 }
 
                 monitor.subTask("Connect to data source");
@@ -1255,7 +1282,9 @@ public class DataSourceDescriptor
                 exclusiveLock.releaseExclusiveLock(dsLock);
             }
 
-            processEvents(monitor, DBPConnectionEventType.AFTER_CONNECT);
+            try (var phase = DBPConnectionPhaseProfile.startPhase(this, DBPConnectionPhaseProfile.PHASE_AFTER_CONNECT)) {
+                processEvents(monitor, DBPConnectionEventType.AFTER_CONNECT);
+            }
 
             return true;
         } catch (Throwable e) {
@@ -1297,6 +1326,43 @@ public class DataSourceDescriptor
         }
     }
 
+    /**
+     * Loads driver classes in a separate job.
+     * Returns null if driver is already loaded or parallel bootstrap is disabled.
+     */
+    @Nullable
+    private ParallelTaskJob startDriverPreload(@NotNull DBRProgressMonitor monitor) {
+        if (!(driver instanceof DriverDescriptor driverDescriptor) ||
+            driverDescriptor.isLoaded() ||
+            !driverDescriptor.isInstantiable() ||
+            getDriverSubstitution() != null ||
+            !getPreferenceStore().getBoolean(ModelPreferences.CONNECTION_PARALLEL_BOOTSTRAP)
+        ) {
+            return null;
+        }
+        ParallelTaskJob loadJob = new ParallelTaskJob("Load driver " + driver.getName(), monitor, loadMonitor -> {
+            try (var phase = DBPConnectionPhaseProfile.startPhase(this, DBPConnectionPhaseProfile.PHASE_LOAD_DRIVER)) {
+                try {
+                    driverDescriptor.loadDriver(loadMonitor);
+                } catch (DBException e) {
+                    phase.markFailed();
+                    throw new InvocationTargetException(e);
+                }
+            }
+        });
+        loadJob.schedule();
+        return loadJob;
+    }
+
+    private void finishDriverPreload(@NotNull ParallelTaskJob driverPreload) {
+        try {
+            driverPreload.waitForResult();
+        } catch (InvocationTargetException e) {
+            // Driver will be loaded again on connection open, error will be reported there
+            log.debug("Error loading driver '" + driver.getName() + "' in background: " + e.getTargetException().getMessage());
+        }
+    }
+
     private void terminateChildProcesses() {
         synchronized (childProcesses) {
             for (Iterator<DBRProcessDescriptor> iter = childProcesses.iterator(); iter.hasNext(); ) {
@@ -1378,7 +1444,9 @@ public class DataSourceDescriptor
             }
         }
 
-        this.dataSource = provider.openDataSource(monitor, this);
+        try (var phase = DBPConnectionPhaseProfile.startPhase(this, DBPConnectionPhaseProfile.PHASE_OPEN_DATA_SOURCE)) {
+            this.dataSource = provider.openDataSource(monitor, this);
+        }
         this.connectTime = new Date();
         monitor.worked(1);
 
@@ -1386,7 +1454,9 @@ public class DataSourceDescriptor
             monitor.subTask("Initialize data source");
             // Disable manual commit for init stage (because it may produce errors and modify transaction scope)
             boolean revertMetaToManualCommit = false;
-            try (DBCSession session = DBUtils.openMetaSession(monitor, this, "Read server information")) {
+            try (var phase = DBPConnectionPhaseProfile.startPhase(this, DBPConnectionPhaseProfile.PHASE_INITIALIZE);
+                 DBCSession session = DBUtils.openMetaSession(monitor, this, "Read server information")
+            ) {
                 DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
                 if (txnManager != null && !txnManager.isAutoCommit()) {
                     txnManager.setAutoCommit(monitor, true);
@@ -1760,7 +1830,15 @@ public class DataSourceDescriptor
                 for (DBSInstance instance : dataSource.getAvailableInstances()) {
                     for (DBCExecutionContext context : instance.getAllContexts()) {
                         conIndex++;
-                        coll.addProperty(CATEGORY_CONNECTIONS, "context-" + context.getContextId(), String.valueOf(conIndex), context.getContextName());
+                        String contextInfo = context.getContextName();
+                        DBCStatementCacheInfo cacheInfo = context.getStatementCacheInfo();
+                        if (cacheInfo != null) {
+                            contextInfo += " (statement cache: " + cacheInfo.getSize() + "/" + cacheInfo.getMaxSize() +
+                                ", hits: " + cacheInfo.getHitCount() +
+                                ", misses: " + cacheInfo.getMissCount() +
+                                ", evictions: " + cacheInfo.getEvictionCount() + ")";
+                        }
+                        coll.addProperty(CATEGORY_CONNECTIONS, "context-" + context.getContextId(), String.valueOf(conIndex), contextInfo);
                     }
                 }
             }
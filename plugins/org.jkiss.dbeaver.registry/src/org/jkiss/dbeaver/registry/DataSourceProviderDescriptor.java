@@ -39,13 +39,10 @@ import org.jkiss.dbeaver.registry.driver.MissingDataSourceProvider;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
+import org.jkiss.utils.Pair;
 import org.jkiss.utils.SecurityUtils;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.*;
 
 /**
  * DataSourceProviderDescriptor
@@ -71,7 +68,17 @@ public class DataSourceProviderDescriptor extends AbstractDescriptor implements
     private boolean driversManagable;
     private boolean supportsDriverMigration;
     private final List<DBPPropertyDescriptor> driverProperties = new ArrayList<>();
+    private static final Object DRIVER_LOADING = new Object();
+
     private final List<DriverDescriptor> drivers = new ArrayList<>();
+    // Immutable copy of drivers returned by getDrivers(). Reset on drivers list change.
+    @Nullable
+    private volatile List<DriverDescriptor> driversSnapshot;
+    // Drivers declared in plugin configuration. Values are configuration elements of drivers which were not loaded yet.
+    // Driver descriptors are created on first access. Becomes null once all drivers are loaded.
+    private Map<String, Object> declaredDrivers = new LinkedHashMap<>();
+    // Provider properties assigned to declared drivers (null driver IDs means all drivers)
+    private final List<Pair<String[], List<ProviderPropertyDescriptor>>> declaredProviderProperties = new ArrayList<>();
     private final List<NativeClientDescriptor> nativeClients = new ArrayList<>();
     private final List<DBPDataSourceProviderDescriptor> childrenProviders = new ArrayList<>();
     @NotNull
@@ -125,7 +132,11 @@ public class DataSourceProviderDescriptor extends AbstractDescriptor implements
         }
     }
 
-    void loadExtraConfig(IConfigurationElement config) {
+    /**
+     * Loads configuration which may refer to other providers (tree, drivers, native clients).
+     * Declared drivers are only registered here, their descriptors are created on first access.
+     */
+    public void loadExtraConfig(IConfigurationElement config) {
         {
             // Load tree structure
             if (treeDescriptor == null && parentProvider != null) {
@@ -160,10 +171,9 @@ public class DataSourceProviderDescriptor extends AbstractDescriptor implements
                 this.driversManagable = driversElement.getAttribute(RegistryConstants.ATTR_MANAGABLE) == null ||
                     CommonUtils.getBoolean(driversElement.getAttribute(RegistryConstants.ATTR_MANAGABLE));
                 for (IConfigurationElement driverElement : driversElement.getChildren(RegistryConstants.TAG_DRIVER)) {
-                    try {
-                        this.drivers.add(loadDriver(driverElement));
-                    } catch (Exception e) {
-                        log.error("Error loading driver", e);
+                    String driverId = CommonUtils.notEmpty(driverElement.getAttribute(RegistryConstants.ATTR_ID));
+                    if (declaredDrivers.putIfAbsent(driverId, driverElement) != null) {
+                        log.warn("Duplicate driver '" + driverId + "' in data source provider '" + id + "'");
                     }
                 }
 
@@ -175,15 +185,8 @@ public class DataSourceProviderDescriptor extends AbstractDescriptor implements
                         for (IConfigurationElement prop : propsElement.getChildren(PropertyDescriptor.TAG_PROPERTY_GROUP)) {
                             providerProperties.addAll(ProviderPropertyDescriptor.extractProviderProperties(prop));
                         }
-                        List<DriverDescriptor> appDrivers;
-                        if (CommonUtils.isEmpty(driversSpec) || driversSpec.equals("*")) {
-                            appDrivers = drivers;
-                        } else {
-                            String[] driverIds = driversSpec.split(",");
-                            appDrivers = drivers.stream()
-                                .filter(d -> ArrayUtils.contains(driverIds, d.getId())).collect(Collectors.toList());
-                        }
-                        appDrivers.forEach(d -> d.addProviderPropertyDescriptors(providerProperties));
+                        String[] driverIds = CommonUtils.isEmpty(driversSpec) || driversSpec.equals("*") ? null : driversSpec.split(",");
+                        declaredProviderProperties.add(new Pair<>(driverIds, providerProperties));
                     }
                 }
             }
@@ -225,7 +228,11 @@ public class DataSourceProviderDescriptor extends AbstractDescriptor implements
     }
 
     public void dispose() {
-        drivers.clear();
+        synchronized (this) {
+            drivers.clear();
+            declaredDrivers = null;
+            driversSnapshot = null;
+        }
         instance = null;
     }
 
@@ -332,13 +339,29 @@ public class DataSourceProviderDescriptor extends AbstractDescriptor implements
         return null;
     }
 
+    /**
+     * Returns immutable list of all drivers. Loads declared drivers on first call.
+     * The same list instance is returned until drivers are added or removed.
+     */
     public List<DriverDescriptor> getDrivers() {
-        return drivers;
+        List<DriverDescriptor> snapshot = driversSnapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (this) {
+            loadDeclaredDrivers();
+            snapshot = driversSnapshot;
+            if (snapshot == null) {
+                snapshot = List.copyOf(drivers);
+                driversSnapshot = snapshot;
+            }
+            return snapshot;
+        }
     }
 
     public List<DriverDescriptor> getEnabledDrivers() {
         List<DriverDescriptor> eDrivers = new ArrayList<>();
-        for (DriverDescriptor driver : drivers) {
+        for (DriverDescriptor driver : getDrivers()) {
             if (!driver.isDisabled() && driver.getReplacedBy() == null && driver.isSupportedByLocalSystem()) {
                 eDrivers.add(driver);
             }
@@ -355,15 +378,13 @@ public class DataSourceProviderDescriptor extends AbstractDescriptor implements
     @Nullable
     @Override
     public DriverDescriptor getDriver(@NotNull String id) {
-        for (DriverDescriptor driver : drivers) {
-            if (driver.getId().equals(id)) {
-                while (driver.getReplacedBy() != null) {
-                    driver = driver.getReplacedBy();
-                }
-                return driver;
+        DriverDescriptor driver = getOriginalDriver(id);
+        if (driver != null) {
+            while (driver.getReplacedBy() != null) {
+                driver = driver.getReplacedBy();
             }
         }
-        return null;
+        return driver;
     }
 
     /**
@@ -373,7 +394,10 @@ public class DataSourceProviderDescriptor extends AbstractDescriptor implements
      * @return driver or {@code null} if no driver was found
      */
     @Nullable
-    public DriverDescriptor getOriginalDriver(@NotNull String id) {
+    public synchronized DriverDescriptor getOriginalDriver(@NotNull String id) {
+        if (declaredDrivers != null && declaredDrivers.containsKey(id)) {
+            return loadDeclaredDriver(id);
+        }
         for (DriverDescriptor driver : drivers) {
             if (driver.getId().equals(id)) {
                 return driver;
@@ -383,6 +407,96 @@ public class DataSourceProviderDescriptor extends AbstractDescriptor implements
         return null;
     }
 
+    /**
+     * Checks whether driver with the specified ID exists without loading of driver descriptors
+     */
+    public synchronized boolean hasDriver(@NotNull String id) {
+        if (declaredDrivers != null && declaredDrivers.containsKey(id)) {
+            return true;
+        }
+        for (DriverDescriptor driver : drivers) {
+            if (driver.getId().equals(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drivers which were already loaded. Doesn't load declared drivers.
+     */
+    public synchronized List<DriverDescriptor> getLoadedDrivers() {
+        List<DriverDescriptor> result = new ArrayList<>();
+        if (declaredDrivers != null) {
+            for (Object driver : declaredDrivers.values()) {
+                if (driver instanceof DriverDescriptor dd) {
+                    result.add(dd);
+                }
+            }
+        }
+        result.addAll(drivers);
+        return result;
+    }
+
+    /**
+     * Number of declared drivers which were not loaded yet
+     */
+    synchronized int getNotLoadedDriverCount() {
+        int count = 0;
+        if (declaredDrivers != null) {
+            for (Object driver : declaredDrivers.values()) {
+                if (driver instanceof IConfigurationElement) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private synchronized void loadDeclaredDrivers() {
+        if (declaredDrivers == null) {
+            return;
+        }
+        List<DriverDescriptor> declared = new ArrayList<>(declaredDrivers.size());
+        for (String driverId : new ArrayList<>(declaredDrivers.keySet())) {
+            DriverDescriptor driver = loadDeclaredDriver(driverId);
+            if (driver != null) {
+                declared.add(driver);
+            }
+        }
+        // Custom drivers go after declared ones
+        drivers.addAll(0, declared);
+        declaredDrivers = null;
+        driversSnapshot = null;
+    }
+
+    @Nullable
+    private DriverDescriptor loadDeclaredDriver(@NotNull String driverId) {
+        Object driver = declaredDrivers.get(driverId);
+        if (driver instanceof DriverDescriptor dd) {
+            return dd;
+        }
+        if (!(driver instanceof IConfigurationElement config)) {
+            return null;
+        }
+        // Driver may refer other drivers of this provider while loading
+        declaredDrivers.put(driverId, DRIVER_LOADING);
+        try {
+            DriverDescriptor driverDescriptor = loadDriver(config);
+            for (Pair<String[], List<ProviderPropertyDescriptor>> props : declaredProviderProperties) {
+                if (props.getFirst() == null || ArrayUtils.contains(props.getFirst(), driverId)) {
+                    driverDescriptor.addProviderPropertyDescriptors(props.getSecond());
+                }
+            }
+            declaredDrivers.put(driverId, driverDescriptor);
+            return driverDescriptor;
+        } catch (Exception e) {
+            log.error("Error loading driver", e);
+            declaredDrivers.remove(driverId);
+            return null;
+        }
+    }
+
     public DriverDescriptor createDriver() {
         return createDriver(SecurityUtils.generateGUID(false));
     }
@@ -395,16 +509,18 @@ public class DataSourceProviderDescriptor extends AbstractDescriptor implements
         return new DriverDescriptor(this, SecurityUtils.generateGUID(false), copyFrom);
     }
 
-    public void addDriver(DriverDescriptor driver) {
+    public synchronized void addDriver(DriverDescriptor driver) {
         this.drivers.add(driver);
+        this.driversSnapshot = null;
     }
 
-    public boolean removeDriver(DriverDescriptor driver) {
+    public synchronized boolean removeDriver(DriverDescriptor driver) {
         if (!driver.isCustom()) {
             driver.setDisabled(true);
             driver.setModified(true);
             return true;
         } else {
+            this.driversSnapshot = null;
             return this.drivers.remove(driver);
         }
     }
@@ -684,7 +800,7 @@ public class DataSourceProviderDescriptor extends AbstractDescriptor implements
         if (category != null && category.isEmpty()) {
             category = null;
         }
-        for (DriverDescriptor driver : drivers) {
+        for (DriverDescriptor driver : getDrivers()) {
             if (CommonUtils.equalObjects(category, driver.getCategory()) && CommonUtils.equalObjects(name,
                 driver.getName())) {
                 return driver;
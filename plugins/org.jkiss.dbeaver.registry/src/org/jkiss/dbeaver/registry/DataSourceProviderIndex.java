@@ -0,0 +1,229 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry;
+
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.Platform;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.utils.CommonUtils;
+import org.osgi.framework.Bundle;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Persisted index of drivers declared by data source providers.
+ * Contains driver identifiers and driver replacements, so registry may resolve replacements
+ * without creation of driver descriptors. Driver descriptors are created on first access.
+ * Index is invalidated when any contributing bundle changes its version or timestamp.
+ */
+public class DataSourceProviderIndex {
+
+    private static final Log log = Log.getLog(DataSourceProviderIndex.class);
+
+    private static final String INDEX_FILE_NAME = "driver-registry.idx";
+    private static final int INDEX_MAGIC = 0x44505249; // DPRI
+    private static final int INDEX_VERSION = 1;
+
+    public record DriverReference(@NotNull String providerId, @NotNull String driverId) {
+    }
+
+    public record DriverEntry(@NotNull String id, @NotNull List<DriverReference> replaces) {
+    }
+
+    private final Map<String, List<DriverEntry>> providerDrivers = new LinkedHashMap<>();
+    private boolean cached;
+
+    private DataSourceProviderIndex() {
+    }
+
+    /**
+     * True if index was read from disk
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
+    @NotNull
+    public List<DriverEntry> getDrivers(@NotNull String providerId) {
+        return providerDrivers.getOrDefault(providerId, Collections.emptyList());
+    }
+
+    public int getDriverCount() {
+        int count = 0;
+        for (List<DriverEntry> drivers : providerDrivers.values()) {
+            count += drivers.size();
+        }
+        return count;
+    }
+
+    /**
+     * Reads index from disk. If there is no index or it is out of date then it is built from extension elements and saved.
+     * In development mode bundle timestamps don't follow plugin.xml changes, so index is always built from elements.
+     *
+     * @param extensions  extensions which contribute data source providers, used for the index signature
+     * @param extElements configuration elements of these extensions
+     */
+    @NotNull
+    static DataSourceProviderIndex loadIndex(@NotNull IExtension[] extensions, @NotNull IConfigurationElement[] extElements) {
+        Path indexFile = Platform.inDevelopmentMode() ? null : getIndexFile();
+        if (indexFile == null) {
+            return buildIndex(extElements);
+        }
+        String signature = makeSignature(extensions);
+        if (Files.exists(indexFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+                DataSourceProviderIndex index = readIndex(in, signature);
+                if (index != null) {
+                    return index;
+                }
+            } catch (IOException e) {
+                log.debug("Error reading driver registry index", e);
+            }
+        }
+        DataSourceProviderIndex index = buildIndex(extElements);
+        try {
+            saveIndex(index, indexFile, signature);
+        } catch (IOException e) {
+            log.debug("Error saving driver registry index", e);
+        }
+        return index;
+    }
+
+    @NotNull
+    static DataSourceProviderIndex buildIndex(@NotNull IConfigurationElement[] extElements) {
+        DataSourceProviderIndex index = new DataSourceProviderIndex();
+        for (IConfigurationElement ext : extElements) {
+            if (!RegistryConstants.TAG_DATASOURCE.equals(ext.getName())) {
+                continue;
+            }
+            String providerId = ext.getAttribute(RegistryConstants.ATTR_ID);
+            if (CommonUtils.isEmpty(providerId)) {
+                continue;
+            }
+            List<DriverEntry> drivers = index.providerDrivers.computeIfAbsent(providerId, k -> new ArrayList<>());
+            for (IConfigurationElement driversElement : ext.getChildren(RegistryConstants.TAG_DRIVERS)) {
+                for (IConfigurationElement driverElement : driversElement.getChildren(RegistryConstants.TAG_DRIVER)) {
+                    List<DriverReference> replaces = new ArrayList<>();
+                    for (IConfigurationElement replace : driverElement.getChildren(RegistryConstants.TAG_REPLACE)) {
+                        String replaceProviderId = replace.getAttribute(RegistryConstants.ATTR_PROVIDER);
+                        String replaceDriverId = replace.getAttribute(RegistryConstants.ATTR_DRIVER);
+                        if (!CommonUtils.isEmpty(replaceProviderId) && !CommonUtils.isEmpty(replaceDriverId)) {
+                            replaces.add(new DriverReference(replaceProviderId, replaceDriverId));
+                        }
+                    }
+                    drivers.add(new DriverEntry(CommonUtils.notEmpty(driverElement.getAttribute(RegistryConstants.ATTR_ID)), replaces));
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Reads index. Returns null if index format or signature doesn't match.
+     */
+    @Nullable
+    static DataSourceProviderIndex readIndex(@NotNull DataInput in, @NotNull String signature) throws IOException {
+        if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION || !signature.equals(in.readUTF())) {
+            return null;
+        }
+        DataSourceProviderIndex index = new DataSourceProviderIndex();
+        int providerCount = in.readInt();
+        for (int i = 0; i < providerCount; i++) {
+            String providerId = in.readUTF();
+            int driverCount = in.readInt();
+            List<DriverEntry> drivers = new ArrayList<>(driverCount);
+            for (int k = 0; k < driverCount; k++) {
+                String driverId = in.readUTF();
+                int replaceCount = in.readInt();
+                List<DriverReference> replaces = replaceCount == 0 ? Collections.emptyList() : new ArrayList<>(replaceCount);
+                for (int r = 0; r < replaceCount; r++) {
+                    replaces.add(new DriverReference(in.readUTF(), in.readUTF()));
+                }
+                drivers.add(new DriverEntry(driverId, replaces));
+            }
+            index.providerDrivers.put(providerId, drivers);
+        }
+        index.cached = true;
+        return index;
+    }
+
+    static void writeIndex(@NotNull DataSourceProviderIndex index, @NotNull DataOutput out, @NotNull String signature) throws IOException {
+        out.writeInt(INDEX_MAGIC);
+        out.writeInt(INDEX_VERSION);
+        out.writeUTF(signature);
+        out.writeInt(index.providerDrivers.size());
+        for (Map.Entry<String, List<DriverEntry>> entry : index.providerDrivers.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (DriverEntry driver : entry.getValue()) {
+                out.writeUTF(driver.id());
+                out.writeInt(driver.replaces().size());
+                for (DriverReference replace : driver.replaces()) {
+                    out.writeUTF(replace.providerId());
+                    out.writeUTF(replace.driverId());
+                }
+            }
+        }
+    }
+
+    private static void saveIndex(@NotNull DataSourceProviderIndex index, @NotNull Path indexFile, @NotNull String signature) throws IOException {
+        Files.createDirectories(indexFile.getParent());
+        Path tmpFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+            writeIndex(index, out, signature);
+        }
+        Files.move(tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Signature is made of identifiers, versions and timestamps of all bundles which contribute data source providers.
+     * Only extension contributors are read, configuration elements are not touched.
+     */
+    @NotNull
+    private static String makeSignature(@NotNull IExtension[] extensions) {
+        Set<String> bundles = new TreeSet<>();
+        for (IExtension extension : extensions) {
+            String bundleName = extension.getContributor().getName();
+            Bundle bundle = Platform.getBundle(bundleName);
+            if (bundle == null) {
+                bundles.add(bundleName);
+            } else {
+                bundles.add(bundleName + ":" + bundle.getVersion() + ":" + bundle.getLastModified());
+            }
+        }
+        return String.join(";", bundles);
+    }
+
+    @Nullable
+    private static Path getIndexFile() {
+        try {
+            return DBWorkbench.getPlatform().getLocalConfigurationFile(INDEX_FILE_NAME);
+        } catch (Throwable e) {
+            // No local configuration (e.g. in tests)
+            return null;
+        }
+    }
+
+}
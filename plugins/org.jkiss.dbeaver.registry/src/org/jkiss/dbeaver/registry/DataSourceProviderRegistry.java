@@ -17,6 +17,8 @@
 package org.jkiss.dbeaver.registry;
 
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.Platform;
 import org.jkiss.code.NotNull;
@@ -103,9 +105,16 @@ public class DataSourceProviderRegistry implements DBPDataSourceProviderRegistry
     }
 
     private void loadExtensions(IExtensionRegistry registry) {
+        long startTime = System.currentTimeMillis();
+        long providersTime, driversTime;
+        DataSourceProviderIndex driverIndex;
         // Load datasource providers from external plugins
         {
             IConfigurationElement[] extElements = registry.getConfigurationElementsFor(DataSourceProviderDescriptor.EXTENSION_ID);
+            IExtensionPoint extensionPoint = registry.getExtensionPoint(DataSourceProviderDescriptor.EXTENSION_ID);
+            driverIndex = DataSourceProviderIndex.loadIndex(
+                extensionPoint == null ? new IExtension[0] : extensionPoint.getExtensions(),
+                extElements);
             // Sort - parse providers with parent in the end
             Arrays.sort(extElements, (o1, o2) -> {
                 String p1 = o1.getAttribute(RegistryConstants.ATTR_PARENT);
@@ -199,6 +208,7 @@ public class DataSourceProviderRegistry implements DBPDataSourceProviderRegistry
                 return o1.getName().compareToIgnoreCase(o2.getName());
             });
         }
+        providersTime = System.currentTimeMillis() - startTime;
 
         {
             // Try to load initial drivers config
@@ -217,31 +227,40 @@ public class DataSourceProviderRegistry implements DBPDataSourceProviderRegistry
             loadDrivers(DriverDescriptorSerializerLegacy.DRIVERS_FILE_NAME, false);
         }
 
-        // Resolve all driver replacements
+        // Resolve all driver replacements.
+        // Only drivers declared in plugins may replace other drivers, so we can use index and load only affected drivers.
         {
-            List<DriverDescriptor> allDrivers = new ArrayList<>();
             for (DataSourceProviderDescriptor provider : dataSourceProviders) {
-                allDrivers.addAll(provider.getDrivers());
-            }
-            for (DriverDescriptor driver1 : allDrivers) {
-                for (DriverDescriptor driver2 : allDrivers) {
-                    if (driver1 != driver2 && driver1.replaces(driver2)) {
-                        driver2.setReplacedBy(driver1);
+                for (DataSourceProviderIndex.DriverEntry driverEntry : driverIndex.getDrivers(provider.getId())) {
+                    for (DataSourceProviderIndex.DriverReference replace : driverEntry.replaces()) {
+                        DataSourceProviderDescriptor replacedProvider = getDataSourceProvider(replace.providerId());
+                        if (replacedProvider == null || !replacedProvider.hasDriver(replace.driverId()) || !provider.hasDriver(driverEntry.id())) {
+                            continue;
+                        }
+                        DriverDescriptor driver = provider.getOriginalDriver(driverEntry.id());
+                        DriverDescriptor replacedDriver = replacedProvider.getOriginalDriver(replace.driverId());
+                        if (driver != null && replacedDriver != null && driver != replacedDriver) {
+                            replacedDriver.setReplacedBy(driver);
+                        }
                     }
                 }
             }
         }
+        driversTime = System.currentTimeMillis() - startTime - providersTime;
 
-        int driverCount = 0, customDriverCount = 0;
+        int driverCount = 0, customDriverCount = 0, notLoadedCount = 0;
         for (DataSourceProviderDescriptor pd : dataSourceProviders) {
-            for (DBPDriver dd : pd.getDrivers()) {
+            for (DBPDriver dd : pd.getLoadedDrivers()) {
                 if (!dd.isDisabled() && dd.getReplacedBy() == null) {
                     driverCount++;
                     if (dd.isCustom()) customDriverCount++;
                 }
             }
+            notLoadedCount += pd.getNotLoadedDriverCount();
         }
-        log.debug("Total database drivers: " + driverCount + " (" + (driverCount - customDriverCount) + ")");
+        driverCount += notLoadedCount;
+        log.debug("Total database drivers: " + driverCount + " (" + (driverCount - customDriverCount) + "), " +
+            (driverCount - notLoadedCount) + " loaded");
 
         // Load connection types
         {
@@ -291,6 +310,10 @@ public class DataSourceProviderRegistry implements DBPDataSourceProviderRegistry
                 dataSourceConfigurationStorageDescriptors.add(descriptor);
             }
         }
+        long totalTime = System.currentTimeMillis() - startTime;
+        log.debug("Data source provider registry loaded in " + totalTime + "ms (providers: " + providersTime +
+            "ms, drivers: " + driversTime + "ms, other: " + (totalTime - providersTime - driversTime) + "ms, driver index " +
+            (driverIndex.isCached() ? "cached" : "rebuilt") + ")");
     }
 
     public static void dispose() {
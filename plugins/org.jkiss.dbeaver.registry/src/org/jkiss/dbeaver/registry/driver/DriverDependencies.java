@@ -21,9 +21,11 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.connection.DBPDriverDependencies;
 import org.jkiss.dbeaver.model.connection.DBPDriverLibrary;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.ProxyProgressMonitor;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * DriverDependencies
@@ -32,6 +34,8 @@ public class DriverDependencies implements DBPDriverDependencies
 {
     private static final Log log = Log.getLog(DriverDependencies.class);
 
+    private static final int MAX_RESOLVE_THREADS = 4;
+
     private final List<DBPDriverLibrary> rootLibraries;
     private final List<DependencyNode> rootNodes = new ArrayList<>();
     private final List<DependencyNode> libraryList = new ArrayList<>();
@@ -46,25 +50,51 @@ public class DriverDependencies implements DBPDriverDependencies
         {
             rootNodes.clear();
 
-            final Map<String, DependencyNode> libMap = new LinkedHashMap<>();
-            for (DBPDriverLibrary library : rootLibraries) {
-                DependencyNode node = new DependencyNode(null, library);
-
-                try {
-                    final Map<String, DependencyNode> localLibMap = new LinkedHashMap<>();
-                    localLibMap.put(node.library.getId(), node);
-
-                    resolveDependencies(monitor, node, localLibMap);
+            // Root libraries have independent dependency trees, so they are resolved concurrently.
+            // Results are merged in the original order to keep library list stable.
+            final List<Future<Map<String, DependencyNode>>> results = new ArrayList<>();
+            final int threadCount = Math.min(MAX_RESOLVE_THREADS, rootLibraries.size());
+            final ExecutorService executor = threadCount > 1 ? Executors.newFixedThreadPool(threadCount, r -> {
+                Thread thread = new Thread(r, "Driver dependencies resolver");
+                thread.setDaemon(true);
+                return thread;
+            }) : null;
+            final DBRProgressMonitor resolveMonitor = executor == null ? monitor : new SynchronizedProgressMonitor(monitor);
+            try {
+                for (DBPDriverLibrary library : rootLibraries) {
+                    Callable<Map<String, DependencyNode>> task = () -> resolveRootDependencies(resolveMonitor, library);
+                    if (executor == null) {
+                        FutureTask<Map<String, DependencyNode>> future = new FutureTask<>(task);
+                        future.run();
+                        results.add(future);
+                    } else {
+                        results.add(executor.submit(task));
+                    }
+                }
 
-                    rootNodes.add(node);
-                    libMap.putAll(localLibMap);
-                } catch (IOException e) {
-                    lastError = e;
-                    log.error("Error resolving library '" + library.getDisplayName() + "' dependencies", e);
+                final Map<String, DependencyNode> libMap = new LinkedHashMap<>();
+                for (int i = 0; i < results.size(); i++) {
+                    DBPDriverLibrary library = rootLibraries.get(i);
+                    try {
+                        Map<String, DependencyNode> localLibMap = results.get(i).get();
+                        rootNodes.add(localLibMap.get(library.getId()));
+                        libMap.putAll(localLibMap);
+                    } catch (ExecutionException e) {
+                        Throwable cause = e.getCause();
+                        lastError = cause instanceof IOException ioe ? ioe : new IOException(cause);
+                        log.error("Error resolving library '" + library.getDisplayName() + "' dependencies", cause);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new DBException("Dependencies resolve interrupted", e);
+                    }
+                }
+                libraryList.clear();
+                libraryList.addAll(libMap.values());
+            } finally {
+                if (executor != null) {
+                    executor.shutdownNow();
                 }
             }
-            libraryList.clear();
-            libraryList.addAll(libMap.values());
 
 /*
                 StringBuilder sb = new StringBuilder();
@@ -103,6 +133,15 @@ public class DriverDependencies implements DBPDriverDependencies
         }
     }
 
+    private Map<String, DependencyNode> resolveRootDependencies(DBRProgressMonitor monitor, DBPDriverLibrary library) throws IOException {
+        DependencyNode node = new DependencyNode(null, library);
+        final Map<String, DependencyNode> localLibMap = new LinkedHashMap<>();
+        localLibMap.put(node.library.getId(), node);
+
+        resolveDependencies(monitor, node, localLibMap);
+        return localLibMap;
+    }
+
     private void resolveDependencies(DBRProgressMonitor monitor, DependencyNode ownerNode, Map<String, DependencyNode> libMap) throws IOException {
         Collection<? extends DBPDriverLibrary> dependencies = ownerNode.library.getDependencies(monitor);
         if (dependencies != null && !dependencies.isEmpty()) {
@@ -140,6 +179,43 @@ public class DriverDependencies implements DBPDriverDependencies
         return rootNodes;
     }
 
+    /**
+     * Serializes progress reporting from resolver threads
+     */
+    private static class SynchronizedProgressMonitor extends ProxyProgressMonitor {
+        SynchronizedProgressMonitor(DBRProgressMonitor original) {
+            super(original);
+        }
+
+        @Override
+        public void beginTask(String name, int totalWork) {
+            synchronized (original) {
+                super.beginTask(name, totalWork);
+            }
+        }
+
+        @Override
+        public void done() {
+            synchronized (original) {
+                super.done();
+            }
+        }
+
+        @Override
+        public void subTask(String name) {
+            synchronized (original) {
+                super.subTask(name);
+            }
+        }
+
+        @Override
+        public void worked(int work) {
+            synchronized (original) {
+                super.worked(work);
+            }
+        }
+    }
+
     public void changeLibrary(DBPDriverLibrary oldLibrary, DBPDriverLibrary newLibrary) {
         int index = rootLibraries.indexOf(oldLibrary);
         if (index == -1) {
@@ -763,6 +763,10 @@ public class DriverDescriptor extends AbstractDescriptor implements DBPDriver {
         return (T)driverInstance;
     }
 
+    public boolean isLoaded() {
+        return isLoaded;
+    }
+
     public void resetDriverInstance() {
         this.driverInstance = null;
         this.driverClass = null;
@@ -1116,7 +1120,12 @@ public class DriverDescriptor extends AbstractDescriptor implements DBPDriver {
     }
 
     public void addProviderPropertyDescriptors(Collection<ProviderPropertyDescriptor> props) {
-        providerPropertyDescriptors.addAll(props);
+        for (ProviderPropertyDescriptor prop : props) {
+            // Properties may be already copied from another driver
+            if (!providerPropertyDescriptors.contains(prop)) {
+                providerPropertyDescriptors.add(prop);
+            }
+        }
     }
 
     @NotNull
@@ -59,7 +59,7 @@ public class DriverDescriptorSerializerLegacy extends DriverDescriptorSerializer
             if (provider.isTemporary()) {
                 continue;
             }
-            List<DriverDescriptor> drivers = provider.getDrivers().stream().filter(DriverDescriptor::isModified).collect(Collectors.toList());
+            List<DriverDescriptor> drivers = provider.getLoadedDrivers().stream().filter(DriverDescriptor::isModified).collect(Collectors.toList());
             drivers.removeIf(driverDescriptor -> driverDescriptor.getReplacedBy() != null);
             if (drivers.isEmpty()) {
                 continue;
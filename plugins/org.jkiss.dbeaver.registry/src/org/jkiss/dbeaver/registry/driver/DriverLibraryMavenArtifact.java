@@ -29,6 +29,8 @@ import org.jkiss.utils.CommonUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -305,17 +307,37 @@ public class DriverLibraryMavenArtifact extends DriverLibraryAbstract
     }
 
     public void downloadLibraryFile(@NotNull DBRProgressMonitor monitor, boolean forceUpdate, String taskName) throws IOException, InterruptedException {
-        //monitor.beginTask(taskName + " - update localVersion information", 1);
+        MavenArtifactVersion localVersion = resolveLocalVersion(monitor, forceUpdate);
+        if (localVersion.getArtifact().getRepository().getType() == MavenRepository.RepositoryType.LOCAL) {
+            // No need to download local artifacts
+            return;
+        }
+        final Path localFile = getLocalFile();
+        if (localFile == null) {
+            throw new IOException("No target file for '" + getPath() + "'");
+        }
+        if (!forceUpdate && Files.exists(localFile) && Files.size(localFile) > 0) {
+            return;
+        }
+        String externalURL = getExternalURL(monitor);
+        if (externalURL == null) {
+            throw new IOException("Unresolved file reference: " + getPath());
+        }
+        // Artifacts are taken from the shared cache, so each file is downloaded (and verified) only once
+        long maxAge;
+        if (forceUpdate) {
+            maxAge = 0;
+        } else if (localVersion.isSnapshotVersion()) {
+            maxAge = MavenArtifactCache.MUTABLE_FILE_TTL;
+        } else {
+            maxAge = MavenArtifactCache.IMMUTABLE_FILE_TTL;
+        }
+        monitor.subTask(taskName);
         try {
-            MavenArtifactVersion localVersion = resolveLocalVersion(monitor, forceUpdate);
-            if (localVersion.getArtifact().getRepository().getType() == MavenRepository.RepositoryType.LOCAL) {
-                // No need to download local artifacts
-                return;
-            }
-        } finally {
-            //monitor.done();
+            MavenArtifactCache.getInstance().copyFile(monitor, externalURL, getAuthInfo(monitor), maxAge, localFile);
+        } catch (InterruptedIOException e) {
+            throw new InterruptedException(e.getMessage());
         }
-        super.downloadLibraryFile(monitor, forceUpdate, taskName);
     }
 
     @Nullable
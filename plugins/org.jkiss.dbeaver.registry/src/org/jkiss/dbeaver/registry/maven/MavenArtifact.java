@@ -34,6 +34,9 @@ import org.xml.sax.Attributes;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
@@ -94,7 +97,7 @@ public class MavenArtifact implements IMavenIdentifier
         loadMetadata(monitor, null);
     }
 
-    public void loadMetadata(DBRProgressMonitor monitor, String version) throws IOException {
+    public synchronized void loadMetadata(DBRProgressMonitor monitor, String version) throws IOException {
         latestVersion = null;
         releaseVersion = null;
         versions.clear();
@@ -108,11 +111,18 @@ public class MavenArtifact implements IMavenIdentifier
         metadataPath += MAVEN_METADATA_XML;
         monitor.subTask("Load metadata " + this);
 
-        try (InputStream mdStream = WebUtils.openConnection(metadataPath, getRepository().getAuthInfo(), null).getInputStream()) {
-            parseMetadata(mdStream);
+        MavenArtifactCache artifactCache = MavenArtifactCache.getInstance();
+        try {
+            Path metadataFile = artifactCache.getFile(monitor, metadataPath, getRepository().getAuthInfo(), MavenArtifactCache.MUTABLE_FILE_TTL);
+            try (InputStream mdStream = Files.newInputStream(metadataFile)) {
+                parseMetadata(mdStream);
+            }
         } catch (XMLException e) {
             log.warn("Error parsing artifact metadata", e);
         } catch (IOException e) {
+            if (artifactCache.isOffline() || e instanceof InterruptedIOException) {
+                throw e;
+            }
             // Metadata xml not found. It happens in rare cases. Let's try to get directory listing
             try (InputStream dirStream = WebUtils.openConnection(getBaseArtifactURL(), getRepository().getAuthInfo(), null).getInputStream()) {
                 parseDirectory(dirStream);
@@ -253,7 +263,7 @@ public class MavenArtifact implements IMavenIdentifier
     }
 
     @Nullable
-    public Collection<String> getAvailableVersions(DBRProgressMonitor monitor, String versionSpec) throws IOException {
+    public synchronized Collection<String> getAvailableVersions(DBRProgressMonitor monitor, String versionSpec) throws IOException {
         if (CommonUtils.isEmpty(versions) && !metadataLoaded) {
             loadMetadata(monitor, null);
         }
@@ -332,7 +342,7 @@ public class MavenArtifact implements IMavenIdentifier
     }
 
     @Nullable
-    public MavenArtifactVersion getVersion(String versionStr) {
+    public synchronized MavenArtifactVersion getVersion(String versionStr) {
         for (MavenArtifactVersion version : localVersions) {
             if (CommonUtils.equalObjects(version.getVersion(), versionStr)) {
                 return version;
@@ -356,7 +366,7 @@ public class MavenArtifact implements IMavenIdentifier
         return version;
     }
 
-    public MavenArtifactVersion resolveVersion(
+    public synchronized MavenArtifactVersion resolveVersion(
         @NotNull DBRProgressMonitor monitor,
         @NotNull String versionRef,
         boolean resolveOptionalDependencies) throws IOException
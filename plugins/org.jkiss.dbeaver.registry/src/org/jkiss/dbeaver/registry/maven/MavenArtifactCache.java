@@ -0,0 +1,307 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.maven;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.connection.DBPAuthInfo;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.registry.driver.DriverDescriptor;
+import org.jkiss.dbeaver.runtime.WebUtils;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Content-addressed cache of files downloaded from remote Maven repositories.
+ * <p>
+ * Files are stored once under their SHA-1 ({@code blobs/ab/abcdef...}) and referenced by
+ * the hash of the source URL ({@code refs/...}). Cache folder is outside of the workspace,
+ * so all workspaces (and all processes) of the same user share it.
+ * If checksum verification is enabled downloaded files are verified against the repository {@code .sha1} checksum
+ * (when it is available).
+ * <p>
+ * In offline mode remote repositories are never contacted: files are served from the cache only,
+ * while {@code file:} repositories remain fully available.
+ */
+public class MavenArtifactCache {
+    private static final Log log = Log.getLog(MavenArtifactCache.class);
+
+    public static final String PROP_CACHE_LOCATION = "dbeaver.maven.cache";
+    public static final String PROP_OFFLINE = "dbeaver.maven.offline";
+    public static final String PROP_VERIFY_CHECKSUM = "dbeaver.maven.verify";
+
+    /**
+     * Max age of mutable files (metadata, snapshots) before they are re-downloaded
+     */
+    public static final long MUTABLE_FILE_TTL = 24 * 60 * 60 * 1000L;
+    public static final long IMMUTABLE_FILE_TTL = Long.MAX_VALUE;
+
+    private static final String CHECKSUM_EXTENSION = ".sha1";
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+
+    private static MavenArtifactCache instance;
+
+    private final Path cacheFolder;
+    private final boolean offline;
+    private final boolean verifyChecksum;
+    private final Map<String, Object> urlLocks = new ConcurrentHashMap<>();
+
+    public static synchronized MavenArtifactCache getInstance() {
+        if (instance == null) {
+            instance = new MavenArtifactCache(
+                getDefaultCacheFolder(),
+                CommonUtils.getBoolean(System.getProperty(PROP_OFFLINE)),
+                CommonUtils.getBoolean(System.getProperty(PROP_VERIFY_CHECKSUM)));
+        }
+        return instance;
+    }
+
+    public MavenArtifactCache(@NotNull Path cacheFolder, boolean offline, boolean verifyChecksum) {
+        this.cacheFolder = cacheFolder;
+        this.offline = offline;
+        this.verifyChecksum = verifyChecksum;
+    }
+
+    @NotNull
+    private static Path getDefaultCacheFolder() {
+        String location = System.getProperty(PROP_CACHE_LOCATION);
+        if (!CommonUtils.isEmpty(location)) {
+            return Path.of(location);
+        }
+        return DriverDescriptor.getCustomDriversHome().resolve("maven/.cache");
+    }
+
+    @NotNull
+    public Path getCacheFolder() {
+        return cacheFolder;
+    }
+
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public boolean isVerifyChecksum() {
+        return verifyChecksum;
+    }
+
+    /**
+     * Returns local file with the contents of the specified URL.
+     * File is downloaded only if it is not in the cache yet or if the cached copy is older than {@code maxAge}.
+     * In offline mode stale cached copies are used as is.
+     *
+     * @return path to a read-only cached file. Callers must copy it if they need to modify it.
+     * @throws InterruptedIOException if download was canceled
+     * @throws IOException if file can't be downloaded, checksum doesn't match
+     *                     or file is not cached in offline mode
+     */
+    @NotNull
+    public Path getFile(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull String url,
+        @Nullable DBPAuthInfo authInfo,
+        long maxAge
+    ) throws IOException {
+        if (isFileURL(url)) {
+            try {
+                return Path.of(GeneralUtils.makeURIFromFilePath(url));
+            } catch (URISyntaxException e) {
+                throw new IOException("Bad file URL '" + url + "'", e);
+            }
+        }
+        Object lock = urlLocks.computeIfAbsent(url, u -> new Object());
+        synchronized (lock) {
+            Path refFile = getRefFile(url);
+            Path blobFile = readRef(refFile);
+            if (blobFile != null && (offline || !isExpired(refFile, maxAge))) {
+                return blobFile;
+            }
+            if (offline) {
+                throw new IOException("Offline mode: '" + url + "' is not present in the local cache");
+            }
+            return download(monitor, url, authInfo, refFile);
+        }
+    }
+
+    /**
+     * Copies cached file to the specified location
+     */
+    public void copyFile(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull String url,
+        @Nullable DBPAuthInfo authInfo,
+        long maxAge,
+        @NotNull Path target
+    ) throws IOException {
+        Path cachedFile = getFile(monitor, url, authInfo, maxAge);
+        Path targetFolder = target.getParent();
+        if (targetFolder != null && !Files.exists(targetFolder)) {
+            Files.createDirectories(targetFolder);
+        }
+        Path tempFile = Files.createTempFile(targetFolder, target.getFileName().toString(), ".tmp");
+        try {
+            Files.copy(cachedFile, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @NotNull
+    private Path download(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull String url,
+        @Nullable DBPAuthInfo authInfo,
+        @NotNull Path refFile
+    ) throws IOException {
+        Path tempFolder = cacheFolder.resolve("tmp");
+        Files.createDirectories(tempFolder);
+        Path tempFile = Files.createTempFile(tempFolder, "download", ".tmp");
+        try {
+            MessageDigest digest = createDigest();
+            try (OutputStream os = new DigestOutputStream(Files.newOutputStream(tempFile), digest)) {
+                WebUtils.downloadRemoteFile(monitor, "Download", url, os, authInfo);
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException("Download of '" + url + "' was canceled");
+            }
+            String checksum = HEX_FORMAT.formatHex(digest.digest());
+            if (verifyChecksum && !url.endsWith(CHECKSUM_EXTENSION)) {
+                String expectedChecksum = readRemoteChecksum(url, authInfo);
+                if (expectedChecksum != null && !expectedChecksum.equals(checksum)) {
+                    throw new IOException("Checksum mismatch for '" + url + "': expected " + expectedChecksum + ", got " + checksum);
+                }
+            }
+
+            Path blobFile = getBlobFile(checksum);
+            if (!Files.exists(blobFile)) {
+                Files.createDirectories(blobFile.getParent());
+                moveAtomically(tempFile, blobFile);
+            }
+            writeRef(refFile, checksum);
+            return blobFile;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Nullable
+    private String readRemoteChecksum(@NotNull String url, @Nullable DBPAuthInfo authInfo) {
+        try (InputStream is = WebUtils.openConnection(url + CHECKSUM_EXTENSION, authInfo, null).getInputStream()) {
+            // Checksum file may contain file name after the hash
+            String text = new String(is.readNBytes(1024), StandardCharsets.US_ASCII).trim();
+            text = text.split("\\s+", 2)[0].toLowerCase(Locale.ENGLISH);
+            if (text.length() != 40) {
+                log.debug("Bad checksum '" + text + "' for '" + url + "'");
+                return null;
+            }
+            return text;
+        } catch (IOException e) {
+            log.debug("No checksum for '" + url + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Nullable
+    private Path readRef(@NotNull Path refFile) {
+        if (!Files.exists(refFile)) {
+            return null;
+        }
+        try {
+            String checksum = Files.readString(refFile, StandardCharsets.US_ASCII).trim();
+            Path blobFile = getBlobFile(checksum);
+            return Files.exists(blobFile) ? blobFile : null;
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("Bad cache reference '" + refFile + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRef(@NotNull Path refFile, @NotNull String checksum) throws IOException {
+        Files.createDirectories(refFile.getParent());
+        Path tempFile = Files.createTempFile(refFile.getParent(), refFile.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(tempFile, checksum, StandardCharsets.US_ASCII);
+            moveAtomically(tempFile, refFile);
+            Files.setLastModifiedTime(refFile, FileTime.fromMillis(System.currentTimeMillis()));
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static boolean isExpired(@NotNull Path refFile, long maxAge) {
+        if (maxAge == IMMUTABLE_FILE_TTL) {
+            return false;
+        }
+        try {
+            return System.currentTimeMillis() - Files.getLastModifiedTime(refFile).toMillis() > maxAge;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    @NotNull
+    private Path getRefFile(@NotNull String url) {
+        String urlHash = HEX_FORMAT.formatHex(createDigest().digest(url.getBytes(StandardCharsets.UTF_8)));
+        return cacheFolder.resolve("refs").resolve(urlHash.substring(0, 2)).resolve(urlHash);
+    }
+
+    @NotNull
+    private Path getBlobFile(@NotNull String checksum) {
+        if (checksum.length() != 40) {
+            throw new IllegalArgumentException("Bad checksum '" + checksum + "'");
+        }
+        return cacheFolder.resolve("blobs").resolve(checksum.substring(0, 2)).resolve(checksum);
+    }
+
+    private static void moveAtomically(@NotNull Path source, @NotNull Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static boolean isFileURL(@NotNull String url) {
+        return url.startsWith("file:");
+    }
+
+    @NotNull
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
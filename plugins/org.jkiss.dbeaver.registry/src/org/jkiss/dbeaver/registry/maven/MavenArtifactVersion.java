@@ -21,11 +21,9 @@ import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.runtime.IVariableResolver;
-import org.jkiss.dbeaver.runtime.WebUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
-import org.jkiss.utils.IOUtils;
 import org.jkiss.utils.StandardConstants;
 import org.jkiss.utils.xml.XMLException;
 import org.jkiss.utils.xml.XMLUtils;
@@ -254,21 +252,20 @@ public class MavenArtifactVersion implements IMavenIdentifier {
         return artifact.getFileURL(version, MavenArtifact.FILE_POM, snapshotVersion);
     }
 
-    private void cachePOM(File localPOM) throws IOException {
+    public boolean isSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    private void cachePOM(DBRProgressMonitor monitor, File localPOM) throws IOException {
         if (artifact.getRepository().getType() == MavenRepository.RepositoryType.LOCAL) {
             return;
         }
-        String pomURL = getRemotePOMLocation();
-        try (InputStream is = WebUtils.openConnection(pomURL, artifact.getRepository().getAuthInfo(), null).getInputStream()) {
-            File folder = localPOM.getParentFile();
-            if (!folder.exists() && !folder.mkdirs()) {
-                throw new IOException("Can't create cache folder '" + folder.getAbsolutePath() + "'");
-            }
-
-            try (OutputStream os = new FileOutputStream(localPOM)) {
-                IOUtils.fastCopy(is, os);
-            }
-        }
+        MavenArtifactCache.getInstance().copyFile(
+            monitor,
+            getRemotePOMLocation(),
+            artifact.getRepository().getAuthInfo(),
+            snapshotVersion ? MavenArtifactCache.MUTABLE_FILE_TTL : MavenArtifactCache.IMMUTABLE_FILE_TTL,
+            localPOM.toPath());
     }
 
     private void loadPOM(DBRProgressMonitor monitor, boolean resolveOptionalDependencies) throws IOException {
@@ -276,7 +273,7 @@ public class MavenArtifactVersion implements IMavenIdentifier {
 
         File localPOM = getLocalPOM();
         if (!localPOM.exists()) {
-            cachePOM(localPOM);
+            cachePOM(monitor, localPOM);
         }
 
 
@@ -39,6 +39,7 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MavenRegistry {
     private static final Log log = Log.getLog(MavenRegistry.class);
@@ -62,7 +63,7 @@ public class MavenRegistry {
     private final List<MavenRepository> repositories = new ArrayList<>();
     private MavenRepository localRepository;
     // Cache for not found artifact ids. Avoid multiple remote metadata reading
-    private final Set<String> notFoundArtifacts = new HashSet<>();
+    private final Set<String> notFoundArtifacts = ConcurrentHashMap.newKeySet();
 
     private static final PasswordEncrypter ENCRYPTOR = new SimpleStringEncrypter();
 
@@ -193,28 +193,37 @@ public class MavenRepository
     }
 
     @Nullable
-    public synchronized MavenArtifactVersion findArtifact(@NotNull DBRProgressMonitor monitor, @NotNull MavenArtifactReference ref) {
+    public MavenArtifactVersion findArtifact(@NotNull DBRProgressMonitor monitor, @NotNull MavenArtifactReference ref) {
+        // Only the cache is guarded by the repository lock. Artifacts are resolved under their own locks,
+        // so different artifacts may be resolved (and downloaded) concurrently.
         boolean newArtifact = false;
-        MavenArtifact artifact = cachedArtifacts.get(ref.getId());
-        if (artifact == null) {
-            artifact = new MavenArtifact(this, ref.getGroupId(), ref.getArtifactId(), ref.getClassifier(), ref.getFallbackVersion());
-            newArtifact = true;
+        MavenArtifact artifact;
+        synchronized (cachedArtifacts) {
+            artifact = cachedArtifacts.get(ref.getId());
+            if (artifact == null) {
+                artifact = new MavenArtifact(this, ref.getGroupId(), ref.getArtifactId(), ref.getClassifier(), ref.getFallbackVersion());
+                cachedArtifacts.put(ref.getId(), artifact);
+                newArtifact = true;
+            }
         }
         try {
-            MavenArtifactVersion version = artifact.resolveVersion(monitor, ref.getVersion(), ref.isResolveOptionalDependencies());
+            return artifact.resolveVersion(monitor, ref.getVersion(), ref.isResolveOptionalDependencies());
+        } catch (IOException e) {
             if (newArtifact) {
-                cachedArtifacts.put(ref.getId(), artifact);
+                synchronized (cachedArtifacts) {
+                    cachedArtifacts.remove(ref.getId(), artifact);
+                }
             }
-            return version;
-        } catch (IOException e) {
             // Generally it is ok. Artifact not present in this repository
             log.debug("Maven artifact '" + ref + "' not found in repository '" + this + "': " + e.getMessage());
             return null;
         }
     }
 
-    synchronized void resetArtifactCache(@NotNull MavenArtifactReference artifactReference) {
-        cachedArtifacts.remove(artifactReference.getId());
+    void resetArtifactCache(@NotNull MavenArtifactReference artifactReference) {
+        synchronized (cachedArtifacts) {
+            cachedArtifacts.remove(artifactReference.getId());
+        }
     }
 
     Path getLocalCacheDir()
@@ -0,0 +1,311 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.task.*;
+
+import java.util.*;
+
+/**
+ * Executes composite task graph.
+ * Independent tasks run in parallel. Task starts when all its dependencies succeeded and
+ * the number of running tasks for each of its data sources is below the limit.
+ * If task fails then all tasks which depend on it are skipped.
+ */
+class CompositeTaskExecutor {
+
+    private static final long WAIT_TIMEOUT = 200;
+
+    enum NodeState {
+        PENDING,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        SKIPPED
+    }
+
+    private static class NodeRun {
+        @NotNull
+        private final CompositeTaskSettings.TaskNode node;
+        @NotNull
+        private final Collection<DBPDataSourceContainer> dataSources;
+        private NodeState state = NodeState.PENDING;
+        private long startTime;
+        private long endTime;
+        private Throwable error;
+        private AbstractJob job;
+
+        NodeRun(@NotNull CompositeTaskSettings.TaskNode node, @NotNull Collection<DBPDataSourceContainer> dataSources) {
+            this.node = node;
+            this.dataSources = dataSources;
+        }
+
+        long getDuration() {
+            return endTime - startTime;
+        }
+    }
+
+    private final CompositeTaskSettings settings;
+    private final DBTTaskExecutionListener listener;
+    private final Log log;
+    // Runs in topological order
+    private final Map<CompositeTaskSettings.TaskNode, NodeRun> runs = new LinkedHashMap<>();
+    private final Map<DBPDataSourceContainer, Integer> activeDataSources = new HashMap<>();
+    private int runningCount;
+    private int finishedCount;
+    private boolean canceled;
+
+    private List<CompositeTaskSettings.TaskNode> criticalPath = List.of();
+    private long criticalPathDuration;
+
+    CompositeTaskExecutor(@NotNull CompositeTaskSettings settings, @NotNull DBTTaskExecutionListener listener, @NotNull Log log) {
+        this.settings = settings;
+        this.listener = listener;
+        this.log = log;
+        for (CompositeTaskSettings.TaskNode node : settings.getNodes()) {
+            runs.put(node, new NodeRun(node, collectDataSources(node.getTask())));
+        }
+    }
+
+    void execute(@NotNull DBRProgressMonitor monitor) {
+        monitor.beginTask("Execute tasks", runs.size());
+        int reportedCount = 0;
+        synchronized (this) {
+            while (true) {
+                if (monitor.isCanceled()) {
+                    cancelRunningTasks();
+                } else {
+                    startReadyTasks();
+                }
+                if (finishedCount > reportedCount) {
+                    monitor.worked(finishedCount - reportedCount);
+                    reportedCount = finishedCount;
+                }
+                if (runningCount == 0) {
+                    break;
+                }
+                try {
+                    wait(WAIT_TIMEOUT);
+                } catch (InterruptedException e) {
+                    cancelRunningTasks();
+                }
+            }
+            for (NodeRun run : runs.values()) {
+                if (run.state == NodeState.PENDING) {
+                    run.state = NodeState.SKIPPED;
+                }
+            }
+        }
+        computeCriticalPath();
+        monitor.done();
+    }
+
+    @Nullable
+    Throwable getFirstError() {
+        for (NodeRun run : runs.values()) {
+            if (run.error != null) {
+                return run.error;
+            }
+        }
+        return null;
+    }
+
+    int getTaskCount(@NotNull NodeState state) {
+        int count = 0;
+        for (NodeRun run : runs.values()) {
+            if (run.state == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @NotNull
+    List<String> getCriticalPath() {
+        List<String> names = new ArrayList<>(criticalPath.size());
+        for (CompositeTaskSettings.TaskNode node : criticalPath) {
+            names.add(node.getTask().getName());
+        }
+        return names;
+    }
+
+    long getCriticalPathDuration() {
+        return criticalPathDuration;
+    }
+
+    private void startReadyTasks() {
+        for (NodeRun run : runs.values()) {
+            if (run.state != NodeState.PENDING) {
+                continue;
+            }
+            boolean ready = true;
+            for (CompositeTaskSettings.TaskNode dependency : run.node.getDependencies()) {
+                NodeState dependencyState = runs.get(dependency).state;
+                if (dependencyState == NodeState.FAILED || dependencyState == NodeState.SKIPPED) {
+                    log.debug("Skip task '" + run.node.getTask().getName() + "' because task '" + dependency.getTask().getName() + "' was not completed");
+                    run.state = NodeState.SKIPPED;
+                    finishedCount++;
+                    ready = false;
+                    break;
+                } else if (dependencyState != NodeState.SUCCEEDED) {
+                    ready = false;
+                }
+            }
+            if (ready && runningCount < settings.getMaxParallelTasks() && isDataSourcesAvailable(run)) {
+                startTask(run);
+            }
+        }
+    }
+
+    private boolean isDataSourcesAvailable(@NotNull NodeRun run) {
+        for (DBPDataSourceContainer dataSource : run.dataSources) {
+            if (activeDataSources.getOrDefault(dataSource, 0) >= settings.getMaxTasksPerDataSource()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void startTask(@NotNull NodeRun run) {
+        DBTTask task = run.node.getTask();
+        log.debug("Start task '" + task.getName() + "'");
+        run.state = NodeState.RUNNING;
+        run.startTime = System.currentTimeMillis();
+        runningCount++;
+        for (DBPDataSourceContainer dataSource : run.dataSources) {
+            activeDataSources.merge(dataSource, 1, Integer::sum);
+        }
+        run.job = new AbstractJob("Task '" + task.getName() + "'") {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                Throwable error = runTask(monitor, task);
+                if (error == null && monitor.isCanceled()) {
+                    error = new InterruptedException("Task canceled");
+                }
+                taskFinished(run, error);
+                return Status.OK_STATUS;
+            }
+        };
+        run.job.schedule();
+    }
+
+    @Nullable
+    private Throwable runTask(@NotNull DBRProgressMonitor monitor, @NotNull DBTTask task) {
+        Throwable[] taskError = new Throwable[1];
+        DBTTaskExecutionListener taskListener = new DBTTaskExecutionListener() {
+            @Override
+            public void taskStarted(@Nullable DBTTask task) {
+            }
+
+            @Override
+            public void taskFinished(@Nullable DBTTask task, @Nullable Object result, @Nullable Throwable error, @Nullable Object settings) {
+                taskError[0] = error;
+                listener.subTaskFinished(task, error, settings);
+            }
+
+            @Override
+            public void subTaskFinished(@Nullable DBTTask task, @Nullable Throwable error, @Nullable Object settings) {
+            }
+        };
+        try {
+            DBTTaskManager taskManager = task.getProject().getTaskManager();
+            if (taskManager instanceof TaskManagerImpl taskManagerImpl && task instanceof TaskImpl taskImpl) {
+                TaskRunJob runJob = taskManagerImpl.runTaskDirectly(monitor, taskImpl, taskListener);
+                if (runJob.getTaskError() != null) {
+                    return runJob.getTaskError();
+                }
+            } else {
+                taskManager.runTask(monitor, task, taskListener);
+            }
+        } catch (DBException e) {
+            return e;
+        }
+        return taskError[0];
+    }
+
+    private synchronized void taskFinished(@NotNull NodeRun run, @Nullable Throwable error) {
+        run.endTime = System.currentTimeMillis();
+        run.error = error;
+        run.state = error == null ? NodeState.SUCCEEDED : NodeState.FAILED;
+        run.job = null;
+        runningCount--;
+        finishedCount++;
+        for (DBPDataSourceContainer dataSource : run.dataSources) {
+            activeDataSources.merge(dataSource, -1, Integer::sum);
+        }
+        if (error == null) {
+            log.debug("Task '" + run.node.getTask().getName() + "' completed in " + run.getDuration() + "ms");
+        } else {
+            log.error("Task '" + run.node.getTask().getName() + "' failed", error);
+        }
+        notifyAll();
+    }
+
+    private void cancelRunningTasks() {
+        if (canceled) {
+            return;
+        }
+        canceled = true;
+        for (NodeRun run : runs.values()) {
+            if (run.state == NodeState.RUNNING && run.job != null) {
+                run.job.cancel();
+            }
+        }
+    }
+
+    /**
+     * Finds the chain of dependent executed tasks with the biggest sum of durations.
+     * Time spent waiting for free slots is not included.
+     */
+    private void computeCriticalPath() {
+        Map<CompositeTaskSettings.TaskNode, Long> durations = new HashMap<>();
+        for (NodeRun run : runs.values()) {
+            if (run.startTime != 0) {
+                durations.put(run.node, run.getDuration());
+            }
+        }
+        criticalPath = CompositeTaskSettings.findCriticalPath(settings.getNodes(), durations);
+        criticalPathDuration = 0;
+        for (CompositeTaskSettings.TaskNode node : criticalPath) {
+            criticalPathDuration += durations.get(node);
+        }
+    }
+
+    @NotNull
+    private Collection<DBPDataSourceContainer> collectDataSources(@NotNull DBTTask task) {
+        DBTTaskInfoCollector.TaskInformation information = new DBTTaskInfoCollector.TaskInformation();
+        try {
+            DBTTaskHandler taskHandler = task.getType().createHandler();
+            if (taskHandler instanceof DBTTaskInfoCollector infoCollector) {
+                infoCollector.collectTaskInfo(task, information);
+            }
+        } catch (Exception e) {
+            log.debug("Error reading data sources of task '" + task.getName() + "'", e);
+        }
+        return information.getDataSources();
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
+import org.jkiss.dbeaver.model.task.*;
+
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Composite task handler. Runs graph of existing tasks.
+ */
+public class CompositeTaskHandler implements DBTTaskHandler, DBTTaskInfoCollector {
+
+    public static final String TASK_TYPE_ID = "compositeTask";
+
+    private static final Log log = Log.getLog(CompositeTaskHandler.class);
+
+    @NotNull
+    @Override
+    public DBTTaskRunStatus executeTask(
+        @NotNull DBRRunnableContext runnableContext,
+        @NotNull DBTTask task,
+        @NotNull Locale locale,
+        @NotNull Log log,
+        @NotNull PrintStream logStream,
+        @NotNull DBTTaskExecutionListener listener
+    ) throws DBException {
+        CompositeTaskSettings settings = new CompositeTaskSettings();
+        settings.loadConfiguration(task);
+        log.debug("Execute " + settings.getNodes().size() + " tasks (max parallel tasks: " + settings.getMaxParallelTasks() +
+            ", max tasks per data source: " + settings.getMaxTasksPerDataSource() + ")");
+
+        CompositeTaskExecutor executor = new CompositeTaskExecutor(settings, listener, log);
+        listener.taskStarted(task);
+        Throwable error = null;
+        try {
+            runnableContext.run(true, true, executor::execute);
+        } catch (InvocationTargetException e) {
+            error = e.getTargetException();
+        } catch (InterruptedException e) {
+            log.debug("Task canceled");
+        }
+        if (error == null) {
+            error = executor.getFirstError();
+        }
+
+        String summary = "tasks: " +
+            executor.getTaskCount(CompositeTaskExecutor.NodeState.SUCCEEDED) + " succeeded, " +
+            executor.getTaskCount(CompositeTaskExecutor.NodeState.FAILED) + " failed, " +
+            executor.getTaskCount(CompositeTaskExecutor.NodeState.SKIPPED) + " skipped";
+        List<String> criticalPath = executor.getCriticalPath();
+        log.debug("Composite task finished, " + summary);
+        if (!criticalPath.isEmpty()) {
+            log.debug("Critical path (" + executor.getCriticalPathDuration() + "ms): " + String.join(" -> ", criticalPath));
+        }
+        listener.taskFinished(task, null, error, settings);
+
+        DBTTaskRunStatus runStatus = new DBTTaskRunStatus();
+        runStatus.setResultMessage(summary);
+        if (!criticalPath.isEmpty()) {
+            runStatus.setCriticalPath(criticalPath, executor.getCriticalPathDuration());
+        }
+        return runStatus;
+    }
+
+    @Override
+    public void collectTaskInfo(@NotNull DBTTask task, @NotNull TaskInformation information) {
+        CompositeTaskSettings settings = new CompositeTaskSettings();
+        try {
+            settings.loadConfiguration(task);
+        } catch (DBException e) {
+            log.debug("Error reading composite task configuration", e);
+            return;
+        }
+        for (CompositeTaskSettings.TaskNode node : settings.getNodes()) {
+            DBTTask subTask = node.getTask();
+            if (TASK_TYPE_ID.equals(subTask.getType().getId())) {
+                // Do not go into nested composite tasks, they may refer to each other
+                continue;
+            }
+            try {
+                DBTTaskHandler taskHandler = subTask.getType().createHandler();
+                if (taskHandler instanceof DBTTaskInfoCollector infoCollector) {
+                    infoCollector.collectTaskInfo(subTask, information);
+                }
+            } catch (DBException e) {
+                log.debug("Error creating handler of task '" + subTask.getName() + "'", e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.data.json.JSONUtils;
+import org.jkiss.dbeaver.model.task.DBTTask;
+import org.jkiss.dbeaver.model.task.DBTTaskManager;
+import org.jkiss.dbeaver.model.task.DBTTaskSettings;
+
+import java.util.*;
+
+/**
+ * Composite task settings: graph of existing tasks with dependencies.
+ *
+ * Configuration format:
+ * <pre>
+ * "tasks": [ { "id": "task1" }, { "id": "task2", "dependsOn": [ "task1" ] } ],
+ * "maxParallelTasks": 4,
+ * "maxTasksPerDataSource": 1
+ * </pre>
+ */
+public class CompositeTaskSettings implements DBTTaskSettings<DBTTask> {
+
+    public static final int DEFAULT_MAX_PARALLEL_TASKS = 4;
+    public static final int DEFAULT_MAX_TASKS_PER_DATA_SOURCE = 1;
+
+    public static class TaskNode {
+        @NotNull
+        private final DBTTask task;
+        @NotNull
+        private final List<TaskNode> dependencies = new ArrayList<>();
+
+        TaskNode(@NotNull DBTTask task) {
+            this.task = task;
+        }
+
+        @NotNull
+        public DBTTask getTask() {
+            return task;
+        }
+
+        @NotNull
+        public List<TaskNode> getDependencies() {
+            return dependencies;
+        }
+
+        @Override
+        public String toString() {
+            return task.getName();
+        }
+    }
+
+    // Nodes in topological order
+    private final List<TaskNode> nodes = new ArrayList<>();
+    private int maxParallelTasks = DEFAULT_MAX_PARALLEL_TASKS;
+    private int maxTasksPerDataSource = DEFAULT_MAX_TASKS_PER_DATA_SOURCE;
+
+    /**
+     * Task nodes. Each node follows all its dependencies.
+     */
+    @NotNull
+    public List<TaskNode> getNodes() {
+        return nodes;
+    }
+
+    public int getMaxParallelTasks() {
+        return maxParallelTasks;
+    }
+
+    /**
+     * Max number of tasks which work with the same data source simultaneously
+     */
+    public int getMaxTasksPerDataSource() {
+        return maxTasksPerDataSource;
+    }
+
+    public void loadConfiguration(@NotNull DBTTask task) throws DBException {
+        Map<String, Object> config = task.getProperties();
+        maxParallelTasks = Math.max(1, JSONUtils.getInteger(config, "maxParallelTasks", DEFAULT_MAX_PARALLEL_TASKS));
+        maxTasksPerDataSource = Math.max(1, JSONUtils.getInteger(config, "maxTasksPerDataSource", DEFAULT_MAX_TASKS_PER_DATA_SOURCE));
+
+        DBTTaskManager taskManager = task.getProject().getTaskManager();
+        Map<String, TaskNode> nodeMap = new LinkedHashMap<>();
+        Map<String, List<String>> dependencyMap = new HashMap<>();
+        for (Map<String, Object> nodeConfig : JSONUtils.getObjectList(config, "tasks")) {
+            String taskId = JSONUtils.getString(nodeConfig, "id");
+            if (taskId == null) {
+                throw new DBException("Task id is not specified in composite task '" + task.getName() + "'");
+            }
+            DBTTask subTask = taskManager.getTaskById(taskId);
+            if (subTask == null) {
+                throw new DBException("Task '" + taskId + "' not found");
+            }
+            if (nodeMap.put(taskId, new TaskNode(subTask)) != null) {
+                throw new DBException("Task '" + subTask.getName() + "' is specified more than once");
+            }
+            dependencyMap.put(taskId, JSONUtils.deserializeStringList(nodeConfig, "dependsOn"));
+        }
+        for (Map.Entry<String, TaskNode> entry : nodeMap.entrySet()) {
+            for (String dependencyId : dependencyMap.get(entry.getKey())) {
+                TaskNode dependency = nodeMap.get(dependencyId);
+                if (dependency == null) {
+                    throw new DBException("Task '" + entry.getValue().getTask().getName() +
+                        "' depends on task '" + dependencyId + "' which is not part of the composite task");
+                }
+                entry.getValue().dependencies.add(dependency);
+            }
+        }
+        List<DBTTask> includePath = new ArrayList<>();
+        includePath.add(task);
+        checkIncludedTasks(taskManager, task, includePath, new HashSet<>());
+
+        nodes.clear();
+        nodes.addAll(sortNodes(nodeMap.values()));
+    }
+
+    /**
+     * Finds the chain of dependent tasks with the biggest sum of durations.
+     *
+     * @param nodes     nodes in topological order (see {@link #getNodes()})
+     * @param durations durations of executed tasks. Tasks without duration are not part of any chain.
+     * @return tasks of the critical path, starting from the first one
+     */
+    @NotNull
+    public static List<TaskNode> findCriticalPath(@NotNull List<TaskNode> nodes, @NotNull Map<TaskNode, Long> durations) {
+        Map<TaskNode, Long> pathDurations = new HashMap<>();
+        Map<TaskNode, TaskNode> pathPredecessors = new HashMap<>();
+        TaskNode lastNode = null;
+        for (TaskNode node : nodes) {
+            Long duration = durations.get(node);
+            if (duration == null) {
+                continue;
+            }
+            long maxDependencyDuration = 0;
+            TaskNode predecessor = null;
+            for (TaskNode dependency : node.dependencies) {
+                Long dependencyDuration = pathDurations.get(dependency);
+                if (dependencyDuration != null && (predecessor == null || dependencyDuration > maxDependencyDuration)) {
+                    maxDependencyDuration = dependencyDuration;
+                    predecessor = dependency;
+                }
+            }
+            long pathDuration = maxDependencyDuration + duration;
+            pathDurations.put(node, pathDuration);
+            pathPredecessors.put(node, predecessor);
+            if (lastNode == null || pathDuration > pathDurations.get(lastNode)) {
+                lastNode = node;
+            }
+        }
+        LinkedList<TaskNode> path = new LinkedList<>();
+        for (TaskNode node = lastNode; node != null; node = pathPredecessors.get(node)) {
+            path.addFirst(node);
+        }
+        return path;
+    }
+
+    /**
+     * Walks through nested composite tasks and fails if some composite task includes itself,
+     * directly or through other composite tasks. Each composite task is checked only once.
+     */
+    private static void checkIncludedTasks(
+        @NotNull DBTTaskManager taskManager,
+        @NotNull DBTTask compositeTask,
+        @NotNull List<DBTTask> includePath,
+        @NotNull Set<String> visited
+    ) throws DBException {
+        for (Map<String, Object> nodeConfig : JSONUtils.getObjectList(compositeTask.getProperties(), "tasks")) {
+            String taskId = JSONUtils.getString(nodeConfig, "id");
+            for (int i = 0; i < includePath.size(); i++) {
+                if (includePath.get(i).getId().equals(taskId)) {
+                    StringBuilder cycle = new StringBuilder();
+                    for (DBTTask pathTask : includePath.subList(i, includePath.size())) {
+                        cycle.append("'").append(pathTask.getName()).append("' -> ");
+                    }
+                    cycle.append("'").append(includePath.get(i).getName()).append("'");
+                    throw new DBException("Composite task includes itself: " + cycle);
+                }
+            }
+            DBTTask subTask = taskId == null ? null : taskManager.getTaskById(taskId);
+            if (subTask == null || !CompositeTaskHandler.TASK_TYPE_ID.equals(subTask.getType().getId()) || !visited.add(taskId)) {
+                continue;
+            }
+            includePath.add(subTask);
+            checkIncludedTasks(taskManager, subTask, includePath, visited);
+            includePath.remove(includePath.size() - 1);
+        }
+    }
+
+    /**
+     * Topological sort. Fails if the graph contains cycles.
+     */
+    @NotNull
+    private static List<TaskNode> sortNodes(@NotNull Collection<TaskNode> nodes) throws DBException {
+        List<TaskNode> result = new ArrayList<>(nodes.size());
+        Set<TaskNode> visited = new HashSet<>();
+        Set<TaskNode> inProgress = new LinkedHashSet<>();
+        for (TaskNode node : nodes) {
+            visitNode(node, visited, inProgress, result);
+        }
+        return result;
+    }
+
+    private static void visitNode(
+        @NotNull TaskNode node,
+        @NotNull Set<TaskNode> visited,
+        @NotNull Set<TaskNode> inProgress,
+        @NotNull List<TaskNode> result
+    ) throws DBException {
+        if (visited.contains(node)) {
+            return;
+        }
+        if (!inProgress.add(node)) {
+            throw new DBException("Cyclic dependency between tasks: " + inProgress);
+        }
+        for (TaskNode dependency : node.dependencies) {
+            visitNode(dependency, visited, inProgress, result);
+        }
+        inProgress.remove(node);
+        visited.add(node);
+        result.add(node);
+    }
+
+}
@@ -311,7 +311,16 @@ public class TaskManagerImpl implements DBTTaskManager {
     @NotNull
     @Override
     public DBTTaskRunStatus runTask(@NotNull DBRProgressMonitor monitor, @NotNull DBTTask task, @NotNull DBTTaskExecutionListener listener) throws DBException {
-        final TaskRunJob job = createJob((TaskImpl) task, listener);
+        return runTaskDirectly(monitor, (TaskImpl) task, listener).getTaskRunStatus();
+    }
+
+    /**
+     * Runs task in the current thread.
+     * Returns finished job, so caller may check the task error.
+     */
+    @NotNull
+    TaskRunJob runTaskDirectly(@NotNull DBRProgressMonitor monitor, @NotNull TaskImpl task, @NotNull DBTTaskExecutionListener listener) throws DBException {
+        final TaskRunJob job = createJob(task, listener);
         if (serviceJob == null) {
             serviceJob = new ServiceJob();
             serviceJob.schedule();
@@ -328,7 +337,7 @@ public class TaskManagerImpl implements DBTTaskManager {
             }
         }
         runningTasks.remove(job);
-        return job.getTaskRunStatus();
+        return job;
     }
 
     @NotNull
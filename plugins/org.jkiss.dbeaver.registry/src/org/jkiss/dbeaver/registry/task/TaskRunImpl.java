@@ -22,6 +22,7 @@ import org.jkiss.dbeaver.model.task.DBTTaskRun;
 import org.jkiss.utils.CommonUtils;
 
 import java.util.Date;
+import java.util.List;
 
 /**
  * TaskRunImpl
@@ -35,6 +36,9 @@ public class TaskRunImpl implements DBTTaskRun {
     private String errorMessage;
     private String errorStackTrace;
     private String extraMessage;
+    // Composite tasks only: names of tasks on the longest dependency chain and its total duration
+    private List<String> criticalPath;
+    private long criticalPathDuration;
 
     protected TaskRunImpl(
         @NotNull String id,
@@ -124,6 +128,27 @@ public class TaskRunImpl implements DBTTaskRun {
         extraMessage = message;
     }
 
+    /**
+     * Tasks on the critical path of a composite task run.
+     * Critical path is the chain of dependent tasks with the biggest total duration.
+     */
+    @Nullable
+    public List<String> getCriticalPath() {
+        return criticalPath;
+    }
+
+    /**
+     * Sum of durations of tasks on the critical path (ms)
+     */
+    public long getCriticalPathDuration() {
+        return criticalPathDuration;
+    }
+
+    public void setCriticalPath(@Nullable List<String> criticalPath, long criticalPathDuration) {
+        this.criticalPath = criticalPath;
+        this.criticalPathDuration = criticalPathDuration;
+    }
+
     @Override
     public String toString() {
         return id + "; " + startUser + "; " + startedBy + "; " + (isRunSuccess() ? "Success" : CommonUtils.notEmpty(errorMessage));
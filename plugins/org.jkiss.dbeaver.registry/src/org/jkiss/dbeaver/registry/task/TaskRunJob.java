@@ -103,6 +103,9 @@ public class TaskRunJob extends AbstractJob implements DBRRunnableContext {
             try {
                 taskRunStatus = executeTask(new TaskLoggingProgressMonitor(monitor, task), logStream);
                 taskRun.setExtraMessage(taskRunStatus.getResultMessage());
+                if (taskRunStatus.getCriticalPath() != null) {
+                    taskRun.setCriticalPath(taskRunStatus.getCriticalPath(), taskRunStatus.getCriticalPathDuration());
+                }
             } catch (Throwable e) {
                 taskError = e;
                 taskLog.error("Task fatal error", e);
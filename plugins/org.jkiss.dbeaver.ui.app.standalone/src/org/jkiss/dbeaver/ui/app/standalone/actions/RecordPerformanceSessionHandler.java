@@ -0,0 +1,80 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.app.standalone.actions;
+
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.ui.commands.IElementUpdater;
+import org.eclipse.ui.menus.UIElement;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.runtime.jfr.JFRRecorder;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.ui.ActionUtils;
+import org.jkiss.dbeaver.ui.ShellUtils;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.app.standalone.internal.CoreApplicationMessages;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Starts or stops performance session recording.
+ * Recording is saved in a flight recorder file which can be attached to a support ticket.
+ */
+public class RecordPerformanceSessionHandler extends AbstractHandler implements IElementUpdater {
+    private static final Log log = Log.getLog(RecordPerformanceSessionHandler.class);
+
+    public static final String CMD_RECORD_PERFORMANCE_SESSION = "org.jkiss.dbeaver.core.util.recordPerformanceSession";
+
+    private static final String PERFORMANCE_FOLDER = "performance";
+
+    @Nullable
+    @Override
+    public Object execute(ExecutionEvent event) throws ExecutionException {
+        try {
+            if (!JFRRecorder.isRecording()) {
+                JFRRecorder.startRecording();
+            } else {
+                Path outputFile = GeneralUtils.getMetadataFolder()
+                    .resolve(PERFORMANCE_FOLDER)
+                    .resolve("dbeaver-performance-%d.jfr".formatted(System.currentTimeMillis()));
+                JFRRecorder.stopRecording(outputFile);
+                UIUtils.asyncExec(() -> ShellUtils.showInSystemExplorer(outputFile.toFile()));
+            }
+        } catch (DBException e) {
+            log.debug(e);
+            DBWorkbench.getPlatformUI().showError(
+                CoreApplicationMessages.record_performance_session_error_title,
+                CoreApplicationMessages.record_performance_session_error_message,
+                e);
+        }
+        ActionUtils.fireCommandRefresh(CMD_RECORD_PERFORMANCE_SESSION);
+        return null;
+    }
+
+    @Override
+    public void updateElement(UIElement element, Map parameters) {
+        element.setText(JFRRecorder.isRecording() ?
+            CoreApplicationMessages.record_performance_session_stop :
+            CoreApplicationMessages.record_performance_session_start);
+    }
+
+}
@@ -52,6 +52,11 @@ public class CoreApplicationMessages extends NLS {
     public static String collect_diagnostic_info_error_message_text;
     public static String collect_diagnostic_info_error_message_hint;
 
+    public static String record_performance_session_start;
+    public static String record_performance_session_stop;
+    public static String record_performance_session_error_title;
+    public static String record_performance_session_error_message;
+
     static {
 		// initialize resource bundle
 		NLS.initializeMessages(BUNDLE_NAME, CoreApplicationMessages.class);
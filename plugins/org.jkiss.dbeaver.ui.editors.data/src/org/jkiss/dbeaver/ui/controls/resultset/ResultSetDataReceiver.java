@@ -26,6 +26,7 @@ import org.jkiss.dbeaver.model.data.DBDDataReceiverInteractive;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.data.DBDValueError;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.jfr.JFROperation;
 import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
@@ -179,27 +180,37 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
         // Push data into viewer
         DBRProgressMonitor monitor = session.getProgressMonitor();
         monitor.beginTask("Populate data", 1);
-        if (!nextSegmentRead) {
-            monitor.subTask("Set data");
-            resultSetViewer.setData(tmpRows, focusRow);
-        } else {
-            monitor.subTask("Append data");
-            boolean resetOldRows = getDataContainer().getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING);
-            resultSetViewer.appendData(tmpRows, resetOldRows);
+        try (JFROperation modelOperation = JFROperation.begin(
+            JFROperation.Kind.UI_MODEL_UPDATE, session.getDataSource(), nextSegmentRead ? "Append data" : "Set data", null))
+        {
+            modelOperation.setCount(tmpRows.size());
+            if (!nextSegmentRead) {
+                monitor.subTask("Set data");
+                resultSetViewer.setData(tmpRows, focusRow);
+            } else {
+                monitor.subTask("Append data");
+                boolean resetOldRows = getDataContainer().getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING);
+                resultSetViewer.appendData(tmpRows, resetOldRows);
+            }
         }
         // Check for more data
         hasMoreData = maxRows > 0 && tmpRows.size() >= maxRows;
         monitor.done();
 
         UIUtils.syncExec(() -> {
-            // Push data into viewer
-            if (!nextSegmentRead) {
-                boolean metadataChanged = resultSetViewer.getModel().isMetadataChanged();
-                resultSetViewer.updatePresentation(resultSet, metadataChanged);
-                resultSetViewer.getActivePresentation().refreshData(true, false, !metadataChanged);
-                resultSetViewer.updateStatusMessage();
-            } else {
-                resultSetViewer.getActivePresentation().refreshData(false, true, true);
+            try (JFROperation refreshOperation = JFROperation.begin(
+                JFROperation.Kind.UI_MODEL_UPDATE, session.getDataSource(), "Refresh presentation", null))
+            {
+                refreshOperation.setCount(tmpRows.size());
+                // Push data into viewer
+                if (!nextSegmentRead) {
+                    boolean metadataChanged = resultSetViewer.getModel().isMetadataChanged();
+                    resultSetViewer.updatePresentation(resultSet, metadataChanged);
+                    resultSetViewer.getActivePresentation().refreshData(true, false, !metadataChanged);
+                    resultSetViewer.updateStatusMessage();
+                } else {
+                    resultSetViewer.getActivePresentation().refreshData(false, true, true);
+                }
             }
         });
     }
@@ -688,6 +688,8 @@ class ResultSetPersister {
                 ResultSetPersister.this.deleteStatements.size() + ResultSetPersister.this.insertStatements.size() + ResultSetPersister.this.updateStatements.size() + 1);
 
             try (DBCSession session = getExecutionContext().openSession(monitor, DBCExecutionPurpose.USER, ResultSetMessages.controls_resultset_viewer_job_update)) {
+                // Row updates of the same table produce the same DML
+                session.enableStatementCache(true);
 
                 if (!generateScript) {
                     IResultSetContainer container = viewer.getContainer();
@@ -1006,6 +1008,7 @@ class ResultSetPersister {
                     return Status.OK_STATUS;
                 }
                 try (DBCSession session = getExecutionContext().openSession(monitor, DBCExecutionPurpose.UTIL, "Refresh row(s) after insert/update")) {
+                    session.enableStatementCache(true);
                     for (int i = 0; i < rows.size(); i++) {
                         ResultSetRow row = rows.get(i);
                         List<DBDAttributeConstraint> constraints = new ArrayList<>();
@@ -26,6 +26,9 @@ import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 
 
@@ -33,6 +36,8 @@ import java.util.*;
  * A binary content provider. Content backed by files has no effect on memory footprint. Content
  * backed by memory buffers is limited by amount of memory. Notifies ModifyListeners when it has been
  * modified.
+ * Content is kept as a piece table: sorted ranges pointing either to the original (memory mapped) files
+ * or to buffers with inserted data. Edits split and shift ranges, backing data is never modified.
  * Keeps track of the positions where changes have been done. Files that back this content must not be
  * modified while the content is still in use.
  *
@@ -82,7 +87,8 @@ public class BinaryContent {
             this(aPosition, aFile.length());
             if (length < 0L) throw new IOException("File error");
 
-            data = new RandomAccessFile(aFile, "r");
+            data = new MappedFileData(aFile);
+            length = ((MappedFileData) data).length();
             dirty = isDirty;
         }
 
@@ -137,11 +143,12 @@ public class BinaryContent {
     private long changesPosition = -1L;
     private TreeSet<Range> ranges = new TreeSet<>();
     private Iterator<Range> tailTree = null;
+    private final Set<File> backingFiles = new HashSet<>();
 
     /**
      * Create new empty content.
      */
-    BinaryContent()
+    public BinaryContent()
     {
     }
 
@@ -159,6 +166,7 @@ public class BinaryContent {
             return;
 
         ranges.add(new Range(0L, aFile, false));
+        backingFiles.add(aFile.getAbsoluteFile());
     }
 
 
@@ -399,18 +407,11 @@ public class BinaryContent {
                 src.limit(src.position() + Math.min(dst.remaining(), maxCopyLength));
             }
             dst.put(src);
-        } else if (sourceRange.data instanceof RandomAccessFile) {
-            RandomAccessFile src = (RandomAccessFile) sourceRange.data;
+        } else if (sourceRange.data instanceof MappedFileData) {
+            MappedFileData src = (MappedFileData) sourceRange.data;
             long start = sourceRange.dataOffset + overlapBytes;
             int length = (int) Math.min(sourceRange.length - overlapBytes, maxCopyLength);
-            int limit = -1;
-            if (dst.remaining() > length) {
-                limit = dst.limit();
-                dst.limit(dst.position() + length);
-            }
-            src.getChannel().read(dst, start);
-            if (limit > 0)
-                dst.limit(limit);
+            src.read(dst, start, length);
         }
 
         return dst.position() - dstInitialPosition;
@@ -553,6 +554,28 @@ public class BinaryContent {
             actions.endAction();
         commitChanges();
 
+        if (backingFiles.contains(destinationFile.getAbsoluteFile())) {
+            // Destination is mapped by this content (or its undo history), it can't be rewritten in place.
+            // Write a sibling file and replace destination with it, mappings keep referring to the old data.
+            Path tempFile = Files.createTempFile(
+                destinationFile.getAbsoluteFile().getParentFile().toPath(), destinationFile.getName(), ".tmp");
+            try {
+                writeToFile(tempFile.toFile(), start, length);
+                Files.move(tempFile, destinationFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            return length;
+        }
+        writeToFile(destinationFile, start, length);
+
+        return length;
+    }
+
+
+    private void writeToFile(File destinationFile, long start, long length)
+        throws IOException
+    {
         RandomAccessFile dst = new RandomAccessFile(destinationFile, "rws");
         try {
             dst.setLength(length);
@@ -592,8 +615,6 @@ public class BinaryContent {
         finally {
             ContentUtils.close(dst);
         }
-
-        return length;
     }
 
 
@@ -612,10 +633,9 @@ public class BinaryContent {
                 data.limit(data.capacity());
                 data.position((int) range.dataOffset);
                 result = data.get((int) (position - range.position)) & 0x0ff;
-            } else if (value instanceof RandomAccessFile) {
-                RandomAccessFile randomFile = (RandomAccessFile) value;
-                randomFile.seek(position);
-                result = randomFile.read();
+            } else if (value instanceof MappedFileData) {
+                MappedFileData fileData = (MappedFileData) value;
+                result = Math.max(fileData.get(range.dataOffset + position - range.position), 0);
             }
         }
 
@@ -706,6 +726,7 @@ public class BinaryContent {
         if (fileLength < 1L || position > length()) return;
 
         Range newRange = new Range(position, aFile, true);
+        backingFiles.add(aFile.getAbsoluteFile());
         dirty = true;
         lastUpperNibblePosition = -1L;
         if (actions != null)
@@ -872,8 +893,10 @@ public class BinaryContent {
     public void overwrite(File aFile, long position)
         throws IOException
     {
-        if (aFile.length() > 0L && position < length())
+        if (aFile.length() > 0L && position < length()) {
             overwriteInternal(new Range(position, aFile, true));
+            backingFiles.add(aFile.getAbsoluteFile());
+        }
     }
 
 
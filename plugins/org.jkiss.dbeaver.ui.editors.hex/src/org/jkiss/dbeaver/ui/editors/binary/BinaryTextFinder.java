@@ -19,38 +19,42 @@ package org.jkiss.dbeaver.ui.editors.binary;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 
 
 /**
  * Find helper class to find binary and string literals in files.
  * Given a literal, finds its position in the file. It is possible to get subsequent finds.
- * The search is either binary or text based. Text based search uses standard java unicode (all of big
- * and little endian, odd and even address) plus ascii when the literal falls within ascii char limits.
+ * The search is either binary or text based. Text based search looks for the literal encoded in
+ * ISO-8859-1 (when the literal falls within its limits), UTF-8, editor charset and both UTF-16 byte orders
+ * at any address.
+ * Content is read in big chunks and each encoded literal is searched with Boyer-Moore-Horspool skip table,
+ * so most of content bytes are never compared.
  *
  * @author Jordi
  */
 public class BinaryTextFinder {
 
 
-    public static final int MAP_SIZE = 64 * 1024;
-    public static final int MAX_SEQUENCE_SIZE = 2 * 1024;  // a search string of 2K should be enough
+    public static final int MAP_SIZE = 1024 * 1024;
+    public static final int MAX_SEQUENCE_SIZE = 64 * 1024;  // max selection offered as a search literal
 
-    private long bufferPosition = -1L;
-    private ByteBuffer byteBuffer = null;
-    private int currentPartFound = -1;  // relative positions
-    private boolean currentPartFoundIsUnicode = false;
+    private final BinaryContent content;
+    private final List<SearchPattern> patterns = new ArrayList<>();
+    private byte[] chunk = null;
     private long currentPosition = 0L;  // absolute value, start of forward finds, end(exclusive) of backward finds
-    private byte[] byteFindSequence = null;
+    private volatile long searchPosition = 0L;
     private boolean caseSensitive = true;
-    private BinaryContent content = null;
+    private String charset = null;
     private boolean directionForward = true;
     private CharSequence literal = null;
-    private int literalByteLength = -1;
-    private Pattern pattern = null;
-    private boolean stopSearching = false;
+    private volatile boolean stopSearching = false;
 
 
     /**
@@ -60,12 +64,24 @@ public class BinaryTextFinder {
      * @param aContent provider to be traversed
      */
     public BinaryTextFinder(CharSequence literal, BinaryContent aContent)
+    {
+        this(literal, null, aContent);
+    }
+
+
+    /**
+     * Create a finder object for a sequence of characters; uses unicode, ascii and given charset traversing
+     *
+     * @param literal  the char sequence to find
+     * @param charset  additional charset to encode literal with, may be null
+     * @param aContent provider to be traversed
+     */
+    public BinaryTextFinder(CharSequence literal, String charset, BinaryContent aContent)
     {
         this.literal = literal;
-        initSearchUnicodeAscii();
+        this.charset = charset;
         content = aContent;
-        bufferPosition = 0L;
-        currentPosition = 0L;
+        initSearchText();
     }
 
 
@@ -77,100 +93,8 @@ public class BinaryTextFinder {
      */
     public BinaryTextFinder(byte[] sequence, BinaryContent aContent)
     {
-        initSearchHex(sequence);
         content = aContent;
-        bufferPosition = 0L;
-        currentPosition = 0L;
-    }
-
-
-    void findAllMatches()
-        throws IOException
-    {
-        currentPartFound = findHexAsciiMatchInPart();
-        int currentPartFoundUnicode = findUnicodeMatchInPart();
-        currentPartFoundIsUnicode = false;
-
-        if (currentPartFoundUnicode >= 0 && (currentPartFound < 0 ||
-            directionForward && currentPartFound > currentPartFoundUnicode ||
-            !directionForward && currentPartFound < currentPartFoundUnicode)) {
-            currentPartFound = currentPartFoundUnicode;
-            currentPartFoundIsUnicode = true;
-        }
-    }
-
-
-    private int findHexAsciiMatchInPart()
-        throws IOException
-    {
-        if (byteFindSequence == null) return -1;
-
-        int start = 0;
-        int inclusiveEnd = byteBuffer.limit() - byteFindSequence.length;
-        if (!directionForward) {
-            start = inclusiveEnd;
-            inclusiveEnd = 0;
-        }
-
-        for (int i = start;
-            directionForward && i <= inclusiveEnd || !directionForward && i >= inclusiveEnd;
-            i += directionForward ? 1 : -1)
-        {
-            boolean matchesSoFar = true;
-            for (int j = 0; j < byteFindSequence.length && matchesSoFar; ++j) {
-                byte existing = byteBuffer.get(i + j);
-                byte matcher = byteFindSequence[j];
-                if (existing != matcher) {
-                    if (caseSensitive || existing < 'A' || existing > 'z' || matcher < 'A' ||
-                        matcher > 'z' || existing - matcher != 32 && matcher - existing != 32)
-                        matchesSoFar = false;
-                }
-            }
-            if (matchesSoFar) {
-                return i;
-            }
-        }
-
-        return -1;
-    }
-
-
-    private int findUnicodeMatchInPart()
-        throws IOException
-    {
-        if (pattern == null) return -1;
-
-        int result = Integer.MAX_VALUE;
-        if (!directionForward) {
-            result = -1;
-        }
-        byteBuffer.order(ByteOrder.LITTLE_ENDIAN);
-        Matcher matcher = pattern.matcher(byteBuffer.asCharBuffer());
-
-        for (int encoding = 0; encoding < 4; ++encoding) {
-            while (matcher.find()) {
-                int index = matcher.start() * 2 + (encoding >= 2 ? 1 : 0);
-                if (directionForward && result > index || !directionForward && result < index) {
-                    result = index;
-                }
-                if (directionForward) {
-                    break;
-                }
-            }
-            if (encoding == 0) {
-                byteBuffer.order(ByteOrder.BIG_ENDIAN);
-            } else if (encoding == 1 && byteBuffer.limit() > 0) {
-                byteBuffer.position(1);
-            } else if (encoding == 2) {
-                byteBuffer.order(ByteOrder.LITTLE_ENDIAN);
-            }
-            matcher.reset(byteBuffer.asCharBuffer());
-        }
-        if (result == Integer.MAX_VALUE) {
-            result = -1;
-        }
-
-        return result;
+        initSearchHex(sequence);
     }
 
 
@@ -195,35 +119,97 @@ public class BinaryTextFinder {
         throws IOException
     {
         stopSearching = false;
-        populatePart();
-        findAllMatches();
-
-        while (currentPartFound < 0) { // end of part
-            if (nextPart() == null || stopSearching) {
-                stopSearching = false;
-                return null;  // end of file
+        if (patterns.isEmpty()) {
+            return null;
+        }
+        int minLength = Integer.MAX_VALUE;
+        int maxLength = 0;
+        for (SearchPattern pattern : patterns) {
+            minLength = Math.min(minLength, pattern.length);
+            maxLength = Math.max(maxLength, pattern.length);
+        }
+        int chunkSize = Math.max(MAP_SIZE, maxLength * 2);
+        if (chunk == null || chunk.length < chunkSize) {
+            chunk = new byte[chunkSize];
+        }
+        long contentLength = getContentLength();
+        // Chunks overlap so matches crossing chunk border are not lost
+        int overlap = maxLength - 1;
+
+        if (directionForward) {
+            long chunkStart = currentPosition;
+            while (chunkStart + minLength <= contentLength && !stopSearching) {
+                searchPosition = chunkStart;
+                int size = readChunk(chunkStart, (int) Math.min(chunkSize, contentLength - chunkStart));
+                SearchPattern found = null;
+                int foundIndex = -1;
+                for (SearchPattern pattern : patterns) {
+                    int index = pattern.indexOf(chunk, size);
+                    if (index >= 0 && (foundIndex < 0 || index < foundIndex)) {
+                        found = pattern;
+                        foundIndex = index;
+                    }
+                }
+                if (found != null) {
+                    long resultPosition = chunkStart + foundIndex;
+                    setNewStart(resultPosition + 1);
+                    return new Number[]{resultPosition, found.length};
+                }
+                if (chunkStart + size >= contentLength) {
+                    break;
+                }
+                chunkStart += size - overlap;
+            }
+        } else {
+            long chunkEnd = currentPosition;
+            while (chunkEnd >= minLength && !stopSearching) {
+                long chunkStart = Math.max(0L, chunkEnd - chunkSize);
+                searchPosition = chunkStart;
+                int size = readChunk(chunkStart, (int) (chunkEnd - chunkStart));
+                SearchPattern found = null;
+                int foundIndex = -1;
+                for (SearchPattern pattern : patterns) {
+                    int index = pattern.lastIndexOf(chunk, size);
+                    if (index > foundIndex) {
+                        found = pattern;
+                        foundIndex = index;
+                    }
+                }
+                if (found != null) {
+                    long resultPosition = chunkStart + foundIndex;
+                    setNewStart(resultPosition + found.length - 1);
+                    return new Number[]{resultPosition, found.length};
+                }
+                if (chunkStart == 0L) {
+                    break;
+                }
+                chunkEnd = chunkStart + overlap;
             }
-            findAllMatches();
         }
+        stopSearching = false;
+
+        return null;  // end of file
+    }
 
-        long resultPosition = bufferPosition + currentPartFound;
-        int length = currentPartFoundIsUnicode ? literalByteLength : byteFindSequence.length;
-        setNewStart(resultPosition + (directionForward ? 1 : length - 1));
 
-        return new Number[]{resultPosition, length};
+    private int readChunk(long position, int size)
+        throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, size);
+        return content.get(buffer, position);
     }
 
 
     void initSearchHex(byte[] sequence)
     {
-        byteFindSequence = sequence;
-
-        if (sequence.length > MAX_SEQUENCE_SIZE) {
-            byteFindSequence = new byte[MAX_SEQUENCE_SIZE];
-            System.arraycopy(sequence, 0, byteFindSequence, 0, MAX_SEQUENCE_SIZE);
+        patterns.clear();
+        if (sequence.length > 0) {
+            List<byte[][]> units = new ArrayList<>(sequence.length);
+            for (byte b : sequence) {
+                units.add(new byte[][]{{b}});
+            }
+            patterns.add(new SearchPattern(units));
         }
-
-        literalByteLength = byteFindSequence.length;
     }
 
 
@@ -234,99 +220,77 @@ public class BinaryTextFinder {
      */
     public long getSearchPosition()
     {
-        return bufferPosition;
+        return searchPosition;
     }
 
 
-    void initSearchUnicodeAscii()
+    void initSearchText()
     {
-        StringBuilder regex = new StringBuilder("\\Q");  // everything-quoted regular expression
-
-        if (literal.length() * 2 > MAX_SEQUENCE_SIZE)  // 16 bit Unicode chars
-            literal = literal.subSequence(0, MAX_SEQUENCE_SIZE / 2);
-        literalByteLength = literal.length() * 2;
-
-        boolean isAsciiCompatible = true;
-        byte[] tmpBytes = new byte[literal.length()];
-        char previous = '\0';
-        for (int i = 0; i < literal.length(); ++i) {
-            char aChar = literal.charAt(i);
-            regex.append(aChar);
-
-            if (previous == '\\' && aChar == 'E')
-                regex.append("\\\\E\\Q");
-
-            previous = aChar;
-
-            tmpBytes[i] = (byte) aChar;
-            if (aChar > 255) isAsciiCompatible = false;
+        patterns.clear();
+        if (literal.length() == 0) {
+            return;
         }
-        regex.append("\\E");
-
-        int ignoreCaseFlags = 0;
-        if (!caseSensitive) ignoreCaseFlags = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
-        pattern = Pattern.compile(regex.toString(), ignoreCaseFlags);
+        String text = literal.toString();
+        List<Charset> charsets = new ArrayList<>();
+        charsets.add(StandardCharsets.ISO_8859_1);
+        charsets.add(StandardCharsets.UTF_8);
+        if (charset != null && Charset.isSupported(charset)) {
+            Charset editorCharset = Charset.forName(charset);
+            // UTF-16/32 with BOM can't encode single characters, both byte orders of UTF-16 are searched anyway
+            if (!editorCharset.name().startsWith("UTF-16") && !editorCharset.name().startsWith("UTF-32")) {
+                charsets.add(editorCharset);
+            }
+        }
+        charsets.add(StandardCharsets.UTF_16LE);
+        charsets.add(StandardCharsets.UTF_16BE);
 
-        if (isAsciiCompatible)
-            byteFindSequence = tmpBytes;
+        for (Charset cs : charsets) {
+            SearchPattern pattern = createTextPattern(text, cs, caseSensitive);
+            if (pattern != null && patterns.stream().noneMatch(p -> p.sameAs(pattern))) {
+                patterns.add(pattern);
+            }
+        }
     }
 
 
-    ByteBuffer nextPart()
-        throws IOException
+    /**
+     * Encodes literal char by char. With case insensitive search each char accepts its upper and lower case
+     * encodings (when they have the same byte length).
+     *
+     * @return pattern or null if literal can't be encoded with the charset
+     */
+    private static SearchPattern createTextPattern(String text, Charset cs, boolean caseSensitive)
     {
-        long newPos = bufferPosition + byteBuffer.limit() - literalByteLength + 1L;
-        if (!directionForward)
-            newPos = bufferPosition - MAP_SIZE + literalByteLength - 1L;
-        if (newPos < 0L)
-            newPos = 0L;
-
-        int size = (int) Math.min(MAP_SIZE, getContentLength() - newPos);
-        if (!directionForward)
-            size = (int) (bufferPosition + literalByteLength - 1L - newPos);
-
-        if (size < literalByteLength)
+        if (!cs.canEncode()) {
             return null;
-        bufferPosition = newPos;
-        populatePart(size);
-
-        return byteBuffer;
-    }
-
-
-    void populatePart()
-        throws IOException
-    {
-        int size = MAP_SIZE;
-        if (!directionForward) {
-            size = (int) Math.min(MAP_SIZE, currentPosition);
         }
-        populatePart(size);
-    }
-
+        CharsetEncoder encoder = cs.newEncoder();
+        if (!encoder.canEncode(text)) {
+            return null;
+        }
+        List<byte[][]> units = new ArrayList<>(text.length());
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            String ch = new String(Character.toChars(codePoint));
+            byte[] bytes = ch.getBytes(cs);
+            List<byte[]> variants = new ArrayList<>(3);
+            variants.add(bytes);
+            if (!caseSensitive) {
+                for (String variant : new String[]{ch.toLowerCase(Locale.ROOT), ch.toUpperCase(Locale.ROOT)}) {
+                    if (!encoder.canEncode(variant)) {
+                        continue;
+                    }
+                    byte[] variantBytes = variant.getBytes(cs);
+                    if (variantBytes.length == bytes.length && variants.stream().noneMatch(v -> Arrays.equals(v, variantBytes))) {
+                        variants.add(variantBytes);
+                    }
+                }
+            }
+            units.add(variants.toArray(new byte[0][]));
+            i += Character.charCount(codePoint);
+        }
 
-    void populatePart(int size)
-        throws IOException
-    {
-        if (content == null) return;
-
-        byteBuffer = null;  // multiple FileChannel.read(byteBuffer) leak memory, so don't reuse buffer
-        byteBuffer = ByteBuffer.allocate(MAP_SIZE);
-//	if (byteBuffer == null)
-//		byteBuffer = ByteBuffer.allocate(MAP_SIZE);
-        byteBuffer.limit(size);
-        byteBuffer.position(0);
-//	try {
-        content.get(byteBuffer, bufferPosition);
-//	} catch (OutOfMemoryError e) {
-//		byteBuffer = null;
-//		byteBuffer = ByteBuffer.allocate(MAP_SIZE);
-        //	byteBuffer.limit(size);
-        //byteBuffer.position(0);
-        //content.get(byteBuffer, myCurrentPosition);
-        //}
-        byteBuffer.limit(byteBuffer.position());
-        byteBuffer.position(0);
+        return new SearchPattern(units);
     }
 
 
@@ -341,7 +305,7 @@ public class BinaryTextFinder {
 
         caseSensitive = beSensitive;
         if (literal != null)
-            initSearchUnicodeAscii();
+            initSearchText();
     }
 
 
@@ -367,12 +331,7 @@ public class BinaryTextFinder {
             return;
 
         currentPosition = startPoint;
-        bufferPosition = startPoint;
-        if (!directionForward) {
-            bufferPosition = startPoint - MAP_SIZE;
-        }
-        if (bufferPosition < 0L)
-            bufferPosition = 0L;
+        searchPosition = startPoint;
     }
 
 
@@ -383,4 +342,100 @@ public class BinaryTextFinder {
     {
         stopSearching = true;
     }
+
+
+    /**
+     * Byte sequence searched with Boyer-Moore-Horspool algorithm.
+     * Pattern consists of units (encoded characters or single bytes); a unit matches any of its alternatives.
+     * Skip tables account all alternatives, so shifts stay safe for case insensitive patterns.
+     */
+    private static final class SearchPattern {
+        private final byte[][][] units;
+        private final byte[] plain;  // whole pattern when there are no alternatives
+        private final int length;
+        private final int[] forwardShift = new int[256];
+        private final int[] backwardShift = new int[256];
+
+        SearchPattern(List<byte[][]> unitList)
+        {
+            units = unitList.toArray(new byte[0][][]);
+            int totalLength = 0;
+            boolean hasAlternatives = false;
+            for (byte[][] unit : units) {
+                totalLength += unit[0].length;
+                hasAlternatives |= unit.length > 1;
+            }
+            length = totalLength;
+
+            Arrays.fill(forwardShift, length);
+            Arrays.fill(backwardShift, length);
+            byte[] primary = new byte[length];
+            int position = 0;
+            for (byte[][] unit : units) {
+                for (int i = 0; i < unit[0].length; i++, position++) {
+                    primary[position] = unit[0][i];
+                    for (byte[] alternative : unit) {
+                        int value = alternative[i] & 0x0ff;
+                        if (position < length - 1) {
+                            // Positions go up, so the last assignment is the smallest distance to pattern end
+                            forwardShift[value] = length - 1 - position;
+                        }
+                        if (position > 0 && backwardShift[value] == length) {
+                            backwardShift[value] = position;
+                        }
+                    }
+                }
+            }
+            plain = hasAlternatives ? null : primary;
+        }
+
+        int indexOf(byte[] data, int size)
+        {
+            int last = length - 1;
+            for (int i = 0; i + last < size; i += forwardShift[data[i + last] & 0x0ff]) {
+                if (matchesAt(data, i)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int lastIndexOf(byte[] data, int size)
+        {
+            for (int i = size - length; i >= 0; i -= backwardShift[data[i] & 0x0ff]) {
+                if (matchesAt(data, i)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean matchesAt(byte[] data, int index)
+        {
+            if (plain != null) {
+                return Arrays.equals(data, index, index + length, plain, 0, length);
+            }
+            int offset = index;
+            for (byte[][] unit : units) {
+                int unitLength = unit[0].length;
+                boolean matched = false;
+                for (byte[] alternative : unit) {
+                    if (Arrays.equals(data, offset, offset + unitLength, alternative, 0, unitLength)) {
+                        matched = true;
+                        break;
+                    }
+                }
+                if (!matched) {
+                    return false;
+                }
+                offset += unitLength;
+            }
+            return true;
+        }
+
+        boolean sameAs(SearchPattern other)
+        {
+            return length == other.length && Arrays.deepEquals(units, other.units);
+        }
+    }
 }
@@ -524,6 +524,7 @@ public class HexEditControl extends Composite {
             name = GeneralUtils.getDefaultFileEncoding();
         }
         charset = name;
+        finder = null;  // text literals are encoded with the charset
         composeByteToCharMap();
     }
 
@@ -1269,7 +1270,7 @@ public class HexEditControl extends Composite {
             if (isHexString) {
                 finder = new BinaryTextFinder(hexStringToByte(findString), content);
             } else {
-                finder = new BinaryTextFinder(findString, content);
+                finder = new BinaryTextFinder(findString, charset, content);
                 if (ignoreCase)
                     finder.setCaseSensitive(false);
             }
@@ -0,0 +1,171 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.binary;
+
+import org.jkiss.dbeaver.utils.RuntimeUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * Read-only file data source of a content range.
+ * The file is mapped into memory in fixed size windows on demand, so huge files are read without copying
+ * them to the heap. Windows are soft referenced and mapped again after being collected.
+ * Mapped files can't be replaced on Windows, so there the data is read through the file channel.
+ */
+final class MappedFileData implements Closeable {
+
+    static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final File file;
+    private final FileChannel channel;
+    private final long length;
+    private final SoftReference<MappedByteBuffer>[] windows;
+
+    @SuppressWarnings("unchecked")
+    MappedFileData(File aFile)
+        throws IOException
+    {
+        file = aFile;
+        channel = FileChannel.open(aFile.toPath(), StandardOpenOption.READ);
+        length = channel.size();
+        if (RuntimeUtils.isWindows()) {
+            windows = null;
+        } else {
+            windows = new SoftReference[(int) ((length + WINDOW_SIZE - 1) / WINDOW_SIZE)];
+        }
+    }
+
+    File getFile()
+    {
+        return file;
+    }
+
+    long length()
+    {
+        return length;
+    }
+
+    /**
+     * Reads up to maxLength bytes starting at the given file position
+     *
+     * @return number of bytes read
+     */
+    int read(ByteBuffer dst, long position, int maxLength)
+        throws IOException
+    {
+        int toRead = (int) Math.min(Math.min(dst.remaining(), maxLength), length - position);
+        int read = 0;
+        while (read < toRead) {
+            long current = position + read;
+            ByteBuffer window = getWindow(current);
+            int chunk;
+            if (window == null) {
+                int limit = dst.limit();
+                dst.limit(dst.position() + toRead - read);
+                try {
+                    chunk = channel.read(dst, current);
+                } finally {
+                    dst.limit(limit);
+                }
+                if (chunk < 0) {
+                    break;
+                }
+            } else {
+                int offset = (int) (current % WINDOW_SIZE);
+                chunk = Math.min(toRead - read, window.capacity() - offset);
+                window.limit(offset + chunk);
+                window.position(offset);
+                dst.put(window);
+            }
+            read += chunk;
+        }
+
+        return read;
+    }
+
+    /**
+     * Reads a single byte
+     *
+     * @return unsigned byte value or -1 if position is out of file
+     */
+    int get(long position)
+        throws IOException
+    {
+        if (position < 0L || position >= length) {
+            return -1;
+        }
+        ByteBuffer window = getWindow(position);
+        if (window != null) {
+            return window.get((int) (position % WINDOW_SIZE)) & 0x0ff;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        return channel.read(buffer, position) < 1 ? -1 : buffer.get(0) & 0x0ff;
+    }
+
+    /**
+     * Returns private view of the window containing position or null if file is not mapped
+     */
+    private ByteBuffer getWindow(long position)
+    {
+        if (windows == null) {
+            return null;
+        }
+        int index = (int) (position / WINDOW_SIZE);
+        synchronized (windows) {
+            MappedByteBuffer window = windows[index] == null ? null : windows[index].get();
+            if (window == null) {
+                long start = (long) index * WINDOW_SIZE;
+                try {
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, length - start));
+                } catch (IOException e) {
+                    // Out of address space or not mappable file. Plain channel reads still work.
+                    return null;
+                }
+                windows[index] = new SoftReference<>(window);
+            }
+            return window.duplicate();
+        }
+    }
+
+    @Override
+    public void close()
+        throws IOException
+    {
+        if (windows != null) {
+            synchronized (windows) {
+                for (int i = 0; i < windows.length; i++) {
+                    windows[i] = null;
+                }
+            }
+        }
+        channel.close();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MappedFileData {file:" + file + ", length:" + length + '}';
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.views.session;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.SelectionListener;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.*;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionHistory;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.ui.UIIcon;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.dialogs.BaseDialog;
+import org.jkiss.dbeaver.ui.views.session.internal.SessionEditorMessages;
+import org.jkiss.utils.CommonUtils;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shows sampled session activity: top waits and active sessions timeline
+ */
+class SessionHistoryDialog extends BaseDialog {
+
+    private static final int[] PERIODS = {5, 15, 60, 360}; // minutes
+    private static final int TIMELINE_BUCKETS = 30;
+    private static final int TOP_WAITS = 20;
+
+    private final DBAServerSessionHistory history;
+    private Combo periodCombo;
+    private Table waitsTable;
+    private Table timelineTable;
+
+    SessionHistoryDialog(@NotNull Shell parentShell, @NotNull String dataSourceName, @NotNull DBAServerSessionHistory history) {
+        super(parentShell, NLS.bind(SessionEditorMessages.viewer_session_history_title, dataSourceName), UIIcon.CHART_BAR);
+        this.history = history;
+    }
+
+    @Override
+    protected Composite createDialogArea(Composite parent) {
+        Composite composite = super.createDialogArea(parent);
+
+        Composite periodGroup = UIUtils.createComposite(composite, 3);
+        periodCombo = UIUtils.createLabelCombo(periodGroup, SessionEditorMessages.viewer_session_history_period, SWT.DROP_DOWN | SWT.READ_ONLY);
+        for (int period : PERIODS) {
+            periodCombo.add(NLS.bind(SessionEditorMessages.viewer_session_history_period_minutes, period));
+        }
+        periodCombo.select(1);
+        periodCombo.addModifyListener(e -> refreshHistory());
+        UIUtils.createPushButton(periodGroup, SessionEditorMessages.viewer_session_history_refresh, null, SelectionListener.widgetSelectedAdapter(e -> refreshHistory()));
+
+        UIUtils.createControlLabel(composite, SessionEditorMessages.viewer_session_history_top_waits);
+        waitsTable = createTable(composite, 150,
+            SessionEditorMessages.viewer_session_history_column_wait,
+            SessionEditorMessages.viewer_session_history_column_active_time,
+            SessionEditorMessages.viewer_session_history_column_avg_sessions,
+            SessionEditorMessages.viewer_session_history_column_sessions,
+            SessionEditorMessages.viewer_session_history_column_top_sql);
+
+        UIUtils.createControlLabel(composite, SessionEditorMessages.viewer_session_history_timeline);
+        timelineTable = createTable(composite, 250,
+            SessionEditorMessages.viewer_session_history_column_time,
+            SessionEditorMessages.viewer_session_history_column_avg_sessions,
+            SessionEditorMessages.viewer_session_history_column_waits);
+
+        refreshHistory();
+        return composite;
+    }
+
+    @Override
+    protected void createButtonsForButtonBar(@NotNull Composite parent, int alignment) {
+        createButton(parent, IDialogConstants.CLOSE_ID, IDialogConstants.CLOSE_LABEL, true);
+    }
+
+    @Override
+    protected void buttonPressed(int buttonId) {
+        if (buttonId == IDialogConstants.CLOSE_ID) {
+            close();
+        } else {
+            super.buttonPressed(buttonId);
+        }
+    }
+
+    private static Table createTable(Composite parent, int height, String... columns) {
+        Table table = new Table(parent, SWT.BORDER | SWT.FULL_SELECTION | SWT.SINGLE);
+        table.setHeaderVisible(true);
+        table.setLinesVisible(true);
+        GridData gd = new GridData(GridData.FILL_BOTH);
+        gd.widthHint = 700;
+        gd.heightHint = height;
+        table.setLayoutData(gd);
+        for (String column : columns) {
+            UIUtils.createTableColumn(table, SWT.LEFT, column);
+        }
+        return table;
+    }
+
+    private void refreshHistory() {
+        long period = PERIODS[Math.max(0, periodCombo.getSelectionIndex())] * 60_000L;
+        long to = System.currentTimeMillis();
+        long from = to - period;
+
+        // History may need to read its files, so it is aggregated in background
+        new AbstractJob("Load session history") {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                history.load();
+                List<DBAServerSessionHistory.WaitSummary> topWaits = history.getTopWaits(from, to, TOP_WAITS);
+                List<DBAServerSessionHistory.TimelineBucket> timeline = history.getTimeline(from, to, period / TIMELINE_BUCKETS);
+                UIUtils.asyncExec(() -> {
+                    if (!waitsTable.isDisposed()) {
+                        fillHistory(period, topWaits, timeline);
+                    }
+                });
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+    }
+
+    private void fillHistory(
+        long period,
+        @NotNull List<DBAServerSessionHistory.WaitSummary> topWaits,
+        @NotNull List<DBAServerSessionHistory.TimelineBucket> timeline
+    ) {
+        waitsTable.removeAll();
+        for (DBAServerSessionHistory.WaitSummary wait : topWaits) {
+            TableItem item = new TableItem(waitsTable, SWT.NONE);
+            item.setText(0, wait.waitClass());
+            item.setText(1, String.format("%.1f", wait.activeTime() / 1000.0));
+            item.setText(2, String.format("%.2f", (double) wait.activeTime() / period));
+            item.setText(3, String.valueOf(wait.sessionCount()));
+            item.setText(4, CommonUtils.truncateString(CommonUtils.compactWhiteSpaces(CommonUtils.notEmpty(wait.topSqlText())), 200));
+        }
+
+        timelineTable.removeAll();
+        SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
+        for (DBAServerSessionHistory.TimelineBucket bucket : timeline) {
+            TableItem item = new TableItem(timelineTable, SWT.NONE);
+            item.setText(0, timeFormat.format(new Date(bucket.startTime())));
+            item.setText(1, String.format("%.2f", bucket.getTotalActiveSessions()));
+            StringBuilder waits = new StringBuilder();
+            for (Map.Entry<String, Double> entry : bucket.activeSessions().entrySet()) {
+                if (!waits.isEmpty()) waits.append(", ");
+                waits.append(entry.getKey()).append(": ").append(String.format("%.2f", entry.getValue()));
+            }
+            item.setText(2, waits.toString());
+        }
+
+        UIUtils.packColumns(waitsTable, true);
+        UIUtils.packColumns(timelineTable, true);
+    }
+
+}
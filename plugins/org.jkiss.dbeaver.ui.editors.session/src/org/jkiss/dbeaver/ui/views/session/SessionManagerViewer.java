@@ -43,6 +43,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBIcon;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBPObject;
 import org.jkiss.dbeaver.model.DBPObjectWithDescription;
 import org.jkiss.dbeaver.model.DBUtils;
@@ -496,6 +497,34 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
                 contributionManager.add(new Separator());
             }
 
+            contributionManager.add(ActionUtils.makeActionContribution(new Action(SessionEditorMessages.viewer_session_sampling_action, IAction.AS_CHECK_BOX) {
+                {
+                    setImageDescriptor(DBeaverIcons.getImageDescriptor(UIIcon.CLOCK_START));
+                    setToolTipText(SessionEditorMessages.viewer_session_sampling_tip);
+                    setChecked(DBAServerSessionSampler.getSampler(sessionManager.getDataSource().getContainer()) != null);
+                }
+                @Override
+                public void run() {
+                    if (isChecked()) {
+                        DBAServerSessionSampler.startSampling(sessionManager, getSessionOptions(), DBAServerSessionSampler.DEFAULT_SAMPLE_INTERVAL);
+                    } else {
+                        DBAServerSessionSampler.stopSampling(sessionManager.getDataSource().getContainer());
+                    }
+                }
+            }, true));
+            contributionManager.add(ActionUtils.makeActionContribution(new Action(SessionEditorMessages.viewer_session_history_action, IAction.AS_PUSH_BUTTON) {
+                {
+                    setImageDescriptor(DBeaverIcons.getImageDescriptor(UIIcon.CHART_BAR));
+                    setToolTipText(SessionEditorMessages.viewer_session_history_tip);
+                }
+                @Override
+                public void run() {
+                    DBPDataSourceContainer container = sessionManager.getDataSource().getContainer();
+                    new SessionHistoryDialog(getShell(), container.getName(), DBAServerSessionSampler.getHistory(container)).open();
+                }
+            }, true));
+            contributionManager.add(new Separator());
+
             refreshControl.populateRefreshButton(contributionManager);
             contributionManager.add(new Action(SessionEditorMessages.viewer_session_manager_refresh_sessions_action, DBeaverIcons.getImageDescriptor(UIIcon.REFRESH)) {
                 @Override
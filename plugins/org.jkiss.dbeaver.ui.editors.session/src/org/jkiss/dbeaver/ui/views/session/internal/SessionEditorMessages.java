@@ -35,6 +35,23 @@ public class SessionEditorMessages extends NLS {
     public static String viewer_session_manager_error_opening_editor_title;
     public static String viewer_session_manager_error_opening_editor_message;
     public static String viewer_session_manager_refresh_sessions_action;
+    public static String viewer_session_sampling_action;
+    public static String viewer_session_sampling_tip;
+    public static String viewer_session_history_action;
+    public static String viewer_session_history_tip;
+    public static String viewer_session_history_title;
+    public static String viewer_session_history_period;
+    public static String viewer_session_history_period_minutes;
+    public static String viewer_session_history_refresh;
+    public static String viewer_session_history_top_waits;
+    public static String viewer_session_history_timeline;
+    public static String viewer_session_history_column_wait;
+    public static String viewer_session_history_column_active_time;
+    public static String viewer_session_history_column_avg_sessions;
+    public static String viewer_session_history_column_sessions;
+    public static String viewer_session_history_column_top_sql;
+    public static String viewer_session_history_column_time;
+    public static String viewer_session_history_column_waits;
 
     static {
         // initialize resource bundle
@@ -61,6 +61,7 @@ import org.jkiss.dbeaver.model.runtime.load.AbstractLoadService;
 import org.jkiss.dbeaver.model.sql.SQLConstants;
 import org.jkiss.dbeaver.model.sql.SQLDialect;
 import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.jkiss.dbeaver.model.sql.qm.SQLQueryStatistics;
 import org.jkiss.dbeaver.registry.DataSourceProviderRegistry;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.runtime.qm.DefaultEventFilter;
@@ -398,6 +399,8 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
         DBWorkbench.getPlatformUI();
         // Register QM listener
         QMUtils.registerMetaListener(this);
+        // Start statements statistics collection
+        SQLQueryStatistics.getInstance();
 
         DBWorkbench.getPlatform().getPreferenceStore().addPropertyChangeListener(this);
 
@@ -801,6 +804,13 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
                 }
             };
 
+            IAction topStatementsAction = new Action(SQLEditorMessages.editor_query_log_viewer_action_top_statements) {
+                @Override
+                public void run() {
+                    new QueryStatisticsDialog(logTable.getShell()).open();
+                }
+            };
+
             boolean hasStatements = false;
             for (TableItem item : logTable.getSelection()) {
                 if (((QMEvent) item.getData()).getObject() instanceof QMMStatementExecuteInfo) {
@@ -817,6 +827,7 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
             manager.add(copyAllAction);
             manager.add(selectAllAction);
             manager.add(clearLogAction);
+            manager.add(topStatementsAction);
             manager.add(ActionUtils.makeCommandContribution(site, IWorkbenchCommandConstants.FILE_REFRESH));
             //manager.add(new GroupMarker(IWorkbenchActionConstants.MB_ADDITIONS));
 
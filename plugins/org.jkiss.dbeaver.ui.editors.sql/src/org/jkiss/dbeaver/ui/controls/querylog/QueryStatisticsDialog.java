@@ -0,0 +1,183 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.querylog;
+
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.jface.dialogs.IDialogSettings;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.*;
+import org.jkiss.dbeaver.model.sql.qm.SQLQueryStatistics;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.controls.TableColumnSortListener;
+import org.jkiss.dbeaver.ui.dialogs.BaseDialog;
+import org.jkiss.dbeaver.ui.dialogs.DialogUtils;
+import org.jkiss.dbeaver.ui.editors.sql.internal.SQLEditorMessages;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Shows top statements aggregated by query fingerprint
+ */
+public class QueryStatisticsDialog extends BaseDialog {
+
+    private static final String DIALOG_ID = "DBeaver.QM.QueryStatisticsDialog";//$NON-NLS-1$
+
+    private static final int EXPORT_ID = IDialogConstants.CLIENT_ID + 1;
+    private static final int RESET_ID = IDialogConstants.CLIENT_ID + 2;
+
+    private static final String[] COLUMN_NAMES = {
+        SQLEditorMessages.query_statistics_column_fingerprint,
+        SQLEditorMessages.query_statistics_column_data_source,
+        SQLEditorMessages.query_statistics_column_executions,
+        SQLEditorMessages.query_statistics_column_total_time,
+        SQLEditorMessages.query_statistics_column_avg_time,
+        "p50", //$NON-NLS-1$
+        "p95", //$NON-NLS-1$
+        "p99", //$NON-NLS-1$
+        SQLEditorMessages.query_statistics_column_max_time,
+        SQLEditorMessages.query_statistics_column_rows,
+        SQLEditorMessages.query_statistics_column_errors,
+    };
+
+    private Table statTable;
+
+    public QueryStatisticsDialog(Shell shell) {
+        super(shell, SQLEditorMessages.query_statistics_dialog_title, null);
+        setShellStyle(SWT.CLOSE | SWT.TITLE | SWT.MAX | SWT.RESIZE);
+    }
+
+    @Override
+    protected IDialogSettings getDialogBoundsSettings() {
+        return UIUtils.getDialogSettings(DIALOG_ID);
+    }
+
+    @Override
+    protected Composite createDialogArea(Composite parent) {
+        Composite composite = super.createDialogArea(parent);
+
+        statTable = new Table(composite, SWT.BORDER | SWT.SINGLE | SWT.FULL_SELECTION);
+        GridData gd = new GridData(GridData.FILL_BOTH);
+        gd.widthHint = 800;
+        gd.heightHint = 400;
+        statTable.setLayoutData(gd);
+        statTable.setHeaderVisible(true);
+        statTable.setLinesVisible(true);
+        for (int i = 0; i < COLUMN_NAMES.length; i++) {
+            TableColumn column = new TableColumn(statTable, i < 2 ? SWT.LEFT : SWT.RIGHT);
+            column.setText(COLUMN_NAMES[i]);
+            column.addListener(SWT.Selection, new TableColumnSortListener(statTable, i));
+        }
+        statTable.setToolTipText(SQLEditorMessages.query_statistics_dialog_tip);
+
+        loadStatistics();
+
+        return composite;
+    }
+
+    private void loadStatistics() {
+        statTable.removeAll();
+        for (SQLQueryStatistics.Entry entry : SQLQueryStatistics.getInstance().getEntries()) {
+            TableItem item = new TableItem(statTable, SWT.NONE);
+            item.setData(entry);
+            String[] values = getRowValues(entry);
+            for (int i = 0; i < values.length; i++) {
+                item.setText(i, values[i]);
+            }
+        }
+        UIUtils.packColumns(statTable, false, null);
+        if (statTable.getColumnCount() > 0 && statTable.getColumn(0).getWidth() > 400) {
+            statTable.getColumn(0).setWidth(400);
+        }
+    }
+
+    private static String[] getRowValues(SQLQueryStatistics.Entry entry) {
+        return new String[] {
+            entry.getFingerprint(),
+            CommonUtils.notEmpty(entry.getDataSourceName()),
+            String.valueOf(entry.getExecuteCount()),
+            String.valueOf(entry.getTotalTime()),
+            String.valueOf(entry.getAverageTime()),
+            String.valueOf(entry.getTimeAtPercentile(50)),
+            String.valueOf(entry.getTimeAtPercentile(95)),
+            String.valueOf(entry.getTimeAtPercentile(99)),
+            String.valueOf(entry.getMaxTime()),
+            String.valueOf(entry.getRowCount()),
+            String.valueOf(entry.getErrorCount()),
+        };
+    }
+
+    @Override
+    protected void createButtonsForButtonBar(Composite parent) {
+        createButton(parent, EXPORT_ID, SQLEditorMessages.query_statistics_button_export, false);
+        createButton(parent, RESET_ID, SQLEditorMessages.query_statistics_button_reset, false);
+        createButton(parent, IDialogConstants.CLOSE_ID, IDialogConstants.CLOSE_LABEL, true);
+    }
+
+    @Override
+    protected void buttonPressed(int buttonId) {
+        switch (buttonId) {
+            case EXPORT_ID -> exportStatistics();
+            case RESET_ID -> {
+                SQLQueryStatistics.getInstance().reset();
+                loadStatistics();
+            }
+            case IDialogConstants.CLOSE_ID -> okPressed();
+            default -> super.buttonPressed(buttonId);
+        }
+    }
+
+    private void exportStatistics() {
+        FileDialog fileDialog = new FileDialog(getShell(), SWT.SAVE);
+        fileDialog.setFilterExtensions(new String[]{"*.csv", "*"}); //$NON-NLS-1$ //$NON-NLS-2$
+        fileDialog.setFileName("query-statistics.csv"); //$NON-NLS-1$
+        fileDialog.setOverwrite(true);
+        String fileName = DialogUtils.openFileDialog(fileDialog);
+        if (CommonUtils.isEmpty(fileName)) {
+            return;
+        }
+        List<SQLQueryStatistics.Entry> entries = SQLQueryStatistics.getInstance().getEntries();
+        try (Writer out = Files.newBufferedWriter(Path.of(fileName), StandardCharsets.UTF_8)) {
+            writeCsvRow(out, COLUMN_NAMES);
+            for (SQLQueryStatistics.Entry entry : entries) {
+                writeCsvRow(out, getRowValues(entry));
+            }
+        } catch (IOException e) {
+            DBWorkbench.getPlatformUI().showError(SQLEditorMessages.query_statistics_export_error, null, e);
+        }
+    }
+
+    private static void writeCsvRow(Writer out, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write('"');
+            out.write(values[i].replace("\"", "\"\""));
+            out.write('"');
+        }
+        out.write('\n');
+    }
+
+}
@@ -737,7 +737,7 @@ public class SQLEditor extends SQLEditorBase implements
             try {
                 String title = "SQLEditor <" + getEditorInput().getName() + ">";
                 monitor.subTask("Open context " + title);
-                DBCExecutionContext newContext = instance.openIsolatedContext(monitor, title, instance.getDefaultContext(monitor, false));
+                DBCExecutionContext newContext = instance.openEditorContext(monitor, title, instance.getDefaultContext(monitor, false));
                 // Set context defaults
                 String[] contextDefaultNames = null;
                 if (readDefaultsFromInstance && datasourceChanged) {
@@ -239,6 +239,10 @@ public abstract class SQLEditorBase extends BaseTextEditor implements DBPContext
         return this.getActivePreferenceStore().getBoolean(SQLModelPreferences.READ_METADATA_FOR_SEMANTIC_ANALYSIS);
     }
 
+    public boolean isPerformanceHintsEnabled() {
+        return this.getActivePreferenceStore().getBoolean(SQLModelPreferences.PERFORMANCE_HINTS_ENABLE);
+    }
+
     private void handleInputChange(IEditorInput input) {
         occurrencesHighlighter.updateInput(input);
     }
@@ -1201,6 +1205,7 @@ public abstract class SQLEditorBase extends BaseTextEditor implements DBPContext
             case SQLPreferenceConstants.SQL_FORMAT_ACTIVE_QUERY:
             case SQLPreferenceConstants.SQL_FORMAT_EXTRACT_FROM_SOURCE:
             case SQLPreferenceConstants.READ_METADATA_FOR_SEMANTIC_ANALYSIS:
+            case SQLPreferenceConstants.PERFORMANCE_HINTS_ENABLE:
             case ModelPreferences.SQL_FORMAT_KEYWORD_CASE:
             case ModelPreferences.SQL_FORMAT_LF_BEFORE_COMMA:
             case ModelPreferences.SQL_FORMAT_BREAK_BEFORE_CLOSE_BRACKET:
@@ -110,6 +110,7 @@ public class SQLPreferenceConstants {
     public static final String EXPERIMENTAL_AUTOCOMPLETION_MODE        = SQLModelPreferences.EXPERIMENTAL_AUTOCOMPLETION_MODE;
     public static final String ADVANCED_HIGHLIGHTING_ENABLE            = SQLModelPreferences.ADVANCED_HIGHLIGHTING_ENABLE;
     public static final String READ_METADATA_FOR_SEMANTIC_ANALYSIS     = SQLModelPreferences.READ_METADATA_FOR_SEMANTIC_ANALYSIS;
+    public static final String PERFORMANCE_HINTS_ENABLE                = SQLModelPreferences.PERFORMANCE_HINTS_ENABLE;
     public static final String ENABLE_KEYSTROKE_ACTIVATION             = "SQLEditor.ContentAssistant.auto.keystrokes.activation";
     public static final String AUTO_ACTIVATION_DELAY                   = "SQLEditor.ContentAssistant.auto.activation.delay";
     public static final String PROPOSAL_INSERT_CASE                    = "SQLEditor.ContentAssistant.insert.case";
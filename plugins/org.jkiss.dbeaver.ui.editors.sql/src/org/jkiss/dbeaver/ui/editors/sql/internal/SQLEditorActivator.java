@@ -21,6 +21,7 @@ import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.jkiss.dbeaver.model.impl.preferences.BundlePreferenceStore;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.runtime.features.DBRFeatureRegistry;
+import org.jkiss.dbeaver.model.sql.qm.SQLQueryStatistics;
 import org.jkiss.dbeaver.ui.editors.sql.SQLEditorFeatures;
 import org.osgi.framework.BundleContext;
 
@@ -43,6 +44,8 @@ public class SQLEditorActivator extends AbstractUIPlugin {
         preferences = new BundlePreferenceStore(getBundle());
 
         DBRFeatureRegistry.getInstance().registerFeatures(SQLEditorFeatures.class);
+        // Collect executed statements statistics (if query manager is already initialized)
+        SQLQueryStatistics.getInstance();
     }
 
     @Override
@@ -40,6 +40,21 @@ public class SQLEditorMessages extends NLS {
 
     public static String editor_query_log_viewer_draw_text_type_qury_part;
     public static String editor_query_log_viewer_reexecute_query_button_text;
+    public static String editor_query_log_viewer_action_top_statements;
+
+    public static String query_statistics_dialog_title;
+    public static String query_statistics_dialog_tip;
+    public static String query_statistics_column_fingerprint;
+    public static String query_statistics_column_data_source;
+    public static String query_statistics_column_executions;
+    public static String query_statistics_column_total_time;
+    public static String query_statistics_column_avg_time;
+    public static String query_statistics_column_max_time;
+    public static String query_statistics_column_rows;
+    public static String query_statistics_column_errors;
+    public static String query_statistics_button_export;
+    public static String query_statistics_button_reset;
+    public static String query_statistics_export_error;
     
     public static String editor_sql_preference;
     public static String editors_sql_data_grid;
@@ -253,6 +268,8 @@ public class SQLEditorMessages extends NLS {
     public static String pref_page_code_editor_label_advanced_highlighting_enabled_tip;
     public static String pref_page_code_editor_label_read_metadata_enabled;
     public static String pref_page_code_editor_label_read_metadata_enabled_tip;
+    public static String pref_page_code_editor_label_performance_hints_enabled;
+    public static String pref_page_code_editor_label_performance_hints_enabled_tip;
 
     public static String pref_page_sql_editor_checkbox_fetch_resultsets;
     public static String pref_page_sql_editor_text_statement_delimiter;
@@ -47,6 +47,7 @@ public class PrefPageSQLCodeEditing extends TargetPrefPage {
     private Button csProblemMarkersEnabled;
     private Button advancedHighlightingEnabled;
     private Button readMetadataForSemanticValidationEnabled;
+    private Button performanceHintsEnabled;
     // Auto-close
     private Button acSingleQuotesCheck;
     private Button acDoubleQuotesCheck;
@@ -99,10 +100,18 @@ public class PrefPageSQLCodeEditing extends TargetPrefPage {
                 false,
                 1
             );
+            performanceHintsEnabled = UIUtils.createCheckbox(
+                analysisGroup,
+                SQLEditorMessages.pref_page_code_editor_label_performance_hints_enabled,
+                SQLEditorMessages.pref_page_code_editor_label_performance_hints_enabled_tip,
+                false,
+                1
+            );
             advancedHighlightingEnabled.addSelectionListener(new SelectionAdapter() {
                 @Override
                 public void widgetSelected(SelectionEvent e) {
                     readMetadataForSemanticValidationEnabled.setEnabled(advancedHighlightingEnabled.getSelection());
+                    performanceHintsEnabled.setEnabled(advancedHighlightingEnabled.getSelection());
                 }
             });
         }
@@ -145,6 +154,8 @@ public class PrefPageSQLCodeEditing extends TargetPrefPage {
         advancedHighlightingEnabled.setSelection(store.getBoolean(SQLPreferenceConstants.ADVANCED_HIGHLIGHTING_ENABLE));
         readMetadataForSemanticValidationEnabled.setSelection(store.getBoolean(SQLPreferenceConstants.READ_METADATA_FOR_SEMANTIC_ANALYSIS));
         readMetadataForSemanticValidationEnabled.setEnabled(advancedHighlightingEnabled.getSelection());
+        performanceHintsEnabled.setSelection(store.getBoolean(SQLPreferenceConstants.PERFORMANCE_HINTS_ENABLE));
+        performanceHintsEnabled.setEnabled(advancedHighlightingEnabled.getSelection());
         
         acSingleQuotesCheck.setSelection(store.getBoolean(SQLPreferenceConstants.SQLEDITOR_CLOSE_SINGLE_QUOTES));
         acDoubleQuotesCheck.setSelection(store.getBoolean(SQLPreferenceConstants.SQLEDITOR_CLOSE_DOUBLE_QUOTES));
@@ -163,6 +174,7 @@ public class PrefPageSQLCodeEditing extends TargetPrefPage {
         store.setValue(SQLPreferenceConstants.PROBLEM_MARKERS_ENABLED, csProblemMarkersEnabled.getSelection());
         store.setValue(SQLPreferenceConstants.ADVANCED_HIGHLIGHTING_ENABLE, advancedHighlightingEnabled.getSelection());
         store.setValue(SQLPreferenceConstants.READ_METADATA_FOR_SEMANTIC_ANALYSIS, readMetadataForSemanticValidationEnabled.getSelection());
+        store.setValue(SQLPreferenceConstants.PERFORMANCE_HINTS_ENABLE, performanceHintsEnabled.getSelection());
         
         store.setValue(SQLPreferenceConstants.SQLEDITOR_CLOSE_SINGLE_QUOTES, acSingleQuotesCheck.getSelection());
         store.setValue(SQLPreferenceConstants.SQLEDITOR_CLOSE_DOUBLE_QUOTES, acDoubleQuotesCheck.getSelection());
@@ -181,6 +193,7 @@ public class PrefPageSQLCodeEditing extends TargetPrefPage {
         store.setToDefault(SQLPreferenceConstants.PROBLEM_MARKERS_ENABLED);
         store.setToDefault(SQLPreferenceConstants.ADVANCED_HIGHLIGHTING_ENABLE);
         store.setToDefault(SQLPreferenceConstants.READ_METADATA_FOR_SEMANTIC_ANALYSIS);
+        store.setToDefault(SQLPreferenceConstants.PERFORMANCE_HINTS_ENABLE);
 
         store.setToDefault(SQLPreferenceConstants.SQLEDITOR_CLOSE_SINGLE_QUOTES);
         store.setToDefault(SQLPreferenceConstants.SQLEDITOR_CLOSE_DOUBLE_QUOTES);
@@ -200,6 +213,7 @@ public class PrefPageSQLCodeEditing extends TargetPrefPage {
         csProblemMarkersEnabled.setSelection(store.getDefaultBoolean(SQLPreferenceConstants.PROBLEM_MARKERS_ENABLED));
         advancedHighlightingEnabled.setSelection(store.getDefaultBoolean(SQLPreferenceConstants.ADVANCED_HIGHLIGHTING_ENABLE));
         readMetadataForSemanticValidationEnabled.setSelection(store.getDefaultBoolean(SQLPreferenceConstants.READ_METADATA_FOR_SEMANTIC_ANALYSIS));
+        performanceHintsEnabled.setSelection(store.getDefaultBoolean(SQLPreferenceConstants.PERFORMANCE_HINTS_ENABLE));
         acSingleQuotesCheck.setSelection(store.getDefaultBoolean(SQLPreferenceConstants.SQLEDITOR_CLOSE_SINGLE_QUOTES));
         acDoubleQuotesCheck.setSelection(store.getDefaultBoolean(SQLPreferenceConstants.SQLEDITOR_CLOSE_DOUBLE_QUOTES));
         acBracketsCheck.setSelection(store.getDefaultBoolean(SQLPreferenceConstants.SQLEDITOR_CLOSE_BRACKETS));
@@ -218,6 +232,7 @@ public class PrefPageSQLCodeEditing extends TargetPrefPage {
             || store.contains(SQLPreferenceConstants.PROBLEM_MARKERS_ENABLED)
             || store.contains(SQLPreferenceConstants.ADVANCED_HIGHLIGHTING_ENABLE)
             || store.contains(SQLPreferenceConstants.READ_METADATA_FOR_SEMANTIC_ANALYSIS)
+            || store.contains(SQLPreferenceConstants.PERFORMANCE_HINTS_ENABLE)
             || store.contains(SQLPreferenceConstants.SQLEDITOR_CLOSE_SINGLE_QUOTES)
             || store.contains(SQLPreferenceConstants.SQLEDITOR_CLOSE_DOUBLE_QUOTES)
             || store.contains(SQLPreferenceConstants.SQLEDITOR_CLOSE_BRACKETS)
@@ -22,6 +22,9 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.text.*;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.jface.text.source.IAnnotationModelExtension;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
@@ -50,10 +53,7 @@ import org.jkiss.dbeaver.ui.editors.sql.SQLEditorUtils;
 import org.jkiss.dbeaver.utils.ListNode;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 
-import java.util.ArrayDeque;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 public class SQLBackgroundParsingJob {
 
@@ -403,6 +403,7 @@ public class SQLBackgroundParsingJob {
         }
         int workOffset;
         int workLength;
+        Map<Annotation, Position> performanceHints = null;
         try {
             synchronized (this.syncRoot) {
                 this.isRunning = true;
@@ -505,6 +506,9 @@ public class SQLBackgroundParsingJob {
 
             boolean isReadMetadataForQueryAnalysis = this.editor.isReadMetadataForQueryAnalysisEnabled();
             DBCExecutionContext executionContext = this.editor.getExecutionContext();
+            if (isReadMetadataForQueryAnalysis && executionContext != null && this.editor.isPerformanceHintsEnabled()) {
+                performanceHints = new HashMap<>();
+            }
             
             monitor.beginTask("Background query analysis for " + editor.getTitle(), 1 + elements.size());
             monitor.worked(1);
@@ -536,6 +540,16 @@ public class SQLBackgroundParsingJob {
                             itemContext.registerToken(entry.getInterval().a, entry);
                         }
                         itemContext.refreshCompleted();
+
+                        if (performanceHints != null) {
+                            SQLQueryPerformanceInspector inspector = new SQLQueryPerformanceInspector(RuntimeUtils.makeMonitor(monitor));
+                            for (SQLQueryPerformanceProblem problem : inspector.inspect(queryModel)) {
+                                performanceHints.put(
+                                    new SQLPerformanceAnnotation(problem),
+                                    new Position(element.getOffset() + problem.getInterval().a, problem.getInterval().length())
+                                );
+                            }
+                        }
                     }
                 } catch (Throwable ex) {
                     log.debug("Error while analyzing query text: " + element.getOriginalText(), ex);
@@ -562,11 +576,50 @@ public class SQLBackgroundParsingJob {
             this.isRunning = false;
         }
         
+        Map<Annotation, Position> parsedPerformanceHints = performanceHints;
         UIUtils.asyncExec(() -> {
             viewer.invalidateTextPresentation(parsedOffset, parsedLength);
+            this.updatePerformanceAnnotations(parsedOffset, parsedLength, parsedPerformanceHints);
         });
     }
 
+    /**
+     * Replaces performance annotations in the parsed region. All of them are removed if hints are disabled.
+     */
+    private void updatePerformanceAnnotations(int offset, int length, @Nullable Map<Annotation, Position> hints) {
+        IAnnotationModel annotationModel = this.editor.getAnnotationModel();
+        if (annotationModel == null) {
+            return;
+        }
+        Object lockObject = annotationModel instanceof ISynchronizable sync ? sync.getLockObject() : annotationModel;
+        synchronized (lockObject) {
+            List<Annotation> toRemove = new ArrayList<>();
+            for (Iterator<Annotation> it = annotationModel.getAnnotationIterator(); it.hasNext(); ) {
+                Annotation annotation = it.next();
+                if (annotation instanceof SQLPerformanceAnnotation) {
+                    Position position = annotationModel.getPosition(annotation);
+                    if (hints == null || position == null || position.overlapsWith(offset, length)) {
+                        toRemove.add(annotation);
+                    }
+                }
+            }
+            Map<Annotation, Position> toAdd = hints == null ? Collections.emptyMap() : hints;
+            if (toRemove.isEmpty() && toAdd.isEmpty()) {
+                return;
+            }
+            if (annotationModel instanceof IAnnotationModelExtension extension) {
+                extension.replaceAnnotations(toRemove.toArray(new Annotation[0]), toAdd);
+            } else {
+                for (Annotation annotation : toRemove) {
+                    annotationModel.removeAnnotation(annotation);
+                }
+                for (Map.Entry<Annotation, Position> entry : toAdd.entrySet()) {
+                    annotationModel.addAnnotation(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
     private class DocumentLifecycleListener implements IDocumentListener, ITextInputListener, IViewportListener {
 
         @Override
@@ -0,0 +1,42 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.sql.semantics;
+
+import org.eclipse.jface.text.source.Annotation;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.sql.semantics.SQLQueryPerformanceProblem;
+
+/**
+ * Warning annotation for the query performance problem found by background analysis
+ */
+public class SQLPerformanceAnnotation extends Annotation {
+
+    public static final String TYPE = "org.eclipse.ui.workbench.texteditor.warning";
+
+    @NotNull
+    private final SQLQueryPerformanceProblem problem;
+
+    public SQLPerformanceAnnotation(@NotNull SQLQueryPerformanceProblem problem) {
+        super(TYPE, false, problem.getMessage());
+        this.problem = problem;
+    }
+
+    @NotNull
+    public SQLQueryPerformanceProblem getProblem() {
+        return problem;
+    }
+}
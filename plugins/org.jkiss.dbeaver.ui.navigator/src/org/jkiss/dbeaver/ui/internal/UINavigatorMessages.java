@@ -143,6 +143,10 @@ public class UINavigatorMessages extends NLS {
     public static String pref_page_database_general_label_group_database_by_driver;
     public static String pref_page_database_general_label_long_list_fetch_size;
     public static String pref_page_database_general_label_long_list_fetch_size_tip;
+    public static String pref_page_database_general_label_children_page_size;
+    public static String pref_page_database_general_label_children_page_size_tip;
+    public static String navigator_load_more_children;
+    public static String navigator_search_children_on_server;
     public static String pref_page_database_general_label_double_click_node;
     public static String pref_page_database_general_label_double_click_node_open_properties;
     public static String pref_page_database_general_label_double_click_node_expand_collapse;
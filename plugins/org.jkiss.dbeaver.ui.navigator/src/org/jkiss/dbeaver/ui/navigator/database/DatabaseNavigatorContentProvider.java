@@ -19,10 +19,13 @@ package org.jkiss.dbeaver.ui.navigator.database;
 import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.swt.widgets.Text;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.navigator.*;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.UIUtils;
@@ -165,13 +168,14 @@ class DatabaseNavigatorContentProvider implements IStructuredContentProvider, IT
     }
 
     @NotNull
-    private static Object[] getFinalNodes(@NotNull DBNNode parent, @NotNull DBNNode[] children) {
+    private Object[] getFinalNodes(@NotNull DBNNode parent, @NotNull DBNNode[] children) {
         final int maxFetchSize = Math.max(
             NavigatorPreferences.MIN_LONG_LIST_FETCH_SIZE,
             DBWorkbench.getPlatform().getPreferenceStore().getInt(NavigatorPreferences.NAVIGATOR_LONG_LIST_FETCH_SIZE)
         );
+        final boolean hasMorePages = parent instanceof DBNDatabaseNode dbNode && dbNode.hasMoreChildren();
 
-        if (parent.isFiltered() || maxFetchSize < children.length) {
+        if (parent.isFiltered() || hasMorePages || maxFetchSize < children.length) {
             final List<Object> nodes = new ArrayList<>(maxFetchSize);
 
             if (parent.isFiltered()) {
@@ -184,6 +188,15 @@ class DatabaseNavigatorContentProvider implements IStructuredContentProvider, IT
             } else {
                 nodes.addAll(List.of(children));
             }
+            if (hasMorePages) {
+                // Remaining children are still on the server
+                DBNDatabaseNode dbNode = (DBNDatabaseNode) parent;
+                nodes.add(new TreeNodePageLoader(dbNode, null));
+                String searchMask = getSearchMask(dbNode);
+                if (searchMask != null) {
+                    nodes.add(new TreeNodePageLoader(dbNode, searchMask));
+                }
+            }
 
             return nodes.toArray();
         } else if (children.length == 0) {
@@ -193,6 +206,34 @@ class DatabaseNavigatorContentProvider implements IStructuredContentProvider, IT
         }
     }
 
+    /**
+     * Makes LIKE mask for the server-side search of the filter text.
+     * Returns null if there is no filter text or its wildcards can't be escaped in this dialect.
+     */
+    @Nullable
+    private String getSearchMask(@NotNull DBNDatabaseNode node) {
+        String searchText = getSearchText();
+        if (searchText == null) {
+            return null;
+        }
+        String escape = SQLUtils.getDialectFromObject(node.getObject()).getSearchStringEscape();
+        String escapedText = SQLUtils.escapeLikeWildcards(searchText, escape);
+        return escapedText == null ? null : "%" + escapedText + "%";
+    }
+
+    @Nullable
+    private String getSearchText() {
+        Text filterControl = navigatorTree.getFilterControl();
+        if (filterControl == null || filterControl.isDisposed()) {
+            return null;
+        }
+        String text = filterControl.getText().trim();
+        if (text.isEmpty() || text.equals(navigatorTree.getFilterPlaceholderText())) {
+            return null;
+        }
+        return text;
+    }
+
 /*
     public void cancelLoading(Object parent)
     {
@@ -0,0 +1,85 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.navigator.database.load;
+
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.graphics.Image;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.ui.DBeaverIcons;
+import org.jkiss.dbeaver.ui.UIIcon;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.internal.UINavigatorMessages;
+import org.jkiss.dbeaver.ui.navigator.database.DatabaseNavigatorTree;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * A special node which reads the next page of children (or children matching a name mask) from the server.
+ */
+public class TreeNodePageLoader extends TreeNodeSpecial {
+
+    private static final Image IMG_MORE = DBeaverIcons.getImage(UIIcon.REFRESH);
+
+    @Nullable
+    private final String nameMask;
+
+    public TreeNodePageLoader(@NotNull DBNDatabaseNode parent, @Nullable String nameMask) {
+        super(parent);
+        this.nameMask = nameMask;
+    }
+
+    @Override
+    public String getText(Object element) {
+        if (nameMask == null) {
+            return UINavigatorMessages.navigator_load_more_children;
+        }
+        return NLS.bind(UINavigatorMessages.navigator_search_children_on_server, nameMask);
+    }
+
+    @Override
+    public Image getImage(Object element) {
+        return IMG_MORE;
+    }
+
+    @Override
+    public boolean handleDefaultAction(DatabaseNavigatorTree tree) {
+        DBNDatabaseNode parent = (DBNDatabaseNode) getParent();
+        try {
+            UIUtils.runInProgressService(monitor -> {
+                try {
+                    parent.loadMoreChildren(monitor, nameMask);
+                } catch (DBException e) {
+                    throw new InvocationTargetException(e);
+                }
+            });
+        } catch (InvocationTargetException e) {
+            DBWorkbench.getPlatformUI().showError(
+                "Load children",
+                "Error loading children of '" + parent.getNodeDisplayName() + "'",
+                e.getTargetException());
+        } catch (InterruptedException e) {
+            // Canceled
+        }
+        tree.getViewer().refresh(parent);
+        return true;
+    }
+
+}
@@ -72,6 +72,7 @@ public class PrefPageDatabaseNavigator extends AbstractPrefPage implements IWork
     private Button showResourceFolderPlaceholdersCheck;
     private Button groupByDriverCheck;
     private Text longListFetchSizeText;
+    private Text childrenPageSizeText;
     private Combo dsDoubleClickBehavior;
     private Combo objDoubleClickBehavior;
     private Combo defaultEditorPageCombo;
@@ -218,6 +219,14 @@ public class PrefPageDatabaseNavigator extends AbstractPrefPage implements IWork
             longListFetchSizeText.setToolTipText(UINavigatorMessages.pref_page_database_general_label_long_list_fetch_size_tip);
             longListFetchSizeText.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.getDefault()));
 
+            childrenPageSizeText = UIUtils.createLabelText(
+                miscGroup,
+                UINavigatorMessages.pref_page_database_general_label_children_page_size,
+                store.getString(ModelPreferences.NAVIGATOR_CHILDREN_PAGE_SIZE),
+                SWT.BORDER);
+            childrenPageSizeText.setToolTipText(UINavigatorMessages.pref_page_database_general_label_children_page_size_tip);
+            childrenPageSizeText.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.getDefault()));
+
             restoreStateDepthText = UIUtils.createLabelText(
                 miscGroup,
                 UINavigatorMessages.pref_page_database_general_label_restore_state_depth,
@@ -277,6 +286,7 @@ public class PrefPageDatabaseNavigator extends AbstractPrefPage implements IWork
         showResourceFolderPlaceholdersCheck.setSelection(store.getDefaultBoolean(ModelPreferences.NAVIGATOR_SHOW_FOLDER_PLACEHOLDERS));
         groupByDriverCheck.setSelection(store.getDefaultBoolean(NavigatorPreferences.NAVIGATOR_GROUP_BY_DRIVER));
         longListFetchSizeText.setText(String.valueOf(store.getDefaultInt(NavigatorPreferences.NAVIGATOR_LONG_LIST_FETCH_SIZE)));
+        childrenPageSizeText.setText(String.valueOf(store.getDefaultInt(ModelPreferences.NAVIGATOR_CHILDREN_PAGE_SIZE)));
         UIUtils.setComboSelection(objDoubleClickBehavior, store.getDefaultString(NavigatorPreferences.NAVIGATOR_OBJECT_DOUBLE_CLICK));
         UIUtils.setComboSelection(dsDoubleClickBehavior, store.getDefaultString(NavigatorPreferences.NAVIGATOR_CONNECTION_DOUBLE_CLICK));
         defaultEditorPageCombo.select(store.getDefaultInt(NavigatorPreferences.NAVIGATOR_DEFAULT_EDITOR_PAGE));
@@ -303,6 +313,7 @@ public class PrefPageDatabaseNavigator extends AbstractPrefPage implements IWork
         store.setValue(ModelPreferences.NAVIGATOR_SHOW_FOLDER_PLACEHOLDERS, showResourceFolderPlaceholdersCheck.getSelection());
         store.setValue(NavigatorPreferences.NAVIGATOR_GROUP_BY_DRIVER, groupByDriverCheck.getSelection());
         store.setValue(NavigatorPreferences.NAVIGATOR_LONG_LIST_FETCH_SIZE, longListFetchSizeText.getText());
+        store.setValue(ModelPreferences.NAVIGATOR_CHILDREN_PAGE_SIZE, childrenPageSizeText.getText());
         NavigatorPreferences.DoubleClickBehavior objDCB = NavigatorPreferences.DoubleClickBehavior.EXPAND;
         if (objDoubleClickBehavior.getSelectionIndex() == 0) {
             objDCB = NavigatorPreferences.DoubleClickBehavior.EDIT;
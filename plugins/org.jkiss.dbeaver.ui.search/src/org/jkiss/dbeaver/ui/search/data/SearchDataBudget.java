@@ -0,0 +1,95 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.search.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits of a data search: total number of found rows (shared by all search workers)
+ * and time budget of each table search.
+ */
+public class SearchDataBudget implements AutoCloseable {
+
+    private final long maxHits;
+    private final long tableTimeoutMs;
+    private final AtomicLong totalHits = new AtomicLong();
+    @Nullable
+    private final ScheduledExecutorService timeoutScheduler;
+
+    /**
+     * @param maxHits        max number of found rows, 0 means no limit
+     * @param tableTimeoutMs time budget of one table search in milliseconds, 0 means no limit
+     */
+    public SearchDataBudget(long maxHits, long tableTimeoutMs) {
+        this.maxHits = maxHits;
+        this.tableTimeoutMs = tableTimeoutMs;
+        this.timeoutScheduler = tableTimeoutMs <= 0 ? null : Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Data search timeout watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public long getTotalHits() {
+        return totalHits.get();
+    }
+
+    /**
+     * Registers found row. Returns true if hit limit is reached, so search must stop.
+     */
+    public boolean addHit() {
+        long hits = totalHits.incrementAndGet();
+        return maxHits > 0 && hits >= maxHits;
+    }
+
+    public boolean isHitLimitReached() {
+        return maxHits > 0 && totalHits.get() >= maxHits;
+    }
+
+    /**
+     * Schedules table timeout handler. Returns null if there is no time budget.
+     * Returned future must be cancelled when table search ends.
+     */
+    @Nullable
+    public ScheduledFuture<?> startTableTimer(@NotNull Runnable onTimeout) {
+        ScheduledExecutorService scheduler = timeoutScheduler;
+        if (scheduler == null) {
+            return null;
+        }
+        try {
+            return scheduler.schedule(onTimeout, tableTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Search is finished
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (timeoutScheduler != null) {
+            timeoutScheduler.shutdownNow();
+        }
+    }
+}
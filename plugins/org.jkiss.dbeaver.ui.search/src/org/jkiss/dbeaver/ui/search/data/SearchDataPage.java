@@ -60,6 +60,10 @@ public class SearchDataPage extends AbstractSearchPage {
     private static final String PROP_SEARCH_NUMBERS = "search.data.search-numbers"; //$NON-NLS-1$
     private static final String PROP_SEARCH_LOBS = "search.data.search-lobs"; //$NON-NLS-1$
     private static final String PROP_SEARCH_FOREIGN = "search.data.search-foreign"; //$NON-NLS-1$
+    private static final String PROP_PARALLELISM = "search.data.parallelism"; //$NON-NLS-1$
+    private static final String PROP_TABLE_TIMEOUT = "search.data.table-timeout"; //$NON-NLS-1$
+    private static final String PROP_MAX_HITS = "search.data.max-hits"; //$NON-NLS-1$
+    private static final String PROP_SKIP_SHORT_COLUMNS = "search.data.skip-short-columns"; //$NON-NLS-1$
     private static final String PROP_HISTORY = "search.data.history"; //$NON-NLS-1$
 
     private static final String PROP_SOURCES = "search.data.object-source"; //$NON-NLS-1$
@@ -216,6 +220,36 @@ public class SearchDataPage extends AbstractSearchPage {
             maxResultsSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
             maxResultsSpinner.addModifyListener(e -> params.maxResults = maxResultsSpinner.getSelection());
 
+            final Spinner maxHitsSpinner = UIUtils.createLabelSpinner(
+                optionsGroup2,
+                UISearchMessages.dialog_data_search_spinner_max_hits,
+                UISearchMessages.dialog_data_search_spinner_max_hits_tip, params.maxHits,
+                0,
+                Integer.MAX_VALUE);
+            maxHitsSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
+            maxHitsSpinner.addModifyListener(e -> params.maxHits = maxHitsSpinner.getSelection());
+
+            if (params.parallelism <= 0) {
+                params.parallelism = 1;
+            }
+            final Spinner parallelismSpinner = UIUtils.createLabelSpinner(
+                optionsGroup2,
+                UISearchMessages.dialog_data_search_spinner_parallelism,
+                UISearchMessages.dialog_data_search_spinner_parallelism_tip, params.parallelism,
+                1,
+                64);
+            parallelismSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
+            parallelismSpinner.addModifyListener(e -> params.parallelism = parallelismSpinner.getSelection());
+
+            final Spinner tableTimeoutSpinner = UIUtils.createLabelSpinner(
+                optionsGroup2,
+                UISearchMessages.dialog_data_search_spinner_table_timeout,
+                UISearchMessages.dialog_data_search_spinner_table_timeout_tip, params.tableTimeout,
+                0,
+                Integer.MAX_VALUE);
+            tableTimeoutSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
+            tableTimeoutSpinner.addModifyListener(e -> params.tableTimeout = tableTimeoutSpinner.getSelection());
+
             final Button caseCheckbox = UIUtils.createCheckbox(
                 optionsGroup2,
                 UISearchMessages.dialog_search_objects_case_sensitive,
@@ -265,6 +299,19 @@ public class SearchDataPage extends AbstractSearchPage {
                 }
             });
 
+            final Button skipShortColumnsCheckbox = UIUtils.createCheckbox(
+                optionsGroup2,
+                UISearchMessages.dialog_data_search_checkbox_skip_short_columns,
+                UISearchMessages.dialog_data_search_checkbox_skip_short_columns_tip,
+                params.skipShortColumns,
+                2);
+            skipShortColumnsCheckbox.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    params.skipShortColumns = skipShortColumnsCheckbox.getSelection();
+                }
+            });
+
             final Button searchForeignCheckbox = UIUtils.createCheckbox(
                 optionsGroup2,
                 UISearchMessages.dialog_data_search_checkbox_search_in_foreign_objects,
@@ -321,6 +368,10 @@ public class SearchDataPage extends AbstractSearchPage {
         params.searchLOBs = store.getBoolean(PROP_SEARCH_LOBS);
         params.searchForeignObjects = store.getBoolean(PROP_SEARCH_FOREIGN);
         params.maxResults = store.getInt(PROP_SAMPLE_ROWS);
+        params.parallelism = store.getInt(PROP_PARALLELISM);
+        params.tableTimeout = store.getInt(PROP_TABLE_TIMEOUT);
+        params.maxHits = store.getInt(PROP_MAX_HITS);
+        params.skipShortColumns = store.getBoolean(PROP_SKIP_SHORT_COLUMNS);
         for (int i = 0; ; i++) {
             String history = store.getString(PROP_HISTORY + "." + i); //$NON-NLS-1$
             if (CommonUtils.isEmpty(history)) {
@@ -349,6 +400,10 @@ public class SearchDataPage extends AbstractSearchPage {
         store.setValue(PROP_SEARCH_NUMBERS, params.searchNumbers);
         store.setValue(PROP_SEARCH_LOBS, params.searchLOBs);
         store.setValue(PROP_SEARCH_FOREIGN, params.searchForeignObjects);
+        store.setValue(PROP_PARALLELISM, params.parallelism);
+        store.setValue(PROP_TABLE_TIMEOUT, params.tableTimeout);
+        store.setValue(PROP_MAX_HITS, params.maxHits);
+        store.setValue(PROP_SKIP_SHORT_COLUMNS, params.skipShortColumns);
         saveTreeState(store);
 
         {
@@ -35,6 +35,10 @@ public class SearchDataParams {
     boolean searchLOBs;
     boolean searchForeignObjects;
     int maxResults;
+    int parallelism = 1; // Number of search workers
+    int tableTimeout; // Per-table search time budget (seconds)
+    int maxHits; // Stop search after this number of found rows
+    boolean skipShortColumns; // Skip columns whose max length is less than search string length
     List<DBNNode> selectedNodes = new ArrayList<>();
 
     public SearchDataParams()
@@ -105,6 +109,38 @@ public class SearchDataParams {
         this.maxResults = maxResults;
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getTableTimeout() {
+        return tableTimeout;
+    }
+
+    public void setTableTimeout(int tableTimeout) {
+        this.tableTimeout = tableTimeout;
+    }
+
+    public int getMaxHits() {
+        return maxHits;
+    }
+
+    public void setMaxHits(int maxHits) {
+        this.maxHits = maxHits;
+    }
+
+    public boolean isSkipShortColumns() {
+        return skipShortColumns;
+    }
+
+    public void setSkipShortColumns(boolean skipShortColumns) {
+        this.skipShortColumns = skipShortColumns;
+    }
+
     public List<DBNNode> getSelectedNodes() {
         return selectedNodes;
     }
@@ -36,12 +36,11 @@ import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.navigator.DBNModel;
-import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
-import org.jkiss.dbeaver.model.runtime.DefaultProgressMonitor;
-import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.*;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.resultset.IResultSetController;
@@ -55,6 +54,8 @@ import org.jkiss.utils.CommonUtils;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SearchDataQuery implements ISearchQuery {
 
@@ -62,6 +63,10 @@ public class SearchDataQuery implements ISearchQuery {
 
     private final SearchDataParams params;
     private SearchDataResult searchResult;
+    private final Set<SearchTableMonitor> activeMonitors = new HashSet<>();
+    // Locks of default contexts (per instance or data source) used by workers which couldn't open an isolated context
+    private final Map<Object, Object> sharedContextLocks = new ConcurrentHashMap<>();
+    private volatile SearchDataBudget budget = new SearchDataBudget(0, 0);
 
     private SearchDataQuery(SearchDataParams params)
     {
@@ -96,6 +101,7 @@ public class SearchDataQuery implements ISearchQuery {
     public IStatus run(IProgressMonitor m) throws OperationCanceledException {
         try {
             String searchString = params.getSearchString();
+            sharedContextLocks.clear();
 
             //monitor.subTask("Collect tables");
             Set<DBPDataSource> dataSources = new HashSet<>();
@@ -108,22 +114,29 @@ public class SearchDataQuery implements ISearchQuery {
 
             DBRProgressMonitor monitor = new DefaultProgressMonitor(m);
 
-            int totalObjects = 0;
+            int totalObjects;
 
             monitor.beginTask(
                 "Search \"" + searchString + "\" in " + params.sources.size() + " table(s) / " + dataSources.size() + " database(s)",
                 params.sources.size());
+            budget = new SearchDataBudget(params.maxHits, params.tableTimeout * 1000L);
             try {
-                for (DBSDataContainer dataContainer : params.sources) {
-                    if (monitor.isCanceled()) {
-                        break;
-                    }
-                    if (searchDataInContainer(monitor, dbnModel, dataContainer)) {
-                        totalObjects++;
+                if (params.parallelism > 1 && params.sources.size() > 1) {
+                    totalObjects = searchParallel(monitor, dbnModel);
+                } else {
+                    totalObjects = 0;
+                    for (DBSDataContainer dataContainer : params.sources) {
+                        if (isSearchStopped(monitor)) {
+                            break;
+                        }
+                        if (searchDataInContainer(monitor, dbnModel, dataContainer, null)) {
+                            totalObjects++;
+                        }
+                        monitor.worked(1);
                     }
-                    monitor.worked(1);
                 }
             } finally {
+                budget.close();
                 monitor.done();
             }
 
@@ -135,7 +148,58 @@ public class SearchDataQuery implements ISearchQuery {
         }
     }
 
-    private boolean searchDataInContainer(DBRProgressMonitor monitor, DBNModel dbnModel, DBSDataContainer dataContainer) {
+    /**
+     * Searches tables using a fixed pool of workers. Each worker takes tables from the shared queue
+     * and runs queries in its own isolated execution contexts, one per database instance.
+     * If isolated context can't be opened then tables of that instance are searched in the default context
+     * one at a time.
+     */
+    private int searchParallel(DBRProgressMonitor monitor, DBNModel dbnModel) throws InterruptedException {
+        Queue<DBSDataContainer> queue = new ConcurrentLinkedQueue<>(params.sources);
+        AtomicInteger totalObjects = new AtomicInteger();
+        Set<DBSInstance> failedInstances = ConcurrentHashMap.newKeySet();
+        int workerCount = Math.min(params.parallelism, params.sources.size());
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount, new ThreadFactory() {
+            private final AtomicInteger counter = new AtomicInteger();
+            @Override
+            public Thread newThread(@NotNull Runnable r) {
+                Thread thread = new Thread(r, "Data search worker " + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            for (int i = 0; i < workerCount; i++) {
+                executor.execute(new SearchWorker(monitor, dbnModel, queue, totalObjects, failedInstances));
+            }
+            executor.shutdown();
+            while (!executor.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+                if (monitor.isCanceled()) {
+                    // Workers will stop after current table. Cancel running queries
+                    queue.clear();
+                    synchronized (activeMonitors) {
+                        for (SearchTableMonitor tableMonitor : activeMonitors) {
+                            tableMonitor.cancelSearch(false);
+                        }
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return totalObjects.get();
+    }
+
+    private boolean isSearchStopped(DBRProgressMonitor monitor) {
+        return monitor.isCanceled() || budget.isHitLimitReached();
+    }
+
+    private boolean searchDataInContainer(
+        DBRProgressMonitor monitor,
+        DBNModel dbnModel,
+        DBSDataContainer dataContainer,
+        @Nullable DBCExecutionContext executionContext
+    ) {
         if (!params.searchForeignObjects && dataContainer instanceof DBPForeignObject && ((DBPForeignObject) dataContainer).isForeignObject()) {
             return false;
         }
@@ -146,26 +210,49 @@ public class SearchDataQuery implements ISearchQuery {
             log.warn("Can't find tree node for object \"" + objectName + "\"");
             return false;
         }
-        monitor.subTask("Search in '" + objectName + "'");
+        synchronized (monitor) {
+            monitor.subTask("Search in '" + objectName + "'");
+        }
         log.debug("Search in '" + objectName + "'");
         SearchTableMonitor searchMonitor = new SearchTableMonitor(monitor);
-        try (DBCSession session = DBUtils.openUtilSession(searchMonitor, dataContainer, "Search rows in " + objectName)) {
+        ScheduledFuture<?> timeoutFuture = null;
+        synchronized (activeMonitors) {
+            activeMonitors.add(searchMonitor);
+        }
+        try (DBCSession session = executionContext != null ?
+            executionContext.openSession(searchMonitor, DBCExecutionPurpose.UTIL, "Search rows in " + objectName) :
+            DBUtils.openUtilSession(searchMonitor, dataContainer, "Search rows in " + objectName))
+        {
+            timeoutFuture = budget.startTableTimer(() -> searchMonitor.cancelSearch(true));
             TestDataReceiver dataReceiver = new TestDataReceiver(searchMonitor);
             try {
                 findRows(session, dataContainer, dataReceiver);
             } catch (DBCException e) {
                 // Search failed in some container - just write an error in log.
                 // We don't want to break whole search because of one single table.
-                log.debug("Fulltext search failed in '" + dataContainer.getName() + "'", e);
+                if (searchMonitor.timedOut) {
+                    log.debug("Fulltext search in '" + dataContainer.getName() + "' exceeded time limit (" + params.tableTimeout + "s)");
+                } else {
+                    log.debug("Fulltext search failed in '" + dataContainer.getName() + "'", e);
+                }
             }
 
             if (dataReceiver.rowCount > 0) {
                 SearchDataObject object = new SearchDataObject(node, dataReceiver.rowCount, dataReceiver.filter);
-                searchResult.addObjects(Collections.singletonList(object));
+                synchronized (searchResult) {
+                    searchResult.addObjects(Collections.singletonList(object));
+                }
                 return true;
             }
         } catch (DBCException e) {
             log.error("Error searching data in container", e);
+        } finally {
+            if (timeoutFuture != null) {
+                timeoutFuture.cancel(false);
+            }
+            synchronized (activeMonitors) {
+                activeMonitors.remove(searchMonitor);
+            }
         }
         return false;
     }
@@ -234,10 +321,11 @@ public class SearchDataQuery implements ISearchQuery {
                             continue;
                         }
                     case STRING:
-                        // Do not check value length. Some columns may be compressed/compacted/have special data type and thus have length < than value length.
-//                        if (attribute.getMaxLength() > 0 && attribute.getMaxLength() < params.searchString.length()) {
-//                            continue;
-//                        }
+                        // Do not check value length by default. Some columns may be compressed/compacted/have special data type and thus have length < than value length.
+                        if (params.skipShortColumns && attribute.getDataKind() == DBPDataKind.STRING &&
+                            attribute.getMaxLength() > 0 && attribute.getMaxLength() < params.searchString.length()) {
+                            continue;
+                        }
 
                         if (!params.isCaseSensitive() && ArrayUtils.contains(supportedOperators, DBCLogicalOperator.ILIKE)) {
                             operator = DBCLogicalOperator.ILIKE;
@@ -331,18 +419,152 @@ public class SearchDataQuery implements ISearchQuery {
         return dataFilter;
     }
 
+    private class SearchWorker implements Runnable {
+
+        private final DBRProgressMonitor monitor;
+        private final DBNModel dbnModel;
+        private final Queue<DBSDataContainer> queue;
+        private final AtomicInteger totalObjects;
+        private final Map<DBSInstance, DBCExecutionContext> contexts = new HashMap<>();
+        private final Set<DBSInstance> failedInstances;
+
+        SearchWorker(
+            DBRProgressMonitor monitor,
+            DBNModel dbnModel,
+            Queue<DBSDataContainer> queue,
+            AtomicInteger totalObjects,
+            Set<DBSInstance> failedInstances
+        ) {
+            this.monitor = monitor;
+            this.dbnModel = dbnModel;
+            this.queue = queue;
+            this.totalObjects = totalObjects;
+            this.failedInstances = failedInstances;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (DBSDataContainer dataContainer = queue.poll(); dataContainer != null; dataContainer = queue.poll()) {
+                    if (isSearchStopped(monitor)) {
+                        break;
+                    }
+                    try {
+                        if (searchInContainer(dataContainer)) {
+                            totalObjects.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        // Don't lose the worker (and the rest of the queue) because of one table
+                        log.error("Error searching data in '" + dataContainer.getName() + "'", e);
+                    }
+                    synchronized (monitor) {
+                        monitor.worked(1);
+                    }
+                }
+            } finally {
+                for (DBCExecutionContext context : contexts.values()) {
+                    if (context != null) {
+                        context.close();
+                    }
+                }
+                contexts.clear();
+            }
+        }
+
+        private boolean searchInContainer(DBSDataContainer dataContainer) {
+            DBSInstance instance = DBUtils.getObjectOwnerInstance(dataContainer);
+            DBCExecutionContext context = instance == null ? null : getWorkerContext(instance, dataContainer);
+            if (context != null) {
+                return searchDataInContainer(monitor, dbnModel, dataContainer, context);
+            }
+            // Default context is shared by all workers, so its tables are searched one at a time
+            Object contextKey = instance != null ? instance : dataContainer.getDataSource();
+            synchronized (sharedContextLocks.computeIfAbsent(contextKey, key -> new Object())) {
+                return searchDataInContainer(monitor, dbnModel, dataContainer, null);
+            }
+        }
+
+        @Nullable
+        private DBCExecutionContext getWorkerContext(DBSInstance instance, DBSDataContainer dataContainer) {
+            if (contexts.containsKey(instance)) {
+                return contexts.get(instance);
+            }
+            DBCExecutionContext context = null;
+            if (!failedInstances.contains(instance)) {
+                try {
+                    context = instance.openIsolatedContext(
+                        new SearchTableMonitor(monitor),
+                        "Data search worker",
+                        DBUtils.getDefaultContext(dataContainer, false));
+                } catch (DBException e) {
+                    // Other workers won't try to open more connections to this instance
+                    log.debug("Error opening data search context", e);
+                    failedInstances.add(instance);
+                }
+            }
+            // Failure is remembered too (as null), so context is not reopened for each table
+            contexts.put(instance, context);
+            return context;
+        }
+    }
+
     private class SearchTableMonitor extends VoidProgressMonitor {
 
-        private DBRProgressMonitor baseMonitor;
+        private final DBRProgressMonitor baseMonitor;
+        private final Thread searchThread;
+        private final List<DBRBlockingObject> activeBlocks = new ArrayList<>();
         private volatile boolean canceled;
+        private volatile boolean timedOut;
 
         private SearchTableMonitor(DBRProgressMonitor monitor) {
             this.baseMonitor = monitor;
+            this.searchThread = Thread.currentThread();
         }
 
         @Override
         public boolean isCanceled() {
-            return canceled || baseMonitor.isCanceled();
+            return canceled || isSearchStopped(baseMonitor);
+        }
+
+        @Override
+        public void startBlock(DBRBlockingObject object, String taskName) {
+            synchronized (activeBlocks) {
+                activeBlocks.add(object);
+            }
+        }
+
+        @Override
+        public void endBlock() {
+            synchronized (activeBlocks) {
+                if (!activeBlocks.isEmpty()) {
+                    activeBlocks.remove(activeBlocks.size() - 1);
+                }
+            }
+        }
+
+        @Override
+        public List<DBRBlockingObject> getActiveBlocks() {
+            synchronized (activeBlocks) {
+                return new ArrayList<>(activeBlocks);
+            }
+        }
+
+        /**
+         * Stops fetching and cancels running statement (if any)
+         */
+        void cancelSearch(boolean byTimeout) {
+            if (canceled) {
+                return;
+            }
+            timedOut = byTimeout;
+            canceled = true;
+            for (DBRBlockingObject block : getActiveBlocks()) {
+                try {
+                    BlockCanceler.cancelBlock(this, block, searchThread);
+                } catch (DBException e) {
+                    log.debug("Error cancelling data search query", e);
+                }
+            }
         }
     }
 
@@ -364,7 +586,7 @@ public class SearchDataQuery implements ISearchQuery {
         @Override
         public void fetchRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
             rowCount++;
-            if (rowCount >= params.maxResults) {
+            if (budget.addHit() || rowCount >= params.maxResults) {
                 searchMonitor.canceled = true;
             }
         }
@@ -48,6 +48,14 @@ public class UISearchMessages extends NLS {
     public static String dialog_data_search_control_group_settings;
     public static String dialog_data_search_spinner_max_results;
     public static String dialog_data_search_spinner_max_results_tip;
+    public static String dialog_data_search_spinner_max_hits;
+    public static String dialog_data_search_spinner_max_hits_tip;
+    public static String dialog_data_search_spinner_parallelism;
+    public static String dialog_data_search_spinner_parallelism_tip;
+    public static String dialog_data_search_spinner_table_timeout;
+    public static String dialog_data_search_spinner_table_timeout_tip;
+    public static String dialog_data_search_checkbox_skip_short_columns;
+    public static String dialog_data_search_checkbox_skip_short_columns_tip;
     public static String dialog_data_search_checkbox_case_sensitive_tip;
     public static String dialog_data_search_checkbox_fast_search;
     public static String dialog_data_search_checkbox_fast_search_tip;
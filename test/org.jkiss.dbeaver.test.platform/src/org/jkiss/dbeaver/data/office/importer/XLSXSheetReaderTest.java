@@ -0,0 +1,138 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.office.importer;
+
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+public class XLSXSheetReaderTest {
+
+    private static final String NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+    private SharedStringsTable sharedStrings;
+    private StylesTable styles;
+    private int dateStyle;
+
+    @Before
+    public void init() {
+        sharedStrings = new SharedStringsTable();
+        sharedStrings.addSharedStringItem(new XSSFRichTextString("shared"));
+        styles = new StylesTable();
+        XSSFCellStyle style = styles.createCellStyle();
+        style.setDataFormat(styles.putNumberFormat("yyyy-mm-dd"));
+        dateStyle = style.getIndex();
+    }
+
+    @Test
+    public void readCellValues() throws Exception {
+        List<Object[]> rows = readSheet(false,
+            "<row r=\"1\">" +
+                "<c r=\"A1\" t=\"s\"><v>0</v></c>" +
+                "<c r=\"B1\"><v>42</v></c>" +
+                "<c r=\"C1\"><v>1.5</v></c>" +
+                "<c r=\"D1\" t=\"b\"><v>1</v></c>" +
+                "<c r=\"E1\" t=\"inlineStr\"><is><t>inline</t></is></c>" +
+                "<c r=\"F1\" t=\"e\"><v>#DIV/0!</v></c>" +
+                "</row>"
+        );
+        Assert.assertEquals(1, rows.size());
+        Assert.assertArrayEquals(new Object[]{"shared", 42L, 1.5, true, "inline", null}, rows.get(0));
+    }
+
+    @Test
+    public void skipEmptyRowsAndCells() throws Exception {
+        List<Object[]> rows = readSheet(false,
+            "<row r=\"1\"><c r=\"A1\"><v>1</v></c></row>" +
+                "<row r=\"2\"><c r=\"A2\"/></row>" +
+                "<row r=\"3\"><c r=\"A3\"><v>3</v></c><c r=\"C3\"><v>4</v></c></row>"
+        );
+        Assert.assertEquals(2, rows.size());
+        Assert.assertArrayEquals(new Object[]{1L}, rows.get(0));
+        Assert.assertArrayEquals(new Object[]{3L, null, 4L}, rows.get(1));
+    }
+
+    @Test
+    public void readDates() throws Exception {
+        String sheet = "<row r=\"1\"><c r=\"A1\" s=\"" + dateStyle + "\"><v>45000</v></c></row>";
+        Assert.assertEquals(LocalDate.of(2023, 3, 15), toLocalDate(readSheet(false, sheet).get(0)[0]));
+        Assert.assertEquals(LocalDate.of(2027, 3, 16), toLocalDate(readSheet(true, sheet).get(0)[0]));
+    }
+
+    @Test
+    public void stopReading() throws Exception {
+        List<Object[]> rows = new ArrayList<>();
+        new XLSXSheetReader(sharedStrings, styles, false, values -> rows.add(values) && false)
+            .read(toStream(makeSheet("<row r=\"1\"><c r=\"A1\"><v>1</v></c></row><row r=\"2\"><c r=\"A2\"><v>2</v></c></row>")));
+        Assert.assertEquals(1, rows.size());
+    }
+
+    @Test
+    public void detectDate1904() throws Exception {
+        Assert.assertTrue(XLSXSheetReader.isDate1904(toStream(makeWorkbook("<workbookPr date1904=\"1\"/>"))));
+        Assert.assertTrue(XLSXSheetReader.isDate1904(toStream(makeWorkbook("<workbookPr date1904=\"true\" defaultThemeVersion=\"124226\"/>"))));
+        Assert.assertFalse(XLSXSheetReader.isDate1904(toStream(makeWorkbook("<workbookPr date1904=\"0\"/>"))));
+        Assert.assertFalse(XLSXSheetReader.isDate1904(toStream(makeWorkbook("<workbookPr defaultThemeVersion=\"124226\"/>"))));
+        Assert.assertFalse(XLSXSheetReader.isDate1904(toStream(makeWorkbook(""))));
+    }
+
+    @NotNull
+    private List<Object[]> readSheet(boolean date1904, @NotNull String rowsXml) throws DBException, IOException {
+        List<Object[]> rows = new ArrayList<>();
+        new XLSXSheetReader(sharedStrings, styles, date1904, rows::add).read(toStream(makeSheet(rowsXml)));
+        return rows;
+    }
+
+    @NotNull
+    private static String makeSheet(@NotNull String rowsXml) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>" +
+            "<worksheet xmlns=\"" + NS + "\"><sheetData>" + rowsXml + "</sheetData></worksheet>";
+    }
+
+    @NotNull
+    private static String makeWorkbook(@NotNull String workbookPr) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>" +
+            "<workbook xmlns=\"" + NS + "\">" + workbookPr + "<sheets><sheet name=\"Sheet1\" sheetId=\"1\"/></sheets></workbook>";
+    }
+
+    @NotNull
+    private static InputStream toStream(@NotNull String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @NotNull
+    private static LocalDate toLocalDate(@NotNull Object value) {
+        Assert.assertTrue(value instanceof Date);
+        return ((Date) value).toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
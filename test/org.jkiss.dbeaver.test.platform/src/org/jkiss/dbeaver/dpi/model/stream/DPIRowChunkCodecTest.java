@@ -0,0 +1,101 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.dpi.model.stream;
+
+import org.jkiss.dbeaver.model.impl.data.DBDValueError;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class DPIRowChunkCodecTest {
+
+    @Test
+    public void valuesKeepTheirTypes() throws Exception {
+        Timestamp timestamp = Timestamp.valueOf("2024-02-29 13:45:10.123456789");
+        UUID uuid = UUID.randomUUID();
+        Object[] row = {
+            true, (byte) -3, (short) 7, 42, 42L, 1.5f, 2.5d,
+            new BigDecimal("12345678901234567890.0001"), new BigInteger("-123456789012345678901234567890"),
+            "text \u20AC", 'c', uuid, new byte[]{1, 2, (byte) 0xFF},
+            timestamp, Date.valueOf("2024-02-29"), Time.valueOf("13:45:10"), new java.util.Date(1700000000000L),
+            LocalDate.of(2024, 2, 29), LocalTime.of(13, 45, 10, 5), LocalDateTime.of(2024, 2, 29, 13, 45),
+            OffsetDateTime.parse("2024-02-29T13:45:10+03:00"), null
+        };
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row);
+
+        DPIRowChunkCodec.Chunk chunk = DPIRowChunkCodec.decode(DPIRowChunkCodec.encode(rows, row.length, false));
+        Assert.assertFalse(chunk.last());
+        Assert.assertEquals(1, chunk.rows().size());
+        Object[] result = chunk.rows().get(0);
+        Assert.assertEquals(row.length, result.length);
+        for (int i = 0; i < row.length; i++) {
+            if (row[i] instanceof byte[] bytes) {
+                Assert.assertArrayEquals(bytes, (byte[]) result[i]);
+            } else {
+                Assert.assertEquals("Value " + i, row[i], result[i]);
+                if (row[i] != null) {
+                    Assert.assertSame("Type of value " + i, row[i].getClass(), result[i].getClass());
+                }
+            }
+        }
+        Assert.assertEquals(timestamp.getNanos(), ((Timestamp) result[13]).getNanos());
+    }
+
+    @Test
+    public void emptyLastChunk() throws Exception {
+        DPIRowChunkCodec.Chunk chunk = DPIRowChunkCodec.decode(DPIRowChunkCodec.encode(new ArrayList<>(), 3, true));
+        Assert.assertTrue(chunk.last());
+        Assert.assertTrue(chunk.rows().isEmpty());
+    }
+
+    @Test
+    public void shortRowsArePadded() throws Exception {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1});
+        rows.add(new Object[]{2, "b", 3L});
+
+        List<Object[]> result = DPIRowChunkCodec.decode(DPIRowChunkCodec.encode(rows, 3, true)).rows();
+        Assert.assertArrayEquals(new Object[]{1, null, null}, result.get(0));
+        Assert.assertArrayEquals(new Object[]{2, "b", 3L}, result.get(1));
+    }
+
+    @Test
+    public void errorsAndUnsupportedValues() throws Exception {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{new DBDValueError(new IllegalStateException("broken")), new StringBuilder("unknown")});
+
+        Object[] result = DPIRowChunkCodec.decode(DPIRowChunkCodec.encode(rows, 2, true)).rows().get(0);
+        Assert.assertTrue(result[0] instanceof DBDValueError);
+        Assert.assertEquals("IllegalStateException: broken", ((DBDValueError) result[0]).getErrorTitle());
+        // Unknown types are rejected instead of being passed as strings
+        Assert.assertTrue(result[1] instanceof DBDValueError);
+        Assert.assertTrue(((DBDValueError) result[1]).getErrorTitle().contains(StringBuilder.class.getName()));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.erd.ui.router.shortpath;
+
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class FigureBoundsIndexTest {
+
+    private final FigureBoundsIndex index = new FigureBoundsIndex();
+
+    @Test
+    public void testFigureInsideOneCell() {
+        index.put(figure(), new Rectangle(10, 10, 100, 50));
+
+        Assert.assertTrue(index.containsPoint(new Point(10, 10)));
+        Assert.assertTrue(index.containsPoint(new Point(109, 59)));
+        Assert.assertFalse(index.containsPoint(new Point(110, 30)));
+        Assert.assertFalse(index.containsPoint(new Point(5, 30)));
+        // Empty cell
+        Assert.assertFalse(index.containsPoint(new Point(1000, 1000)));
+    }
+
+    @Test
+    public void testFigureIntersectingCells() {
+        // Crosses both vertical and horizontal cell borders
+        index.put(figure(), new Rectangle(200, 200, 400, 100));
+
+        Assert.assertTrue(index.containsPoint(new Point(210, 210)));
+        Assert.assertTrue(index.containsPoint(new Point(300, 210)));
+        Assert.assertTrue(index.containsPoint(new Point(550, 210)));
+        Assert.assertTrue(index.containsPoint(new Point(210, 290)));
+        Assert.assertTrue(index.containsPoint(new Point(599, 299)));
+        // Same cells, but outside of the figure
+        Assert.assertFalse(index.containsPoint(new Point(100, 210)));
+        Assert.assertFalse(index.containsPoint(new Point(300, 310)));
+        Assert.assertFalse(index.containsPoint(new Point(600, 250)));
+    }
+
+    @Test
+    public void testNegativeCoordinates() {
+        index.put(figure(), new Rectangle(-300, -50, 100, 100));
+
+        Assert.assertTrue(index.containsPoint(new Point(-250, -10)));
+        Assert.assertTrue(index.containsPoint(new Point(-250, 10)));
+        Assert.assertFalse(index.containsPoint(new Point(-150, 10)));
+        Assert.assertFalse(index.containsPoint(new Point(250, 10)));
+    }
+
+    @Test
+    public void testMovedFigure() {
+        IFigure figure = figure();
+        index.put(figure, new Rectangle(0, 0, 100, 100));
+        index.put(figure, new Rectangle(1000, 1000, 100, 100));
+
+        Assert.assertFalse(index.containsPoint(new Point(50, 50)));
+        Assert.assertTrue(index.containsPoint(new Point(1050, 1050)));
+
+        // Move to the overlapping position
+        index.put(figure, new Rectangle(1050, 1050, 100, 100));
+        Assert.assertFalse(index.containsPoint(new Point(1020, 1020)));
+        Assert.assertTrue(index.containsPoint(new Point(1120, 1120)));
+    }
+
+    @Test
+    public void testRemoveFigure() {
+        IFigure figure1 = figure();
+        IFigure figure2 = figure();
+        index.put(figure1, new Rectangle(0, 0, 100, 100));
+        index.put(figure2, new Rectangle(150, 0, 200, 100));
+
+        index.remove(figure1);
+        Assert.assertFalse(index.containsPoint(new Point(50, 50)));
+        // Figure in the same cell is not affected
+        Assert.assertTrue(index.containsPoint(new Point(200, 50)));
+        Assert.assertTrue(index.containsPoint(new Point(300, 50)));
+
+        // Removing figure which is not indexed does nothing
+        index.remove(figure1);
+        index.remove(figure());
+        Assert.assertTrue(index.containsPoint(new Point(200, 50)));
+
+        index.clear();
+        Assert.assertFalse(index.containsPoint(new Point(200, 50)));
+    }
+
+    private static IFigure figure() {
+        return Mockito.mock(IFigure.class);
+    }
+
+}
@@ -17,8 +17,11 @@
 package org.jkiss.dbeaver.model;
 
 import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectPage;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 public class SQLUtilsTest {
     @Test
@@ -31,6 +34,24 @@ public class SQLUtilsTest {
         Assert.assertEquals("^A.C$", SQLUtils.makeRegexFromLike("A_C"));
         Assert.assertEquals("A.C", SQLUtils.makeRegexFromLike("%A_C%"));
     }
+
+    @Test
+    public void escapeLikeWildcardsTest() {
+        Assert.assertEquals("a\\_b\\%c\\\\d", SQLUtils.escapeLikeWildcards("a_b%c\\d", "\\"));
+        Assert.assertEquals("plain", SQLUtils.escapeLikeWildcards("plain", ""));
+        Assert.assertNull(SQLUtils.escapeLikeWildcards("a_b", ""));
+
+        DBSObjectPage page = new DBSObjectPage(null, null, "%" + SQLUtils.escapeLikeWildcards("a_b", "\\") + "%", "\\", 10);
+        Assert.assertTrue(page.matches(mockObject("xA_Bx")));
+        Assert.assertFalse(page.matches(mockObject("xaXbx")));
+        Assert.assertTrue(new DBSObjectPage(null, null, "%a_b%", 10).matches(mockObject("xaXbx")));
+    }
+
+    private static DBSObject mockObject(String name) {
+        DBSObject object = Mockito.mock(DBSObject.class);
+        Mockito.when(object.getName()).thenReturn(name);
+        return object;
+    }
     
     @Test
     public void fixLineFeedsTest() {
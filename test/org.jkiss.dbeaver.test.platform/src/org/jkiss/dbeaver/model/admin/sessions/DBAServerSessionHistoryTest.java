@@ -0,0 +1,181 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.utils.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+public class DBAServerSessionHistoryTest {
+
+    private static final int INTERVAL = 1000;
+
+    private Path tempFolder;
+
+    @Before
+    public void init() throws IOException {
+        tempFolder = Files.createTempDirectory("session-history-test");
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        IOUtils.deleteDirectory(tempFolder);
+    }
+
+    @Test
+    public void testRingOverflowDropsOldestSamples() {
+        DBAServerSessionHistory history = new DBAServerSessionHistory(null, "test", 3);
+        for (int i = 0; i < 5; i++) {
+            history.addSamples(List.of(sample(String.valueOf(i), null, "SELECT " + i, i * INTERVAL, i * INTERVAL)));
+        }
+        List<DBAServerSessionSample> samples = history.getSamples(0, Long.MAX_VALUE);
+        Assert.assertEquals(3, samples.size());
+        Assert.assertEquals(List.of("2", "3", "4"), samples.stream().map(DBAServerSessionSample::getSessionId).toList());
+    }
+
+    @Test
+    public void testSegmentRoundTrip() {
+        DBAServerSessionHistory history = new DBAServerSessionHistory(tempFolder, "test", 100);
+        history.addSamples(List.of(
+            sample("1", "IO", "SELECT * FROM orders", 0, 2 * INTERVAL),
+            sample("2", null, null, 1000, 1000)));
+        // Repeated strings are written as dictionary references
+        history.addSamples(List.of(sample("1", "IO", "SELECT * FROM orders", 5 * INTERVAL, 6 * INTERVAL)));
+        history.close();
+
+        DBAServerSessionHistory restored = new DBAServerSessionHistory(tempFolder, "test", 100);
+        // Persisted samples are read on demand
+        Assert.assertTrue(restored.getSamples(0, Long.MAX_VALUE).isEmpty());
+        restored.load();
+        List<DBAServerSessionSample> samples = restored.getSamples(0, Long.MAX_VALUE);
+        Assert.assertEquals(3, samples.size());
+
+        DBAServerSessionSample first = samples.get(0);
+        Assert.assertEquals("1", first.getSessionId());
+        Assert.assertEquals("user", first.getUser());
+        Assert.assertEquals("IO", first.getWaitEvent());
+        Assert.assertEquals("SELECT * FROM orders", first.getSqlText());
+        Assert.assertEquals(0, first.getFirstSeen());
+        Assert.assertEquals(2 * INTERVAL, first.getLastSeen());
+        Assert.assertEquals(INTERVAL, first.getSampleInterval());
+        Assert.assertEquals(42, first.getQueryDuration());
+
+        DBAServerSessionSample second = samples.get(1);
+        Assert.assertNull(second.getWaitEvent());
+        Assert.assertNull(second.getSqlText());
+
+        Assert.assertEquals("SELECT * FROM orders", samples.get(2).getSqlText());
+        Assert.assertEquals(5 * INTERVAL, samples.get(2).getFirstSeen());
+    }
+
+    @Test
+    public void testNewSegmentAfterReload() {
+        DBAServerSessionHistory history = new DBAServerSessionHistory(tempFolder, "test", 100);
+        history.addSamples(List.of(sample("1", null, "SELECT 1", 0, 0)));
+        history.close();
+
+        DBAServerSessionHistory appended = new DBAServerSessionHistory(tempFolder, "test", 100);
+        appended.addSamples(List.of(sample("2", null, "SELECT 2", INTERVAL, INTERVAL)));
+        appended.close();
+
+        DBAServerSessionHistory restored = new DBAServerSessionHistory(tempFolder, "test", 100);
+        restored.load();
+        Assert.assertEquals(
+            List.of("1", "2"),
+            restored.getSamples(0, Long.MAX_VALUE).stream().map(DBAServerSessionSample::getSessionId).toList());
+    }
+
+    @Test
+    public void testClearDeletesSegments() throws IOException {
+        DBAServerSessionHistory history = new DBAServerSessionHistory(tempFolder, "test", 100);
+        history.addSamples(List.of(sample("1", null, "SELECT 1", 0, 0)));
+        history.clear();
+        try (var files = Files.list(tempFolder)) {
+            Assert.assertEquals(0, files.count());
+        }
+        Assert.assertTrue(history.getSamples(0, Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    public void testTimeline() {
+        DBAServerSessionHistory history = new DBAServerSessionHistory(null, "test", 100);
+        history.addSamples(List.of(
+            // Active in [0, 3000)
+            sample("1", "IO", "SELECT 1", 0, 2 * INTERVAL),
+            // Active in [1000, 2000)
+            sample("2", null, "SELECT 2", INTERVAL, INTERVAL)));
+        // Open interval: active in [3000, 4000)
+        history.setCurrentSamples(List.of(sample("3", "IO", "SELECT 3", 3 * INTERVAL, 3 * INTERVAL)));
+
+        List<DBAServerSessionHistory.TimelineBucket> timeline = history.getTimeline(0, 4 * INTERVAL, 2 * INTERVAL);
+        Assert.assertEquals(2, timeline.size());
+
+        Map<String, Double> first = timeline.get(0).activeSessions();
+        Assert.assertEquals(1.0, first.get("IO"), 0.001);
+        Assert.assertEquals(0.5, first.get(DBAServerSessionSample.WAIT_CPU), 0.001);
+        Assert.assertEquals(1.5, timeline.get(0).getTotalActiveSessions(), 0.001);
+
+        Map<String, Double> second = timeline.get(1).activeSessions();
+        Assert.assertEquals(1.0, second.get("IO"), 0.001);
+        Assert.assertNull(second.get(DBAServerSessionSample.WAIT_CPU));
+        Assert.assertEquals(2 * INTERVAL, timeline.get(1).startTime());
+
+        Assert.assertTrue(history.getTimeline(0, 0, INTERVAL).isEmpty());
+    }
+
+    @Test
+    public void testTopWaits() {
+        DBAServerSessionHistory history = new DBAServerSessionHistory(null, "test", 100);
+        history.addSamples(List.of(
+            sample("1", "IO", "SELECT 1", 0, 3 * INTERVAL),
+            sample("2", "IO", "SELECT 2", 0, 0),
+            sample("3", "Lock", "UPDATE t SET a = 1", 0, INTERVAL),
+            sample("4", null, "SELECT 3", 0, 0)));
+
+        List<DBAServerSessionHistory.WaitSummary> waits = history.getTopWaits(0, 10 * INTERVAL, 2);
+        Assert.assertEquals(2, waits.size());
+
+        DBAServerSessionHistory.WaitSummary io = waits.get(0);
+        Assert.assertEquals("IO", io.waitClass());
+        Assert.assertEquals(5 * INTERVAL, io.activeTime());
+        Assert.assertEquals(2, io.sessionCount());
+        Assert.assertEquals("SELECT 1", io.topSqlText());
+
+        Assert.assertEquals("Lock", waits.get(1).waitClass());
+        Assert.assertEquals(2 * INTERVAL, waits.get(1).activeTime());
+
+        // Range limits active time
+        waits = history.getTopWaits(0, INTERVAL, 10);
+        Assert.assertEquals(3, waits.size());
+        for (DBAServerSessionHistory.WaitSummary summary : waits) {
+            Assert.assertEquals(summary.waitClass().equals("IO") ? 2 * INTERVAL : INTERVAL, summary.activeTime());
+        }
+    }
+
+    private static DBAServerSessionSample sample(String sessionId, String waitEvent, String sqlText, long firstSeen, long lastSeen) {
+        return new DBAServerSessionSample(sessionId, "user", waitEvent, sqlText, firstSeen, lastSeen, INTERVAL, 42);
+    }
+
+}
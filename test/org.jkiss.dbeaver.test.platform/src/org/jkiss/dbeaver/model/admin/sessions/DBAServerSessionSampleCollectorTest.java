@@ -0,0 +1,143 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class DBAServerSessionSampleCollectorTest {
+
+    private static final int INTERVAL = 1000;
+
+    private final DBAServerSessionSampleCollector collector = new DBAServerSessionSampleCollector(INTERVAL);
+
+    @Test
+    public void testIdenticalObservationsAreFolded() {
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(collector.addObservation(i * INTERVAL, List.of(session("1", "IO", "SELECT 1"))).isEmpty());
+        }
+        List<DBAServerSessionSample> current = collector.getCurrentSamples();
+        Assert.assertEquals(1, current.size());
+        DBAServerSessionSample sample = current.get(0);
+        Assert.assertEquals(0, sample.getFirstSeen());
+        Assert.assertEquals(4 * INTERVAL, sample.getLastSeen());
+        Assert.assertEquals(5 * INTERVAL, sample.getEndTime());
+        Assert.assertEquals("IO", sample.getWaitClass());
+    }
+
+    @Test
+    public void testChangedActivityStartsNewInterval() {
+        collector.addObservation(0, List.of(session("1", "IO", "SELECT 1")));
+        collector.addObservation(INTERVAL, List.of(session("1", "IO", "SELECT 1")));
+
+        // Same query, but different wait event
+        List<DBAServerSessionSample> closed = collector.addObservation(2 * INTERVAL, List.of(session("1", null, "SELECT 1")));
+        Assert.assertEquals(1, closed.size());
+        Assert.assertEquals("IO", closed.get(0).getWaitEvent());
+        Assert.assertEquals(INTERVAL, closed.get(0).getLastSeen());
+
+        // Different query
+        closed = collector.addObservation(3 * INTERVAL, List.of(session("1", null, "SELECT 2")));
+        Assert.assertEquals(1, closed.size());
+        Assert.assertEquals(DBAServerSessionSample.WAIT_CPU, closed.get(0).getWaitClass());
+        Assert.assertEquals("SELECT 1", closed.get(0).getSqlText());
+
+        DBAServerSessionSample current = collector.getCurrentSamples().get(0);
+        Assert.assertEquals("SELECT 2", current.getSqlText());
+        Assert.assertEquals(3 * INTERVAL, current.getFirstSeen());
+    }
+
+    @Test
+    public void testIdleSessionClosesInterval() {
+        collector.addObservation(0, List.of(session("1", null, "SELECT 1"), session("2", null, "SELECT 2")));
+        TestSession idle = session("2", null, null);
+        idle.active = false;
+        List<DBAServerSessionSample> closed = collector.addObservation(INTERVAL, List.of(session("1", null, "SELECT 1"), idle));
+        Assert.assertEquals(1, closed.size());
+        Assert.assertEquals("2", closed.get(0).getSessionId());
+
+        // Session disappeared
+        closed = collector.addObservation(2 * INTERVAL, List.of());
+        Assert.assertEquals(1, closed.size());
+        Assert.assertEquals("1", closed.get(0).getSessionId());
+        Assert.assertEquals(INTERVAL, closed.get(0).getLastSeen());
+        Assert.assertTrue(collector.getCurrentSamples().isEmpty());
+    }
+
+    @Test
+    public void testCloseAll() {
+        collector.addObservation(0, List.of(session("1", null, "SELECT 1"), session("2", "Lock", "UPDATE t SET a = 1")));
+        Assert.assertEquals(2, collector.closeAll().size());
+        Assert.assertTrue(collector.getCurrentSamples().isEmpty());
+        Assert.assertTrue(collector.addObservation(INTERVAL, List.of()).isEmpty());
+    }
+
+    private static TestSession session(String sessionId, String waitEvent, String sqlText) {
+        return new TestSession(sessionId, waitEvent, sqlText);
+    }
+
+    private static class TestSession implements DBAServerSession, DBAServerSessionActivity {
+        private final String sessionId;
+        private final String waitEvent;
+        private final String sqlText;
+        private boolean active = true;
+
+        TestSession(String sessionId, String waitEvent, String sqlText) {
+            this.sessionId = sessionId;
+            this.waitEvent = waitEvent;
+            this.sqlText = sqlText;
+        }
+
+        @Override
+        public String getActiveQuery() {
+            return sqlText;
+        }
+
+        @Override
+        public Object getActiveQueryId() {
+            return null;
+        }
+
+        @Override
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        @Override
+        public String getSessionUser() {
+            return "user";
+        }
+
+        @Override
+        public boolean isSessionActive() {
+            return active;
+        }
+
+        @Override
+        public String getSessionWaitEvent() {
+            return waitEvent;
+        }
+
+        @Override
+        public long getActiveQueryDuration() {
+            return -1;
+        }
+    }
+
+}
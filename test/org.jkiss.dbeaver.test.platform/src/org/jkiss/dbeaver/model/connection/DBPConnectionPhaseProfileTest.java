@@ -0,0 +1,129 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.connection;
+
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+public class DBPConnectionPhaseProfileTest {
+
+    private DBPDataSourceContainer container;
+    private DBPConnectionPhaseProfile profile;
+
+    @Before
+    public void setUp() {
+        container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(container.getName()).thenReturn("test");
+        profile = new DBPConnectionPhaseProfile(container);
+    }
+
+    @Test
+    public void testPhasesOrderedByStart() throws Exception {
+        DBPConnectionPhaseProfile.PhaseTimer outer = profile.startPhase(DBPConnectionPhaseProfile.PHASE_OPEN_DATA_SOURCE);
+        Thread.sleep(5);
+        try (var inner = profile.startPhase(DBPConnectionPhaseProfile.PHASE_OPEN_CONTEXT)) {
+            Thread.sleep(5);
+        }
+        // Outer phase ends last but started first
+        outer.close();
+
+        List<DBPConnectionPhaseProfile.Phase> phases = profile.getPhases();
+        Assert.assertEquals(2, phases.size());
+        Assert.assertEquals(DBPConnectionPhaseProfile.PHASE_OPEN_DATA_SOURCE, phases.get(0).name());
+        Assert.assertEquals(DBPConnectionPhaseProfile.PHASE_OPEN_CONTEXT, phases.get(1).name());
+        Assert.assertTrue(phases.get(0).startOffset() <= phases.get(1).startOffset());
+        Assert.assertTrue(phases.get(0).duration() >= phases.get(1).duration());
+        Assert.assertEquals(Thread.currentThread().getName(), phases.get(0).threadName());
+    }
+
+    @Test
+    public void testFailedPhase() {
+        try (var phase = profile.startPhase(DBPConnectionPhaseProfile.PHASE_LOAD_DRIVER)) {
+            phase.markFailed();
+        }
+        try (var phase = profile.startPhase(DBPConnectionPhaseProfile.PHASE_AUTHENTICATE)) {
+            // Succeeded
+        }
+        List<DBPConnectionPhaseProfile.Phase> phases = profile.getPhases();
+        Assert.assertTrue(phases.get(0).failed());
+        Assert.assertFalse(phases.get(1).failed());
+    }
+
+    @Test
+    public void testPhaseClosedTwiceRecordedOnce() {
+        DBPConnectionPhaseProfile.PhaseTimer phase = profile.startPhase(DBPConnectionPhaseProfile.PHASE_INITIALIZE);
+        phase.close();
+        phase.close();
+        Assert.assertEquals(1, profile.getPhases().size());
+    }
+
+    @Test
+    public void testPhasesAfterFinishIgnored() {
+        Assert.assertFalse(profile.isFinished());
+        Assert.assertEquals(-1, profile.getTotalTime());
+        try (var phase = profile.startPhase(DBPConnectionPhaseProfile.PHASE_INITIALIZE)) {
+            // Recorded
+        }
+        profile.finish();
+        Assert.assertTrue(profile.isFinished());
+        Assert.assertTrue(profile.getTotalTime() >= 0);
+
+        try (var phase = profile.startPhase(DBPConnectionPhaseProfile.PHASE_AFTER_CONNECT)) {
+            // Ignored
+        }
+        Assert.assertEquals(1, profile.getPhases().size());
+    }
+
+    @Test
+    public void testConcurrentPhases() throws Exception {
+        Thread worker = new Thread(() -> {
+            try (var phase = profile.startPhase(DBPConnectionPhaseProfile.PHASE_LOAD_DRIVER)) {
+                // Recorded from worker thread
+            }
+        }, "Phase worker");
+        try (var phase = profile.startPhase(DBPConnectionPhaseProfile.PHASE_NETWORK_HANDLERS)) {
+            worker.start();
+            worker.join();
+        }
+        List<DBPConnectionPhaseProfile.Phase> phases = profile.getPhases();
+        Assert.assertEquals(2, phases.size());
+        Assert.assertTrue(phases.stream().anyMatch(p -> p.threadName().equals("Phase worker")));
+    }
+
+    @Test
+    public void testContainerPhases() {
+        // Container which is not connecting
+        try (var phase = DBPConnectionPhaseProfile.startPhase(container, DBPConnectionPhaseProfile.PHASE_OPEN_CONTEXT)) {
+            phase.markFailed();
+        }
+        try (var phase = DBPConnectionPhaseProfile.startPhase(null, DBPConnectionPhaseProfile.PHASE_OPEN_CONTEXT)) {
+            phase.markFailed();
+        }
+        Assert.assertTrue(profile.getPhases().isEmpty());
+
+        Mockito.when(container.getConnectPhaseProfile()).thenReturn(profile);
+        try (var phase = DBPConnectionPhaseProfile.startPhase(container, DBPConnectionPhaseProfile.PHASE_OPEN_CONTEXT)) {
+            // Recorded in the container profile
+        }
+        Assert.assertEquals(1, profile.getPhases().size());
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.gis;
+
+import org.jkiss.code.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+public class GisFeatureIndexTest {
+
+    private final GeometryFactory factory = new GeometryFactory();
+
+    @Test
+    public void queryViewport() {
+        GisFeatureIndex index = new GisFeatureIndex(List.of(
+            point(0, 10, 10),
+            point(1, 50, 50),
+            line(2, 0, 0, 100, 100)
+        ));
+        Assert.assertEquals(3, index.size());
+        Assert.assertEquals(new Envelope(0, 100, 0, 100), index.getBounds());
+
+        GisFeatureIndex.QueryResult result = index.query(new Envelope(0, 20, 0, 20), 0, 100, new BitSet());
+        Assert.assertEquals(List.of(0, 2), getIds(result));
+        Assert.assertTrue(result.getClusters().isEmpty());
+        Assert.assertFalse(result.isTruncated());
+    }
+
+    @Test
+    public void skipSentFeatures() {
+        GisFeatureIndex index = new GisFeatureIndex(List.of(point(0, 10, 10), point(1, 30, 30)));
+        BitSet sentFeatures = new BitSet();
+        Assert.assertEquals(List.of(0), getIds(index.query(new Envelope(0, 20, 0, 20), 0, 100, sentFeatures)));
+        // Panning sends only new features
+        Assert.assertEquals(List.of(1), getIds(index.query(new Envelope(0, 40, 0, 40), 0, 100, sentFeatures)));
+        Assert.assertEquals(List.of(), getIds(index.query(new Envelope(0, 40, 0, 40), 0, 100, sentFeatures)));
+    }
+
+    @Test
+    public void truncateResult() {
+        List<GisFeatureIndex.Feature> features = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            features.add(line(i, i, 0, i + 10, 10));
+        }
+        GisFeatureIndex.QueryResult result = new GisFeatureIndex(features).query(new Envelope(0, 20, 0, 20), 0.001, 3, new BitSet());
+        Assert.assertEquals(List.of(0, 1, 2), getIds(result));
+        Assert.assertTrue(result.isTruncated());
+    }
+
+    @Test
+    public void clusterPoints() {
+        List<GisFeatureIndex.Feature> features = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            features.add(point(i, 1 + i * 0.1, 1));
+        }
+        // Lonely point far from others
+        features.add(point(10, 90, 90));
+        // Cell size is 60 pixels, so each group is in its own cell
+        GisFeatureIndex.QueryResult result = new GisFeatureIndex(features).query(new Envelope(0, 100, 0, 100), 0.1, 5, new BitSet());
+        Assert.assertEquals(List.of(10), getIds(result));
+        Assert.assertEquals(1, result.getClusters().size());
+        GisFeatureIndex.Cluster cluster = result.getClusters().get(0);
+        Assert.assertEquals(10, cluster.getCount());
+        Assert.assertEquals(1.45, cluster.getX(), 1e-9);
+        Assert.assertEquals(1, cluster.getY(), 1e-9);
+        Assert.assertEquals(new Envelope(1, 1.9, 1, 1), cluster.getBounds());
+    }
+
+    @Test
+    public void simplifyGeometries() {
+        Coordinate[] coordinates = new Coordinate[101];
+        for (int i = 0; i <= 100; i++) {
+            coordinates[i] = new Coordinate(i, (i % 2) * 0.01);
+        }
+        GisFeatureIndex index = new GisFeatureIndex(List.of(new GisFeatureIndex.Feature(0, factory.createLineString(coordinates), null)));
+        Geometry detailed = index.query(new Envelope(0, 100, 0, 1), 0.001, 10, new BitSet()).getGeometries().get(0);
+        Assert.assertEquals(101, detailed.getNumPoints());
+        Geometry simplified = index.query(new Envelope(0, 100, 0, 1), 1, 10, new BitSet()).getGeometries().get(0);
+        Assert.assertEquals(2, simplified.getNumPoints());
+    }
+
+    @Test
+    public void splitGeographicViewport() {
+        Assert.assertEquals(
+            List.of(new Envelope(-10, 10, -5, 5)),
+            GisFeatureIndex.splitGeographicViewport(-10, -5, 10, 5));
+        Assert.assertEquals(
+            List.of(new Envelope(170, 180, -5, 5), new Envelope(-180, -170, -5, 5)),
+            GisFeatureIndex.splitGeographicViewport(170, -5, 190, 5));
+        Assert.assertEquals(
+            List.of(new Envelope(160, 180, -5, 5), new Envelope(-180, -160, -5, 5)),
+            GisFeatureIndex.splitGeographicViewport(-200, -5, -160, 5));
+        // Viewport in the next world copy
+        Assert.assertEquals(
+            List.of(new Envelope(10, 20, -5, 5)),
+            GisFeatureIndex.splitGeographicViewport(370, -5, 380, 5));
+        Assert.assertEquals(
+            List.of(new Envelope(-180, 180, -90, 90)),
+            GisFeatureIndex.splitGeographicViewport(-300, -90, 300, 90));
+    }
+
+    @Test
+    public void queryAcrossAntimeridian() {
+        GisFeatureIndex index = new GisFeatureIndex(List.of(
+            point(0, 175, 0),
+            point(1, -175, 0),
+            point(2, 0, 0),
+            // Geometry which intersects both parts of viewport is reported once
+            line(3, -179, 1, 179, 1)
+        ));
+        GisFeatureIndex.QueryResult result = index.query(
+            GisFeatureIndex.splitGeographicViewport(170, -10, 190, 10), 0, 100, new BitSet());
+        Assert.assertEquals(List.of(0, 1, 3), getIds(result));
+    }
+
+    @NotNull
+    private GisFeatureIndex.Feature point(int id, double x, double y) {
+        return new GisFeatureIndex.Feature(id, factory.createPoint(new Coordinate(x, y)), null);
+    }
+
+    @NotNull
+    private GisFeatureIndex.Feature line(int id, double x1, double y1, double x2, double y2) {
+        return new GisFeatureIndex.Feature(id, factory.createLineString(new Coordinate[]{new Coordinate(x1, y1), new Coordinate(x2, y2)}), null);
+    }
+
+    @NotNull
+    private static List<Integer> getIds(@NotNull GisFeatureIndex.QueryResult result) {
+        List<Integer> ids = new ArrayList<>();
+        for (GisFeatureIndex.Feature feature : result.getFeatures()) {
+            ids.add(feature.getId());
+        }
+        return ids;
+    }
+}
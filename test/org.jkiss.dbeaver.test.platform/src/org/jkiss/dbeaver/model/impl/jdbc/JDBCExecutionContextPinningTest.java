@@ -0,0 +1,143 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc;
+
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCPooledSessionState.StatementEffect;
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JDBCExecutionContextPinningTest {
+
+    private final SQLDialect dialect = BasicSQLDialect.INSTANCE;
+
+    @Test
+    public void testStatelessStatements() {
+        assertEffect(StatementEffect.NONE, "SELECT * FROM orders WHERE id = 1");
+        assertEffect(StatementEffect.NONE, "with t as (select 1 as a) select a from t");
+        assertEffect(StatementEffect.NONE, "VALUES (1, 2)");
+        assertEffect(StatementEffect.NONE, "SHOW search_path");
+        assertEffect(StatementEffect.NONE, "EXPLAIN SELECT * FROM orders");
+        assertEffect(StatementEffect.NONE, "SELECT * FROM orders FOR UPDATE");
+        assertEffect(StatementEffect.NONE, "INSERT INTO orders VALUES (1)");
+        assertEffect(StatementEffect.NONE, "insert into orders select * from new_orders");
+        assertEffect(StatementEffect.NONE, "UPDATE orders SET state = 1");
+        assertEffect(StatementEffect.NONE, "DELETE FROM orders");
+        assertEffect(StatementEffect.NONE, "MERGE INTO orders USING new_orders ON (1 = 1) WHEN MATCHED THEN DELETE");
+        assertEffect(StatementEffect.NONE, "WITH d AS (DELETE FROM orders RETURNING *) INSERT INTO archive SELECT * FROM d");
+        assertEffect(StatementEffect.NONE, "SAVEPOINT sp1");
+        assertEffect(StatementEffect.NONE, "ROLLBACK TO SAVEPOINT sp1");
+    }
+
+    @Test
+    public void testTransactionStatements() {
+        assertEffect(StatementEffect.TRANSACTION_BEGIN, "BEGIN");
+        assertEffect(StatementEffect.TRANSACTION_BEGIN, "begin transaction;");
+        assertEffect(StatementEffect.TRANSACTION_BEGIN, "START TRANSACTION ISOLATION LEVEL SERIALIZABLE");
+        assertEffect(StatementEffect.TRANSACTION_END, "COMMIT");
+        assertEffect(StatementEffect.TRANSACTION_END, "rollback work;");
+        assertEffect(StatementEffect.TRANSACTION_END, "END");
+        // Anonymous block is not a transaction start
+        assertEffect(StatementEffect.SESSION_STATE, "BEGIN do_something(); END;");
+    }
+
+    @Test
+    public void testSessionStateStatements() {
+        assertEffect(StatementEffect.SESSION_STATE, null);
+        assertEffect(StatementEffect.SESSION_STATE, "");
+        assertEffect(StatementEffect.SESSION_STATE, "SET search_path TO app");
+        assertEffect(StatementEffect.SESSION_STATE, "CREATE TEMP TABLE t (id int)");
+        assertEffect(StatementEffect.SESSION_STATE, "LOCK TABLE orders");
+        assertEffect(StatementEffect.SESSION_STATE, "CALL do_something()");
+        assertEffect(StatementEffect.SESSION_STATE, "EXEC sp_do_something");
+        assertEffect(StatementEffect.SESSION_STATE, "SELECT * INTO #tmp FROM orders");
+        assertEffect(StatementEffect.SESSION_STATE, "SELECT set_config('search_path', 'app', false)");
+        assertEffect(StatementEffect.SESSION_STATE, "SELECT @v := max(id) FROM orders");
+        assertEffect(StatementEffect.SESSION_STATE, "SELECT @v = max(id) FROM orders");
+        assertEffect(StatementEffect.SESSION_STATE, "SELECT pg_try_advisory_xact_lock(42)");
+        assertEffect(StatementEffect.SESSION_STATE, "SELECT GET_LOCK('job', 10)");
+        assertEffect(StatementEffect.SESSION_STATE, "INSERT INTO orders VALUES (nextval('orders_seq'))");
+    }
+
+    @Test
+    public void testAutoCommitDmlDoesNotPin() {
+        JDBCPooledSessionState state = new JDBCPooledSessionState();
+        execute(state, "SELECT * FROM orders", true);
+        execute(state, "INSERT INTO orders VALUES (1)", true);
+        execute(state, "UPDATE orders SET state = 1", true);
+        Assert.assertFalse(state.isPinned());
+    }
+
+    @Test
+    public void testManualCommitTransactionPinsUntilCommit() {
+        JDBCPooledSessionState state = new JDBCPooledSessionState();
+        state.autoCommitChanged(false);
+        Assert.assertFalse("Manual commit mode without statements must not pin", state.isPinned());
+
+        execute(state, "SELECT * FROM orders", false);
+        Assert.assertTrue(state.isTransactionOpen());
+        Assert.assertTrue(state.isPinned());
+
+        state.transactionEnded();
+        Assert.assertFalse(state.isPinned());
+
+        execute(state, "DELETE FROM orders", false);
+        Assert.assertTrue(state.isPinned());
+        execute(state, "ROLLBACK", false);
+        Assert.assertFalse(state.isPinned());
+
+        execute(state, "UPDATE orders SET state = 1", false);
+        state.autoCommitChanged(true);
+        Assert.assertFalse("Switch to auto-commit ends the transaction", state.isPinned());
+    }
+
+    @Test
+    public void testExplicitTransactionPinsUntilEnd() {
+        JDBCPooledSessionState state = new JDBCPooledSessionState();
+        execute(state, "BEGIN", true);
+        execute(state, "INSERT INTO orders VALUES (1)", true);
+        execute(state, "SAVEPOINT sp1", true);
+        Assert.assertTrue(state.isPinned());
+        execute(state, "COMMIT", true);
+        Assert.assertFalse(state.isPinned());
+    }
+
+    @Test
+    public void testSessionStatePinsUntilReset() {
+        JDBCPooledSessionState state = new JDBCPooledSessionState();
+        execute(state, "SET search_path TO app", true);
+        Assert.assertTrue(state.isSessionStateChanged());
+        Assert.assertFalse(state.isTransactionOpen());
+
+        execute(state, "COMMIT", true);
+        state.transactionEnded();
+        state.autoCommitChanged(true);
+        Assert.assertTrue("Session state is not cleared by transaction end", state.isPinned());
+
+        state.reset();
+        Assert.assertFalse("New physical connection has no state", state.isPinned());
+    }
+
+    private void execute(JDBCPooledSessionState state, String query, boolean autoCommit) {
+        state.statementExecuted(JDBCPooledSessionState.getStatementEffect(dialect, query), autoCommit);
+    }
+
+    private void assertEffect(StatementEffect expected, String query) {
+        Assert.assertEquals(String.valueOf(query), expected, JDBCPooledSessionState.getStatementEffect(dialect, query));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc;
+
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class JDBCRemoteInstanceBootstrapTest {
+
+    private DBPPreferenceStore preferenceStore;
+    private JDBCDataSource dataSource;
+    private JDBCExecutionContext mainContext;
+    private JDBCExecutionContext metaContext;
+    private volatile Thread metaConnectThread;
+
+    @Before
+    public void setUp() {
+        preferenceStore = Mockito.mock(DBPPreferenceStore.class);
+        Mockito.when(preferenceStore.getBoolean(ModelPreferences.CONNECTION_PARALLEL_BOOTSTRAP)).thenReturn(true);
+        Mockito.when(preferenceStore.getString(ModelPreferences.META_SEPARATE_CONNECTION)).thenReturn("ALWAYS");
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(container.getPreferenceStore()).thenReturn(preferenceStore);
+        // createExecutionContext is protected, so it is answered by name instead of stubbing
+        dataSource = Mockito.mock(JDBCDataSource.class, invocation -> switch (invocation.getMethod().getName()) {
+            case "createExecutionContext" ->
+                JDBCExecutionContext.TYPE_MAIN.equals(invocation.getArgument(1)) ? mainContext : metaContext;
+            case "getContainer" -> container;
+            case "getName" -> "test";
+            default -> Mockito.RETURNS_DEFAULTS.answer(invocation);
+        });
+    }
+
+    @Test
+    public void testParallelBootstrap() throws Exception {
+        mainContext = mockContext(null);
+        metaContext = mockContext(null);
+        TestInstance instance = new TestInstance(dataSource);
+        instance.openContexts();
+
+        Assert.assertSame(mainContext, instance.getMainContext());
+        Assert.assertSame(metaContext, instance.getMetaContext());
+        Assert.assertNotNull(metaConnectThread);
+        Assert.assertNotSame(Thread.currentThread(), metaConnectThread);
+        Mockito.verify(metaContext, Mockito.never()).close();
+    }
+
+    @Test
+    public void testSequentialBootstrap() throws Exception {
+        Mockito.when(preferenceStore.getBoolean(ModelPreferences.CONNECTION_PARALLEL_BOOTSTRAP)).thenReturn(false);
+        mainContext = mockContext(null);
+        metaContext = mockContext(null);
+        TestInstance instance = new TestInstance(dataSource);
+        instance.openContexts();
+
+        Assert.assertSame(metaContext, instance.getMetaContext());
+        Assert.assertSame(Thread.currentThread(), metaConnectThread);
+    }
+
+    @Test
+    public void testMainContextFailureClosesMetaContext() {
+        mainContext = mockContext(new DBCException("Main connect failed"));
+        metaContext = mockContext(null);
+        TestInstance instance = new TestInstance(dataSource);
+        try {
+            instance.openContexts();
+            Assert.fail("Main context error expected");
+        } catch (DBCException e) {
+            Assert.assertEquals("Main connect failed", e.getMessage());
+        }
+        // Metadata connection was opened in parallel, it must not leak
+        Assert.assertNotNull(metaConnectThread);
+        Mockito.verify(metaContext).close();
+        Assert.assertNull(instance.getMetaContext());
+    }
+
+    @Test
+    public void testMetaContextFailure() {
+        mainContext = mockContext(null);
+        metaContext = mockContext(new DBCException("Meta connect failed"));
+        TestInstance instance = new TestInstance(dataSource);
+        try {
+            instance.openContexts();
+            Assert.fail("Metadata context error expected");
+        } catch (DBCException e) {
+            Assert.assertEquals("Meta connect failed", e.getMessage());
+        }
+        Mockito.verify(metaContext).close();
+        Assert.assertNull(instance.getMetaContext());
+    }
+
+    private JDBCExecutionContext mockContext(DBCException connectError) {
+        // connect is protected as well
+        return Mockito.mock(JDBCExecutionContext.class, invocation -> {
+            if (invocation.getMethod().getName().equals("connect")) {
+                if (invocation.getMock() == metaContext) {
+                    metaConnectThread = Thread.currentThread();
+                }
+                if (connectError != null) {
+                    throw connectError;
+                }
+                return null;
+            }
+            return Mockito.RETURNS_DEFAULTS.answer(invocation);
+        });
+    }
+
+    private static class TestInstance extends JDBCRemoteInstance {
+        TestInstance(JDBCDataSource dataSource) {
+            super(dataSource);
+        }
+
+        void openContexts() throws DBCException {
+            try {
+                initializeContexts(new VoidProgressMonitor());
+            } catch (DBCException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new DBCException("Unexpected error", e);
+            }
+        }
+
+        JDBCExecutionContext getMainContext() {
+            return executionContext;
+        }
+
+        JDBCExecutionContext getMetaContext() {
+            return metaContext;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.app.DBPProject;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.connection.DBPDriver;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCDatabaseMetaData;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.utils.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.*;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class JDBCCapabilityCacheTest {
+
+    private Path tempFolder;
+    private JDBCDataSource dataSource;
+    private final Map<String, Integer> serverCalls = new HashMap<>();
+
+    @Before
+    public void init() throws IOException {
+        tempFolder = Files.createTempDirectory("capability-cache-test");
+
+        DBPPreferenceStore preferenceStore = Mockito.mock(DBPPreferenceStore.class);
+        Mockito.when(preferenceStore.getBoolean(ModelPreferences.META_CAPABILITY_CACHE_ENABLED)).thenReturn(true);
+        DBPProject project = Mockito.mock(DBPProject.class);
+        Mockito.when(project.getMetadataFolder(true)).thenReturn(tempFolder);
+        DBPConnectionConfiguration configuration = new DBPConnectionConfiguration();
+        configuration.setUrl("jdbc:test://localhost/test");
+        configuration.setUserName("test");
+
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(container.getId()).thenReturn("test-connection");
+        Mockito.when(container.getName()).thenReturn("Test");
+        Mockito.when(container.getPreferenceStore()).thenReturn(preferenceStore);
+        Mockito.when(container.getProject()).thenReturn(project);
+        Mockito.when(container.getDriver()).thenReturn(Mockito.mock(DBPDriver.class));
+        Mockito.when(container.getActualConnectionConfiguration()).thenReturn(configuration);
+
+        dataSource = Mockito.mock(JDBCDataSource.class);
+        Mockito.when(dataSource.getContainer()).thenReturn(container);
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        IOUtils.deleteDirectory(tempFolder);
+    }
+
+    @Test
+    public void metaDataValuesAreReusedAfterReconnect() throws Exception {
+        JDBCCapabilityCache cache = openCache();
+        JDBCDatabaseMetaData serverMetaData = createMetaData("15.2");
+        Assert.assertTrue(cache.checkServerVersion(serverMetaData));
+        JDBCDatabaseMetaData metaData = cache.wrapMetaData(serverMetaData);
+        Assert.assertEquals("\"", metaData.getIdentifierQuoteString());
+        Assert.assertEquals("\"", metaData.getIdentifierQuoteString());
+        Assert.assertEquals(63, metaData.getMaxTableNameLength());
+        Assert.assertEquals(1, getServerCalls("getIdentifierQuoteString"));
+        Assert.assertEquals(1, getServerCalls("getMaxTableNameLength"));
+        Assert.assertEquals(2, cache.getMissCount());
+        Assert.assertEquals(1, cache.getHitCount());
+        cache.save();
+
+        serverCalls.clear();
+        cache = openCache();
+        serverMetaData = createMetaData("15.2");
+        Assert.assertTrue(cache.checkServerVersion(serverMetaData));
+        metaData = cache.wrapMetaData(serverMetaData);
+        Assert.assertEquals("\"", metaData.getIdentifierQuoteString());
+        Assert.assertEquals(63, metaData.getMaxTableNameLength());
+        Assert.assertEquals(0, getServerCalls("getIdentifierQuoteString"));
+        Assert.assertEquals(0, getServerCalls("getMaxTableNameLength"));
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void serverUpgradeResetsCache() throws Exception {
+        JDBCCapabilityCache cache = openCache();
+        JDBCDatabaseMetaData serverMetaData = createMetaData("15.2");
+        Assert.assertTrue(cache.checkServerVersion(serverMetaData));
+        cache.wrapMetaData(serverMetaData).getIdentifierQuoteString();
+        cache.save();
+
+        serverCalls.clear();
+        cache = openCache();
+        serverMetaData = createMetaData("16.1");
+        Assert.assertTrue(cache.checkServerVersion(serverMetaData));
+        JDBCDatabaseMetaData metaData = cache.wrapMetaData(serverMetaData);
+        Assert.assertEquals("\"", metaData.getIdentifierQuoteString());
+        Assert.assertEquals(1, getServerCalls("getIdentifierQuoteString"));
+        Assert.assertEquals(16, metaData.getDatabaseMajorVersion());
+        Assert.assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void versionsAreNotCached() throws Exception {
+        JDBCCapabilityCache cache = openCache();
+        JDBCDatabaseMetaData serverMetaData = createMetaData("15.2");
+        Assert.assertTrue(cache.checkServerVersion(serverMetaData));
+        JDBCDatabaseMetaData metaData = cache.wrapMetaData(serverMetaData);
+        Assert.assertEquals(15, metaData.getDatabaseMajorVersion());
+        Assert.assertEquals(15, metaData.getDatabaseMajorVersion());
+        Assert.assertEquals("15.2", metaData.getDatabaseProductVersion());
+        Assert.assertEquals(2, getServerCalls("getDatabaseMajorVersion"));
+        Assert.assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void unknownServerVersionDisablesCache() throws Exception {
+        Assert.assertFalse(openCache().checkServerVersion(createMetaData(null)));
+    }
+
+    @Test
+    public void valuesRoundTrip() throws Exception {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("getSQLKeywords", "KEYWORD,".repeat(10000));
+        values.put("getSearchStringEscape", null);
+        values.put("supportsBatchUpdates", true);
+        values.put("getMaxTableNameLength", 63);
+        values.put("probe:maxLength", Long.MAX_VALUE);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            JDBCCapabilityCache.writeValues(out, values);
+        }
+        Map<String, Object> result = JDBCCapabilityCache.readValues(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray())));
+        Assert.assertEquals(values, result);
+        Assert.assertTrue(result.containsKey("getSearchStringEscape"));
+    }
+
+    @Test(expected = IOException.class)
+    public void unsupportedValuesAreRejected() throws Exception {
+        try (DataOutputStream out = new DataOutputStream(new ByteArrayOutputStream())) {
+            JDBCCapabilityCache.writeValues(out, Map.of("value", 1.5d));
+        }
+    }
+
+    private JDBCCapabilityCache openCache() {
+        JDBCCapabilityCache cache = JDBCCapabilityCache.openCache(dataSource);
+        Assert.assertNotNull(cache);
+        return cache;
+    }
+
+    private int getServerCalls(String method) {
+        return serverCalls.getOrDefault(method, 0);
+    }
+
+    /**
+     * Metadata of the emulated server. Counts calls made to the server.
+     */
+    private JDBCDatabaseMetaData createMetaData(String version) {
+        return (JDBCDatabaseMetaData) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class[]{JDBCDatabaseMetaData.class},
+            (proxy, method, args) -> {
+                serverCalls.merge(method.getName(), 1, Integer::sum);
+                return switch (method.getName()) {
+                    case "getDatabaseProductVersion" -> {
+                        if (version == null) {
+                            throw new SQLException("Server version is not available");
+                        }
+                        yield version;
+                    }
+                    case "getDatabaseMajorVersion" -> Integer.parseInt(version.substring(0, version.indexOf('.')));
+                    case "getIdentifierQuoteString" -> "\"";
+                    case "getMaxTableNameLength" -> 63;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                };
+            });
+    }
+}
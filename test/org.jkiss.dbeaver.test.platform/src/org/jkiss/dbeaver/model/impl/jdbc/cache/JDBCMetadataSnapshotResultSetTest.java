@@ -0,0 +1,125 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class JDBCMetadataSnapshotResultSetTest {
+
+    @Test
+    public void testValueConversions() throws Exception {
+        try (ResultSet rs = createResultSet()) {
+            Assert.assertTrue(rs.next());
+            Assert.assertEquals(15, rs.getInt("NUM_TEXT"));
+            Assert.assertEquals(15L, rs.getLong(1));
+            Assert.assertEquals(new BigDecimal("15"), rs.getBigDecimal(1));
+            Assert.assertEquals("42", rs.getString("NUMBER"));
+            Assert.assertEquals(42.0, rs.getDouble("number"), 0);
+            Assert.assertTrue(rs.getBoolean("flag"));
+            Assert.assertTrue(rs.getBoolean("number"));
+            Assert.assertEquals("abc", rs.getString("bytes"));
+            Assert.assertArrayEquals("xyz".getBytes(), rs.getBytes("text"));
+            Assert.assertEquals(Timestamp.valueOf("2024-01-02 03:04:05"), rs.getTimestamp("ts_text"));
+            Assert.assertEquals(Date.valueOf("2024-01-02"), rs.getDate("ts"));
+        }
+    }
+
+    @Test
+    public void testNullValues() throws Exception {
+        try (ResultSet rs = createResultSet()) {
+            Assert.assertTrue(rs.next());
+            Assert.assertTrue(rs.next());
+            Assert.assertEquals(0L, rs.getLong("num_text"));
+            Assert.assertTrue(rs.wasNull());
+            Assert.assertFalse(rs.getBoolean("flag"));
+            Assert.assertTrue(rs.wasNull());
+            Assert.assertNull(rs.getString("text"));
+            Assert.assertNull(rs.getArray("acl"));
+            Assert.assertEquals(0, rs.getInt("number"));
+            Assert.assertFalse(rs.wasNull());
+        }
+    }
+
+    @Test
+    public void testArrayValues() throws Exception {
+        try (ResultSet rs = createResultSet()) {
+            Assert.assertTrue(rs.next());
+            Array acl = rs.getArray("acl");
+            Assert.assertArrayEquals(new String[]{"a=r/a", "b=rw/a"}, (String[]) acl.getArray());
+            Assert.assertEquals("{a=r/a,b=rw/a}", rs.getString("acl"));
+            Assert.assertSame(acl.getClass(), rs.getObject("acl", Array.class).getClass());
+        }
+    }
+
+    @Test
+    public void testNavigationAndMetadata() throws Exception {
+        ResultSet rs = createResultSet();
+        ResultSetMetaData metaData = rs.getMetaData();
+        Assert.assertEquals(8, metaData.getColumnCount());
+        Assert.assertEquals("NUM_TEXT", metaData.getColumnLabel(1));
+        Assert.assertEquals(Types.ARRAY, metaData.getColumnType(8));
+        Assert.assertEquals(3, rs.findColumn("Flag"));
+        Assert.assertTrue(rs.next());
+        Assert.assertEquals(1, rs.getRow());
+        Assert.assertTrue(rs.next());
+        Assert.assertFalse(rs.next());
+        Assert.assertFalse(rs.next());
+        rs.close();
+        Assert.assertTrue(rs.isClosed());
+    }
+
+    @Test(expected = SQLException.class)
+    public void testUnknownColumn() throws Exception {
+        try (ResultSet rs = createResultSet()) {
+            rs.next();
+            rs.getString("missing");
+        }
+    }
+
+    @Test(expected = SQLException.class)
+    public void testNoCurrentRow() throws Exception {
+        try (ResultSet rs = createResultSet()) {
+            rs.getString(1);
+        }
+    }
+
+    @Test(expected = SQLException.class)
+    public void testNotANumber() throws Exception {
+        try (ResultSet rs = createResultSet()) {
+            rs.next();
+            rs.getInt("text");
+        }
+    }
+
+    private static ResultSet createResultSet() {
+        String[] columns = {"NUM_TEXT", "number", "flag", "bytes", "text", "ts_text", "ts", "acl"};
+        int[] types = {Types.VARCHAR, Types.INTEGER, Types.VARCHAR, Types.BINARY, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.ARRAY};
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{
+            "15", 42, "true", "abc".getBytes(), "xyz", "2024-01-02 03:04:05", Timestamp.valueOf("2024-01-02 03:04:05"),
+            new JDBCMetadataSnapshotArray(Types.VARCHAR, "aclitem", new String[]{"a=r/a", "b=rw/a"})
+        });
+        rows.add(new Object[]{null, 0, null, null, null, null, null, null});
+        return JDBCMetadataSnapshotResultSet.create(new JDBCMetadataSnapshot.Entry(null, columns, types, rows));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class JDBCMetadataSnapshotTest {
+
+    @Test
+    public void testRoundTripScalarValues() throws Exception {
+        Timestamp timestamp = Timestamp.valueOf("2024-02-29 13:45:10.123456789");
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{
+            "text", 42, 42L, (short) 7, 1.5d, 2.5f, new BigDecimal("12345678901234567890.0001"), true,
+            timestamp, Date.valueOf("2024-02-29"), Time.valueOf("13:45:10"), new byte[]{1, 2, (byte) 0xFF}
+        });
+        rows.add(new Object[12]);
+        String[] columns = {"s", "i", "l", "sh", "d", "f", "dec", "b", "ts", "dt", "tm", "bytes"};
+
+        Map<String, JDBCMetadataSnapshot.Entry> result = roundTrip("query", "public", columns, new int[columns.length], rows);
+        try (ResultSet rs = JDBCMetadataSnapshotResultSet.create(result.get("query"))) {
+            Assert.assertTrue(rs.next());
+            Assert.assertEquals("text", rs.getString("s"));
+            Assert.assertEquals(42, rs.getInt("i"));
+            Assert.assertEquals(42L, rs.getLong("l"));
+            Assert.assertEquals((short) 7, rs.getShort("sh"));
+            Assert.assertEquals(1.5d, rs.getDouble("d"), 0);
+            Assert.assertEquals(2.5f, rs.getFloat("f"), 0);
+            Assert.assertEquals(new BigDecimal("12345678901234567890.0001"), rs.getBigDecimal("dec"));
+            Assert.assertTrue(rs.getBoolean("b"));
+            Assert.assertEquals(timestamp, rs.getTimestamp("ts"));
+            Assert.assertEquals(timestamp.getNanos(), rs.getTimestamp("ts").getNanos());
+            Assert.assertEquals(Date.valueOf("2024-02-29"), rs.getDate("dt"));
+            Assert.assertEquals(Time.valueOf("13:45:10"), rs.getTime("tm"));
+            Assert.assertArrayEquals(new byte[]{1, 2, (byte) 0xFF}, rs.getBytes("bytes"));
+
+            Assert.assertTrue(rs.next());
+            for (int i = 1; i <= columns.length; i++) {
+                Assert.assertNull(rs.getObject(i));
+                Assert.assertTrue(rs.wasNull());
+            }
+            Assert.assertFalse(rs.next());
+        }
+    }
+
+    @Test
+    public void testRoundTripArrays() throws Exception {
+        JDBCMetadataSnapshotArray acl = new JDBCMetadataSnapshotArray(
+            Types.VARCHAR, "aclitem", new String[]{"postgres=arwdDxt/postgres", "=r/postgres"});
+        JDBCMetadataSnapshotArray options = new JDBCMetadataSnapshotArray(
+            Types.INTEGER, "int4", new Integer[]{1, null, 3});
+        JDBCMetadataSnapshotArray nested = new JDBCMetadataSnapshotArray(
+            Types.VARCHAR, "text", new Object[]{new String[]{"a", "b"}, new String[]{"c"}});
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{acl, options, nested});
+
+        Map<String, JDBCMetadataSnapshot.Entry> result = roundTrip(
+            "query", null, new String[]{"relacl", "attoptions", "nested"}, new int[]{Types.ARRAY, Types.ARRAY, Types.ARRAY}, rows);
+        try (ResultSet rs = JDBCMetadataSnapshotResultSet.create(result.get("query"))) {
+            Assert.assertTrue(rs.next());
+            Array aclValue = rs.getArray("relacl");
+            Assert.assertEquals(acl, aclValue);
+            Assert.assertEquals("aclitem", aclValue.getBaseTypeName());
+            Assert.assertEquals(Types.VARCHAR, aclValue.getBaseType());
+            Assert.assertTrue(aclValue.getArray() instanceof String[]);
+
+            Object[] optionValues = (Object[]) rs.getArray(2).getArray();
+            Assert.assertTrue(optionValues instanceof Integer[]);
+            Assert.assertArrayEquals(new Integer[]{1, null, 3}, optionValues);
+
+            Assert.assertEquals(nested, rs.getObject("nested"));
+        }
+    }
+
+    @Test
+    public void testArrayLiteral() throws Exception {
+        JDBCMetadataSnapshotArray array = new JDBCMetadataSnapshotArray(
+            Types.VARCHAR, "text", new Object[]{"a", "b c", null, "", "q\"uo\\te", "NULL", new String[]{"x", "y,z"}});
+        Assert.assertEquals("{a,\"b c\",NULL,\"\",\"q\\\"uo\\\\te\",\"NULL\",{x,\"y,z\"}}", array.toString());
+        Assert.assertArrayEquals(new Object[]{"b c", null}, array.getArray(2, 2));
+    }
+
+    @Test(expected = SQLException.class)
+    public void testArraySliceOutOfBounds() throws Exception {
+        new JDBCMetadataSnapshotArray(Types.INTEGER, "int4", new Integer[]{1}).getArray(1, 2);
+    }
+
+    private static Map<String, JDBCMetadataSnapshot.Entry> roundTrip(
+        String key, String scope, String[] columns, int[] types, List<Object[]> rows) throws IOException
+    {
+        byte[] data = write(key, scope, columns, types, rows);
+        Map<String, JDBCMetadataSnapshot.Entry> result =
+            JDBCMetadataSnapshot.readEntries(new DataInputStream(new ByteArrayInputStream(data)));
+        Assert.assertEquals(1, result.size());
+        return result;
+    }
+
+    private static byte[] write(String key, String scope, String[] columns, int[] types, List<Object[]> rows) throws IOException {
+        Map<String, JDBCMetadataSnapshot.Entry> entries = new LinkedHashMap<>();
+        entries.put(key, new JDBCMetadataSnapshot.Entry(scope, columns, types, rows));
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            JDBCMetadataSnapshot.writeEntries(out, entries);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCStatementCache.StatementKey;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.ResultSet;
+
+public class JDBCPreparedStatementCachedImplTest {
+
+    private static final StatementKey KEY = new StatementKey("SELECT * FROM orders WHERE id = ?", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+
+    private JDBCSession session;
+    private JDBCStatementCache cache;
+
+    @Before
+    public void setUp() {
+        session = Mockito.mock(JDBCSession.class);
+        cache = new JDBCStatementCache(10);
+    }
+
+    @Test
+    public void testStatementPropertiesRestoredOnRelease() throws Exception {
+        TestPreparedStatement original = new TestPreparedStatement(100, 30, 0);
+        JDBCPreparedStatementCachedImpl statement = new JDBCPreparedStatementCachedImpl(session, original.proxy(), cache, KEY, true);
+        statement.setFetchSize(500);
+        statement.setQueryTimeout(5);
+        statement.setMaxRows(200);
+        statement.close();
+
+        Assert.assertFalse(original.closed);
+        Assert.assertEquals(100, original.fetchSize);
+        Assert.assertEquals(30, original.queryTimeout);
+        Assert.assertEquals(0, original.maxRows);
+        Assert.assertSame(original.proxy(), cache.acquire(KEY));
+    }
+
+    @Test
+    public void testReusedStatementKeepsDefaults() throws Exception {
+        TestPreparedStatement original = new TestPreparedStatement(10, 0, 0);
+        JDBCPreparedStatementCachedImpl statement = new JDBCPreparedStatementCachedImpl(session, original.proxy(), cache, KEY, true);
+        statement.setMaxRows(1);
+        statement.close();
+
+        JDBCPreparedStatementCachedImpl reused = new JDBCPreparedStatementCachedImpl(session, cache.acquire(KEY), cache, KEY, true);
+        Assert.assertEquals(10, reused.getFetchSize());
+        Assert.assertEquals(0, reused.getMaxRows());
+        reused.close();
+        Assert.assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void testDroppedStatementIsClosed() {
+        TestPreparedStatement original = new TestPreparedStatement();
+        JDBCPreparedStatementCachedImpl statement = new JDBCPreparedStatementCachedImpl(session, original.proxy(), cache, KEY, true);
+        statement.drop();
+
+        Assert.assertTrue(original.closed);
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCStatementCache.StatementKey;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+public class JDBCStatementCacheTest {
+
+    @Test
+    public void testAcquireReleaseReuse() {
+        JDBCStatementCache cache = new JDBCStatementCache(10);
+        StatementKey key = key("SELECT 1");
+        Assert.assertNull(cache.acquire(key));
+
+        TestPreparedStatement stat = new TestPreparedStatement();
+        Assert.assertTrue(cache.release(key, stat.proxy()));
+        Assert.assertEquals(1, cache.getSize());
+        Assert.assertEquals(1, stat.clearParametersCount);
+
+        // Statement is removed from the cache while in use
+        Assert.assertSame(stat.proxy(), cache.acquire(key));
+        Assert.assertEquals(0, cache.getSize());
+        Assert.assertNull(cache.acquire(key));
+
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+        Assert.assertFalse(stat.closed);
+    }
+
+    @Test
+    public void testKeyIncludesResultSetType() {
+        JDBCStatementCache cache = new JDBCStatementCache(10);
+        TestPreparedStatement stat = new TestPreparedStatement();
+        cache.release(key("SELECT 1"), stat.proxy());
+
+        Assert.assertNull(cache.acquire(new StatementKey("SELECT 1", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)));
+        Assert.assertSame(stat.proxy(), cache.acquire(key("SELECT 1")));
+    }
+
+    @Test
+    public void testDuplicateReleaseIsRejected() {
+        JDBCStatementCache cache = new JDBCStatementCache(10);
+        TestPreparedStatement stat1 = new TestPreparedStatement();
+        TestPreparedStatement stat2 = new TestPreparedStatement();
+        Assert.assertTrue(cache.release(key("SELECT 1"), stat1.proxy()));
+        // Caller must close the second statement itself
+        Assert.assertFalse(cache.release(key("SELECT 1"), stat2.proxy()));
+        Assert.assertFalse(stat2.closed);
+        Assert.assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void testLRUEvictionClosesStatement() {
+        JDBCStatementCache cache = new JDBCStatementCache(2);
+        TestPreparedStatement stat1 = new TestPreparedStatement();
+        TestPreparedStatement stat2 = new TestPreparedStatement();
+        TestPreparedStatement stat3 = new TestPreparedStatement();
+        cache.release(key("SELECT 1"), stat1.proxy());
+        cache.release(key("SELECT 2"), stat2.proxy());
+
+        // Use the first statement so that the second one becomes the eldest
+        PreparedStatement used = cache.acquire(key("SELECT 1"));
+        Assert.assertTrue(cache.release(key("SELECT 1"), used));
+
+        cache.release(key("SELECT 3"), stat3.proxy());
+        Assert.assertEquals(2, cache.getSize());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertTrue(stat2.closed);
+        Assert.assertFalse(stat1.closed);
+        Assert.assertFalse(stat3.closed);
+        Assert.assertNull(cache.acquire(key("SELECT 2")));
+        Assert.assertSame(stat1.proxy(), cache.acquire(key("SELECT 1")));
+        Assert.assertSame(stat3.proxy(), cache.acquire(key("SELECT 3")));
+    }
+
+    @Test
+    public void testClosedStatementIsNotReused() {
+        JDBCStatementCache cache = new JDBCStatementCache(10);
+        TestPreparedStatement stat = new TestPreparedStatement();
+        cache.release(key("SELECT 1"), stat.proxy());
+        stat.closed = true;
+        Assert.assertNull(cache.acquire(key("SELECT 1")));
+        Assert.assertFalse(cache.release(key("SELECT 1"), stat.proxy()));
+    }
+
+    @Test
+    public void testCloseClosesCachedStatements() {
+        JDBCStatementCache cache = new JDBCStatementCache(10);
+        TestPreparedStatement stat1 = new TestPreparedStatement();
+        TestPreparedStatement stat2 = new TestPreparedStatement();
+        cache.release(key("SELECT 1"), stat1.proxy());
+        cache.close();
+        Assert.assertTrue(stat1.closed);
+        Assert.assertEquals(0, cache.getSize());
+
+        // Statements returned after close are not cached
+        Assert.assertFalse(cache.release(key("SELECT 2"), stat2.proxy()));
+        Assert.assertNull(cache.acquire(key("SELECT 1")));
+    }
+
+    private static StatementKey key(String sql) {
+        return new StatementKey(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+}
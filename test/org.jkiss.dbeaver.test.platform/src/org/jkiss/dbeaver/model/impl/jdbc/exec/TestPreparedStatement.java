@@ -0,0 +1,85 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Prepared statement stub which keeps fetch size, query timeout, max rows and closed state.
+ */
+class TestPreparedStatement {
+
+    int fetchSize;
+    int queryTimeout;
+    int maxRows;
+    boolean closed;
+    int clearParametersCount;
+
+    private final PreparedStatement proxy = (PreparedStatement) Proxy.newProxyInstance(
+        PreparedStatement.class.getClassLoader(),
+        new Class[]{PreparedStatement.class},
+        (proxy, method, args) -> switch (method.getName()) {
+            case "getFetchSize" -> fetchSize;
+            case "setFetchSize" -> {
+                fetchSize = (Integer) args[0];
+                yield null;
+            }
+            case "getQueryTimeout" -> queryTimeout;
+            case "setQueryTimeout" -> {
+                queryTimeout = (Integer) args[0];
+                yield null;
+            }
+            case "getMaxRows" -> maxRows;
+            case "setMaxRows" -> {
+                maxRows = (Integer) args[0];
+                yield null;
+            }
+            case "isClosed" -> closed;
+            case "close" -> {
+                closed = true;
+                yield null;
+            }
+            case "clearParameters" -> {
+                if (closed) {
+                    throw new SQLException("Statement is closed");
+                }
+                clearParametersCount++;
+                yield null;
+            }
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "TestPreparedStatement";
+            default -> null;
+        });
+
+    TestPreparedStatement() {
+        this(0, 0, 0);
+    }
+
+    TestPreparedStatement(int fetchSize, int queryTimeout, int maxRows) {
+        this.fetchSize = fetchSize;
+        this.queryTimeout = queryTimeout;
+        this.maxRows = maxRows;
+    }
+
+    PreparedStatement proxy() {
+        return proxy;
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.exec;
+
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class SQLScriptInsertBatchTest {
+
+    @Test
+    public void testParseSingleRowInsert() {
+        SQLScriptInsertBatch.InsertStatement insert = parse("INSERT INTO test_table (id, name, value) VALUES (1, 'abc', NULL);");
+        Assert.assertNotNull(insert);
+        Assert.assertEquals("test_table (id, name, value)", insert.target());
+        Assert.assertEquals("(1, 'abc', NULL)", insert.values());
+        Assert.assertEquals(10, insert.offset());
+
+        Assert.assertNotNull(parse("insert into t values(-1.5e+3, .5, TRUE, false)"));
+    }
+
+    @Test
+    public void testParseQuotedCommas() {
+        SQLScriptInsertBatch.InsertStatement insert = parse("INSERT INTO t VALUES ('a, b', 'it''s, (ok)', 'x)')");
+        Assert.assertNotNull(insert);
+        Assert.assertEquals("('a, b', 'it''s, (ok)', 'x)')", insert.values());
+        // Three values, so shape differs from the two values statement
+        Assert.assertNotEquals(insert.shapeKey(), parse("INSERT INTO t VALUES ('a, b', 'c')").shapeKey());
+        Assert.assertEquals(insert.shapeKey(), parse("insert  into  T values (1, 2, 3)").shapeKey());
+    }
+
+    @Test
+    public void testMultiRowValuesAreNotMerged() {
+        Assert.assertNull(parse("INSERT INTO t VALUES (1, 'a'), (2, 'b')"));
+        Assert.assertNull(parse("INSERT INTO t VALUES (1, 'a') , (2, 'b');"));
+    }
+
+    @Test
+    public void testCommentsAreNotMerged() {
+        Assert.assertNull(parse("INSERT INTO t /* comment */ VALUES (1)"));
+        Assert.assertNull(parse("INSERT INTO t -- comment\nVALUES (1)"));
+        Assert.assertNull(parse("INSERT INTO t VALUES (1, /* comment */ 2)"));
+        Assert.assertNull(parse("INSERT INTO t VALUES (1, 2) -- comment"));
+        Assert.assertNull(parse("INSERT INTO t VALUES ('a', 'b' /* c, d */)"));
+    }
+
+    @Test
+    public void testNonLiteralValuesAreNotMerged() {
+        Assert.assertNull(parse("INSERT INTO t VALUES (now())"));
+        Assert.assertNull(parse("INSERT INTO t VALUES (1 + 2)"));
+        Assert.assertNull(parse("INSERT INTO t VALUES ('a\\'b')"));
+        Assert.assertNull(parse("INSERT INTO t VALUES ('unterminated)"));
+        Assert.assertNull(parse("INSERT INTO t VALUES (1,)"));
+        Assert.assertNull(parse("INSERT INTO t VALUES ()"));
+        Assert.assertNull(parse("INSERT INTO t SELECT * FROM s"));
+        Assert.assertNull(parse("INSERT INTO t VALUES (:param)"));
+    }
+
+    @Test
+    public void testMakeBatchQuery() {
+        DBPDataSource dataSource = Mockito.mock(DBPDataSource.class);
+        SQLScriptInsertBatch batch = new SQLScriptInsertBatch(SQLDialect.MultiValueInsertMode.GROUP_ROWS, 2);
+        SQLScriptInsertBatch.InsertStatement first = parse("INSERT INTO t VALUES (1, 'a,b')");
+        SQLScriptInsertBatch.InsertStatement second = parse("INSERT INTO t VALUES (2, 'c')");
+        Assert.assertTrue(batch.accepts(first));
+        batch.add(first);
+        Assert.assertFalse(batch.accepts(parse("INSERT INTO t VALUES (2)")));
+        Assert.assertTrue(batch.accepts(second));
+        batch.add(second);
+        Assert.assertFalse(batch.accepts(parse("INSERT INTO t VALUES (3, 'd')")));
+        Assert.assertEquals("INSERT INTO t VALUES\n\t(1, 'a,b'),\n\t(2, 'c')", batch.makeBatchQuery(dataSource).getText());
+
+        SQLScriptInsertBatch insertAll = new SQLScriptInsertBatch(SQLDialect.MultiValueInsertMode.INSERT_ALL, 10);
+        insertAll.add(first);
+        insertAll.add(second);
+        Assert.assertEquals(
+            "INSERT ALL\n\tINTO t VALUES (1, 'a,b')\n\tINTO t VALUES (2, 'c')\nSELECT 1 FROM DUAL",
+            insertAll.makeBatchQuery(dataSource).getText());
+    }
+
+    private static SQLScriptInsertBatch.InsertStatement parse(String text) {
+        return SQLScriptInsertBatch.parseInsert(new SQLQuery(null, text), 10);
+    }
+}
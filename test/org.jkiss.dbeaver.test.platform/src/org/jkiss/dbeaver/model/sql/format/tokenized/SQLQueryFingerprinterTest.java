@@ -0,0 +1,102 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.format.tokenized;
+
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.jkiss.dbeaver.model.sql.format.SQLFormatterConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SQLQueryFingerprinterTest {
+
+    @Mock
+    private SQLFormatterConfiguration configuration;
+    @Mock
+    private SQLSyntaxManager syntaxManager;
+
+    private SQLQueryFingerprinter fingerprinter;
+
+    @Before
+    public void init() {
+        Mockito.when(configuration.getSyntaxManager()).thenReturn(syntaxManager);
+        Mockito.when(syntaxManager.getDialect()).thenReturn(BasicSQLDialect.INSTANCE);
+        Mockito.when(syntaxManager.getCatalogSeparator()).thenReturn(".");
+        Mockito.when(syntaxManager.getStructSeparator()).thenReturn('.');
+        Mockito.when(syntaxManager.getIdentifierQuoteStrings()).thenReturn(new String[][]{{"\"", "\""}});
+        fingerprinter = new SQLQueryFingerprinter(configuration);
+    }
+
+    @Test
+    public void shouldReplaceLiterals() {
+        assertEquals(
+            "SELECT * FROM users WHERE user_id = ? AND user_name = ?",
+            fingerprinter.makeFingerprint("select *  from users\n where user_id = 10 and user_name = 'John'"));
+    }
+
+    @Test
+    public void shouldProduceSameFingerprintForDifferentValues() {
+        assertEquals(
+            fingerprinter.makeFingerprint("SELECT a FROM t WHERE b = 1.5 AND c = 'x'"),
+            fingerprinter.makeFingerprint("SELECT a FROM t WHERE b = -200 AND c = 'it''s'"));
+    }
+
+    @Test
+    public void shouldCollapseInLists() {
+        assertEquals(
+            "SELECT a FROM t WHERE b IN (?+)",
+            fingerprinter.makeFingerprint("SELECT a FROM t WHERE b IN (1, 2, 3)"));
+        assertEquals(
+            "SELECT a FROM t WHERE b IN (?+)",
+            fingerprinter.makeFingerprint("SELECT a FROM t WHERE b IN ('x')"));
+    }
+
+    @Test
+    public void shouldKeepBinaryMinus() {
+        assertEquals(
+            "SELECT a - ? FROM t WHERE b = ?",
+            fingerprinter.makeFingerprint("SELECT a - 1 FROM t WHERE b = -5"));
+    }
+
+    @Test
+    public void shouldRemoveCommentsAndDelimiter() {
+        assertEquals(
+            "SELECT a FROM t",
+            fingerprinter.makeFingerprint("SELECT a /* comment */ FROM t;"));
+    }
+
+    @Test
+    public void shouldKeepQuotedIdentifiers() {
+        assertEquals(
+            "SELECT \"Col\" FROM t WHERE c = ?",
+            fingerprinter.makeFingerprint("SELECT \"Col\" FROM t WHERE c = 'a'"));
+    }
+
+    @Test
+    public void shouldFallbackOnBrokenQuery() {
+        assertEquals(
+            "SELECT 1 /* broken",
+            fingerprinter.makeFingerprint("SELECT  1\n/* broken"));
+    }
+}
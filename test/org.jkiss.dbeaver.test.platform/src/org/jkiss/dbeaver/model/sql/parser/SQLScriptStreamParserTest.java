@@ -0,0 +1,130 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.parser;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.connection.DBPDriver;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCDatabaseMetaData;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCSQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SQLScriptStreamParserTest {
+    private static final int STATEMENT_COUNT = 5000;
+
+    @Mock
+    private JDBCDataSource dataSource;
+    @Mock
+    private DBPDataSourceContainer dataSourceContainer;
+    @Mock
+    private JDBCSession session;
+    @Mock
+    private JDBCDatabaseMetaData databaseMetaData;
+    @Mock
+    private DBPDriver driver;
+
+    @Before
+    public void init() throws DBException {
+        DBPConnectionConfiguration connectionConfiguration = new DBPConnectionConfiguration();
+        Mockito.when(dataSource.getContainer()).thenReturn(dataSourceContainer);
+        Mockito.lenient().when(dataSourceContainer.getConnectionConfiguration()).thenReturn(connectionConfiguration);
+        Mockito.lenient().when(dataSourceContainer.getActualConnectionConfiguration()).thenReturn(connectionConfiguration);
+        Mockito.when(dataSourceContainer.getPreferenceStore()).thenReturn(DBWorkbench.getPlatform().getPreferenceStore());
+        Mockito.lenient().when(dataSourceContainer.getDriver()).thenReturn(driver);
+
+        SQLDialect dialect = DBWorkbench.getPlatform().getSQLDialectRegistry().getDialect("postgresql").createInstance();
+        ((JDBCSQLDialect) dialect).initDriverSettings(session, dataSource, databaseMetaData);
+        Mockito.when(dataSource.getSQLDialect()).thenReturn(dialect);
+    }
+
+    @Test
+    public void parseScriptLargerThanWindow() throws IOException {
+        String script = makeScript();
+        List<SQLScriptElement> elements = new ArrayList<>();
+        List<Long> offsets = new ArrayList<>();
+        try (SQLScriptStreamParser parser = createParser(script, 0)) {
+            for (SQLScriptElement element = parser.nextElement(); element != null; element = parser.nextElement()) {
+                elements.add(element);
+                offsets.add(parser.getElementOffset());
+            }
+            // Progress is reported in bytes, element offsets are in characters
+            Assert.assertEquals(script.getBytes(StandardCharsets.UTF_8).length, parser.getBytesRead());
+        }
+        Assert.assertEquals(STATEMENT_COUNT, elements.size());
+        for (int i = 0; i < STATEMENT_COUNT; i++) {
+            Assert.assertEquals(makeStatement(i), elements.get(i).getText());
+            Assert.assertTrue(script.startsWith(makeStatement(i), offsets.get(i).intValue()));
+        }
+    }
+
+    @Test
+    public void resumeFromOffset() throws IOException {
+        String script = makeScript();
+        int resumeIndex = STATEMENT_COUNT / 2 + 1;
+        int resumeOffset = script.indexOf(makeStatement(resumeIndex));
+        try (SQLScriptStreamParser parser = createParser(script, resumeOffset)) {
+            SQLScriptElement element = parser.nextElement();
+            Assert.assertNotNull(element);
+            Assert.assertEquals(makeStatement(resumeIndex), element.getText());
+            Assert.assertEquals(resumeOffset, parser.getElementOffset());
+            int count = 1;
+            while (parser.nextElement() != null) {
+                count++;
+            }
+            Assert.assertEquals(STATEMENT_COUNT - resumeIndex, count);
+        }
+    }
+
+    private SQLScriptStreamParser createParser(String script, long startOffset) throws IOException {
+        byte[] bytes = script.getBytes(StandardCharsets.UTF_8);
+        // Minimal window, so script is parsed in several windows
+        return new SQLScriptStreamParser(
+            dataSource, new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, bytes.length, startOffset, 0);
+    }
+
+    private static String makeScript() {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < STATEMENT_COUNT; i++) {
+            script.append(makeStatement(i)).append(";\n");
+        }
+        return script.toString();
+    }
+
+    private static String makeStatement(int index) {
+        // Multibyte characters make byte and character offsets differ
+        return "INSERT INTO test_table VALUES (" + index + ", 'v\u00e4lue \u20ac" + index + "')";
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.semantics;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.sql.analyzer.builder.request.RequestBuilder;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.struct.DBSEntityType;
+import org.jkiss.dbeaver.model.struct.rdb.DBSTable;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SQLQueryPerformanceInspectorTest {
+
+    private DBCExecutionContext executionContext;
+    private final Set<String> indexedColumns = new HashSet<>();
+
+    @Before
+    public void init() throws DBException {
+        RequestBuilder.DataSource dataSource = mock(RequestBuilder.DataSource.class);
+        List<DBSTable> tables = List.of(
+            createTable(dataSource, "orders", "id", DBPDataKind.NUMERIC, "customer_id", DBPDataKind.NUMERIC, "code", DBPDataKind.STRING),
+            createTable(dataSource, "customers", "id", DBPDataKind.NUMERIC, "name", DBPDataKind.STRING),
+            createWideTable(dataSource, "wide", SQLQueryPerformanceInspector.WIDE_TABLE_COLUMN_COUNT + 1)
+        );
+
+        DBPConnectionConfiguration connectionConfiguration = new DBPConnectionConfiguration();
+        DBPDataSourceContainer container = mock(DBPDataSourceContainer.class);
+        when(container.getConnectionConfiguration()).thenReturn(connectionConfiguration);
+        when(container.getActualConnectionConfiguration()).thenReturn(connectionConfiguration);
+        when(container.getPreferenceStore()).thenReturn(DBWorkbench.getPlatform().getPreferenceStore());
+
+        when(dataSource.getSQLDialect()).thenReturn(DBWorkbench.getPlatform().getSQLDialectRegistry().getDialect("generic").createInstance());
+        when(dataSource.getContainer()).thenReturn(container);
+        when(dataSource.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getChild(any(), any())).then(x -> DBUtils.findObject(tables, x.getArgument(1, String.class)));
+        when(dataSource.getChildren(any())).then(x -> tables);
+
+        executionContext = mock(DBCExecutionContext.class);
+        when(executionContext.getDataSource()).thenReturn(dataSource);
+
+        indexedColumns.clear();
+        indexedColumns.add("id");
+        indexedColumns.add("code");
+    }
+
+    @Test
+    public void functionOnIndexedColumn() {
+        assertProblems("SELECT id FROM orders WHERE upper(code) = 'A'", SQLQueryPerformanceProblem.Kind.INDEX_DEFEATING_EXPRESSION);
+        assertProblems("SELECT id FROM orders WHERE code = 'A'");
+    }
+
+    @Test
+    public void functionOnNotIndexedColumn() {
+        indexedColumns.remove("code");
+        assertProblems("SELECT id FROM orders WHERE upper(code) = 'A'");
+    }
+
+    @Test
+    public void typeCastOfIndexedColumn() {
+        assertProblems("SELECT id FROM orders WHERE CAST(id AS VARCHAR(10)) = '1'", SQLQueryPerformanceProblem.Kind.INDEX_DEFEATING_EXPRESSION);
+    }
+
+    @Test
+    public void leadingWildcardLike() {
+        assertProblems("SELECT id FROM customers WHERE name LIKE '%smith'", SQLQueryPerformanceProblem.Kind.LEADING_WILDCARD_LIKE);
+        assertProblems("SELECT id FROM customers WHERE name LIKE 'smith%'");
+    }
+
+    @Test
+    public void stringColumnComparedWithNumber() {
+        assertProblems("SELECT id FROM orders WHERE code = 42", SQLQueryPerformanceProblem.Kind.IMPLICIT_CONVERSION);
+        assertProblems("SELECT id FROM orders WHERE customer_id = 42");
+    }
+
+    @Test
+    public void cartesianJoin() {
+        assertProblems("SELECT o.id FROM orders o, customers c", SQLQueryPerformanceProblem.Kind.CARTESIAN_JOIN);
+        assertProblems("SELECT o.id FROM orders o, customers c WHERE o.customer_id = c.id");
+        assertProblems("SELECT o.id FROM orders o CROSS JOIN customers c");
+    }
+
+    @Test
+    public void selectAllFromWideTable() {
+        assertProblems("SELECT * FROM wide", SQLQueryPerformanceProblem.Kind.SELECT_ALL_FROM_WIDE_TABLE);
+        assertProblems("SELECT * FROM orders");
+    }
+
+    @Test
+    public void modificationWithoutWhere() {
+        assertProblems("DELETE FROM orders", SQLQueryPerformanceProblem.Kind.UNBOUNDED_MODIFICATION);
+        assertProblems("DELETE FROM orders WHERE id = 1");
+        assertProblems("UPDATE orders SET code = 'A'", SQLQueryPerformanceProblem.Kind.UNBOUNDED_MODIFICATION);
+        assertProblems("UPDATE orders SET code = 'A' WHERE id = 1");
+    }
+
+    @Test
+    public void indexesAreNotReadFromDatabase() throws DBException {
+        DBSTable table = mock(DBSTable.class);
+        when(table.getIndexes(any())).thenThrow(new IllegalStateException("Indexes must not be read"));
+        Assert.assertTrue(new SQLQueryPerformanceInspector(new VoidProgressMonitor()).readIndexedAttributes(table).isEmpty());
+    }
+
+    private void assertProblems(@NotNull String query, @NotNull SQLQueryPerformanceProblem.Kind... expected) {
+        SQLQueryModelRecognizer recognizer = new SQLQueryModelRecognizer(executionContext, true);
+        SQLQueryModel model = recognizer.recognizeQuery(query, new VoidProgressMonitor());
+        Assert.assertNotNull(model);
+
+        SQLQueryPerformanceInspector inspector = new SQLQueryPerformanceInspector(new VoidProgressMonitor()) {
+            @NotNull
+            @Override
+            public Set<DBSEntityAttribute> readIndexedAttributes(@NotNull DBSEntity entity) {
+                Set<DBSEntityAttribute> result = new HashSet<>();
+                try {
+                    for (DBSEntityAttribute attribute : Objects.requireNonNull(entity.getAttributes(new VoidProgressMonitor()))) {
+                        if (indexedColumns.contains(attribute.getName())) {
+                            result.add(attribute);
+                        }
+                    }
+                } catch (DBException e) {
+                    throw new IllegalStateException(e);
+                }
+                return result;
+            }
+        };
+        List<SQLQueryPerformanceProblem.Kind> actual = new ArrayList<>();
+        for (SQLQueryPerformanceProblem problem : inspector.inspect(model)) {
+            actual.add(problem.getKind());
+        }
+        Assert.assertEquals(query, List.of(expected), actual);
+    }
+
+    @NotNull
+    private static DBSTable createTable(@NotNull RequestBuilder.DataSource dataSource, @NotNull String name, @NotNull Object... columns) throws DBException {
+        DBSTable table = mock(DBSTable.class);
+        List<DBSEntityAttribute> attributes = new ArrayList<>();
+        for (int i = 0; i < columns.length; i += 2) {
+            DBSEntityAttribute attribute = mock(DBSEntityAttribute.class);
+            when(attribute.getDataSource()).thenReturn(dataSource);
+            when(attribute.getParentObject()).thenReturn(table);
+            when(attribute.getName()).thenReturn((String) columns[i]);
+            when(attribute.getDataKind()).thenReturn((DBPDataKind) columns[i + 1]);
+            when(attribute.getTypeName()).thenReturn(columns[i + 1] == DBPDataKind.STRING ? "varchar" : "integer");
+            attributes.add(attribute);
+        }
+        when(table.getDataSource()).thenReturn(dataSource);
+        when(table.getParentObject()).thenReturn(dataSource);
+        when(table.getName()).thenReturn(name);
+        when(table.getEntityType()).thenReturn(DBSEntityType.TABLE);
+        when(table.getAttributes(any())).then(x -> attributes);
+        when(table.getAttribute(any(), any())).then(x -> DBUtils.findObject(attributes, x.getArgument(1, String.class)));
+        return table;
+    }
+
+    @NotNull
+    private static DBSTable createWideTable(@NotNull RequestBuilder.DataSource dataSource, @NotNull String name, int columnCount) throws DBException {
+        Object[] columns = new Object[columnCount * 2];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i * 2] = "c" + i;
+            columns[i * 2 + 1] = DBPDataKind.NUMERIC;
+        }
+        return createTable(dataSource, name, columns);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry;
+
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IContributor;
+import org.jkiss.dbeaver.registry.driver.DriverDescriptor;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class DataSourceProviderDescriptorTest {
+
+    private DataSourceProviderDescriptor provider;
+
+    @Before
+    public void setUp() {
+        IConfigurationElement providerConfig = element("datasource", Map.of(
+                RegistryConstants.ATTR_ID, "lazy-test",
+                RegistryConstants.ATTR_CLASS, "org.jkiss.dbeaver.test.LazyTestProvider",
+                RegistryConstants.ATTR_LABEL, "Lazy test",
+                RegistryConstants.ATTR_DIALECT, "basic"),
+            element(RegistryConstants.TAG_DRIVERS, Map.of(),
+                driver("a", null),
+                // b and c copy provider properties from each other
+                driver("b", "c"),
+                driver("c", "b")));
+        provider = new DataSourceProviderDescriptor(DataSourceProviderRegistry.getInstance(), providerConfig);
+        provider.loadExtraConfig(providerConfig);
+    }
+
+    @Test
+    public void testDriversLoadedOnDemand() {
+        Assert.assertTrue(provider.getLoadedDrivers().isEmpty());
+        Assert.assertTrue(provider.hasDriver("a"));
+        Assert.assertFalse(provider.hasDriver("x"));
+        Assert.assertTrue(provider.getLoadedDrivers().isEmpty());
+
+        DriverDescriptor driver = provider.getOriginalDriver("a");
+        Assert.assertNotNull(driver);
+        Assert.assertEquals("A", driver.getName());
+        Assert.assertSame(driver, provider.getOriginalDriver("a"));
+        Assert.assertEquals(List.of(driver), provider.getLoadedDrivers());
+        Assert.assertNull(provider.getOriginalDriver("x"));
+    }
+
+    @Test
+    public void testDriverReferenceCycle() {
+        // Driver which is being loaded is not visible to drivers it refers to, so the cycle ends
+        DriverDescriptor driver = provider.getOriginalDriver("b");
+        Assert.assertNotNull(driver);
+        Assert.assertEquals(2, provider.getLoadedDrivers().size());
+        Assert.assertNotNull(provider.getOriginalDriver("c"));
+        Assert.assertSame(driver, provider.getOriginalDriver("b"));
+    }
+
+    @Test
+    public void testDriversSnapshot() {
+        List<DriverDescriptor> drivers = provider.getDrivers();
+        Assert.assertEquals(List.of("a", "b", "c"), drivers.stream().map(DriverDescriptor::getId).toList());
+        Assert.assertSame(drivers, provider.getDrivers());
+        Assert.assertThrows(UnsupportedOperationException.class, () -> drivers.remove(0));
+
+        DriverDescriptor custom = provider.createDriver("custom");
+        provider.addDriver(custom);
+        List<DriverDescriptor> withCustom = provider.getDrivers();
+        Assert.assertNotSame(drivers, withCustom);
+        Assert.assertEquals(3, drivers.size());
+        Assert.assertEquals(List.of("a", "b", "c", "custom"), withCustom.stream().map(DriverDescriptor::getId).toList());
+
+        Assert.assertTrue(provider.removeDriver(custom));
+        Assert.assertEquals(3, provider.getDrivers().size());
+    }
+
+    private static IConfigurationElement driver(String id, String copyFrom) {
+        IConfigurationElement[] children = copyFrom == null ?
+            new IConfigurationElement[0] :
+            new IConfigurationElement[] { element(RegistryConstants.TAG_PROVIDER_PROPERTIES, Map.of("copyFrom", copyFrom)) };
+        return element(RegistryConstants.TAG_DRIVER, Map.of(
+            RegistryConstants.ATTR_ID, id,
+            RegistryConstants.ATTR_LABEL, id.toUpperCase()), children);
+    }
+
+    private static IConfigurationElement element(String name, Map<String, String> attributes, IConfigurationElement... children) {
+        IContributor contributor = Mockito.mock(IContributor.class);
+        Mockito.when(contributor.getName()).thenReturn("org.jkiss.dbeaver.registry");
+        return Mockito.mock(IConfigurationElement.class, invocation -> {
+            Class<?> returnType = invocation.getMethod().getReturnType();
+            switch (invocation.getMethod().getName()) {
+                case "getName":
+                    return name;
+                case "getAttribute":
+                    return attributes.get(invocation.<String>getArgument(0));
+                case "getContributor":
+                    return contributor;
+                case "getChildren":
+                    if (invocation.getArguments().length == 0) {
+                        return children;
+                    }
+                    return Arrays.stream(children)
+                        .filter(child -> child.getName().equals(invocation.getArgument(0)))
+                        .toArray(IConfigurationElement[]::new);
+                default:
+                    if (returnType.isArray()) {
+                        return Array.newInstance(returnType.getComponentType(), 0);
+                    }
+                    return Mockito.RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
+}
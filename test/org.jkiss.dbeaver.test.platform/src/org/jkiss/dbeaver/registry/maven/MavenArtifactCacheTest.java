@@ -0,0 +1,162 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.maven;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.utils.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Remote repository is emulated with jar: URLs, so downloads go through the same URL connection code as HTTP
+ */
+public class MavenArtifactCacheTest {
+
+    private static final String FILE_NAME = "driver-1.0.jar";
+
+    private Path tempFolder;
+    private Path repositoryFile;
+    private String fileURL;
+
+    @Before
+    public void init() throws IOException {
+        URLConnection.setDefaultUseCaches("jar", false);
+        tempFolder = Files.createTempDirectory("maven-cache-test");
+        repositoryFile = tempFolder.resolve("repository.zip");
+        fileURL = "jar:" + repositoryFile.toUri() + "!/" + FILE_NAME;
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        IOUtils.deleteDirectory(tempFolder);
+    }
+
+    @Test
+    public void downloadOnce() throws Exception {
+        MavenArtifactCache cache = createCache(false, false);
+        writeRepository("v1", sha1("v1"));
+        Path cachedFile = cache.getFile(new VoidProgressMonitor(), fileURL, null, MavenArtifactCache.IMMUTABLE_FILE_TTL);
+        Assert.assertEquals("v1", Files.readString(cachedFile));
+        Assert.assertTrue(cachedFile.startsWith(cache.getCacheFolder()));
+
+        writeRepository("v2", sha1("v2"));
+        Assert.assertEquals("v1", Files.readString(
+            cache.getFile(new VoidProgressMonitor(), fileURL, null, MavenArtifactCache.IMMUTABLE_FILE_TTL)));
+        Assert.assertEquals("v1", Files.readString(
+            cache.getFile(new VoidProgressMonitor(), fileURL, null, MavenArtifactCache.MUTABLE_FILE_TTL)));
+        // Expired copy is downloaded again
+        Assert.assertEquals("v2", Files.readString(
+            cache.getFile(new VoidProgressMonitor(), fileURL, null, 0)));
+    }
+
+    @Test
+    public void copyFile() throws Exception {
+        MavenArtifactCache cache = createCache(false, false);
+        writeRepository("content", null);
+        Path target = tempFolder.resolve("drivers/lib/" + FILE_NAME);
+        cache.copyFile(new VoidProgressMonitor(), fileURL, null, MavenArtifactCache.IMMUTABLE_FILE_TTL, target);
+        Assert.assertEquals("content", Files.readString(target));
+    }
+
+    @Test
+    public void checksumIsIgnoredIfVerificationDisabled() throws Exception {
+        MavenArtifactCache cache = createCache(false, false);
+        writeRepository("content", sha1("other content"));
+        Assert.assertEquals("content", Files.readString(
+            cache.getFile(new VoidProgressMonitor(), fileURL, null, MavenArtifactCache.IMMUTABLE_FILE_TTL)));
+    }
+
+    @Test
+    public void verifyChecksum() throws Exception {
+        MavenArtifactCache cache = createCache(false, true);
+        writeRepository("content", sha1("content") + "  " + FILE_NAME);
+        Assert.assertEquals("content", Files.readString(
+            cache.getFile(new VoidProgressMonitor(), fileURL, null, MavenArtifactCache.IMMUTABLE_FILE_TTL)));
+    }
+
+    @Test(expected = IOException.class)
+    public void checksumMismatch() throws Exception {
+        MavenArtifactCache cache = createCache(false, true);
+        writeRepository("content", sha1("other content"));
+        cache.getFile(new VoidProgressMonitor(), fileURL, null, MavenArtifactCache.IMMUTABLE_FILE_TTL);
+    }
+
+    @Test
+    public void offline() throws Exception {
+        writeRepository("content", null);
+        try {
+            createCache(true, false).getFile(new VoidProgressMonitor(), fileURL, null, MavenArtifactCache.IMMUTABLE_FILE_TTL);
+            Assert.fail("Offline cache must not download files");
+        } catch (IOException e) {
+            // expected
+        }
+        createCache(false, false).getFile(new VoidProgressMonitor(), fileURL, null, MavenArtifactCache.MUTABLE_FILE_TTL);
+        // Stale files are used in offline mode
+        Assert.assertEquals("content", Files.readString(
+            createCache(true, false).getFile(new VoidProgressMonitor(), fileURL, null, 0)));
+    }
+
+    @Test(expected = InterruptedIOException.class)
+    public void cancelDownload() throws Exception {
+        writeRepository("content", null);
+        createCache(false, false).getFile(new VoidProgressMonitor() {
+            @Override
+            public boolean isCanceled() {
+                return true;
+            }
+        }, fileURL, null, MavenArtifactCache.IMMUTABLE_FILE_TTL);
+    }
+
+    @NotNull
+    private MavenArtifactCache createCache(boolean offline, boolean verifyChecksum) {
+        return new MavenArtifactCache(tempFolder.resolve("cache"), offline, verifyChecksum);
+    }
+
+    private void writeRepository(@NotNull String content, String checksum) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(repositoryFile))) {
+            writeEntry(zip, FILE_NAME, content);
+            if (checksum != null) {
+                writeEntry(zip, FILE_NAME + ".sha1", checksum);
+            }
+        }
+    }
+
+    private static void writeEntry(@NotNull ZipOutputStream zip, @NotNull String name, @NotNull String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    @NotNull
+    private static String sha1(@NotNull String content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
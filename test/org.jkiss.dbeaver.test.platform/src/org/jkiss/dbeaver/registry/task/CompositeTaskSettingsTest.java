@@ -0,0 +1,179 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.app.DBPProject;
+import org.jkiss.dbeaver.model.task.DBTTask;
+import org.jkiss.dbeaver.model.task.DBTTaskManager;
+import org.jkiss.dbeaver.model.task.DBTTaskType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.*;
+
+public class CompositeTaskSettingsTest {
+
+    private DBTTaskManager taskManager;
+    private DBPProject project;
+
+    @Before
+    public void init() {
+        taskManager = Mockito.mock(DBTTaskManager.class);
+        project = Mockito.mock(DBPProject.class);
+        Mockito.when(project.getTaskManager()).thenReturn(taskManager);
+    }
+
+    @Test
+    public void testTopologicalOrder() throws DBException {
+        createTask("a", "simple");
+        createTask("b", "simple");
+        createTask("c", "simple");
+        createTask("d", "simple");
+        // d -> {b, c}, b -> a, c -> a
+        DBTTask composite = createComposite("composite", node("d", "b", "c"), node("c", "a"), node("b", "a"), node("a"));
+
+        CompositeTaskSettings settings = new CompositeTaskSettings();
+        settings.loadConfiguration(composite);
+        List<String> order = getIds(settings.getNodes());
+        Assert.assertEquals(4, order.size());
+        Assert.assertEquals("a", order.get(0));
+        Assert.assertEquals("d", order.get(3));
+        for (CompositeTaskSettings.TaskNode node : settings.getNodes()) {
+            for (CompositeTaskSettings.TaskNode dependency : node.getDependencies()) {
+                Assert.assertTrue(order.indexOf(dependency.getTask().getId()) < order.indexOf(node.getTask().getId()));
+            }
+        }
+    }
+
+    @Test(expected = DBException.class)
+    public void testDependencyCycle() throws DBException {
+        createTask("a", "simple");
+        createTask("b", "simple");
+        createTask("c", "simple");
+        new CompositeTaskSettings().loadConfiguration(
+            createComposite("composite", node("a", "c"), node("b", "a"), node("c", "b")));
+    }
+
+    @Test(expected = DBException.class)
+    public void testSelfInclusion() throws DBException {
+        createTask("a", "simple");
+        new CompositeTaskSettings().loadConfiguration(createComposite("composite", node("a"), node("composite")));
+    }
+
+    @Test
+    public void testNestedCompositeCycle() {
+        createTask("a", "simple");
+        DBTTask first = createComposite("first", node("a"), node("second"));
+        createComposite("second", node("third"));
+        createComposite("third", node("a"), node("first"));
+        try {
+            new CompositeTaskSettings().loadConfiguration(first);
+            Assert.fail("Cycle through nested composite tasks is not detected");
+        } catch (DBException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("'first' -> 'second' -> 'third' -> 'first'"));
+        }
+    }
+
+    @Test
+    public void testNestedCompositeWithoutCycle() throws DBException {
+        createTask("a", "simple");
+        // Both nested tasks include the same composite task - it is not a cycle
+        createComposite("shared", node("a"));
+        createComposite("left", node("shared"));
+        createComposite("right", node("shared"));
+        CompositeTaskSettings settings = new CompositeTaskSettings();
+        settings.loadConfiguration(createComposite("root", node("left"), node("right", "left")));
+        Assert.assertEquals(List.of("left", "right"), getIds(settings.getNodes()));
+    }
+
+    @Test
+    public void testCriticalPath() throws DBException {
+        createTask("a", "simple");
+        createTask("b", "simple");
+        createTask("c", "simple");
+        createTask("d", "simple");
+        createTask("e", "simple");
+        // a -> b -> d, a -> c -> d, e is independent
+        CompositeTaskSettings settings = new CompositeTaskSettings();
+        settings.loadConfiguration(createComposite(
+            "composite", node("a"), node("b", "a"), node("c", "a"), node("d", "b", "c"), node("e")));
+        Map<String, CompositeTaskSettings.TaskNode> nodes = new HashMap<>();
+        for (CompositeTaskSettings.TaskNode node : settings.getNodes()) {
+            nodes.put(node.getTask().getId(), node);
+        }
+
+        Map<CompositeTaskSettings.TaskNode, Long> durations = new HashMap<>();
+        durations.put(nodes.get("a"), 10L);
+        durations.put(nodes.get("b"), 5L);
+        durations.put(nodes.get("c"), 50L);
+        durations.put(nodes.get("d"), 1L);
+        durations.put(nodes.get("e"), 60L);
+        Assert.assertEquals(List.of("a", "c", "d"), getIds(CompositeTaskSettings.findCriticalPath(settings.getNodes(), durations)));
+
+        // Independent task is longer than the whole chain
+        durations.put(nodes.get("e"), 100L);
+        Assert.assertEquals(List.of("e"), getIds(CompositeTaskSettings.findCriticalPath(settings.getNodes(), durations)));
+
+        // Skipped tasks are not part of the path
+        durations.remove(nodes.get("c"));
+        durations.remove(nodes.get("d"));
+        durations.remove(nodes.get("e"));
+        Assert.assertEquals(List.of("a", "b"), getIds(CompositeTaskSettings.findCriticalPath(settings.getNodes(), durations)));
+
+        Assert.assertTrue(CompositeTaskSettings.findCriticalPath(settings.getNodes(), Map.of()).isEmpty());
+    }
+
+    private DBTTask createTask(String id, String typeId) {
+        DBTTaskType type = Mockito.mock(DBTTaskType.class);
+        Mockito.lenient().when(type.getId()).thenReturn(typeId);
+        DBTTask task = Mockito.mock(DBTTask.class);
+        Mockito.lenient().when(task.getId()).thenReturn(id);
+        Mockito.lenient().when(task.getName()).thenReturn(id);
+        Mockito.lenient().when(task.getType()).thenReturn(type);
+        Mockito.lenient().when(task.getProject()).thenReturn(project);
+        Mockito.lenient().when(task.getProperties()).thenReturn(new LinkedHashMap<>());
+        Mockito.lenient().when(taskManager.getTaskById(id)).thenReturn(task);
+        return task;
+    }
+
+    @SafeVarargs
+    private DBTTask createComposite(String id, Map<String, Object>... nodes) {
+        DBTTask task = createTask(id, CompositeTaskHandler.TASK_TYPE_ID);
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("tasks", List.of(nodes));
+        Mockito.lenient().when(task.getProperties()).thenReturn(properties);
+        return task;
+    }
+
+    private static Map<String, Object> node(String id, String... dependsOn) {
+        Map<String, Object> node = new LinkedHashMap<>();
+        node.put("id", id);
+        node.put("dependsOn", List.of(dependsOn));
+        return node;
+    }
+
+    private static List<String> getIds(List<CompositeTaskSettings.TaskNode> nodes) {
+        List<String> ids = new ArrayList<>();
+        for (CompositeTaskSettings.TaskNode node : nodes) {
+            ids.add(node.getTask().getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple.data;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.List;
+
+public class CompareDataUtilsTest {
+
+    @Test
+    public void testNumbers() {
+        Assert.assertTrue(CompareDataUtils.equalValues(1, 1L));
+        Assert.assertTrue(CompareDataUtils.equalValues(new BigDecimal("10.500"), 10.5d));
+        Assert.assertTrue(CompareDataUtils.equalValues(BigInteger.TEN, new BigDecimal("1E+1")));
+        Assert.assertTrue(CompareDataUtils.equalValues(0.1f, 0.1d));
+        Assert.assertTrue(CompareDataUtils.equalValues(new BigDecimal("0.000"), 0));
+        Assert.assertFalse(CompareDataUtils.equalValues(1, 2));
+        Assert.assertEquals("1000", CompareDataUtils.formatValue(CompareDataUtils.normalizeValue(new BigDecimal("1000.00"))));
+        Assert.assertEquals("NaN", CompareDataUtils.normalizeValue(Double.NaN));
+    }
+
+    @Test
+    public void testBooleans() {
+        Assert.assertTrue(CompareDataUtils.equalValues(true, 1));
+        Assert.assertTrue(CompareDataUtils.equalValues(false, new BigDecimal("0")));
+        Assert.assertFalse(CompareDataUtils.equalValues(true, false));
+    }
+
+    @Test
+    public void testTemporal() {
+        Assert.assertTrue(CompareDataUtils.equalValues(
+            Timestamp.valueOf("2024-01-02 03:04:05.123"),
+            LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_000_000)));
+        // DATE read as timestamp (Oracle) equals to DATE read as date
+        Assert.assertTrue(CompareDataUtils.equalValues(Timestamp.valueOf("2024-01-02 00:00:00"), Date.valueOf("2024-01-02")));
+        Assert.assertTrue(CompareDataUtils.equalValues(Date.valueOf("2024-01-02"), LocalDate.of(2024, 1, 2)));
+        Assert.assertTrue(CompareDataUtils.equalValues(Time.valueOf("10:11:12"), LocalTime.of(10, 11, 12)));
+        Assert.assertTrue(CompareDataUtils.equalValues(
+            OffsetDateTime.of(2024, 1, 2, 5, 0, 0, 0, ZoneOffset.ofHours(2)),
+            OffsetDateTime.of(2024, 1, 2, 3, 0, 0, 0, ZoneOffset.UTC)));
+        Assert.assertTrue(CompareDataUtils.equalValues(
+            ZonedDateTime.of(2024, 1, 2, 3, 0, 0, 0, ZoneOffset.UTC).toInstant(),
+            OffsetDateTime.of(2024, 1, 2, 3, 0, 0, 0, ZoneOffset.UTC)));
+        Assert.assertFalse(CompareDataUtils.equalValues(
+            Timestamp.valueOf("2024-01-02 03:04:05"),
+            Timestamp.valueOf("2024-01-02 03:04:06")));
+    }
+
+    @Test
+    public void testBinaryAndNulls() {
+        Assert.assertEquals("00ff10", CompareDataUtils.normalizeValue(new byte[]{0, (byte) 0xFF, 0x10}));
+        Assert.assertTrue(CompareDataUtils.equalValues(null, null));
+        Assert.assertFalse(CompareDataUtils.equalValues(null, ""));
+        Assert.assertNull(CompareDataUtils.formatValue(null));
+    }
+
+    @Test
+    public void testKeys() {
+        Assert.assertEquals(
+            CompareDataUtils.makeKey(new Object[]{1, "a", Date.valueOf("2024-01-02")}),
+            CompareDataUtils.makeKey(new Object[]{1L, "a", Timestamp.valueOf("2024-01-02 00:00:00")}));
+        Assert.assertEquals(List.of(BigDecimal.ONE), CompareDataUtils.makeKey(new Object[]{new BigDecimal("1.0")}));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.sql.task;
+
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.DBCStatistics;
+import org.jkiss.dbeaver.tools.sql.SQLScriptFailurePolicy;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SQLScriptTargetQueueTest {
+
+    private final List<DBPDataSourceContainer> dataSources = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < 5; i++) {
+            dataSources.add(Mockito.mock(DBPDataSourceContainer.class));
+        }
+    }
+
+    @Test
+    public void testStopAllStopsOnFirstFailure() {
+        SQLScriptTargetQueue queue = new SQLScriptTargetQueue(dataSources, SQLScriptFailurePolicy.STOP_ALL, 0);
+        processSuccess(queue);
+        processFailure(queue);
+
+        Assert.assertNull(queue.acquireTarget());
+        Assert.assertEquals(2, queue.getResults().size());
+        Assert.assertEquals(dataSources.subList(2, 5), queue.getSkippedTargets());
+    }
+
+    @Test
+    public void testStopAllKeepsResultsOfRunningTargets() {
+        SQLScriptTargetQueue queue = new SQLScriptTargetQueue(dataSources, SQLScriptFailurePolicy.STOP_ALL, 0);
+        // Two targets are executed in parallel, the first one fails
+        DBPDataSourceContainer first = queue.acquireTarget();
+        DBPDataSourceContainer second = queue.acquireTarget();
+        queue.addResult(failure(first));
+        queue.addResult(success(second));
+
+        Assert.assertNull(queue.acquireTarget());
+        Assert.assertEquals(List.of(first, second), queue.getResults().stream().map(SQLScriptTargetQueue.TargetResult::dataSource).toList());
+        Assert.assertEquals(3, queue.getSkippedTargets().size());
+    }
+
+    @Test
+    public void testContinueProcessesAllTargets() {
+        SQLScriptTargetQueue queue = new SQLScriptTargetQueue(dataSources, SQLScriptFailurePolicy.CONTINUE, 0);
+        for (int i = 0; i < dataSources.size(); i++) {
+            processFailure(queue);
+        }
+
+        Assert.assertNull(queue.acquireTarget());
+        Assert.assertEquals(5, queue.getResults().size());
+        Assert.assertTrue(queue.getSkippedTargets().isEmpty());
+    }
+
+    @Test
+    public void testStopAfterFailures() {
+        SQLScriptTargetQueue queue = new SQLScriptTargetQueue(dataSources, SQLScriptFailurePolicy.STOP_AFTER_FAILURES, 2);
+        processFailure(queue);
+        processSuccess(queue);
+        // One failure is below the limit
+        Assert.assertEquals(3, queue.getSkippedTargets().size());
+        processFailure(queue);
+
+        Assert.assertNull(queue.acquireTarget());
+        Assert.assertEquals(3, queue.getResults().size());
+        Assert.assertEquals(dataSources.subList(3, 5), queue.getSkippedTargets());
+    }
+
+    @Test
+    public void testStopSkipsRemainingTargets() {
+        SQLScriptTargetQueue queue = new SQLScriptTargetQueue(dataSources, SQLScriptFailurePolicy.CONTINUE, 0);
+        processSuccess(queue);
+        queue.stop();
+
+        Assert.assertNull(queue.acquireTarget());
+        Assert.assertEquals(1, queue.getResults().size());
+        Assert.assertEquals(dataSources.subList(1, 5), queue.getSkippedTargets());
+    }
+
+    @Test
+    public void testNoSkippedTargetsAfterCompletion() {
+        SQLScriptTargetQueue queue = new SQLScriptTargetQueue(dataSources, SQLScriptFailurePolicy.STOP_ALL, 0);
+        for (int i = 0; i < dataSources.size(); i++) {
+            processSuccess(queue);
+        }
+        queue.stop();
+
+        Assert.assertTrue(queue.getSkippedTargets().isEmpty());
+        Assert.assertEquals(5, queue.getResults().size());
+    }
+
+    private static void processSuccess(SQLScriptTargetQueue queue) {
+        queue.addResult(success(queue.acquireTarget()));
+    }
+
+    private static void processFailure(SQLScriptTargetQueue queue) {
+        queue.addResult(failure(queue.acquireTarget()));
+    }
+
+    private static SQLScriptTargetQueue.TargetResult success(DBPDataSourceContainer dataSource) {
+        Assert.assertNotNull(dataSource);
+        return new SQLScriptTargetQueue.TargetResult(dataSource, new DBCStatistics(), null);
+    }
+
+    private static SQLScriptTargetQueue.TargetResult failure(DBPDataSourceContainer dataSource) {
+        Assert.assertNotNull(dataSource);
+        return new SQLScriptTargetQueue.TargetResult(dataSource, new DBCStatistics(), new Exception("Script failed"));
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataImporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamDataImporterColumnInfo;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamEntityMapping;
+import org.jkiss.dbeaver.tools.transfer.stream.importer.DataImporterJSON;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JSONImporterTest {
+    private static final Path DUMMY_FILE = Path.of("dummy");
+
+    private final DataImporterJSON importer = new DataImporterJSON();
+    private final StreamEntityMapping mapping = new StreamEntityMapping(DUMMY_FILE);
+    private final Map<String, Object> properties = new HashMap<>();
+
+    @Mock
+    private IStreamDataImporterSite site;
+
+    @Before
+    public void init() throws DBException {
+        importer.init(site);
+        Mockito.when(site.getProcessorProperties()).thenReturn(properties);
+    }
+
+    @Test
+    public void readArrayColumns() throws DBException, IOException {
+        List<StreamDataImporterColumnInfo> columnsInfo = readColumnsInfo("[{\"a\": 1, \"b\": 2.5}, {\"c\": true, \"a\": 2}]");
+        Assert.assertEquals(3, columnsInfo.size());
+        Assert.assertEquals("a", columnsInfo.get(0).getName());
+        Assert.assertEquals(DBPDataKind.NUMERIC, columnsInfo.get(0).getDataKind());
+        Assert.assertEquals("INTEGER", columnsInfo.get(0).getTypeName());
+        Assert.assertEquals("b", columnsInfo.get(1).getName());
+        Assert.assertEquals("REAL", columnsInfo.get(1).getTypeName());
+        Assert.assertEquals("c", columnsInfo.get(2).getName());
+        Assert.assertEquals(DBPDataKind.BOOLEAN, columnsInfo.get(2).getDataKind());
+    }
+
+    @Test
+    public void readNewlineDelimitedColumns() throws DBException, IOException {
+        List<StreamDataImporterColumnInfo> columnsInfo = readColumnsInfo("{\"id\": 1}\n{\"id\": 2, \"name\": \"x\"}\n");
+        Assert.assertEquals(2, columnsInfo.size());
+        Assert.assertEquals("id", columnsInfo.get(0).getName());
+        Assert.assertEquals("name", columnsInfo.get(1).getName());
+        Assert.assertEquals(DBPDataKind.STRING, columnsInfo.get(1).getDataKind());
+    }
+
+    @Test
+    public void flattenNestedObjects() throws DBException, IOException {
+        List<StreamDataImporterColumnInfo> columnsInfo = readColumnsInfo(
+            "{\"id\": 1, \"address\": {\"city\": \"Paris\", \"geo\": {\"lat\": 1.5}}, \"tags\": [1, 2]}");
+        Assert.assertEquals(4, columnsInfo.size());
+        Assert.assertEquals("address.city", columnsInfo.get(1).getName());
+        Assert.assertEquals("address.geo.lat", columnsInfo.get(2).getName());
+        Assert.assertEquals("tags", columnsInfo.get(3).getName());
+        Assert.assertEquals(DBPDataKind.STRING, columnsInfo.get(3).getDataKind());
+    }
+
+    @Test
+    public void limitNestingDepth() throws DBException, IOException {
+        properties.put("maxNestingDepth", 0);
+        List<StreamDataImporterColumnInfo> columnsInfo = readColumnsInfo("{\"id\": 1, \"address\": {\"city\": \"Paris\"}}");
+        Assert.assertEquals(2, columnsInfo.size());
+        Assert.assertEquals("address", columnsInfo.get(1).getName());
+    }
+
+    @Test
+    public void guessColumnTypesDefault() throws DBException, IOException {
+        List<StreamDataImporterColumnInfo> columnsInfo = readColumnsInfo("[{\"a\": null}]");
+        Assert.assertEquals(1, columnsInfo.size());
+        Assert.assertEquals(DBPDataKind.STRING, columnsInfo.get(0).getDataKind());
+    }
+
+    @Test
+    public void returnsEmptyListWithEmptyFile() throws DBException, IOException {
+        Assert.assertEquals(0, readColumnsInfo("").size());
+        Assert.assertEquals(0, readColumnsInfo("[]").size());
+    }
+
+    private List<StreamDataImporterColumnInfo> readColumnsInfo(String data) throws DBException, IOException {
+        try (ByteArrayInputStream is = new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8))) {
+            return importer.readColumnsInfo(mapping, is);
+        }
+    }
+}
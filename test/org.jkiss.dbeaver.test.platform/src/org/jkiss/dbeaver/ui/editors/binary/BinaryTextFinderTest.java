@@ -0,0 +1,232 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.binary;
+
+import org.jkiss.code.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BinaryTextFinderTest {
+
+    @Test
+    public void testForwardSearch() throws IOException {
+        BinaryTextFinder finder = new BinaryTextFinder("needle", createContent("a needle and a second needle"));
+        Assert.assertEquals(List.of(2L, 22L), findAll(finder, 6));
+    }
+
+    @Test
+    public void testBackwardSearch() throws IOException {
+        BinaryContent content = createContent("a needle and a second needle");
+        BinaryTextFinder finder = new BinaryTextFinder("needle", content);
+        finder.setDirectionForward(false);
+        finder.setNewStart(content.length());
+        Assert.assertEquals(List.of(22L, 2L), findAll(finder, 6));
+    }
+
+    @Test
+    public void testOverlappingMatches() throws IOException {
+        BinaryContent content = createContent("aaaa");
+        BinaryTextFinder finder = new BinaryTextFinder("aa", content);
+        Assert.assertEquals(List.of(0L, 1L, 2L), findAll(finder, 2));
+
+        finder.setDirectionForward(false);
+        finder.setNewStart(content.length());
+        Assert.assertEquals(List.of(2L, 1L, 0L), findAll(finder, 2));
+    }
+
+    @Test
+    public void testNoMatch() throws IOException {
+        BinaryTextFinder finder = new BinaryTextFinder("needle", createContent("haystack"));
+        Assert.assertNull(finder.getNextMatch());
+
+        finder = new BinaryTextFinder("needle", createContent("needl"));
+        Assert.assertNull(finder.getNextMatch());
+    }
+
+    @Test
+    public void testForwardMatchAcrossChunkBorder() throws IOException {
+        byte[] needle = "needle".getBytes(StandardCharsets.US_ASCII);
+        long position = BinaryTextFinder.MAP_SIZE - 3;
+        byte[] data = new byte[BinaryTextFinder.MAP_SIZE * 2 + 100];
+        System.arraycopy(needle, 0, data, (int) position, needle.length);
+
+        BinaryTextFinder finder = new BinaryTextFinder("needle", createContent(data));
+        Assert.assertEquals(List.of(position), findAll(finder, needle.length));
+    }
+
+    @Test
+    public void testBackwardMatchAcrossChunkBorder() throws IOException {
+        byte[] needle = "needle".getBytes(StandardCharsets.US_ASCII);
+        byte[] data = new byte[BinaryTextFinder.MAP_SIZE * 2 + 100];
+        // Backward search reads chunks from the content end
+        long position = data.length - BinaryTextFinder.MAP_SIZE - 3;
+        System.arraycopy(needle, 0, data, (int) position, needle.length);
+
+        BinaryContent content = createContent(data);
+        BinaryTextFinder finder = new BinaryTextFinder("needle", content);
+        finder.setDirectionForward(false);
+        finder.setNewStart(content.length());
+        Assert.assertEquals(List.of(position), findAll(finder, needle.length));
+    }
+
+    @Test
+    public void testMatchesInDifferentChunks() throws IOException {
+        byte[] needle = "needle".getBytes(StandardCharsets.US_ASCII);
+        byte[] data = new byte[BinaryTextFinder.MAP_SIZE * 3];
+        long[] positions = {10, BinaryTextFinder.MAP_SIZE + 10, data.length - needle.length};
+        for (long position : positions) {
+            System.arraycopy(needle, 0, data, (int) position, needle.length);
+        }
+        BinaryContent content = createContent(data);
+        BinaryTextFinder finder = new BinaryTextFinder("needle", content);
+        Assert.assertEquals(List.of(positions[0], positions[1], positions[2]), findAll(finder, needle.length));
+
+        finder.setDirectionForward(false);
+        finder.setNewStart(content.length());
+        Assert.assertEquals(List.of(positions[2], positions[1], positions[0]), findAll(finder, needle.length));
+    }
+
+    @Test
+    public void testCaseInsensitiveSearch() throws IOException {
+        BinaryContent content = createContent("needle, NEEDLE, NeEdLe");
+        BinaryTextFinder finder = new BinaryTextFinder("Needle", content);
+        Assert.assertEquals(List.of(), findAll(finder, 6));
+
+        finder.setCaseSensitive(false);
+        finder.setNewStart(0);
+        Assert.assertEquals(List.of(0L, 8L, 16L), findAll(finder, 6));
+
+        finder.setDirectionForward(false);
+        finder.setNewStart(content.length());
+        Assert.assertEquals(List.of(16L, 8L, 0L), findAll(finder, 6));
+    }
+
+    @Test
+    public void testCaseInsensitiveNonAsciiSearch() throws IOException {
+        // Both cases of the umlaut take 2 bytes in UTF-8
+        BinaryContent content = createContent(concat(
+            "x".getBytes(StandardCharsets.UTF_8),
+            "\u00E4pfel".getBytes(StandardCharsets.UTF_8),
+            "x".getBytes(StandardCharsets.UTF_8),
+            "\u00C4PFEL".getBytes(StandardCharsets.UTF_8)));
+        BinaryTextFinder finder = new BinaryTextFinder("\u00C4pfel", content);
+        finder.setCaseSensitive(false);
+        Assert.assertEquals(List.of(1L, 8L), findAll(finder, 6));
+    }
+
+    @Test
+    public void testUtf16Search() throws IOException {
+        BinaryContent content = createContent(concat(
+            "ab".getBytes(StandardCharsets.US_ASCII),
+            "needle".getBytes(StandardCharsets.UTF_16LE),
+            "cd".getBytes(StandardCharsets.US_ASCII),
+            "needle".getBytes(StandardCharsets.UTF_16BE)));
+        BinaryTextFinder finder = new BinaryTextFinder("needle", content);
+        Assert.assertEquals(List.of(2L, 16L), findAll(finder, 12));
+
+        finder.setDirectionForward(false);
+        finder.setNewStart(content.length());
+        Assert.assertEquals(List.of(16L, 2L), findAll(finder, 12));
+    }
+
+    @Test
+    public void testUtf16CaseInsensitiveSearch() throws IOException {
+        BinaryContent content = createContent(concat(
+            "NEEDLE".getBytes(StandardCharsets.UTF_16BE),
+            "\u0416\u0443\u043A".getBytes(StandardCharsets.UTF_16LE)));
+        BinaryTextFinder finder = new BinaryTextFinder("needle", content);
+        finder.setCaseSensitive(false);
+        Assert.assertEquals(List.of(0L), findAll(finder, 12));
+
+        // Cyrillic text can't be encoded in ISO-8859-1, it is searched in UTF-8 and UTF-16
+        finder = new BinaryTextFinder("\u0436\u0423\u041A", content);
+        finder.setCaseSensitive(false);
+        Assert.assertEquals(List.of(12L), findAll(finder, 6));
+    }
+
+    @Test
+    public void testEditorCharsetSearch() throws IOException {
+        Charset cp1251 = Charset.forName("windows-1251");
+        BinaryContent content = createContent(concat(
+            "--".getBytes(StandardCharsets.US_ASCII),
+            "\u0416\u0443\u043A".getBytes(cp1251)));
+        Assert.assertNull(new BinaryTextFinder("\u0416\u0443\u043A", content).getNextMatch());
+
+        BinaryTextFinder finder = new BinaryTextFinder("\u0416\u0443\u043A", cp1251.name(), content);
+        Assert.assertEquals(List.of(2L), findAll(finder, 3));
+    }
+
+    @Test
+    public void testBinarySearch() throws IOException {
+        byte[] data = new byte[BinaryTextFinder.MAP_SIZE + 10];
+        byte[] sequence = {(byte) 0xCA, (byte) 0xFE, 0x00, (byte) 0xBA, (byte) 0xBE};
+        long position = BinaryTextFinder.MAP_SIZE - 2;
+        System.arraycopy(sequence, 0, data, (int) position, sequence.length);
+        System.arraycopy(sequence, 0, data, 0, sequence.length);
+
+        BinaryContent content = createContent(data);
+        BinaryTextFinder finder = new BinaryTextFinder(sequence, content);
+        Assert.assertEquals(List.of(0L, position), findAll(finder, sequence.length));
+
+        finder.setDirectionForward(false);
+        finder.setNewStart(content.length());
+        Assert.assertEquals(List.of(position, 0L), findAll(finder, sequence.length));
+    }
+
+    /**
+     * Collects positions of all matches and checks their lengths
+     */
+    @NotNull
+    private static List<Long> findAll(@NotNull BinaryTextFinder finder, int expectedLength) throws IOException {
+        List<Long> positions = new ArrayList<>();
+        for (Number[] match = finder.getNextMatch(); match != null; match = finder.getNextMatch()) {
+            Assert.assertEquals("Match length at " + match[0], expectedLength, match[1].intValue());
+            positions.add(match[0].longValue());
+            Assert.assertTrue("Too many matches: " + positions, positions.size() < 100);
+        }
+        return positions;
+    }
+
+    @NotNull
+    private static BinaryContent createContent(@NotNull String text) {
+        return createContent(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @NotNull
+    private static BinaryContent createContent(@NotNull byte[] data) {
+        BinaryContent content = new BinaryContent();
+        content.insert(ByteBuffer.wrap(data), 0);
+        return content;
+    }
+
+    @NotNull
+    private static byte[] concat(@NotNull byte[]... parts) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            buffer.writeBytes(part);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.search.data;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SearchDataBudgetTest {
+
+    @Test
+    public void testHitLimit() {
+        try (SearchDataBudget budget = new SearchDataBudget(3, 0)) {
+            Assert.assertFalse(budget.isHitLimitReached());
+            Assert.assertFalse(budget.addHit());
+            Assert.assertFalse(budget.addHit());
+            Assert.assertTrue(budget.addHit());
+            Assert.assertTrue(budget.isHitLimitReached());
+            Assert.assertEquals(3, budget.getTotalHits());
+        }
+    }
+
+    @Test
+    public void testNoHitLimit() {
+        try (SearchDataBudget budget = new SearchDataBudget(0, 0)) {
+            for (int i = 0; i < 1000; i++) {
+                Assert.assertFalse(budget.addHit());
+            }
+            Assert.assertFalse(budget.isHitLimitReached());
+        }
+    }
+
+    @Test
+    public void testHitLimitSharedByWorkers() throws Exception {
+        int workerCount = 4;
+        try (SearchDataBudget budget = new SearchDataBudget(100, 0)) {
+            AtomicInteger stopSignals = new AtomicInteger();
+            Thread[] workers = new Thread[workerCount];
+            for (int i = 0; i < workerCount; i++) {
+                workers[i] = new Thread(() -> {
+                    for (int k = 0; k < 50; k++) {
+                        if (budget.addHit()) {
+                            stopSignals.incrementAndGet();
+                            break;
+                        }
+                    }
+                });
+                workers[i].start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            Assert.assertTrue(budget.isHitLimitReached());
+            // Each worker stops on the first hit over the limit
+            Assert.assertTrue(stopSignals.get() >= 1 && stopSignals.get() <= workerCount);
+            Assert.assertTrue(budget.getTotalHits() >= 100 && budget.getTotalHits() < 100 + workerCount);
+        }
+    }
+
+    @Test
+    public void testTableTimeout() throws Exception {
+        try (SearchDataBudget budget = new SearchDataBudget(0, 50)) {
+            CountDownLatch timedOut = new CountDownLatch(1);
+            ScheduledFuture<?> timer = budget.startTableTimer(timedOut::countDown);
+            Assert.assertNotNull(timer);
+            Assert.assertTrue("Table timeout didn't fire", timedOut.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testTableFinishedInTime() throws Exception {
+        try (SearchDataBudget budget = new SearchDataBudget(0, 200)) {
+            AtomicInteger timeouts = new AtomicInteger();
+            ScheduledFuture<?> timer = budget.startTableTimer(timeouts::incrementAndGet);
+            Assert.assertNotNull(timer);
+            // Table search ends before the budget
+            timer.cancel(false);
+            Thread.sleep(400);
+            Assert.assertEquals(0, timeouts.get());
+        }
+    }
+
+    @Test
+    public void testNoTimeBudget() {
+        try (SearchDataBudget budget = new SearchDataBudget(0, 0)) {
+            Assert.assertNull(budget.startTableTimer(() -> Assert.fail("No timeout expected")));
+        }
+    }
+
+    @Test
+    public void testTimerAfterClose() {
+        SearchDataBudget budget = new SearchDataBudget(0, 50);
+        budget.close();
+        Assert.assertNull(budget.startTableTimer(() -> Assert.fail("No timeout expected")));
+    }
+}